@@ -0,0 +1,130 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.html.dom;
+
+import org.w3c.dom.html.HTMLButtonElement;
+
+/**
+ * @xerces.internal
+ * @version $Revision$ $Date$
+ * @author <a href="mailto:arkin@exoffice.com">Assaf Arkin</a>
+ * @see org.w3c.dom.html.HTMLButtonElement
+ * @see org.apache.xerces.dom.ElementImpl
+ */
+public class HTMLButtonElementImpl
+    extends HTMLElementImpl
+    implements HTMLButtonElement, HTMLFormControl
+{
+
+    private static final long serialVersionUID = -753685852948076730L;
+
+    public String getAccessKey()
+    {
+        String    accessKey;
+        
+        // Make sure that the access key is a single character.
+        accessKey = getAttribute( "accesskey" );
+        if ( accessKey != null && accessKey.length() > 1 )
+            accessKey = accessKey.substring( 0, 1 );
+        return accessKey;
+    }
+    
+    
+    public void setAccessKey( String accessKey )
+    {
+        // Make sure that the access key is a single character.
+        if ( accessKey != null && accessKey.length() > 1 )
+            accessKey = accessKey.substring( 0, 1 );
+        setAttribute( "accesskey", accessKey );
+    }
+
+    
+    public boolean getDisabled()
+    {
+        return getBinary( "disabled" );
+    }
+    
+    
+    public void setDisabled( boolean disabled )
+    {
+        setAttribute( "disabled", disabled );
+    }
+
+
+    public String getName()
+    {
+        return getAttribute( "name" );
+    }
+    
+    
+    public void setName( String name )
+    {
+        setAttribute( "name", name );
+    }
+
+    
+    public int getTabIndex()
+    {
+        try
+        {
+            return Integer.parseInt( getAttribute( "tabindex" ) );
+        }
+        catch ( NumberFormatException except )
+        {
+            return 0;
+        }
+    }
+    
+    
+    public void setTabIndex( int tabIndex )
+    {
+        setAttribute( "tabindex", String.valueOf( tabIndex ) );
+    }
+
+    
+    public String getType()
+    {
+        return capitalize( getAttribute( "type" ) );
+    }
+
+    
+      public String getValue()
+    {
+        return getAttribute( "value" );
+    }
+    
+    
+    public void setValue( String value )
+    {
+        setAttribute( "value", value );
+    }
+    
+    
+    /**
+     * Constructor requires owner document.
+     * 
+     * @param owner the HTML document in which this element appears
+     * @param name the tag name of the element
+     */
+    public HTMLButtonElementImpl( HTMLDocumentImpl owner, String name )
+    {
+        super( owner, name );
+    }
+  
+  
+}
+
@@ -0,0 +1,192 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.html.dom;
+
+import org.w3c.dom.html.HTMLTextAreaElement;
+
+/**
+ * @xerces.internal
+ * @version $Revision$ $Date$
+ * @author <a href="mailto:arkin@exoffice.com">Assaf Arkin</a>
+ * @see org.w3c.dom.html.HTMLTextAreaElement
+ * @see org.apache.xerces.dom.ElementImpl
+ */
+public class HTMLTextAreaElementImpl
+    extends HTMLElementImpl
+    implements HTMLTextAreaElement, HTMLFormControl
+{
+
+    private static final long serialVersionUID = -6737778308542678104L;
+
+    public String getDefaultValue()
+    {
+        // ! NOT FULLY IMPLEMENTED !
+        return getAttribute( "default-value" );
+    }
+    
+    
+    public void setDefaultValue( String defaultValue )
+    {
+        // ! NOT FULLY IMPLEMENTED !
+        setAttribute( "default-value", defaultValue );
+    }
+  
+  
+
+    public String getAccessKey()
+    {
+        String    accessKey;
+        
+        // Make sure that the access key is a single character.
+        accessKey = getAttribute( "accesskey" );
+        if ( accessKey != null && accessKey.length() > 1 )
+            accessKey = accessKey.substring( 0, 1 );
+        return accessKey;
+    }
+    
+    
+    public void setAccessKey( String accessKey )
+    {
+        // Make sure that the access key is a single character.
+        if ( accessKey != null && accessKey.length() > 1 )
+            accessKey = accessKey.substring( 0, 1 );
+        setAttribute( "accesskey", accessKey );
+    }
+
+    
+    public int getCols()
+    {
+        return getInteger( getAttribute( "cols" ) );
+    }
+    
+    
+    public void setCols( int cols )
+    {
+        setAttribute( "cols", String.valueOf( cols ) );
+    }
+  
+  
+    public boolean getDisabled()
+    {
+        return getBinary( "disabled" );
+    }
+    
+    
+    public void setDisabled( boolean disabled )
+    {
+        setAttribute( "disabled", disabled );
+    }
+
+    
+    public String getName()
+    {
+        return getAttribute( "name" );
+    }
+    
+    
+    public void setName( String name )
+    {
+        setAttribute( "name", name );
+    }
+
+    
+    public boolean getReadOnly()
+    {
+        return getBinary( "readonly" );
+    }
+    
+    
+    public void setReadOnly( boolean readOnly )
+    {
+        setAttribute( "readonly", readOnly );
+    }
+
+    
+       public int getRows()
+    {
+        return getInteger( getAttribute( "rows" ) );
+    }
+    
+    
+    public void setRows( int rows )
+    {
+        setAttribute( "rows", String.valueOf( rows ) );
+    }
+
+  
+       public int getTabIndex()
+    {
+        return getInteger( getAttribute( "tabindex" ) );
+    }
+    
+    
+    public void setTabIndex( int tabIndex )
+    {
+        setAttribute( "tabindex", String.valueOf( tabIndex ) );
+    }
+
+  
+    public String getType()
+    {
+        return getAttribute( "type" );
+    }
+
+    
+      public String getValue()
+    {
+        return getAttribute( "value" );
+    }
+    
+    
+    public void setValue( String value )
+    {
+        setAttribute( "value", value );
+    }
+
+    
+    public void blur()
+    {
+        // No scripting in server-side DOM. This method is moot.
+    }
+    
+    
+    public void focus()
+    {
+        // No scripting in server-side DOM. This method is moot.
+    }
+    
+    
+    public void select()
+    {
+        // No scripting in server-side DOM. This method is moot.
+    }
+    
+      
+    /**
+     * Constructor requires owner document.
+     *
+     * @param owner the HTML document in which this element appears
+     * @param name the tag name of the element
+     */
+    public HTMLTextAreaElementImpl( HTMLDocumentImpl owner, String name )
+    {
+        super( owner, name );
+    }
+
+  
+}
+
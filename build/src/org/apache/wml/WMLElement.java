@@ -0,0 +1,54 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.wml;
+
+import org.w3c.dom.Element;
+
+/**
+ * The interface is modeled after DOM1 Spec for HTML from W3C.
+ * The DTD used in this DOM model is from 
+ * <a href="https://www.wapforum.org/DTD/wml_1.1.xml">https://www.wapforum.org/DTD/wml_1.1.xml</a>
+ *
+ * <p>All WML Elements are derived from this class that contains two
+ * core attributes defined in the DTD.</p>
+ *
+ * @version $Id$
+ * @author <a href="mailto:david@topware.com.tw">David Li</a>
+ * @deprecated WML (Wireless Markup Language) is obsolete. The org.apache.wml package may be removed in a future release.
+ */
+@Deprecated
+public interface WMLElement extends Element {
+
+    /**
+     * The element's identifier which is unique in a single deck. 
+     * (Section 8.9, WAP WML Version 16-Jun-1999)
+     *
+     * @param newValue set an identifier value for the element
+     */
+    public void setId(String newValue);
+    public String getId();
+
+    /**
+     * The 'class' attribute of a element that affiliates an elements
+     * with one or more elements.
+     * (Section 8.9, WAP WML Version 16-Jun-1999)
+     *
+     * @param newValue set a class name for the element
+     */
+    public void setClassName(String newValue);
+    public String getClassName();
+}
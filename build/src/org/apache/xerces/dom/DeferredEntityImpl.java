@@ -0,0 +1,154 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.xerces.dom;
+
+
+/**
+ * Entity nodes hold the reference data for an XML Entity -- either
+ * parsed or unparsed. The nodeName (inherited from Node) will contain
+ * the name (if any) of the Entity. Its data will be contained in the
+ * Entity's children, in exactly the structure which an
+ * EntityReference to this name will present within the document's
+ * body.
+ * <p>
+ * Note that this object models the actual entity, _not_ the entity
+ * declaration or the entity reference.
+ * </p>
+ * <p>
+ * An XML processor may choose to completely expand entities before
+ * the structure model is passed to the DOM; in this case, there will
+ * be no EntityReferences in the DOM tree.
+ * </p>
+ * <p>Quoting the 10/01 DOM Proposal,</p>
+ * <blockquote>
+ * "The DOM Level 1 does not support editing Entity nodes; if a user
+ * wants to make changes to the contents of an Entity, every related
+ * EntityReference node has to be replaced in the structure model by
+ * a clone of the Entity's contents, and then the desired changes
+ * must be made to each of those clones instead. All the
+ * descendants of an Entity node are readonly."
+ * </blockquote>
+ * <p>
+ * I'm interpreting this as: It is the parser's responsibility to call
+ * the non-DOM operation setReadOnly(true,true) after it constructs
+ * the Entity. Since the DOM explicitly decided not to deal with this,
+ * _any_ answer will involve a non-DOM operation, and this is the
+ * simplest solution.
+ * </p>
+ *
+ * @xerces.internal
+ *
+ * @version $Id$
+ * @since  PR-DOM-Level-1-19980818.
+ */
+public class DeferredEntityImpl
+    extends EntityImpl
+    implements DeferredNode {
+
+    //
+    // Constants
+    //
+
+    /** Serialization version. */
+    static final long serialVersionUID = 4760180431078941638L;
+
+    //
+    // Data
+    //
+
+    /** Node index. */
+    protected transient int fNodeIndex;
+
+    //
+    // Constructors
+    //
+
+    /**
+     * This is the deferred constructor. Only the fNodeIndex is given here.
+     * All other data, can be requested from the ownerDocument via the index.
+     */
+    DeferredEntityImpl(DeferredDocumentImpl ownerDocument, int nodeIndex) {
+        super(ownerDocument, null);
+
+        fNodeIndex = nodeIndex;
+        needsSyncData(true);
+        needsSyncChildren(true);
+
+    } // <init>(DeferredDocumentImpl,int)
+
+    //
+    // DeferredNode methods
+    //
+
+    /** Returns the node index. */
+    public int getNodeIndex() {
+        return fNodeIndex;
+    }
+
+    //
+    // Protected methods
+    //
+
+    /**
+     * Synchronize the entity data. This is special because of the way
+     * that the "fast" version stores the information.
+     */
+    protected void synchronizeData() {
+
+        // no need to sychronize again
+        needsSyncData(false);
+
+        // get the node data
+        DeferredDocumentImpl ownerDocument =
+            (DeferredDocumentImpl)this.ownerDocument;
+        name = ownerDocument.getNodeName(fNodeIndex);
+
+        // get the entity data
+        publicId    = ownerDocument.getNodeValue(fNodeIndex);
+        systemId    = ownerDocument.getNodeURI(fNodeIndex);
+        int extraDataIndex = ownerDocument.getNodeExtra(fNodeIndex);
+        ownerDocument.getNodeType(extraDataIndex);
+
+        notationName = ownerDocument.getNodeName(extraDataIndex);
+
+        // encoding and version DOM L3
+        version     = ownerDocument.getNodeValue(extraDataIndex);
+        encoding    = ownerDocument.getNodeURI(extraDataIndex);
+
+        // baseURI, actualEncoding DOM L3
+        int extraIndex2 = ownerDocument.getNodeExtra(extraDataIndex);
+        baseURI = ownerDocument.getNodeName(extraIndex2);
+        inputEncoding = ownerDocument.getNodeValue(extraIndex2);
+
+    } // synchronizeData()
+
+    /** Synchronize the children. */
+    protected void synchronizeChildren() {
+
+        // no need to synchronize again
+        needsSyncChildren(false);
+
+        isReadOnly(false);
+        DeferredDocumentImpl ownerDocument =
+            (DeferredDocumentImpl) ownerDocument();
+        ownerDocument.synchronizeChildren(this, fNodeIndex);
+        setReadOnly(true, true);
+
+    } // synchronizeChildren()
+
+} // class DeferredEntityImpl
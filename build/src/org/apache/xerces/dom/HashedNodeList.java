@@ -0,0 +1,278 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.xerces.dom;
+
+import java.util.ArrayList;
+import java.util.Collection;
+
+import org.w3c.dom.Node;
+
+/**
+ * <p>The node list of a large <code>NamedNodeMapImpl</code>. The nodes
+ * are kept in the list sorted by node name as usual, and are also
+ * entered in a hash table keyed by namespace URI and local name, so
+ * that <code>getNamedItemNS</code> does not have to scan the list.</p>
+ *
+ * <p>Nodes added, replaced or removed through the list methods used by
+ * the named node maps are entered in the table as they change. Any
+ * other structural change is detected through the list's modification
+ * count, and the table is then rebuilt on the next lookup.</p>
+ *
+ * @xerces.internal
+ *
+ * @version $Id$
+ */
+final class HashedNodeList extends ArrayList<Node> {
+
+    //
+    // Constants
+    //
+
+    /** Serialization version. */
+    static final long serialVersionUID = 4512397260513745826L;
+
+    /** Returned by lookups when the caller must search the list itself. */
+    static final int AMBIGUOUS = -2;
+
+    //
+    // Data
+    //
+
+    /** Nodes by namespace URI and local name; the length is a power of two. */
+    private transient Node[] fTable;
+
+    /** The modification count for which the table is up to date. */
+    private transient int fTableModCount;
+
+    /** True if two nodes in the table have the same key. */
+    private transient boolean fAmbiguous;
+
+    //
+    // Constructors
+    //
+
+    /** Constructs a list holding the given nodes. */
+    HashedNodeList(Collection<? extends Node> nodes) {
+        super(nodes);
+    } // <init>(Collection)
+
+    //
+    // Package methods
+    //
+
+    /**
+     * Returns the index of the node with the given namespace URI and
+     * local name, -1 if there is none, or AMBIGUOUS if several nodes
+     * have that name.
+     */
+    int indexOf(String namespaceURI, String localName) {
+        prepare();
+        if (fAmbiguous) {
+            return AMBIGUOUS;
+        }
+        final Node[] table = fTable;
+        final int mask = table.length - 1;
+        int slot = hash(namespaceURI, localName) & mask;
+        for (Node n = table[slot]; n != null; n = table[slot]) {
+            if (matches(n, namespaceURI, localName)) {
+                return position(n);
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    } // indexOf(String,String):int
+
+    /** Brings the table up to date. */
+    void prepare() {
+        if (fTable == null || fTableModCount != modCount) {
+            int capacity = 8;
+            while (capacity < size() << 1) {
+                capacity <<= 1;
+            }
+            fTable = new Node[capacity];
+            fAmbiguous = false;
+            for (int i = 0; i < size(); ++i) {
+                insert(get(i));
+            }
+            fTableModCount = modCount;
+        }
+    } // prepare()
+
+    //
+    // List methods
+    //
+
+    public boolean add(Node node) {
+        final int expected = modCount;
+        super.add(node);
+        added(expected, node);
+        return true;
+    } // add(Node):boolean
+
+    public void add(int index, Node node) {
+        final int expected = modCount;
+        super.add(index, node);
+        added(expected, node);
+    } // add(int,Node)
+
+    public Node set(int index, Node node) {
+        final Node previous = super.set(index, node);
+        if (fTable != null && fTableModCount == modCount) {
+            delete(previous);
+            insert(node);
+        }
+        return previous;
+    } // set(int,Node):Node
+
+    public Node remove(int index) {
+        final int expected = modCount;
+        final Node previous = super.remove(index);
+        if (fTable != null && fTableModCount == expected) {
+            delete(previous);
+            fTableModCount = modCount;
+        }
+        return previous;
+    } // remove(int):Node
+
+    //
+    // Private methods
+    //
+
+    private void added(int expected, Node node) {
+        if (fTable != null && fTableModCount == expected) {
+            if (size() << 1 > fTable.length) {
+                fTable = null;
+            }
+            else {
+                insert(node);
+                fTableModCount = modCount;
+            }
+        }
+    } // added(int,Node)
+
+    private void insert(Node node) {
+        final String localName = key(node);
+        if (localName == null) {
+            return;
+        }
+        final String namespaceURI = node.getNamespaceURI();
+        final Node[] table = fTable;
+        final int mask = table.length - 1;
+        int slot = hash(namespaceURI, localName) & mask;
+        for (Node n = table[slot]; n != null; n = table[slot]) {
+            if (matches(n, namespaceURI, localName)) {
+                fAmbiguous = true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        table[slot] = node;
+    } // insert(Node)
+
+    private void delete(Node node) {
+        final String localName = key(node);
+        if (localName == null) {
+            return;
+        }
+        final Node[] table = fTable;
+        final int mask = table.length - 1;
+        int slot = hash(node.getNamespaceURI(), localName) & mask;
+        while (table[slot] != node) {
+            if (table[slot] == null) {
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        // shift back the entries whose probe sequence passes the hole
+        int next = slot;
+        while (true) {
+            next = (next + 1) & mask;
+            final Node n = table[next];
+            if (n == null) {
+                break;
+            }
+            final int home = hash(n.getNamespaceURI(), key(n)) & mask;
+            if (((next - home) & mask) >= ((next - slot) & mask)) {
+                table[slot] = n;
+                slot = next;
+            }
+        }
+        table[slot] = null;
+    } // delete(Node)
+
+    /** Returns the index of a node in the list, which is sorted by node name. */
+    private int position(Node node) {
+        final String name = node.getNodeName();
+        int first = 0;
+        int last = size() - 1;
+        while (first <= last) {
+            final int i = (first + last) >>> 1;
+            final int test = name.compareTo(get(i).getNodeName());
+            if (test == 0) {
+                for (int j = i; j >= 0 && name.equals(get(j).getNodeName()); --j) {
+                    if (get(j) == node) {
+                        return j;
+                    }
+                }
+                for (int j = i + 1; j <= last && name.equals(get(j).getNodeName()); ++j) {
+                    if (get(j) == node) {
+                        return j;
+                    }
+                }
+                break;
+            }
+            else if (test < 0) {
+                last = i - 1;
+            }
+            else {
+                first = i + 1;
+            }
+        }
+        return indexOf(node);
+    } // position(Node):int
+
+    /**
+     * Returns the name under which a node is found by a namespace
+     * lookup; nodes without a namespace URI are also found by node
+     * name if they have no local name.
+     */
+    private static String key(Node node) {
+        final String localName = node.getLocalName();
+        if (localName == null && node.getNamespaceURI() == null) {
+            return node.getNodeName();
+        }
+        return localName;
+    } // key(Node):String
+
+    private static boolean matches(Node node, String namespaceURI, String localName) {
+        final String nodeNamespaceURI = node.getNamespaceURI();
+        if (namespaceURI == null) {
+            return nodeNamespaceURI == null && localName.equals(key(node));
+        }
+        return namespaceURI.equals(nodeNamespaceURI) && localName.equals(node.getLocalName());
+    } // matches(Node,String,String):boolean
+
+    private static int hash(String namespaceURI, String localName) {
+        int h = localName.hashCode();
+        if (namespaceURI != null) {
+            h += namespaceURI.hashCode() * 31;
+        }
+        h *= 0x9E3779B9;
+        return h ^ (h >>> 16);
+    } // hash(String,String):int
+
+} // class HashedNodeList
@@ -0,0 +1,214 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.xerces.dom;
+
+import org.apache.xerces.util.URI;
+import org.w3c.dom.DOMException;
+import org.w3c.dom.Node;
+import org.w3c.dom.Notation;
+
+/**
+ * Notations are how the Document Type Description (DTD) records hints
+ * about the format of an XML "unparsed entity" -- in other words,
+ * non-XML data bound to this document type, which some applications
+ * may wish to consult when manipulating the document. A Notation
+ * represents a name-value pair, with its nodeName being set to the
+ * declared name of the notation.
+ * <p>
+ * Notations are also used to formally declare the "targets" of
+ * Processing Instructions.
+ * </p>
+ * <p>
+ * Note that the Notation's data is non-DOM information; the DOM only
+ * records what and where it is.
+ * </p>
+ * <p>
+ * See the XML 1.0 spec, sections 4.7 and 2.6, for more info.
+ * </p>
+ * <p>
+ * Level 1 of the DOM does not support editing Notation contents.
+ * </p>
+ *
+ * @xerces.internal
+ *
+ * @version $Id$
+ * @since  PR-DOM-Level-1-19980818.
+ */
+public class NotationImpl 
+    extends NodeImpl 
+    implements Notation {
+
+    //
+    // Constants
+    //
+
+    /** Serialization version. */
+    static final long serialVersionUID = -764632195890658402L;
+    
+    //
+    // Data
+    //
+
+    /** Notation name. */
+    protected String name;
+
+    /** Public identifier. */
+    protected String publicId;
+
+    /** System identifier. */
+    protected String systemId;
+
+    /** Base URI*/
+    protected String baseURI;
+
+    //
+    // Constructors
+    //
+
+    /** Factory constructor. */
+    public NotationImpl(CoreDocumentImpl ownerDoc, String name) {
+    	super(ownerDoc);
+        this.name = name;
+    }
+    
+    //
+    // Node methods
+    //
+
+    /** 
+     * A short integer indicating what type of node this is. The named
+     * constants for this value are defined in the org.w3c.dom.Node interface.
+     */
+    public short getNodeType() {
+        return Node.NOTATION_NODE;
+    }
+
+    /**
+     * Returns the notation name
+     */
+    public String getNodeName() {
+        if (needsSyncData()) {
+            synchronizeData();
+        }
+        return name;
+    }
+
+    //
+    // Notation methods
+    //
+
+    /**
+     * The Public Identifier for this Notation. If no public identifier
+     * was specified, this will be null.  
+     */
+    public String getPublicId() {
+
+        if (needsSyncData()) {
+            synchronizeData();
+        }
+    	return publicId;
+
+    } // getPublicId():String
+
+    /**
+     * The System Identifier for this Notation. If no system identifier
+     * was specified, this will be null.  
+     */
+    public String getSystemId() {
+
+        if (needsSyncData()) {
+            synchronizeData();
+        }
+    	return systemId;
+
+    } // getSystemId():String
+
+    //
+    // Public methods
+    //
+
+    /** 
+     * NON-DOM: The Public Identifier for this Notation. If no public
+     * identifier was specified, this will be null.  
+     */
+    public void setPublicId(String id) {
+
+    	if (isReadOnly()) {
+    		throw new DOMException(
+    		DOMException.NO_MODIFICATION_ALLOWED_ERR,
+                DOMMessageFormatter.formatMessage(DOMMessageFormatter.DOM_DOMAIN, "NO_MODIFICATION_ALLOWED_ERR", null));
+        }
+        if (needsSyncData()) {
+            synchronizeData();
+        }
+        publicId = id;
+
+    } // setPublicId(String)
+
+    /** 
+     * NON-DOM: The System Identifier for this Notation. If no system
+     * identifier was specified, this will be null.  
+     */
+    public void setSystemId(String id) {
+
+    	if(isReadOnly()) {
+    		throw new DOMException(
+    		DOMException.NO_MODIFICATION_ALLOWED_ERR,
+                DOMMessageFormatter.formatMessage(DOMMessageFormatter.DOM_DOMAIN, "NO_MODIFICATION_ALLOWED_ERR", null));
+        }
+        if (needsSyncData()) {
+            synchronizeData();
+        }
+    	systemId = id;
+
+    } // setSystemId(String)
+    
+
+    /**
+     * Returns the absolute base URI of this node or null if the implementation
+     * wasn't able to obtain an absolute URI. Note: If the URI is malformed, a
+     * null is returned.
+     * 
+     * @return The absolute base URI of this node or null.
+     * @since DOM Level 3
+     */
+    public String getBaseURI() {
+        if (needsSyncData()) {
+            synchronizeData();
+        }
+        if (baseURI != null && baseURI.length() != 0 ) {// attribute value is always empty string
+            try {
+                return new URI(baseURI).toString();
+            }
+            catch (org.apache.xerces.util.URI.MalformedURIException e){
+                // REVISIT: what should happen in this case?
+                return null;
+            }
+        }
+        return baseURI;
+    }
+
+    /** NON-DOM: set base uri*/
+    public void setBaseURI(String uri){
+        if (needsSyncData()) {
+            synchronizeData();
+        }
+        baseURI = uri;
+    }
+
+} // class NotationImpl
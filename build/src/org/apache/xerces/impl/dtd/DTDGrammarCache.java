@@ -0,0 +1,508 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.xerces.impl.dtd;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.net.URL;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+import org.apache.xerces.impl.Version;
+import org.apache.xerces.impl.XMLEntityManager;
+import org.apache.xerces.impl.XMLErrorReporter;
+import org.apache.xerces.impl.msg.XMLMessageFormatter;
+import org.apache.xerces.util.GrammarObjectInputStream;
+import org.apache.xerces.util.XMLGrammarPoolImpl;
+import org.apache.xerces.util.XMLResourceIdentifierImpl;
+import org.apache.xerces.xni.XMLResourceIdentifier;
+import org.apache.xerces.xni.grammars.Grammar;
+import org.apache.xerces.xni.grammars.XMLGrammarDescription;
+import org.apache.xerces.xni.parser.XMLEntityResolver;
+import org.apache.xerces.xni.parser.XMLInputSource;
+
+/**
+ * <p>A grammar pool which also keeps DTD grammars in a directory, so
+ * that an external subset is only scanned and processed once rather
+ * than by the first parse in every process.</p>
+ *
+ * <p>When a DTD grammar is cached, the content model of every element
+ * is built and the grammar is written to a file named after the public
+ * and system identifiers of the external subset and the root element.
+ * Along with the grammar, the file records a digest of the external
+ * subset and of every external parameter entity the DTD declares. When
+ * the pool is asked for a grammar it does not hold, it reads the file
+ * for the grammar, if there is one, and uses it if the digests of these
+ * resources still match. Files written by another version of Xerces are
+ * ignored.</p>
+ *
+ * <p>Grammars of documents with an internal subset are pooled, but not
+ * written, since they depend on the document. Errors reading the cache
+ * directory are ignored; the DTD is then scanned as usual. Errors writing
+ * it are reported as warnings to the error reporter of the cache, if one
+ * is set, and the grammar is only pooled in memory.
+ * Grammars other than DTD grammars are pooled as they are by
+ * <code>XMLGrammarPoolImpl</code>.</p>
+ *
+ * <p>Resources are read from their expanded system identifiers, unless
+ * an entity resolver is set. The resolver should resolve entities the
+ * same way as the parsers using this pool do. The files in the cache
+ * directory should only be writable by trusted users.</p>
+ *
+ * @xerces.internal
+ *
+ * @version $Id$
+ */
+public class DTDGrammarCache extends XMLGrammarPoolImpl {
+
+    //
+    // Constants
+    //
+
+    /** Magic number identifying a cached grammar ("XDTG"). */
+    private static final int MAGIC = 0x58445447;
+
+    /** Version of the file format. */
+    private static final short FORMAT_VERSION = 1;
+
+    /** Suffix of the files in the cache directory. */
+    private static final String FILE_SUFFIX = ".dtdg";
+
+    /** Algorithm used to digest resources and names. */
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+
+    /** Size of the buffers used to read and write files and resources. */
+    private static final int BUFFER_SIZE = 8192;
+
+    //
+    // Data
+    //
+
+    /** The cache directory. */
+    private final File fDirectory;
+
+    /** Resolves the resources whose digests are recorded. */
+    private XMLEntityResolver fEntityResolver;
+
+    /** Reports errors writing the cache directory. */
+    private XMLErrorReporter fErrorReporter;
+
+    //
+    // Constructors
+    //
+
+    /**
+     * Constructs a grammar pool which caches DTD grammars in the
+     * given directory. The directory is created if it does not exist.
+     *
+     * @param directory The cache directory.
+     */
+    public DTDGrammarCache(File directory) {
+        super();
+        fDirectory = directory;
+    } // <init>(File)
+
+    //
+    // Public methods
+    //
+
+    /**
+     * Sets the entity resolver used to read the external subset and
+     * external parameter entities of cached grammars.
+     *
+     * @param entityResolver The entity resolver, or <code>null</code>
+     *                       to read resources from their system identifiers.
+     */
+    public void setEntityResolver(XMLEntityResolver entityResolver) {
+        fEntityResolver = entityResolver;
+    } // setEntityResolver(XMLEntityResolver)
+
+    /** Returns the entity resolver of this cache. */
+    public XMLEntityResolver getEntityResolver() {
+        return fEntityResolver;
+    } // getEntityResolver():XMLEntityResolver
+
+    /**
+     * Sets the error reporter to which errors writing grammars to the
+     * cache directory are reported as warnings.
+     *
+     * @param errorReporter The error reporter, or <code>null</code> to
+     *                      ignore these errors.
+     */
+    public void setErrorReporter(XMLErrorReporter errorReporter) {
+        fErrorReporter = errorReporter;
+    } // setErrorReporter(XMLErrorReporter)
+
+    /** Returns the error reporter of this cache. */
+    public XMLErrorReporter getErrorReporter() {
+        return fErrorReporter;
+    } // getErrorReporter():XMLErrorReporter
+
+    /**
+     * Returns the grammar for the description from the pool or, for a
+     * DTD with an external identifier, from the cache directory.
+     *
+     * @param desc The description of the grammar being requested.
+     */
+    public Grammar retrieveGrammar(XMLGrammarDescription desc) {
+        Grammar grammar = super.retrieveGrammar(desc);
+        if (grammar == null && desc instanceof XMLDTDDescription) {
+            final XMLDTDDescription dtdDesc = (XMLDTDDescription) desc;
+            if (dtdDesc.getExpandedSystemId() != null || dtdDesc.getPublicId() != null) {
+                grammar = readGrammar(dtdDesc);
+                if (grammar != null) {
+                    super.putGrammar(grammar);
+                }
+            }
+        }
+        return grammar;
+    } // retrieveGrammar(XMLGrammarDescription):Grammar
+
+    /**
+     * Puts a grammar into the pool. DTD grammars which are new to the
+     * pool have their content models built and are written to the
+     * cache directory.
+     *
+     * @param grammar The grammar.
+     */
+    public void putGrammar(Grammar grammar) {
+        if (!fPoolIsLocked && grammar instanceof DTDGrammar &&
+            getGrammar(grammar.getGrammarDescription()) != grammar) {
+            final DTDGrammar dtdGrammar = (DTDGrammar) grammar;
+            dtdGrammar.buildContentModels();
+            super.putGrammar(grammar);
+            writeGrammar(dtdGrammar);
+            return;
+        }
+        super.putGrammar(grammar);
+    } // putGrammar(Grammar)
+
+    //
+    // Private methods
+    //
+
+    /** Reads the grammar for a description, if its file is up to date. */
+    private DTDGrammar readGrammar(XMLDTDDescription desc) {
+        final File file = getFile(desc);
+        if (file == null || !file.isFile()) {
+            return null;
+        }
+        InputStream in = null;
+        final Inflater inflater = new Inflater();
+        try {
+            in = new BufferedInputStream(new FileInputStream(file), BUFFER_SIZE);
+            final DataInputStream data = new DataInputStream(in);
+            if (data.readInt() != MAGIC ||
+                data.readShort() != FORMAT_VERSION ||
+                !Version.getVersion().equals(data.readUTF()) ||
+                !equals(desc.getPublicId(), readString(data)) ||
+                !equals(desc.getExpandedSystemId(), readString(data)) ||
+                !equals(desc.getRootName(), readString(data))) {
+                return null;
+            }
+            final int count = data.readInt();
+            for (int i = 0; i < count; ++i) {
+                final XMLResourceIdentifierImpl id = new XMLResourceIdentifierImpl(
+                        readString(data), readString(data), readString(data), readString(data));
+                final int length = data.readShort();
+                final byte[] digest = (length >= 0) ? new byte[length] : null;
+                if (digest != null) {
+                    data.readFully(digest);
+                }
+                if (!Arrays.equals(digest, digest(id))) {
+                    return null;
+                }
+            }
+            final ObjectInputStream objects = new GrammarObjectInputStream(
+                    new BufferedInputStream(new InflaterInputStream(in, inflater, BUFFER_SIZE), BUFFER_SIZE));
+            return (DTDGrammar) objects.readObject();
+        }
+        catch (Exception e) {
+            // the DTD will be scanned instead
+            return null;
+        }
+        finally {
+            inflater.end();
+            close(in);
+        }
+    } // readGrammar(XMLDTDDescription):DTDGrammar
+
+    /** Writes a grammar to the cache directory. */
+    private void writeGrammar(DTDGrammar grammar) {
+        final XMLDTDDescription desc = (XMLDTDDescription) grammar.getGrammarDescription();
+        final File file = getFile(desc);
+        if (file == null || hasInternalSubset(grammar)) {
+            return;
+        }
+        File temp = null;
+        OutputStream out = null;
+        final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            final XMLResourceIdentifier[] resources = getResources(grammar);
+            if (!fDirectory.isDirectory() && !fDirectory.mkdirs()) {
+                reportWriteError(fDirectory, null);
+                return;
+            }
+            temp = File.createTempFile("dtd", ".tmp", fDirectory);
+            out = new BufferedOutputStream(new FileOutputStream(temp), BUFFER_SIZE);
+            final DataOutputStream data = new DataOutputStream(out);
+            data.writeInt(MAGIC);
+            data.writeShort(FORMAT_VERSION);
+            data.writeUTF(Version.getVersion());
+            writeString(data, desc.getPublicId());
+            writeString(data, desc.getExpandedSystemId());
+            writeString(data, desc.getRootName());
+            data.writeInt(resources.length);
+            for (int i = 0; i < resources.length; ++i) {
+                final XMLResourceIdentifier id = resources[i];
+                writeString(data, id.getPublicId());
+                writeString(data, id.getLiteralSystemId());
+                writeString(data, id.getBaseSystemId());
+                writeString(data, id.getExpandedSystemId());
+                final byte[] digest = digest(id);
+                if (digest != null) {
+                    data.writeShort(digest.length);
+                    data.write(digest);
+                }
+                else {
+                    data.writeShort(-1);
+                }
+            }
+            data.flush();
+            final DeflaterOutputStream deflaterStream = new DeflaterOutputStream(out, deflater, BUFFER_SIZE);
+            final ObjectOutputStream objects = new ObjectOutputStream(
+                    new BufferedOutputStream(deflaterStream, BUFFER_SIZE));
+            objects.writeObject(grammar);
+            objects.flush();
+            deflaterStream.finish();
+            out.close();
+            out = null;
+            // replace the file in one step so that readers never see part of it
+            if (!temp.renameTo(file) && (!file.delete() || !temp.renameTo(file))) {
+                reportWriteError(file, null);
+                return;
+            }
+            temp = null;
+        }
+        catch (Exception e) {
+            // the grammar is still pooled in memory
+            reportWriteError(file, e);
+        }
+        finally {
+            deflater.end();
+            close(out);
+            if (temp != null) {
+                temp.delete();
+            }
+        }
+    } // writeGrammar(DTDGrammar)
+
+    /** Reports that a file in the cache directory could not be written. */
+    private void reportWriteError(File file, Exception e) {
+        if (fErrorReporter != null) {
+            fErrorReporter.reportError(XMLMessageFormatter.XML_DOMAIN, "DTDGrammarCacheWriteError",
+                    new Object[] { file.getPath(), e != null ? e.toString() : "" },
+                    XMLErrorReporter.SEVERITY_WARNING, e);
+        }
+    } // reportWriteError(File,Exception)
+
+    /** Returns the file for a description, or null if it has no external identifier. */
+    private File getFile(XMLDTDDescription desc) {
+        if (desc.getExpandedSystemId() == null && desc.getPublicId() == null) {
+            return null;
+        }
+        try {
+            final MessageDigest md = MessageDigest.getInstance(DIGEST_ALGORITHM);
+            final String[] key = { desc.getPublicId(), desc.getExpandedSystemId(), desc.getRootName() };
+            for (int i = 0; i < key.length; ++i) {
+                if (key[i] != null) {
+                    md.update(key[i].getBytes("UTF-8"));
+                }
+                md.update((byte) (key[i] != null ? 1 : 0));
+            }
+            return new File(fDirectory, toHex(md.digest()) + FILE_SUFFIX);
+        }
+        catch (Exception e) {
+            return null;
+        }
+    } // getFile(XMLDTDDescription):File
+
+    /**
+     * Returns the external subset of a grammar and the external
+     * parameter entities it declares.
+     */
+    private static XMLResourceIdentifier[] getResources(DTDGrammar grammar) {
+        final ArrayList resources = new ArrayList();
+        final XMLDTDDescription desc = (XMLDTDDescription) grammar.getGrammarDescription();
+        resources.add(new XMLResourceIdentifierImpl(desc.getPublicId(),
+                desc.getLiteralSystemId(), desc.getBaseSystemId(), desc.getExpandedSystemId()));
+        final XMLEntityDecl entityDecl = new XMLEntityDecl();
+        for (int i = 0; grammar.getEntityDecl(i, entityDecl); ++i) {
+            if (entityDecl.isPE && entityDecl.systemId != null) {
+                String expandedSystemId = null;
+                try {
+                    expandedSystemId = XMLEntityManager.expandSystemId(entityDecl.systemId,
+                            entityDecl.baseSystemId, false);
+                }
+                catch (IOException e) {
+                }
+                resources.add(new XMLResourceIdentifierImpl(entityDecl.publicId,
+                        entityDecl.systemId, entityDecl.baseSystemId, expandedSystemId));
+            }
+        }
+        return (XMLResourceIdentifier[]) resources.toArray(new XMLResourceIdentifier[resources.size()]);
+    } // getResources(DTDGrammar):XMLResourceIdentifier[]
+
+    /** Returns true if any declaration of the grammar was read from an internal subset. */
+    private static boolean hasInternalSubset(DTDGrammar grammar) {
+        final XMLElementDecl elementDecl = new XMLElementDecl();
+        for (int i = 0; grammar.getElementDecl(i, elementDecl); ++i) {
+            if (!grammar.getElementDeclIsExternal(i)) {
+                return true;
+            }
+            for (int j = grammar.getFirstAttributeDeclIndex(i); j != -1; j = grammar.getNextAttributeDeclIndex(j)) {
+                if (!grammar.getAttributeDeclIsExternal(j)) {
+                    return true;
+                }
+            }
+        }
+        final XMLEntityDecl entityDecl = new XMLEntityDecl();
+        for (int i = 0; grammar.getEntityDecl(i, entityDecl); ++i) {
+            if (!entityDecl.inExternal) {
+                return true;
+            }
+        }
+        return false;
+    } // hasInternalSubset(DTDGrammar):boolean
+
+    /**
+     * Returns the digest of the content of a resource, or null if the
+     * resource cannot be read.
+     */
+    private byte[] digest(XMLResourceIdentifier id) throws NoSuchAlgorithmException {
+        final MessageDigest md = MessageDigest.getInstance(DIGEST_ALGORITHM);
+        InputStream stream = null;
+        Reader reader = null;
+        try {
+            XMLInputSource source = (fEntityResolver != null) ? fEntityResolver.resolveEntity(id) : null;
+            if (source != null) {
+                stream = source.getByteStream();
+                reader = source.getCharacterStream();
+            }
+            if (stream == null && reader == null) {
+                String systemId = (source != null) ? source.getSystemId() : null;
+                if (systemId == null) {
+                    systemId = id.getExpandedSystemId();
+                }
+                if (systemId == null) {
+                    return null;
+                }
+                stream = new URL(XMLEntityManager.expandSystemId(systemId,
+                        (source != null) ? source.getBaseSystemId() : id.getBaseSystemId(), false)).openStream();
+            }
+            if (stream != null) {
+                final byte[] buffer = new byte[BUFFER_SIZE];
+                for (int length; (length = stream.read(buffer)) != -1; ) {
+                    md.update(buffer, 0, length);
+                }
+            }
+            else {
+                final char[] buffer = new char[BUFFER_SIZE];
+                for (int length; (length = reader.read(buffer)) != -1; ) {
+                    md.update(new String(buffer, 0, length).getBytes("UTF-8"));
+                }
+            }
+            return md.digest();
+        }
+        catch (IOException e) {
+            return null;
+        }
+        finally {
+            close(stream);
+            if (reader != null) {
+                try {
+                    reader.close();
+                }
+                catch (IOException e) {
+                }
+            }
+        }
+    } // digest(XMLResourceIdentifier):byte[]
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    } // writeString(DataOutputStream,String)
+
+    private static String readString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    } // readString(DataInputStream):String
+
+    private static boolean equals(String s1, String s2) {
+        return (s1 == null) ? s2 == null : s1.equals(s2);
+    } // equals(String,String):boolean
+
+    private static String toHex(byte[] bytes) {
+        final StringBuffer buffer = new StringBuffer(bytes.length * 2);
+        for (int i = 0; i < bytes.length; ++i) {
+            buffer.append(Character.forDigit((bytes[i] >> 4) & 0xF, 16));
+            buffer.append(Character.forDigit(bytes[i] & 0xF, 16));
+        }
+        return buffer.toString();
+    } // toHex(byte[]):String
+
+    private static void close(InputStream in) {
+        if (in != null) {
+            try {
+                in.close();
+            }
+            catch (IOException e) {
+            }
+        }
+    } // close(InputStream)
+
+    private static void close(OutputStream out) {
+        if (out != null) {
+            try {
+                out.close();
+            }
+            catch (IOException e) {
+            }
+        }
+    } // close(OutputStream)
+
+} // class DTDGrammarCache
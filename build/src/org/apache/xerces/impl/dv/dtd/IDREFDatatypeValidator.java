@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.xerces.impl.dv.dtd;
+
+import org.apache.xerces.impl.dv.DatatypeValidator;
+import org.apache.xerces.impl.dv.InvalidDatatypeValueException;
+import org.apache.xerces.impl.dv.ValidationContext;
+import org.apache.xerces.util.XMLChar;
+
+/**
+ * <p>IDREFDatatypeValidator - represents the IDREFS
+ * attribute type from XML 1.0 recommendation. The
+ * Value Space of IDREF is the set of all strings
+ * that match the NCName production and have been
+ * used in an XML Document as the value of an element 
+ * or attribute of Type ID. The Lexical space of
+ * IDREF is the set of strings that match the NCName
+ * production.</p>
+ * <p>The Value space of IDREF is scoped to a specific
+ * instance document</p>
+ *
+ * @xerces.internal  
+ * 
+ * @author Jeffrey Rodriguez, IBM
+ * @author Sandy Gao, IBM
+ * 
+ * @version $Id$
+ */
+public class IDREFDatatypeValidator implements DatatypeValidator {
+
+    // construct an IDREF datatype validator
+    public IDREFDatatypeValidator() {
+    }
+
+    /**
+     * Checks that "content" string is valid IDREF value.
+     * If invalid a Datatype validation exception is thrown.
+     * 
+     * @param content the string value that needs to be validated
+     * @param context the validation context
+     * @throws InvalidDatatypeValueException if the content is invalid according to the rules for the validators
+     */
+    public void validate(String content, ValidationContext context) throws InvalidDatatypeValueException {
+
+        //Check if is valid key-[81] EncName ::= [A-Za-z] ([A-Za-z0-9._] | '-')*
+        if(context.useNamespaces()) {
+            if (!XMLChar.isValidNCName(content)) {
+                throw new InvalidDatatypeValueException("IDREFInvalidWithNamespaces", new Object[]{content});
+            }
+        }
+        else {
+            if (!XMLChar.isValidName(content)) {
+                throw new InvalidDatatypeValueException("IDREFInvalid", new Object[]{content});
+            }
+        }
+
+        context.addIdRef(content);
+        
+    }
+
+}
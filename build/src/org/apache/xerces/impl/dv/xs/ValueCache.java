@@ -0,0 +1,179 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.xerces.impl.dv.xs;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * <p>A bounded cache of the actual values of a simple type, keyed on
+ * their normalized lexical values. It may be shared by validators
+ * running on different threads.</p>
+ *
+ * <p>Looking up a value takes no lock. Each value may be stored in one
+ * of a few consecutive slots of the table, starting at the slot selected
+ * by its hash code. When all of them are taken, one is replaced using the
+ * clock algorithm: a slot whose value was looked up since the clock last
+ * passed is given a second chance. Values added concurrently may replace
+ * each other; this only causes a later miss.</p>
+ *
+ * @xerces.internal
+ *
+ * @version $Id$
+ */
+final class ValueCache {
+
+    //
+    // Constants
+    //
+
+    /** The number of slots in which a value may be stored. */
+    private static final int PROBE_LENGTH = 4;
+
+    //
+    // Data
+    //
+
+    /** Entries; the number of slots is a power of two. */
+    private final AtomicReferenceArray fEntries;
+
+    /** Mask selecting a slot from a hash code. */
+    private final int fMask;
+
+    /** The size requested when this cache was created. */
+    private final int fSize;
+
+    /** The number of lookups which found a value. */
+    private final AtomicLong fHits = new AtomicLong();
+
+    /** The number of lookups which did not find a value. */
+    private final AtomicLong fMisses = new AtomicLong();
+
+    //
+    // Constructors
+    //
+
+    /**
+     * Constructs a cache.
+     *
+     * @param size The number of values the cache may hold. It is rounded
+     *             down to a power of two, but is at least four.
+     */
+    ValueCache(int size) {
+        int capacity = PROBE_LENGTH;
+        while (capacity <= size >> 1) {
+            capacity <<= 1;
+        }
+        fEntries = new AtomicReferenceArray(capacity);
+        fMask = capacity - 1;
+        fSize = size;
+    } // <init>(int)
+
+    //
+    // Methods
+    //
+
+    /** Returns the size requested when this cache was created. */
+    int getSize() {
+        return fSize;
+    } // getSize():int
+
+    /** Returns the number of lookups which found a value. */
+    long getHits() {
+        return fHits.get();
+    } // getHits():long
+
+    /** Returns the number of lookups which did not find a value. */
+    long getMisses() {
+        return fMisses.get();
+    } // getMisses():long
+
+    /**
+     * Returns the actual value cached for the given normalized value,
+     * or null if there is none.
+     */
+    Object get(String key) {
+        final int hash = key.hashCode();
+        final int start = hash & fMask;
+        for (int i = 0; i < PROBE_LENGTH; ++i) {
+            final Entry entry = (Entry) fEntries.get((start + i) & fMask);
+            if (entry != null && entry.hash == hash && entry.key.equals(key)) {
+                if (!entry.referenced) {
+                    entry.referenced = true;
+                }
+                fHits.incrementAndGet();
+                return entry.value;
+            }
+        }
+        fMisses.incrementAndGet();
+        return null;
+    } // get(String):Object
+
+    /** Caches the actual value of the given normalized value. */
+    void put(String key, Object value) {
+        final int hash = key.hashCode();
+        final int start = hash & fMask;
+        final Entry newEntry = new Entry(hash, key, value);
+        int victim = -1;
+        for (int i = 0; i < PROBE_LENGTH; ++i) {
+            final int slot = (start + i) & fMask;
+            final Entry entry = (Entry) fEntries.get(slot);
+            if (entry == null) {
+                if (fEntries.compareAndSet(slot, null, newEntry)) {
+                    return;
+                }
+            }
+            else if (entry.hash == hash && entry.key.equals(key)) {
+                return;
+            }
+            else if (victim == -1) {
+                if (entry.referenced) {
+                    entry.referenced = false;
+                }
+                else {
+                    victim = slot;
+                }
+            }
+        }
+        // every slot was referenced; the clock has now cleared them all
+        fEntries.set(victim != -1 ? victim : start, newEntry);
+    } // put(String,Object)
+
+    //
+    // Classes
+    //
+
+    /** A cached value. */
+    private static final class Entry {
+
+        final int hash;
+        final String key;
+        final Object value;
+
+        /** Whether the value was looked up since the clock last passed. */
+        volatile boolean referenced;
+
+        Entry(int hash, String key, Object value) {
+            this.hash = hash;
+            this.key = key;
+            this.value = value;
+        }
+
+    } // class Entry
+
+} // class ValueCache
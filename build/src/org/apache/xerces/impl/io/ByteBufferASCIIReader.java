@@ -0,0 +1,229 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.xerces.impl.io;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.util.Locale;
+
+import org.apache.xerces.impl.msg.XMLMessageFormatter;
+import org.apache.xerces.util.MessageFormatter;
+
+/**
+ * An ASCII reader which decodes characters directly from the windows
+ * of a <code>ByteBufferInputStream</code>, without first copying
+ * the bytes into an array.
+ * 
+ * @xerces.internal
+ *
+ * @version $Id$
+ */
+public final class ByteBufferASCIIReader
+    extends Reader {
+
+    //
+    // Data
+    //
+
+    /** Input stream. */
+    protected final ByteBufferInputStream fInputStream;
+
+    // message formatter; used to produce localized
+    // exception messages
+    private final MessageFormatter fFormatter;
+
+    //Locale to use for messages
+    private final Locale fLocale;
+
+    //
+    // Constructors
+    //
+
+    /** 
+     * Constructs an ASCII reader from the specified input stream.
+     *
+     * @param inputStream The input stream.
+     * @param messageFormatter  the MessageFormatter to use to message reporting.
+     * @param locale    the Locale for which messages are to be reported
+     */
+    public ByteBufferASCIIReader(ByteBufferInputStream inputStream,
+            MessageFormatter messageFormatter, Locale locale) {
+        fInputStream = inputStream;
+        fFormatter = messageFormatter;
+        fLocale = locale;
+    } // <init>(ByteBufferInputStream, MessageFormatter, Locale)
+
+    //
+    // Reader methods
+    //
+
+    /**
+     * Read a single character.  This method will block until a character is
+     * available, an I/O error occurs, or the end of the stream is reached.
+     *
+     * @return     The character read, as an integer in the range 0 to 127
+     *             (<code>0x00-0x7f</code>), or -1 if the end of the stream has
+     *             been reached
+     *
+     * @exception  IOException  If an I/O error occurs
+     */
+    public int read() throws IOException {
+        int b0 = fInputStream.read();
+        if (b0 >= 0x80) {
+            invalidASCII(b0);
+        }
+        return b0;
+    } // read():int
+
+    /**
+     * Read characters into a portion of an array.  This method will block
+     * until some input is available, an I/O error occurs, or the end of the
+     * stream is reached.
+     *
+     * @param      ch     Destination buffer
+     * @param      offset Offset at which to start storing characters
+     * @param      length Maximum number of characters to read
+     *
+     * @return     The number of characters read, or -1 if the end of the
+     *             stream has been reached
+     *
+     * @exception  IOException  If an I/O error occurs
+     */
+    public int read(char ch[], int offset, int length) throws IOException {
+        if (length <= 0) {
+            return 0;
+        }
+        if (!fInputStream.mayReadChunks()) {
+            length = 1;
+        }
+        int out = offset;
+        final int end = offset + length;
+        while (out < end) {
+            final ByteBuffer window = fInputStream.getWindow();
+            if (window == null) {
+                break;
+            }
+            final int start = window.position();
+            final int limit = Math.min(window.limit(), start + (end - out));
+            for (int in = start; in < limit; ++in) {
+                final byte b0 = window.get(in);
+                if (b0 < 0) {
+                    // NOTE: Like ASCIIReader, signal the error without
+                    //       returning the valid characters before it.
+                    window.position(in + 1);
+                    invalidASCII(b0 & 0x0FF);
+                }
+                ch[out++] = (char)b0;
+            }
+            window.position(limit);
+        }
+        return (out > offset) ? out - offset : -1;
+    } // read(char[],int,int)
+
+    /**
+     * Skip characters.  This method will block until some characters are
+     * available, an I/O error occurs, or the end of the stream is reached.
+     *
+     * @param  n  The number of characters to skip
+     *
+     * @return    The number of characters actually skipped
+     *
+     * @exception  IOException  If an I/O error occurs
+     */
+    public long skip(long n) throws IOException {
+        return fInputStream.skip(n);
+    } // skip(long):long
+
+    /**
+     * Tell whether this stream is ready to be read.
+     *
+     * @return True if the next read() is guaranteed not to block for input,
+     * false otherwise.  Note that returning false does not guarantee that the
+     * next read will block.
+     *
+     * @exception  IOException  If an I/O error occurs
+     */
+    public boolean ready() throws IOException {
+        return false;
+    } // ready()
+
+    /**
+     * Tell whether this stream supports the mark() operation.
+     */
+    public boolean markSupported() {
+        return fInputStream.markSupported();
+    } // markSupported()
+
+    /**
+     * Mark the present position in the stream.  Subsequent calls to reset()
+     * will attempt to reposition the stream to this point.  Not all
+     * character-input streams support the mark() operation.
+     *
+     * @param  readAheadLimit  Limit on the number of characters that may be
+     *                         read while still preserving the mark.  After
+     *                         reading this many characters, attempting to
+     *                         reset the stream may fail.
+     *
+     * @exception  IOException  If the stream does not support mark(),
+     *                          or if some other I/O error occurs
+     */
+    public void mark(int readAheadLimit) throws IOException {
+        fInputStream.mark(readAheadLimit);
+    } // mark(int)
+
+    /**
+     * Reset the stream.  If the stream has been marked, then attempt to
+     * reposition it at the mark.  If the stream has not been marked, then
+     * attempt to reset it in some way appropriate to the particular stream,
+     * for example by repositioning it to its starting point.  Not all
+     * character-input streams support the reset() operation, and some support
+     * reset() without supporting mark().
+     *
+     * @exception  IOException  If the stream has not been marked,
+     *                          or if the mark has been invalidated,
+     *                          or if the stream does not support reset(),
+     *                          or if some other I/O error occurs
+     */
+    public void reset() throws IOException {
+        fInputStream.reset();
+    } // reset()
+
+    /**
+     * Close the stream.  Once a stream has been closed, further read(),
+     * ready(), mark(), or reset() invocations will throw an IOException.
+     * Closing a previously-closed stream, however, has no effect.
+     *
+     * @exception  IOException  If an I/O error occurs
+     */
+    public void close() throws IOException {
+        fInputStream.close();
+    } // close()
+
+    //
+    // Private methods
+    //
+
+    /** Throws an exception for a byte outside of the ASCII range. */
+    private void invalidASCII(int b0) throws MalformedByteSequenceException {
+        throw new MalformedByteSequenceException(fFormatter, 
+            fLocale, XMLMessageFormatter.XML_DOMAIN, 
+            "InvalidASCII", new Object [] {Integer.toString(b0)});
+    } // invalidASCII(int)
+
+} // class ByteBufferASCIIReader
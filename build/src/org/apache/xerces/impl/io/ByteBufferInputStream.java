@@ -0,0 +1,251 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.xerces.impl.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * An input stream over the bytes of a <code>ByteBuffer</code>, or of
+ * a <code>FileChannel</code> which is mapped into memory one window at
+ * a time. Besides the usual stream methods, the readers in this package
+ * may take the current window and decode characters directly from it.
+ * The stream supports mark and reset; before a mark is set, reset
+ * returns to the position at which the stream was created.
+ * 
+ * @xerces.internal
+ *
+ * @version $Id$
+ */
+public class ByteBufferInputStream extends InputStream {
+
+    //
+    // Constants
+    //
+
+    /** Default size of a mapped window (8 MB). */
+    public static final int DEFAULT_WINDOW_SIZE = 1 << 23;
+
+    /** An empty window. */
+    private static final ByteBuffer EMPTY_WINDOW = ByteBuffer.allocate(0);
+
+    //
+    // Data
+    //
+
+    /** The mapped file channel, or null if reading a byte buffer. */
+    private FileChannel fChannel;
+
+    /** The size of a mapped window. */
+    private final int fWindowSize;
+
+    /** The position of the end of the input. */
+    private final long fEnd;
+
+    /** The position of the start of the current window. */
+    private long fWindowStart;
+
+    /** The current window. */
+    private ByteBuffer fWindow;
+
+    /** The marked position. */
+    private long fMark;
+
+    //
+    // Constructors
+    //
+
+    /**
+     * Constructs a stream over the remaining bytes of a buffer. The
+     * position of the given buffer is not changed by reading the stream.
+     *
+     * @param buffer The byte buffer.
+     */
+    public ByteBufferInputStream(ByteBuffer buffer) {
+        fChannel = null;
+        fWindowSize = 0;
+        fWindow = buffer.duplicate();
+        fWindowStart = 0;
+        fEnd = fWindow.limit();
+        fMark = fWindow.position();
+    } // <init>(ByteBuffer)
+
+    /**
+     * Constructs a stream over a file channel, from its current
+     * position to its end, using the default window size.
+     *
+     * @param channel The file channel.
+     *
+     * @exception IOException If an I/O error occurs
+     */
+    public ByteBufferInputStream(FileChannel channel) throws IOException {
+        this(channel, DEFAULT_WINDOW_SIZE);
+    } // <init>(FileChannel)
+
+    /**
+     * Constructs a stream over a file channel, from its current
+     * position to its end.
+     *
+     * @param channel    The file channel.
+     * @param windowSize The number of bytes mapped at a time.
+     *
+     * @exception IOException If an I/O error occurs
+     */
+    public ByteBufferInputStream(FileChannel channel, int windowSize) throws IOException {
+        fChannel = channel;
+        fWindowSize = windowSize;
+        fEnd = channel.size();
+        fMark = channel.position();
+        fWindowStart = fMark;
+        fWindow = EMPTY_WINDOW;
+    } // <init>(FileChannel,int)
+
+    //
+    // InputStream methods
+    //
+
+    public int read() throws IOException {
+        final ByteBuffer window = getWindow();
+        return (window != null) ? window.get() & 0xFF : -1;
+    } // read():int
+
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len <= 0) {
+            return 0;
+        }
+        final ByteBuffer window = getWindow();
+        if (window == null) {
+            return -1;
+        }
+        if (!mayReadChunks()) {
+            b[off] = window.get();
+            return 1;
+        }
+        final int remaining = window.remaining();
+        if (len > remaining) {
+            len = remaining;
+        }
+        window.get(b, off, len);
+        return len;
+    } // read(byte[],int,int):int
+
+    public long skip(long n) throws IOException {
+        if (n <= 0) {
+            return 0;
+        }
+        final long position = getPosition();
+        final long skipped = Math.min(n, fEnd - position);
+        setPosition(position + skipped);
+        return skipped;
+    } // skip(long):long
+
+    public int available() throws IOException {
+        return fWindow.remaining();
+    } // available():int
+
+    public void mark(int readLimit) {
+        fMark = getPosition();
+    } // mark(int)
+
+    public void reset() throws IOException {
+        setPosition(fMark);
+    } // reset()
+
+    public boolean markSupported() {
+        return true;
+    } // markSupported():boolean
+
+    public void close() throws IOException {
+        fWindow = EMPTY_WINDOW;
+        if (fChannel != null) {
+            fWindowStart = fEnd;
+            fChannel.close();
+            fChannel = null;
+        }
+    } // close()
+
+    //
+    // Protected methods
+    //
+
+    /**
+     * Returns true if a reader may decode more than one character
+     * per call. While this returns false, <code>read(byte[],int,int)</code>
+     * returns a single byte, and the readers in this package return a
+     * single character, so that the reader can be replaced after an
+     * encoding declaration is scanned. The default implementation
+     * always returns true.
+     */
+    protected boolean mayReadChunks() {
+        return true;
+    } // mayReadChunks():boolean
+
+    //
+    // Package methods
+    //
+
+    /**
+     * Returns the window containing the next byte of input, mapping the
+     * next window of the file if the current one has been read, or
+     * <code>null</code> if there is no more input. Readers decode from
+     * the window and advance its position past the bytes they consume.
+     */
+    final ByteBuffer getWindow() throws IOException {
+        if (fWindow.hasRemaining()) {
+            return fWindow;
+        }
+        if (fChannel == null) {
+            return null;
+        }
+        final long start = fWindowStart + fWindow.limit();
+        if (start >= fEnd) {
+            return null;
+        }
+        map(start);
+        return fWindow;
+    } // getWindow():ByteBuffer
+
+    /** Returns the position of the next byte of input. */
+    final long getPosition() {
+        return fWindowStart + fWindow.position();
+    } // getPosition():long
+
+    /** Moves to the given position, mapping another window if necessary. */
+    final void setPosition(long position) throws IOException {
+        if (position >= fWindowStart && position <= fWindowStart + fWindow.limit()) {
+            fWindow.position((int) (position - fWindowStart));
+        }
+        else if (fChannel != null) {
+            map(position);
+        }
+    } // setPosition(long)
+
+    //
+    // Private methods
+    //
+
+    /** Maps the window of the file channel starting at the given position. */
+    private void map(long start) throws IOException {
+        final long size = Math.min(fWindowSize, fEnd - start);
+        fWindow = fChannel.map(FileChannel.MapMode.READ_ONLY, start, size);
+        fWindowStart = start;
+    } // map(long)
+
+} // class ByteBufferInputStream
@@ -0,0 +1,398 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.xerces.impl.io;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.util.Locale;
+
+import org.apache.xerces.impl.msg.XMLMessageFormatter;
+import org.apache.xerces.util.MessageFormatter;
+
+/**
+ * A UTF-8 reader which decodes characters directly from the windows
+ * of a <code>ByteBufferInputStream</code>, without first copying
+ * the bytes into an array.
+ * 
+ * @xerces.internal
+ *
+ * @version $Id$
+ */
+public final class ByteBufferUTF8Reader
+    extends Reader {
+
+    //
+    // Data
+    //
+
+    /** Input stream. */
+    protected final ByteBufferInputStream fInputStream;
+
+    /** Surrogate character. */
+    private int fSurrogate = -1;
+
+    // message formatter; used to produce localized
+    // exception messages
+    private final MessageFormatter fFormatter;
+
+    //Locale to use for messages
+    private final Locale fLocale;
+
+    //
+    // Constructors
+    //
+
+    /** 
+     * Constructs a UTF-8 reader from the specified input stream.
+     *
+     * @param inputStream The input stream.
+     * @param messageFormatter  the MessageFormatter to use to message reporting.
+     * @param locale    the Locale for which messages are to be reported
+     */
+    public ByteBufferUTF8Reader(ByteBufferInputStream inputStream,
+            MessageFormatter messageFormatter, Locale locale) {
+        fInputStream = inputStream;
+        fFormatter = messageFormatter;
+        fLocale = locale;
+    } // <init>(ByteBufferInputStream, MessageFormatter, Locale)
+
+    //
+    // Reader methods
+    //
+
+    /**
+     * Read a single character.  This method will block until a character is
+     * available, an I/O error occurs, or the end of the stream is reached.
+     *
+     * @return     The character read, as an integer in the range 0 to 16383
+     *             (<code>0x00-0xffff</code>), or -1 if the end of the stream has
+     *             been reached
+     *
+     * @exception  IOException  If an I/O error occurs
+     */
+    public int read() throws IOException {
+        int c = fSurrogate;
+        if (c != -1) {
+            fSurrogate = -1;
+            return c;
+        }
+        c = fInputStream.read();
+        if (c >= 0x80) {
+            c = decode(c);
+            if (c > 0x10FFFF) {
+                invalidSurrogate(c >> 16);
+            }
+            if (c > 0xFFFF) {
+                fSurrogate = 0xDC00 | (c & 0x03FF);
+                c = 0xD800 | ((c - 0x10000) >> 10);
+            }
+        }
+        return c;
+    } // read():int
+
+    /**
+     * Read characters into a portion of an array.  This method will block
+     * until some input is available, an I/O error occurs, or the end of the
+     * stream is reached.
+     *
+     * @param      ch     Destination buffer
+     * @param      offset Offset at which to start storing characters
+     * @param      length Maximum number of characters to read
+     *
+     * @return     The number of characters read, or -1 if the end of the
+     *             stream has been reached
+     *
+     * @exception  IOException  If an I/O error occurs
+     */
+    public int read(char ch[], int offset, int length) throws IOException {
+
+        if (length <= 0) {
+            return 0;
+        }
+        if (!fInputStream.mayReadChunks()) {
+            final int c = read();
+            if (c == -1) {
+                return -1;
+            }
+            ch[offset] = (char)c;
+            return 1;
+        }
+
+        int out = offset;
+        final int end = offset + length;
+        if (fSurrogate != -1) {
+            ch[out++] = (char)fSurrogate;
+            fSurrogate = -1;
+        }
+        while (out < end) {
+            final ByteBuffer window = fInputStream.getWindow();
+            if (window == null) {
+                break;
+            }
+
+            // decode a run of ASCII characters straight from the window
+            int in = window.position();
+            final int limit = Math.min(window.limit(), in + (end - out));
+            byte b;
+            while (in < limit && (b = window.get(in)) >= 0) {
+                ch[out++] = (char)b;
+                ++in;
+            }
+            window.position(in);
+            if (in == limit) {
+                continue;
+            }
+
+            // decode a multi-byte sequence, which may span windows
+            final long start = fInputStream.getPosition();
+            int c;
+            try {
+                c = decode(fInputStream.read());
+            }
+            catch (MalformedByteSequenceException e) {
+                // NOTE: Return the valid characters which have been
+                //       decoded. The error will be signalled by the
+                //       next read, which starts with the bad sequence.
+                if (out > offset) {
+                    fInputStream.setPosition(start);
+                    break;
+                }
+                throw e;
+            }
+            if (c > 0x10FFFF) {
+                invalidSurrogate(c >> 16);
+            }
+            if (c > 0xFFFF) {
+                ch[out++] = (char)(0xD800 | ((c - 0x10000) >> 10));
+                c = 0xDC00 | (c & 0x03FF);
+                if (out == end) {
+                    fSurrogate = c;
+                    break;
+                }
+            }
+            ch[out++] = (char)c;
+        }
+        return (out > offset) ? out - offset : -1;
+
+    } // read(char[],int,int)
+
+    /**
+     * Skip characters.  This method will block until some characters are
+     * available, an I/O error occurs, or the end of the stream is reached.
+     *
+     * @param  n  The number of characters to skip
+     *
+     * @return    The number of characters actually skipped
+     *
+     * @exception  IOException  If an I/O error occurs
+     */
+    public long skip(long n) throws IOException {
+        long skipped = 0;
+        while (skipped < n && read() != -1) {
+            ++skipped;
+        }
+        return skipped;
+    } // skip(long):long
+
+    /**
+     * Tell whether this stream is ready to be read.
+     *
+     * @return True if the next read() is guaranteed not to block for input,
+     * false otherwise.  Note that returning false does not guarantee that the
+     * next read will block.
+     *
+     * @exception  IOException  If an I/O error occurs
+     */
+    public boolean ready() throws IOException {
+        return false;
+    } // ready()
+
+    /**
+     * Tell whether this stream supports the mark() operation.
+     */
+    public boolean markSupported() {
+        return false;
+    } // markSupported()
+
+    /**
+     * Mark the present position in the stream.  Subsequent calls to reset()
+     * will attempt to reposition the stream to this point.  Not all
+     * character-input streams support the mark() operation.
+     *
+     * @param  readAheadLimit  Limit on the number of characters that may be
+     *                         read while still preserving the mark.  After
+     *                         reading this many characters, attempting to
+     *                         reset the stream may fail.
+     *
+     * @exception  IOException  If the stream does not support mark(),
+     *                          or if some other I/O error occurs
+     */
+    public void mark(int readAheadLimit) throws IOException {
+        throw new IOException(fFormatter.formatMessage(fLocale, "OperationNotSupported", new Object[]{"mark()", "UTF-8"}));
+    } // mark(int)
+
+    /**
+     * Reset the stream.  If the stream has been marked, then attempt to
+     * reposition it at the mark.  If the stream has not been marked, then
+     * attempt to reset it in some way appropriate to the particular stream,
+     * for example by repositioning it to its starting point.  Not all
+     * character-input streams support the reset() operation, and some support
+     * reset() without supporting mark().
+     *
+     * @exception  IOException  If the stream has not been marked,
+     *                          or if the mark has been invalidated,
+     *                          or if the stream does not support reset(),
+     *                          or if some other I/O error occurs
+     */
+    public void reset() throws IOException {
+        fSurrogate = -1;
+    } // reset()
+
+    /**
+     * Close the stream.  Once a stream has been closed, further read(),
+     * ready(), mark(), or reset() invocations will throw an IOException.
+     * Closing a previously-closed stream, however, has no effect.
+     *
+     * @exception  IOException  If an I/O error occurs
+     */
+    public void close() throws IOException {
+        fInputStream.close();
+    } // close()
+
+    //
+    // Private methods
+    //
+
+    /** 
+     * Decodes the rest of a multi-byte sequence which starts with
+     * the given byte, and returns the Unicode code point.
+     */
+    private int decode(int b0) throws IOException {
+
+        // UTF-8:   [110y yyyy] [10xx xxxx]
+        // Unicode: [0000 0yyy] [yyxx xxxx]
+        if ((b0 & 0xE0) == 0xC0 && (b0 & 0x1E) != 0) {
+            int b1 = fInputStream.read();
+            if (b1 == -1) {
+                expectedByte(2, 2);
+            }
+            if ((b1 & 0xC0) != 0x80) {
+                invalidByte(2, 2, b1);
+            }
+            return ((b0 << 6) & 0x07C0) | (b1 & 0x003F);
+        }
+
+        // UTF-8:   [1110 zzzz] [10yy yyyy] [10xx xxxx]
+        // Unicode: [zzzz yyyy] [yyxx xxxx]
+        if ((b0 & 0xF0) == 0xE0) {
+            int b1 = fInputStream.read();
+            if (b1 == -1) {
+                expectedByte(2, 3);
+            }
+            if ((b1 & 0xC0) != 0x80 
+                || (b0 == 0xED && b1 >= 0xA0)
+                || ((b0 & 0x0F) == 0 && (b1 & 0x20) == 0)) {
+                invalidByte(2, 3, b1);
+            }
+            int b2 = fInputStream.read();
+            if (b2 == -1) {
+                expectedByte(3, 3);
+            }
+            if ((b2 & 0xC0) != 0x80) {
+                invalidByte(3, 3, b2);
+            }
+            return ((b0 << 12) & 0xF000) | ((b1 << 6) & 0x0FC0) |
+                   (b2 & 0x003F);
+        }
+
+        // UTF-8:   [1111 0uuu] [10uu zzzz] [10yy yyyy] [10xx xxxx]
+        // Unicode: [000u uuuu] [zzzz yyyy] [yyxx xxxx]
+        if ((b0 & 0xF8) == 0xF0) {
+            int b1 = fInputStream.read();
+            if (b1 == -1) {
+                expectedByte(2, 4);
+            }
+            if ((b1 & 0xC0) != 0x80
+                || ((b1 & 0x30) == 0 && (b0 & 0x07) == 0)) {
+                invalidByte(2, 4, b1);
+            }
+            int b2 = fInputStream.read();
+            if (b2 == -1) {
+                expectedByte(3, 4);
+            }
+            if ((b2 & 0xC0) != 0x80) {
+                invalidByte(3, 4, b2);
+            }
+            int b3 = fInputStream.read();
+            if (b3 == -1) {
+                expectedByte(4, 4);
+            }
+            if ((b3 & 0xC0) != 0x80) {
+                invalidByte(4, 4, b3);
+            }
+            // NOTE: Code points above 0x10FFFF are rejected by the
+            //       caller, since UTF8Reader does not first return
+            //       the valid characters before such a sequence.
+            int uuuuu = ((b0 << 2) & 0x001C) | ((b1 >> 4) & 0x0003);
+            return (uuuuu << 16) | ((b1 << 12) & 0xF000) |
+                   ((b2 << 6) & 0x0FC0) | (b3 & 0x003F);
+        }
+
+        // error
+        invalidByte(1, 1, b0);
+        return -1;
+
+    } // decode(int):int
+
+    /** Throws an exception for expected byte. */
+    private void expectedByte(int position, int count)
+        throws MalformedByteSequenceException {
+
+        throw new MalformedByteSequenceException(fFormatter,
+            fLocale,
+            XMLMessageFormatter.XML_DOMAIN,
+            "ExpectedByte",
+            new Object[] {Integer.toString(position), Integer.toString(count)});
+
+    } // expectedByte(int,int)
+
+    /** Throws an exception for invalid byte. */
+    private void invalidByte(int position, int count, int c)
+        throws MalformedByteSequenceException {
+
+        throw new MalformedByteSequenceException(fFormatter,
+            fLocale,
+            XMLMessageFormatter.XML_DOMAIN,
+            "InvalidByte", 
+            new Object [] {Integer.toString(position), Integer.toString(count)});
+
+    } // invalidByte(int,int,int)
+
+    /** Throws an exception for invalid surrogate bits. */
+    private void invalidSurrogate(int uuuuu) throws MalformedByteSequenceException {
+
+        throw new MalformedByteSequenceException(fFormatter,
+            fLocale,
+            XMLMessageFormatter.XML_DOMAIN,
+            "InvalidHighSurrogate", 
+            new Object[] {Integer.toHexString(uuuuu)});
+
+    } // invalidSurrogate(int)
+
+} // class ByteBufferUTF8Reader
@@ -0,0 +1,581 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.xerces.impl.xpath.regex;
+
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * A matcher for regular expressions in XML Schema mode which denote
+ * regular languages, i.e. which contain no back-references, anchors or
+ * look-around. The token tree is compiled into an NFA and a DFA is
+ * built from it lazily, one transition at a time, as input is matched.
+ * Matching with transitions which have already been built takes time
+ * linear in the length of the input, allocates nothing and takes no lock.
+ * <p>
+ * The input alphabet is split into classes of characters which every
+ * character test in the expression treats alike, so a DFA state only
+ * needs one transition per class. Input containing surrogates, and input
+ * which would grow the DFA beyond a fixed number of states, is left to
+ * the backtracking matcher in <code>RegularExpression</code>.
+ *
+ * @xerces.internal
+ *
+ * @version $Id$
+ */
+final class DFAMatcher {
+
+    /** Result of {@link #matches}: the input matches. */
+    static final int MATCH = 1;
+    /** Result of {@link #matches}: the input does not match. */
+    static final int NO_MATCH = 0;
+    /** Result of {@link #matches}: the input must be matched by the interpreter. */
+    static final int UNKNOWN = -1;
+
+    // limits beyond which the interpreter is used instead
+    private static final int MAX_NFA_STATES = 4096;
+    private static final int MAX_DFA_STATES = 256;
+    private static final int MAX_CLASSES = 2048;
+
+    // NFA state kinds
+    private static final int NFA_CHAR = 0;
+    private static final int NFA_RANGE = 1;
+    private static final int NFA_DOT = 2;
+    private static final int NFA_EPSILON = 3;
+    private static final int NFA_ACCEPT = 4;
+
+    // special transition values
+    private static final int UNKNOWN_STATE = -1;
+    private static final int DEAD_STATE = -2;
+    private static final int FAILED_STATE = -3;
+
+    //
+    // Data
+    //
+
+    // NFA
+    private int fNFAStateCount = 0;
+    private int[] fKind = new int[16];
+    private int[] fChar = new int[16];
+    private RangeToken[] fRange = new RangeToken[16];
+    private int[] fOut = new int[16];
+    private int[][] fEpsilon = new int[16][];
+
+    /** The first character of each character class, in ascending order. */
+    private int[] fClassStarts;
+
+    /** Character class of each character below 256. */
+    private final int[] fLatin1Classes = new int[256];
+
+    /** The number of character classes. */
+    private int fClassCount;
+
+    /**
+     * Transitions of each DFA state, indexed by character class. The
+     * element after the last class is non-zero for accepting states.
+     * The outer array is replaced when a state is added. The rows are
+     * shared between the tables: transition() fills in their unknown
+     * elements in place, under the lock and without publishing them.
+     * This race is benign. Each element is an int written only once,
+     * from UNKNOWN_STATE to its final value, so a reader sees one of
+     * the two. On UNKNOWN_STATE it computes the transition again under
+     * the lock. A state index beyond the reader's table also sends it
+     * to transition(), which returns after the new table is published.
+     */
+    private volatile int[][] fTable;
+
+    /** The NFA states making up each DFA state. Guarded by this. */
+    private int[][] fStateSets;
+
+    /** Maps sets of NFA states to DFA states. Guarded by this. */
+    private final HashMap fStateIndex = new HashMap();
+
+    // scratch space for computing closures; guarded by this
+    private int[] fMarks;
+    private int fMarkGeneration = 0;
+    private int[] fStack;
+
+    private DFAMatcher() {}
+
+    /**
+     * Returns a matcher for the token tree, or null if the expression
+     * is not regular or too large to be compiled.
+     */
+    static DFAMatcher compile(Token tokentree) {
+        final DFAMatcher dfa = new DFAMatcher();
+        final int accept = dfa.newState(NFA_ACCEPT);
+        final int start = dfa.compile(tokentree, accept);
+        if (start < 0 || !dfa.buildClasses()) {
+            return null;
+        }
+        dfa.fMarks = new int[dfa.fNFAStateCount];
+        dfa.fStack = new int[dfa.fNFAStateCount];
+        final int[] startSet = dfa.closure(new int[] {start}, 1);
+        dfa.fStateSets = new int[0][];
+        dfa.fTable = new int[0][];
+        dfa.addState(startSet);
+        return dfa;
+    }
+
+    /**
+     * Checks whether the whole of the given range of the target matches.
+     *
+     * @return MATCH, NO_MATCH, or UNKNOWN if the interpreter must be used.
+     */
+    int matches(String target, int start, int end) {
+        int[][] table = fTable;
+        int state = 0;
+        for (int i = start; i < end; ++i) {
+            final int ch = target.charAt(i);
+            if (ch >= 0xD800 && ch <= 0xDFFF) {
+                return UNKNOWN;
+            }
+            final int cls = (ch < 256) ? fLatin1Classes[ch] : classOf(ch);
+            int next = table[state][cls];
+            if (next < 0 || next >= table.length) {
+                if (next == DEAD_STATE) {
+                    return NO_MATCH;
+                }
+                if (next == FAILED_STATE) {
+                    return UNKNOWN;
+                }
+                next = transition(state, cls);
+                if (next == DEAD_STATE) {
+                    return NO_MATCH;
+                }
+                if (next == FAILED_STATE) {
+                    return UNKNOWN;
+                }
+                table = fTable;
+            }
+            state = next;
+        }
+        return table[state][fClassCount] != 0 ? MATCH : NO_MATCH;
+    }
+
+    /**
+     * Checks whether the whole of the given range of the target matches.
+     *
+     * @return MATCH, NO_MATCH, or UNKNOWN if the interpreter must be used.
+     */
+    int matches(char[] target, int start, int end) {
+        int[][] table = fTable;
+        int state = 0;
+        for (int i = start; i < end; ++i) {
+            final int ch = target[i];
+            if (ch >= 0xD800 && ch <= 0xDFFF) {
+                return UNKNOWN;
+            }
+            final int cls = (ch < 256) ? fLatin1Classes[ch] : classOf(ch);
+            int next = table[state][cls];
+            if (next < 0 || next >= table.length) {
+                if (next == DEAD_STATE) {
+                    return NO_MATCH;
+                }
+                if (next == FAILED_STATE) {
+                    return UNKNOWN;
+                }
+                next = transition(state, cls);
+                if (next == DEAD_STATE) {
+                    return NO_MATCH;
+                }
+                if (next == FAILED_STATE) {
+                    return UNKNOWN;
+                }
+                table = fTable;
+            }
+            state = next;
+        }
+        return table[state][fClassCount] != 0 ? MATCH : NO_MATCH;
+    }
+
+    //
+    // NFA construction
+    //
+
+    /**
+     * Compiles the token so that it continues with the state next and
+     * returns its start state, or -1 if the token cannot be compiled.
+     */
+    private int compile(Token tok, int next) {
+        if (next < 0) {
+            return -1;
+        }
+        switch (tok.type) {
+            case Token.CHAR: {
+                final int ch = tok.getChar();
+                if ((ch >= 0xD800 && ch <= 0xDFFF) || ch > 0xFFFF) {
+                    // surrogates are matched by the interpreter
+                    return -1;
+                }
+                final int state = newState(NFA_CHAR);
+                if (state >= 0) {
+                    fChar[state] = ch;
+                    fOut[state] = next;
+                }
+                return state;
+            }
+            case Token.STRING: {
+                final String literal = tok.getString();
+                for (int i = literal.length() - 1; i >= 0 && next >= 0; --i) {
+                    final int ch = literal.charAt(i);
+                    if (ch >= 0xD800 && ch <= 0xDFFF) {
+                        return -1;
+                    }
+                    final int state = newState(NFA_CHAR);
+                    if (state >= 0) {
+                        fChar[state] = ch;
+                        fOut[state] = next;
+                    }
+                    next = state;
+                }
+                return next;
+            }
+            case Token.DOT: {
+                final int state = newState(NFA_DOT);
+                if (state >= 0) {
+                    fOut[state] = next;
+                }
+                return state;
+            }
+            case Token.RANGE:
+            case Token.NRANGE: {
+                final int state = newState(NFA_RANGE);
+                if (state >= 0) {
+                    fRange[state] = (RangeToken) tok;
+                    fOut[state] = next;
+                }
+                return state;
+            }
+            case Token.CONCAT:
+                for (int i = tok.size() - 1; i >= 0; --i) {
+                    next = compile(tok.getChild(i), next);
+                }
+                return next;
+            case Token.UNION: {
+                final int[] outs = new int[tok.size()];
+                for (int i = 0; i < outs.length; ++i) {
+                    outs[i] = compile(tok.getChild(i), next);
+                    if (outs[i] < 0) {
+                        return -1;
+                    }
+                }
+                return newEpsilonState(outs);
+            }
+            case Token.CLOSURE: {
+                final Token child = tok.getChild(0);
+                final int min = tok.getMin();
+                final int max = tok.getMax();
+                final int mandatory = (min > 0) ? min : 0;
+                if (max < 0) {
+                    // X{n,} -> X...XX*
+                    final int loop = newEpsilonState(null);
+                    if (loop < 0) {
+                        return -1;
+                    }
+                    final int body = compile(child, loop);
+                    if (body < 0) {
+                        return -1;
+                    }
+                    fEpsilon[loop] = new int[] {body, next};
+                    next = loop;
+                }
+                else {
+                    // X{n,m} -> X...X(X(X)?)?
+                    for (int i = mandatory; i < max && next >= 0; ++i) {
+                        next = newEpsilonState(new int[] {compile(child, next), next});
+                        if (next >= 0 && fEpsilon[next][0] < 0) {
+                            return -1;
+                        }
+                    }
+                }
+                for (int i = 0; i < mandatory && next >= 0; ++i) {
+                    next = compile(child, next);
+                }
+                return next;
+            }
+            case Token.PAREN:
+                return compile(tok.getChild(0), next);
+            case Token.EMPTY:
+                return next;
+            default:
+                // anchors, back-references, look-around, non-greedy closures, ...
+                return -1;
+        }
+    }
+
+    private int newState(int kind) {
+        if (fNFAStateCount == MAX_NFA_STATES) {
+            return -1;
+        }
+        if (fNFAStateCount == fKind.length) {
+            final int length = fKind.length * 2;
+            int[] kinds = new int[length];
+            System.arraycopy(fKind, 0, kinds, 0, fNFAStateCount);
+            fKind = kinds;
+            int[] chars = new int[length];
+            System.arraycopy(fChar, 0, chars, 0, fNFAStateCount);
+            fChar = chars;
+            RangeToken[] ranges = new RangeToken[length];
+            System.arraycopy(fRange, 0, ranges, 0, fNFAStateCount);
+            fRange = ranges;
+            int[] outs = new int[length];
+            System.arraycopy(fOut, 0, outs, 0, fNFAStateCount);
+            fOut = outs;
+            int[][] epsilons = new int[length][];
+            System.arraycopy(fEpsilon, 0, epsilons, 0, fNFAStateCount);
+            fEpsilon = epsilons;
+        }
+        fKind[fNFAStateCount] = kind;
+        return fNFAStateCount++;
+    }
+
+    private int newEpsilonState(int[] outs) {
+        final int state = newState(NFA_EPSILON);
+        if (state >= 0) {
+            fEpsilon[state] = outs;
+        }
+        return state;
+    }
+
+    //
+    // Character classes
+    //
+
+    /**
+     * Splits the characters of the BMP into classes within which
+     * every character test of the NFA gives the same result.
+     */
+    private boolean buildClasses() {
+        final boolean[] starts = new boolean[0x10001];
+        starts[0] = true;
+        for (int state = 0; state < fNFAStateCount; ++state) {
+            switch (fKind[state]) {
+                case NFA_CHAR:
+                    starts[fChar[state]] = true;
+                    starts[fChar[state] + 1] = true;
+                    break;
+                case NFA_DOT:
+                    markEOLChars(starts);
+                    break;
+                case NFA_RANGE: {
+                    final int[] ranges = fRange[state].ranges;
+                    if (ranges != null) {
+                        for (int i = 0; i < ranges.length; i += 2) {
+                            if (ranges[i] <= 0xFFFF) {
+                                starts[ranges[i]] = true;
+                            }
+                            if (ranges[i + 1] < 0xFFFF) {
+                                starts[ranges[i + 1] + 1] = true;
+                            }
+                        }
+                    }
+                    break;
+                }
+            }
+        }
+        int count = 0;
+        for (int ch = 0; ch <= 0xFFFF; ++ch) {
+            if (starts[ch]) {
+                ++count;
+            }
+        }
+        if (count > MAX_CLASSES) {
+            return false;
+        }
+        fClassStarts = new int[count];
+        count = 0;
+        for (int ch = 0; ch <= 0xFFFF; ++ch) {
+            if (starts[ch]) {
+                fClassStarts[count++] = ch;
+            }
+        }
+        fClassCount = count;
+        for (int ch = 0; ch < 256; ++ch) {
+            fLatin1Classes[ch] = classOf(ch);
+        }
+        return true;
+    }
+
+    private static void markEOLChars(boolean[] starts) {
+        starts['\n'] = true;
+        starts['\n' + 1] = true;
+        starts['\r'] = true;
+        starts['\r' + 1] = true;
+        starts[0x2028] = true;
+        starts[0x2029 + 1] = true;
+    }
+
+    private int classOf(int ch) {
+        final int[] classStarts = fClassStarts;
+        int low = 0;
+        int high = classStarts.length - 1;
+        while (low < high) {
+            final int mid = (low + high + 1) >>> 1;
+            if (classStarts[mid] <= ch) {
+                low = mid;
+            }
+            else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    /** Returns true if the NFA state accepts the character. */
+    private boolean test(int state, int ch) {
+        switch (fKind[state]) {
+            case NFA_CHAR:
+                return fChar[state] == ch;
+            case NFA_DOT:
+                return ch != '\n' && ch != '\r' && ch != 0x2028 && ch != 0x2029;
+            case NFA_RANGE: {
+                final RangeToken range = fRange[state];
+                if (range.ranges == null) {
+                    return range.type == Token.NRANGE;
+                }
+                return range.match(ch);
+            }
+            default:
+                return false;
+        }
+    }
+
+    //
+    // DFA construction
+    //
+
+    /** Computes, records and returns the transition from the state on the class. */
+    private synchronized int transition(int state, int cls) {
+        int next = fTable[state][cls];
+        if (next != UNKNOWN_STATE) {
+            return next;
+        }
+        final int[] set = fStateSets[state];
+        final int ch = fClassStarts[cls];
+        final int[] targets = new int[set.length];
+        int count = 0;
+        for (int i = 0; i < set.length; ++i) {
+            if (test(set[i], ch)) {
+                targets[count++] = fOut[set[i]];
+            }
+        }
+        if (count == 0) {
+            next = DEAD_STATE;
+        }
+        else {
+            final int[] nextSet = closure(targets, count);
+            final Integer index = (Integer) fStateIndex.get(new StateSet(nextSet));
+            if (index != null) {
+                next = index.intValue();
+            }
+            else if (fStateSets.length == MAX_DFA_STATES) {
+                next = FAILED_STATE;
+            }
+            else {
+                next = addState(nextSet);
+            }
+        }
+        fTable[state][cls] = next;
+        return next;
+    }
+
+    /** Adds a DFA state and publishes a new transition table containing it. */
+    private int addState(int[] set) {
+        final int index = fStateSets.length;
+        final int[][] stateSets = new int[index + 1][];
+        System.arraycopy(fStateSets, 0, stateSets, 0, index);
+        stateSets[index] = set;
+        fStateSets = stateSets;
+        fStateIndex.put(new StateSet(set), Integer.valueOf(index));
+
+        final int[] row = new int[fClassCount + 1];
+        Arrays.fill(row, 0, fClassCount, UNKNOWN_STATE);
+        for (int i = 0; i < set.length; ++i) {
+            if (fKind[set[i]] == NFA_ACCEPT) {
+                row[fClassCount] = 1;
+            }
+        }
+        final int[][] table = new int[index + 1][];
+        System.arraycopy(fTable, 0, table, 0, index);
+        table[index] = row;
+        fTable = table;
+        return index;
+    }
+
+    /**
+     * Returns the sorted set of character testing and accepting NFA
+     * states reachable from the given states through epsilon moves.
+     */
+    private int[] closure(int[] states, int count) {
+        if (++fMarkGeneration == 0) {
+            Arrays.fill(fMarks, 0);
+            fMarkGeneration = 1;
+        }
+        final int generation = fMarkGeneration;
+        final int[] stack = fStack;
+        int top = 0;
+        int size = 0;
+        for (int i = 0; i < count; ++i) {
+            if (fMarks[states[i]] != generation) {
+                fMarks[states[i]] = generation;
+                stack[top++] = states[i];
+            }
+        }
+        final int[] result = new int[fNFAStateCount];
+        while (top > 0) {
+            final int state = stack[--top];
+            if (fKind[state] == NFA_EPSILON) {
+                final int[] outs = fEpsilon[state];
+                for (int i = 0; i < outs.length; ++i) {
+                    if (fMarks[outs[i]] != generation) {
+                        fMarks[outs[i]] = generation;
+                        stack[top++] = outs[i];
+                    }
+                }
+            }
+            else {
+                result[size++] = state;
+            }
+        }
+        final int[] set = new int[size];
+        System.arraycopy(result, 0, set, 0, size);
+        Arrays.sort(set);
+        return set;
+    }
+
+    /** A set of NFA states used as a key for the DFA state. */
+    private static final class StateSet {
+        private final int[] fStates;
+        private final int fHashCode;
+
+        StateSet(int[] states) {
+            fStates = states;
+            fHashCode = Arrays.hashCode(states);
+        }
+
+        public int hashCode() {
+            return fHashCode;
+        }
+
+        public boolean equals(Object o) {
+            return (o instanceof StateSet) && Arrays.equals(fStates, ((StateSet) o).fStates);
+        }
+    }
+
+} // class DFAMatcher
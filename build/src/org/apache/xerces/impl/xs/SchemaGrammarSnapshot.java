@@ -0,0 +1,494 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.xerces.impl.xs;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidClassException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+import org.apache.xerces.impl.Constants;
+import org.apache.xerces.impl.Version;
+import org.apache.xerces.impl.xs.models.CMBuilder;
+import org.apache.xerces.impl.xs.models.CMNodeFactory;
+import org.apache.xerces.util.GrammarObjectInputStream;
+import org.apache.xerces.xni.grammars.Grammar;
+import org.apache.xerces.xni.grammars.XMLGrammarDescription;
+import org.apache.xerces.xni.grammars.XMLGrammarPool;
+import org.apache.xerces.xs.XSAttributeDeclaration;
+import org.apache.xerces.xs.XSAttributeGroupDefinition;
+import org.apache.xerces.xs.XSAttributeUse;
+import org.apache.xerces.xs.XSComplexTypeDefinition;
+import org.apache.xerces.xs.XSConstants;
+import org.apache.xerces.xs.XSElementDeclaration;
+import org.apache.xerces.xs.XSIDCDefinition;
+import org.apache.xerces.xs.XSModelGroup;
+import org.apache.xerces.xs.XSModelGroupDefinition;
+import org.apache.xerces.xs.XSNamedMap;
+import org.apache.xerces.xs.XSObject;
+import org.apache.xerces.xs.XSObjectList;
+import org.apache.xerces.xs.XSParticle;
+import org.apache.xerces.xs.XSSimpleTypeDefinition;
+import org.apache.xerces.xs.XSTypeDefinition;
+
+/**
+ * <p>Writes schema grammars to, and reads them from, a compact binary
+ * snapshot so that a large set of schemas only has to be traversed and
+ * checked once, for instance when an application is built, rather than
+ * every time it starts.</p>
+ *
+ * <p>A snapshot holds fully resolved grammars: every content model is
+ * built before the grammars are written, and simple types keep their
+ * facets and compiled patterns. Components of the built-in grammars for
+ * the XML Schema and XML Schema instance namespaces are not written;
+ * references to them are resolved to this JVM's built-in components
+ * when the snapshot is read. Names are interned as they are read, so
+ * the grammars can be used with any symbol table.</p>
+ *
+ * <p>A snapshot starts with a header holding a magic number, the format
+ * version and the version of Xerces which wrote it. The grammars follow
+ * as a deflated object stream. A snapshot can only be read by the same
+ * version of Xerces which wrote it; other snapshots are rejected with an
+ * <code>IOException</code>. Only classes of Xerces and a few classes of
+ * the Java platform may appear in a snapshot, but snapshots should still
+ * only be read from trusted sources.</p>
+ *
+ * @xerces.internal
+ *
+ * @version $Id$
+ */
+public final class SchemaGrammarSnapshot {
+
+    //
+    // Constants
+    //
+
+    /** Magic number identifying a snapshot ("XSGS"). */
+    private static final int MAGIC = 0x58534753;
+
+    /** Version of the snapshot format. */
+    public static final short FORMAT_VERSION = 1;
+
+    /** Size of the buffers used to read and write the deflated stream. */
+    private static final int BUFFER_SIZE = 8192;
+
+    /** Kind of a reference to a built-in grammar. */
+    private static final short GRAMMAR_REF = 0;
+
+    /** Kinds of the top-level components of a grammar. */
+    private static final short[] GLOBAL_COMPONENTS = {
+        XSConstants.TYPE_DEFINITION,
+        XSConstants.ATTRIBUTE_DECLARATION,
+        XSConstants.ATTRIBUTE_GROUP,
+        XSConstants.MODEL_GROUP_DEFINITION,
+        XSConstants.ELEMENT_DECLARATION,
+        XSConstants.NOTATION_DECLARATION,
+        XSConstants.IDENTITY_CONSTRAINT,
+    };
+
+    //
+    // Constructors
+    //
+
+    private SchemaGrammarSnapshot() {}
+
+    //
+    // Public static methods
+    //
+
+    /**
+     * Writes a snapshot of the schema grammars held by a grammar pool.
+     *
+     * @param out  The stream to write to. It is not closed.
+     * @param pool The grammar pool.
+     */
+    public static void writeGrammars(OutputStream out, XMLGrammarPool pool) throws IOException {
+        writeGrammars(out, pool.retrieveInitialGrammarSet(XMLGrammarDescription.XML_SCHEMA));
+    } // writeGrammars(OutputStream,XMLGrammarPool)
+
+    /**
+     * Writes a snapshot of schema grammars. Grammars which are not
+     * schema grammars, and the built-in grammars, are skipped. The
+     * content model of every complex type is built first, just as it
+     * would be the first time the type is validated; large values of
+     * <code>maxOccurs</code> are not limited by a security manager.
+     *
+     * @param out      The stream to write to. It is not closed.
+     * @param grammars The grammars to write.
+     */
+    public static void writeGrammars(OutputStream out, Grammar[] grammars) throws IOException {
+        final ArrayList list = new ArrayList();
+        for (int i = 0; i < grammars.length; ++i) {
+            if (grammars[i] instanceof SchemaGrammar &&
+                !Builtins.INSTANCE.fRefs.containsKey(grammars[i])) {
+                list.add(grammars[i]);
+            }
+        }
+        final SchemaGrammar[] schemaGrammars = (SchemaGrammar[]) list.toArray(new SchemaGrammar[list.size()]);
+        final Object[] components = prepare(schemaGrammars);
+
+        final DataOutputStream header = new DataOutputStream(out);
+        header.writeInt(MAGIC);
+        header.writeShort(FORMAT_VERSION);
+        header.writeUTF(Version.getVersion());
+        header.flush();
+
+        final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            final DeflaterOutputStream deflaterStream = new DeflaterOutputStream(out, deflater, BUFFER_SIZE);
+            final ObjectOutputStream objects = new SnapshotOutputStream(
+                    new BufferedOutputStream(deflaterStream, BUFFER_SIZE));
+            // writing the components before the grammars, leaves first,
+            // keeps the object stream from recursing through long chains
+            // of references between components
+            objects.writeObject(components);
+            objects.writeObject(schemaGrammars);
+            objects.flush();
+            deflaterStream.finish();
+        }
+        finally {
+            deflater.end();
+        }
+    } // writeGrammars(OutputStream,Grammar[])
+
+    /**
+     * Reads the schema grammars from a snapshot.
+     *
+     * @param in The stream to read from. It is not closed; since the
+     *           snapshot is read through a buffer, bytes following the
+     *           snapshot may have been consumed.
+     * @return   The grammars of the snapshot.
+     */
+    public static SchemaGrammar[] readGrammars(InputStream in) throws IOException {
+        final DataInputStream header = new DataInputStream(in);
+        if (header.readInt() != MAGIC) {
+            throw new IOException("The stream does not contain a schema grammar snapshot.");
+        }
+        final short formatVersion = header.readShort();
+        if (formatVersion != FORMAT_VERSION) {
+            throw new IOException("Unsupported schema grammar snapshot format " + formatVersion + ".");
+        }
+        final String version = header.readUTF();
+        if (!Version.getVersion().equals(version)) {
+            throw new IOException("The schema grammar snapshot was written by " + version + 
+                    " and cannot be read by " + Version.getVersion() + ".");
+        }
+
+        final Inflater inflater = new Inflater();
+        try {
+            final ObjectInputStream objects = new SnapshotInputStream(
+                    new BufferedInputStream(new InflaterInputStream(in, inflater, BUFFER_SIZE), BUFFER_SIZE));
+            objects.readObject();
+            return (SchemaGrammar[]) objects.readObject();
+        }
+        catch (ClassNotFoundException e) {
+            throw new InvalidClassException(e.getMessage());
+        }
+        catch (ClassCastException e) {
+            throw new InvalidObjectException(e.getMessage());
+        }
+        finally {
+            inflater.end();
+        }
+    } // readGrammars(InputStream):SchemaGrammar[]
+
+    /**
+     * Reads the schema grammars from a snapshot and caches them in a
+     * grammar pool.
+     *
+     * @param in   The stream to read from. It is not closed.
+     * @param pool The grammar pool.
+     * @return     The grammars of the snapshot.
+     */
+    public static SchemaGrammar[] readGrammars(InputStream in, XMLGrammarPool pool) throws IOException {
+        final SchemaGrammar[] grammars = readGrammars(in);
+        pool.cacheGrammars(XMLGrammarDescription.XML_SCHEMA, grammars);
+        return grammars;
+    } // readGrammars(InputStream,XMLGrammarPool):SchemaGrammar[]
+
+    //
+    // Private static methods
+    //
+
+    /**
+     * Builds the content model of every complex type reachable from the
+     * grammars and returns the components of the grammars, ordered so
+     * that, where possible, a component follows the components it refers to.
+     */
+    private static Object[] prepare(SchemaGrammar[] grammars) {
+        final CMBuilder cmBuilder = new CMBuilder(new CMNodeFactory());
+        final IdentityHashMap builtins = Builtins.INSTANCE.fRefs;
+        final IdentityHashMap visited = new IdentityHashMap();
+        final ArrayList order = new ArrayList();
+        final ArrayList stack = new ArrayList();
+        for (int i = 0; i < grammars.length; ++i) {
+            for (int k = 0; k < GLOBAL_COMPONENTS.length; ++k) {
+                final XSNamedMap roots = grammars[i].getComponents(GLOBAL_COMPONENTS[k]);
+                for (int j = 0; j < roots.getLength(); ++j) {
+                    push(roots.item(j), builtins, visited, stack);
+                    // depth-first, iteratively, so that deeply nested
+                    // content does not exhaust the stack
+                    while (!stack.isEmpty()) {
+                        final Frame frame = (Frame) stack.get(stack.size() - 1);
+                        if (frame.fNext < frame.fChildren.size()) {
+                            push(frame.fChildren.get(frame.fNext++), builtins, visited, stack);
+                        }
+                        else {
+                            stack.remove(stack.size() - 1);
+                            if (frame.fComponent instanceof XSComplexTypeDecl) {
+                                ((XSComplexTypeDecl) frame.fComponent).getContentModel(cmBuilder);
+                            }
+                            order.add(frame.fComponent);
+                        }
+                    }
+                }
+            }
+        }
+        return order.toArray();
+    } // prepare(SchemaGrammar[]):Object[]
+
+    /** Pushes a component which has not been seen yet onto the stack. */
+    private static void push(Object component, IdentityHashMap builtins, IdentityHashMap visited, ArrayList stack) {
+        if (component != null && !builtins.containsKey(component) && !visited.containsKey(component)) {
+            visited.put(component, component);
+            stack.add(new Frame(component, getChildren((XSObject) component)));
+        }
+    } // push(Object,IdentityHashMap,IdentityHashMap,ArrayList)
+
+    /** Returns the components a component refers to. */
+    private static ArrayList getChildren(XSObject component) {
+        final ArrayList children = new ArrayList();
+        switch (component.getType()) {
+            case XSConstants.TYPE_DEFINITION:
+                final XSTypeDefinition type = (XSTypeDefinition) component;
+                children.add(type.getBaseType());
+                if (type.getTypeCategory() == XSTypeDefinition.COMPLEX_TYPE) {
+                    final XSComplexTypeDefinition complexType = (XSComplexTypeDefinition) type;
+                    addAttributeUses(children, complexType.getAttributeUses());
+                    children.add(complexType.getAttributeWildcard());
+                    children.add(complexType.getSimpleType());
+                    children.add(complexType.getParticle());
+                }
+                else {
+                    final XSSimpleTypeDefinition simpleType = (XSSimpleTypeDefinition) type;
+                    children.add(simpleType.getItemType());
+                    addAll(children, simpleType.getMemberTypes());
+                }
+                break;
+            case XSConstants.ELEMENT_DECLARATION:
+                final XSElementDeclaration element = (XSElementDeclaration) component;
+                children.add(element.getTypeDefinition());
+                children.add(element.getSubstitutionGroupAffiliation());
+                final XSNamedMap idcs = element.getIdentityConstraints();
+                for (int i = 0; i < idcs.getLength(); ++i) {
+                    children.add(idcs.item(i));
+                }
+                break;
+            case XSConstants.ATTRIBUTE_DECLARATION:
+                children.add(((XSAttributeDeclaration) component).getTypeDefinition());
+                break;
+            case XSConstants.ATTRIBUTE_GROUP:
+                final XSAttributeGroupDefinition attrGroup = (XSAttributeGroupDefinition) component;
+                addAttributeUses(children, attrGroup.getAttributeUses());
+                children.add(attrGroup.getAttributeWildcard());
+                break;
+            case XSConstants.MODEL_GROUP_DEFINITION:
+                children.add(((XSModelGroupDefinition) component).getModelGroup());
+                break;
+            case XSConstants.MODEL_GROUP:
+                addAll(children, ((XSModelGroup) component).getParticles());
+                break;
+            case XSConstants.PARTICLE:
+                children.add(((XSParticle) component).getTerm());
+                break;
+            case XSConstants.IDENTITY_CONSTRAINT:
+                children.add(((XSIDCDefinition) component).getRefKey());
+                break;
+        }
+        return children;
+    } // getChildren(XSObject):ArrayList
+
+    private static void addAttributeUses(ArrayList children, XSObjectList attrUses) {
+        for (int i = 0; i < attrUses.getLength(); ++i) {
+            final XSAttributeUse attrUse = (XSAttributeUse) attrUses.item(i);
+            children.add(attrUse.getAttrDeclaration());
+            children.add(attrUse);
+        }
+    } // addAttributeUses(ArrayList,XSObjectList)
+
+    private static void addAll(ArrayList children, XSObjectList list) {
+        if (list != null) {
+            for (int i = 0; i < list.getLength(); ++i) {
+                children.add(list.item(i));
+            }
+        }
+    } // addAll(ArrayList,XSObjectList)
+
+    //
+    // Classes
+    //
+
+    /** A component being visited and the components it refers to. */
+    private static final class Frame {
+
+        final Object fComponent;
+        final ArrayList fChildren;
+        int fNext;
+
+        Frame(Object component, ArrayList children) {
+            fComponent = component;
+            fChildren = children;
+        }
+
+    } // class Frame
+
+    /** A reference to a built-in grammar or one of its global components. */
+    private static final class BuiltinRef implements Serializable {
+
+        /** Serialization version. */
+        static final long serialVersionUID = 2718903516829440673L;
+
+        final int fGrammar;
+        final short fKind;
+        final String fName;
+
+        BuiltinRef(int grammar, short kind, String name) {
+            fGrammar = grammar;
+            fKind = kind;
+            fName = name;
+        }
+
+        /** Returns the built-in object this refers to. */
+        Object resolve() throws InvalidObjectException {
+            final SchemaGrammar[] grammars = Builtins.INSTANCE.fGrammars;
+            Object builtin = null;
+            if (fGrammar >= 0 && fGrammar < grammars.length) {
+                final SchemaGrammar grammar = grammars[fGrammar];
+                switch (fKind) {
+                    case GRAMMAR_REF:
+                        builtin = grammar;
+                        break;
+                    case XSConstants.TYPE_DEFINITION:
+                        builtin = grammar.getGlobalTypeDecl(fName);
+                        break;
+                    case XSConstants.ATTRIBUTE_DECLARATION:
+                        builtin = grammar.getGlobalAttributeDecl(fName);
+                        break;
+                    case XSConstants.ELEMENT_DECLARATION:
+                        builtin = grammar.getGlobalElementDecl(fName);
+                        break;
+                }
+            }
+            if (builtin == null) {
+                throw new InvalidObjectException("Unknown built-in schema component " + fName + ".");
+            }
+            return builtin;
+        } // resolve():Object
+
+    } // class BuiltinRef
+
+    /** The built-in grammars and references to their components. */
+    private static final class Builtins {
+
+        static final Builtins INSTANCE = new Builtins();
+
+        /** The built-in grammars. */
+        final SchemaGrammar[] fGrammars = {
+            SchemaGrammar.SG_SchemaNS,
+            SchemaGrammar.getS4SGrammar(Constants.SCHEMA_VERSION_1_0_EXTENDED),
+            SchemaGrammar.SG_XSI,
+            SchemaGrammar.Schema4Annotations.INSTANCE,
+        };
+
+        /** Built-in objects mapped to references to them. */
+        final IdentityHashMap fRefs = new IdentityHashMap();
+
+        private Builtins() {
+            for (int i = 0; i < fGrammars.length; ++i) {
+                fRefs.put(fGrammars[i], new BuiltinRef(i, GRAMMAR_REF, null));
+            }
+            for (int i = 0; i < fGrammars.length; ++i) {
+                addComponents(i, XSConstants.TYPE_DEFINITION);
+                addComponents(i, XSConstants.ATTRIBUTE_DECLARATION);
+                addComponents(i, XSConstants.ELEMENT_DECLARATION);
+            }
+            fRefs.put(SchemaGrammar.fAnyType, new BuiltinRef(0, XSConstants.TYPE_DEFINITION, SchemaSymbols.ATTVAL_ANYTYPE));
+        } // <init>()
+
+        private void addComponents(int grammar, short kind) {
+            final XSNamedMap components = fGrammars[grammar].getComponents(kind);
+            for (int i = 0; i < components.getLength(); ++i) {
+                final XSObject component = components.item(i);
+                if (!fRefs.containsKey(component)) {
+                    fRefs.put(component, new BuiltinRef(grammar, kind, component.getName()));
+                }
+            }
+        } // addComponents(int,short)
+
+    } // class Builtins
+
+    /** Replaces built-in objects with references to them. */
+    private static final class SnapshotOutputStream extends ObjectOutputStream {
+
+        SnapshotOutputStream(OutputStream out) throws IOException {
+            super(out);
+            enableReplaceObject(true);
+        }
+
+        protected Object replaceObject(Object obj) throws IOException {
+            final Object ref = Builtins.INSTANCE.fRefs.get(obj);
+            return (ref != null) ? ref : obj;
+        }
+
+    } // class SnapshotOutputStream
+
+    /**
+     * Resolves references to built-in objects. Strings are interned and
+     * classes which do not belong in a grammar are rejected by the
+     * grammar input stream.
+     */
+    private static final class SnapshotInputStream extends GrammarObjectInputStream {
+
+        SnapshotInputStream(InputStream in) throws IOException {
+            super(in);
+        }
+
+        protected Object resolveObject(Object obj) throws IOException {
+            if (obj instanceof BuiltinRef) {
+                return ((BuiltinRef) obj).resolve();
+            }
+            return super.resolveObject(obj);
+        }
+
+    } // class SnapshotInputStream
+
+} // class SchemaGrammarSnapshot
@@ -0,0 +1,61 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.xerces.impl.xs.util;
+
+import org.apache.xerces.impl.xs.SchemaGrammar;
+import org.apache.xerces.xni.parser.XMLInputSource;
+import org.apache.xerces.xs.XSObject;
+
+/**
+ * @xerces.internal
+ *
+ * @version $Id$
+ */
+public final class XSInputSource extends XMLInputSource {
+    
+    private SchemaGrammar[] fGrammars;
+    private XSObject[] fComponents;
+    
+    public XSInputSource(SchemaGrammar[] grammars) {
+        super(null, null, null);
+        fGrammars = grammars;
+        fComponents = null;
+    }
+
+    public XSInputSource(XSObject[] component) {
+        super(null, null, null);
+        fGrammars = null;
+        fComponents = component;
+    }
+
+    public SchemaGrammar[] getGrammars() {
+        return fGrammars;
+    }
+
+    public void setGrammars(SchemaGrammar[] grammars) {
+        fGrammars = grammars;
+    }
+
+    public XSObject[] getComponents() {
+        return fComponents;
+    }
+
+    public void setComponents(XSObject[] components) {
+        fComponents = components;
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.xerces.jaxp.validation;
+
+import javax.xml.transform.stream.StreamSource;
+
+import org.apache.xerces.xni.XNIException;
+import org.apache.xerces.xni.parser.XMLInputSource;
+import org.apache.xerces.xni.parser.XMLParseException;
+import org.xml.sax.SAXException;
+import org.xml.sax.SAXParseException;
+
+/**
+ * <p>Static utility methods for the Validation API implementation.</p>
+ *
+ * @author Kohsuke Kawaguchi (kohsuke.kawaguchi@sun.com)
+ * @version $Id$
+ */
+final class Util {
+    
+    /**
+     * Creates a proper {@link XMLInputSource} from a {@link StreamSource}.
+     *
+     * @return always return non-null valid object.
+     */
+    public static final XMLInputSource toXMLInputSource( StreamSource in ) {
+        if( in.getReader()!=null )
+            return new XMLInputSource(
+            in.getPublicId(), in.getSystemId(), in.getSystemId(),
+            in.getReader(), null );
+        if( in.getInputStream()!=null )
+            return new XMLInputSource(
+            in.getPublicId(), in.getSystemId(), in.getSystemId(),
+            in.getInputStream(), null );
+        
+        return new XMLInputSource(
+        in.getPublicId(), in.getSystemId(), in.getSystemId() );
+    }
+    
+    /**
+     * Reconstructs {@link SAXException} from XNIException.
+     */
+    public static SAXException toSAXException(XNIException e) {
+        if(e instanceof XMLParseException)
+            return toSAXParseException((XMLParseException)e);
+        if( e.getException() instanceof SAXException )
+            return (SAXException)e.getException();
+        return new SAXException(e.getMessage(),e.getException());
+    }
+    
+    public static SAXParseException toSAXParseException( XMLParseException e ) {
+        if( e.getException() instanceof SAXParseException )
+            return (SAXParseException)e.getException();
+        return new SAXParseException( e.getMessage(),
+        e.getPublicId(), e.getExpandedSystemId(),
+        e.getLineNumber(), e.getColumnNumber(),
+        e.getException() );
+    }
+    
+} // Util
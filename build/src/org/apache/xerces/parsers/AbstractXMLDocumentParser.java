@@ -0,0 +1,831 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.xerces.parsers;
+
+import org.apache.xerces.xni.Augmentations;
+import org.apache.xerces.xni.NamespaceContext;
+import org.apache.xerces.xni.QName;
+import org.apache.xerces.xni.XMLAttributes;
+import org.apache.xerces.xni.XMLDTDContentModelHandler;
+import org.apache.xerces.xni.XMLDTDHandler;
+import org.apache.xerces.xni.XMLDocumentHandler;
+import org.apache.xerces.xni.XMLLocator;
+import org.apache.xerces.xni.XMLResourceIdentifier;
+import org.apache.xerces.xni.XMLString;
+import org.apache.xerces.xni.XNIException;
+import org.apache.xerces.xni.parser.XMLDTDContentModelSource;
+import org.apache.xerces.xni.parser.XMLDTDSource;
+import org.apache.xerces.xni.parser.XMLDocumentSource;
+import org.apache.xerces.xni.parser.XMLParserConfiguration;
+
+/**
+ * This is the base class for all XML document parsers. XMLDocumentParser
+ * provides a common implementation shared by the various document parsers
+ * in the Xerces package. While this class is provided for convenience, it
+ * does not prevent other kinds of parsers to be constructed using the XNI
+ * interfaces.
+ *
+ * @author Arnaud  Le Hors, IBM
+ * @author Andy Clark, IBM
+ *
+ * @version $Id$
+ */
+public abstract class AbstractXMLDocumentParser
+    extends XMLParser
+    implements XMLDocumentHandler, XMLDTDHandler, XMLDTDContentModelHandler {
+
+    //
+    // Data
+    //
+
+    // state
+
+    /** True if inside DTD. */
+    protected boolean fInDTD;
+
+    /** Document source*/
+    protected XMLDocumentSource fDocumentSource;
+
+    /** DTD source*/
+    protected XMLDTDSource fDTDSource;
+
+    /** DTD content model source*/
+    protected XMLDTDContentModelSource fDTDContentModelSource;
+
+    //
+    // Constructors
+    //
+
+    /**
+     * Constructs a document parser using the default symbol table and grammar pool.
+     *
+     * @param config a parser configuration from which properties and features can be retrieved
+     */
+    protected AbstractXMLDocumentParser(XMLParserConfiguration config) {
+        super(config);
+
+        // set handlers
+        config.setDocumentHandler(this);
+        config.setDTDHandler(this);
+        config.setDTDContentModelHandler(this);
+
+    } // <init>(XMLParserConfiguration)
+
+    //
+    // XMLDocumentHandler methods
+    //
+
+    /**
+     * The start of the document.
+     *
+     * @param locator the system identifier of the entity if the entity is external, otherwise null
+     * @param encoding the auto-detected IANA encoding name of the entity stream. This value will be 
+     *        null in those situations where the entity encoding is not auto-detected (e.g. internal 
+     *        entities or a document entity that is parsed from a java.io.Reader) 
+     * @param namespaceContext the namespace context in effect at the start of this document.
+     *        This object represents the current context. Implementors of this class are 
+     *        responsible for copying the namespace bindings from the current context 
+     *        (and its parent contexts) if that information is important
+     * @param augs additional information that may include infoset augmentations    
+     *     
+     * @throws XNIException thrown by handler to signal an error
+     */
+    @Override
+    public void startDocument(XMLLocator locator, String encoding, 
+                              NamespaceContext namespaceContext, Augmentations augs) 
+        throws XNIException {
+    } // startDocument(XMLLocator,String)
+
+    /**
+     * Notifies of the presence of an XMLDecl line in the document. If
+     * present, this method will be called immediately following the
+     * startDocument call.
+     * 
+     * @param version the XML version
+     * @param encoding the IANA encoding name of the document, or null if not specified
+     * @param standalone the standalone value, or null if not specified
+     * @param augs additional information that may include infoset augmentations
+     *
+     * @throws XNIException thrown by handler to signal an error
+     */
+    @Override
+    public void xmlDecl(String version, String encoding, String standalone, Augmentations augs)
+        throws XNIException {
+    } // xmlDecl(String,String,String)
+
+    /**
+     * Notifies of the presence of the DOCTYPE line in the document.
+     * 
+     * @param rootElement the name of the root element
+     * @param publicId the public identifier if an external DTD or null if the external DTD
+     *                 is specified using SYSTEM
+     * @param systemId the system identifier if an external DTD, null
+     * @param augs additional information that may include infoset augmentations otherwise
+     *
+     * @throws XNIException thrown by handler to signal an error
+     */
+    @Override
+    public void doctypeDecl(String rootElement, String publicId, String systemId, Augmentations augs)
+        throws XNIException {
+    } // doctypeDecl(String,String,String)
+
+    /**
+     * The start of an element. If the document specifies the start element
+     * by using an empty tag, then the startElement method will immediately
+     * be followed by the endElement method, with no intervening methods.
+     * 
+     * @param element the name of the element
+     * @param attributes the element attributes
+     * @param augs additional information that may include infoset augmentations
+     *
+     * @throws XNIException thrown by handler to signal an error
+     */
+    public void startElement(QName element, XMLAttributes attributes, Augmentations augs)
+        throws XNIException {
+    } // startElement(QName,XMLAttributes)
+
+    /**
+     * An empty element.
+     * 
+     * @param element the name of the element
+     * @param attributes the element attributes
+     * @param augs additional information that may include infoset augmentations
+     *
+     * @throws XNIException thrown by handler to signal an error
+     */
+    @Override
+    public void emptyElement(QName element, XMLAttributes attributes, Augmentations augs)
+        throws XNIException {
+
+        startElement(element, attributes, augs);
+        endElement(element, augs);
+
+    } // emptyElement(QName,XMLAttributes)
+
+    /**
+     * Character content.
+     * 
+     * @param text the content
+     * @param augs additional information that may include infoset augmentations
+     *
+     * @throws XNIException thrown by handler to signal an error
+     */
+    @Override
+    public void characters(XMLString text, Augmentations augs) throws XNIException {
+    } // characters(XMLString)
+
+    /**
+     * Ignorable whitespace. For this method to be called, the document
+     * source must have some way of determining that the text containing
+     * only whitespace characters should be considered ignorable. For
+     * example, the validator can determine if a length of whitespace
+     * characters in the document are ignorable based on the element
+     * content model.
+     * 
+     * @param text the ignorable whitespace
+     * @param augs additional information that may include infoset augmentations
+     *
+     * @throws XNIException thrown by handler to signal an error
+     */
+    @Override
+    public void ignorableWhitespace(XMLString text, Augmentations augs) throws XNIException {
+    } // ignorableWhitespace(XMLString)
+
+    /**
+     * The end of an element.
+     * 
+     * @param element yhe name of the element
+     * @param augs additional information that may include infoset augmentations
+     *
+     * @throws XNIException thrown by handler to signal an error
+     */
+    @Override
+    public void endElement(QName element, Augmentations augs) throws XNIException {
+    } // endElement(QName)
+
+    /** 
+     * The start of a CDATA section.
+     *
+     * @param augs additional information that may include infoset augmentations
+     *
+     * @throws XNIException thrown by handler to signal an error
+     */
+    @Override
+    public void startCDATA(Augmentations augs) throws XNIException {
+    } // startCDATA()
+
+    /**
+     * The end of a CDATA section.
+     *
+     * @param augs additional information that may include infoset augmentations
+     *
+     * @throws XNIException thrown by handler to signal an error
+     */
+    @Override
+    public void endCDATA(Augmentations augs) throws XNIException {
+    } // endCDATA()
+
+    /**
+     * The end of the document.
+     *
+     * @param augs additional information that may include infoset augmentations
+     *
+     * @throws XNIException thrown by handler to signal an error
+     */
+    @Override
+    public void endDocument(Augmentations augs) throws XNIException {
+    } // endDocument()
+
+
+    /**
+     * This method notifies the start of an entity.
+     * <p>
+     * <strong>Note:</strong> This method is not called for entity references
+     * appearing as part of attribute values.
+     * 
+     * @param name the name of the entity
+     * @param identifier the resource identifier
+     * @param encoding the auto-detected IANA encoding name of the entity stream. This value
+     *        will be null in those situations where the entity encoding is not auto-detected
+     *        (e.g. internal entities or a document entity that is parsed from a java.io.Reader)
+     * @param augs additional information that may include infoset augmentations
+     *                 
+     * @throws XNIException if an error occurs. This should be handled by implementations of {@link org.apache.xerces.xni.XMLDocumentHandler}.
+     */
+    @Override
+    public void startGeneralEntity(String name, 
+                                   XMLResourceIdentifier identifier,
+                                   String encoding,
+                                   Augmentations augs) throws XNIException {
+    } // startGeneralEntity(String,XMLResourceIdentifier,String,Augmentations)
+
+    /**
+     * Notifies of the presence of a TextDecl line in an entity. If present,
+     * this method will be called immediately following the startEntity call.
+     * <p>
+     * <strong>Note:</strong> This method will never be called for the
+     * document entity; it is only called for external general entities
+     * referenced in document content.
+     * <p>
+     * <strong>Note:</strong> This method is not called for entity references
+     * appearing as part of attribute values.
+     *
+     * @param version the XML version, or null if not specified
+     * @param encoding the IANA encoding name of the entity
+     * @param augs additional information that may include infoset augmentations
+     *
+     * @throws XNIException thrown by handler to signal an error
+     */
+    @Override
+    public void textDecl(String version, String encoding, Augmentations augs) throws XNIException {
+    } // textDecl(String, String, Augmentations)
+    
+    /**
+     * This method notifies the end of an entity.
+     * <p>
+     * <strong>Note:</strong> This method is not called for entity references
+     * appearing as part of attribute values.
+     * 
+     * @param name the name of the entity
+     * @param augs additional information that may include infoset augmentations
+     *
+     * @exception XNIException thrown by handler to signal an error
+     */
+    @Override
+    public void endGeneralEntity(String name, Augmentations augs) 
+        throws XNIException {
+    } // endGeneralEntity(String,Augmentations)
+
+    /**
+     * A comment.
+     *
+     * @param text the text in the comment
+     * @param augs additional information that may include infoset augmentations
+     *
+     * @throws XNIException thrown by application to signal an error
+     */
+    @Override
+    public void comment(XMLString text, Augmentations augs) throws XNIException {
+    } // comment (XMLString, Augmentations)
+
+    /**
+     * A processing instruction. Processing instructions consist of a
+     * target name and, optionally, text data. The data is only meaningful
+     * to the application.
+     * <p>
+     * Typically, a processing instruction's data will contain a series
+     * of pseudo-attributes. These pseudo-attributes follow the form of
+     * element attributes but are <strong>not</strong> parsed or presented
+     * to the application as anything other than text. The application is
+     * responsible for parsing the data.
+     *
+     * @param target the target
+     * @param data the data or null if none specified
+     * @param augs additional information that may include infoset augmentations
+     *
+     * @throws XNIException thrown by handler to signal an error
+     */
+    @Override
+    public void processingInstruction(String target, XMLString data, Augmentations augs)
+        throws XNIException {
+    } // processingInstruction(String, XMLString, Augmentations)
+
+    
+    /** Sets the document source */
+    @Override
+    public void setDocumentSource(XMLDocumentSource source){
+        fDocumentSource = source;
+    } // setDocumentSource
+
+    /** Returns the document source */
+    @Override
+    public XMLDocumentSource getDocumentSource (){
+        return fDocumentSource;
+    } // getDocumentSource
+    //
+    // XMLDTDHandler methods
+    //
+
+    /**
+     * The start of the DTD.
+     *
+     * @param locator  the document locator, or null if the document
+     *                 location cannot be reported during the parsing of
+     *                 the document DTD. However, it is <em>strongly</em>
+     *                 recommended that a locator be supplied that can
+     *                 at least report the base URI of the DTD.
+     * @param augs additional information that may include infoset augmentations
+     *
+     * @throws XNIException thrown by handler to signal an error
+     */
+    @Override
+    public void startDTD(XMLLocator locator, Augmentations augs) throws XNIException {
+        fInDTD = true;
+    } // startDTD(XMLLocator)
+
+
+    /**
+     * The start of the DTD external subset.
+     *
+     * @param augmentations additional information that may include infoset
+     *                      augmentations.
+     *
+     * @throws XNIException thrown by handler to signal an error
+     */
+    @Override
+    public void startExternalSubset(XMLResourceIdentifier identifier, Augmentations augmentations) 
+        throws XNIException {
+    } // startExternalSubset(Augmentations)
+
+    /**
+     * The end of the DTD external subset.
+     *
+     * @param augmentations additional information that may include infoset
+     *                      augmentations.
+     *
+     * @throws XNIException thrown by handler to signal an error
+     */
+    @Override
+    public void endExternalSubset(Augmentations augmentations) 
+        throws XNIException {
+    } // endExternalSubset(Augmentations)
+
+    /**
+     * This method notifies the start of an entity.
+     * <p>
+     * <strong>Note:</strong> This method is not called for entity references
+     * appearing as part of attribute values.
+     * 
+     * @param name     The name of the entity.
+     * @param identifier The resource identifier.
+     * @param encoding The auto-detected IANA encoding name of the entity
+     *                 stream. This value will be null in those situations
+     *                 where the entity encoding is not auto-detected (e.g.
+     *                 internal entities or a document entity that is
+     *                 parsed from a java.io.Reader).
+     * @param augs     additional information that may include infoset augmentations
+     *                 
+     * @throws XNIException if an error occurs. This should be handled by implementations of {@link org.apache.xerces.xni.XMLDocumentHandler}.
+     */
+    @Override
+    public void startParameterEntity(String name, 
+                                     XMLResourceIdentifier identifier,
+                                     String encoding,
+                                     Augmentations augs) throws XNIException {
+    } // startParameterEntity(String,XMLResourceIdentifier,String,Augmentations)
+
+    /**
+     * This method notifies the end of an entity.
+     * <p>
+     * <strong>Note:</strong> This method is not called for entity references
+     * appearing as part of attribute values.
+     * 
+     * @param name   The name of the entity.
+     * @param augs   additional information that may include infoset augmentations
+     *               
+     * @exception XNIException
+     *                   Thrown by handler to signal an error.
+     */
+    @Override
+    public void endParameterEntity(String name, Augmentations augs) 
+        throws XNIException {
+    } // endParameterEntity(String,Augmentations)
+    
+    /**
+     * Characters within an IGNORE conditional section.
+     *
+     * @param text The ignored text.
+     * @param augs additional information that may include infoset
+     *                      augmentations.
+     *
+     * @throws XNIException thrown by handler to signal an error
+     */
+    @Override
+    public void ignoredCharacters(XMLString text, Augmentations augs) throws XNIException {
+    } // ignoredCharacters(XMLString, Augmentations)
+
+    /**
+     * An element declaration.
+     * 
+     * @param name         The name of the element.
+     * @param contentModel The element content model.
+     * @param augs additional information that may include infoset
+     *                      augmentations.
+     *
+     * @throws XNIException thrown by handler to signal an error
+     */
+    @Override
+    public void elementDecl(String name, String contentModel, Augmentations augs)
+        throws XNIException {
+    } // elementDecl(String,String)
+
+    /**
+     * The start of an attribute list.
+     * 
+     * @param elementName The name of the element that this attribute
+     *                    list is associated with.
+     * @param augs additional information that may include infoset
+     *                      augmentations.
+     *
+     * @throws XNIException thrown by handler to signal an error
+     */
+    @Override
+    public void startAttlist(String elementName, Augmentations augs) throws XNIException {
+    } // startAttlist(String)
+
+    /**
+     * An attribute declaration.
+     * 
+     * @param elementName   The name of the element that this attribute
+     *                      is associated with.
+     * @param attributeName The name of the attribute.
+     * @param type          The attribute type. This value will be one of
+     *                      the following: "CDATA", "ENTITY", "ENTITIES",
+     *                      "ENUMERATION", "ID", "IDREF", "IDREFS", 
+     *                      "NMTOKEN", "NMTOKENS", or "NOTATION".
+     * @param enumeration   If the type has the value "ENUMERATION" or
+     *                      "NOTATION", this array holds the allowed attribute
+     *                      values; otherwise, this array is null.
+     * @param defaultType   The attribute default type. This value will be
+     *                      one of the following: "#FIXED", "#IMPLIED",
+     *                      "#REQUIRED", or null.
+     * @param defaultValue  The attribute default value, or null if no
+     *                      default value is specified.
+     * @param nonNormalizedDefaultValue  The attribute default value with no normalization 
+     *                      performed, or null if no default value is specified.
+     * @param augs additional information that may include infoset
+     *                      augmentations.
+     *
+     * @throws XNIException thrown by handler to signal an error
+     */
+    @Override
+    public void attributeDecl(String elementName, String attributeName, 
+                              String type, String[] enumeration, 
+                              String defaultType, XMLString defaultValue, 
+			      XMLString nonNormalizedDefaultValue, Augmentations augs)
+        throws XNIException {
+    } // attributeDecl(String,String,String,String[],String,XMLString, XMLString, Augmentations)
+
+    /**
+     * The end of an attribute list.
+     *
+     * @param augs additional information that may include infoset
+     *                      augmentations.
+     *
+     * @throws XNIException thrown by handler to signal an error
+     */
+    @Override
+    public void endAttlist(Augmentations augs) throws XNIException {
+    } // endAttlist()
+
+    /**
+     * An internal entity declaration.
+     * 
+     * @param name The name of the entity. Parameter entity names start with
+     *             '%', whereas the name of a general entity is just the 
+     *             entity name.
+     * @param text The value of the entity.
+     * @param nonNormalizedText The non-normalized value of the entity. This
+     *             value contains the same sequence of characters that was in 
+     *             the internal entity declaration, without any entity
+     *             references expanded.
+     * @param augs additional information that may include infoset
+     *                      augmentations.
+     *
+     * @throws XNIException thrown by handler to signal an error
+     */
+    @Override
+    public void internalEntityDecl(String name, XMLString text,
+                                   XMLString nonNormalizedText, Augmentations augs) 
+        throws XNIException {
+    } // internalEntityDecl(String,XMLString,XMLString)
+
+    /**
+     * An external entity declaration.
+     *
+     * @param name the name of the entity. Parameter entity names start with '%', whereas
+     *             the name of a general entity is just the entity name
+     * @param identifier an object containing all location information pertinent to this
+     *                   external entity
+     * @param augs additional information that may include infoset augmentations
+     *
+     * @throws XNIException thrown by handler to signal an error
+     */
+    @Override
+    public void externalEntityDecl(String name, XMLResourceIdentifier identifier,
+                                   Augmentations augs) throws XNIException {
+    } // externalEntityDecl(String,XMLResourceIdentifier, Augmentations)
+
+    /**
+     * An unparsed entity declaration.
+     *
+     * @param name the name of the entity
+     * @param identifier an object containing all location information pertinent to this
+     *                   unparsed entity declaration
+     * @param notation the name of the notation
+     * @param augs additional information that may include infoset augmentations
+     *
+     * @throws XNIException thrown by handler to signal an error
+     */
+    @Override
+    public void unparsedEntityDecl(String name, XMLResourceIdentifier identifier,
+                                   String notation, Augmentations augs) throws XNIException {
+    } // unparsedEntityDecl(String,XMLResourceIdentifier, String, Augmentations)
+
+    /**
+     * A notation declaration
+     *
+     * @param name the name of the notation
+     * @param identifier an object containing all location information pertinent to this notation
+     * @param augs additional information that may include infoset augmentations
+     *
+     * @throws XNIException thrown by handler to signal an error
+     */
+    @Override
+    public void notationDecl(String name, XMLResourceIdentifier identifier, 
+    	Augmentations augs)
+        throws XNIException {
+    } // notationDecl(String,XMLResourceIdentifier, Augmentations)
+
+    /**
+     * The start of a conditional section.
+     * 
+     * @param type the type of the conditional section. This value will either be
+     *             CONDITIONAL_INCLUDE or CONDITIONAL_IGNORE
+     * @param augs additional information that may include infoset augmentations
+     *
+     * @throws XNIException thrown by handler to signal an error
+     *
+     * @see org.apache.xerces.xni.XMLDTDHandler#CONDITIONAL_INCLUDE
+     * @see org.apache.xerces.xni.XMLDTDHandler#CONDITIONAL_IGNORE
+     */
+    @Override
+    public void startConditional(short type, Augmentations augs) throws XNIException  {
+    } // startConditional(short)
+
+    /**
+     * The end of a conditional section.
+     *
+     * @param augs additional information that may include infoset augmentations
+     *
+     * @throws XNIException thrown by handler to signal an error
+     */
+    @Override
+    public void endConditional(Augmentations augs) throws XNIException {
+    } // endConditional()
+
+    /**
+     * The end of the DTD.
+     *
+     * @param augs additional information that may include infoset augmentations
+     *
+     * @throws XNIException thrown by handler to signal an error
+     */
+    @Override
+    public void endDTD(Augmentations augs) throws XNIException {
+        fInDTD = false;
+    } // endDTD()
+
+    @Override
+    public void setDTDSource(XMLDTDSource source) {
+        fDTDSource = source;
+    }
+
+    @Override
+    public XMLDTDSource getDTDSource() {
+        return fDTDSource;
+    }
+
+    //
+    // XMLDTDContentModelHandler methods
+    //
+
+    /**
+     * The start of a content model. Depending on the type of the content
+     * model, specific methods may be called between the call to the
+     * startContentModel method and the call to the endContentModel method.
+     *
+     * @param elementName the name of the element
+     * @param augs additional information that may include infoset augmentations
+     *
+     * @throws XNIException thrown by handler to signal an error
+     */
+    @Override
+    public void startContentModel(String elementName, Augmentations augs) throws XNIException {
+    } // startContentModel(String, Augmentations)
+
+    /** 
+     * A content model of ANY. 
+     *
+     * @param augs additional information that may include infoset
+     *                      augmentations.
+     *
+     * @throws XNIException thrown by handler to signal an error
+     *
+     * @see #empty
+     * @see #startGroup
+     */
+    @Override
+    public void any(Augmentations augs) throws XNIException {
+    } // any(Augmentations)
+
+    /**
+     * A content model of EMPTY.
+     *
+     * @param augs additional information that may include infoset
+     *                      augmentations.
+     *
+     * @throws XNIException thrown by handler to signal an error
+     *
+     * @see #any
+     * @see #startGroup
+     */
+    @Override
+    public void empty(Augmentations augs) throws XNIException {
+    } // empty(Augmentations)
+
+    /**
+     * A start of either a mixed or children content model. A mixed
+     * content model will immediately be followed by a call to the
+     * <code>pcdata()</code> method. A children content model will
+     * contain additional groups and/or elements.
+     *
+     * @param augs additional information that may include infoset
+     *                      augmentations.
+     *
+     * @throws XNIException thrown by handler to signal an error
+     *
+     * @see #any
+     * @see #empty
+     */
+    @Override
+    public void startGroup(Augmentations augs) throws XNIException {
+    } // stargGroup(Augmentations)
+
+    /**
+     * The appearance of "#PCDATA" within a group signifying a
+     * mixed content model. This method will be the first called
+     * following the content model's <code>startGroup()</code>.
+     *
+     * @param augs additional information that may include infoset
+     *                      augmentations.
+     *     
+     * @throws XNIException thrown by handler to signal an error
+     *
+     * @see #startGroup
+     */
+    @Override
+    public void pcdata(Augmentations augs) throws XNIException {
+    } // pcdata(Augmentations)
+
+    /**
+     * A referenced element in a mixed or children content model.
+     * 
+     * @param elementName The name of the referenced element.
+     * @param augs additional information that may include infoset
+     *                      augmentations.
+     *
+     * @throws XNIException thrown by handler to signal an error
+     */
+    @Override
+    public void element(String elementName, Augmentations augs) throws XNIException {
+    } // element(String, Augmentations)
+
+    /**
+     * The separator between choices or sequences of a mixed or children
+     * content model.
+     * 
+     * @param separator The type of children separator.
+     * @param augs additional information that may include infoset
+     *                      augmentations.
+     *
+     * @throws XNIException thrown by handler to signal an error
+     *
+     * @see #SEPARATOR_CHOICE
+     * @see #SEPARATOR_SEQUENCE
+     */
+    @Override
+    public void separator(short separator, Augmentations augs) throws XNIException {
+    } // separator(short, Augmentations)
+
+    /**
+     * The occurrence count for a child in a children content model or
+     * for the mixed content model group.
+     * 
+     * @param occurrence The occurrence count for the last element
+     *                   or group.
+     * @param augs additional information that may include infoset
+     *                      augmentations.
+     *
+     * @throws XNIException thrown by handler to signal an error
+     *
+     * @see #OCCURS_ZERO_OR_ONE
+     * @see #OCCURS_ZERO_OR_MORE
+     * @see #OCCURS_ONE_OR_MORE
+     */
+    @Override
+    public void occurrence(short occurrence, Augmentations augs) throws XNIException {
+    } // occurence(short, Augmentations)
+
+    /**
+     * The end of a group for mixed or children content models.
+     *
+     * @param augs additional information that may include infoset
+     *                      augmentations.
+     *
+     * @throws XNIException thrown by handler to signal an error
+     */
+    @Override
+    public void endGroup(Augmentations augs) throws XNIException {
+    } // endGroup(Augmentations)
+
+    /**
+     * The end of a content model.
+     *
+     * @param augs additional information that may include infoset
+     *                      augmentations.
+     *
+     * @throws XNIException thrown by handler to signal an error
+     */
+    @Override
+    public void endContentModel(Augmentations augs) throws XNIException {
+    } // endContentModel(Augmentations)
+
+    // set content model source
+    @Override
+    public void setDTDContentModelSource(XMLDTDContentModelSource source) {
+        fDTDContentModelSource = source;
+    }
+
+    // get content model source
+    @Override
+    public XMLDTDContentModelSource getDTDContentModelSource() {
+        return fDTDContentModelSource;
+    }
+
+    //
+    // Protected methods
+    //
+
+    @Override
+    protected void reset() throws XNIException {
+        super.reset();
+        fInDTD = false;
+    } // reset()
+
+} // class AbstractXMLDocumentParser
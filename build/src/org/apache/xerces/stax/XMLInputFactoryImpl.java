@@ -0,0 +1,285 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.xerces.stax;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.util.HashMap;
+
+import javax.xml.stream.EventFilter;
+import javax.xml.stream.StreamFilter;
+import javax.xml.stream.XMLEventReader;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLReporter;
+import javax.xml.stream.XMLResolver;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.events.XMLEvent;
+import javax.xml.stream.util.EventReaderDelegate;
+import javax.xml.stream.util.StreamReaderDelegate;
+import javax.xml.stream.util.XMLEventAllocator;
+import javax.xml.transform.Source;
+import javax.xml.transform.sax.SAXSource;
+import javax.xml.transform.stream.StreamSource;
+
+import org.apache.xerces.xni.parser.XMLInputSource;
+import org.xml.sax.InputSource;
+
+/**
+ * <p>Implementation of XMLInputFactory.</p>
+ *
+ * <p>Readers created by this factory pull events directly from the
+ * Xerces document scanner.</p>
+ *
+ * @xerces.internal
+ *
+ * @version $Id$
+ */
+public final class XMLInputFactoryImpl extends XMLInputFactory {
+
+    /** Factory properties. */
+    private final HashMap fProperties = new HashMap();
+
+    public XMLInputFactoryImpl() {
+        fProperties.put(IS_NAMESPACE_AWARE, Boolean.TRUE);
+        fProperties.put(IS_VALIDATING, Boolean.FALSE);
+        fProperties.put(IS_COALESCING, Boolean.FALSE);
+        fProperties.put(IS_REPLACING_ENTITY_REFERENCES, Boolean.TRUE);
+        fProperties.put(IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.TRUE);
+        fProperties.put(SUPPORT_DTD, Boolean.TRUE);
+    }
+
+    public XMLStreamReader createXMLStreamReader(Reader reader)
+            throws XMLStreamException {
+        return createXMLStreamReader(new XMLInputSource(null, null, null, reader, null));
+    }
+
+    public XMLStreamReader createXMLStreamReader(Source source)
+            throws XMLStreamException {
+        return createXMLStreamReader(toInputSource(source));
+    }
+
+    public XMLStreamReader createXMLStreamReader(InputStream stream)
+            throws XMLStreamException {
+        return createXMLStreamReader(stream, (String) null);
+    }
+
+    public XMLStreamReader createXMLStreamReader(InputStream stream,
+            String encoding) throws XMLStreamException {
+        return createXMLStreamReader(new XMLInputSource(null, null, null, stream, encoding));
+    }
+
+    public XMLStreamReader createXMLStreamReader(String systemId,
+            InputStream stream) throws XMLStreamException {
+        return createXMLStreamReader(new XMLInputSource(null, systemId, null, stream, null));
+    }
+
+    public XMLStreamReader createXMLStreamReader(String systemId,
+            Reader reader) throws XMLStreamException {
+        return createXMLStreamReader(new XMLInputSource(null, systemId, null, reader, null));
+    }
+
+    public XMLEventReader createXMLEventReader(Reader reader)
+            throws XMLStreamException {
+        return createXMLEventReader(createXMLStreamReader(reader));
+    }
+
+    public XMLEventReader createXMLEventReader(String systemId, Reader reader)
+            throws XMLStreamException {
+        return createXMLEventReader(createXMLStreamReader(systemId, reader));
+    }
+
+    public XMLEventReader createXMLEventReader(XMLStreamReader reader)
+            throws XMLStreamException {
+        final XMLEventAllocator allocator = (XMLEventAllocator) fProperties.get(ALLOCATOR);
+        return new XMLEventReaderImpl(reader, allocator != null ? allocator.newInstance() : null);
+    }
+
+    public XMLEventReader createXMLEventReader(Source source)
+            throws XMLStreamException {
+        return createXMLEventReader(createXMLStreamReader(source));
+    }
+
+    public XMLEventReader createXMLEventReader(InputStream stream)
+            throws XMLStreamException {
+        return createXMLEventReader(createXMLStreamReader(stream));
+    }
+
+    public XMLEventReader createXMLEventReader(InputStream stream,
+            String encoding) throws XMLStreamException {
+        return createXMLEventReader(createXMLStreamReader(stream, encoding));
+    }
+
+    public XMLEventReader createXMLEventReader(String systemId,
+            InputStream stream) throws XMLStreamException {
+        return createXMLEventReader(createXMLStreamReader(systemId, stream));
+    }
+
+    public XMLStreamReader createFilteredReader(XMLStreamReader reader,
+            final StreamFilter filter) throws XMLStreamException {
+        final StreamReaderDelegate filtered = new StreamReaderDelegate(reader) {
+            public int next() throws XMLStreamException {
+                int type = super.next();
+                while (!filter.accept(this) && super.hasNext()) {
+                    type = super.next();
+                }
+                return type;
+            }
+        };
+        if (!filter.accept(filtered) && filtered.hasNext()) {
+            filtered.next();
+        }
+        return filtered;
+    }
+
+    public XMLEventReader createFilteredReader(XMLEventReader reader,
+            final EventFilter filter) throws XMLStreamException {
+        return new EventReaderDelegate(reader) {
+            public XMLEvent peek() throws XMLStreamException {
+                XMLEvent event = super.peek();
+                while (event != null && !filter.accept(event)) {
+                    super.nextEvent();
+                    event = super.peek();
+                }
+                return event;
+            }
+            public XMLEvent nextEvent() throws XMLStreamException {
+                if (peek() == null) {
+                    throw new java.util.NoSuchElementException();
+                }
+                return super.nextEvent();
+            }
+            public Object next() {
+                try {
+                    return nextEvent();
+                }
+                catch (XMLStreamException e) {
+                    throw new java.util.NoSuchElementException(e.getMessage());
+                }
+            }
+            public boolean hasNext() {
+                try {
+                    return peek() != null;
+                }
+                catch (XMLStreamException e) {
+                    return false;
+                }
+            }
+        };
+    }
+
+    public XMLResolver getXMLResolver() {
+        return (XMLResolver) fProperties.get(RESOLVER);
+    }
+
+    /**
+     * Sets the resolver for external entities. The resolver may return
+     * an <code>InputStream</code>, a <code>Reader</code> or a
+     * <code>Source</code> supported by
+     * {@link #createXMLStreamReader(Source)}, or <code>null</code> to
+     * resolve the entity normally. Readers of events, such as an
+     * <code>XMLStreamReader</code> or an <code>XMLEventReader</code>,
+     * are not supported: the reader reports an
+     * <code>XMLStreamException</code> when the entity is resolved to one.
+     */
+    public void setXMLResolver(XMLResolver resolver) {
+        fProperties.put(RESOLVER, resolver);
+    }
+
+    public XMLReporter getXMLReporter() {
+        return (XMLReporter) fProperties.get(REPORTER);
+    }
+
+    public void setXMLReporter(XMLReporter reporter) {
+        fProperties.put(REPORTER, reporter);
+    }
+
+    public void setProperty(String name, Object value)
+            throws IllegalArgumentException {
+        if (!isPropertySupported(name)) {
+            throw new IllegalArgumentException("Property '" + name + "' is not recognized.");
+        }
+        fProperties.put(name, value);
+    }
+
+    public Object getProperty(String name) throws IllegalArgumentException {
+        if (!isPropertySupported(name)) {
+            throw new IllegalArgumentException("Property '" + name + "' is not recognized.");
+        }
+        return fProperties.get(name);
+    }
+
+    public boolean isPropertySupported(String name) {
+        return IS_NAMESPACE_AWARE.equals(name) ||
+            IS_VALIDATING.equals(name) ||
+            IS_COALESCING.equals(name) ||
+            IS_REPLACING_ENTITY_REFERENCES.equals(name) ||
+            IS_SUPPORTING_EXTERNAL_ENTITIES.equals(name) ||
+            SUPPORT_DTD.equals(name) ||
+            REPORTER.equals(name) ||
+            RESOLVER.equals(name) ||
+            ALLOCATOR.equals(name);
+    }
+
+    public void setEventAllocator(XMLEventAllocator allocator) {
+        fProperties.put(ALLOCATOR, allocator);
+    }
+
+    public XMLEventAllocator getEventAllocator() {
+        return (XMLEventAllocator) fProperties.get(ALLOCATOR);
+    }
+
+    private XMLStreamReader createXMLStreamReader(XMLInputSource inputSource)
+            throws XMLStreamException {
+        return new XMLStreamReaderImpl(inputSource, (HashMap) fProperties.clone());
+    }
+
+    /**
+     * Returns an input source reading from a <code>StreamSource</code>,
+     * a <code>SAXSource</code>, or any other source with a system
+     * identifier.
+     *
+     * @throws XMLStreamException if the source is not supported
+     */
+    static XMLInputSource toInputSource(Source source) throws XMLStreamException {
+        if (source instanceof StreamSource) {
+            final StreamSource streamSource = (StreamSource) source;
+            final XMLInputSource inputSource = new XMLInputSource(streamSource.getPublicId(),
+                    streamSource.getSystemId(), null);
+            inputSource.setByteStream(streamSource.getInputStream());
+            inputSource.setCharacterStream(streamSource.getReader());
+            return inputSource;
+        }
+        else if (source instanceof SAXSource) {
+            final InputSource saxInputSource = SAXSource.sourceToInputSource(source);
+            if (saxInputSource != null) {
+                final XMLInputSource inputSource = new XMLInputSource(saxInputSource.getPublicId(),
+                        saxInputSource.getSystemId(), null);
+                inputSource.setByteStream(saxInputSource.getByteStream());
+                inputSource.setCharacterStream(saxInputSource.getCharacterStream());
+                inputSource.setEncoding(saxInputSource.getEncoding());
+                return inputSource;
+            }
+        }
+        else if (source != null && source.getSystemId() != null) {
+            return new XMLInputSource(null, source.getSystemId(), null);
+        }
+        throw new XMLStreamException("Source type not supported: " +
+                (source != null ? source.getClass().getName() : null) + ".");
+    }
+}
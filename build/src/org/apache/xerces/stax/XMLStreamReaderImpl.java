@@ -0,0 +1,1176 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.xerces.stax;
+
+import java.io.FilterInputStream;
+import java.io.FilterReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.util.Enumeration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import javax.xml.XMLConstants;
+import javax.xml.namespace.QName;
+import javax.xml.stream.Location;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLReporter;
+import javax.xml.stream.XMLResolver;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.transform.Source;
+
+import org.apache.xerces.impl.Constants;
+import org.apache.xerces.parsers.XML11Configuration;
+import org.apache.xerces.util.NamespaceSupport;
+import org.apache.xerces.util.XMLChar;
+import org.apache.xerces.util.XMLStringBuffer;
+import org.apache.xerces.util.XMLSymbols;
+import org.apache.xerces.xni.Augmentations;
+import org.apache.xerces.xni.NamespaceContext;
+import org.apache.xerces.xni.XMLAttributes;
+import org.apache.xerces.xni.XMLDocumentHandler;
+import org.apache.xerces.xni.XMLLocator;
+import org.apache.xerces.xni.XMLResourceIdentifier;
+import org.apache.xerces.xni.XMLString;
+import org.apache.xerces.xni.XNIException;
+import org.apache.xerces.xni.parser.XMLDocumentSource;
+import org.apache.xerces.xni.parser.XMLEntityResolver;
+import org.apache.xerces.xni.parser.XMLErrorHandler;
+import org.apache.xerces.xni.parser.XMLInputSource;
+import org.apache.xerces.xni.parser.XMLParseException;
+import org.apache.xerces.xni.parser.XMLPullParserConfiguration;
+
+/**
+ * <p>An <code>XMLStreamReader</code> driven directly by the pull
+ * interface of an XNI parser configuration.</p>
+ *
+ * <p>Each call to <code>next()</code> asks the scanner for the next
+ * portion of the document with <code>parse(false)</code>. The XNI
+ * callbacks produced by that step are recorded into a small ring of
+ * reusable event slots, so there is no intermediate SAX layer and
+ * character data is copied once from the scanner's buffer. Since the
+ * scanner is only advanced on demand, an application may stop reading
+ * and <code>close()</code> the reader after consuming just the part of
+ * the document it is interested in. Closing the reader does not close
+ * the stream or reader it was created with.</p>
+ *
+ * <p>When <code>IS_REPLACING_ENTITY_REFERENCES</code> is false, each
+ * general entity referenced in content is reported as a single
+ * <code>ENTITY_REFERENCE</code> event whose text is the character
+ * content of the entity; the markup within the entity is not
+ * reported.</p>
+ *
+ * @xerces.internal
+ *
+ * @version $Id$
+ */
+public final class XMLStreamReaderImpl implements XMLStreamReader, XMLDocumentHandler {
+
+    //
+    // Constants
+    //
+
+    /** Feature identifier: namespaces. */
+    private static final String NAMESPACES =
+        Constants.SAX_FEATURE_PREFIX + Constants.NAMESPACES_FEATURE;
+
+    /** Feature identifier: validation. */
+    private static final String VALIDATION =
+        Constants.SAX_FEATURE_PREFIX + Constants.VALIDATION_FEATURE;
+
+    /** Feature identifier: external general entities. */
+    private static final String EXTERNAL_GENERAL_ENTITIES =
+        Constants.SAX_FEATURE_PREFIX + Constants.EXTERNAL_GENERAL_ENTITIES_FEATURE;
+
+    /** Feature identifier: external parameter entities. */
+    private static final String EXTERNAL_PARAMETER_ENTITIES =
+        Constants.SAX_FEATURE_PREFIX + Constants.EXTERNAL_PARAMETER_ENTITIES_FEATURE;
+
+    /** Feature identifier: disallow doctype declaration. */
+    private static final String DISALLOW_DOCTYPE_DECL =
+        Constants.XERCES_FEATURE_PREFIX + Constants.DISALLOW_DOCTYPE_DECL_FEATURE;
+
+    /** Property identifier: error handler. */
+    private static final String ERROR_HANDLER =
+        Constants.XERCES_PROPERTY_PREFIX + Constants.ERROR_HANDLER_PROPERTY;
+
+    /** Property identifier: entity resolver. */
+    private static final String ENTITY_RESOLVER =
+        Constants.XERCES_PROPERTY_PREFIX + Constants.ENTITY_RESOLVER_PROPERTY;
+
+    /** Initial number of event slots. */
+    private static final int INITIAL_QUEUE_SIZE = 8;
+
+    //
+    // Data
+    //
+
+    /** The pull parser configuration which drives this reader. */
+    private final XMLPullParserConfiguration fConfiguration;
+
+    /** Properties the reader was created with. */
+    private final Map fProperties;
+
+    /** Whether namespace processing is enabled. */
+    private final boolean fNamespaceAware;
+
+    /** Whether adjacent character data is reported as a single event. */
+    private final boolean fCoalescing;
+
+    /** Whether entity references are replaced by their content. */
+    private final boolean fReplacingEntities;
+
+    /** Ring of event slots. The slot at fHead is the current event. */
+    private Event[] fQueue;
+
+    /** Index of the current event. */
+    private int fHead;
+
+    /** Number of events in the queue, including the current event. */
+    private int fCount;
+
+    /** The current event. */
+    private Event fCurrent;
+
+    /** Whether the scanner has more to scan. */
+    private boolean fMoreToScan = true;
+
+    /** Whether the reader has been closed. */
+    private boolean fClosed;
+
+    /** Whether the scanner is inside a CDATA section. */
+    private boolean fInCDATA;
+
+    /** Whether the next character data must start a new event. */
+    private boolean fTextBoundary;
+
+    /** Depth of general entities whose content is not reported. */
+    private int fEntityDepth;
+
+    /** The ENTITY_REFERENCE event collecting the text of an entity. */
+    private Event fEntityEvent;
+
+    /** In-scope namespace bindings for the events delivered so far. */
+    private final NamespaceSupport fNamespaces = new NamespaceSupport();
+
+    /** Whether the namespace context must be popped before advancing. */
+    private boolean fPopContext;
+
+    /** Live view of fNamespaces. */
+    private final javax.xml.namespace.NamespaceContext fNamespaceContextView =
+        new NamespaceContextAdapter(fNamespaces);
+
+    /** Location of the current event. */
+    private final Location fLocationView = new CurrentLocation();
+
+    // scanner state
+
+    private XMLLocator fLocator;
+    private NamespaceContext fScannerNamespaceContext;
+    private XMLDocumentSource fDocumentSource;
+
+    // document information
+
+    private String fInputEncoding;
+    private String fVersion;
+    private String fXMLDeclEncoding;
+    private String fStandalone;
+
+    //
+    // Constructors
+    //
+
+    /**
+     * Creates a reader for the given input source. The reader is
+     * positioned on the <code>START_DOCUMENT</code> event.
+     *
+     * @param inputSource the document to read
+     * @param properties the <code>XMLInputFactory</code> properties
+     */
+    public XMLStreamReaderImpl(XMLInputSource inputSource, Map properties)
+        throws XMLStreamException {
+        this(new XML11Configuration(), inputSource, properties);
+    }
+
+    /**
+     * Creates a reader for the given input source using the specified
+     * parser configuration. The reader is positioned on the
+     * <code>START_DOCUMENT</code> event.
+     *
+     * @param configuration the pull parser configuration
+     * @param inputSource the document to read
+     * @param properties the <code>XMLInputFactory</code> properties
+     */
+    public XMLStreamReaderImpl(XMLPullParserConfiguration configuration,
+            XMLInputSource inputSource, Map properties) throws XMLStreamException {
+        fConfiguration = configuration;
+        fProperties = properties;
+        fNamespaceAware = getBooleanProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true);
+        fCoalescing = getBooleanProperty(XMLInputFactory.IS_COALESCING, false);
+        fReplacingEntities = getBooleanProperty(XMLInputFactory.IS_REPLACING_ENTITY_REFERENCES, true);
+        final boolean externalEntities = getBooleanProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, true);
+        fConfiguration.setFeature(NAMESPACES, fNamespaceAware);
+        fConfiguration.setFeature(VALIDATION, getBooleanProperty(XMLInputFactory.IS_VALIDATING, false));
+        fConfiguration.setFeature(EXTERNAL_GENERAL_ENTITIES, externalEntities);
+        fConfiguration.setFeature(EXTERNAL_PARAMETER_ENTITIES, externalEntities);
+        fConfiguration.setFeature(DISALLOW_DOCTYPE_DECL, !getBooleanProperty(XMLInputFactory.SUPPORT_DTD, true));
+        fConfiguration.setProperty(ERROR_HANDLER, new ErrorHandler((XMLReporter) properties.get(XMLInputFactory.REPORTER)));
+        final XMLResolver resolver = (XMLResolver) properties.get(XMLInputFactory.RESOLVER);
+        if (resolver != null) {
+            fConfiguration.setProperty(ENTITY_RESOLVER, new EntityResolver(resolver));
+        }
+        fConfiguration.setDocumentHandler(this);
+        fNamespaces.reset();
+        fQueue = new Event[INITIAL_QUEUE_SIZE];
+        for (int i = 0; i < fQueue.length; ++i) {
+            fQueue[i] = new Event();
+        }
+        // The stream and reader belong to the application, which
+        // closes them; the scanner only closes what it opened itself.
+        if (inputSource.getByteStream() != null) {
+            inputSource.setByteStream(new UncloseableInputStream(inputSource.getByteStream()));
+        }
+        if (inputSource.getCharacterStream() != null) {
+            inputSource.setCharacterStream(new UncloseableReader(inputSource.getCharacterStream()));
+        }
+        try {
+            fConfiguration.setInputSource(inputSource);
+        }
+        catch (IOException e) {
+            throw new XMLStreamException(e);
+        }
+        // Scan until the event following START_DOCUMENT is known
+        // so that the XML declaration has been seen.
+        fillQueue();
+        if (fCount == 0) {
+            throw new XMLStreamException("The document does not contain a start document event.");
+        }
+        fCurrent = fQueue[fHead];
+    }
+
+    //
+    // XMLStreamReader methods
+    //
+
+    public Object getProperty(String name) throws IllegalArgumentException {
+        if (name == null) {
+            throw new IllegalArgumentException("Property name cannot be null.");
+        }
+        return fProperties.get(name);
+    }
+
+    public int next() throws XMLStreamException {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        if (fPopContext) {
+            fNamespaces.popContext();
+            fPopContext = false;
+        }
+        fHead = (fHead + 1) % fQueue.length;
+        --fCount;
+        fillQueue();
+        fCurrent = fQueue[fHead];
+        if (fCurrent.type == START_ELEMENT) {
+            fNamespaces.pushContext();
+            for (int i = 0; i < fCurrent.nsCount; ++i) {
+                fNamespaces.declarePrefix(fCurrent.nsPrefixes[i], fCurrent.nsURIs[i]);
+            }
+        }
+        else if (fCurrent.type == END_ELEMENT) {
+            fPopContext = true;
+        }
+        return fCurrent.type;
+    }
+
+    public void require(int type, String namespaceURI, String localName)
+            throws XMLStreamException {
+        if (type != fCurrent.type) {
+            throw new XMLStreamException("Event type mismatch.", fLocationView);
+        }
+        if (namespaceURI != null && !namespaceURI.equals(getNamespaceURI())) {
+            throw new XMLStreamException("Namespace URI mismatch.", fLocationView);
+        }
+        if (localName != null && !localName.equals(getLocalName())) {
+            throw new XMLStreamException("Local name mismatch.", fLocationView);
+        }
+    }
+
+    public String getElementText() throws XMLStreamException {
+        if (fCurrent.type != START_ELEMENT) {
+            throw new XMLStreamException("The current event is not a START_ELEMENT.", fLocationView);
+        }
+        final XMLStringBuffer buffer = new XMLStringBuffer();
+        int type = next();
+        while (type != END_ELEMENT) {
+            switch (type) {
+                case CHARACTERS:
+                case CDATA:
+                case SPACE:
+                case ENTITY_REFERENCE:
+                    buffer.append(fCurrent.text);
+                    break;
+                case PROCESSING_INSTRUCTION:
+                case COMMENT:
+                    break;
+                case END_DOCUMENT:
+                    throw new XMLStreamException("Unexpected end of document when reading element text content.", fLocationView);
+                case START_ELEMENT:
+                    throw new XMLStreamException("Element text content may not contain START_ELEMENT.", fLocationView);
+                default:
+                    throw new XMLStreamException("Unexpected event type " + type + ".", fLocationView);
+            }
+            type = next();
+        }
+        return buffer.toString();
+    }
+
+    public int nextTag() throws XMLStreamException {
+        int type = next();
+        while ((type == CHARACTERS && isWhiteSpace())
+                || (type == CDATA && isWhiteSpace())
+                || type == SPACE
+                || type == PROCESSING_INSTRUCTION
+                || type == COMMENT) {
+            type = next();
+        }
+        if (type != START_ELEMENT && type != END_ELEMENT) {
+            throw new XMLStreamException("Expected START_ELEMENT or END_ELEMENT.", fLocationView);
+        }
+        return type;
+    }
+
+    public boolean hasNext() throws XMLStreamException {
+        return !fClosed && fCurrent.type != END_DOCUMENT && fCount > 1;
+    }
+
+    public void close() throws XMLStreamException {
+        if (!fClosed) {
+            fClosed = true;
+            fMoreToScan = false;
+            fConfiguration.cleanup();
+        }
+    }
+
+    public String getNamespaceURI(String prefix) {
+        if (prefix == null) {
+            throw new IllegalArgumentException("Prefix cannot be null.");
+        }
+        return fNamespaces.getURI(prefix.length() > 0 ? prefix.intern() : XMLSymbols.EMPTY_STRING);
+    }
+
+    public boolean isStartElement() {
+        return fCurrent.type == START_ELEMENT;
+    }
+
+    public boolean isEndElement() {
+        return fCurrent.type == END_ELEMENT;
+    }
+
+    public boolean isCharacters() {
+        return fCurrent.type == CHARACTERS;
+    }
+
+    public boolean isWhiteSpace() {
+        if (fCurrent.type == SPACE) {
+            return true;
+        }
+        if (fCurrent.type == CHARACTERS || fCurrent.type == CDATA) {
+            final XMLStringBuffer text = fCurrent.text;
+            final int end = text.offset + text.length;
+            for (int i = text.offset; i < end; ++i) {
+                if (!XMLChar.isSpace(text.ch[i])) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    public String getAttributeValue(String namespaceURI, String localName) {
+        checkStartElement();
+        for (int i = 0; i < fCurrent.attrCount; ++i) {
+            org.apache.xerces.xni.QName name = fCurrent.attrNames[i];
+            if (name.localpart.equals(localName) &&
+                (namespaceURI == null || namespaceURI.equals(name.uri != null ? name.uri : XMLConstants.NULL_NS_URI))) {
+                return fCurrent.attrValues[i];
+            }
+        }
+        return null;
+    }
+
+    public int getAttributeCount() {
+        checkStartElement();
+        return fCurrent.attrCount;
+    }
+
+    public QName getAttributeName(int index) {
+        return toQName(getAttribute(index));
+    }
+
+    public String getAttributeNamespace(int index) {
+        return getAttribute(index).uri;
+    }
+
+    public String getAttributeLocalName(int index) {
+        return getAttribute(index).localpart;
+    }
+
+    public String getAttributePrefix(int index) {
+        final String prefix = getAttribute(index).prefix;
+        return prefix != null ? prefix : XMLConstants.DEFAULT_NS_PREFIX;
+    }
+
+    public String getAttributeType(int index) {
+        getAttribute(index);
+        return fCurrent.attrTypes[index];
+    }
+
+    public String getAttributeValue(int index) {
+        getAttribute(index);
+        return fCurrent.attrValues[index];
+    }
+
+    public boolean isAttributeSpecified(int index) {
+        getAttribute(index);
+        return fCurrent.attrSpecified[index];
+    }
+
+    public int getNamespaceCount() {
+        checkElement();
+        return fNamespaces.getDeclaredPrefixCount();
+    }
+
+    public String getNamespacePrefix(int index) {
+        checkElement();
+        final String prefix = fNamespaces.getDeclaredPrefixAt(index);
+        return prefix != XMLSymbols.EMPTY_STRING ? prefix : null;
+    }
+
+    public String getNamespaceURI(int index) {
+        checkElement();
+        return fNamespaces.getURI(fNamespaces.getDeclaredPrefixAt(index));
+    }
+
+    public javax.xml.namespace.NamespaceContext getNamespaceContext() {
+        return fNamespaceContextView;
+    }
+
+    public int getEventType() {
+        return fCurrent.type;
+    }
+
+    public String getText() {
+        final int type = fCurrent.type;
+        if (type != CHARACTERS && type != CDATA && type != SPACE &&
+            type != COMMENT && type != DTD && type != ENTITY_REFERENCE) {
+            throw new IllegalStateException("The current event does not have text.");
+        }
+        return fCurrent.text.toString();
+    }
+
+    public char[] getTextCharacters() {
+        checkTextCharacters();
+        return fCurrent.text.ch;
+    }
+
+    public int getTextCharacters(int sourceStart, char[] target,
+            int targetStart, int length) throws XMLStreamException {
+        checkTextCharacters();
+        if (target == null) {
+            throw new NullPointerException();
+        }
+        if (targetStart < 0 || length < 0 || sourceStart < 0 ||
+            targetStart > target.length || targetStart + length > target.length) {
+            throw new IndexOutOfBoundsException();
+        }
+        final XMLStringBuffer text = fCurrent.text;
+        final int available = text.length - sourceStart;
+        if (available <= 0) {
+            return 0;
+        }
+        final int count = available < length ? available : length;
+        System.arraycopy(text.ch, text.offset + sourceStart, target, targetStart, count);
+        return count;
+    }
+
+    public int getTextStart() {
+        checkTextCharacters();
+        return fCurrent.text.offset;
+    }
+
+    public int getTextLength() {
+        checkTextCharacters();
+        return fCurrent.text.length;
+    }
+
+    public String getEncoding() {
+        return fInputEncoding;
+    }
+
+    public boolean hasText() {
+        final int type = fCurrent.type;
+        return type == CHARACTERS || type == CDATA || type == SPACE ||
+            type == COMMENT || type == DTD || type == ENTITY_REFERENCE;
+    }
+
+    public Location getLocation() {
+        return fLocationView;
+    }
+
+    public QName getName() {
+        checkElement();
+        return toQName(fCurrent.name);
+    }
+
+    public String getLocalName() {
+        final int type = fCurrent.type;
+        if (type == START_ELEMENT || type == END_ELEMENT) {
+            return fCurrent.name.localpart;
+        }
+        else if (type == ENTITY_REFERENCE) {
+            return fCurrent.target;
+        }
+        throw new IllegalStateException("The current event is not a START_ELEMENT, END_ELEMENT or ENTITY_REFERENCE.");
+    }
+
+    public boolean hasName() {
+        return fCurrent.type == START_ELEMENT || fCurrent.type == END_ELEMENT;
+    }
+
+    public String getNamespaceURI() {
+        if (hasName()) {
+            return fCurrent.name.uri;
+        }
+        return null;
+    }
+
+    public String getPrefix() {
+        if (hasName()) {
+            final String prefix = fCurrent.name.prefix;
+            return prefix != null ? prefix : XMLConstants.DEFAULT_NS_PREFIX;
+        }
+        return null;
+    }
+
+    public String getVersion() {
+        return fVersion;
+    }
+
+    public boolean isStandalone() {
+        return "yes".equals(fStandalone);
+    }
+
+    public boolean standaloneSet() {
+        return fStandalone != null;
+    }
+
+    public String getCharacterEncodingScheme() {
+        return fXMLDeclEncoding;
+    }
+
+    public String getPITarget() {
+        return (fCurrent.type == PROCESSING_INSTRUCTION) ? fCurrent.target : null;
+    }
+
+    public String getPIData() {
+        return (fCurrent.type == PROCESSING_INSTRUCTION) ? fCurrent.text.toString() : null;
+    }
+
+    //
+    // XMLDocumentHandler methods
+    //
+
+    public void startDocument(XMLLocator locator, String encoding,
+            NamespaceContext namespaceContext, Augmentations augs)
+            throws XNIException {
+        fLocator = locator;
+        fScannerNamespaceContext = namespaceContext;
+        fInputEncoding = encoding;
+        addEvent(START_DOCUMENT);
+    }
+
+    public void xmlDecl(String version, String encoding, String standalone,
+            Augmentations augs) throws XNIException {
+        fVersion = version;
+        fXMLDeclEncoding = encoding;
+        fStandalone = standalone;
+    }
+
+    public void doctypeDecl(String rootElement, String publicId,
+            String systemId, Augmentations augs) throws XNIException {
+        final Event event = addEvent(DTD);
+        final XMLStringBuffer text = event.text;
+        text.append("<!DOCTYPE ");
+        text.append(rootElement);
+        if (publicId != null) {
+            text.append(" PUBLIC \"");
+            text.append(publicId);
+            text.append("\" \"");
+            text.append(systemId);
+            text.append('"');
+        }
+        else if (systemId != null) {
+            text.append(" SYSTEM \"");
+            text.append(systemId);
+            text.append('"');
+        }
+        text.append('>');
+    }
+
+    public void comment(XMLString text, Augmentations augs) throws XNIException {
+        if (fEntityDepth > 0) {
+            return;
+        }
+        addEvent(COMMENT).text.append(text);
+    }
+
+    public void processingInstruction(String target, XMLString data,
+            Augmentations augs) throws XNIException {
+        if (fEntityDepth > 0) {
+            return;
+        }
+        final Event event = addEvent(PROCESSING_INSTRUCTION);
+        event.target = target;
+        event.text.append(data);
+    }
+
+    public void startElement(org.apache.xerces.xni.QName element,
+            XMLAttributes attributes, Augmentations augs) throws XNIException {
+        if (fEntityDepth > 0) {
+            return;
+        }
+        final Event event = addEvent(START_ELEMENT);
+        event.name.setValues(element);
+        event.setAttributes(attributes, fNamespaceAware);
+        if (fNamespaceAware && fScannerNamespaceContext != null) {
+            event.setNamespaces(fScannerNamespaceContext);
+        }
+    }
+
+    public void emptyElement(org.apache.xerces.xni.QName element,
+            XMLAttributes attributes, Augmentations augs) throws XNIException {
+        startElement(element, attributes, augs);
+        endElement(element, augs);
+    }
+
+    public void startGeneralEntity(String name,
+            XMLResourceIdentifier identifier, String encoding,
+            Augmentations augs) throws XNIException {
+        if (!fReplacingEntities && fEntityDepth++ == 0) {
+            fEntityEvent = addEvent(ENTITY_REFERENCE);
+            fEntityEvent.target = name;
+        }
+    }
+
+    public void textDecl(String version, String encoding, Augmentations augs)
+            throws XNIException {}
+
+    public void endGeneralEntity(String name, Augmentations augs)
+            throws XNIException {
+        if (!fReplacingEntities && --fEntityDepth == 0) {
+            fEntityEvent = null;
+        }
+    }
+
+    public void characters(XMLString text, Augmentations augs) throws XNIException {
+        addText((fInCDATA && !fCoalescing) ? CDATA : CHARACTERS, text);
+    }
+
+    public void ignorableWhitespace(XMLString text, Augmentations augs)
+            throws XNIException {
+        addText(fCoalescing ? CHARACTERS : SPACE, text);
+    }
+
+    public void endElement(org.apache.xerces.xni.QName element, Augmentations augs)
+            throws XNIException {
+        if (fEntityDepth > 0) {
+            return;
+        }
+        addEvent(END_ELEMENT).name.setValues(element);
+    }
+
+    public void startCDATA(Augmentations augs) throws XNIException {
+        fInCDATA = true;
+        fTextBoundary = !fCoalescing;
+    }
+
+    public void endCDATA(Augmentations augs) throws XNIException {
+        fInCDATA = false;
+        fTextBoundary = !fCoalescing;
+    }
+
+    public void endDocument(Augmentations augs) throws XNIException {
+        addEvent(END_DOCUMENT);
+    }
+
+    public void setDocumentSource(XMLDocumentSource source) {
+        fDocumentSource = source;
+    }
+
+    public XMLDocumentSource getDocumentSource() {
+        return fDocumentSource;
+    }
+
+    //
+    // Package methods
+    //
+
+    /**
+     * Returns an immutable copy of the namespace bindings which
+     * are currently in scope.
+     */
+    javax.xml.namespace.NamespaceContext getNamespaceContextSnapshot() {
+        final NamespaceSupport snapshot = new NamespaceSupport();
+        snapshot.reset();
+        snapshot.pushContext();
+        final Enumeration prefixes = fNamespaces.getAllPrefixes();
+        while (prefixes.hasMoreElements()) {
+            final String prefix = (String) prefixes.nextElement();
+            snapshot.declarePrefix(prefix, fNamespaces.getURI(prefix));
+        }
+        return new NamespaceContextAdapter(snapshot);
+    }
+
+    //
+    // Private methods
+    //
+
+    /**
+     * Scans until there is at least one pending event after the
+     * current one. A pending text event is only released once something
+     * else follows it, so that character data split across scanner
+     * buffers is reported as one event. An entity reference is only
+     * released once the end of the entity has been scanned.
+     */
+    private void fillQueue() throws XMLStreamException {
+        try {
+            while (fMoreToScan && (fCount < 2 || fEntityDepth > 0 ||
+                    (fCount == 2 && isText(fQueue[(fHead + 1) % fQueue.length].type)))) {
+                fMoreToScan = fConfiguration.parse(false);
+            }
+        }
+        catch (XMLParseException e) {
+            fMoreToScan = false;
+            throw new XMLStreamException(e.getMessage(),
+                    new ImmutableLocation(e.getCharacterOffset(), e.getColumnNumber(),
+                            e.getLineNumber(), e.getPublicId(), e.getExpandedSystemId()), e);
+        }
+        catch (XNIException e) {
+            fMoreToScan = false;
+            Exception cause = e.getException();
+            throw (cause instanceof XMLStreamException) ? (XMLStreamException) cause :
+                new XMLStreamException(e.getMessage(), fLocationView, cause != null ? cause : e);
+        }
+        catch (IOException e) {
+            fMoreToScan = false;
+            throw new XMLStreamException(e);
+        }
+    }
+
+    /** Appends a new event slot to the queue and returns it. */
+    private Event addEvent(int type) {
+        if (fCount == fQueue.length) {
+            final Event[] queue = new Event[fQueue.length << 1];
+            for (int i = 0; i < fCount; ++i) {
+                queue[i] = fQueue[(fHead + i) % fQueue.length];
+            }
+            for (int i = fCount; i < queue.length; ++i) {
+                queue[i] = new Event();
+            }
+            fQueue = queue;
+            fHead = 0;
+        }
+        final Event event = fQueue[(fHead + fCount) % fQueue.length];
+        ++fCount;
+        event.clear(type);
+        if (fLocator != null) {
+            event.lineNumber = fLocator.getLineNumber();
+            event.columnNumber = fLocator.getColumnNumber();
+            event.characterOffset = fLocator.getCharacterOffset();
+            event.publicId = fLocator.getPublicId();
+            event.systemId = fLocator.getExpandedSystemId();
+        }
+        fTextBoundary = false;
+        return event;
+    }
+
+    /**
+     * Appends character data to the last pending event if it is
+     * text of the same type, otherwise starts a new text event.
+     */
+    private void addText(int type, XMLString text) {
+        if (fEntityEvent != null) {
+            fEntityEvent.text.append(text);
+            return;
+        }
+        // The current event may already have been handed to the
+        // application and must not be modified.
+        if (!fTextBoundary && fCount > 1) {
+            final Event last = fQueue[(fHead + fCount - 1) % fQueue.length];
+            if (last.type == type) {
+                last.text.append(text);
+                return;
+            }
+        }
+        addEvent(type).text.append(text);
+    }
+
+    private boolean isText(int type) {
+        return type == CHARACTERS || type == CDATA || type == SPACE;
+    }
+
+    private boolean getBooleanProperty(String name, boolean defaultValue) {
+        final Object value = fProperties.get(name);
+        return (value instanceof Boolean) ? ((Boolean) value).booleanValue() : defaultValue;
+    }
+
+    private void checkStartElement() {
+        if (fCurrent.type != START_ELEMENT) {
+            throw new IllegalStateException("The current event is not a START_ELEMENT.");
+        }
+    }
+
+    private void checkElement() {
+        if (fCurrent.type != START_ELEMENT && fCurrent.type != END_ELEMENT) {
+            throw new IllegalStateException("The current event is not a START_ELEMENT or END_ELEMENT.");
+        }
+    }
+
+    private void checkTextCharacters() {
+        final int type = fCurrent.type;
+        if (type != CHARACTERS && type != CDATA && type != SPACE && type != COMMENT) {
+            throw new IllegalStateException("The current event is not a text event.");
+        }
+    }
+
+    private org.apache.xerces.xni.QName getAttribute(int index) {
+        checkStartElement();
+        if (index < 0 || index >= fCurrent.attrCount) {
+            throw new IndexOutOfBoundsException();
+        }
+        return fCurrent.attrNames[index];
+    }
+
+    private static QName toQName(org.apache.xerces.xni.QName name) {
+        return new QName(name.uri != null ? name.uri : XMLConstants.NULL_NS_URI,
+                name.localpart, name.prefix != null ? name.prefix : XMLConstants.DEFAULT_NS_PREFIX);
+    }
+
+    //
+    // Classes
+    //
+
+    /**
+     * A reusable record of one StAX event.
+     */
+    static final class Event {
+
+        int type;
+        final org.apache.xerces.xni.QName name = new org.apache.xerces.xni.QName();
+        final XMLStringBuffer text = new XMLStringBuffer();
+        String target;
+
+        // attributes
+        int attrCount;
+        org.apache.xerces.xni.QName[] attrNames = new org.apache.xerces.xni.QName[0];
+        String[] attrTypes = new String[0];
+        String[] attrValues = new String[0];
+        boolean[] attrSpecified = new boolean[0];
+
+        // namespace declarations
+        int nsCount;
+        String[] nsPrefixes = new String[0];
+        String[] nsURIs = new String[0];
+
+        // location
+        int lineNumber;
+        int columnNumber;
+        int characterOffset;
+        String publicId;
+        String systemId;
+
+        void clear(int type) {
+            this.type = type;
+            name.clear();
+            text.clear();
+            target = null;
+            attrCount = 0;
+            nsCount = 0;
+            lineNumber = -1;
+            columnNumber = -1;
+            characterOffset = -1;
+            publicId = null;
+            systemId = null;
+        }
+
+        void setAttributes(XMLAttributes attributes, boolean namespaceAware) {
+            final int length = attributes.getLength();
+            if (attrNames.length < length) {
+                final org.apache.xerces.xni.QName[] names = new org.apache.xerces.xni.QName[length];
+                System.arraycopy(attrNames, 0, names, 0, attrNames.length);
+                for (int i = attrNames.length; i < length; ++i) {
+                    names[i] = new org.apache.xerces.xni.QName();
+                }
+                attrNames = names;
+                attrTypes = new String[length];
+                attrValues = new String[length];
+                attrSpecified = new boolean[length];
+            }
+            int count = 0;
+            for (int i = 0; i < length; ++i) {
+                final org.apache.xerces.xni.QName attrName = attrNames[count];
+                attributes.getName(i, attrName);
+                // Namespace declarations are reported separately.
+                if (namespaceAware && attrName.uri == NamespaceContext.XMLNS_URI) {
+                    continue;
+                }
+                attrTypes[count] = attributes.getType(i);
+                attrValues[count] = attributes.getValue(i);
+                attrSpecified[count] = attributes.isSpecified(i);
+                ++count;
+            }
+            attrCount = count;
+        }
+
+        void setNamespaces(NamespaceContext context) {
+            final int count = context.getDeclaredPrefixCount();
+            if (nsPrefixes.length < count) {
+                nsPrefixes = new String[count];
+                nsURIs = new String[count];
+            }
+            for (int i = 0; i < count; ++i) {
+                final String prefix = context.getDeclaredPrefixAt(i);
+                nsPrefixes[i] = prefix;
+                nsURIs[i] = context.getURI(prefix);
+            }
+            nsCount = count;
+        }
+    }
+
+    /**
+     * An input stream of the application which is not closed
+     * with the reader.
+     */
+    static final class UncloseableInputStream extends FilterInputStream {
+
+        UncloseableInputStream(InputStream in) {
+            super(in);
+        }
+
+        public void close() {}
+    }
+
+    /**
+     * A character stream of the application which is not closed
+     * with the reader.
+     */
+    static final class UncloseableReader extends FilterReader {
+
+        UncloseableReader(Reader in) {
+            super(in);
+        }
+
+        public void close() {}
+    }
+
+    /**
+     * Exposes the location of the current event.
+     */
+    final class CurrentLocation implements Location {
+
+        public int getLineNumber() {
+            return fCurrent != null ? fCurrent.lineNumber : -1;
+        }
+
+        public int getColumnNumber() {
+            return fCurrent != null ? fCurrent.columnNumber : -1;
+        }
+
+        public int getCharacterOffset() {
+            return fCurrent != null ? fCurrent.characterOffset : -1;
+        }
+
+        public String getPublicId() {
+            return fCurrent != null ? fCurrent.publicId : null;
+        }
+
+        public String getSystemId() {
+            return fCurrent != null ? fCurrent.systemId : null;
+        }
+    }
+
+    /**
+     * Adapts an XNI namespace context to the JAXP interface.
+     */
+    static final class NamespaceContextAdapter implements javax.xml.namespace.NamespaceContext {
+
+        private final NamespaceContext fContext;
+
+        NamespaceContextAdapter(NamespaceContext context) {
+            fContext = context;
+        }
+
+        public String getNamespaceURI(String prefix) {
+            if (prefix == null) {
+                throw new IllegalArgumentException("Prefix cannot be null.");
+            }
+            final String uri = fContext.getURI(prefix.length() > 0 ? prefix.intern() : XMLSymbols.EMPTY_STRING);
+            return (uri != null) ? uri : XMLConstants.NULL_NS_URI;
+        }
+
+        public String getPrefix(String namespaceURI) {
+            if (namespaceURI == null) {
+                throw new IllegalArgumentException("Namespace URI cannot be null.");
+            }
+            namespaceURI = namespaceURI.intern();
+            final Enumeration prefixes = fContext.getAllPrefixes();
+            while (prefixes.hasMoreElements()) {
+                final String prefix = (String) prefixes.nextElement();
+                if (fContext.getURI(prefix) == namespaceURI) {
+                    return prefix;
+                }
+            }
+            return null;
+        }
+
+        public Iterator getPrefixes(String namespaceURI) {
+            if (namespaceURI == null) {
+                throw new IllegalArgumentException("Namespace URI cannot be null.");
+            }
+            namespaceURI = namespaceURI.intern();
+            final java.util.ArrayList list = new java.util.ArrayList();
+            final Enumeration prefixes = fContext.getAllPrefixes();
+            while (prefixes.hasMoreElements()) {
+                final String prefix = (String) prefixes.nextElement();
+                if (fContext.getURI(prefix) == namespaceURI) {
+                    list.add(prefix);
+                }
+            }
+            return java.util.Collections.unmodifiableList(list).iterator();
+        }
+    }
+
+    /**
+     * Reports warnings and errors to an <code>XMLReporter</code>. Fatal
+     * errors are thrown by the error reporter once this handler returns.
+     */
+    static final class ErrorHandler implements XMLErrorHandler {
+
+        private final XMLReporter fReporter;
+
+        ErrorHandler(XMLReporter reporter) {
+            fReporter = reporter;
+        }
+
+        public void warning(String domain, String key, XMLParseException exception)
+            throws XNIException {
+            report("WARNING", exception);
+        }
+
+        public void error(String domain, String key, XMLParseException exception)
+            throws XNIException {
+            report("ERROR", exception);
+        }
+
+        public void fatalError(String domain, String key, XMLParseException exception)
+            throws XNIException {}
+
+        private void report(String type, XMLParseException exception) {
+            if (fReporter != null) {
+                try {
+                    fReporter.report(exception.getMessage(), type, exception,
+                            new ImmutableLocation(exception.getCharacterOffset(),
+                                    exception.getColumnNumber(), exception.getLineNumber(),
+                                    exception.getPublicId(), exception.getExpandedSystemId()));
+                }
+                catch (XMLStreamException e) {
+                    throw new XNIException(e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Resolves external entities through an <code>XMLResolver</code>,
+     * which may return an <code>InputStream</code>, a <code>Reader</code>
+     * or a <code>Source</code>. Other results, such as event readers,
+     * are reported as errors rather than ignored, so that the entity is
+     * never silently loaded from its system identifier instead.
+     */
+    static final class EntityResolver implements XMLEntityResolver {
+
+        private final XMLResolver fResolver;
+
+        EntityResolver(XMLResolver resolver) {
+            fResolver = resolver;
+        }
+
+        public XMLInputSource resolveEntity(XMLResourceIdentifier resourceIdentifier)
+            throws XNIException, IOException {
+            final Object entity;
+            try {
+                entity = fResolver.resolveEntity(resourceIdentifier.getPublicId(),
+                        resourceIdentifier.getLiteralSystemId(),
+                        resourceIdentifier.getBaseSystemId(),
+                        resourceIdentifier.getNamespace());
+            }
+            catch (XMLStreamException e) {
+                throw new XNIException(e);
+            }
+            if (entity == null) {
+                return null;
+            }
+            if (entity instanceof InputStream) {
+                return new XMLInputSource(resourceIdentifier.getPublicId(),
+                        resourceIdentifier.getLiteralSystemId(),
+                        resourceIdentifier.getBaseSystemId(), (InputStream) entity, null);
+            }
+            if (entity instanceof Reader) {
+                return new XMLInputSource(resourceIdentifier.getPublicId(),
+                        resourceIdentifier.getLiteralSystemId(),
+                        resourceIdentifier.getBaseSystemId(), (Reader) entity, null);
+            }
+            if (entity instanceof Source) {
+                final XMLInputSource inputSource;
+                try {
+                    inputSource = XMLInputFactoryImpl.toInputSource((Source) entity);
+                }
+                catch (XMLStreamException e) {
+                    throw new XNIException(e);
+                }
+                if (inputSource.getPublicId() == null) {
+                    inputSource.setPublicId(resourceIdentifier.getPublicId());
+                }
+                if (inputSource.getSystemId() == null) {
+                    inputSource.setSystemId(resourceIdentifier.getLiteralSystemId());
+                    inputSource.setBaseSystemId(resourceIdentifier.getBaseSystemId());
+                }
+                return inputSource;
+            }
+            throw new XNIException(new XMLStreamException("Entity '" +
+                    resourceIdentifier.getLiteralSystemId() + "' was resolved to an unsupported type: " +
+                    entity.getClass().getName() + "."));
+        }
+    }
+
+} // XMLStreamReaderImpl
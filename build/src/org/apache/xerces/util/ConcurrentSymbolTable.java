@@ -0,0 +1,394 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.xerces.util;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * <p>A symbol table which may be shared by many parsers running on
+ * different threads.</p>
+ *
+ * <p>Looking up a symbol which is already in the table takes no lock.
+ * New symbols are linked into their bucket with a compare-and-set, so
+ * parsers adding different symbols do not block each other. The table
+ * is grown under a lock by copying it; a symbol added to the old table
+ * while it is being copied is added again to the new one once the copy
+ * is done, so that <code>containsSymbol</code> finds every symbol
+ * returned by <code>addSymbol</code>.</p>
+ *
+ * <p>As in <code>SymbolTable</code>, every symbol is interned: a symbol
+ * which is added again is still the same reference. The table can
+ * therefore safely forget symbols. To bound
+ * the memory used when a shared table is fed documents with many
+ * distinct names, the table starts a new, empty generation once it
+ * holds the maximum number of symbols. Hash codes are computed with
+ * randomly selected multipliers so that the bucket of a name cannot be
+ * predicted by a document author.</p>
+ *
+ * @xerces.internal
+ *
+ * @version $Id$
+ */
+public final class ConcurrentSymbolTable extends SymbolTable {
+
+    //
+    // Constants
+    //
+
+    /** Default initial capacity. */
+    private static final int DEFAULT_CAPACITY = 256;
+
+    /** Default maximum number of symbols in a generation. */
+    private static final int DEFAULT_MAX_SYMBOLS = 1 << 16;
+
+    //
+    // Data
+    //
+
+    /** The current generation of the table. */
+    private volatile Table fTable;
+
+    /** The capacity of a new generation. */
+    private final int fInitialCapacity;
+
+    /** The number of symbols after which a new generation is started. */
+    private final int fMaxSymbols;
+
+    /** Hash function multipliers. */
+    private final int[] fMultipliers;
+
+    /** Lock taken when the table is grown or replaced. */
+    private final Object fResizeLock = new Object();
+
+    //
+    // Constructors
+    //
+
+    /** Constructs a concurrent symbol table of default size. */
+    public ConcurrentSymbolTable() {
+        this(DEFAULT_CAPACITY, DEFAULT_MAX_SYMBOLS);
+    } // <init>()
+
+    /**
+     * Constructs a concurrent symbol table.
+     *
+     * @param initialCapacity The initial number of buckets.
+     * @param maxSymbols      The number of symbols after which the table
+     *                        is emptied and a new generation is started.
+     */
+    public ConcurrentSymbolTable(int initialCapacity, int maxSymbols) {
+        // The inherited buckets are never used: every method which reads
+        // or writes them is overridden. Ask for the smallest base table.
+        super(1);
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Illegal Capacity: " + initialCapacity);
+        }
+        if (maxSymbols <= 0) {
+            throw new IllegalArgumentException("Illegal Maximum: " + maxSymbols);
+        }
+        int capacity = 1;
+        while (capacity < initialCapacity) {
+            capacity <<= 1;
+        }
+        fInitialCapacity = capacity;
+        fMaxSymbols = maxSymbols;
+        fMultipliers = new int[MULTIPLIERS_SIZE];
+        PrimeNumberSequenceGenerator.generateSequence(fMultipliers);
+        fTable = new Table(capacity);
+    } // <init>(int,int)
+
+    //
+    // SymbolTable methods
+    //
+
+    /**
+     * Adds the specified symbol to the symbol table and returns a
+     * reference to the unique symbol. If the symbol already exists,
+     * the previous symbol reference is returned instead, in order
+     * guarantee that symbol references remain unique.
+     *
+     * @param symbol The new symbol.
+     */
+    public String addSymbol(String symbol) {
+        final int hash = hash(symbol);
+        final Table table = fTable;
+        final int bucket = hash & table.fMask;
+        SymbolEntry head = (SymbolEntry) table.fBuckets.get(bucket);
+        SymbolEntry entry = find(head, hash, symbol);
+        if (entry != null) {
+            return entry.symbol;
+        }
+        return addEntry(table, bucket, head, hash, symbol.intern());
+    } // addSymbol(String):String
+
+    /**
+     * Adds the specified symbol to the symbol table and returns a
+     * reference to the unique symbol. If the symbol already exists,
+     * the previous symbol reference is returned instead, in order
+     * guarantee that symbol references remain unique.
+     *
+     * @param buffer The buffer containing the new symbol.
+     * @param offset The offset into the buffer of the new symbol.
+     * @param length The length of the new symbol in the buffer.
+     */
+    public String addSymbol(char[] buffer, int offset, int length) {
+        final int hash = hash(buffer, offset, length);
+        final Table table = fTable;
+        final int bucket = hash & table.fMask;
+        SymbolEntry head = (SymbolEntry) table.fBuckets.get(bucket);
+        SymbolEntry entry = find(head, hash, buffer, offset, length);
+        if (entry != null) {
+            return entry.symbol;
+        }
+        return addEntry(table, bucket, head, hash, new String(buffer, offset, length).intern());
+    } // addSymbol(char[],int,int):String
+
+    /**
+     * Returns a hashcode value for the specified symbol.
+     *
+     * @param symbol The symbol to hash.
+     */
+    public int hash(String symbol) {
+        int code = 0;
+        final int length = symbol.length();
+        final int[] multipliers = fMultipliers;
+        for (int i = 0; i < length; ++i) {
+            code = code * multipliers[i & MULTIPLIERS_MASK] + symbol.charAt(i);
+        }
+        return code & 0x7FFFFFFF;
+    } // hash(String):int
+
+    /**
+     * Returns a hashcode value for the specified symbol information.
+     *
+     * @param buffer The character buffer containing the symbol.
+     * @param offset The offset into the character buffer of the start
+     *               of the symbol.
+     * @param length The length of the symbol.
+     */
+    public int hash(char[] buffer, int offset, int length) {
+        int code = 0;
+        final int[] multipliers = fMultipliers;
+        for (int i = 0; i < length; ++i) {
+            code = code * multipliers[i & MULTIPLIERS_MASK] + buffer[offset + i];
+        }
+        return code & 0x7FFFFFFF;
+    } // hash(char[],int,int):int
+
+    /**
+     * Returns true if the symbol table already contains the specified
+     * symbol.
+     *
+     * @param symbol The symbol to look for.
+     */
+    public boolean containsSymbol(String symbol) {
+        final int hash = hash(symbol);
+        final Table table = fTable;
+        return find((SymbolEntry) table.fBuckets.get(hash & table.fMask), hash, symbol) != null;
+    } // containsSymbol(String):boolean
+
+    /**
+     * Returns true if the symbol table already contains the specified
+     * symbol.
+     *
+     * @param buffer The buffer containing the symbol to look for.
+     * @param offset The offset into the buffer.
+     * @param length The length of the symbol in the buffer.
+     */
+    public boolean containsSymbol(char[] buffer, int offset, int length) {
+        final int hash = hash(buffer, offset, length);
+        final Table table = fTable;
+        return find((SymbolEntry) table.fBuckets.get(hash & table.fMask), hash, buffer, offset, length) != null;
+    } // containsSymbol(char[],int,int):boolean
+
+    /**
+     * Grows the current generation of the table. The inherited buckets
+     * are not used by this table.
+     */
+    protected void rehash() {
+        resize(fTable);
+    } // rehash()
+
+    /**
+     * Does nothing. Hash codes are always computed with randomly
+     * selected multipliers, so there is nothing to rebalance.
+     */
+    protected void rebalance() {
+    } // rebalance()
+
+    //
+    // Private methods
+    //
+
+    /** Links the entry into its bucket unless another thread added the symbol first. */
+    private String addEntry(Table table, int bucket, SymbolEntry head, int hash, String symbol) {
+        // Reserve room for the symbol first, so that a generation
+        // never holds more than the maximum number of symbols.
+        int count;
+        while ((count = table.fCount.incrementAndGet()) > fMaxSymbols) {
+            table.fCount.decrementAndGet();
+            newGeneration(table);
+            table = fTable;
+            bucket = hash & table.fMask;
+            head = (SymbolEntry) table.fBuckets.get(bucket);
+            final SymbolEntry entry = find(head, hash, symbol);
+            if (entry != null) {
+                return entry.symbol;
+            }
+        }
+        SymbolEntry entry = new SymbolEntry(hash, symbol, head);
+        while (!table.fBuckets.compareAndSet(bucket, head, entry)) {
+            final SymbolEntry oldHead = head;
+            head = (SymbolEntry) table.fBuckets.get(bucket);
+            // only entries in front of the old head can be new
+            for (SymbolEntry e = head; e != oldHead; e = e.next) {
+                if (e.symbol == symbol) {
+                    table.fCount.decrementAndGet();
+                    return symbol;
+                }
+            }
+            entry = new SymbolEntry(hash, symbol, head);
+        }
+        if (table.fFrozen) {
+            // The table is being copied and the copy may have missed
+            // the entry; once the copy is done, add it to the new table.
+            final Table current;
+            synchronized (fResizeLock) {
+                current = fTable;
+            }
+            if (current != table) {
+                bucket = hash & current.fMask;
+                head = (SymbolEntry) current.fBuckets.get(bucket);
+                entry = find(head, hash, symbol);
+                if (entry != null) {
+                    return entry.symbol;
+                }
+                return addEntry(current, bucket, head, hash, symbol);
+            }
+        }
+        if (count > table.fThreshold) {
+            resize(table);
+        }
+        return entry.symbol;
+    } // addEntry(Table,int,SymbolEntry,int,String):String
+
+    /** Starts a new, empty generation unless another thread already has. */
+    private void newGeneration(Table table) {
+        synchronized (fResizeLock) {
+            if (fTable == table) {
+                fTable = new Table(fInitialCapacity);
+            }
+        }
+    } // newGeneration(Table)
+
+    /** Grows the table. */
+    private void resize(Table table) {
+        synchronized (fResizeLock) {
+            if (fTable != table) {
+                return;
+            }
+            // entries linked in after this are added again by addEntry
+            table.fFrozen = true;
+            final int capacity = table.fBuckets.length() << 1;
+            final Table newTable = new Table(capacity);
+            final int mask = newTable.fMask;
+            int count = 0;
+            for (int i = 0; i < table.fBuckets.length(); ++i) {
+                for (SymbolEntry e = (SymbolEntry) table.fBuckets.get(i); e != null; e = e.next) {
+                    final int index = e.hash & mask;
+                    newTable.fBuckets.set(index,
+                            new SymbolEntry(e.hash, e.symbol, (SymbolEntry) newTable.fBuckets.get(index)));
+                    ++count;
+                }
+            }
+            newTable.fCount.set(count);
+            fTable = newTable;
+        }
+    } // resize(Table)
+
+    private static SymbolEntry find(SymbolEntry entry, int hash, String symbol) {
+        for (; entry != null; entry = entry.next) {
+            if (entry.hash == hash && entry.symbol.equals(symbol)) {
+                return entry;
+            }
+        }
+        return null;
+    } // find(SymbolEntry,int,String):SymbolEntry
+
+    private static SymbolEntry find(SymbolEntry entry, int hash, char[] buffer, int offset, int length) {
+        OUTER: for (; entry != null; entry = entry.next) {
+            if (entry.hash == hash && entry.symbol.length() == length) {
+                final String symbol = entry.symbol;
+                for (int i = 0; i < length; ++i) {
+                    if (buffer[offset + i] != symbol.charAt(i)) {
+                        continue OUTER;
+                    }
+                }
+                return entry;
+            }
+        }
+        return null;
+    } // find(SymbolEntry,int,char[],int,int):SymbolEntry
+
+    //
+    // Classes
+    //
+
+    /** One generation of the symbol table. */
+    private static final class Table {
+
+        /** Buckets; the number of buckets is a power of two. */
+        final AtomicReferenceArray fBuckets;
+
+        /** Mask selecting a bucket from a hash code. */
+        final int fMask;
+
+        /** The table is grown when its size exceeds this threshold. */
+        final int fThreshold;
+
+        /** The number of symbols in this table. */
+        final AtomicInteger fCount = new AtomicInteger();
+
+        /** Set once the table is being copied into a larger one. */
+        volatile boolean fFrozen;
+
+        Table(int capacity) {
+            fBuckets = new AtomicReferenceArray(capacity);
+            fMask = capacity - 1;
+            fThreshold = (int) (capacity * 0.75f);
+        }
+
+    } // class Table
+
+    /** An immutable symbol table entry. */
+    private static final class SymbolEntry {
+
+        final int hash;
+        final String symbol;
+        final SymbolEntry next;
+
+        SymbolEntry(int hash, String symbol, SymbolEntry next) {
+            this.hash = hash;
+            this.symbol = symbol;
+            this.next = next;
+        }
+
+    } // class SymbolEntry
+
+} // class ConcurrentSymbolTable
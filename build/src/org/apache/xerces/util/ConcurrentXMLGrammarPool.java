@@ -0,0 +1,343 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.xerces.util;
+
+import org.apache.xerces.xni.grammars.Grammar;
+import org.apache.xerces.xni.grammars.XMLGrammarDescription;
+import org.apache.xerces.xni.grammars.XMLGrammarPool;
+
+/**
+ * <p>A grammar pool which may be shared by many threads without
+ * locking on reads.</p>
+ *
+ * <p>Grammars are stored in an immutable hash table which is published
+ * through a volatile reference. Readers walk whichever table is current
+ * when they start; writers serialize on a private lock, build a copy of
+ * the table with the change applied and then publish the copy. Since
+ * grammar pools are read far more often than they are written, the
+ * cost of copying on each write is small compared to the contention
+ * of a monitor taken on every call to <code>retrieveGrammar</code>.</p>
+ *
+ * <p>As with <code>XMLGrammarPoolImpl</code>, grammars are not added
+ * to the pool while it is locked.</p>
+ *
+ * @xerces.internal
+ *
+ * @version $Id$
+ */
+public class ConcurrentXMLGrammarPool implements XMLGrammarPool {
+
+    //
+    // Constants
+    //
+
+    /** Default size. */
+    protected static final int TABLE_SIZE = 11;
+
+    //
+    // Data
+    //
+
+    /** Grammars. Tables are never modified once published. */
+    private volatile Entry[] fGrammars;
+
+    /** The number of grammars in the current table. */
+    private volatile int fGrammarCount = 0;
+
+    /** Whether this pool is locked. */
+    private volatile boolean fPoolIsLocked = false;
+
+    /** Lock taken by writers. */
+    private final Object fWriteLock = new Object();
+
+    //
+    // Constructors
+    //
+
+    /** Constructs a grammar pool with a default number of buckets. */
+    public ConcurrentXMLGrammarPool() {
+        this(TABLE_SIZE);
+    } // <init>()
+
+    /** Constructs a grammar pool with a specified number of buckets. */
+    public ConcurrentXMLGrammarPool(int initialCapacity) {
+        fGrammars = new Entry[initialCapacity > 0 ? initialCapacity : TABLE_SIZE];
+    } // <init>(int)
+
+    //
+    // XMLGrammarPool methods
+    //
+
+    /* <p> Retrieve the initial known set of grammars. This method is
+     * called by a validator before the validation starts. </p>
+     *
+     * @param grammarType The type of the grammar, from the
+     *  		  <code>org.apache.xerces.xni.grammars.XMLGrammarDescription</code>
+     *  		  interface.
+     * @return 		  The set of grammars the validator may put in its "bucket"
+     */
+    public Grammar [] retrieveInitialGrammarSet (String grammarType) {
+        final Entry[] grammars = fGrammars;
+        int count = 0;
+        for (int i = 0; i < grammars.length; ++i) {
+            for (Entry e = grammars[i]; e != null; e = e.next) {
+                if (e.desc.getGrammarType().equals(grammarType)) {
+                    ++count;
+                }
+            }
+        }
+        final Grammar[] toReturn = new Grammar[count];
+        int pos = 0;
+        for (int i = 0; i < grammars.length; ++i) {
+            for (Entry e = grammars[i]; e != null; e = e.next) {
+                if (e.desc.getGrammarType().equals(grammarType)) {
+                    toReturn[pos++] = e.grammar;
+                }
+            }
+        }
+        return toReturn;
+    } // retrieveInitialGrammarSet (String): Grammar[]
+
+    /* <p> Return the final set of grammars that the validator ended up
+     * with. The grammars are cached unless this pool is locked.</p>
+     *
+     * @param grammarType The type of the grammars being returned;
+     * @param grammars 	  An array containing the set of grammars being
+     *  		  returned; order is not significant.
+     */
+    public void cacheGrammars(String grammarType, Grammar[] grammars) {
+        if (!fPoolIsLocked) {
+            for (int i = 0; i < grammars.length; ++i) {
+                putGrammar(grammars[i]);
+            }
+        }
+    } // cacheGrammars(String, Grammar[]);
+
+    /* <p> This method requests that the application retrieve a grammar
+     * corresponding to the given GrammarIdentifier from its cache.
+     * If it cannot do so it must return null.</p>
+     *
+     * @param desc The description of the Grammar being requested.
+     * @return     The Grammar corresponding to this description or null if
+     *  	   no such Grammar is known.
+     */
+    public Grammar retrieveGrammar(XMLGrammarDescription desc) {
+        return getGrammar(desc);
+    } // retrieveGrammar(XMLGrammarDescription):  Grammar
+
+    //
+    // Public methods
+    //
+
+    /**
+     * Puts the specified grammar into the grammar pool and associates it to
+     * its grammar description.
+     *
+     * @param grammar The Grammar.
+     */
+    public void putGrammar(Grammar grammar) {
+        if (!fPoolIsLocked) {
+            synchronized (fWriteLock) {
+                // the pool may have been locked while waiting
+                if (fPoolIsLocked) {
+                    return;
+                }
+                final XMLGrammarDescription desc = grammar.getGrammarDescription();
+                final int hash = hashCode(desc);
+                Entry[] grammars = fGrammars;
+                int index = (hash & 0x7FFFFFFF) % grammars.length;
+                if (find(grammars[index], hash, desc) != null) {
+                    grammars = (Entry[]) grammars.clone();
+                    grammars[index] = new Entry(hash, desc, grammar,
+                            remove(grammars[index], hash, desc));
+                    fGrammars = grammars;
+                    return;
+                }
+                final int count = fGrammarCount + 1;
+                if (count > grammars.length) {
+                    grammars = rehash(grammars, grammars.length * 2 + 1);
+                    index = (hash & 0x7FFFFFFF) % grammars.length;
+                }
+                else {
+                    grammars = (Entry[]) grammars.clone();
+                }
+                grammars[index] = new Entry(hash, desc, grammar, grammars[index]);
+                fGrammars = grammars;
+                fGrammarCount = count;
+            }
+        }
+    } // putGrammar(Grammar)
+
+    /**
+     * Returns the grammar associated to the specified grammar description.
+     *
+     * @param desc The Grammar Description.
+     */
+    public Grammar getGrammar(XMLGrammarDescription desc) {
+        final Entry[] grammars = fGrammars;
+        final int hash = hashCode(desc);
+        final Entry entry = find(grammars[(hash & 0x7FFFFFFF) % grammars.length], hash, desc);
+        return (entry != null) ? entry.grammar : null;
+    } // getGrammar(XMLGrammarDescription):Grammar
+
+    /**
+     * Removes the grammar associated to the specified grammar description from the
+     * grammar pool and returns the removed grammar.
+     *
+     * @param desc The Grammar Description.
+     * @return     The removed grammar.
+     */
+    public Grammar removeGrammar(XMLGrammarDescription desc) {
+        synchronized (fWriteLock) {
+            Entry[] grammars = fGrammars;
+            final int hash = hashCode(desc);
+            final int index = (hash & 0x7FFFFFFF) % grammars.length;
+            final Entry entry = find(grammars[index], hash, desc);
+            if (entry == null) {
+                return null;
+            }
+            grammars = (Entry[]) grammars.clone();
+            grammars[index] = remove(grammars[index], hash, desc);
+            fGrammars = grammars;
+            fGrammarCount = fGrammarCount - 1;
+            return entry.grammar;
+        }
+    } // removeGrammar(XMLGrammarDescription):Grammar
+
+    /**
+     * Returns true if the grammar pool contains a grammar associated
+     * to the specified grammar description.
+     *
+     * @param desc The Grammar Description.
+     */
+    public boolean containsGrammar(XMLGrammarDescription desc) {
+        return getGrammar(desc) != null;
+    } // containsGrammar(XMLGrammarDescription):boolean
+
+    /**
+     * Returns the number of grammars in the pool.
+     */
+    public int getGrammarCount() {
+        return fGrammarCount;
+    } // getGrammarCount():int
+
+    /* <p> Sets this grammar pool to a "locked" state--i.e.,
+     * no new grammars will be added until it is "unlocked".
+     */
+    public void lockPool() {
+        // once this returns no grammar is added until the pool is unlocked
+        synchronized (fWriteLock) {
+            fPoolIsLocked = true;
+        }
+    } // lockPool()
+
+    /* <p> Sets this grammar pool to an "unlocked" state--i.e.,
+     * new grammars will be added when putGrammar or cacheGrammars
+     * are called.
+     */
+    public void unlockPool() {
+        fPoolIsLocked = false;
+    } // unlockPool()
+
+    /*
+     * <p>This method clears the pool-i.e., removes references
+     * to all the grammars in it.</p>
+     */
+    public void clear() {
+        synchronized (fWriteLock) {
+            fGrammars = new Entry[fGrammars.length];
+            fGrammarCount = 0;
+        }
+    } // clear()
+
+    /**
+     * This method checks whether two grammars are the same. The
+     * application can override this behaviour and add its own logic.
+     *
+     * @param desc1 The grammar description
+     * @param desc2 The grammar description of the grammar to be compared to
+     * @return      True if the grammars are equal, otherwise false
+     */
+    public boolean equals(XMLGrammarDescription desc1, XMLGrammarDescription desc2) {
+        return desc1.equals(desc2);
+    }
+
+    /**
+     * Returns the hash code value for the given grammar description.
+     *
+     * @param desc The grammar description
+     * @return     The hash code value
+     */
+    public int hashCode(XMLGrammarDescription desc) {
+        return desc.hashCode();
+    }
+
+    //
+    // Private methods
+    //
+
+    private Entry find(Entry entry, int hash, XMLGrammarDescription desc) {
+        for (; entry != null; entry = entry.next) {
+            if (entry.hash == hash && equals(entry.desc, desc)) {
+                return entry;
+            }
+        }
+        return null;
+    } // find(Entry,int,XMLGrammarDescription):Entry
+
+    /** Returns a copy of the chain without the entry for the given description. */
+    private Entry remove(Entry entry, int hash, XMLGrammarDescription desc) {
+        if (entry == null) {
+            return null;
+        }
+        if (entry.hash == hash && equals(entry.desc, desc)) {
+            return entry.next;
+        }
+        return new Entry(entry.hash, entry.desc, entry.grammar, remove(entry.next, hash, desc));
+    } // remove(Entry,int,XMLGrammarDescription):Entry
+
+    private static Entry[] rehash(Entry[] grammars, int newCapacity) {
+        final Entry[] newGrammars = new Entry[newCapacity];
+        for (int i = 0; i < grammars.length; ++i) {
+            for (Entry e = grammars[i]; e != null; e = e.next) {
+                final int index = (e.hash & 0x7FFFFFFF) % newCapacity;
+                newGrammars[index] = new Entry(e.hash, e.desc, e.grammar, newGrammars[index]);
+            }
+        }
+        return newGrammars;
+    } // rehash(Entry[],int):Entry[]
+
+    /**
+     * An immutable grammar pool entry. Each entry acts as a node
+     * in a linked list.
+     */
+    private static final class Entry {
+        final int hash;
+        final XMLGrammarDescription desc;
+        final Grammar grammar;
+        final Entry next;
+
+        Entry(int hash, XMLGrammarDescription desc, Grammar grammar, Entry next) {
+            this.hash = hash;
+            this.desc = desc;
+            this.grammar = grammar;
+            this.next = next;
+        }
+    } // class Entry
+
+} // class ConcurrentXMLGrammarPool
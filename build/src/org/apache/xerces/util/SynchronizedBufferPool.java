@@ -0,0 +1,75 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.xerces.util;
+
+/**
+ * <p>A buffer pool which may be shared by many parsers running on
+ * different threads. Each operation takes the monitor of the pool;
+ * the operations only run when an entity is started or ended, so
+ * contention is low even when many threads share the pool.</p>
+ *
+ * @xerces.internal
+ *
+ * @version $Id$
+ */
+public final class SynchronizedBufferPool extends BufferPool {
+
+    //
+    // Constructors
+    //
+
+    /** Constructs a synchronized buffer pool of default size. */
+    public SynchronizedBufferPool() {
+        super();
+    } // <init>()
+
+    /**
+     * Constructs a synchronized buffer pool.
+     *
+     * @param poolSize   The number of arrays kept for each length.
+     * @param maxBuckets The maximum number of distinct lengths kept.
+     */
+    public SynchronizedBufferPool(int poolSize, int maxBuckets) {
+        super(poolSize, maxBuckets);
+    } // <init>(int,int)
+
+    //
+    // BufferPool methods
+    //
+
+    public synchronized byte[] getByteBuffer(int length) {
+        return super.getByteBuffer(length);
+    } // getByteBuffer(int):byte[]
+
+    public synchronized void returnByteBuffer(byte[] buffer) {
+        super.returnByteBuffer(buffer);
+    } // returnByteBuffer(byte[])
+
+    public synchronized char[] getCharBuffer(int length) {
+        return super.getCharBuffer(length);
+    } // getCharBuffer(int):char[]
+
+    public synchronized void returnCharBuffer(char[] buffer) {
+        super.returnCharBuffer(buffer);
+    } // returnCharBuffer(char[])
+
+    public synchronized void clear() {
+        super.clear();
+    } // clear()
+
+} // class SynchronizedBufferPool
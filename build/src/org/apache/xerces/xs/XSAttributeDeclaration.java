@@ -0,0 +1,149 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.xerces.xs;
+
+/**
+ * The interface represents the Attribute Declaration schema component.
+ */
+public interface XSAttributeDeclaration extends XSObject {
+
+    /**
+     * [type definition]: A simple type definition.
+     *
+     * @return a simple type definition
+     */
+    public XSSimpleTypeDefinition getTypeDefinition();
+
+    /**
+     * [scope]. One of <code>SCOPE_GLOBAL</code>, <code>SCOPE_LOCAL</code>, or 
+     * <code>SCOPE_ABSENT</code>. If the scope is local, then the 
+     * <code>enclosingCTDefinition</code> is present.
+     *
+     * @return one of <code>SCOPE_GLOBAL</code>, <code>SCOPE_LOCAL</code>, or <code>SCOPE_ABSENT</code>
+     * @see XSConstants#SCOPE_GLOBAL
+     * @see XSConstants#SCOPE_LOCAL
+     * @see XSConstants#SCOPE_ABSENT
+     */
+    public short getScope();
+
+    /**
+     * The complex type definition for locally scoped declarations (see <code>scope</code>),
+     * otherwise <code>null</code> if no such definition exists.
+     *
+     * @return the complex type definition for locally scoped declarations otherwise null
+     */
+    public XSComplexTypeDefinition getEnclosingCTDefinition();
+
+    /**
+     * Value constraint: one of <code>VC_NONE, VC_DEFAULT, VC_FIXED</code>.
+     *
+     * @return one of <code>VC_NONE, VC_DEFAULT, VC_FIXED</code>
+     * @see XSConstants#VC_NONE
+     * @see XSConstants#VC_DEFAULT
+     * @see XSConstants#VC_FIXED
+     */
+    public short getConstraintType();
+
+    /**
+     * Value constraint: The constraint value with respect to the [type definition],
+     * otherwise <code>null</code>.
+     *
+     * @return the constraint value with respect to the type definition or null
+     * @deprecated Use getValueConstraintValue().getNormalizedValue() instead
+     */
+    @Deprecated
+    public String getConstraintValue();
+
+    /**
+     * Value Constraint: Binding specific actual constraint value or <code>null</code>
+     * if the value is in error or there is no value constraint.
+     *
+     * @return the binding specific actual constraint value or null
+     * @exception XSException NOT_SUPPORTED_ERR: Raised if the implementation
+     * does not support this method.
+     *  
+     * @deprecated Use getValueConstraintValue().getActualValue() instead
+     */
+    @Deprecated
+    public Object getActualVC()
+                                                        throws XSException;
+
+    /**
+     * The actual constraint value built-in datatype, e.g. 
+     * <code>STRING_DT, SHORT_DT</code>. If the type definition of this 
+     * value is a list type definition, this method returns 
+     * <code>LIST_DT</code>. If the type definition of this value is a list 
+     * type definition whose item type is a union type definition, this 
+     * method returns <code>LISTOFUNION_DT</code>. To query the actual 
+     * constraint value of the list or list of union type definitions use 
+     * <code>itemValueTypes</code>. If the <code>actualValue</code> is 
+     * <code>null</code>, this method returns <code>UNAVAILABLE_DT</code>.
+     *
+     * @return the actual constraint value built-in datatype
+     * @exception XSException NOT_SUPPORTED_ERR: Raised if the implementation
+     * does not support this method.
+     *  
+     * @deprecated Use getValueConstraintValue().getActualValueType() instead
+     */
+    @Deprecated
+    public short getActualVCType()
+                                                        throws XSException;
+
+    /**
+     * In the case the actual constraint value represents a list, i.e. the 
+     * <code>actualValueType</code> is <code>LIST_DT</code>, the returned 
+     * array consists of one type kind which represents the itemType. If the 
+     * actual constraint value represents a list type definition whose item 
+     * type is a union type definition, i.e. <code>LISTOFUNION_DT</code>, 
+     * for each actual constraint value in the list the array contains the 
+     * corresponding memberType kind. For examples, see 
+     * <code>ItemPSVI.itemValueTypes</code>.
+     *
+     * @return the types that are used with the list if <code>actualValueType</code>
+     * is a <code>LIST_DT</code> or <code>LISTOFUNION_DT</code>
+     * @throws XSException NOT_SUPPORTED_ERR: Raised if the implementation
+     * does not support this method.
+     *
+     * @deprecated Use getValueConstraintValue().getListValueTypes() instead
+     */
+    @Deprecated
+    public ShortList getItemValueTypes()
+                                                        throws XSException;
+
+    /**
+     * The actual value of the default or fixed value constraint.
+     *
+     * @return the actual value of the default or fixed value constraint
+     */
+    public XSValue getValueConstraintValue();
+
+    /**
+     * An annotation if it exists, otherwise <code>null</code>.
+     * If not null then the first [annotation] from the sequence of annotations.
+     *
+     * @return an annotation if it exists, otherwise null
+     */
+    public XSAnnotation getAnnotation();
+    
+    /**
+     * A sequence of [annotations] or an empty <code>XSObjectList</code>.
+     *
+     * @return a sequence of annotations or an empty <code>XSObjectList</code>
+     */
+    public XSObjectList getAnnotations();    
+}
@@ -0,0 +1,53 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.xerces.xs;
+
+/**
+ * This interface represents the Attribute Group Definition schema component.
+ */
+public interface XSAttributeGroupDefinition extends XSObject {
+
+    /**
+     * A set of [attribute uses] if it exists, otherwise an empty <code>XSObjectList</code>.
+     *
+     * @return a list of attribute uses if it exists, otherwise an empty <code>XSObjectList</code>
+     */
+    public XSObjectList getAttributeUses();
+
+    /**
+     * A [wildcard] if it exists, otherwise <code>null</code>.
+     *
+     * @return a wildcard if it exists, otherwise <code>null</code>
+     */
+    public XSWildcard getAttributeWildcard();
+
+    /**
+     * An annotation if it exists, otherwise <code>null</code>. If not null
+     * then the first [annotation] from the sequence of annotations.
+     *
+     * @return an annotation if it exists, otherwise <code>null</code>
+     */
+    public XSAnnotation getAnnotation();
+
+    /**
+     * A sequence of [annotations] or an empty <code>XSObjectList</code>.
+     *
+     * @return a sequence of annotations or an empty <code>XSObjectList</code>
+     */
+    public XSObjectList getAnnotations();    
+}
@@ -0,0 +1,317 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.xerces.xs.datatypes;
+
+import javax.xml.datatype.Duration;
+import javax.xml.datatype.XMLGregorianCalendar;
+
+/**
+ * Interface to expose the values for all date-time related types. The following
+ * table shows the methods defined for various XML Schema 1.0 built-in types. 'X' 
+ * marks whether a particular method is defined for a particular type. Accessing undefined
+ * methods may return unexpected values.
+ *
+ * <table border="1">
+ * <caption>Mappings between XML Schema 1.0 date-time related types and their supported accessors</caption>
+ * <tr>
+ * <td> XML Schema Datatype </td>
+ * <td> getYears() </td>
+ * <td> getMonths() </td>
+ * <td> getDays() </td>
+ * <td> getHours() </td>
+ * <td> getMinutes() </td>
+ * <td> getSeconds() </td>
+ * <td> getTimeZoneHours() </td>
+ * <td> getTimeZoneMinutes() </td>
+ * <td> getXMLGregorianCalendar() </td>
+ * <td> getDuration() </td>
+ * <td> hasTimeZone() </td>
+ * <td> normalize() </td>
+ * <td> isNormalized() </td>
+ * <td> getLexicalValue() </td>
+ * </tr>
+ * <tr>
+ * <td> gYear </td>
+ * <td>X</td>
+ * <td>-</td>
+ * <td>-</td>
+ * <td>-</td>
+ * <td>-</td>
+ * <td>-</td>
+ * <td>X</td>
+ * <td>X</td>
+ * <td>X</td>
+ * <td>-</td>
+ * <td>X</td>
+ * <td>X</td>
+ * <td>X</td>
+ * <td>X</td>
+ * </tr>
+ * <tr>
+ * <td> gMonth </td>
+ * <td>-</td>
+ * <td>X</td>
+ * <td>-</td>
+ * <td>-</td>
+ * <td>-</td>
+ * <td>-</td>
+ * <td>X</td>
+ * <td>X</td>
+ * <td>X</td>
+ * <td>-</td>
+ * <td>X</td>
+ * <td>X</td>
+ * <td>X</td>
+ * <td>X</td>
+ * </tr>
+ * <tr>
+ * <td> gDay </td>
+ * <td>-</td>
+ * <td>-</td>
+ * <td>X</td>
+ * <td>-</td>
+ * <td>-</td>
+ * <td>-</td>
+ * <td>X</td>
+ * <td>X</td>
+ * <td>X</td>
+ * <td>-</td>
+ * <td>X</td>
+ * <td>X</td>
+ * <td>X</td>
+ * <td>X</td>
+ * </tr>
+ * <tr>
+ * <td> gYearMonth </td>
+ * <td>X</td>
+ * <td>X</td>
+ * <td>-</td>
+ * <td>-</td>
+ * <td>-</td>
+ * <td>-</td>
+ * <td>X</td>
+ * <td>X</td>
+ * <td>X</td>
+ * <td>-</td>
+ * <td>X</td>
+ * <td>X</td>
+ * <td>X</td>
+ * <td>X</td>
+ * </tr>
+ * <tr>
+ * <td> gMonthDay </td>
+ * <td>-</td>
+ * <td>X</td>
+ * <td>X</td>
+ * <td>-</td>
+ * <td>-</td>
+ * <td>-</td>
+ * <td>X</td>
+ * <td>X</td>
+ * <td>X</td>
+ * <td>-</td>
+ * <td>X</td>
+ * <td>X</td>
+ * <td>X</td>
+ * <td>X</td>
+ * </tr>
+ * <tr>
+ * <td> date </td>
+ * <td>X</td>
+ * <td>X</td>
+ * <td>X</td>
+ * <td>-</td>
+ * <td>-</td>
+ * <td>-</td>
+ * <td>X</td>
+ * <td>X</td>
+ * <td>X</td>
+ * <td>-</td>
+ * <td>X</td>
+ * <td>X</td>
+ * <td>X</td>
+ * <td>X</td>
+ * </tr>
+ * <tr>
+ * <td> time </td>
+ * <td>-</td>
+ * <td>-</td>
+ * <td>-</td>
+ * <td>X</td>
+ * <td>X</td>
+ * <td>X</td>
+ * <td>X</td>
+ * <td>X</td>
+ * <td>X</td>
+ * <td>-</td>
+ * <td>X</td>
+ * <td>X</td>
+ * <td>X</td>
+ * <td>X</td>
+ * </tr>
+ * <tr>
+ * <td> datetime </td>
+ * <td>X</td>
+ * <td>X</td>
+ * <td>X</td>
+ * <td>X</td>
+ * <td>X</td>
+ * <td>X</td>
+ * <td>X</td>
+ * <td>X</td>
+ * <td>X</td>
+ * <td>-</td>
+ * <td>X</td>
+ * <td>X</td>
+ * <td>X</td>
+ * <td>X</td>
+ * </tr>
+ * <tr>
+ * <td> duration </td>
+ * <td>-</td>
+ * <td>X</td>
+ * <td>-</td>
+ * <td>-</td>
+ * <td>-</td>
+ * <td>X</td>
+ * <td>-</td>
+ * <td>-</td>
+ * <td>-</td>
+ * <td>X</td>
+ * <td>-</td>
+ * <td>-</td>
+ * <td>-</td>
+ * <td>X</td>
+ * </tr>
+ * </table>
+ * 
+ * @author Ankit Pasricha, IBM
+ * 
+ * @version $Id$
+ */
+public interface XSDateTime {
+	
+    /**
+     * Returns the years for this <code>xs:dateTime</code> or <code>xs:date</code> (YYYY).
+     * <p>
+     * Note that year may be a negative value. This getter is only used for
+     * <code>xs:dateTime</code> and <code>xs:date</code>
+     * </p>
+     *
+     * @return years - can be negative for date-time related types;
+     */
+    public int getYears();
+    
+    /**
+     * Returns the months for this <code>xs:dateTime</code>, <code>xs:date</code>, or <code>xs:duration</code> (MM).
+     * <p>
+     * This getter is only used for <code>xs:dateTime</code>, <code>xs:date</code>,
+     * and <code>xs:duration</code> types.
+     * </p>
+     *
+     * @return months - can be negative only for duration types;
+     *                  For duration types, it returns years*12 + months
+     */
+    public int getMonths();
+    
+    /**
+     * Returns the days for this <code>xs:dateTime</code> or <code>xs:date</code>(DD).
+     * This getter is only used for <code>xs:dateTime</code> and <code>xs:date</code> types.
+     *
+     * @return days - cannot be negative;
+     */
+    public int getDays();
+    
+    /**
+     * Returns the hours for this <code>xs:dateTime</code> (hh).
+     *
+     * @return hours - cannot be negative;
+     */
+    public int getHours();
+    
+    /**
+     * Returns the minutes for this <code>xs:dateTime</code> (mm).
+     *
+     * @return minutes - cannot be negative;
+     */
+    public int getMinutes();
+    
+    /**
+     * Returns the seconds for this <code>xs:dateTime</code> (ss).
+     * <p>
+     * Note that <code>xs:duration</code> can have negative values for seconds.
+     * </p>
+     *
+     * @return seconds - can be negative only for durations;
+     *                   For duration types, it returns days*24*3600 + hours*3600 
+     *                                                  + minutes*60 + seconds 
+     */
+    public double getSeconds();
+    
+    /**
+     * Returns true when timezone is specified in the original lexical value.
+     *
+     * @return boolean (true when timezone is specified in the original lexical value)
+     */
+    public boolean hasTimeZone();
+    
+    /**
+     * Returns timezone hours.
+     *
+     * @return timezone hours (for GMT-xx:xx this will be negative)
+     */
+    public int getTimeZoneHours();
+    
+    /**
+     * Returns timezone minutes.
+     *
+     * @return timezone minutes (for GMT-xx:xx this will be negative)
+     */
+    public int getTimeZoneMinutes();
+    
+    /**
+     * @return the original lexical value
+     */
+    public String getLexicalValue();
+    
+    /**
+     * @return a new date-time related object with normalized values
+     *         (has no effect on objects already normalized)
+     */
+    public XSDateTime normalize();
+    
+    /**
+     * Returns whether a date-time related object is normalized or not.
+     * This is only useful for <code>xs:dateTime</code> that have timezone
+     *
+     * @return whether a date-time related object is normalized or not
+     *         (value is not useful for types where timezone is not specified)
+     */
+    public boolean isNormalized();
+
+    /**
+     * @return an un-normalized XMLGregorianCalendar (if applicable otherwise null)
+     */
+    public XMLGregorianCalendar getXMLGregorianCalendar();
+
+    /**
+     * Returns the duration if the datatype is a <code>xs:duration</code> otherwise null.
+     *
+     * @return a Duration (only if the datatype is a <code>xs:duration</code> otherwise null)
+     */
+    public Duration getDuration();
+}
@@ -0,0 +1,34 @@
+/*
+ * Copyright (c) 2004 World Wide Web Consortium,
+ *
+ * (Massachusetts Institute of Technology, European Research Consortium for
+ * Informatics and Mathematics, Keio University). All Rights Reserved. This
+ * work is distributed under the W3C(r) Software License [1] in the hope that
+ * it will be useful, but WITHOUT ANY WARRANTY; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * [1] http://www.w3.org/Consortium/Legal/2002/copyright-software-20021231
+ */
+
+package org.w3c.dom.xpath;
+
+/**
+ * The <code>XPathNSResolver</code> interface permit <code>prefix</code> 
+ * strings in the expression to be properly bound to 
+ * <code>namespaceURI</code> strings. <code>XPathEvaluator</code> can 
+ * construct an implementation of <code>XPathNSResolver</code> from a node, 
+ * or the interface may be implemented by any application.
+ * <p>See also the <a href='http://www.w3.org/TR/2004/NOTE-DOM-Level-3-XPath-20040226'>Document Object Model (DOM) Level 3 XPath Specification</a>.
+ */
+public interface XPathNSResolver {
+    /**
+     * Look up the namespace URI associated to the given namespace prefix. The 
+     * XPath evaluator must never call this with a <code>null</code> or 
+     * empty argument, because the result of doing this is undefined.
+     * @param prefix The prefix to look for.
+     * @return Returns the associated namespace URI or <code>null</code> if 
+     *   none is found.
+     */
+    public String lookupNamespaceURI(String prefix);
+
+}
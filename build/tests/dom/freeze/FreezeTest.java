@@ -0,0 +1,339 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dom.freeze;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+import org.apache.xerces.dom.CoreDocumentImpl;
+import org.apache.xerces.dom.DeferredDocumentImpl;
+import org.apache.xerces.dom.DocumentImpl;
+import org.apache.xerces.parsers.DOMParser;
+import org.w3c.dom.Attr;
+import org.w3c.dom.DOMException;
+import org.w3c.dom.Document;
+import org.w3c.dom.DocumentType;
+import org.w3c.dom.Element;
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+import org.w3c.dom.Text;
+import org.w3c.dom.ranges.Range;
+import org.w3c.dom.traversal.NodeFilter;
+import org.w3c.dom.traversal.NodeIterator;
+import org.xml.sax.InputSource;
+
+/**
+ * Tests <code>CoreDocumentImpl.freeze()</code>: a frozen document is
+ * fully expanded, read-only, and can be read by many threads at once.
+ *
+ * @version $Id$
+ */
+public class FreezeTest extends TestCase {
+
+    private static final String DOCUMENT =
+        "<?xml version='1.0'?>\n" +
+        "<!DOCTYPE root [\n" +
+        " <!ENTITY ent 'entity <b>text</b> &amp; more'>\n" +
+        " <!ATTLIST item kind CDATA 'default'>\n" +
+        "]>\n" +
+        "<!-- prolog -->\n" +
+        "<root xmlns:p='urn:p'>\n" +
+        " <item n='1'>one &ent; two</item>\n" +
+        " <item n='2' kind='given'><![CDATA[<cdata>]]><?pi data?></item>\n" +
+        " <p:item n='3'>three<!-- comment --><b/><b/><b/></p:item>\n" +
+        " &ent;\n" +
+        " <list><a/><a/><a/><a/><a/><a/><a/><a/></list>\n" +
+        "</root>";
+
+    private static final String FREEZE_DOCUMENT =
+        "http://apache.org/xml/features/dom/freeze-document";
+
+    public FreezeTest(String name) {
+        super(name);
+    }
+
+    public void testDeferredDocument() throws Exception {
+        final Document deferred = parse(true, false);
+        assertTrue(deferred instanceof DeferredDocumentImpl);
+        ((CoreDocumentImpl) deferred).freeze();
+        assertTrue(((CoreDocumentImpl) deferred).isFrozen());
+        assertEquals(dump(parse(false, false)), dump(deferred));
+    }
+
+    public void testFreezeFeature() throws Exception {
+        final Document doc = parse(true, true);
+        assertTrue(((CoreDocumentImpl) doc).isFrozen());
+        assertEquals(dump(parse(false, false)), dump(doc));
+    }
+
+    public void testReadOnly() throws Exception {
+        final CoreDocumentImpl doc = (CoreDocumentImpl) parse(true, true);
+        doc.setStrictErrorChecking(false);
+        assertTrue(doc.getStrictErrorChecking());
+
+        final Element root = doc.getDocumentElement();
+        final Element item = (Element) root.getElementsByTagName("item").item(0);
+        final Attr attr = item.getAttributeNode("n");
+        final Text text = (Text) item.getFirstChild();
+        final DocumentType doctype = doc.getDoctype();
+
+        assertReadOnly(new Mutation() {
+            void run() { root.appendChild(doc.createElement("x")); } });
+        assertReadOnly(new Mutation() {
+            void run() { root.removeChild(item); } });
+        assertReadOnly(new Mutation() {
+            void run() { doc.removeChild(root); } });
+        assertReadOnly(new Mutation() {
+            void run() { item.setAttribute("n", "9"); } });
+        assertReadOnly(new Mutation() {
+            void run() { item.removeAttribute("kind"); } });
+        assertReadOnly(new Mutation() {
+            void run() { attr.setValue("9"); } });
+        assertReadOnly(new Mutation() {
+            void run() { attr.getFirstChild().setNodeValue("9"); } });
+        assertReadOnly(new Mutation() {
+            void run() { text.setData("x"); } });
+        assertReadOnly(new Mutation() {
+            void run() { text.splitText(1); } });
+        assertReadOnly(new Mutation() {
+            void run() { doc.renameNode(item, null, "renamed"); } });
+        assertReadOnly(new Mutation() {
+            void run() { doctype.getEntities().item(0).appendChild(doc.createTextNode("x")); } });
+        assertReadOnly(new Mutation() {
+            void run() { new DocumentImpl().adoptNode(item); } });
+        assertEquals(dump(parse(false, false)), dump(doc));
+
+        // new nodes may still be created and changed
+        final Element created = doc.createElement("new");
+        created.setAttribute("a", "b");
+        created.appendChild(doc.createTextNode("text"));
+        assertEquals("text", created.getTextContent());
+    }
+
+    public void testChildArrays() throws Exception {
+        final Document doc = parse(true, true);
+        final Element root = doc.getDocumentElement();
+        checkChildren(root);
+        final NodeList list = root.getElementsByTagName("list").item(0).getChildNodes();
+        assertEquals(8, list.getLength());
+        assertNull(list.item(-1));
+        assertNull(list.item(8));
+        // out of order access
+        for (int i = 7; i >= 0; i -= 3) {
+            assertEquals("a", list.item(i).getNodeName());
+        }
+        // an element with a single child
+        final NodeList single = root.getElementsByTagName("item").item(1).getChildNodes();
+        assertEquals(2, single.getLength());
+        assertEquals(Node.CDATA_SECTION_NODE, single.item(0).getNodeType());
+        assertNull(single.item(2));
+    }
+
+    public void testRangesAndIterators() throws Exception {
+        final TestDocument doc = new TestDocument();
+        final Element root = doc.createElement("root");
+        doc.appendChild(root);
+        for (int i = 0; i < 5; ++i) {
+            root.appendChild(doc.createElement("e" + i));
+        }
+        // registered while the document may change
+        doc.createRange().detach();
+        assertNotNull(doc.getRanges());
+        doc.createNodeIterator(root, NodeFilter.SHOW_ALL, null, true).detach();
+        assertNotNull(doc.getIterators());
+
+        final TestDocument frozen = new TestDocument();
+        frozen.appendChild(frozen.importNode(root, true));
+        frozen.freeze();
+        final Range range = frozen.createRange();
+        range.selectNodeContents(frozen.getDocumentElement());
+        assertNull(frozen.getRanges());
+        assertEquals(5, range.cloneContents().getChildNodes().getLength());
+        final NodeIterator iterator = frozen.createNodeIterator(frozen, NodeFilter.SHOW_ELEMENT, null, true);
+        assertNull(frozen.getIterators());
+        int count = 0;
+        while (iterator.nextNode() != null) {
+            ++count;
+        }
+        assertEquals(6, count);
+    }
+
+    public void testConcurrentReads() throws Exception {
+        final String expected = dump(parse(false, false));
+        final CoreDocumentImpl doc = (CoreDocumentImpl) parse(true, false);
+        doc.freeze();
+        // disconnected nodes are numbered by the readers
+        final Node[] detached = new Node[16];
+        for (int i = 0; i < detached.length; ++i) {
+            detached[i] = i % 2 == 0 ? (Node) doc.createElement("d" + i) : doc.createTextNode("t" + i);
+        }
+        final int threads = 8;
+        final short[][][] positions = new short[threads][detached.length][detached.length];
+        final Throwable[] failures = new Throwable[threads];
+        final Thread[] readers = new Thread[threads];
+        for (int t = 0; t < threads; ++t) {
+            final int index = t;
+            readers[t] = new Thread() {
+                public void run() {
+                    try {
+                        for (int round = 0; round < 20; ++round) {
+                            assertEquals(expected, dump(doc));
+                            assertEquals(8, doc.getElementsByTagName("a").getLength());
+                            for (int i = 0; i < detached.length; ++i) {
+                                final int first = (i + index) % detached.length;
+                                for (int j = 0; j < detached.length; ++j) {
+                                    positions[index][first][j] = detached[first].compareDocumentPosition(detached[j]);
+                                }
+                            }
+                        }
+                    }
+                    catch (Throwable e) {
+                        failures[index] = e;
+                    }
+                }
+            };
+        }
+        for (int t = 0; t < threads; ++t) {
+            readers[t].start();
+        }
+        for (int t = 0; t < threads; ++t) {
+            readers[t].join();
+        }
+        for (int t = 0; t < threads; ++t) {
+            if (failures[t] != null) {
+                throw new RuntimeException("Reader " + t + " failed: " + failures[t], failures[t]);
+            }
+        }
+        final short disconnected = (short) (Node.DOCUMENT_POSITION_DISCONNECTED |
+                Node.DOCUMENT_POSITION_IMPLEMENTATION_SPECIFIC);
+        for (int i = 0; i < detached.length; ++i) {
+            for (int j = 0; j < detached.length; ++j) {
+                final short position = positions[0][i][j];
+                for (int t = 1; t < threads; ++t) {
+                    assertEquals(position, positions[t][i][j]);
+                }
+                if (i == j) {
+                    assertEquals(0, position);
+                    continue;
+                }
+                // each node got one number, so the order is consistent
+                assertEquals(disconnected, position & disconnected);
+                final short reverse = positions[0][j][i];
+                if ((position & Node.DOCUMENT_POSITION_PRECEDING) != 0) {
+                    assertEquals(Node.DOCUMENT_POSITION_FOLLOWING, reverse & ~disconnected);
+                }
+                else {
+                    assertEquals(Node.DOCUMENT_POSITION_FOLLOWING, position & ~disconnected);
+                    assertEquals(Node.DOCUMENT_POSITION_PRECEDING, reverse & ~disconnected);
+                }
+            }
+        }
+    }
+
+    private static Document parse(boolean deferred, boolean freeze) throws Exception {
+        final DOMParser parser = new DOMParser();
+        parser.setFeature("http://apache.org/xml/features/dom/defer-node-expansion", deferred);
+        parser.setFeature(FREEZE_DOCUMENT, freeze);
+        parser.parse(new InputSource(new StringReader(DOCUMENT)));
+        return parser.getDocument();
+    }
+
+    /** Checks the child lists of a node and its descendants. */
+    private static void checkChildren(Node node) {
+        final NodeList children = node.getChildNodes();
+        int i = 0;
+        for (Node child = node.getFirstChild(); child != null; child = child.getNextSibling()) {
+            assertSame(child, children.item(i++));
+            checkChildren(child);
+        }
+        assertEquals(i, children.getLength());
+        assertNull(children.item(i));
+    }
+
+    /**
+     * Prints a node and its descendants, reading children through the
+     * child lists and attributes through the attribute maps.
+     */
+    private static String dump(Node node) {
+        final StringBuffer buffer = new StringBuffer();
+        dump(node, buffer);
+        return buffer.toString();
+    }
+
+    private static void dump(Node node, StringBuffer buffer) {
+        buffer.append('(').append(node.getNodeType()).append(' ').append(node.getNodeName());
+        if (node.getNodeValue() != null) {
+            buffer.append(" '").append(node.getNodeValue()).append('\'');
+        }
+        final NamedNodeMap attributes = node.getAttributes();
+        if (attributes != null) {
+            for (int i = 0; i < attributes.getLength(); ++i) {
+                final Attr attr = (Attr) attributes.item(i);
+                buffer.append(' ').append(attr.getName()).append("='").append(attr.getValue())
+                      .append(attr.getSpecified() ? "'" : "'?");
+                dump(attr.getFirstChild(), buffer);
+            }
+        }
+        if (node.getNodeType() == Node.DOCUMENT_TYPE_NODE) {
+            final NamedNodeMap entities = ((DocumentType) node).getEntities();
+            for (int i = 0; i < entities.getLength(); ++i) {
+                dump(entities.item(i), buffer);
+            }
+        }
+        final NodeList children = node.getChildNodes();
+        for (int i = 0; i < children.getLength(); ++i) {
+            dump(children.item(i), buffer);
+        }
+        buffer.append(')');
+    }
+
+    private static void assertReadOnly(Mutation mutation) {
+        try {
+            mutation.run();
+            fail("Frozen document was modified.");
+        }
+        catch (DOMException e) {
+            assertEquals(DOMException.NO_MODIFICATION_ALLOWED_ERR, e.code);
+        }
+    }
+
+    /** A change which a frozen document must reject. */
+    private abstract static class Mutation {
+        abstract void run();
+    }
+
+    /** Exposes the ranges and iterators registered with the document. */
+    private static class TestDocument extends DocumentImpl {
+
+        private static final long serialVersionUID = 1L;
+
+        List getRanges() {
+            return ranges;
+        }
+
+        List getIterators() {
+            return iterators;
+        }
+
+    } // class TestDocument
+
+}
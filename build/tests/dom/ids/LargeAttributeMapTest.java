@@ -0,0 +1,243 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dom.ids;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.StringReader;
+import java.util.Random;
+
+import junit.framework.TestCase;
+
+import org.apache.xerces.dom.DocumentImpl;
+import org.apache.xerces.parsers.DOMParser;
+import org.w3c.dom.Attr;
+import org.w3c.dom.DOMException;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.Node;
+import org.xml.sax.InputSource;
+
+/**
+ * Checks that the attribute maps of elements with more than 16
+ * attributes, which look nodes up through a hash table, find the same
+ * nodes as a linear search while attributes are set and removed.
+ *
+ * @version $Id$
+ */
+public class LargeAttributeMapTest extends TestCase {
+
+    private static final String[] NAMESPACES = {
+        null, "urn:one", "urn:two", "urn:three"
+    };
+
+    private static final int LOCAL_NAMES = 30;
+
+    private Random fRandom;
+
+    public LargeAttributeMapTest(String name) {
+        super(name);
+    }
+
+    protected void setUp() throws Exception {
+        fRandom = new Random(16);
+    }
+
+    public void testSetAndRemove() {
+        Document doc = new DocumentImpl();
+        Element e = doc.createElementNS(null, "e");
+        doc.appendChild(e);
+        NamedNodeMap map = e.getAttributes();
+        int largest = 0;
+        for (int i = 0; i < 3000; ++i) {
+            String ns = NAMESPACES[fRandom.nextInt(NAMESPACES.length)];
+            String local = "l" + fRandom.nextInt(LOCAL_NAMES);
+            String qname = ns == null ? local : "p" + fRandom.nextInt(3) + ":" + local;
+            String value = "v" + i;
+            // grow the map most of the time so that it stays large
+            int op = fRandom.nextInt(10);
+            if (op < 4) {
+                e.setAttributeNS(ns, qname, value);
+                assertEquals(value, e.getAttributeNS(ns, local));
+            }
+            else if (op == 4) {
+                e.setAttribute(local, value);
+                assertEquals(value, e.getAttribute(local));
+            }
+            else if (op == 5) {
+                Attr attr = doc.createAttributeNS(ns, qname);
+                attr.setValue(value);
+                Node old = linearFind(map, ns, local);
+                Node previous = e.setAttributeNodeNS(attr);
+                if (old != null) {
+                    assertSame(old, previous);
+                }
+                assertSame(attr, map.getNamedItemNS(ns, local));
+            }
+            else if (op == 6) {
+                e.removeAttributeNS(ns, local);
+            }
+            else if (op == 7) {
+                Node old = linearFind(map, ns, local);
+                try {
+                    assertSame(old, map.removeNamedItemNS(ns, local));
+                    assertNotNull(old);
+                }
+                catch (DOMException ex) {
+                    assertNull(old);
+                    assertEquals(DOMException.NOT_FOUND_ERR, ex.code);
+                }
+            }
+            else if (op == 8 && map.getLength() > 0) {
+                Attr attr = (Attr) map.item(fRandom.nextInt(map.getLength()));
+                assertSame(attr, e.removeAttributeNode(attr));
+            }
+            else {
+                // a node whose value is changed keeps its place
+                Node n = linearFind(map, ns, local);
+                if (n != null) {
+                    n.setNodeValue(value);
+                }
+            }
+            largest = Math.max(largest, map.getLength());
+            assertLookups(map);
+        }
+        assertTrue(largest > 40);
+    }
+
+    public void testCopies() throws Exception {
+        Document doc = new DocumentImpl();
+        Element e = doc.createElementNS(null, "e");
+        doc.appendChild(e);
+        for (int i = 0; i < 60; ++i) {
+            String ns = NAMESPACES[i % NAMESPACES.length];
+            String local = "l" + i;
+            e.setAttributeNS(ns, ns == null ? local : "p:" + local, "v" + i);
+        }
+        e.setAttribute("plain", "level1");
+        assertLookups(e.getAttributes());
+
+        Element clone = (Element) e.cloneNode(true);
+        assertSameAttributes(e, clone);
+        clone.removeAttributeNS(NAMESPACES[1], "l1");
+        assertEquals("v1", e.getAttributeNS(NAMESPACES[1], "l1"));
+        assertLookups(clone.getAttributes());
+
+        Element restored = roundTrip(doc).getDocumentElement();
+        assertSameAttributes(e, restored);
+        restored.setAttributeNS(NAMESPACES[2], "q:l2", "changed");
+        assertEquals("changed", restored.getAttributeNS(NAMESPACES[2], "l2"));
+        restored.removeAttributeNS(NAMESPACES[3], "l3");
+        assertNull(restored.getAttributeNodeNS(NAMESPACES[3], "l3"));
+        assertLookups(restored.getAttributes());
+    }
+
+    public void testParsedDocument() throws Exception {
+        StringBuffer buffer = new StringBuffer("<e xmlns:p='urn:one'");
+        for (int i = 0; i < 40; ++i) {
+            buffer.append(i % 2 == 0 ? " p:a" : " a").append(i).append("='v");
+            buffer.append(i).append('\'');
+        }
+        buffer.append("/>");
+        for (int deferred = 0; deferred < 2; ++deferred) {
+            DOMParser parser = new DOMParser();
+            parser.setFeature("http://apache.org/xml/features/dom/defer-node-expansion",
+                    deferred == 1);
+            parser.parse(new InputSource(new StringReader(buffer.toString())));
+            Element e = parser.getDocument().getDocumentElement();
+            for (int i = 0; i < 40; ++i) {
+                String ns = i % 2 == 0 ? "urn:one" : null;
+                assertEquals("v" + i, e.getAttributeNS(ns, "a" + i));
+                assertNull(e.getAttributeNodeNS(i % 2 == 0 ? null : "urn:one", "a" + i));
+            }
+            assertLookups(e.getAttributes());
+            e.removeAttributeNS("urn:one", "a0");
+            assertEquals("", e.getAttributeNS("urn:one", "a0"));
+            assertLookups(e.getAttributes());
+        }
+    }
+
+    //
+    // Private methods
+    //
+
+    /** Compares every lookup against a linear search of the map. */
+    private static void assertLookups(NamedNodeMap map) {
+        for (int n = 0; n < NAMESPACES.length; ++n) {
+            for (int l = 0; l < LOCAL_NAMES + 40; ++l) {
+                String local = "l" + l;
+                assertSame(local, linearFind(map, NAMESPACES[n], local),
+                        map.getNamedItemNS(NAMESPACES[n], local));
+            }
+        }
+    }
+
+    /** Finds a node the way small maps do. */
+    private static Node linearFind(NamedNodeMap map, String ns, String local) {
+        for (int i = 0; i < map.getLength(); ++i) {
+            Node n = map.item(i);
+            String nodeNS = n.getNamespaceURI();
+            String nodeLocal = n.getLocalName();
+            if (ns == null) {
+                if (nodeNS == null && (local.equals(nodeLocal)
+                        || (nodeLocal == null && local.equals(n.getNodeName())))) {
+                    return n;
+                }
+            }
+            else if (ns.equals(nodeNS) && local.equals(nodeLocal)) {
+                return n;
+            }
+        }
+        return null;
+    }
+
+    private static void assertSameAttributes(Element expected, Element actual) {
+        NamedNodeMap map = expected.getAttributes();
+        NamedNodeMap other = actual.getAttributes();
+        assertEquals(map.getLength(), other.getLength());
+        for (int i = 0; i < map.getLength(); ++i) {
+            Node n = map.item(i);
+            Node o = other.item(i);
+            assertEquals(n.getNodeName(), o.getNodeName());
+            assertEquals(n.getNodeValue(), o.getNodeValue());
+            if (n.getLocalName() != null) {
+                assertSame(o, other.getNamedItemNS(n.getNamespaceURI(), n.getLocalName()));
+            }
+            assertSame(o, other.getNamedItem(n.getNodeName()));
+        }
+    }
+
+    private static Document roundTrip(Document doc) throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ObjectOutputStream out = new ObjectOutputStream(bytes);
+        out.writeObject(doc);
+        out.close();
+        ObjectInputStream in = new ObjectInputStream(
+                new ByteArrayInputStream(bytes.toByteArray()));
+        try {
+            return (Document) in.readObject();
+        }
+        finally {
+            in.close();
+        }
+    }
+
+}
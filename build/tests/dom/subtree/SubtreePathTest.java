@@ -0,0 +1,377 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dom.subtree;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+import org.apache.xerces.dom.DocumentImpl;
+import org.apache.xerces.parsers.DOMParser;
+import org.apache.xerces.parsers.DOMSubtreeHandler;
+import org.w3c.dom.CDATASection;
+import org.w3c.dom.Comment;
+import org.w3c.dom.Element;
+import org.w3c.dom.EntityReference;
+import org.w3c.dom.Node;
+import org.w3c.dom.ProcessingInstruction;
+import org.w3c.dom.Text;
+import org.xml.sax.InputSource;
+
+/**
+ * Checks which subtrees a DOM parser streams to its subtree handler
+ * for absolute and relative paths, and that no node outside of those
+ * subtrees is built.
+ *
+ * @version $Id$
+ */
+public class SubtreePathTest extends TestCase {
+
+    private static final String SUBTREE_PATH =
+        "http://apache.org/xml/properties/dom/subtree-path";
+
+    private static final String SUBTREE_HANDLER =
+        "http://apache.org/xml/properties/dom/subtree-handler";
+
+    private static final String DOCUMENT_CLASS_NAME =
+        "http://apache.org/xml/properties/dom/document-class-name";
+
+    private static final String CREATE_ENTITY_REF_NODES =
+        "http://apache.org/xml/features/dom/create-entity-ref-nodes";
+
+    private static final String DOCUMENT =
+        "<?xml version='1.0'?>\n" +
+        "<!-- prolog --><?pi prolog?>\n" +
+        "<batch>" +
+          "<head><item id='h'/></head>" +
+          "<record id='1'><item id='1a'>one<item id='1b'/></item><!-- c1 --></record>" +
+          "skipped<![CDATA[skipped]]><!-- skipped --><?pi skipped?>" +
+          "<record id='2'><sub><item id='2a'/></sub><![CDATA[two]]><?pi two?></record>" +
+          "<group><record id='3'><item id='3a'/></record></group>" +
+        "</batch>\n" +
+        "<!-- epilog -->";
+
+    /** Nodes created by the last document. */
+    static final List gCreated = new ArrayList();
+
+    /** Subtrees passed to the handler. */
+    private List fSubtrees;
+
+    /** Serialized form of the subtrees, taken while the handler runs. */
+    private List fResults;
+
+    public SubtreePathTest(String name) {
+        super(name);
+    }
+
+    protected void setUp() throws Exception {
+        fSubtrees = new ArrayList();
+        fResults = new ArrayList();
+        gCreated.clear();
+    }
+
+    public void testAbsolutePath() throws Exception {
+        parse(DOCUMENT, "/batch/record");
+        assertResults(new String[] {
+            "<record id='1'><item id='1a'>one<item id='1b'/></item><!-- c1 --></record>",
+            "<record id='2'><sub><item id='2a'/></sub><![CDATA[two]]><?pi two?></record>",
+        });
+        parse(DOCUMENT, "/batch");
+        assertEquals(1, fResults.size());
+        parse(DOCUMENT, "/record");
+        assertResults(new String[0]);
+        parse(DOCUMENT, "/batch/*/item");
+        assertResults(new String[] {
+            "<item id='h'/>",
+            "<item id='1a'>one<item id='1b'/></item>",
+        });
+        parse(DOCUMENT, "/*/*/*/item");
+        assertResults(new String[] { "<item id='1b'/>", "<item id='2a'/>", "<item id='3a'/>" });
+    }
+
+    public void testRelativePath() throws Exception {
+        parse(DOCUMENT, "record");
+        assertResults(new String[] {
+            "<record id='1'><item id='1a'>one<item id='1b'/></item><!-- c1 --></record>",
+            "<record id='2'><sub><item id='2a'/></sub><![CDATA[two]]><?pi two?></record>",
+            "<record id='3'><item id='3a'/></record>",
+        });
+        parse(DOCUMENT, "record/item");
+        assertResults(new String[] {
+            "<item id='1a'>one<item id='1b'/></item>",
+            "<item id='3a'/>",
+        });
+        parse(DOCUMENT, "//sub/item");
+        assertResults(new String[] { "<item id='2a'/>" });
+        parse(DOCUMENT, "group/*");
+        assertResults(new String[] { "<record id='3'><item id='3a'/></record>" });
+    }
+
+    public void testNestedMatches() throws Exception {
+        // a selected element nested in another is part of its subtree
+        parse(DOCUMENT, "item");
+        assertResults(new String[] {
+            "<item id='h'/>",
+            "<item id='1a'>one<item id='1b'/></item>",
+            "<item id='2a'/>",
+            "<item id='3a'/>",
+        });
+        parse("<a><a id='1'><a id='2'><b/></a></a><b><a id='3'/><a><a id='4'/></a></b></a>", "a/a");
+        assertResults(new String[] {
+            "<a id='1'><a id='2'><b/></a></a>",
+            "<a id='4'/>",
+        });
+    }
+
+    public void testNamespaces() throws Exception {
+        final String xml =
+            "<r xmlns='urn:d' xmlns:p='urn:p' xmlns:q='urn:p'>" +
+            "<p:e id='1'><p:c/></p:e><q:e id='2'/><e id='3'/><p:e id='4' xmlns:p='urn:other'/>" +
+            "</r>";
+        // steps are matched against the names as they appear
+        parse(xml, "p:e");
+        assertEquals(2, fSubtrees.size());
+        Element e = (Element) fSubtrees.get(0);
+        assertEquals("1", e.getAttribute("id"));
+        assertEquals("urn:p", e.getNamespaceURI());
+        assertEquals("e", e.getLocalName());
+        assertEquals("urn:p", e.getFirstChild().getNamespaceURI());
+        e = (Element) fSubtrees.get(1);
+        assertEquals("4", e.getAttribute("id"));
+        assertEquals("urn:other", e.getNamespaceURI());
+        parse(xml, "/r/e");
+        assertEquals(1, fSubtrees.size());
+        assertEquals("urn:d", ((Element) fSubtrees.get(0)).getNamespaceURI());
+        // namespace declarations outside of the subtree stay in scope
+        assertEquals("urn:p", ((Element) fSubtrees.get(0)).lookupNamespaceURI("q"));
+    }
+
+    public void testEntityReferences() throws Exception {
+        final String xml =
+            "<!DOCTYPE batch [\n" +
+            "<!ENTITY rec '<record id=\"e\"><item id=\"ea\"/>&txt;</record>'>\n" +
+            "<!ENTITY txt 'text'>\n" +
+            "<!ENTITY items '<item id=\"x\"/><other/><item id=\"y\"/>'>\n" +
+            "]>\n" +
+            "<batch>&txt;&rec;<record id='1'>&txt;&items;</record><other>&items;</other></batch>";
+        parse(xml, "record");
+        assertResults(new String[] {
+            "<record id='e'><item id='ea'/>&txt;</record>",
+            "<record id='1'>&txt;&items;</record>",
+        });
+        final Element record = (Element) fSubtrees.get(1);
+        assertTrue(record.getFirstChild() instanceof EntityReference);
+        assertEquals("text", record.getFirstChild().getTextContent());
+        assertEquals("text", record.getTextContent());
+        assertEquals(2, record.getElementsByTagName("item").getLength());
+        // a subtree within an entity reference
+        parse(xml, "other/item");
+        assertResults(new String[] { "<item id='x'/>", "<item id='y'/>" });
+        // without entity reference nodes
+        parse(xml, "record", false);
+        assertResults(new String[] {
+            "<record id='e'><item id='ea'/>text</record>",
+            "<record id='1'>text<item id='x'/><other/><item id='y'/></record>",
+        });
+    }
+
+    public void testDocumentReused() throws Exception {
+        final DOMParser parser = parser("record", true);
+        parser.parse(new InputSource(new StringReader(DOCUMENT)));
+        assertEquals(3, fSubtrees.size());
+        // each subtree is removed from the document after the handler returns
+        for (int i = 0; i < fSubtrees.size(); ++i) {
+            final Element record = (Element) fSubtrees.get(i);
+            assertNull(record.getParentNode());
+            assertSame(parser.getDocument(), record.getOwnerDocument());
+        }
+        assertNull(parser.getDocument().getDocumentElement());
+        // the parser can be used again
+        parser.parse(new InputSource(new StringReader("<record id='4'/>")));
+        assertEquals(4, fSubtrees.size());
+        assertEquals("4", ((Element) fSubtrees.get(3)).getAttribute("id"));
+        // and again without streaming
+        parser.setProperty(SUBTREE_HANDLER, null);
+        parser.parse(new InputSource(new StringReader(DOCUMENT)));
+        assertEquals(4, fSubtrees.size());
+        assertEquals(4, parser.getDocument().getChildNodes().getLength());
+        assertEquals(3, parser.getDocument().getElementsByTagName("record").getLength());
+    }
+
+    //
+    // Private methods
+    //
+
+    private void parse(String xml, String path) throws Exception {
+        parse(xml, path, true);
+    }
+
+    private void parse(String xml, String path, boolean entityRefNodes) throws Exception {
+        fSubtrees.clear();
+        fResults.clear();
+        gCreated.clear();
+        parser(path, entityRefNodes).parse(new InputSource(new StringReader(xml)));
+        assertNothingElseBuilt(entityRefNodes);
+    }
+
+    private DOMParser parser(String path, boolean entityRefNodes) throws Exception {
+        final DOMParser parser = new DOMParser();
+        parser.setFeature(CREATE_ENTITY_REF_NODES, entityRefNodes);
+        parser.setProperty(DOCUMENT_CLASS_NAME, CountingDocument.class.getName());
+        parser.setProperty(SUBTREE_PATH, path);
+        parser.setProperty(SUBTREE_HANDLER, new DOMSubtreeHandler() {
+            public void handleSubtree(Element subtree) {
+                // the subtree is the document element while it is handled
+                assertSame(subtree, subtree.getOwnerDocument().getDocumentElement());
+                fSubtrees.add(subtree);
+                fResults.add(toString(subtree));
+            }
+            private String toString(Node node) {
+                final StringBuffer buffer = new StringBuffer();
+                append(buffer, node);
+                return buffer.toString();
+            }
+        });
+        return parser;
+    }
+
+    /** Checks that every node created by the parser is in a subtree. */
+    private void assertNothingElseBuilt(boolean entityRefNodes) {
+        for (int i = 0; i < gCreated.size(); ++i) {
+            Node node = (Node) gCreated.get(i);
+            // without entity reference nodes, the parser removes them
+            // from the tree once their content has been moved
+            if (!entityRefNodes && node instanceof EntityReference && node.getParentNode() == null) {
+                continue;
+            }
+            Node top = node;
+            while (top.getParentNode() != null) {
+                top = top.getParentNode();
+            }
+            // nodes within an entity declaration are part of the doctype
+            if (top.getNodeType() == Node.ENTITY_NODE) {
+                continue;
+            }
+            boolean found = false;
+            for (int j = 0; j < fSubtrees.size(); ++j) {
+                found |= fSubtrees.get(j) == top;
+            }
+            assertTrue("node outside of the subtrees: " + node, found);
+        }
+    }
+
+    private void assertResults(String[] expected) {
+        final List list = new ArrayList();
+        for (int i = 0; i < expected.length; ++i) {
+            list.add(expected[i]);
+        }
+        assertEquals(list, fResults);
+    }
+
+    private static void append(StringBuffer buffer, Node node) {
+        switch (node.getNodeType()) {
+            case Node.ELEMENT_NODE: {
+                final Element element = (Element) node;
+                buffer.append('<').append(element.getTagName());
+                if (element.hasAttribute("id")) {
+                    buffer.append(" id='").append(element.getAttribute("id")).append('\'');
+                }
+                if (!element.hasChildNodes()) {
+                    buffer.append("/>");
+                    return;
+                }
+                buffer.append('>');
+                appendChildren(buffer, node);
+                buffer.append("</").append(element.getTagName()).append('>');
+                return;
+            }
+            case Node.ENTITY_REFERENCE_NODE:
+                buffer.append('&').append(node.getNodeName()).append(';');
+                return;
+            case Node.CDATA_SECTION_NODE:
+                buffer.append("<![CDATA[").append(node.getNodeValue()).append("]]>");
+                return;
+            case Node.COMMENT_NODE:
+                buffer.append("<!--").append(node.getNodeValue()).append("-->");
+                return;
+            case Node.PROCESSING_INSTRUCTION_NODE:
+                buffer.append("<?").append(node.getNodeName()).append(' ')
+                      .append(node.getNodeValue()).append("?>");
+                return;
+            default:
+                buffer.append(node.getNodeValue());
+        }
+    }
+
+    private static void appendChildren(StringBuffer buffer, Node node) {
+        for (Node child = node.getFirstChild(); child != null; child = child.getNextSibling()) {
+            append(buffer, child);
+        }
+    }
+
+    //
+    // Classes
+    //
+
+    /** A document which records the nodes created by the parser. */
+    public static class CountingDocument extends DocumentImpl {
+
+        private static final long serialVersionUID = 1L;
+
+        public Element createElement(String tagName) {
+            return (Element) created(super.createElement(tagName));
+        }
+
+        public Element createElementNS(String namespaceURI, String qualifiedName) {
+            return (Element) created(super.createElementNS(namespaceURI, qualifiedName));
+        }
+
+        public Element createElementNS(String namespaceURI, String qualifiedName, String localpart) {
+            return (Element) created(super.createElementNS(namespaceURI, qualifiedName, localpart));
+        }
+
+        public Text createTextNode(String data) {
+            return (Text) created(super.createTextNode(data));
+        }
+
+        public CDATASection createCDATASection(String data) {
+            return (CDATASection) created(super.createCDATASection(data));
+        }
+
+        public Comment createComment(String data) {
+            return (Comment) created(super.createComment(data));
+        }
+
+        public ProcessingInstruction createProcessingInstruction(String target, String data) {
+            return (ProcessingInstruction) created(super.createProcessingInstruction(target, data));
+        }
+
+        public EntityReference createEntityReference(String name) {
+            return (EntityReference) created(super.createEntityReference(name));
+        }
+
+        private static Node created(Node node) {
+            gCreated.add(node);
+            return node;
+        }
+
+    }
+
+}
@@ -0,0 +1,108 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package idc;
+
+import java.io.StringReader;
+
+import javax.xml.transform.stream.StreamSource;
+import javax.xml.validation.Schema;
+import javax.xml.validation.Validator;
+
+import org.apache.xerces.jaxp.validation.XMLSchemaFactory;
+
+/**
+ * Measures the time taken to validate documents with large numbers of
+ * xs:key and xs:keyref values.
+ *
+ * <p>Usage: java idc.IDCBenchmark [rows [fields [iterations]]]</p>
+ *
+ * @version $Id$
+ */
+public class IDCBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        final int rows = (args.length > 0) ? Integer.parseInt(args[0]) : 20000;
+        final int fields = (args.length > 1) ? Integer.parseInt(args[1]) : 2;
+        final int iterations = (args.length > 2) ? Integer.parseInt(args[2]) : 5;
+
+        XMLSchemaFactory factory = new XMLSchemaFactory();
+        Schema schema = factory.newSchema(new StreamSource(new StringReader(createSchema(fields))));
+        Validator validator = schema.newValidator();
+        String document = createDocument(rows, fields);
+
+        for (int i = 0; i < iterations; ++i) {
+            long start = System.currentTimeMillis();
+            validator.validate(new StreamSource(new StringReader(document)));
+            long time = System.currentTimeMillis() - start;
+            System.out.println("rows=" + rows + " fields=" + fields + " time=" + time + "ms");
+        }
+    }
+
+    private static String createSchema(int fields) {
+        StringBuffer buffer = new StringBuffer();
+        buffer.append("<xs:schema xmlns:xs='http://www.w3.org/2001/XMLSchema'>");
+        buffer.append("<xs:complexType name='row'>");
+        for (int i = 0; i < fields; ++i) {
+            buffer.append("<xs:attribute name='f").append(i).append("' type='xs:decimal'/>");
+        }
+        buffer.append("</xs:complexType>");
+        buffer.append("<xs:element name='root'><xs:complexType><xs:sequence>");
+        buffer.append("<xs:element name='key' type='row' maxOccurs='unbounded'/>");
+        buffer.append("<xs:element name='ref' type='row' maxOccurs='unbounded'/>");
+        buffer.append("</xs:sequence></xs:complexType>");
+        appendConstraint(buffer, "<xs:key name='k'>", "key", fields);
+        buffer.append("</xs:key>");
+        appendConstraint(buffer, "<xs:keyref name='r' refer='k'>", "ref", fields);
+        buffer.append("</xs:keyref>");
+        buffer.append("</xs:element></xs:schema>");
+        return buffer.toString();
+    }
+
+    private static void appendConstraint(StringBuffer buffer, String start,
+            String selector, int fields) {
+        buffer.append(start);
+        buffer.append("<xs:selector xpath='").append(selector).append("'/>");
+        for (int i = 0; i < fields; ++i) {
+            buffer.append("<xs:field xpath='@f").append(i).append("'/>");
+        }
+    }
+
+    private static String createDocument(int rows, int fields) {
+        StringBuffer buffer = new StringBuffer(rows * fields * 24);
+        buffer.append("<root>");
+        for (int row = 0; row < rows; ++row) {
+            buffer.append("<key");
+            appendFields(buffer, row, fields);
+            buffer.append("/>");
+        }
+        for (int row = rows - 1; row >= 0; --row) {
+            buffer.append("<ref");
+            appendFields(buffer, row, fields);
+            buffer.append("/>");
+        }
+        buffer.append("</root>");
+        return buffer.toString();
+    }
+
+    private static void appendFields(StringBuffer buffer, int row, int fields) {
+        for (int i = 0; i < fields; ++i) {
+            buffer.append(" f").append(i).append("='").append(row).append('.').append(i).append('\'');
+        }
+    }
+
+}
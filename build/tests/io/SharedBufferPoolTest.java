@@ -0,0 +1,166 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+
+import junit.framework.TestCase;
+
+import org.apache.xerces.parsers.SAXParser;
+import org.xml.sax.helpers.DefaultHandler;
+
+/**
+ * Parses documents with nested external entities on several threads
+ * with the shared buffer pool, and checks that no parser sees the
+ * buffers of another.
+ *
+ * @version $Id$
+ */
+public class SharedBufferPoolTest extends TestCase {
+
+    private static final String SHARED_BUFFER_POOL =
+        "http://apache.org/xml/features/internal/shared-buffer-pool";
+
+    private static final String BUFFER_SIZE =
+        "http://apache.org/xml/properties/input-buffer-size";
+
+    private static final int THREADS = 4;
+
+    private File fDirectory;
+
+    public SharedBufferPoolTest(String name) {
+        super(name);
+    }
+
+    protected void setUp() throws Exception {
+        fDirectory = File.createTempFile("pool", "");
+        fDirectory.delete();
+        fDirectory.mkdir();
+    }
+
+    protected void tearDown() throws Exception {
+        final File[] files = fDirectory.listFiles();
+        for (int i = 0; i < files.length; ++i) {
+            files[i].delete();
+        }
+        fDirectory.delete();
+    }
+
+    public void testNestedEntities() throws Exception {
+        final File[] documents = new File[THREADS];
+        final String[] expected = new String[THREADS];
+        for (int t = 0; t < THREADS; ++t) {
+            final StringBuffer text = new StringBuffer();
+            documents[t] = createDocument(t, text);
+            expected[t] = text.toString();
+        }
+        final Throwable[] failures = new Throwable[THREADS];
+        final Thread[] threads = new Thread[THREADS];
+        for (int t = 0; t < THREADS; ++t) {
+            final int index = t;
+            threads[t] = new Thread() {
+                public void run() {
+                    try {
+                        for (int i = 0; i < 100; ++i) {
+                            assertEquals(expected[index], parse(documents[index]));
+                        }
+                    }
+                    catch (Throwable e) {
+                        failures[index] = e;
+                    }
+                }
+            };
+            threads[t].start();
+        }
+        for (int t = 0; t < THREADS; ++t) {
+            threads[t].join();
+        }
+        for (int t = 0; t < THREADS; ++t) {
+            if (failures[t] instanceof Error) {
+                throw (Error) failures[t];
+            }
+            if (failures[t] != null) {
+                throw new RuntimeException(failures[t]);
+            }
+        }
+    }
+
+    /** Parses the document with a new parser and returns its text. */
+    private static String parse(File document) throws Exception {
+        final SAXParser parser = new SAXParser();
+        parser.setFeature(SHARED_BUFFER_POOL, true);
+        parser.setProperty(BUFFER_SIZE, Integer.valueOf(128));
+        final StringBuffer text = new StringBuffer();
+        parser.setContentHandler(new DefaultHandler() {
+            public void characters(char[] ch, int start, int length) {
+                final String before = new String(ch, start, length);
+                Thread.yield();
+                text.append(ch, start, length);
+                assertEquals(before, new String(ch, start, length));
+            }
+        });
+        parser.parse(document.toURI().toString());
+        return text.toString();
+    }
+
+    /**
+     * Writes a document referencing an external entity which itself
+     * references another, each long enough to fill several buffers.
+     */
+    private File createDocument(int index, StringBuffer text) throws IOException {
+        final String outer = "outer" + index + ".ent";
+        final String inner = "inner" + index + ".ent";
+        final String innerText = line('i', index, 40);
+        final String outerText = line('o', index, 40);
+        write(inner, innerText);
+        write(outer, outerText + "&inner;" + outerText);
+        final String documentText = line('d', index, 20);
+        final File document = write("doc" + index + ".xml",
+                "<!DOCTYPE root [<!ENTITY outer SYSTEM '" + outer + "'>" +
+                "<!ENTITY inner SYSTEM '" + inner + "'>]>" +
+                "<root>" + documentText + "&outer;" + documentText + "&outer;</root>");
+        final String outerExpansion = outerText + innerText + outerText;
+        text.append(documentText).append(outerExpansion)
+            .append(documentText).append(outerExpansion);
+        return document;
+    }
+
+    private static String line(char kind, int index, int count) {
+        final StringBuffer buffer = new StringBuffer();
+        for (int i = 0; i < count; ++i) {
+            buffer.append(kind).append(index).append('-').append(i).append(' ');
+        }
+        return buffer.toString();
+    }
+
+    private File write(String name, String content) throws IOException {
+        final File file = new File(fDirectory, name);
+        final Writer writer = new FileWriter(file);
+        try {
+            writer.write(content);
+        }
+        finally {
+            writer.close();
+        }
+        return file;
+    }
+
+}
@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package regex;
+
+import java.util.Random;
+
+import junit.framework.TestCase;
+
+import org.apache.xerces.impl.xpath.regex.Match;
+import org.apache.xerces.impl.xpath.regex.RegularExpression;
+
+/**
+ * Compares the results of the DFA used for XML Schema patterns with
+ * those of the backtracking interpreter, which is used whenever the
+ * caller asks for a <code>Match</code>.
+ *
+ * @version $Id$
+ */
+public class DFAMatcherTest extends TestCase {
+
+    private static final String[] PATTERNS = {
+        "a*b",
+        "(a|aa)*b",
+        "(ab|a)(bc|c)?",
+        "[a-c]{2,4}x?",
+        "\\d{3}-\\d{4}",
+        "[A-Z][a-z]*( [A-Z][a-z]*)*",
+        "[^abc]+",
+        "(\\p{Lu}|\\p{Nd})+",
+        "\\i\\c*",
+        "[\\s\\S]{0,3}",
+        "([a-f0-9]{2})+",
+        "x{0}y",
+        "(a?){3}a{3}",
+        "[a-z-[aeiou]]+",
+        "((a|b)(c|d))*e?",
+        "\\-?\\d+(\\.\\d+)?",
+        "[\u00e0-\u00ff\u0100-\u017f]*z",
+        "(\\w|\\.)+@\\w+",
+        "\u00e9+|\u0101*",
+        ".*a.{2}",
+    };
+
+    private static final String ALPHABET = "abcdexyzABZ019-. @\u00e0\u00e9\u0101\u0660\n\ud801\udc00";
+
+    public DFAMatcherTest(String name) {
+        super(name);
+    }
+
+    public void testRandomInputs() {
+        final Random random = new Random(7);
+        for (int p = 0; p < PATTERNS.length; ++p) {
+            final RegularExpression re = new RegularExpression(PATTERNS[p], "X");
+            for (int i = 0; i < 5000; ++i) {
+                final String input = randomString(random, random.nextInt(12));
+                final boolean expected = re.matches(input, new Match());
+                assertEquals(PATTERNS[p] + " on \"" + input + "\"", expected, re.matches(input));
+                assertEquals(PATTERNS[p] + " on \"" + input + "\"", expected, re.matches(input.toCharArray()));
+            }
+        }
+    }
+
+    public void testLongInput() {
+        final RegularExpression re = new RegularExpression("(a|aa)*b", "X");
+        final StringBuffer buffer = new StringBuffer();
+        for (int i = 0; i < 10000; ++i) {
+            buffer.append('a');
+        }
+        assertFalse(re.matches(buffer.toString()));
+        buffer.append('b');
+        assertTrue(re.matches(buffer.toString()));
+    }
+
+    public void testConcurrentMatching() throws InterruptedException {
+        final RegularExpression re = new RegularExpression("((a|b)(c|d))*[a-e]{1,3}", "X");
+        final Random random = new Random(11);
+        final String[] inputs = new String[2000];
+        final boolean[] expected = new boolean[inputs.length];
+        for (int i = 0; i < inputs.length; ++i) {
+            inputs[i] = randomString(random, random.nextInt(10));
+            expected[i] = re.matches(inputs[i], new Match());
+        }
+        final int[] failures = new int[1];
+        final Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; ++t) {
+            final int offset = t * 97;
+            threads[t] = new Thread() {
+                public void run() {
+                    for (int i = 0; i < inputs.length; ++i) {
+                        final int k = (i + offset) % inputs.length;
+                        if (re.matches(inputs[k]) != expected[k]) {
+                            synchronized (failures) {
+                                ++failures[0];
+                            }
+                        }
+                    }
+                }
+            };
+            threads[t].start();
+        }
+        for (int t = 0; t < threads.length; ++t) {
+            threads[t].join();
+        }
+        assertEquals(0, failures[0]);
+    }
+
+    private static String randomString(Random random, int length) {
+        final StringBuffer buffer = new StringBuffer(length);
+        for (int i = 0; i < length; ++i) {
+            final char ch = ALPHABET.charAt(random.nextInt(ALPHABET.length()));
+            // keep surrogate pairs together
+            if (Character.isHighSurrogate(ch)) {
+                buffer.append(ch).append('\udc00');
+            }
+            else if (!Character.isLowSurrogate(ch)) {
+                buffer.append(ch);
+            }
+        }
+        return buffer.toString();
+    }
+
+}
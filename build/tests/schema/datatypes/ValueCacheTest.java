@@ -0,0 +1,255 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package schema.datatypes;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.StringReader;
+import java.io.Writer;
+
+import junit.framework.TestCase;
+
+import org.apache.xerces.impl.dv.InvalidDatatypeValueException;
+import org.apache.xerces.impl.dv.xs.XSSimpleTypeDecl;
+import org.apache.xerces.impl.validation.ValidationState;
+import org.apache.xerces.impl.xs.XMLSchemaLoader;
+import org.apache.xerces.parsers.SAXParser;
+import org.apache.xerces.util.SymbolTable;
+import org.apache.xerces.util.XMLGrammarPoolImpl;
+import org.apache.xerces.xni.grammars.Grammar;
+import org.apache.xerces.xni.grammars.XMLGrammarDescription;
+import org.apache.xerces.xni.grammars.XSGrammar;
+import org.apache.xerces.xs.XSComplexTypeDefinition;
+import org.apache.xerces.xs.XSElementDeclaration;
+import org.apache.xerces.xs.XSModel;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXParseException;
+import org.xml.sax.helpers.DefaultHandler;
+
+/**
+ * Tests the cache of validated values of simple types, which is sized
+ * with <code>XSSimpleTypeDecl.setValueCacheSize(int)</code> or the value
+ * cache size property.
+ *
+ * @version $Id$
+ */
+public class ValueCacheTest extends TestCase {
+
+    private static final String XS = "http://www.w3.org/2001/XMLSchema";
+
+    private static final String VALUE_CACHE_SIZE =
+        "http://apache.org/xml/properties/validation/schema/value-cache-size";
+
+    private static final String SCHEMA =
+        "<xs:schema xmlns:xs='" + XS + "'>\n" +
+        " <xs:simpleType name='range'><xs:restriction base='xs:int'>" +
+        "<xs:minInclusive value='10'/><xs:maxExclusive value='1000'/></xs:restriction></xs:simpleType>\n" +
+        " <xs:element name='v' type='range'/>\n" +
+        " <xs:element name='w'><xs:complexType><xs:simpleContent>" +
+        "<xs:restriction base='wrapper'><xs:maxExclusive value='50'/></xs:restriction>" +
+        "</xs:simpleContent></xs:complexType></xs:element>\n" +
+        " <xs:complexType name='wrapper'><xs:simpleContent>" +
+        "<xs:extension base='range'/></xs:simpleContent></xs:complexType>\n" +
+        "</xs:schema>";
+
+    private File fSchema;
+
+    public ValueCacheTest(String name) {
+        super(name);
+    }
+
+    protected void setUp() throws Exception {
+        fSchema = File.createTempFile("cache", ".xsd");
+        final Writer writer = new FileWriter(fSchema);
+        try {
+            writer.write(SCHEMA);
+        }
+        finally {
+            writer.close();
+        }
+    }
+
+    protected void tearDown() throws Exception {
+        fSchema.delete();
+    }
+
+    public void testProperty() throws Exception {
+        XSModel model = new XMLSchemaLoader().loadURI(fSchema.toURI().toString());
+        assertEquals(0, getRange(model).getValueCacheSize());
+
+        final XMLSchemaLoader loader = new XMLSchemaLoader();
+        loader.setProperty(VALUE_CACHE_SIZE, Integer.valueOf(64));
+        assertEquals(Integer.valueOf(64), loader.getProperty(VALUE_CACHE_SIZE));
+        model = loader.loadURI(fSchema.toURI().toString());
+        assertEquals(64, getRange(model).getValueCacheSize());
+        // the simple type of a complex type with simple content
+        final XSElementDeclaration w = model.getElementDeclaration("w", null);
+        final XSSimpleTypeDecl content = (XSSimpleTypeDecl)
+                ((XSComplexTypeDefinition) w.getTypeDefinition()).getSimpleType();
+        assertEquals(64, content.getValueCacheSize());
+        // built-in types are shared, and never cached
+        assertEquals(0, ((XSSimpleTypeDecl) model.getTypeDefinition("int", XS)).getValueCacheSize());
+    }
+
+    public void testParserProperty() throws Exception {
+        final XMLGrammarPoolImpl pool = new XMLGrammarPoolImpl();
+        final SAXParser parser = new SAXParser(new SymbolTable(), pool);
+        parser.setFeature("http://xml.org/sax/features/validation", true);
+        parser.setFeature("http://apache.org/xml/features/validation/schema", true);
+        parser.setProperty(VALUE_CACHE_SIZE, Integer.valueOf(16));
+        parser.setProperty("http://apache.org/xml/properties/schema/external-noNamespaceSchemaLocation",
+                fSchema.toURI().toString());
+        final int[] errors = new int[1];
+        parser.setErrorHandler(new DefaultHandler() {
+            public void error(SAXParseException e) {
+                ++errors[0];
+            }
+        });
+        parser.parse(new InputSource(new StringReader("<v>12</v>")));
+        assertEquals(0, errors[0]);
+        parser.parse(new InputSource(new StringReader("<v>1000</v>")));
+        assertTrue(errors[0] > 0);
+        // the pooled types were given caches
+        final Grammar[] grammars = pool.retrieveInitialGrammarSet(XMLGrammarDescription.XML_SCHEMA);
+        assertEquals(1, grammars.length);
+        final XSSimpleTypeDecl type = getRange(((XSGrammar) grammars[0]).toXSModel());
+        assertEquals(16, type.getValueCacheSize());
+        assertCounts(type, 0, 2);
+    }
+
+    public void testHitsAndMisses() throws Exception {
+        final XSSimpleTypeDecl type = getRange(load());
+        type.setValueCacheSize(16);
+        assertEquals(16, type.getValueCacheSize());
+        assertCounts(type, 0, 0);
+
+        final Object value = type.validate("12", new ValidationState(), null);
+        assertCounts(type, 0, 1);
+        // the whitespace is collapsed before the lookup
+        assertSame(value, type.validate(" 12\n", new ValidationState(), null));
+        assertCounts(type, 1, 1);
+        assertFalse(value.equals(type.validate("13", new ValidationState(), null)));
+        assertCounts(type, 1, 2);
+        assertSame(value, type.validate("12", new ValidationState(), null));
+        assertCounts(type, 2, 2);
+
+        // a new size discards the values and the counts
+        type.setValueCacheSize(8);
+        assertCounts(type, 0, 0);
+        assertEquals(value, type.validate("12", new ValidationState(), null));
+        assertCounts(type, 0, 1);
+
+        type.setValueCacheSize(0);
+        assertEquals(0, type.getValueCacheSize());
+        type.validate("12", new ValidationState(), null);
+        assertCounts(type, 0, 0);
+    }
+
+    public void testInvalidValuesNotCached() throws Exception {
+        final XSSimpleTypeDecl type = getRange(load());
+        type.setValueCacheSize(16);
+        // "1000" is a valid int, but not in the range of the type
+        for (int i = 1; i <= 3; ++i) {
+            try {
+                type.validate("1000", new ValidationState(), null);
+                fail("1000 is not valid");
+            }
+            catch (InvalidDatatypeValueException e) {
+            }
+            try {
+                type.validate("x", new ValidationState(), null);
+                fail("x is not valid");
+            }
+            catch (InvalidDatatypeValueException e) {
+            }
+            assertCounts(type, 0, 2 * i);
+        }
+    }
+
+    public void testConcurrentEviction() throws Exception {
+        final XSSimpleTypeDecl type = getRange(load());
+        final int count = 64;
+        final Object[] expected = new Object[count];
+        for (int i = 0; i < count; ++i) {
+            expected[i] = type.validate(String.valueOf(10 + i), new ValidationState(), null);
+        }
+        // far fewer slots than values, so values are evicted all the time
+        type.setValueCacheSize(4);
+
+        final int threads = 8;
+        final int rounds = 500;
+        final Throwable[] failures = new Throwable[threads];
+        final Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; ++t) {
+            final int seed = t;
+            workers[t] = new Thread() {
+                public void run() {
+                    try {
+                        for (int r = 0; r < rounds; ++r) {
+                            // each thread favours a few values, and visits the others
+                            final int i = (r % 3 != 0 ? seed + r % 2 : seed * 7 + r) % count;
+                            final Object value = type.validate(String.valueOf(10 + i), new ValidationState(), null);
+                            if (!expected[i].equals(value)) {
+                                throw new AssertionError("Wrong value " + value + " for " + (10 + i));
+                            }
+                            if (r % 50 == 0) {
+                                try {
+                                    type.validate("5", new ValidationState(), null);
+                                    throw new AssertionError("5 is not valid");
+                                }
+                                catch (InvalidDatatypeValueException e) {
+                                }
+                            }
+                        }
+                    }
+                    catch (Throwable e) {
+                        failures[seed] = e;
+                    }
+                }
+            };
+        }
+        for (int t = 0; t < threads; ++t) {
+            workers[t].start();
+        }
+        for (int t = 0; t < threads; ++t) {
+            workers[t].join();
+        }
+        for (int t = 0; t < threads; ++t) {
+            if (failures[t] != null) {
+                throw new RuntimeException("Thread " + t + " failed: " + failures[t], failures[t]);
+            }
+        }
+        final long lookups = threads * (rounds + rounds / 50);
+        assertEquals(lookups, type.getValueCacheHits() + type.getValueCacheMisses());
+        assertTrue(type.getValueCacheHits() > 0);
+    }
+
+    private XSModel load() {
+        return new XMLSchemaLoader().loadURI(fSchema.toURI().toString());
+    }
+
+    private static XSSimpleTypeDecl getRange(XSModel model) {
+        return (XSSimpleTypeDecl) model.getTypeDefinition("range", null);
+    }
+
+    private static void assertCounts(XSSimpleTypeDecl type, long hits, long misses) {
+        assertEquals("hits", hits, type.getValueCacheHits());
+        assertEquals("misses", misses, type.getValueCacheMisses());
+    }
+
+}
@@ -0,0 +1,210 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package schema.datatypes;
+
+import java.lang.reflect.Constructor;
+
+import junit.framework.TestCase;
+
+import org.apache.xerces.impl.dv.SchemaDVFactory;
+import org.apache.xerces.impl.dv.ValidatedInfo;
+import org.apache.xerces.impl.dv.XSSimpleType;
+import org.apache.xerces.impl.dv.xs.TypeValidator;
+import org.apache.xerces.impl.validation.ValidationState;
+import org.apache.xerces.util.NamespaceSupport;
+
+/**
+ * Checks that the actual values of decimals, dates, times, durations,
+ * QNames and precision decimals have hash codes consistent with
+ * <code>equals</code>, which identity constraints and enumerations rely
+ * on when they look values up by hash code.
+ *
+ * @version $Id$
+ */
+public class ValueHashCodeTest extends TestCase {
+
+    private ValidationState fContext;
+
+    public ValueHashCodeTest(String name) {
+        super(name);
+    }
+
+    protected void setUp() throws Exception {
+        final NamespaceSupport namespaces = new NamespaceSupport();
+        namespaces.declarePrefix("x", "urn:p");
+        namespaces.declarePrefix("p", "urn:p");
+        namespaces.declarePrefix("y", "urn:q");
+        fContext = new ValidationState();
+        fContext.setNamespaceSupport(namespaces);
+    }
+
+    public void testDecimal() throws Exception {
+        assertContract(builtIn("decimal"), new String[][] {
+            { "1.0", "01.000", "+1", "1" },
+            { "0", "-0", "0.000", "+.0" },
+            { "-1.5", "-01.50" },
+            { "1.5" },
+            { "10", "10.0" },
+            { "0.1", ".10" },
+            { "100" },
+        });
+    }
+
+    public void testDateTime() throws Exception {
+        assertContract(builtIn("dateTime"), new String[][] {
+            { "2000-01-01T12:00:00Z", "2000-01-01T13:00:00+01:00",
+              "2000-01-01T12:00:00.000Z", "2000-01-01T07:00:00-05:00" },
+            { "2000-01-02T00:00:00Z", "2000-01-01T24:00:00Z" },
+            { "2000-01-01T12:00:00", "2000-01-01T12:00:00.0" },
+            { "2000-01-01T12:00:00.5Z", "2000-01-01T12:00:00.50Z" },
+            { "1999-12-31T23:00:00Z" },
+        });
+    }
+
+    public void testDateAndTime() throws Exception {
+        assertContract(builtIn("date"), new String[][] {
+            { "2000-01-01Z", "2000-01-01+00:00", "2000-01-01-00:00" },
+            { "2000-01-01" },
+            { "2000-01-02Z" },
+        });
+        assertContract(builtIn("time"), new String[][] {
+            { "12:00:00Z", "13:00:00+01:00", "12:00:00.000Z" },
+            { "12:00:00" },
+            { "12:00:01Z" },
+        });
+        assertContract(builtIn("gYearMonth"), new String[][] {
+            { "2000-01" },
+            { "2000-02" },
+            { "2000-01Z" },
+        });
+    }
+
+    public void testDuration() throws Exception {
+        assertContract(builtIn("duration"), new String[][] {
+            { "P1D", "PT24H", "PT1440M", "PT86400S" },
+            { "P1Y", "P12M" },
+            { "P1M" },
+            { "P30D" },
+            { "PT0S", "P0D", "P0Y" },
+            { "PT1.5S", "PT1.50S" },
+            { "PT1S" },
+            { "-P1D", "-PT24H" },
+        });
+    }
+
+    public void testQName() throws Exception {
+        assertContract(builtIn("QName"), new String[][] {
+            { "x:a", "p:a" },
+            { "y:a" },
+            { "a" },
+            { "x:b" },
+        });
+    }
+
+    public void testPrecisionDecimal() throws Exception {
+        final TypeValidator dv = precisionDecimal();
+        final String[][] groups = {
+            { "1.2", "1.20", "12E-1", "0.12E1", "01.2" },
+            { "1.1" },
+            { "2.2" },
+            { "12.5", "1.25E1", "125E-1" },
+            { "123.4", "1.234E2", "12340E-2" },
+            { "-1.2", "-12E-1" },
+            { "0", "0.0", "00" },
+            { "INF", "+INF" },
+            { "-INF" },
+        };
+        final Object[][] values = new Object[groups.length][];
+        for (int g = 0; g < groups.length; ++g) {
+            values[g] = new Object[groups[g].length];
+            for (int i = 0; i < groups[g].length; ++i) {
+                values[g][i] = dv.getActualValue(groups[g][i], fContext);
+            }
+        }
+        assertContract(groups, values);
+
+        // the order of values with the same integer part or exponent
+        assertOrder(dv, "1.1", "2.2");
+        assertOrder(dv, "1.1", "1.2");
+        assertOrder(dv, "9.9", "10");
+        assertOrder(dv, "1.234E2", "123.5");
+        assertOrder(dv, "123.3", "1.234E2");
+        assertOrder(dv, "-2.2", "-1.1");
+        assertOrder(dv, "1.2", "INF");
+    }
+
+    //
+    // Private methods
+    //
+
+    private XSSimpleType builtIn(String name) throws Exception {
+        return SchemaDVFactory.getInstance().getBuiltInType(name);
+    }
+
+    /** Precision decimals are not a built-in type of any factory. */
+    private static TypeValidator precisionDecimal() throws Exception {
+        final Constructor constructor = Class.forName(
+                "org.apache.xerces.impl.dv.xs.PrecisionDecimalDV").getDeclaredConstructor(new Class[0]);
+        constructor.setAccessible(true);
+        return (TypeValidator) constructor.newInstance(new Object[0]);
+    }
+
+    /**
+     * Checks that the values in each group are equal to each other and
+     * have the same hash code, and that values in different groups are
+     * not equal.
+     */
+    private void assertContract(XSSimpleType type, String[][] groups) throws Exception {
+        final Object[][] values = new Object[groups.length][];
+        for (int g = 0; g < groups.length; ++g) {
+            values[g] = new Object[groups[g].length];
+            for (int i = 0; i < groups[g].length; ++i) {
+                values[g][i] = type.validate(groups[g][i], fContext, new ValidatedInfo());
+            }
+        }
+        assertContract(groups, values);
+    }
+
+    private static void assertContract(String[][] groups, Object[][] values) {
+        for (int g = 0; g < groups.length; ++g) {
+            for (int i = 0; i < groups[g].length; ++i) {
+                final Object value = values[g][i];
+                assertTrue(groups[g][i], value.equals(value));
+                for (int h = 0; h < groups.length; ++h) {
+                    for (int j = 0; j < groups[h].length; ++j) {
+                        final Object other = values[h][j];
+                        final String message = groups[g][i] + " " + groups[h][j];
+                        assertEquals(message, g == h, value.equals(other));
+                        assertEquals(message, other.equals(value), value.equals(other));
+                        if (g == h) {
+                            assertEquals(message, value.hashCode(), other.hashCode());
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private void assertOrder(TypeValidator dv, String smaller, String larger) throws Exception {
+        final Object a = dv.getActualValue(smaller, fContext);
+        final Object b = dv.getActualValue(larger, fContext);
+        assertEquals(smaller + " " + larger, TypeValidator.LESS_THAN, dv.compare(a, b));
+        assertEquals(larger + " " + smaller, TypeValidator.GREATER_THAN, dv.compare(b, a));
+    }
+
+}
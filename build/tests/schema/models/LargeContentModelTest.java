@@ -0,0 +1,211 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package schema.models;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.StringReader;
+import java.io.Writer;
+
+import junit.framework.TestCase;
+
+import org.apache.xerces.parsers.DOMParser;
+import org.apache.xerces.xs.ElementPSVI;
+import org.apache.xerces.xs.XSElementDeclaration;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXParseException;
+import org.xml.sax.helpers.DefaultHandler;
+
+/**
+ * Checks validation against content models with eight or more element
+ * transitions, whose transitions are looked up through a name index,
+ * including wildcards, substitution group members and counted
+ * particles.
+ *
+ * @version $Id$
+ */
+public class LargeContentModelTest extends TestCase {
+
+    private static final String XS = "http://www.w3.org/2001/XMLSchema";
+    private static final String NS = "urn:t";
+
+    private static final String SCHEMA =
+        "<xs:schema xmlns:xs='" + XS + "' xmlns:t='" + NS + "'" +
+        " targetNamespace='" + NS + "' elementFormDefault='qualified'>\n" +
+        " <xs:element name='head' type='xs:string'/>\n" +
+        " <xs:element name='m1' substitutionGroup='t:head'/>\n" +
+        " <xs:element name='m2' substitutionGroup='t:head'/>\n" +
+        " <xs:element name='m3' substitutionGroup='t:m1'/>\n" +
+        " <xs:element name='blocked' type='xs:string' block='substitution'/>\n" +
+        " <xs:element name='b1' substitutionGroup='t:blocked'/>\n" +
+        " <xs:element name='abstractHead' type='xs:string' abstract='true'/>\n" +
+        " <xs:element name='a1' substitutionGroup='t:abstractHead'/>\n" +
+        " <xs:element name='seq'><xs:complexType><xs:sequence>\n" +
+        locals("e", 10, " minOccurs='0'") +
+        "  <xs:element ref='t:head' minOccurs='0'/>\n" +
+        "  <xs:element ref='t:blocked' minOccurs='0'/>\n" +
+        "  <xs:any namespace='##other' processContents='lax' minOccurs='0' maxOccurs='2'/>\n" +
+        "  <xs:element name='z' type='xs:string'/>\n" +
+        " </xs:sequence></xs:complexType></xs:element>\n" +
+        " <xs:element name='choice'><xs:complexType>" +
+        "<xs:choice minOccurs='0' maxOccurs='unbounded'>\n" +
+        locals("c", 10, "") +
+        "  <xs:element ref='t:abstractHead'/>\n" +
+        "  <xs:element ref='t:m1'/>\n" +
+        "  <xs:any namespace='urn:o' processContents='skip'/>\n" +
+        " </xs:choice></xs:complexType></xs:element>\n" +
+        " <xs:element name='counted'><xs:complexType><xs:sequence>\n" +
+        "  <xs:element name='x' type='xs:string' maxOccurs='3'/>\n" +
+        locals("d", 9, " minOccurs='0'") +
+        "  <xs:element ref='t:head' minOccurs='2' maxOccurs='4'/>\n" +
+        "  <xs:any namespace='##local' processContents='skip' minOccurs='0'/>\n" +
+        " </xs:sequence></xs:complexType></xs:element>\n" +
+        "</xs:schema>";
+
+    /** Content of the root element and whether it is valid. */
+    private static final Object[][] CASES = {
+        { "seq", "<e0/><e5/><e9/><z/>", Boolean.TRUE },
+        { "seq", "<z/>", Boolean.TRUE },
+        { "seq", "<e5/><e0/><z/>", Boolean.FALSE },
+        { "seq", "<e0/>", Boolean.FALSE },
+        { "seq", "<z/><z/>", Boolean.FALSE },
+        { "seq", "<q/><z/>", Boolean.FALSE },
+        { "seq", "<head/><z/>", Boolean.TRUE },
+        { "seq", "<m1/><z/>", Boolean.TRUE },
+        { "seq", "<m3/><z/>", Boolean.TRUE },
+        { "seq", "<m2/><m1/><z/>", Boolean.FALSE },
+        { "seq", "<blocked/><z/>", Boolean.TRUE },
+        { "seq", "<b1/><z/>", Boolean.FALSE },
+        { "seq", "<a1/><z/>", Boolean.FALSE },
+        { "seq", "<o:g xmlns:o='urn:o'/><o:g xmlns:o='urn:o'/><z/>", Boolean.TRUE },
+        { "seq", "<o:g xmlns:o='urn:o'/><o:g xmlns:o='urn:o'/><o:g xmlns:o='urn:o'/><z/>", Boolean.FALSE },
+        { "seq", "<o:z xmlns:o='urn:o'/><z/>", Boolean.TRUE },
+        { "seq", "<e0/><m1/><blocked/><o:e0 xmlns:o='urn:o'/><z/>", Boolean.TRUE },
+        { "seq", "<e0 xmlns=''/><z/>", Boolean.FALSE },
+        { "choice", "", Boolean.TRUE },
+        { "choice", "<c3/><c0/><c9/><c3/>", Boolean.TRUE },
+        { "choice", "<a1/><m1/><m3/><a1/>", Boolean.TRUE },
+        { "choice", "<abstractHead/>", Boolean.FALSE },
+        { "choice", "<head/>", Boolean.FALSE },
+        { "choice", "<m2/>", Boolean.FALSE },
+        { "choice", "<o:c0 xmlns:o='urn:o'/><o:anything xmlns:o='urn:o'><c0/></o:anything>", Boolean.TRUE },
+        { "choice", "<p:c0 xmlns:p='urn:p'/>", Boolean.FALSE },
+        { "choice", "<c0 xmlns=''/>", Boolean.FALSE },
+        { "choice", "<c10/>", Boolean.FALSE },
+        { "counted", "<x/><head/><m1/>", Boolean.TRUE },
+        { "counted", "<x/><x/><x/><head/><m3/><m2/><m1/>", Boolean.TRUE },
+        { "counted", "<x/><x/><x/><x/><head/><head/>", Boolean.FALSE },
+        { "counted", "<x/><head/>", Boolean.FALSE },
+        { "counted", "<x/><d4/><head/><head/><head/><head/><head/>", Boolean.FALSE },
+        { "counted", "<x/><d0/><d8/><m1/><m2/><local xmlns=''/>", Boolean.TRUE },
+        { "counted", "<x/><d8/><d0/><m1/><m2/>", Boolean.FALSE },
+        { "counted", "<x/><m1/><m2/><local xmlns=''/><local xmlns=''/>", Boolean.FALSE },
+        { "counted", "<x/><b1/><head/><head/>", Boolean.FALSE },
+    };
+
+    private File fSchema;
+
+    public LargeContentModelTest(String name) {
+        super(name);
+    }
+
+    protected void setUp() throws Exception {
+        fSchema = File.createTempFile("models", ".xsd");
+        final Writer writer = new FileWriter(fSchema);
+        try {
+            writer.write(SCHEMA);
+        }
+        finally {
+            writer.close();
+        }
+    }
+
+    protected void tearDown() throws Exception {
+        fSchema.delete();
+    }
+
+    public void testValidation() throws Exception {
+        for (int i = 0; i < CASES.length; ++i) {
+            final String message = CASES[i][0] + " " + CASES[i][1];
+            final boolean expected = ((Boolean) CASES[i][2]).booleanValue();
+            final DOMParser parser = createParser();
+            final int[] errors = new int[1];
+            parser.setErrorHandler(new DefaultHandler() {
+                public void error(SAXParseException e) {
+                    errors[0]++;
+                }
+            });
+            final String document = "<" + CASES[i][0] + " xmlns='" + NS + "'>" +
+                    CASES[i][1] + "</" + CASES[i][0] + ">";
+            parser.parse(new InputSource(new StringReader(document)));
+            assertEquals(message, expected, errors[0] == 0);
+            if (expected) {
+                assertDeclarations(message, parser.getDocument().getDocumentElement());
+            }
+        }
+    }
+
+    //
+    // Private methods
+    //
+
+    private DOMParser createParser() throws Exception {
+        final DOMParser parser = new DOMParser();
+        parser.setFeature("http://xml.org/sax/features/namespaces", true);
+        parser.setFeature("http://xml.org/sax/features/validation", true);
+        parser.setFeature("http://apache.org/xml/features/validation/schema", true);
+        parser.setFeature("http://apache.org/xml/features/dom/defer-node-expansion", false);
+        parser.setProperty("http://apache.org/xml/properties/dom/document-class-name",
+                "org.apache.xerces.dom.PSVIDocumentImpl");
+        parser.setProperty("http://apache.org/xml/properties/schema/external-schemaLocation",
+                NS + " " + fSchema.toURI().toString());
+        return parser;
+    }
+
+    /**
+     * Checks that each child in the target namespace was validated
+     * against the declaration with its own name, which for members of a
+     * substitution group is the member's declaration, and that the
+     * children matched by wildcards have no declaration.
+     */
+    private static void assertDeclarations(String message, Element root) {
+        for (Node child = root.getFirstChild(); child != null; child = child.getNextSibling()) {
+            final XSElementDeclaration decl = ((ElementPSVI) child).getElementDeclaration();
+            if (NS.equals(child.getNamespaceURI())) {
+                assertNotNull(message, decl);
+                assertEquals(message, child.getLocalName(), decl.getName());
+                assertEquals(message, NS, decl.getNamespace());
+            }
+            else {
+                assertNull(message, decl);
+            }
+        }
+    }
+
+    private static String locals(String prefix, int count, String occurs) {
+        final StringBuffer buffer = new StringBuffer();
+        for (int i = 0; i < count; ++i) {
+            buffer.append("  <xs:element name='").append(prefix).append(i);
+            buffer.append("' type='xs:string'").append(occurs).append("/>\n");
+        }
+        return buffer.toString();
+    }
+
+}
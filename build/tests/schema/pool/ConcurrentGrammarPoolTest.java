@@ -0,0 +1,332 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package schema.pool;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import javax.xml.transform.stream.StreamSource;
+import javax.xml.validation.Schema;
+import javax.xml.validation.Validator;
+
+import junit.framework.TestCase;
+
+import org.apache.xerces.jaxp.validation.XMLSchemaFactory;
+import org.apache.xerces.util.ConcurrentXMLGrammarPool;
+import org.apache.xerces.xni.grammars.Grammar;
+import org.apache.xerces.xni.grammars.XMLGrammarDescription;
+
+/**
+ * Checks that a <code>ConcurrentXMLGrammarPool</code> read and written
+ * by many threads at once always returns the grammar cached for a
+ * description, and that locking and clearing the pool take effect.
+ *
+ * @version $Id$
+ */
+public class ConcurrentGrammarPoolTest extends TestCase {
+
+    private static final String TYPE = "test";
+
+    private static final int THREADS = 8;
+
+    private static final int GRAMMARS = 400;
+
+    private ConcurrentXMLGrammarPool fPool;
+
+    private List fFailures;
+
+    public ConcurrentGrammarPoolTest(String name) {
+        super(name);
+    }
+
+    protected void setUp() throws Exception {
+        fPool = new ConcurrentXMLGrammarPool(3);
+        fFailures = Collections.synchronizedList(new ArrayList());
+    }
+
+    public void testRetrieveWhileCaching() throws Exception {
+        final Thread[] threads = new Thread[THREADS * 2];
+        for (int t = 0; t < THREADS; ++t) {
+            final int first = t;
+            // writers cache every THREADS-th grammar in batches
+            threads[t] = new Thread(new Runnable() {
+                public void run() {
+                    final List batch = new ArrayList();
+                    for (int i = first; i < GRAMMARS; i += THREADS) {
+                        batch.add(new TestGrammar(i, 0));
+                        if (batch.size() == 5) {
+                            cache(batch);
+                        }
+                    }
+                    cache(batch);
+                }
+            });
+            // readers check that grammars, once there, stay there
+            threads[THREADS + t] = new Thread(new Runnable() {
+                public void run() {
+                    final boolean[] seen = new boolean[GRAMMARS];
+                    for (int pass = 0; pass < 20; ++pass) {
+                        for (int i = 0; i < GRAMMARS; ++i) {
+                            final Grammar g = fPool.retrieveGrammar(new TestDescription(i));
+                            if (g != null) {
+                                check(((TestGrammar) g).fId == i, "wrong grammar for " + i);
+                                seen[i] = true;
+                            }
+                            else {
+                                check(!seen[i], "grammar " + i + " disappeared");
+                            }
+                        }
+                    }
+                }
+            });
+        }
+        run(threads);
+        assertEquals(GRAMMARS, fPool.getGrammarCount());
+        assertEquals(GRAMMARS, fPool.retrieveInitialGrammarSet(TYPE).length);
+        assertEquals(0, fPool.retrieveInitialGrammarSet("other").length);
+        for (int i = 0; i < GRAMMARS; ++i) {
+            assertEquals(i, ((TestGrammar) fPool.retrieveGrammar(new TestDescription(i))).fId);
+        }
+    }
+
+    public void testReplace() throws Exception {
+        for (int i = 0; i < GRAMMARS; ++i) {
+            fPool.putGrammar(new TestGrammar(i, 0));
+        }
+        final Thread[] threads = new Thread[THREADS];
+        for (int t = 0; t < THREADS; ++t) {
+            final int version = t + 1;
+            threads[t] = new Thread(new Runnable() {
+                public void run() {
+                    for (int i = 0; i < GRAMMARS; ++i) {
+                        fPool.putGrammar(new TestGrammar(i, version));
+                        final Grammar g = fPool.retrieveGrammar(new TestDescription(i));
+                        check(g != null && ((TestGrammar) g).fId == i, "lost grammar " + i);
+                    }
+                }
+            });
+        }
+        run(threads);
+        assertEquals(GRAMMARS, fPool.getGrammarCount());
+        for (int i = 0; i < GRAMMARS; ++i) {
+            assertTrue(((TestGrammar) fPool.retrieveGrammar(new TestDescription(i))).fVersion > 0);
+        }
+    }
+
+    public void testLockPool() throws Exception {
+        fPool.putGrammar(new TestGrammar(0, 0));
+        fPool.lockPool();
+        final Thread[] threads = new Thread[THREADS];
+        for (int t = 0; t < THREADS; ++t) {
+            final int first = t;
+            threads[t] = new Thread(new Runnable() {
+                public void run() {
+                    for (int i = first; i < GRAMMARS; i += THREADS) {
+                        fPool.putGrammar(new TestGrammar(i, 1));
+                        fPool.cacheGrammars(TYPE, new Grammar[] { new TestGrammar(i, 2) });
+                        check(fPool.retrieveGrammar(new TestDescription(0)) != null, "lost grammar 0");
+                    }
+                }
+            });
+        }
+        run(threads);
+        assertEquals(1, fPool.getGrammarCount());
+        assertEquals(0, ((TestGrammar) fPool.retrieveGrammar(new TestDescription(0))).fVersion);
+        assertNull(fPool.retrieveGrammar(new TestDescription(1)));
+
+        // a write racing with lockPool() is either done before it returns
+        // or not at all
+        fPool.unlockPool();
+        final Thread writer = new Thread(new Runnable() {
+            public void run() {
+                for (int i = 0; i < GRAMMARS; ++i) {
+                    fPool.putGrammar(new TestGrammar(i, 3));
+                }
+            }
+        });
+        writer.start();
+        Thread.yield();
+        fPool.lockPool();
+        final int count = fPool.getGrammarCount();
+        writer.join();
+        assertEquals(count, fPool.getGrammarCount());
+        assertEquals(count, fPool.retrieveInitialGrammarSet(TYPE).length);
+
+        fPool.unlockPool();
+        fPool.cacheGrammars(TYPE, new Grammar[] { new TestGrammar(GRAMMARS, 0) });
+        assertNotNull(fPool.retrieveGrammar(new TestDescription(GRAMMARS)));
+    }
+
+    public void testClear() throws Exception {
+        final Thread[] threads = new Thread[THREADS];
+        for (int t = 0; t < THREADS; ++t) {
+            final int first = t;
+            threads[t] = new Thread(new Runnable() {
+                public void run() {
+                    for (int pass = 0; pass < 20; ++pass) {
+                        for (int i = first; i < GRAMMARS; i += THREADS) {
+                            fPool.putGrammar(new TestGrammar(i, pass));
+                            final Grammar g = fPool.retrieveGrammar(new TestDescription(i));
+                            check(g == null || ((TestGrammar) g).fId == i, "wrong grammar for " + i);
+                        }
+                        if (first == 0) {
+                            fPool.clear();
+                        }
+                        check(fPool.getGrammarCount() >= 0, "negative count");
+                    }
+                }
+            });
+        }
+        run(threads);
+        fPool.clear();
+        assertEquals(0, fPool.getGrammarCount());
+        assertEquals(0, fPool.retrieveInitialGrammarSet(TYPE).length);
+        for (int i = 0; i < GRAMMARS; ++i) {
+            assertNull(fPool.retrieveGrammar(new TestDescription(i)));
+        }
+        // the pool is usable after being cleared
+        fPool.putGrammar(new TestGrammar(1, 0));
+        assertEquals(1, fPool.getGrammarCount());
+        assertEquals(1, ((TestGrammar) fPool.removeGrammar(new TestDescription(1))).fId);
+        assertNull(fPool.removeGrammar(new TestDescription(1)));
+        assertEquals(0, fPool.getGrammarCount());
+    }
+
+    public void testSchemaFactory() throws Exception {
+        final XMLSchemaFactory factory = new XMLSchemaFactory();
+        final String feature =
+            "http://apache.org/xml/features/internal/validation/schema/concurrent-grammar-pool";
+        assertFalse(factory.getFeature(feature));
+        factory.setFeature(feature, true);
+        assertTrue(factory.getFeature(feature));
+        final Schema schema = factory.newSchema(new StreamSource(new StringReader(
+            "<xs:schema xmlns:xs='http://www.w3.org/2001/XMLSchema'>" +
+            "<xs:element name='root' type='xs:int'/></xs:schema>")));
+        final Thread[] threads = new Thread[THREADS];
+        for (int t = 0; t < THREADS; ++t) {
+            threads[t] = new Thread(new Runnable() {
+                public void run() {
+                    try {
+                        final Validator validator = schema.newValidator();
+                        for (int i = 0; i < 50; ++i) {
+                            validator.validate(new StreamSource(new StringReader(
+                                "<root>" + i + "</root>")));
+                        }
+                        try {
+                            validator.validate(new StreamSource(new StringReader("<root>x</root>")));
+                            check(false, "invalid document accepted");
+                        }
+                        catch (org.xml.sax.SAXException e) {
+                            // expected
+                        }
+                    }
+                    catch (Exception e) {
+                        fFailures.add(e.toString());
+                    }
+                }
+            });
+        }
+        run(threads);
+    }
+
+    //
+    // Private methods
+    //
+
+    private void cache(List batch) {
+        fPool.cacheGrammars(TYPE, (Grammar[]) batch.toArray(new Grammar[batch.size()]));
+        batch.clear();
+    }
+
+    private void check(boolean condition, String message) {
+        if (!condition) {
+            fFailures.add(message);
+        }
+    }
+
+    private void run(Thread[] threads) throws InterruptedException {
+        for (int i = 0; i < threads.length; ++i) {
+            threads[i].start();
+        }
+        for (int i = 0; i < threads.length; ++i) {
+            threads[i].join();
+        }
+        assertEquals(Collections.EMPTY_LIST, fFailures);
+    }
+
+    //
+    // Classes
+    //
+
+    /** A description whose hash codes collide often. */
+    private static final class TestDescription implements XMLGrammarDescription {
+        final int fId;
+        TestDescription(int id) {
+            fId = id;
+        }
+        public String getGrammarType() {
+            return TYPE;
+        }
+        public boolean equals(Object o) {
+            return o instanceof TestDescription && ((TestDescription) o).fId == fId;
+        }
+        public int hashCode() {
+            return fId % 17;
+        }
+        public String getPublicId() {
+            return null;
+        }
+        public String getLiteralSystemId() {
+            return null;
+        }
+        public String getBaseSystemId() {
+            return null;
+        }
+        public String getExpandedSystemId() {
+            return null;
+        }
+        public String getNamespace() {
+            return null;
+        }
+        public void setPublicId(String publicId) {
+        }
+        public void setLiteralSystemId(String systemId) {
+        }
+        public void setBaseSystemId(String systemId) {
+        }
+        public void setExpandedSystemId(String systemId) {
+        }
+        public void setNamespace(String namespace) {
+        }
+    }
+
+    private static final class TestGrammar implements Grammar {
+        final int fId;
+        final int fVersion;
+        TestGrammar(int id, int version) {
+            fId = id;
+            fVersion = version;
+        }
+        public XMLGrammarDescription getGrammarDescription() {
+            return new TestDescription(fId);
+        }
+    }
+
+}
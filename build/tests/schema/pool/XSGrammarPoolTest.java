@@ -0,0 +1,315 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package schema.pool;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import junit.framework.TestCase;
+
+import org.apache.xerces.impl.xs.SchemaGrammar;
+import org.apache.xerces.impl.xs.XMLSchemaLoader;
+import org.apache.xerces.impl.xs.XSModelImpl;
+import org.apache.xerces.impl.xs.util.XSGrammarPool;
+import org.apache.xerces.xni.parser.XMLInputSource;
+import org.apache.xerces.xs.StringList;
+import org.apache.xerces.xs.XSConstants;
+import org.apache.xerces.xs.XSElementDeclaration;
+import org.apache.xerces.xs.XSModel;
+import org.apache.xerces.xs.XSNamedMap;
+import org.apache.xerces.xs.XSNamespaceItemList;
+import org.apache.xerces.xs.XSObjectList;
+
+/**
+ * Checks the models returned by <code>XSGrammarPool.toXSModel</code>
+ * as grammars are added to, replaced in and removed from the pool,
+ * against models built from scratch.
+ *
+ * @version $Id$
+ */
+public class XSGrammarPoolTest extends TestCase {
+
+    private static final String GRAMMAR_POOL =
+        "http://apache.org/xml/properties/internal/grammar-pool";
+
+    private static final String XS = "http://www.w3.org/2001/XMLSchema";
+
+    private static final String HEAD_NS = "urn:head";
+
+    /** More grammars than the substitution group maps a model keeps. */
+    private static final int MEMBERS = 20;
+
+    private XSGrammarPool fPool;
+
+    private XMLSchemaLoader fLoader;
+
+    public XSGrammarPoolTest(String name) {
+        super(name);
+    }
+
+    protected void setUp() {
+        fPool = new XSGrammarPool();
+        fLoader = new XMLSchemaLoader();
+        fLoader.setProperty(GRAMMAR_POOL, fPool);
+    }
+
+    public void testCachedModel() throws Exception {
+        loadHead();
+        final XSModel model = fPool.toXSModel();
+        assertSame(model, fPool.toXSModel());
+        // putting a grammar again changes nothing
+        fPool.putGrammar(grammar(HEAD_NS));
+        assertSame(model, fPool.toXSModel());
+    }
+
+    public void testAddAfterFirstModel() throws Exception {
+        loadHead();
+        final XSModel first = fPool.toXSModel();
+        assertNotNull(first.getElementDeclaration("head", HEAD_NS));
+        loadMember(0);
+        final XSModel second = fPool.toXSModel();
+        assertNotSame(first, second);
+        // a model which was returned is not modified
+        assertNull(first.getElementDeclaration("m", member(0)));
+        assertEquals(2, first.getNamespaces().getLength());
+        assertNotNull(second.getElementDeclaration("m", member(0)));
+        assertNotNull(second.getElementDeclaration("head", HEAD_NS));
+        assertSame(second, fPool.toXSModel());
+        assertSameModel(rebuild(), second);
+    }
+
+    public void testSubstitutionGroupAcrossGrammars() throws Exception {
+        loadHead();
+        fPool.toXSModel();
+        for (int i = 0; i < MEMBERS; ++i) {
+            loadMember(i);
+            final XSModel model = fPool.toXSModel();
+            final XSModel expected = rebuild();
+            assertSameModel(expected, model);
+            final XSElementDeclaration head = model.getElementDeclaration("head", HEAD_NS);
+            // every member substitutes for the head, directly or through another member
+            assertEquals(i + 1, model.getSubstitutionGroup(head).getLength());
+            for (int j = 0; j <= i; ++j) {
+                final XSElementDeclaration member = model.getElementDeclaration("m", member(j));
+                assertEquals(names(expected.getSubstitutionGroup(
+                                expected.getElementDeclaration("m", member(j)))),
+                        names(model.getSubstitutionGroup(member)));
+            }
+        }
+    }
+
+    public void testStableOrder() throws Exception {
+        loadHead();
+        for (int i = 0; i < 6; ++i) {
+            loadMember(i);
+            fPool.toXSModel();
+        }
+        final List order = namespaces(fPool.toXSModel());
+        assertEquals(HEAD_NS, order.get(0));
+        // new grammars follow those of the model they extend
+        for (int i = 0; i < 6; ++i) {
+            assertTrue(order.indexOf(member(i)) > order.indexOf(HEAD_NS));
+            if (i > 0) {
+                assertTrue(order.indexOf(member(i)) > order.indexOf(member(i - 1)));
+            }
+        }
+        assertSame(fPool.toXSModel(), fPool.toXSModel());
+        assertEquals(order, namespaces(fPool.toXSModel()));
+        checkComponentOrder(fPool.toXSModel());
+
+        // a grammar which replaces another takes its place; no other
+        // grammar imports the one replaced
+        final SchemaGrammar replaced = grammar(member(5));
+        final XSGrammarPool imports = new XSGrammarPool();
+        imports.putGrammar(grammar(HEAD_NS));
+        imports.putGrammar(grammar(member(4)));
+        final XMLSchemaLoader loader = new XMLSchemaLoader();
+        loader.setProperty(GRAMMAR_POOL, imports);
+        final SchemaGrammar replacement = (SchemaGrammar) loader.loadGrammar(memberSource(5));
+        assertNotSame(replaced, replacement);
+        fPool.putGrammar(replacement);
+        final XSModel rebuilt = fPool.toXSModel();
+        final List expected = poolOrder().subList(0, 7);
+        assertEquals(expected, namespaces(rebuilt).subList(0, expected.size()));
+        assertSame(replacement, grammarOf(rebuilt, member(5)));
+        checkComponentOrder(rebuilt);
+
+        // and keeps it when the model is extended
+        final XSModelImpl base = (XSModelImpl) rebuilt;
+        final XSModelImpl extended = base.addGrammars(new SchemaGrammar[] {replaced});
+        assertEquals(namespaces(base), namespaces(extended));
+        assertSame(replaced, grammarOf(extended, member(5)));
+
+        // models built from the same pool in the same way are the same
+        assertEquals(namespaces(rebuilt), namespaces(new XSModelImpl(
+                (SchemaGrammar[]) grammars().toArray(new SchemaGrammar[0]))));
+    }
+
+    public void testRemoveAndClear() throws Exception {
+        loadHead();
+        loadMember(0);
+        loadMember(1);
+        final XSModel model = fPool.toXSModel();
+        fPool.removeGrammar(grammar(member(1)).getGrammarDescription());
+        final XSModel removed = fPool.toXSModel();
+        assertNotSame(model, removed);
+        assertNull(removed.getElementDeclaration("m", member(1)));
+        assertNotNull(model.getElementDeclaration("m", member(1)));
+        assertSameModel(rebuild(), removed);
+        fPool.clear();
+        assertNull(fPool.toXSModel().getElementDeclaration("head", HEAD_NS));
+        loadHead();
+        assertNotNull(fPool.toXSModel().getElementDeclaration("head", HEAD_NS));
+    }
+
+    private void loadHead() throws Exception {
+        fLoader.loadGrammar(new XMLInputSource(null, "head.xsd", null,
+                new StringReader("<xs:schema xmlns:xs='" + XS + "' targetNamespace='" + HEAD_NS + "'>" +
+                        "<xs:element name='head' type='xs:string'/>" +
+                        "<xs:element name='other' type='xs:string'/>" +
+                        "</xs:schema>"), null));
+    }
+
+    private void loadMember(int i) throws Exception {
+        fLoader.loadGrammar(memberSource(i));
+    }
+
+    /**
+     * Even members substitute for the head; odd members substitute for
+     * the member before them, in another grammar.
+     */
+    private static XMLInputSource memberSource(int i) {
+        final String group = (i % 2 == 0) ? "h:head" : "p:m";
+        final String doc = "<xs:schema xmlns:xs='" + XS + "' targetNamespace='" + member(i) + "'" +
+            " xmlns:h='" + HEAD_NS + "'" + (i > 0 ? " xmlns:p='" + member(i - 1) + "'" : "") + ">" +
+            "<xs:import namespace='" + HEAD_NS + "'/>" +
+            (i > 0 ? "<xs:import namespace='" + member(i - 1) + "'/>" : "") +
+            "<xs:element name='m' type='xs:string' substitutionGroup='" + group + "'/>" +
+            "<xs:element name='own' type='xs:string'/>" +
+            "</xs:schema>";
+        return new XMLInputSource(null, "member" + i + ".xsd", null, new StringReader(doc), null);
+    }
+
+    private static String member(int i) {
+        return "urn:member" + i;
+    }
+
+    private SchemaGrammar grammar(String namespace) {
+        final List grammars = grammars();
+        for (int i = 0; i < grammars.size(); ++i) {
+            final SchemaGrammar grammar = (SchemaGrammar) grammars.get(i);
+            if (namespace.equals(grammar.getTargetNamespace())) {
+                return grammar;
+            }
+        }
+        return null;
+    }
+
+    private static SchemaGrammar grammarOf(XSModel model, String namespace) {
+        final XSNamespaceItemList grammars = model.getNamespaceItems();
+        for (int i = 0; i < grammars.getLength(); ++i) {
+            if (namespace.equals(grammars.item(i).getSchemaNamespace())) {
+                return (SchemaGrammar) grammars.item(i);
+            }
+        }
+        return null;
+    }
+
+    /** The schema grammars of the pool, as the pool returns them. */
+    private List grammars() {
+        final List list = new ArrayList();
+        final org.apache.xerces.xni.grammars.Grammar[] grammars =
+            fPool.retrieveInitialGrammarSet("http://www.w3.org/2001/XMLSchema");
+        for (int i = 0; i < grammars.length; ++i) {
+            list.add(grammars[i]);
+        }
+        // in pool order
+        final List order = poolOrder();
+        final List sorted = new ArrayList();
+        for (int i = 0; i < order.size(); ++i) {
+            for (int j = 0; j < list.size(); ++j) {
+                if (order.get(i).equals(((SchemaGrammar) list.get(j)).getTargetNamespace())) {
+                    sorted.add(list.get(j));
+                }
+            }
+        }
+        return sorted;
+    }
+
+    /** The namespaces in the order they were first put in the pool. */
+    private static List poolOrder() {
+        final List order = new ArrayList();
+        order.add(HEAD_NS);
+        for (int i = 0; i < MEMBERS; ++i) {
+            order.add(member(i));
+        }
+        return order;
+    }
+
+    private XSModel rebuild() {
+        return new XSModelImpl((SchemaGrammar[]) grammars().toArray(new SchemaGrammar[0]));
+    }
+
+    private static List namespaces(XSModel model) {
+        final List list = new ArrayList();
+        final StringList namespaces = model.getNamespaces();
+        for (int i = 0; i < namespaces.getLength(); ++i) {
+            list.add(namespaces.item(i));
+        }
+        return list;
+    }
+
+    /** Checks that the components of the model are listed in namespace order. */
+    private static void checkComponentOrder(XSModel model) {
+        final List order = namespaces(model);
+        final XSNamedMap elements = model.getComponents(XSConstants.ELEMENT_DECLARATION);
+        int last = -1;
+        for (int i = 0; i < elements.getLength(); ++i) {
+            final int index = order.indexOf(elements.item(i).getNamespace());
+            assertTrue(index >= last);
+            last = index;
+        }
+    }
+
+    private static void assertSameModel(XSModel expected, XSModel actual) {
+        assertEquals(new HashSet(namespaces(expected)), new HashSet(namespaces(actual)));
+        final XSNamedMap elements = expected.getComponents(XSConstants.ELEMENT_DECLARATION);
+        assertEquals(elements.getLength(),
+                actual.getComponents(XSConstants.ELEMENT_DECLARATION).getLength());
+        for (int i = 0; i < elements.getLength(); ++i) {
+            final XSElementDeclaration decl = (XSElementDeclaration) elements.item(i);
+            final XSElementDeclaration other =
+                actual.getElementDeclaration(decl.getName(), decl.getNamespace());
+            assertSame(decl, other);
+            assertEquals(names(expected.getSubstitutionGroup(decl)),
+                    names(actual.getSubstitutionGroup(other)));
+        }
+    }
+
+    private static Set names(XSObjectList group) {
+        final Set names = new HashSet();
+        for (int i = 0; i < group.getLength(); ++i) {
+            names.add("{" + group.item(i).getNamespace() + "}" + group.item(i).getName());
+        }
+        return names;
+    }
+
+}
@@ -0,0 +1,220 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package stax;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.Writer;
+
+import javax.xml.stream.XMLEventReader;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLResolver;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.sax.SAXSource;
+import javax.xml.transform.stream.StreamSource;
+
+import junit.framework.TestCase;
+
+import org.apache.xerces.stax.XMLInputFactoryImpl;
+import org.xml.sax.InputSource;
+
+/**
+ * Tests for the sources accepted by the StAX input factory and the
+ * results accepted from its entity resolver.
+ *
+ * @version $Id$
+ */
+public class XMLInputFactoryTest extends TestCase {
+
+    private static final String DOCUMENT =
+        "<!DOCTYPE a [<!ENTITY ext SYSTEM 'ext.ent'>]><a>&ext;</a>";
+
+    private XMLInputFactory fFactory;
+
+    private File fDirectory;
+
+    public XMLInputFactoryTest(String name) {
+        super(name);
+    }
+
+    protected void setUp() throws Exception {
+        fFactory = new XMLInputFactoryImpl();
+        fDirectory = File.createTempFile("stax", "");
+        fDirectory.delete();
+        fDirectory.mkdir();
+    }
+
+    protected void tearDown() throws Exception {
+        final File[] files = fDirectory.listFiles();
+        for (int i = 0; i < files.length; ++i) {
+            files[i].delete();
+        }
+        fDirectory.delete();
+    }
+
+    public void testSources() throws Exception {
+        assertEquals("a", firstElement(fFactory.createXMLStreamReader(
+            new StreamSource(new StringReader("<a/>")))));
+        assertEquals("a", firstElement(fFactory.createXMLStreamReader(
+            new StreamSource(new ByteArrayInputStream("<a/>".getBytes("UTF-8"))))));
+        assertEquals("a", firstElement(fFactory.createXMLStreamReader(
+            new SAXSource(new InputSource(new StringReader("<a/>"))))));
+        final File file = write("doc.xml", "<b/>");
+        assertEquals("b", firstElement(fFactory.createXMLStreamReader(
+            new StreamSource(file.toURI().toString()))));
+        final DOMSource domSource = new DOMSource();
+        domSource.setSystemId(file.toURI().toString());
+        assertEquals("b", firstElement(fFactory.createXMLStreamReader(domSource)));
+        final XMLEventReader events = fFactory.createXMLEventReader(
+            new StreamSource(new StringReader("<a/>")));
+        assertTrue(events.nextEvent().isStartDocument());
+        assertTrue(events.nextEvent().isStartElement());
+    }
+
+    public void testUnsupportedSource() throws Exception {
+        try {
+            fFactory.createXMLStreamReader(new DOMSource());
+            fail("Expected XMLStreamException.");
+        }
+        catch (XMLStreamException e) {
+            assertTrue(e.getMessage(), e.getMessage().indexOf(DOMSource.class.getName()) != -1);
+        }
+        try {
+            fFactory.createXMLEventReader(new DOMSource());
+            fail("Expected XMLStreamException.");
+        }
+        catch (XMLStreamException e) {
+            // expected
+        }
+        try {
+            fFactory.createXMLStreamReader((StreamSource) null);
+            fail("Expected XMLStreamException.");
+        }
+        catch (XMLStreamException e) {
+            // expected
+        }
+    }
+
+    public void testResolver() throws Exception {
+        final File entity = write("entity.ent", "from file");
+        final Object[] results = {
+            new ByteArrayInputStream("from stream".getBytes("UTF-8")),
+            new StringReader("from reader"),
+            new StreamSource(new StringReader("from source")),
+            new SAXSource(new InputSource(new StringReader("from SAX source"))),
+            new StreamSource(entity.toURI().toString()),
+        };
+        final String[] expected = {
+            "from stream", "from reader", "from source", "from SAX source", "from file",
+        };
+        for (int i = 0; i < results.length; ++i) {
+            fFactory.setXMLResolver(resolver(results[i]));
+            assertEquals(expected[i], text(fFactory.createXMLStreamReader(new StringReader(DOCUMENT))));
+        }
+    }
+
+    public void testResolverReturnsNull() throws Exception {
+        // the entity is resolved relative to the document
+        write("ext.ent", "default");
+        final File document = write("doc.xml", DOCUMENT);
+        fFactory.setXMLResolver(resolver(null));
+        assertEquals("default", text(fFactory.createXMLStreamReader(
+            new StreamSource(document.toURI().toString()))));
+    }
+
+    public void testUnsupportedResolverResult() throws Exception {
+        final XMLStreamReader result = fFactory.createXMLStreamReader(new StringReader("<text/>"));
+        fFactory.setXMLResolver(resolver(result));
+        try {
+            text(fFactory.createXMLStreamReader(new StringReader(DOCUMENT)));
+            fail("Expected XMLStreamException.");
+        }
+        catch (XMLStreamException e) {
+            assertTrue(e.getMessage(), e.getMessage().indexOf(result.getClass().getName()) != -1);
+        }
+    }
+
+    public void testResolverException() throws Exception {
+        final XMLStreamException exception = new XMLStreamException("cannot resolve");
+        fFactory.setXMLResolver(new XMLResolver() {
+            public Object resolveEntity(String publicID, String systemID,
+                    String baseURI, String namespace) throws XMLStreamException {
+                throw exception;
+            }
+        });
+        try {
+            text(fFactory.createXMLStreamReader(new StringReader(DOCUMENT)));
+            fail("Expected XMLStreamException.");
+        }
+        catch (XMLStreamException e) {
+            assertSame(exception, e);
+        }
+    }
+
+    //
+    // Private methods
+    //
+
+    private static XMLResolver resolver(final Object result) {
+        return new XMLResolver() {
+            public Object resolveEntity(String publicID, String systemID,
+                    String baseURI, String namespace) {
+                assertEquals("ext.ent", systemID);
+                return result;
+            }
+        };
+    }
+
+    private static String firstElement(XMLStreamReader reader) throws XMLStreamException {
+        reader.nextTag();
+        final String name = reader.getLocalName();
+        reader.close();
+        return name;
+    }
+
+    /** Returns the text content of the document element. */
+    private static String text(XMLStreamReader reader) throws XMLStreamException {
+        final StringBuffer text = new StringBuffer();
+        while (reader.hasNext()) {
+            if (reader.next() == XMLStreamConstants.CHARACTERS) {
+                text.append(reader.getText());
+            }
+        }
+        reader.close();
+        return text.toString();
+    }
+
+    private File write(String name, String content) throws IOException {
+        final File file = new File(fDirectory, name);
+        final Writer writer = new FileWriter(file);
+        try {
+            writer.write(content);
+        }
+        finally {
+            writer.close();
+        }
+        return file;
+    }
+
+}
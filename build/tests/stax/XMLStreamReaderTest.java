@@ -0,0 +1,221 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package stax;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+
+import javax.xml.stream.XMLEventReader;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.events.StartElement;
+import javax.xml.stream.events.XMLEvent;
+
+import junit.framework.TestCase;
+
+import org.apache.xerces.stax.XMLInputFactoryImpl;
+
+/**
+ * Tests for the StAX readers built on the XNI pull scanner.
+ *
+ * @version $Id$
+ */
+public class XMLStreamReaderTest extends TestCase {
+
+    private static final String DOCUMENT =
+        "<?xml version='1.0' encoding='UTF-8' standalone='yes'?>" +
+        "<!-- header -->" +
+        "<env:Envelope xmlns:env='urn:envelope' xmlns='urn:default' id='e1'>" +
+        "<env:Header><route to='a'/></env:Header>" +
+        "<env:Body>text &amp; more<![CDATA[<raw>]]><?pi data?></env:Body>" +
+        "</env:Envelope>";
+
+    private XMLInputFactory fFactory;
+
+    public XMLStreamReaderTest(String name) {
+        super(name);
+    }
+
+    protected void setUp() throws Exception {
+        fFactory = new XMLInputFactoryImpl();
+    }
+
+    public void testStartDocument() throws XMLStreamException {
+        XMLStreamReader reader = fFactory.createXMLStreamReader(new StringReader(DOCUMENT));
+        assertEquals(XMLStreamConstants.START_DOCUMENT, reader.getEventType());
+        assertEquals("1.0", reader.getVersion());
+        assertEquals("UTF-8", reader.getCharacterEncodingScheme());
+        assertTrue(reader.standaloneSet());
+        assertTrue(reader.isStandalone());
+        reader.close();
+    }
+
+    public void testEvents() throws XMLStreamException {
+        XMLStreamReader reader = fFactory.createXMLStreamReader(new StringReader(DOCUMENT));
+        assertEquals(XMLStreamConstants.COMMENT, reader.next());
+        assertEquals(" header ", reader.getText());
+
+        assertEquals(XMLStreamConstants.START_ELEMENT, reader.next());
+        assertEquals("Envelope", reader.getLocalName());
+        assertEquals("env", reader.getPrefix());
+        assertEquals("urn:envelope", reader.getNamespaceURI());
+        assertEquals(2, reader.getNamespaceCount());
+        assertEquals(1, reader.getAttributeCount());
+        assertEquals("e1", reader.getAttributeValue(null, "id"));
+        assertEquals("urn:default", reader.getNamespaceURI(""));
+        assertNull(reader.getNamespaceURI("unbound"));
+
+        assertEquals(XMLStreamConstants.START_ELEMENT, reader.nextTag());
+        assertEquals("Header", reader.getLocalName());
+        assertEquals(XMLStreamConstants.START_ELEMENT, reader.nextTag());
+        assertEquals("route", reader.getLocalName());
+        assertEquals("urn:default", reader.getNamespaceURI());
+        assertEquals("a", reader.getAttributeValue(null, "to"));
+        assertEquals(XMLStreamConstants.END_ELEMENT, reader.next());
+        assertEquals("route", reader.getLocalName());
+        assertEquals(XMLStreamConstants.END_ELEMENT, reader.next());
+        assertEquals("Header", reader.getLocalName());
+
+        assertEquals(XMLStreamConstants.START_ELEMENT, reader.next());
+        assertEquals("Body", reader.getLocalName());
+        assertEquals(XMLStreamConstants.CHARACTERS, reader.next());
+        assertEquals("text & more", reader.getText());
+        assertEquals(XMLStreamConstants.CDATA, reader.next());
+        assertEquals("<raw>", reader.getText());
+        assertEquals(XMLStreamConstants.PROCESSING_INSTRUCTION, reader.next());
+        assertEquals("pi", reader.getPITarget());
+        assertEquals("data", reader.getPIData());
+        assertEquals(XMLStreamConstants.END_ELEMENT, reader.next());
+        assertEquals(XMLStreamConstants.END_ELEMENT, reader.next());
+        assertEquals("Envelope", reader.getLocalName());
+        assertEquals(2, reader.getNamespaceCount());
+        assertEquals(XMLStreamConstants.END_DOCUMENT, reader.next());
+        assertFalse(reader.hasNext());
+        reader.close();
+    }
+
+    public void testCoalescing() throws XMLStreamException {
+        fFactory.setProperty(XMLInputFactory.IS_COALESCING, Boolean.TRUE);
+        XMLStreamReader reader = fFactory.createXMLStreamReader(new StringReader(DOCUMENT));
+        while (reader.next() != XMLStreamConstants.START_ELEMENT || !"Body".equals(reader.getLocalName())) {}
+        assertEquals("text & more<raw>", reader.getElementText());
+        reader.close();
+    }
+
+    public void testEarlyClose() throws XMLStreamException {
+        XMLStreamReader reader = fFactory.createXMLStreamReader(
+                new StringReader("<a><b/>unterminated"));
+        assertEquals(XMLStreamConstants.START_ELEMENT, reader.nextTag());
+        assertEquals(XMLStreamConstants.START_ELEMENT, reader.nextTag());
+        assertEquals("b", reader.getLocalName());
+        reader.close();
+        assertFalse(reader.hasNext());
+    }
+
+    public void testCloseKeepsInputOpen() throws XMLStreamException {
+        final boolean[] closed = new boolean[2];
+        StringReader characters = new StringReader("<a><b/></a>") {
+            public void close() {
+                closed[0] = true;
+                super.close();
+            }
+        };
+        XMLStreamReader reader = fFactory.createXMLStreamReader(characters);
+        assertEquals(XMLStreamConstants.START_ELEMENT, reader.nextTag());
+        reader.close();
+        assertFalse(closed[0]);
+
+        ByteArrayInputStream bytes = new ByteArrayInputStream("<a/>".getBytes()) {
+            public void close() throws IOException {
+                closed[1] = true;
+                super.close();
+            }
+        };
+        reader = fFactory.createXMLStreamReader(bytes);
+        while (reader.hasNext()) {
+            reader.next();
+        }
+        reader.close();
+        assertFalse(closed[1]);
+    }
+
+    public void testEntityReferences() throws XMLStreamException {
+        final String document =
+            "<!DOCTYPE a [<!ENTITY inner 'in'><!ENTITY e 'x<b>&inner;</b>y'>]>" +
+            "<a>1&e;2</a>";
+        fFactory.setProperty(XMLInputFactory.IS_REPLACING_ENTITY_REFERENCES, Boolean.FALSE);
+        XMLStreamReader reader = fFactory.createXMLStreamReader(new StringReader(document));
+        assertEquals(XMLStreamConstants.DTD, reader.next());
+        assertEquals(XMLStreamConstants.START_ELEMENT, reader.next());
+        assertEquals(XMLStreamConstants.CHARACTERS, reader.next());
+        assertEquals("1", reader.getText());
+        assertEquals(XMLStreamConstants.ENTITY_REFERENCE, reader.next());
+        assertEquals("e", reader.getLocalName());
+        assertEquals("xiny", reader.getText());
+        assertEquals(XMLStreamConstants.CHARACTERS, reader.next());
+        assertEquals("2", reader.getText());
+        assertEquals(XMLStreamConstants.END_ELEMENT, reader.next());
+        assertEquals("a", reader.getLocalName());
+        reader.close();
+
+        fFactory.setProperty(XMLInputFactory.IS_REPLACING_ENTITY_REFERENCES, Boolean.TRUE);
+        reader = fFactory.createXMLStreamReader(new StringReader(document));
+        assertEquals(XMLStreamConstants.DTD, reader.next());
+        assertEquals(XMLStreamConstants.START_ELEMENT, reader.next());
+        assertEquals(XMLStreamConstants.CHARACTERS, reader.next());
+        assertEquals("1x", reader.getText());
+        assertEquals(XMLStreamConstants.START_ELEMENT, reader.next());
+        assertEquals("b", reader.getLocalName());
+        reader.close();
+    }
+
+    public void testFatalError() throws XMLStreamException {
+        XMLStreamReader reader = fFactory.createXMLStreamReader(new StringReader("<a><b></a>"));
+        try {
+            while (reader.hasNext()) {
+                reader.next();
+            }
+            fail("Expected XMLStreamException.");
+        }
+        catch (XMLStreamException e) {
+            assertEquals(1, e.getLocation().getLineNumber());
+        }
+    }
+
+    public void testEventReader() throws XMLStreamException {
+        XMLEventReader reader = fFactory.createXMLEventReader(new StringReader(DOCUMENT));
+        assertTrue(reader.nextEvent().isStartDocument());
+        assertEquals(XMLStreamConstants.COMMENT, reader.nextEvent().getEventType());
+        XMLEvent event = reader.peek();
+        assertTrue(event.isStartElement());
+        assertSame(event, reader.nextTag());
+        StartElement start = event.asStartElement();
+        assertEquals("urn:envelope", start.getName().getNamespaceURI());
+        assertEquals("urn:default", start.getNamespaceContext().getNamespaceURI(""));
+        int count = 0;
+        while (reader.hasNext()) {
+            reader.nextEvent();
+            ++count;
+        }
+        assertEquals(11, count);
+    }
+
+}
@@ -0,0 +1,261 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.xerces.dom;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+
+/**
+ * An append-only store of characters used by a deferred document to
+ * hold node values as slices instead of as individual strings. A value
+ * is identified by its offset in the arena and its length; strings are
+ * only created when a value is actually requested.
+ * <p>
+ * The characters are kept in fixed size pages which are either plain
+ * arrays or, to keep the bulk of a large document outside of the Java
+ * heap, direct buffers. Pages are never released individually; the
+ * arena is discarded together with its document.
+ * </p>
+ * <p>
+ * The arena is not thread-safe, even for reads. Every access to a direct
+ * page, reads included, goes through the relative methods of the page's
+ * buffer and so first calls <code>position()</code> (and, in
+ * {@link #appendTo}, <code>limit()</code>) on it. Values must therefore
+ * not be read concurrently from a document which is not frozen: two
+ * threads expanding nodes, or calling
+ * <code>DeferredDocumentImpl.getNodeValueChars</code>, at the same time
+ * would move each other's position. Freezing a document expands every
+ * node, after which the DOM no longer reads the arena.
+ * </p>
+ *
+ * @xerces.internal
+ *
+ * @version $Id$
+ */
+final class CharacterArena {
+
+    //
+    // Constants
+    //
+
+    private static final int PAGE_SHIFT = 16;
+    private static final int PAGE_SIZE = 1 << PAGE_SHIFT;
+    private static final int PAGE_MASK = PAGE_SIZE - 1;
+    private static final int INITIAL_PAGE_COUNT = 16;
+
+    //
+    // Data
+    //
+
+    /** Whether pages are allocated outside of the Java heap. */
+    private final boolean fDirect;
+
+    /** Heap pages. */
+    private char[][] fPages;
+
+    /** Direct pages. */
+    private CharBuffer[] fDirectPages;
+
+    /** Number of characters stored. */
+    private int fLength;
+
+    //
+    // Constructors
+    //
+
+    /**
+     * Constructs an empty arena.
+     *
+     * @param direct True to allocate pages through direct buffers.
+     */
+    CharacterArena(boolean direct) {
+        fDirect = direct;
+        if (direct) {
+            fDirectPages = new CharBuffer[INITIAL_PAGE_COUNT];
+        }
+        else {
+            fPages = new char[INITIAL_PAGE_COUNT][];
+        }
+    } // <init>(boolean)
+
+    //
+    // Methods
+    //
+
+    /**
+     * Appends the given characters and returns the offset of the slice,
+     * or -1 if the arena cannot address any more characters.
+     */
+    int append(char[] ch, int offset, int length) {
+        final int start = fLength;
+        if (start > Integer.MAX_VALUE - length) {
+            return -1;
+        }
+        int pos = start;
+        while (length > 0) {
+            final int page = pos >> PAGE_SHIFT;
+            final int index = pos & PAGE_MASK;
+            final int count = Math.min(length, PAGE_SIZE - index);
+            ensurePage(page);
+            if (fDirect) {
+                CharBuffer buffer = fDirectPages[page];
+                ((Buffer) buffer).position(index);
+                buffer.put(ch, offset, count);
+            }
+            else {
+                System.arraycopy(ch, offset, fPages[page], index, count);
+            }
+            pos += count;
+            offset += count;
+            length -= count;
+        }
+        fLength = pos;
+        return start;
+    } // append(char[],int,int):int
+
+    /**
+     * Appends the characters of the given string and returns the offset
+     * of the slice, or -1 if the arena cannot address any more characters.
+     */
+    int append(String value) {
+        final int start = fLength;
+        int length = value.length();
+        if (start > Integer.MAX_VALUE - length) {
+            return -1;
+        }
+        int pos = start;
+        int offset = 0;
+        while (length > 0) {
+            final int page = pos >> PAGE_SHIFT;
+            final int index = pos & PAGE_MASK;
+            final int count = Math.min(length, PAGE_SIZE - index);
+            ensurePage(page);
+            if (fDirect) {
+                CharBuffer buffer = fDirectPages[page];
+                ((Buffer) buffer).position(index);
+                buffer.put(value, offset, offset + count);
+            }
+            else {
+                value.getChars(offset, offset + count, fPages[page], index);
+            }
+            pos += count;
+            offset += count;
+            length -= count;
+        }
+        fLength = pos;
+        return start;
+    } // append(String):int
+
+    /**
+     * Returns the slice at the given offset as a string. Moves the
+     * position of direct pages.
+     */
+    String toString(int offset, int length) {
+        if (!fDirect && (offset & PAGE_MASK) + length <= PAGE_SIZE) {
+            if (length == 0) {
+                return "";
+            }
+            return new String(fPages[offset >> PAGE_SHIFT], offset & PAGE_MASK, length);
+        }
+        char[] ch = new char[length];
+        getChars(offset, length, ch, 0);
+        return new String(ch);
+    } // toString(int,int):String
+
+    /**
+     * Copies the slice at the given offset into the given array. Moves
+     * the position of direct pages.
+     */
+    void getChars(int offset, int length, char[] dst, int dstOffset) {
+        while (length > 0) {
+            final int page = offset >> PAGE_SHIFT;
+            final int index = offset & PAGE_MASK;
+            final int count = Math.min(length, PAGE_SIZE - index);
+            if (fDirect) {
+                CharBuffer buffer = fDirectPages[page];
+                ((Buffer) buffer).position(index);
+                buffer.get(dst, dstOffset, count);
+            }
+            else {
+                System.arraycopy(fPages[page], index, dst, dstOffset, count);
+            }
+            offset += count;
+            dstOffset += count;
+            length -= count;
+        }
+    } // getChars(int,int,char[],int)
+
+    /**
+     * Appends the slice at the given offset to the given buffer. Moves
+     * the position and limit of direct pages.
+     */
+    void appendTo(int offset, int length, StringBuffer buffer) {
+        while (length > 0) {
+            final int page = offset >> PAGE_SHIFT;
+            final int index = offset & PAGE_MASK;
+            final int count = Math.min(length, PAGE_SIZE - index);
+            if (fDirect) {
+                CharBuffer chars = fDirectPages[page];
+                ((Buffer) chars).limit(index + count);
+                ((Buffer) chars).position(index);
+                buffer.append(chars);
+                ((Buffer) chars).limit(PAGE_SIZE);
+            }
+            else {
+                buffer.append(fPages[page], index, count);
+            }
+            offset += count;
+            length -= count;
+        }
+    } // appendTo(int,int,StringBuffer)
+
+    /** Returns the number of characters stored. */
+    int getLength() {
+        return fLength;
+    } // getLength():int
+
+    //
+    // Private methods
+    //
+
+    /** Allocates the given page if it does not exist yet. */
+    private void ensurePage(int page) {
+        if (fDirect) {
+            if (page >= fDirectPages.length) {
+                CharBuffer[] pages = new CharBuffer[fDirectPages.length << 1];
+                System.arraycopy(fDirectPages, 0, pages, 0, fDirectPages.length);
+                fDirectPages = pages;
+            }
+            if (fDirectPages[page] == null) {
+                fDirectPages[page] = ByteBuffer.allocateDirect(PAGE_SIZE << 1).asCharBuffer();
+            }
+        }
+        else {
+            if (page >= fPages.length) {
+                char[][] pages = new char[fPages.length << 1][];
+                System.arraycopy(fPages, 0, pages, 0, fPages.length);
+                fPages = pages;
+            }
+            if (fPages[page] == null) {
+                fPages[page] = new char[PAGE_SIZE];
+            }
+        }
+    } // ensurePage(int)
+
+} // class CharacterArena
@@ -21,6 +21,7 @@ import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.lang.reflect.Constructor;
+import java.util.Collections;
 import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.Hashtable;
@@ -138,7 +139,7 @@ extends ParentNode implements Document  {
     protected Map userData;  // serialized as Hashtable
 
     /** Identifiers. */
-    protected Hashtable identifiers;
+    protected Map identifiers;  // serialized as Hashtable
 
     // DOM Level 3: normalizeDocument
     transient DOMNormalizer domNormalizer = null;
@@ -194,6 +195,12 @@ extends ParentNode implements Document  {
     /** Bypass error checking. */
     protected boolean errorChecking = true;
 
+    /** True once the document has been frozen. */
+    protected transient boolean fFrozen = false;
+
+    /** Index of the elements by name; null unless enabled. */
+    transient ElementNameIndex fNameIndex;
+
     //Did version change at any point when the document was created ?
     //this field helps us to optimize when normalizingDocument.
     protected boolean xmlVersionChanged = false ;
@@ -755,6 +762,9 @@ extends ParentNode implements Document  {
      */
     @Override
     public NodeList getElementsByTagName(String tagname) {
+        if (fNameIndex != null) {
+            return fNameIndex.getElementsByTagName(this, tagname);
+        }
         return new DeepNodeListImpl(this,tagname);
     }
 
@@ -796,7 +806,7 @@ extends ParentNode implements Document  {
      * @param check set to true to enable error checking
      */
     public void setErrorChecking(boolean check) {
-        errorChecking = check;
+        errorChecking = check || fFrozen;
     }
 
     /*
@@ -804,9 +814,90 @@ extends ParentNode implements Document  {
      */
     @Override
     public void setStrictErrorChecking(boolean check) {
-        errorChecking = check;
+        errorChecking = check || fFrozen;
     }
 
+    /**
+     * NON-DOM: Makes this document immutable so that it can be read by
+     * many threads at once without locking.
+     * <p>
+     * All lazily created state is built up front: deferred nodes are
+     * expanded, entity references are filled in, attribute values are
+     * turned into text nodes and every node with more than one child
+     * gets a fixed child array in place of its shared node list cache.
+     * The whole tree, including attributes and the document type, is
+     * then made read-only and error checking can no longer be turned
+     * off. Read operations on a frozen document do not modify it;
+     * creating node iterators and ranges does not register them with
+     * the document either since they need no mutation notifications.
+     * The only exception are the numbers which
+     * <code>compareDocumentPosition</code> assigns to disconnected
+     * nodes; these are kept in a table guarded by a lock.
+     * </p>
+     * <p>
+     * The document must be safely published to the reading threads
+     * after this method returns, for instance through a volatile field
+     * or a concurrent collection. Freezing is not undone by cloning or
+     * serialization: clones and deserialized copies are mutable.
+     * </p>
+     */
+    public void freeze() {
+        if (fFrozen) {
+            return;
+        }
+        fFreeNLCache = null;
+        freeze(this);
+        setReadOnly(true, true);
+        getNodeNumber();
+        if (nodeTable == null) {
+            // disconnected nodes are numbered on demand by readers,
+            // which lock the table
+            nodeTable = new WeakHashMap();
+        }
+        if (fNameIndex != null) {
+            fNameIndex.prepare();
+        }
+        errorChecking = true;
+        fFrozen = true;
+    } // freeze()
+
+    /** NON-DOM: Returns true if this document has been frozen. */
+    public boolean isFrozen() {
+        return fFrozen;
+    } // isFrozen():boolean
+
+    /**
+     * NON-DOM: Enables or disables the index of elements by name used by
+     * <code>getElementsByTagName</code> and
+     * <code>getElementsByTagNameNS</code> on this document and its
+     * elements.
+     * <p>
+     * The index is built the first time it is used and is then updated
+     * as the document is modified, so that repeated searches do not walk
+     * the tree. It holds a reference to every element of the document.
+     * Searches with a wildcard for only one of the namespace URI and
+     * the local name are not indexed.
+     * </p>
+     *
+     * @param enabled true to index the elements of this document
+     */
+    public void setElementNameIndexEnabled(boolean enabled) {
+        if (!enabled) {
+            fNameIndex = null;
+        }
+        else if (fNameIndex == null) {
+            fNameIndex = new ElementNameIndex(this);
+            if (fFrozen) {
+                fNameIndex.prepare();
+            }
+        }
+    } // setElementNameIndexEnabled(boolean)
+
+    /** NON-DOM: Returns true if elements are indexed by name. */
+    public boolean isElementNameIndexEnabled() {
+        return fNameIndex != null;
+    } // isElementNameIndexEnabled():boolean
+
     /**
      * Returns true if the DOM implementation performs error checking.
      *
@@ -1079,12 +1170,28 @@ extends ParentNode implements Document  {
                     DOMMessageFormatter.DOM_DOMAIN, "WRONG_DOCUMENT_ERR", null);
             throw new DOMException(DOMException.WRONG_DOCUMENT_ERR, msg);
         }
+        if (fFrozen) {
+            // renaming doesn't check whether the node is read-only
+            String msg = DOMMessageFormatter.formatMessage(
+                    DOMMessageFormatter.DOM_DOMAIN, "NO_MODIFICATION_ALLOWED_ERR", null);
+            throw new DOMException(DOMException.NO_MODIFICATION_ALLOWED_ERR, msg);
+        }
         switch (n.getNodeType()) {
             case ELEMENT_NODE: {
                 ElementImpl el = (ElementImpl) n;
                 if (el instanceof ElementNSImpl) {
                     if (canRenameElements(namespaceURI, name, el)) {
-                        ((ElementNSImpl) el).rename(namespaceURI, name);
+                        if (fNameIndex != null) {
+                            fNameIndex.renaming(el);
+                        }
+                        try {
+                            ((ElementNSImpl) el).rename(namespaceURI, name);
+                        }
+                        finally {
+                            if (fNameIndex != null) {
+                                fNameIndex.renamed(el);
+                            }
+                        }
                         // fire user data NODE_RENAMED event
                         callUserDataHandlers(el, null, UserDataHandler.NODE_RENAMED);
                     } 
@@ -1094,7 +1201,17 @@ extends ParentNode implements Document  {
                 }
                 else {
                     if (namespaceURI == null && canRenameElements(null, name, el)) {
-                        el.rename(name);
+                        if (fNameIndex != null) {
+                            fNameIndex.renaming(el);
+                        }
+                        try {
+                            el.rename(name);
+                        }
+                        finally {
+                            if (fNameIndex != null) {
+                                fNameIndex.renamed(el);
+                            }
+                        }
                         // fire user data NODE_RENAMED event
                         callUserDataHandlers(el, null, UserDataHandler.NODE_RENAMED);
                     }
@@ -1580,6 +1697,21 @@ extends ParentNode implements Document  {
      * @return number associated with the node
      */
     protected int getNodeNumber(Node node) {
+        if (fFrozen) {
+            // the table is shared by the threads reading the document;
+            // even lookups in a WeakHashMap modify it
+            synchronized (nodeTable) {
+                return assignNodeNumber(node);
+            }
+        }
+        return assignNodeNumber(node);
+    }
+
+    /**
+     * Returns the number associated with a node, assigning one if it
+     * has none.
+     */
+    private int assignNodeNumber(Node node) {
 
         // Check if the node is already in the hash
         // If so, retrieve the node number
@@ -1693,7 +1825,7 @@ extends ParentNode implements Document  {
                     Object elementId = reversedIdentifiers.get(source);
                     if (elementId != null) {
                         if (identifiers == null)
-                            identifiers = new Hashtable();
+                            identifiers = new IdentifierTable();
 
                         identifiers.put(elementId, newElement);
                     }
@@ -2123,7 +2255,7 @@ extends ParentNode implements Document  {
         }
 
         if (identifiers == null) {
-            identifiers = new Hashtable();
+            identifiers = new IdentifierTable();
         }
 
         identifiers.put(idName, element);
@@ -2194,10 +2326,10 @@ extends ParentNode implements Document  {
         }
 
         if (identifiers == null) {
-            identifiers = new Hashtable();
+            identifiers = new IdentifierTable();
         }
 
-        return identifiers.keys();
+        return Collections.enumeration(identifiers.keySet());
 
     } // getIdentifiers():Enumeration
 
@@ -2315,6 +2447,12 @@ extends ParentNode implements Document  {
      */
     public NodeList getElementsByTagNameNS(String namespaceURI,
     String localName) {
+        if (fNameIndex != null) {
+            NodeList list = fNameIndex.getElementsByTagNameNS(this, namespaceURI, localName);
+            if (list != null) {
+                return list;
+            }
+        }
         return new DeepNodeListImpl(this, namespaceURI, localName);
     }
 
@@ -2406,6 +2544,89 @@ extends ParentNode implements Document  {
         return changes;
     }
 
+    /**
+     * Expands the lazy state of the given node and its descendants and
+     * gives every parent a fixed array of its children.
+     */
+    private void freeze(NodeImpl node) {
+
+        if (node.needsSyncData()) {
+            node.synchronizeData();
+        }
+        switch (node.getNodeType()) {
+            case Node.ELEMENT_NODE: {
+                // create the attribute map so that it is never created
+                // by a reader
+                freeze((NamedNodeMapImpl) node.getAttributes());
+                break;
+            }
+            case Node.ATTRIBUTE_NODE: {
+                AttrImpl attr = (AttrImpl) node;
+                if (attr.needsSyncChildren()) {
+                    attr.synchronizeChildren();
+                }
+                attr.makeChildNode();
+                for (Node child = attr.getFirstChild(); child != null;
+                     child = child.getNextSibling()) {
+                    freeze((NodeImpl) child);
+                }
+                return;
+            }
+            case Node.DOCUMENT_TYPE_NODE: {
+                DocumentTypeImpl docType = (DocumentTypeImpl) node;
+                if (docType.needsSyncChildren()) {
+                    docType.synchronizeChildren();
+                }
+                freeze(docType.entities);
+                freeze(docType.notations);
+                freeze(docType.elements);
+                break;
+            }
+            case NodeImpl.ELEMENT_DEFINITION_NODE: {
+                freeze((NamedNodeMapImpl) node.getAttributes());
+                break;
+            }
+        }
+
+        if (node instanceof ParentNode) {
+            ParentNode parent = (ParentNode) node;
+            if (parent.needsSyncChildren()) {
+                parent.synchronizeChildren();
+            }
+            int count = 0;
+            for (ChildNode child = parent.firstChild; child != null;
+                 child = child.nextSibling) {
+                freeze(child);
+                ++count;
+            }
+            if (count > 1) {
+                NodeListCache cache = new NodeListCache(parent);
+                cache.fChildren = new ChildNode[count];
+                count = 0;
+                for (ChildNode child = parent.firstChild; child != null;
+                     child = child.nextSibling) {
+                    cache.fChildren[count++] = child;
+                }
+                cache.fLength = count;
+                parent.fNodeListCache = cache;
+            }
+            else {
+                parent.fNodeListCache = null;
+            }
+        }
+
+    } // freeze(NodeImpl)
+
+    /** Freezes the nodes of the given map. */
+    private void freeze(NamedNodeMapImpl map) {
+        if (map != null) {
+            for (int i = 0; i < map.getLength(); ++i) {
+                freeze((NodeImpl) map.item(i));
+            }
+            map.prepareLookups();
+        }
+    } // freeze(NamedNodeMapImpl)
+
     //  NodeListCache pool
 
     /**
@@ -2830,12 +3051,18 @@ extends ParentNode implements Document  {
      * A method to be called when a node has been inserted in the tree.
      */
     void insertedNode(NodeImpl node, NodeImpl newInternal, boolean replace) {
+        if (fNameIndex != null) {
+            fNameIndex.insertedNode(newInternal);
+        }
     }
 
     /**
      * A method to be called when a node is about to be removed from the tree.
      */
     void removingNode(NodeImpl node, NodeImpl oldChild, boolean replace) {
+        if (fNameIndex != null) {
+            fNameIndex.removingNode(oldChild);
+        }
     }
 
     /**
@@ -2913,17 +3140,21 @@ extends ParentNode implements Document  {
         if (nodeTable != null) {
             nodeTable = new WeakHashMap(nodeTable);
         }
+        if (identifiers != null) {
+            identifiers = new IdentifierTable(identifiers);
+        }
     }
     
     /**
      * To allow DOM trees serialized by newer versions of Xerces
-     * to be read by older versions briefly move the user data
-     * and node table into Hashtables.
+     * to be read by older versions briefly move the user data,
+     * node table and identifiers into Hashtables.
      */
     private void writeObject(ObjectOutputStream out) throws IOException {
         // Keep references to the original objects for restoration after serialization
         final Map oldUserData = this.userData;
         final Map oldNodeTable = this.nodeTable;
+        final Map oldIdentifiers = this.identifiers;
         try {
             if (oldUserData != null) {
                 this.userData = new Hashtable(oldUserData);
@@ -2931,6 +3162,9 @@ extends ParentNode implements Document  {
             if (oldNodeTable != null) {
                 nodeTable = new Hashtable(oldNodeTable);
             }
+            if (oldIdentifiers != null) {
+                identifiers = new Hashtable(oldIdentifiers);
+            }
             out.defaultWriteObject();
         }
         // If the write fails for some reason ensure 
@@ -2938,6 +3172,7 @@ extends ParentNode implements Document  {
         finally {
             this.userData = oldUserData;
             this.nodeTable = oldNodeTable;
+            this.identifiers = oldIdentifiers;
         }
     }
 
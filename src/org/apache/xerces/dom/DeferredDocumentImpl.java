@@ -112,6 +112,15 @@ public class DeferredDocumentImpl
     /** Extra data. */
     protected transient int fNodeExtra[][];
 
+    /** Node value offsets in the character arena. */
+    private transient int fNodeValueOffset[][];
+
+    /** Node value lengths in the character arena. */
+    private transient int fNodeValueLength[][];
+
+    /** Character arena holding node values in compact storage mode. */
+    private transient CharacterArena fValueArena;
+
     /** Identifier count. */
     protected transient int fIdCount;
 
@@ -168,6 +177,28 @@ public class DeferredDocumentImpl
     // Public methods
     //
 
+    /**
+     * NON-DOM: Stores the data of text, CDATA section, comment and
+     * processing instruction nodes and the values of attributes as slices
+     * of one shared character arena instead of as individual strings.
+     * Strings are only created for the nodes which are expanded or whose
+     * value is requested. This method must be called before any node is
+     * created.
+     *
+     * @param offHeap True to allocate the arena outside of the Java heap.
+     */
+    public void setCompactStorage(boolean offHeap) {
+        if (fNodeCount != 0) {
+            throw new IllegalStateException();
+        }
+        fValueArena = new CharacterArena(offHeap);
+    } // setCompactStorage(boolean)
+
+    /** NON-DOM: Returns true if node values are stored in compact form. */
+    public boolean isCompactStorage() {
+        return fValueArena != null;
+    } // isCompactStorage():boolean
+
     /**
      * Retrieve information describing the abilities of this particular
      * DOM implementation. Intended to support applications that may be
@@ -522,7 +553,7 @@ public class DeferredDocumentImpl
         int index = nodeIndex & CHUNK_MASK;
         setChunkValue(fNodeName, attrName, chunk, index);
         setChunkValue(fNodeURI, attrURI, chunk, index);
-        setChunkValue(fNodeValue, attrValue, chunk, index);
+        setValue(attrValue, chunk, index);
         int extra = specified ? SPECIFIED : 0;
         setChunkIndex(fNodeExtra, extra, chunk, index);
 
@@ -553,7 +584,7 @@ public class DeferredDocumentImpl
         int nodeIndex = createNode(Node.TEXT_NODE);
         int chunk = nodeIndex >> CHUNK_SHIFT;
         int index = nodeIndex & CHUNK_MASK;
-        setChunkValue(fNodeValue, data, chunk, index);
+        setValue(data, chunk, index);
         // use extra to store ignorableWhitespace info
         setChunkIndex(fNodeExtra, ignorableWhitespace ?  1 : 0, chunk, index);
 
@@ -562,6 +593,23 @@ public class DeferredDocumentImpl
 
     } // createDeferredTextNode(String,boolean):int
 
+    /** Creates a text node in the table from a range of characters. */
+    public int createDeferredTextNode(char[] ch, int offset, int length,
+                                      boolean ignorableWhitespace) {
+
+        // create node
+        int nodeIndex = createNode(Node.TEXT_NODE);
+        int chunk = nodeIndex >> CHUNK_SHIFT;
+        int index = nodeIndex & CHUNK_MASK;
+        setValue(ch, offset, length, chunk, index);
+        // use extra to store ignorableWhitespace info
+        setChunkIndex(fNodeExtra, ignorableWhitespace ?  1 : 0, chunk, index);
+
+        // return node index
+        return nodeIndex;
+
+    } // createDeferredTextNode(char[],int,int,boolean):int
+
     /** Creates a CDATA section node in the table. */
     public int createDeferredCDATASection(String data) {
 
@@ -569,7 +617,7 @@ public class DeferredDocumentImpl
         int nodeIndex = createNode(Node.CDATA_SECTION_NODE);
         int chunk = nodeIndex >> CHUNK_SHIFT;
         int index = nodeIndex & CHUNK_MASK;
-        setChunkValue(fNodeValue, data, chunk, index);
+        setValue(data, chunk, index);
 
         // return node index
         return nodeIndex;
@@ -584,7 +632,7 @@ public class DeferredDocumentImpl
         int chunk = nodeIndex >> CHUNK_SHIFT;
         int index = nodeIndex & CHUNK_MASK;
         setChunkValue(fNodeName, target, chunk, index);
-        setChunkValue(fNodeValue, data, chunk, index);
+        setValue(data, chunk, index);
         // return node index
         return nodeIndex;
 
@@ -597,7 +645,7 @@ public class DeferredDocumentImpl
         int nodeIndex = createNode(Node.COMMENT_NODE);
         int chunk = nodeIndex >> CHUNK_SHIFT;
         int index = nodeIndex & CHUNK_MASK;
-        setChunkValue(fNodeValue, data, chunk, index);
+        setValue(data, chunk, index);
 
         // return node index
         return nodeIndex;
@@ -616,7 +664,16 @@ public class DeferredDocumentImpl
         int cchunk = cloneIndex >> CHUNK_SHIFT;
         int cindex = cloneIndex & CHUNK_MASK;
         setChunkValue(fNodeName, fNodeName[nchunk][nindex], cchunk, cindex);
-        setChunkValue(fNodeValue, fNodeValue[nchunk][nindex], cchunk, cindex);
+        Object value = fNodeValue[nchunk][nindex];
+        setChunkValue(fNodeValue, value, cchunk, cindex);
+        if (value == ARENA_VALUE) {
+            setChunkIndex(fNodeValueOffset,
+                          getChunkIndex(fNodeValueOffset, nchunk, nindex),
+                          cchunk, cindex);
+            setChunkIndex(fNodeValueLength,
+                          getChunkIndex(fNodeValueLength, nchunk, nindex),
+                          cchunk, cindex);
+        }
         setChunkValue(fNodeURI, fNodeURI[nchunk][nindex], cchunk, cindex);
         int extraIndex = fNodeExtra[nchunk][nindex];
         if (extraIndex != -1) {
@@ -1268,6 +1325,61 @@ public class DeferredDocumentImpl
 
     } // getNodeValue(int,boolean):String
 
+    /**
+     * Returns the number of characters in the value stored for the given
+     * node, or -1 if the node has no value. Unlike getNodeValueString, the
+     * data of adjacent text nodes is not included.
+     */
+    public int getNodeValueLength(int nodeIndex) {
+
+        if (nodeIndex == -1) {
+            return -1;
+        }
+
+        int chunk = nodeIndex >> CHUNK_SHIFT;
+        int index = nodeIndex & CHUNK_MASK;
+        Object value = fNodeValue[chunk] != null ? fNodeValue[chunk][index] : null;
+        if (value == ARENA_VALUE) {
+            return getChunkIndex(fNodeValueLength, chunk, index);
+        }
+        return value instanceof String ? ((String) value).length() : -1;
+
+    } // getNodeValueLength(int):int
+
+    /**
+     * Copies the value stored for the given node into the given array,
+     * without creating a string or expanding the node. The array must be
+     * large enough to hold getNodeValueLength(nodeIndex) characters.
+     * With off-heap storage this moves the position of the arena's
+     * buffers, so it must not be called from several threads at once.
+     *
+     * @return The number of characters copied, or -1 if the node has
+     *         no value.
+     */
+    public int getNodeValueChars(int nodeIndex, char[] buffer, int offset) {
+
+        if (nodeIndex == -1) {
+            return -1;
+        }
+
+        int chunk = nodeIndex >> CHUNK_SHIFT;
+        int index = nodeIndex & CHUNK_MASK;
+        Object value = fNodeValue[chunk] != null ? fNodeValue[chunk][index] : null;
+        if (value == ARENA_VALUE) {
+            int length = getChunkIndex(fNodeValueLength, chunk, index);
+            fValueArena.getChars(getChunkIndex(fNodeValueOffset, chunk, index),
+                                 length, buffer, offset);
+            return length;
+        }
+        if (value instanceof String) {
+            String str = (String) value;
+            str.getChars(0, str.length(), buffer, offset);
+            return str.length();
+        }
+        return -1;
+
+    } // getNodeValueChars(int,char[],int):int
+
     /**
      * Returns the extra info of the given node.
      * Used by AttrImpl to store specified value (1 == true).
@@ -1789,6 +1901,11 @@ public class DeferredDocumentImpl
             fNodePrevSib    = new int[INITIAL_CHUNK_COUNT][];
             fNodeURI        = new Object[INITIAL_CHUNK_COUNT][];
             fNodeExtra      = new int[INITIAL_CHUNK_COUNT][];
+            if (fValueArena != null) {
+                // chunks are created on first use
+                fNodeValueOffset = new int[INITIAL_CHUNK_COUNT][];
+                fNodeValueLength = new int[INITIAL_CHUNK_COUNT][];
+            }
         }
         else if (fNodeType.length <= chunk) {
             // resize the tables
@@ -1825,6 +1942,16 @@ public class DeferredDocumentImpl
             newArray = new int[newsize][];
             System.arraycopy(fNodeExtra, 0, newArray, 0, chunk);
             fNodeExtra = newArray;
+
+            if (fValueArena != null) {
+                newArray = new int[newsize][];
+                System.arraycopy(fNodeValueOffset, 0, newArray, 0, chunk);
+                fNodeValueOffset = newArray;
+
+                newArray = new int[newsize][];
+                System.arraycopy(fNodeValueLength, 0, newArray, 0, chunk);
+                fNodeValueLength = newArray;
+            }
         }
         else if (fNodeType[chunk] != null) {
             // Done - there's sufficient capacity
@@ -1940,6 +2067,12 @@ public class DeferredDocumentImpl
         int fCount;
     }
 
+    /**
+     * Marks a node value which is stored in the character arena. Only
+     * ever found in the node value table.
+     */
+    private static final Object ARENA_VALUE = new Object();
+
     private final void createChunk(Object data[][], int chunk) {
         data[chunk] = new Object[CHUNK_SIZE + 1];
         data[chunk][CHUNK_SIZE] = new RefCount();
@@ -1979,13 +2112,59 @@ public class DeferredDocumentImpl
             createChunk(data, chunk);
             dataChunk = data[chunk];
         }
-        String ovalue = (String) dataChunk[index];
+        Object ovalue = dataChunk[index];
         if (ovalue == null) {
             RefCount c = (RefCount) dataChunk[CHUNK_SIZE];
             c.fCount++;
         }
+        else if (ovalue == ARENA_VALUE) {
+            ovalue = clearSlice(chunk, index);
+        }
         dataChunk[index] = value;
-        return ovalue;
+        return (String) ovalue;
+    }
+
+    /**
+     * Sets the value of a node, in the character arena if compact
+     * storage is enabled.
+     */
+    private final void setValue(String value, int chunk, int index) {
+        if (fValueArena != null && value != null) {
+            int offset = fValueArena.append(value);
+            if (offset != -1) {
+                setSlice(offset, value.length(), chunk, index);
+                return;
+            }
+        }
+        setChunkValue(fNodeValue, value, chunk, index);
+    }
+    private final void setValue(char[] ch, int offset, int length,
+                                int chunk, int index) {
+        if (fValueArena != null) {
+            int start = fValueArena.append(ch, offset, length);
+            if (start != -1) {
+                setSlice(start, length, chunk, index);
+                return;
+            }
+        }
+        setChunkValue(fNodeValue, new String(ch, offset, length), chunk, index);
+    }
+    private final void setSlice(int offset, int length, int chunk, int index) {
+        setChunkValue(fNodeValue, ARENA_VALUE, chunk, index);
+        setChunkIndex(fNodeValueOffset, offset, chunk, index);
+        setChunkIndex(fNodeValueLength, length, chunk, index);
+    }
+
+    /** Returns the arena slice of a node value as a string. */
+    private final String getSlice(int chunk, int index) {
+        return fValueArena.toString(getChunkIndex(fNodeValueOffset, chunk, index),
+                                    getChunkIndex(fNodeValueLength, chunk, index));
+    }
+
+    /** Returns the arena slice of a node value and forgets its location. */
+    private final String clearSlice(int chunk, int index) {
+        return fValueArena.toString(clearChunkIndex(fNodeValueOffset, chunk, index),
+                                    clearChunkIndex(fNodeValueLength, chunk, index));
     }
 
     /**
@@ -1995,7 +2174,11 @@ public class DeferredDocumentImpl
         return data[chunk] != null ? data[chunk][index] : -1;
     }
     private final String getChunkValue(Object data[][], int chunk, int index) {
-        return data[chunk] != null ? (String) data[chunk][index] : null;
+        if (data[chunk] == null) {
+            return null;
+        }
+        Object value = data[chunk][index];
+        return value == ARENA_VALUE ? getSlice(chunk, index) : (String) value;
     }
     private final String getNodeValue(int chunk, int index) {
         Object data = fNodeValue[chunk][index];
@@ -2005,6 +2188,9 @@ public class DeferredDocumentImpl
         else if (data instanceof String){
             return (String)data;
         }
+        else if (data == ARENA_VALUE) {
+            return getSlice(chunk, index);
+        }
         else {
             // type information
             return data.toString();
@@ -2032,7 +2218,7 @@ public class DeferredDocumentImpl
     }
     private final String clearChunkValue(Object data[][],
                                          int chunk, int index) {
-        String value = data[chunk] != null ? (String)data[chunk][index] : null;
+        Object value = data[chunk] != null ? data[chunk][index] : null;
         if (value != null) {
             data[chunk][index] = null;
             RefCount c = (RefCount) data[chunk][CHUNK_SIZE];
@@ -2040,8 +2226,11 @@ public class DeferredDocumentImpl
             if (c.fCount == 0) {
                 data[chunk] = null;
             }
+            if (value == ARENA_VALUE) {
+                return clearSlice(chunk, index);
+            }
         }
-        return value;
+        return (String) value;
     }
 
     /**
@@ -2057,9 +2246,9 @@ public class DeferredDocumentImpl
                                element+')');
         }
 
-        // create hashtable
+        // create identifier table
         if (identifiers == null) {
-            identifiers = new java.util.Hashtable();
+            identifiers = new IdentifierTable();
         }
 
         // save ID and its associated element
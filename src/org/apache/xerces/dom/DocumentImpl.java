@@ -23,6 +23,7 @@ import java.lang.ref.ReferenceQueue;
 import java.lang.ref.WeakReference;
 import java.util.ArrayList;
 import java.util.Hashtable;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
@@ -131,6 +132,16 @@ public class DocumentImpl
      */
     protected transient ReferenceQueue rangeReferenceQueue;
 
+    /**
+     * Ranges by boundary container. A range is listed under each
+     * distinct node which is its start or end container, so that a
+     * mutation only notifies the ranges it may affect.
+     */
+    private transient IdentityHashMap<Node, ArrayList<RangeReference>> fRangeIndex;
+
+    /** Marks the ranges already collected for a notification. */
+    private transient int fRangeStamp;
+
     /**
      * Table (<code>Hashtable&lt;NodeImpl, Vector&lt;LEntry>></code>) of for event listeners registered to this document nodes.
      *
@@ -260,6 +271,10 @@ public class DocumentImpl
                                                      whatToShow,
                                                      filter,
                                                      entityReferenceExpansion);
+        if (fFrozen) {
+            // no node can be removed
+            return iterator;
+        }
         if (iterators == null) {
             iterators = new LinkedList<Reference<NodeIterator>>();
             iteratorReferenceQueue = new ReferenceQueue<NodeIterator>();
@@ -377,15 +392,24 @@ public class DocumentImpl
      */
     public Range createRange() {
 
+        if (fFrozen) {
+            // no mutation can affect the range
+            return new RangeImpl(this);
+        }
+
         if (ranges == null) {
             ranges = new LinkedList<Reference<Range>>();
             rangeReferenceQueue = new ReferenceQueue<>();
+            fRangeIndex = new IdentityHashMap<Node, ArrayList<RangeReference>>();
         }
 
-        Range range = new RangeImpl(this);
+        RangeImpl range = new RangeImpl(this);
 
         removeStaleRangeReferences();
-        ranges.add(new WeakReference<Range>(range, rangeReferenceQueue));
+        RangeReference reference = new RangeReference(range, rangeReferenceQueue);
+        ranges.add(reference);
+        range.fReference = reference;
+        rangeMoved(reference, this, this);
 
         return range;
 
@@ -400,6 +424,13 @@ public class DocumentImpl
         if (range == null) return;
         if (ranges == null) return;
 
+        if (range instanceof RangeImpl) {
+            RangeImpl r = (RangeImpl) range;
+            if (r.fReference != null) {
+                rangeMoved(r.fReference, null, null);
+                r.fReference = null;
+            }
+        }
         removeStaleRangeReferences();
         Iterator<Reference<Range>> i = ranges.iterator();
         while (i.hasNext()) {
@@ -428,15 +459,10 @@ public class DocumentImpl
     
     private void notifyRangesReplacedText(CharacterDataImpl node) {
         removeStaleRangeReferences();
-        final Iterator<Reference<Range>> i = ranges.iterator();
-        while (i.hasNext()) {
-            final RangeImpl range = (RangeImpl) (i.next()).get();
-            if (range != null) {
-                range.receiveReplacedText(node);
-            }
-            // Remove stale reference from the list.
-            else {
-                i.remove();
+        final RangeImpl[] affected = getRanges(node);
+        if (affected != null) {
+            for (int i = 0; i < affected.length; ++i) {
+                affected[i].receiveReplacedText(node);
             }
         }
     }
@@ -454,15 +480,10 @@ public class DocumentImpl
     
     private void notifyRangesDeletedText(CharacterDataImpl node, int offset, int count) {
         removeStaleRangeReferences();
-        final Iterator<Reference<Range>> i = ranges.iterator();
-        while (i.hasNext()) {
-            final RangeImpl range = (RangeImpl) (i.next()).get();
-            if (range != null) {
-                range.receiveDeletedText(node, offset, count);
-            }
-            // Remove stale reference from the list.
-            else {
-                i.remove();
+        final RangeImpl[] affected = getRanges(node);
+        if (affected != null) {
+            for (int i = 0; i < affected.length; ++i) {
+                affected[i].receiveDeletedText(node, offset, count);
             }
         }
     }
@@ -480,15 +501,10 @@ public class DocumentImpl
     
     private void notifyRangesInsertedText(CharacterDataImpl node, int offset, int count) {
         removeStaleRangeReferences();
-        final Iterator<Reference<Range>> i = ranges.iterator();
-        while (i.hasNext()) {
-            final RangeImpl range = (RangeImpl) (i.next()).get();
-            if (range != null) {
-                range.receiveInsertedText(node, offset, count);
-            }
-            // Remove stale reference from the list.
-            else {
-                i.remove();
+        final RangeImpl[] affected = getRanges(node);
+        if (affected != null) {
+            for (int i = 0; i < affected.length; ++i) {
+                affected[i].receiveInsertedText(node, offset, count);
             }
         }
     }
@@ -506,24 +522,152 @@ public class DocumentImpl
     
     private void notifyRangesSplitData(Node node, Node newNode, int offset) {
         removeStaleRangeReferences();
-        final Iterator<Reference<Range>> i = ranges.iterator();
-        while (i.hasNext()) {
-            RangeImpl range = (RangeImpl) ((Reference) i.next()).get();
-            if (range != null) {
-                range.receiveSplitData(node, newNode, offset);
-            }
-            // Remove stale reference from the list.
-            else {
-                i.remove();
+        final RangeImpl[] affected = getRanges(node);
+        if (affected != null) {
+            for (int i = 0; i < affected.length; ++i) {
+                affected[i].receiveSplitData(node, newNode, offset);
             }
         }
     }
     
     /**
-     * Remove stale range references from the range list.
+     * Remove stale range references from the range list and index.
      */
     private void removeStaleRangeReferences() {
-        removeStaleReferences(rangeReferenceQueue, ranges);
+        Reference<?> ref = rangeReferenceQueue.poll();
+        int count = 0;
+        while (ref != null) {
+            rangeMoved((RangeReference) ref, null, null);
+            ++count;
+            ref = rangeReferenceQueue.poll();
+        }
+        if (count > 0) {
+            final Iterator<Reference<Range>> i = ranges.iterator();
+            while (i.hasNext()) {
+                if (i.next().get() == null) {
+                    i.remove();
+                    if (--count <= 0) {
+                        return;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Called by a range when its boundary containers have changed, or by
+     * the document with null containers to drop the range from the index.
+     */
+    void rangeMoved(RangeReference reference, Node start, Node end) {
+        final Node oldStart = reference.fStart;
+        final Node oldEnd = reference.fEnd;
+        if (oldStart == start && oldEnd == end) {
+            return;
+        }
+        if (oldStart != null && oldStart != start && oldStart != end) {
+            unindexRange(oldStart, reference);
+        }
+        if (oldEnd != null && oldEnd != oldStart && oldEnd != start && oldEnd != end) {
+            unindexRange(oldEnd, reference);
+        }
+        if (start != null && start != oldStart && start != oldEnd) {
+            indexRange(start, reference);
+        }
+        if (end != null && end != start && end != oldStart && end != oldEnd) {
+            indexRange(end, reference);
+        }
+        reference.fStart = start;
+        reference.fEnd = end;
+    }
+
+    private void indexRange(Node container, RangeReference reference) {
+        ArrayList<RangeReference> bucket = fRangeIndex.get(container);
+        if (bucket == null) {
+            bucket = new ArrayList<RangeReference>(2);
+            fRangeIndex.put(container, bucket);
+        }
+        bucket.add(reference);
+    }
+
+    private void unindexRange(Node container, RangeReference reference) {
+        final ArrayList<RangeReference> bucket = fRangeIndex.get(container);
+        if (bucket != null) {
+            bucket.remove(reference);
+            if (bucket.isEmpty()) {
+                fRangeIndex.remove(container);
+            }
+        }
+    }
+
+    /**
+     * Returns the live ranges which have a boundary in the given
+     * container, or null if there are none. The ranges are copied
+     * since notifying them may move their boundaries.
+     */
+    private RangeImpl[] getRanges(Node container) {
+        final ArrayList<RangeReference> bucket = fRangeIndex.get(container);
+        if (bucket == null) {
+            return null;
+        }
+        final RangeImpl[] affected = new RangeImpl[bucket.size()];
+        int count = 0;
+        for (int i = 0; i < affected.length; ++i) {
+            final RangeImpl range = (RangeImpl) bucket.get(i).get();
+            if (range != null) {
+                affected[count++] = range;
+            }
+        }
+        if (count < affected.length) {
+            final RangeImpl[] live = new RangeImpl[count];
+            System.arraycopy(affected, 0, live, 0, count);
+            return live;
+        }
+        return affected;
+    }
+
+    /** Adds the live ranges with a boundary in the container to the list once. */
+    private void collectRanges(Node container, int stamp, List<RangeImpl> affected) {
+        final ArrayList<RangeReference> bucket = fRangeIndex.get(container);
+        if (bucket != null) {
+            for (int i = 0; i < bucket.size(); ++i) {
+                final RangeReference reference = bucket.get(i);
+                final RangeImpl range = (RangeImpl) reference.get();
+                if (range != null && reference.fStamp != stamp) {
+                    reference.fStamp = stamp;
+                    affected.add(range);
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds the ranges with a boundary in the subtree rooted at the given
+     * node to the list. Returns false, leaving the list incomplete, if
+     * the subtree has more nodes than the budget; the index is then
+     * smaller than the subtree and it is cheaper to search the index.
+     */
+    private boolean collectRangesInSubtree(NodeImpl root, int budget,
+            int stamp, List<RangeImpl> affected) {
+        NodeImpl node = root;
+        while (node != null) {
+            if (--budget < 0) {
+                return false;
+            }
+            collectRanges(node, stamp, affected);
+            // children which were never built cannot be range boundaries
+            NodeImpl next = null;
+            if (node instanceof ParentNode && !node.needsSyncChildren()) {
+                next = ((ParentNode) node).firstChild;
+            }
+            while (next == null && node != root) {
+                next = ((ChildNode) node).nextSibling;
+                if (next == null) {
+                    node = node.parentNode();
+                }
+            }
+            node = next;
+        }
+        return true;
     }
 
     //
@@ -1222,6 +1366,8 @@ public class DocumentImpl
      * A method to be called when a node has been inserted in the tree.
      */
     void insertedNode(NodeImpl node, NodeImpl newInternal, boolean replace) {
+        super.insertedNode(node, newInternal, replace);
+
         if (mutationEvents) {
             mutationEventsInsertedNode(node, newInternal, replace);
         }
@@ -1286,15 +1432,11 @@ public class DocumentImpl
     
     private void notifyRangesInsertedNode(NodeImpl newInternal) {
         removeStaleRangeReferences();
-        final Iterator<Reference<Range>> i = ranges.iterator();
-        while (i.hasNext()) {
-            final RangeImpl range = (RangeImpl) (i.next()).get();
-            if (range != null) {
-                range.insertedNodeFromDOM(newInternal);
-            }
-            // Remove stale reference from the list.
-            else {
-                i.remove();
+        // only ranges with a boundary in the parent have offsets to fix
+        final RangeImpl[] affected = getRanges(newInternal.getParentNode());
+        if (affected != null) {
+            for (int i = 0; i < affected.length; ++i) {
+                affected[i].insertedNodeFromDOM(newInternal);
             }
         }
     }
@@ -1304,6 +1446,8 @@ public class DocumentImpl
      */
     void removingNode(NodeImpl node, NodeImpl oldChild, boolean replace) {
 
+        super.removingNode(node, oldChild, replace);
+
         // notify iterators
         if (iterators != null) {
             notifyIteratorsRemovingNode(oldChild);
@@ -1337,17 +1481,28 @@ public class DocumentImpl
     
     private void notifyRangesRemovingNode(NodeImpl oldChild) {
         removeStaleRangeReferences();
-        final Iterator<Reference<Range>> i = ranges.iterator();
-        while (i.hasNext()) {
-            final RangeImpl range = (RangeImpl) (i.next()).get();
-            if (range != null) {
-                range.removeNode(oldChild);
-            }
-            // Remove stale reference from the list.
-            else {
-                i.remove();
+        if (fRangeIndex.isEmpty()) {
+            return;
+        }
+        // ranges with a boundary in the parent or in the removed subtree
+        final ArrayList<RangeImpl> affected = new ArrayList<RangeImpl>();
+        final int stamp = ++fRangeStamp;
+        collectRanges(oldChild.getParentNode(), stamp, affected);
+        if (!collectRangesInSubtree(oldChild, fRangeIndex.size(), stamp, affected)) {
+            final Iterator<Node> i = fRangeIndex.keySet().iterator();
+            while (i.hasNext()) {
+                final Node container = i.next();
+                for (Node n = container; n != null; n = n.getParentNode()) {
+                    if (n == oldChild) {
+                        collectRanges(container, stamp, affected);
+                        break;
+                    }
+                }
             }
         }
+        for (int i = 0; i < affected.size(); ++i) {
+            affected.get(i).removeNode(oldChild);
+        }
     }
     
     private void mutationEventsRemovingNode(NodeImpl node, NodeImpl oldChild, boolean replace) {
@@ -1510,4 +1665,29 @@ public class DocumentImpl
 	// REVISIT: To be implemented!!!
     }
 
+    //
+    // Classes
+    //
+
+    /**
+     * A weak reference to a registered range, which also records the
+     * containers the range is listed under in the range index.
+     */
+    static final class RangeReference extends WeakReference<Range> {
+
+        /** The start container the range is indexed under. */
+        Node fStart;
+
+        /** The end container the range is indexed under. */
+        Node fEnd;
+
+        /** The last notification which collected the range. */
+        int fStamp;
+
+        RangeReference(Range range, ReferenceQueue<? super Range> queue) {
+            super(range, queue);
+        }
+
+    } // class RangeReference
+
 } // class DocumentImpl
@@ -330,6 +330,10 @@ public class ElementImpl
      * @see DeepNodeListImpl
      */
     public NodeList getElementsByTagName(String tagname) {
+        ElementNameIndex index = ownerDocument.fNameIndex;
+        if (index != null) {
+            return index.getElementsByTagName(this, tagname);
+        }
     	return new DeepNodeListImpl(this,tagname);
     }
 
@@ -909,6 +913,13 @@ public class ElementImpl
      */
     public NodeList getElementsByTagNameNS(String namespaceURI,
                                            String localName) {
+        ElementNameIndex index = ownerDocument.fNameIndex;
+        if (index != null) {
+            NodeList list = index.getElementsByTagNameNS(this, namespaceURI, localName);
+            if (list != null) {
+                return list;
+            }
+        }
     	return new DeepNodeListImpl(this, namespaceURI, localName);
     }
 
@@ -278,6 +278,10 @@ public class ElementNSImpl
             }
 
         }
+        ElementNameIndex index = ownerDocument.fNameIndex;
+        if (index != null) {
+            index.renaming(this);
+        }
         // update node name with new qualifiedName
         if (prefix !=null && prefix.length() != 0) {
             name = prefix + ":" + localName;
@@ -285,6 +289,9 @@ public class ElementNSImpl
         else {
             name = localName;
         }
+        if (index != null) {
+            index.renamed(this);
+        }
     }
 
     /**
@@ -0,0 +1,533 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.xerces.dom;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+/**
+ * An index of the elements of a document by tag name and by namespace
+ * name, used to answer <code>getElementsByTagName</code> and
+ * <code>getElementsByTagNameNS</code> without walking the tree.
+ * <p>
+ * The index is built on first use. Every element of the document is then
+ * given a label, a number which grows in document order, and the lists
+ * of elements for each name are kept sorted by label. The document's
+ * mutation hooks keep the lists up to date: an inserted element is
+ * labeled between the elements around it and added to its lists by
+ * binary search, a removed element is taken out of them the same way,
+ * and a renamed element is moved between the lists of its old and new
+ * names. Lists for other names are left untouched.
+ * </p>
+ * <p>
+ * Labels are spread out so that many elements can be inserted between
+ * two others. When there is no room left, the whole document is
+ * relabeled, which takes time proportional to the number of elements;
+ * this only happens after many insertions at the same place.
+ * </p>
+ * <p>
+ * The lists returned for an element are ranges of the document lists,
+ * whose bounds are found by binary search on the labels of the element
+ * and of the first element following it.
+ * </p>
+ *
+ * @xerces.internal
+ *
+ * @version $Id$
+ */
+final class ElementNameIndex {
+
+    //
+    // Constants
+    //
+
+    /** The distance between the labels of consecutive elements when labeling. */
+    private static final long SPACING = 1L << 32;
+
+    //
+    // Data
+    //
+
+    /** The indexed document. */
+    private final CoreDocumentImpl fDocument;
+
+    /** Whether the index has been built. */
+    private boolean fBuilt;
+
+    /** Entries by tag name. */
+    private final HashMap fByTagName = new HashMap();
+
+    /** Entries by local name, by namespace URI ("" for no namespace). */
+    private final HashMap fByNamespace = new HashMap();
+
+    /** Entry holding all elements. */
+    private final Entry fAll = new Entry();
+
+    /** Label of every element of the document. */
+    private final IdentityHashMap fLabels = new IdentityHashMap();
+
+    /** Number of modifications made to the entries. */
+    private int fModCount;
+
+    //
+    // Constructors
+    //
+
+    ElementNameIndex(CoreDocumentImpl document) {
+        fDocument = document;
+    } // <init>(CoreDocumentImpl)
+
+    //
+    // Methods
+    //
+
+    /**
+     * Returns the elements with the given tag name below the given root,
+     * which is the document or one of its elements.
+     */
+    NodeList getElementsByTagName(NodeImpl root, String tagName) {
+        if (!fBuilt) {
+            build();
+        }
+        Entry entry = tagName.equals("*") ? fAll
+            : getEntry(fByTagName, tagName, false);
+        return new ElementList(root, entry, tagName, null, false);
+    } // getElementsByTagName(NodeImpl,String):NodeList
+
+    /**
+     * Returns the elements with the given namespace name below the given
+     * root, or null if the index cannot answer the query.
+     */
+    NodeList getElementsByTagNameNS(NodeImpl root, String namespaceURI,
+                                    String localName) {
+        if (namespaceURI != null && namespaceURI.length() == 0) {
+            namespaceURI = null;
+        }
+        if (!fBuilt) {
+            build();
+        }
+        Entry entry;
+        if (localName.equals("*")) {
+            if (!"*".equals(namespaceURI)) {
+                return null;
+            }
+            entry = fAll;
+        }
+        else if ("*".equals(namespaceURI)) {
+            return null;
+        }
+        else {
+            entry = getEntry(namespaceURI, localName, false);
+        }
+        return new ElementList(root, entry, localName, namespaceURI, true);
+    } // getElementsByTagNameNS(NodeImpl,String,String):NodeList
+
+    /** Builds the index so that reads do not modify it. */
+    void prepare() {
+        if (!fBuilt) {
+            build();
+        }
+    } // prepare()
+
+    /** Called after a node has been inserted in the tree. */
+    void insertedNode(NodeImpl node) {
+        if (!fBuilt || !mayContainElements(node) ||
+            !isIndexed(node.getParentNode())) {
+            return;
+        }
+        ElementImpl previous = previousElement(node);
+        for (NodeImpl n = node; n != null; n = next(n, node)) {
+            if (n.getNodeType() == Node.ELEMENT_NODE) {
+                ElementImpl el = (ElementImpl) n;
+                // the children of an entity reference are indexed when
+                // the walk makes the reference create them
+                if (!fLabels.containsKey(el)) {
+                    fLabels.put(el, Long.valueOf(newLabel(previous)));
+                    insert(fAll, el);
+                    insert(tagEntry(el), el);
+                    insert(nsEntry(el), el);
+                }
+                previous = el;
+            }
+        }
+        ++fModCount;
+    } // insertedNode(NodeImpl)
+
+    /** Called before a node is removed from the tree. */
+    void removingNode(NodeImpl node) {
+        if (!fBuilt || !mayContainElements(node)) {
+            return;
+        }
+        for (NodeImpl n = node; n != null; n = next(n, node)) {
+            if (n.getNodeType() == Node.ELEMENT_NODE && fLabels.containsKey(n)) {
+                ElementImpl el = (ElementImpl) n;
+                remove(fAll, el);
+                remove(tagEntry(el), el);
+                remove(nsEntry(el), el);
+                fLabels.remove(el);
+            }
+        }
+        ++fModCount;
+    } // removingNode(NodeImpl)
+
+    /** Called before an element of the tree is renamed. */
+    void renaming(ElementImpl el) {
+        if (fBuilt && fLabels.containsKey(el)) {
+            remove(tagEntry(el), el);
+            remove(nsEntry(el), el);
+            ++fModCount;
+        }
+    } // renaming(ElementImpl)
+
+    /** Called after an element of the tree has been renamed. */
+    void renamed(ElementImpl el) {
+        if (fBuilt && fLabels.containsKey(el)) {
+            insert(tagEntry(el), el);
+            insert(nsEntry(el), el);
+            ++fModCount;
+        }
+    } // renamed(ElementImpl)
+
+    //
+    // Private methods
+    //
+
+    private static boolean mayContainElements(Node node) {
+        short type = node.getNodeType();
+        return type == Node.ELEMENT_NODE || type == Node.ENTITY_REFERENCE_NODE;
+    } // mayContainElements(Node):boolean
+
+    /** Returns true if the children of the given node are indexed. */
+    private boolean isIndexed(Node parent) {
+        while (parent != null) {
+            if (parent == fDocument) {
+                return true;
+            }
+            short type = parent.getNodeType();
+            if (type == Node.ELEMENT_NODE) {
+                return fLabels.containsKey(parent);
+            }
+            if (type != Node.ENTITY_REFERENCE_NODE) {
+                return false;
+            }
+            parent = parent.getParentNode();
+        }
+        return false;
+    } // isIndexed(Node):boolean
+
+    /** Returns the next node in document order within the given root. */
+    private static NodeImpl next(NodeImpl node, NodeImpl root) {
+        Node next = node.getFirstChild();
+        if (next != null) {
+            return (NodeImpl) next;
+        }
+        while (node != root) {
+            next = node.getNextSibling();
+            if (next != null) {
+                return (NodeImpl) next;
+            }
+            node = (NodeImpl) node.getParentNode();
+        }
+        return null;
+    } // next(NodeImpl,NodeImpl):NodeImpl
+
+    /**
+     * Returns the indexed element preceding the given node in document
+     * order, not counting its descendants, or null if there is none.
+     */
+    private ElementImpl previousElement(Node node) {
+        while (true) {
+            Node prev = node.getPreviousSibling();
+            if (prev != null) {
+                // the last node of the previous sibling's subtree
+                node = prev;
+                for (Node last = node.getLastChild(); last != null;
+                     last = node.getLastChild()) {
+                    node = last;
+                }
+            }
+            else {
+                node = node.getParentNode();
+                if (node == null || node == fDocument) {
+                    return null;
+                }
+            }
+            if (node.getNodeType() == Node.ELEMENT_NODE && fLabels.containsKey(node)) {
+                return (ElementImpl) node;
+            }
+        }
+    } // previousElement(Node):ElementImpl
+
+    /**
+     * Returns the indexed element following the subtree of the given node
+     * in document order, or null if there is none.
+     */
+    private ElementImpl nextElement(Node node) {
+        while (node != fDocument && node != null) {
+            Node sib = node.getNextSibling();
+            if (sib != null) {
+                for (NodeImpl n = (NodeImpl) sib; n != null; n = next(n, fDocument)) {
+                    if (n.getNodeType() == Node.ELEMENT_NODE && fLabels.containsKey(n)) {
+                        return (ElementImpl) n;
+                    }
+                }
+                return null;
+            }
+            node = node.getParentNode();
+        }
+        return null;
+    } // nextElement(Node):ElementImpl
+
+    private void build() {
+        for (NodeImpl n = fDocument; n != null; n = next(n, fDocument)) {
+            if (n.getNodeType() == Node.ELEMENT_NODE) {
+                ElementImpl el = (ElementImpl) n;
+                fLabels.put(el, Long.valueOf((fAll.fElements.size() + 1) * SPACING));
+                fAll.fElements.add(el);
+                tagEntry(el).fElements.add(el);
+                Entry entry = nsEntry(el);
+                if (entry != null) {
+                    entry.fElements.add(el);
+                }
+            }
+        }
+        fBuilt = true;
+    } // build()
+
+    /** Spreads out the labels of all elements, keeping their order. */
+    private void relabel() {
+        ArrayList all = fAll.fElements;
+        for (int i = 0; i < all.size(); ++i) {
+            fLabels.put(all.get(i), Long.valueOf((i + 1) * SPACING));
+        }
+    } // relabel()
+
+    /**
+     * Returns a label for an element inserted after the given one, or at
+     * the start of the document if it is null.
+     */
+    private long newLabel(ElementImpl previous) {
+        ArrayList all = fAll.fElements;
+        int index = previous != null ? indexOf(fAll, previous) + 1 : 0;
+        long low = previous != null ? label(previous) : 0;
+        if (index == all.size()) {
+            return low + SPACING;
+        }
+        long high = label(all.get(index));
+        if (high - low < 2) {
+            relabel();
+            low = previous != null ? label(previous) : 0;
+            high = label(all.get(index));
+        }
+        return low + (high - low) / 2;
+    } // newLabel(ElementImpl):long
+
+    private long label(Object el) {
+        return ((Long) fLabels.get(el)).longValue();
+    } // label(Object):long
+
+    /** Returns the index of the first element of the entry labeled above the given label. */
+    private int search(Entry entry, long label) {
+        ArrayList elements = entry.fElements;
+        int low = 0;
+        int high = elements.size();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (label(elements.get(middle)) <= label) {
+                low = middle + 1;
+            }
+            else {
+                high = middle;
+            }
+        }
+        return low;
+    } // search(Entry,long):int
+
+    /** Returns the index of an element in an entry, or -1. */
+    private int indexOf(Entry entry, ElementImpl el) {
+        int index = search(entry, label(el)) - 1;
+        return index >= 0 && entry.fElements.get(index) == el ? index : -1;
+    } // indexOf(Entry,ElementImpl):int
+
+    private void insert(Entry entry, ElementImpl el) {
+        if (entry != null) {
+            entry.fElements.add(search(entry, label(el)), el);
+        }
+    } // insert(Entry,ElementImpl)
+
+    private void remove(Entry entry, ElementImpl el) {
+        if (entry != null) {
+            int index = indexOf(entry, el);
+            if (index >= 0) {
+                entry.fElements.remove(index);
+            }
+        }
+    } // remove(Entry,ElementImpl)
+
+    private Entry tagEntry(ElementImpl el) {
+        return getEntry(fByTagName, el.getTagName(), true);
+    } // tagEntry(ElementImpl):Entry
+
+    private Entry nsEntry(ElementImpl el) {
+        String localName = el.getLocalName();
+        if (localName == null) {
+            return null;
+        }
+        return getEntry(el.getNamespaceURI(), localName, true);
+    } // nsEntry(ElementImpl):Entry
+
+    private Entry getEntry(String namespaceURI, String localName, boolean create) {
+        String key = namespaceURI != null ? namespaceURI : "";
+        HashMap entries = (HashMap) fByNamespace.get(key);
+        if (entries == null) {
+            if (!create) {
+                return null;
+            }
+            entries = new HashMap();
+            fByNamespace.put(key, entries);
+        }
+        return getEntry(entries, localName, create);
+    } // getEntry(String,String,boolean):Entry
+
+    private static Entry getEntry(HashMap entries, String name, boolean create) {
+        Entry entry = (Entry) entries.get(name);
+        if (entry == null && create) {
+            entry = new Entry();
+            entries.put(name, entry);
+        }
+        return entry;
+    } // getEntry(HashMap,String,boolean):Entry
+
+    //
+    // Classes
+    //
+
+    /** The elements with one name, in document order. */
+    static final class Entry {
+
+        /** Elements. */
+        final ArrayList fElements = new ArrayList();
+
+    } // class Entry
+
+    /**
+     * A live list of the elements of an entry below a root. When the
+     * index is dropped or the root is not part of the document, the
+     * list falls back to walking the tree.
+     */
+    final class ElementList implements NodeList {
+
+        /** The document or element the search starts from. */
+        private final NodeImpl fRoot;
+
+        /**
+         * The matching elements of the document; null until an element
+         * with the name is indexed.
+         */
+        private Entry fEntry;
+
+        /** The name searched for. */
+        private final String fName;
+
+        /** The namespace searched for. */
+        private final String fNamespaceURI;
+
+        /** Whether the search is by namespace name. */
+        private final boolean fNS;
+
+        /** Index modification count for which the bounds were computed. */
+        private int fModCount = -1;
+
+        /** First index in the entry. */
+        private int fStart;
+
+        /** Index after the last one in the entry. */
+        private int fEnd;
+
+        /** List used when the index cannot be used. */
+        private DeepNodeListImpl fFallback;
+
+        ElementList(NodeImpl root, Entry entry, String name,
+                    String namespaceURI, boolean ns) {
+            fRoot = root;
+            fEntry = entry;
+            fName = name;
+            fNamespaceURI = namespaceURI;
+            fNS = ns;
+        }
+
+        public int getLength() {
+            if (!bounds()) {
+                return fFallback.getLength();
+            }
+            return fEnd - fStart;
+        } // getLength():int
+
+        public Node item(int index) {
+            if (!bounds()) {
+                return fFallback.item(index);
+            }
+            if (index < 0 || index >= fEnd - fStart) {
+                return null;
+            }
+            return (Node) fEntry.fElements.get(fStart + index);
+        } // item(int):Node
+
+        /** Updates the bounds; returns false if the fallback must be used. */
+        private boolean bounds() {
+            if (fDocument.fNameIndex == ElementNameIndex.this) {
+                if (fModCount == ElementNameIndex.this.fModCount) {
+                    return fFallback == null;
+                }
+                fModCount = ElementNameIndex.this.fModCount;
+                if (fEntry == null) {
+                    fEntry = fNS ? getEntry(fNamespaceURI, fName, false)
+                        : getEntry(fByTagName, fName, false);
+                }
+                if (fEntry == null) {
+                    fStart = fEnd = 0;
+                    return true;
+                }
+                if (fRoot == fDocument) {
+                    fStart = 0;
+                    fEnd = fEntry.fElements.size();
+                    return true;
+                }
+                if (fLabels.containsKey(fRoot)) {
+                    fFallback = null;
+                    fStart = search(fEntry, label(fRoot));
+                    ElementImpl next = nextElement(fRoot);
+                    fEnd = next != null ? search(fEntry, label(next) - 1)
+                        : fEntry.fElements.size();
+                    return true;
+                }
+            }
+            if (fFallback == null) {
+                fFallback = fNS
+                    ? new DeepNodeListImpl(fRoot, fNamespaceURI, fName)
+                    : new DeepNodeListImpl(fRoot, fName);
+            }
+            return false;
+        } // bounds():boolean
+
+    } // class ElementList
+
+} // class ElementNameIndex
@@ -0,0 +1,274 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.xerces.dom;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * <p>An unsynchronized map from identifier names to elements, used by
+ * <code>CoreDocumentImpl</code> to implement <code>getElementById</code>.</p>
+ *
+ * <p>Names and elements are stored in two parallel arrays which are
+ * searched by linear probing, so that unlike <code>Hashtable</code> no
+ * entry object is allocated for each identifier. Entries are removed
+ * by shifting the following entries of the probe sequence back, which
+ * keeps lookups free of deleted markers.</p>
+ *
+ * @xerces.internal
+ *
+ * @version $Id$
+ */
+final class IdentifierTable extends AbstractMap {
+
+    //
+    // Constants
+    //
+
+    /** Default initial capacity. */
+    private static final int DEFAULT_CAPACITY = 16;
+
+    //
+    // Data
+    //
+
+    /** Identifier names; the length is a power of two. */
+    private String[] fNames;
+
+    /** Elements, indexed as the names. */
+    private Object[] fElements;
+
+    /** The number of identifiers in the table. */
+    private int fSize;
+
+    //
+    // Constructors
+    //
+
+    /** Constructs an empty identifier table. */
+    IdentifierTable() {
+        fNames = new String[DEFAULT_CAPACITY];
+        fElements = new Object[DEFAULT_CAPACITY];
+    } // <init>()
+
+    /** Constructs an identifier table holding the entries of a map. */
+    IdentifierTable(Map map) {
+        this();
+        putAll(map);
+    } // <init>(Map)
+
+    //
+    // Map methods
+    //
+
+    public int size() {
+        return fSize;
+    } // size():int
+
+    public boolean containsKey(Object name) {
+        return (name instanceof String) && indexOf((String) name) >= 0;
+    } // containsKey(Object):boolean
+
+    public Object get(Object name) {
+        if (name instanceof String) {
+            final int index = indexOf((String) name);
+            if (index >= 0) {
+                return fElements[index];
+            }
+        }
+        return null;
+    } // get(Object):Object
+
+    public Object put(Object key, Object element) {
+        if (element == null) {
+            throw new NullPointerException();
+        }
+        final String name = (String) key;
+        final int mask = fNames.length - 1;
+        int index = hash(name) & mask;
+        for (String n = fNames[index]; n != null; n = fNames[index]) {
+            if (n.equals(name)) {
+                final Object previous = fElements[index];
+                fElements[index] = element;
+                return previous;
+            }
+            index = (index + 1) & mask;
+        }
+        fNames[index] = name;
+        fElements[index] = element;
+        if (++fSize > (fNames.length >> 1) + (fNames.length >> 2)) {
+            resize(fNames.length << 1);
+        }
+        return null;
+    } // put(Object,Object):Object
+
+    public Object remove(Object key) {
+        if (!(key instanceof String)) {
+            return null;
+        }
+        int index = indexOf((String) key);
+        if (index < 0) {
+            return null;
+        }
+        final Object previous = fElements[index];
+        final String[] names = fNames;
+        final int mask = names.length - 1;
+        // shift back the entries whose probe sequence passes the hole
+        int next = index;
+        while (true) {
+            next = (next + 1) & mask;
+            final String n = names[next];
+            if (n == null) {
+                break;
+            }
+            final int home = hash(n) & mask;
+            if (((next - home) & mask) >= ((next - index) & mask)) {
+                names[index] = n;
+                fElements[index] = fElements[next];
+                index = next;
+            }
+        }
+        names[index] = null;
+        fElements[index] = null;
+        --fSize;
+        return previous;
+    } // remove(Object):Object
+
+    public void clear() {
+        if (fSize > 0) {
+            for (int i = 0; i < fNames.length; ++i) {
+                fNames[i] = null;
+                fElements[i] = null;
+            }
+            fSize = 0;
+        }
+    } // clear()
+
+    public Set entrySet() {
+        return new AbstractSet() {
+            public int size() {
+                return fSize;
+            }
+            public Iterator iterator() {
+                return new EntryIterator();
+            }
+        };
+    } // entrySet():Set
+
+    //
+    // Private methods
+    //
+
+    /** Returns the slot holding the given name, or -1. */
+    private int indexOf(String name) {
+        final String[] names = fNames;
+        final int mask = names.length - 1;
+        int index = hash(name) & mask;
+        for (String n = names[index]; n != null; n = names[index]) {
+            if (n.equals(name)) {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+        return -1;
+    } // indexOf(String):int
+
+    private void resize(int capacity) {
+        final String[] names = fNames;
+        final Object[] elements = fElements;
+        final String[] newNames = new String[capacity];
+        final Object[] newElements = new Object[capacity];
+        final int mask = capacity - 1;
+        for (int i = 0; i < names.length; ++i) {
+            final String n = names[i];
+            if (n != null) {
+                int index = hash(n) & mask;
+                while (newNames[index] != null) {
+                    index = (index + 1) & mask;
+                }
+                newNames[index] = n;
+                newElements[index] = elements[i];
+            }
+        }
+        fNames = newNames;
+        fElements = newElements;
+    } // resize(int)
+
+    /** Spreads the hash code of a name so that nearby codes do not cluster. */
+    private static int hash(String name) {
+        final int h = name.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    } // hash(String):int
+
+    //
+    // Classes
+    //
+
+    /**
+     * Iterates over the entries of the table. Removing an entry shifts
+     * entries of the table back, possibly across the end of the arrays,
+     * so the iterator walks a copy of the arrays taken when it was
+     * created and removes entries from the table by name.
+     */
+    private final class EntryIterator implements Iterator {
+
+        private final String[] fNames = (String[]) IdentifierTable.this.fNames.clone();
+
+        private final Object[] fElements = (Object[]) IdentifierTable.this.fElements.clone();
+
+        private int fIndex = advance(0);
+
+        private String fLast;
+
+        private int advance(int index) {
+            final String[] names = fNames;
+            while (index < names.length && names[index] == null) {
+                ++index;
+            }
+            return index;
+        }
+
+        public boolean hasNext() {
+            return fIndex < fNames.length;
+        }
+
+        public Object next() {
+            if (fIndex >= fNames.length) {
+                throw new NoSuchElementException();
+            }
+            fLast = fNames[fIndex];
+            final Map.Entry entry = new SimpleImmutableEntry(fLast, fElements[fIndex]);
+            fIndex = advance(fIndex + 1);
+            return entry;
+        }
+
+        public void remove() {
+            if (fLast == null) {
+                throw new IllegalStateException();
+            }
+            IdentifierTable.this.remove(fLast);
+            fLast = null;
+        }
+
+    } // class EntryIterator
+
+} // class IdentifierTable
@@ -68,6 +68,9 @@ public class NamedNodeMapImpl
     /** Serialization version. */
     static final long serialVersionUID = -7039242451046758020L;
 
+    /** Number of nodes above which namespace lookups use a hash table. */
+    static final int HASHED_LOOKUP_THRESHOLD = 16;
+
     //
     // Data
     //
@@ -496,6 +499,18 @@ public class NamedNodeMapImpl
         
         if (nodes == null) return -1;
         if (name == null) return -1;
+
+        // Large maps keep a hash table of their nodes by namespace URI
+        // and local name, unless two of them have the same name.
+        if (nodes.size() > HASHED_LOOKUP_THRESHOLD) {
+            if (!(nodes instanceof HashedNodeList)) {
+                nodes = new HashedNodeList(nodes);
+            }
+            int i = ((HashedNodeList) nodes).indexOf(namespaceURI, name);
+            if (i != HashedNodeList.AMBIGUOUS) {
+                return i;
+            }
+        }
         
         // This is a linear search through the same nodes ArrayList.
         // The ArrayList is sorted on the DOM Level 1 nodename.
@@ -526,6 +541,19 @@ public class NamedNodeMapImpl
         return -1;
     }
 
+    /**
+     * Builds the hash table used by namespace lookups in a large map, so
+     * that later lookups do not modify the map.
+     */
+    final void prepareLookups() {
+        if (nodes != null && nodes.size() > HASHED_LOOKUP_THRESHOLD) {
+            if (!(nodes instanceof HashedNodeList)) {
+                nodes = new HashedNodeList(nodes);
+            }
+            ((HashedNodeList) nodes).prepare();
+        }
+    } // prepareLookups()
+
     // compare 2 nodes in the map.  If a precedes b, return true, otherwise 
     // return false
     protected boolean precedes(Node a, Node b) {
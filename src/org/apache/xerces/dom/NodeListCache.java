@@ -43,6 +43,9 @@ class NodeListCache implements Serializable {
     /** Last requested node. */
     ChildNode fChild;
 
+    /** All children of a frozen owner. Such a cache is never pooled. */
+    ChildNode[] fChildren;
+
     /** Owner of this cache */
     ParentNode fOwner;
 
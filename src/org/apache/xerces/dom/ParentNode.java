@@ -740,6 +740,11 @@ public abstract class ParentNode
             // otherwise request a cache object
             fNodeListCache = ownerDocument.getNodeListCache(this);
         }
+        else if (fNodeListCache.fChildren != null) {
+            // the document is frozen
+            ChildNode[] children = fNodeListCache.fChildren;
+            return index >= 0 && index < children.length ? children[index] : null;
+        }
         int i = fNodeListCache.fChildIndex;
         ChildNode n = fNodeListCache.fChild;
         boolean firstAccess = true;
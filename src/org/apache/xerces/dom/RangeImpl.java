@@ -58,6 +58,9 @@ public class RangeImpl implements Range {
     private Node fSplitNode = null;
     // Was the Node inserted from the Range or the Document
     private boolean fInsertedFromRange = false; 
+    // Entry of this Range in the document's index, or null if the
+    // Range is not notified of mutations
+    DocumentImpl.RangeReference fReference = null;
     
     /** The constructor. Clients must use DocumentRange.createRange(),
      *  because it registers the Range with the document, so it can 
@@ -178,7 +181,7 @@ public class RangeImpl implements Range {
         
         checkIndex(refNode, offset);
         
-        fStartContainer = refNode;
+        setStartContainer(refNode);
         fStartOffset = offset;
         
         // If one boundary-point of a Range is set to have a root container
@@ -215,7 +218,7 @@ public class RangeImpl implements Range {
     	
         checkIndex(refNode, offset);
         
-        fEndContainer = refNode;
+        setEndContainer(refNode);
         fEndOffset = offset;
         
         // If one boundary-point of a Range is set to have a root container
@@ -252,7 +255,7 @@ public class RangeImpl implements Range {
             }
         }
     	
-        fStartContainer = refNode.getParentNode();
+        setStartContainer(refNode.getParentNode());
         int i = 0;
         for (Node n = refNode; n!=null; n = n.getPreviousSibling()) {
             i++;
@@ -291,7 +294,7 @@ public class RangeImpl implements Range {
                         DOMMessageFormatter.formatMessage(DOMMessageFormatter.DOM_DOMAIN, "WRONG_DOCUMENT_ERR", null));
             }
         }
-        fStartContainer = refNode.getParentNode();
+        setStartContainer(refNode.getParentNode());
         int i = 0;
         for (Node n = refNode; n!=null; n = n.getPreviousSibling()) {
             i++;
@@ -330,7 +333,7 @@ public class RangeImpl implements Range {
                         DOMMessageFormatter.formatMessage(DOMMessageFormatter.DOM_DOMAIN, "WRONG_DOCUMENT_ERR", null));
             }
         }
-        fEndContainer = refNode.getParentNode();
+        setEndContainer(refNode.getParentNode());
         int i = 0;
         for (Node n = refNode; n!=null; n = n.getPreviousSibling()) {
             i++;
@@ -369,7 +372,7 @@ public class RangeImpl implements Range {
                         DOMMessageFormatter.formatMessage(DOMMessageFormatter.DOM_DOMAIN, "WRONG_DOCUMENT_ERR", null));
             }
         }
-        fEndContainer = refNode.getParentNode();
+        setEndContainer(refNode.getParentNode());
         int i = 0;
         for (Node n = refNode; n!=null; n = n.getPreviousSibling()) {
             i++;
@@ -396,10 +399,10 @@ public class RangeImpl implements Range {
         }
         
         if (toStart) {
-            fEndContainer = fStartContainer;
+            setEndContainer(fStartContainer);
             fEndOffset = fStartOffset;
         } else {
-            fStartContainer = fEndContainer;
+            setStartContainer(fEndContainer);
             fStartOffset = fEndOffset;
         }
     }
@@ -428,8 +431,8 @@ public class RangeImpl implements Range {
         Node parent = refNode.getParentNode();
         if (parent != null ) // REVIST: what to do if it IS null?
         {
-            fStartContainer = parent;
-            fEndContainer = parent;
+            setStartContainer(parent);
+            setEndContainer(parent);
             int i = 0;
             for (Node n = refNode; n!=null; n = n.getPreviousSibling()) {
                 i++;
@@ -459,8 +462,8 @@ public class RangeImpl implements Range {
                         DOMMessageFormatter.formatMessage(DOMMessageFormatter.DOM_DOMAIN, "WRONG_DOCUMENT_ERR", null));
             }
         }
-        fStartContainer = refNode;
-        fEndContainer = refNode;
+        setStartContainer(refNode);
+        setEndContainer(refNode);
         Node first = refNode.getFirstChild();
         fStartOffset = 0;
         if (first == null) {
@@ -676,7 +679,7 @@ public class RangeImpl implements Range {
             }
              //update ranges after the insertion
              if ( fEndContainer == fStartContainer) {
-                  fEndContainer = cloneCurrent; //endContainer is the new Node created
+                  setEndContainer(cloneCurrent); //endContainer is the new Node created
                   fEndOffset -= fStartOffset;   
              }
              else if ( fEndContainer == parent ) {    //endContainer was not a text Node.
@@ -868,14 +871,14 @@ public class RangeImpl implements Range {
         && fStartContainer.getNodeType() == Node.TEXT_NODE) {
             if (fStartOffset > offset) {
                 fStartOffset = fStartOffset - offset;
-                fStartContainer = newNode;
+                setStartContainer(newNode);
             }
         }
         if (node == fEndContainer 
         && fEndContainer.getNodeType() == Node.TEXT_NODE) {
             if (fEndOffset > offset) {
                 fEndOffset = fEndOffset-offset;
-                fEndContainer = newNode;
+                setEndContainer(newNode);
             }
         }
         
@@ -1030,11 +1033,11 @@ public class RangeImpl implements Range {
         if (parent != fStartContainer 
         ||  parent != fEndContainer) {
             if (isAncestorOf(node, fStartContainer)) {
-                fStartContainer = parent;
+                setStartContainer(parent);
                 fStartOffset = indexOf( node, parent);
             }   
             if (isAncestorOf(node, fEndContainer)) {
-                fEndContainer = parent;
+                setEndContainer(parent);
                 fEndOffset = indexOf( node, parent);
             }
         } 
@@ -1045,6 +1048,22 @@ public class RangeImpl implements Range {
     // Utility functions.
     //
     
+    /** Sets the start container and updates the document's index. */
+    private void setStartContainer(Node container) {
+        fStartContainer = container;
+        if (fReference != null) {
+            fDocument.rangeMoved(fReference, fStartContainer, fEndContainer);
+        }
+    }
+    
+    /** Sets the end container and updates the document's index. */
+    private void setEndContainer(Node container) {
+        fEndContainer = container;
+        if (fReference != null) {
+            fDocument.rangeMoved(fReference, fStartContainer, fEndContainer);
+        }
+    }
+    
     // parameters for traverseContents(int)
     //REVIST: use boolean, since there are only 2 now...
     static final int EXTRACT_CONTENTS = 1;
@@ -244,6 +244,21 @@ public final class Constants {
     /** Defer node expansion feature ("dom/defer-node-expansion"). */
     public static final String DEFER_NODE_EXPANSION_FEATURE = "dom/defer-node-expansion";
     
+    /** Compact node storage feature ("dom/compact-node-storage"). */
+    public static final String COMPACT_NODE_STORAGE_FEATURE = "dom/compact-node-storage";
+    
+    /** Off-heap node storage feature ("dom/off-heap-node-storage"). */
+    public static final String OFF_HEAP_NODE_STORAGE_FEATURE = "dom/off-heap-node-storage";
+    
+    /** Freeze document feature ("dom/freeze-document"). */
+    public static final String FREEZE_DOCUMENT_FEATURE = "dom/freeze-document";
+    
+    /** Index element names feature ("dom/index-element-names"). */
+    public static final String INDEX_ELEMENT_NAMES_FEATURE = "dom/index-element-names";
+    
+    /** Parallel serialization feature ("dom/parallel-serialization"). */
+    public static final String PARALLEL_SERIALIZATION_FEATURE = "dom/parallel-serialization";
+    
     /** Create entity reference nodes feature ("dom/create-entity-ref-nodes"). */
     public static final String CREATE_ENTITY_REF_NODES_FEATURE = "dom/create-entity-ref-nodes";
     
@@ -282,6 +297,9 @@ public final class Constants {
     
     /** Namespace growth feature ("namespace-growth"). */
     public static final String NAMESPACE_GROWTH_FEATURE = "namespace-growth";
+    
+    /** Parallel schema loading feature ("parallel-schema-loading"). */
+    public static final String PARALLEL_SCHEMA_LOADING_FEATURE = "parallel-schema-loading";
 
     /** Tolerate duplicates feature ("internal/tolerate-duplicates"). */
     public static final String TOLERATE_DUPLICATES_FEATURE = "internal/tolerate-duplicates";
@@ -289,6 +307,13 @@ public final class Constants {
     /** String interned feature ("internal/strings-interned"). */
     public static final String STRINGS_INTERNED_FEATURE = "internal/strings-interned";
     
+    /** 
+     * Internal feature. When set to true the entity manager takes its byte
+     * and character buffers from a pool shared by all parsers in the process
+     * ("internal/shared-buffer-pool").
+     */
+    public static final String SHARED_BUFFER_POOL_FEATURE = "internal/shared-buffer-pool";
+    
     /** XInclude processing feature ("xinclude"). */
     public static final String XINCLUDE_FEATURE = "xinclude";
     
@@ -338,6 +363,13 @@ public final class Constants {
      */
     public static final String USE_GRAMMAR_POOL_ONLY_FEATURE = "internal/validation/schema/use-grammar-pool-only";
     
+    /**
+     * Internal feature. When set to true schemas created by the schema
+     * factory store their grammars in a pool which can be read by many
+     * threads without locking.
+     */
+    public static final String CONCURRENT_GRAMMAR_POOL_FEATURE = "internal/validation/schema/concurrent-grammar-pool";
+    
     /** Internal performance related feature: 
      * false - the parser settings (features/properties) have not changed between 2 parses
      * true - the parser settings have changed between 2 parses  
@@ -356,6 +388,15 @@ public final class Constants {
     /** Document class name property ("dom/document-class-name"). */
     public static final String DOCUMENT_CLASS_NAME_PROPERTY = "dom/document-class-name";
     
+    /** Subtree path property ("dom/subtree-path"). */
+    public static final String DOM_SUBTREE_PATH_PROPERTY = "dom/subtree-path";
+    
+    /** Subtree handler property ("dom/subtree-handler"). */
+    public static final String DOM_SUBTREE_HANDLER_PROPERTY = "dom/subtree-handler";
+    
+    /** Parallel serialization depth property ("dom/parallel-serialization-depth"). */
+    public static final String PARALLEL_SERIALIZATION_DEPTH_PROPERTY = "dom/parallel-serialization-depth";
+    
     /** Symbol table property ("internal/symbol-table"). */
     public static final String SYMBOL_TABLE_PROPERTY = "internal/symbol-table";
     
@@ -434,6 +475,9 @@ public final class Constants {
     /** Schema element declaration for the root element in a document ("internal/validation/schema/dv-factory"). */
     public static final String SCHEMA_DV_FACTORY_PROPERTY = "internal/validation/schema/dv-factory";
     
+    /** Number of validated values cached per simple type ("validation/schema/value-cache-size"). */
+    public static final String VALUE_CACHE_SIZE_PROPERTY = "validation/schema/value-cache-size";
+    
     // general constants
     
     /** Element PSVI is stored in augmentations using string "ELEMENT_PSVI" */
@@ -530,14 +574,18 @@ public final class Constants {
             IDC_CHECKING_FEATURE,
             UNPARSED_ENTITY_CHECKING_FEATURE,
             NAMESPACE_GROWTH_FEATURE,
+            PARALLEL_SCHEMA_LOADING_FEATURE,
             TOLERATE_DUPLICATES_FEATURE,
             STRINGS_INTERNED_FEATURE,
+            SHARED_BUFFER_POOL_FEATURE,
     };
     
     /** Xerces properties. */
     private static final String[] fgXercesProperties = {
             CURRENT_ELEMENT_NODE_PROPERTY,
             DOCUMENT_CLASS_NAME_PROPERTY,
+            DOM_SUBTREE_PATH_PROPERTY,
+            DOM_SUBTREE_HANDLER_PROPERTY,
             SYMBOL_TABLE_PROPERTY,
             ERROR_HANDLER_PROPERTY,
             ERROR_REPORTER_PROPERTY,
@@ -557,6 +605,7 @@ public final class Constants {
             ROOT_TYPE_DEFINITION_PROPERTY,
             ROOT_ELEMENT_DECLARATION_PROPERTY,
             SCHEMA_DV_FACTORY_PROPERTY,
+            VALUE_CACHE_SIZE_PROPERTY,
     };
     
     /** Empty enumeration. */
@@ -26,10 +26,13 @@ import java.io.OutputStream;
 import java.io.Reader;
 import java.io.StringReader;
 import java.net.HttpURLConnection;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.net.URL;
 import java.net.URLConnection;
 import java.security.AccessController;
 import java.security.PrivilegedAction;
+import java.util.ArrayList;
 import java.util.Hashtable;
 import java.util.Iterator;
 import java.util.Locale;
@@ -38,6 +41,9 @@ import java.util.Stack;
 import java.util.StringTokenizer;
 
 import org.apache.xerces.impl.io.ASCIIReader;
+import org.apache.xerces.impl.io.ByteBufferASCIIReader;
+import org.apache.xerces.impl.io.ByteBufferInputStream;
+import org.apache.xerces.impl.io.ByteBufferUTF8Reader;
 import org.apache.xerces.impl.io.Latin1Reader;
 import org.apache.xerces.impl.io.UCSReader;
 import org.apache.xerces.impl.io.UTF16Reader;
@@ -45,10 +51,13 @@ import org.apache.xerces.impl.io.UTF8Reader;
 import org.apache.xerces.impl.msg.XMLMessageFormatter;
 import org.apache.xerces.impl.validation.ValidationManager;
 import org.apache.xerces.util.AugmentationsImpl;
+import org.apache.xerces.util.BufferPool;
+import org.apache.xerces.util.ByteBufferInputSource;
 import org.apache.xerces.util.EncodingMap;
 import org.apache.xerces.util.HTTPInputSource;
 import org.apache.xerces.util.SecurityManager;
 import org.apache.xerces.util.SymbolTable;
+import org.apache.xerces.util.SynchronizedBufferPool;
 import org.apache.xerces.util.URI;
 import org.apache.xerces.util.XMLChar;
 import org.apache.xerces.util.XMLEntityDescriptionImpl;
@@ -107,6 +116,19 @@ public class XMLEntityManager
     /** Default internal entity buffer size (512). */
     public static final int DEFAULT_INTERNAL_BUFFER_SIZE = 512;
 
+    /** 
+     * Number of times an external entity buffer may be doubled when
+     * the entity is known to be large. Buffers are never grown beyond
+     * <code>fBufferSize &lt;&lt; MAX_BUFFER_GROWTH</code>.
+     */
+    private static final int MAX_BUFFER_GROWTH = 4;
+    
+    /** 
+     * Maximum number of buffers of ended entities held back from the
+     * shared pool while a document is being scanned.
+     */
+    private static final int MAX_RELEASED_BUFFERS = 8;
+
     // feature identifiers
 
     /** Feature identifier: validation. */
@@ -136,6 +158,10 @@ public class XMLEntityManager
 	protected static final String PARSER_SETTINGS = 
 		Constants.XERCES_FEATURE_PREFIX + Constants.PARSER_SETTINGS;	
 
+    /** Feature identifier: shared buffer pool. */
+    protected static final String SHARED_BUFFER_POOL =
+        Constants.XERCES_FEATURE_PREFIX + Constants.SHARED_BUFFER_POOL_FEATURE;
+
     // property identifiers
 
     /** Property identifier: symbol table. */
@@ -171,7 +197,8 @@ public class XMLEntityManager
         EXTERNAL_PARAMETER_ENTITIES,
         ALLOW_JAVA_ENCODINGS,
         WARN_ON_DUPLICATE_ENTITYDEF,
-        STANDARD_URI_CONFORMANT
+        STANDARD_URI_CONFORMANT,
+        SHARED_BUFFER_POOL
     };
 
     /** Feature defaults. */
@@ -181,6 +208,7 @@ public class XMLEntityManager
         Boolean.TRUE,
         Boolean.FALSE,
         Boolean.FALSE,
+        Boolean.FALSE,
         Boolean.FALSE
     };
 
@@ -266,6 +294,12 @@ public class XMLEntityManager
      */
     protected boolean fStrictURI;
 
+    /**
+     * Take buffers from the pool shared by all parsers.
+     * http://apache.org/xml/features/internal/shared-buffer-pool
+     */
+    protected boolean fUseSharedBufferPool;
+
     // properties
 
     /**
@@ -366,17 +400,34 @@ public class XMLEntityManager
     /** Augmentations for entities. */
     private final Augmentations fEntityAugs = new AugmentationsImpl();
     
-    /** Pool of byte buffers for single byte and variable width encodings, such as US-ASCII and UTF-8. */
-    private final ByteBufferPool fSmallByteBufferPool = new ByteBufferPool(fBufferSize);
+    /** Pool of byte and character buffers used by this entity manager. */
+    private final BufferPool fLocalBufferPool = new BufferPool();
     
-    /** Pool of byte buffers for 2-byte encodings, such as UTF-16. **/
-    private final ByteBufferPool fLargeByteBufferPool = new ByteBufferPool(fBufferSize << 1);
+    /** Pool of byte and character buffers currently in use. */
+    private BufferPool fBufferPool = fLocalBufferPool;
+    
+    /** 
+     * Buffers of ended entities taken from the shared pool. They are
+     * reused for the next entities of this document and returned to
+     * the shared pool once the document has been scanned, since views
+     * of the scanner may still point into them.
+     */
+    private final ArrayList fReleasedBuffers = new ArrayList();
     
     /** Temporary storage for the current entity's byte buffer. */
     private byte[] fTempByteBuffer = null;
     
-    /** Pool of character buffers. */
-    private final CharacterBufferPool fCharacterBufferPool = new CharacterBufferPool(fBufferSize, DEFAULT_INTERNAL_BUFFER_SIZE);
+    /** Size of the buffers of the entity being set up. */
+    private int fTempBufferSize = DEFAULT_BUFFER_SIZE;
+    
+    /** 
+     * Size in characters of the last document entity scanned, 
+     * used to size the buffers of the next document entity.
+     */
+    private int fObservedEntitySize = 0;
+    
+    /** Pool of byte and character buffers shared by all parsers. */
+    private static final BufferPool fgSharedBufferPool = new SynchronizedBufferPool(16, BufferPool.DEFAULT_MAX_BUCKETS);
 
     //
     // Constructors
@@ -993,6 +1044,10 @@ public class XMLEntityManager
         final boolean encodingExternallySpecified = (encoding != null);
         Boolean isBigEndian = null;
         fTempByteBuffer = null;
+        // the size of the last document scanned is a good guess
+        // for the size of the next one
+        final int sizeHint = (isExternal && fCurrentEntity == null) ? fObservedEntitySize : 0;
+        fTempBufferSize = isExternal ? getExternalBufferSize(sizeHint) : DEFAULT_INTERNAL_BUFFER_SIZE;
 
         // create reader
         InputStream stream = null;
@@ -1004,6 +1059,15 @@ public class XMLEntityManager
         }
         if (reader == null) {
             stream = xmlInputSource.getByteStream();
+            if (stream == null && xmlInputSource instanceof ByteBufferInputSource) {
+                final ByteBufferInputSource byteBufferInputSource = (ByteBufferInputSource) xmlInputSource;
+                if (byteBufferInputSource.getByteBuffer() != null) {
+                    stream = new EntityByteBufferInputStream(byteBufferInputSource.getByteBuffer());
+                }
+                else if (byteBufferInputSource.getFileChannel() != null) {
+                    stream = new EntityByteBufferInputStream(byteBufferInputSource.getFileChannel());
+                }
+            }
             if (stream == null) {
                 URL location = new URL(expandedSystemId);
                 URLConnection connect = location.openConnection();
@@ -1049,9 +1113,18 @@ public class XMLEntityManager
                     }
                 }
             }
-            // wrap this stream in RewindableInputStream
-            RewindableInputStream rewindableStream = new RewindableInputStream(stream);
-            stream = rewindableStream;
+            // size the buffers from the number of bytes which can be
+            // read without blocking; for local files this is the size
+            // of the file
+            if (isExternal) {
+                fTempBufferSize = getExternalBufferSize(Math.max(sizeHint, available(stream)));
+            }
+
+            // wrap this stream in RewindableInputStream; byte buffers
+            // can already be rewound and are read by their own readers
+            if (!(stream instanceof EntityByteBufferInputStream)) {
+                stream = new RewindableInputStream(stream);
+            }
 
             // perform auto-detect of encoding if necessary
             if (encoding == null) {
@@ -1059,7 +1132,7 @@ public class XMLEntityManager
                 final byte[] b4 = new byte[4];
                 int count = 0;
                 for (; count<4; count++ ) {
-                    b4[count] = (byte)rewindableStream.readAndBuffer();
+                    b4[count] = (byte)readAndBuffer(stream);
                 }
                 if (count == 4) {
                     final EncodingInfo info = getEncodingInfo(b4, count);
@@ -1098,7 +1171,7 @@ public class XMLEntityManager
                     final int[] b3 = new int[3];
                     int count = 0;
                     for (; count < 3; ++count) {
-                        b3[count] = rewindableStream.readAndBuffer();
+                        b3[count] = readAndBuffer(stream);
                         if (b3[count] == -1)
                             break;
                     }
@@ -1119,7 +1192,7 @@ public class XMLEntityManager
                     final int[] b4 = new int[4];
                     int count = 0;
                     for (; count < 4; ++count) {
-                        b4[count] = rewindableStream.readAndBuffer();
+                        b4[count] = readAndBuffer(stream);
                         if (b4[count] == -1)
                             break;
                     }
@@ -1158,7 +1231,7 @@ public class XMLEntityManager
                     final int[] b4 = new int[4];
                     int count = 0;
                     for (; count < 4; ++count) {
-                        b4[count] = rewindableStream.readAndBuffer();
+                        b4[count] = readAndBuffer(stream);
                         if (b4[count] == -1)
                             break;
                     }
@@ -1183,7 +1256,7 @@ public class XMLEntityManager
                     final int[] b4 = new int[4];
                     int count = 0;
                     for (; count < 4; ++count) {
-                        b4[count] = rewindableStream.readAndBuffer();
+                        b4[count] = readAndBuffer(stream);
                         if (b4[count] == -1)
                             break;
                     }
@@ -1281,6 +1354,7 @@ public class XMLEntityManager
                 // ignore
             }
         }
+        returnReleasedBuffers();
     }
 
     //
@@ -1345,6 +1419,13 @@ public class XMLEntityManager
             fStrictURI = false;
         }
 
+        try {
+            setUseSharedBufferPool(componentManager.getFeature(SHARED_BUFFER_POOL));
+        }
+        catch (XMLConfigurationException e) {
+            setUseSharedBufferPool(false);
+        }
+
         // xerces properties
         fSymbolTable = (SymbolTable)componentManager.getProperty(SYMBOL_TABLE);
         fErrorReporter = (XMLErrorReporter)componentManager.getProperty(ERROR_REPORTER);
@@ -1384,6 +1465,7 @@ public class XMLEntityManager
         fEntities.clear();
         fEntityStack.removeAllElements();
         fEntityExpansionCount = 0;
+        returnReleasedBuffers();
 
         fCurrentEntity = null;
         // reset scanner
@@ -1461,6 +1543,10 @@ public class XMLEntityManager
                 featureId.endsWith(Constants.ALLOW_JAVA_ENCODINGS_FEATURE)) {
                 fAllowJavaEncodings = state;
             }
+            else if (suffixLength == Constants.SHARED_BUFFER_POOL_FEATURE.length() && 
+                featureId.endsWith(Constants.SHARED_BUFFER_POOL_FEATURE)) {
+                setUseSharedBufferPool(state);
+            }
         }
 
     } // setFeature(String,boolean)
@@ -1515,9 +1601,10 @@ public class XMLEntityManager
                     bufferSize.intValue() > DEFAULT_XMLDECL_BUFFER_SIZE) {
                     fBufferSize = bufferSize.intValue();
                     fEntityScanner.setBufferSize(fBufferSize);
-                    fSmallByteBufferPool.setBufferSize(fBufferSize);
-                    fLargeByteBufferPool.setBufferSize(fBufferSize << 1);
-                    fCharacterBufferPool.setExternalBufferSize(fBufferSize);
+                    fObservedEntitySize = 0;
+                    // buffers are pooled by length; drop the ones
+                    // of the old size
+                    fLocalBufferPool.clear();
                 }
             }
             if (suffixLength == Constants.SECURITY_MANAGER_PROPERTY.length() && 
@@ -1980,16 +2067,26 @@ public class XMLEntityManager
             fReaderStack.pop();
         } 
 
-        // Release the character buffer back to the pool for reuse
-        fCharacterBufferPool.returnBuffer(fCurrentEntity.fCharacterBuffer);
+        // Remember the size of the document entity so that
+        // the buffers for the next one can be sized to fit
+        if (fEntityStack.isEmpty() && fCurrentEntity.isExternal) {
+            fObservedEntitySize = fCurrentEntity.baseCharOffset + 
+                (fCurrentEntity.position - fCurrentEntity.startPosition);
+        }
         
-        // Release the byte buffer back to the pool for reuse
-        if (fCurrentEntity.fByteBuffer != null) {
-            if (fCurrentEntity.fByteBuffer.length == fBufferSize) {
-                fSmallByteBufferPool.returnBuffer(fCurrentEntity.fByteBuffer);
+        // Release the buffers back to the pool for reuse. Other parsers
+        // take buffers from the shared pool, so buffers from that pool
+        // are held until the document has been scanned.
+        if (fBufferPool == fLocalBufferPool) {
+            fBufferPool.returnCharBuffer(fCurrentEntity.fCharacterBuffer);
+            if (fCurrentEntity.fByteBuffer != null) {
+                fBufferPool.returnByteBuffer(fCurrentEntity.fByteBuffer);
             }
-            else {
-                fLargeByteBufferPool.returnBuffer(fCurrentEntity.fByteBuffer);
+        }
+        else {
+            holdReleasedBuffer(fCurrentEntity.fCharacterBuffer);
+            if (fCurrentEntity.fByteBuffer != null) {
+                holdReleasedBuffer(fCurrentEntity.fByteBuffer);
             }
         }
         
@@ -2215,12 +2312,18 @@ public class XMLEntityManager
     
     /** Create a new UTF-8 reader from the InputStream. **/
     private Reader createUTF8Reader(InputStream stream) {
+        if (stream instanceof ByteBufferInputStream) {
+            if (DEBUG_ENCODINGS) {
+                System.out.println("$$$ creating ByteBufferUTF8Reader");
+            }
+            return new ByteBufferUTF8Reader((ByteBufferInputStream) stream,
+                    fErrorReporter.getMessageFormatter(XMLMessageFormatter.XML_DOMAIN), 
+                    fErrorReporter.getLocale());
+        }
         if (DEBUG_ENCODINGS) {
             System.out.println("$$$ creating UTF8Reader");
         }
-        if (fTempByteBuffer == null) {
-            fTempByteBuffer = fSmallByteBufferPool.getBuffer();
-        }
+        getTempByteBuffer(fTempBufferSize);
         return new UTF8Reader(stream,
                 fTempByteBuffer, 
                 fErrorReporter.getMessageFormatter(XMLMessageFormatter.XML_DOMAIN), 
@@ -2232,14 +2335,7 @@ public class XMLEntityManager
         if (DEBUG_ENCODINGS) {
             System.out.println("$$$ creating UTF16Reader");
         }
-        if (fTempByteBuffer == null) {
-            fTempByteBuffer = fLargeByteBufferPool.getBuffer();
-        }
-        // The cached buffer is too small, we need a larger one.
-        else if (fTempByteBuffer.length == fBufferSize) {
-            fSmallByteBufferPool.returnBuffer(fTempByteBuffer);
-            fTempByteBuffer = fLargeByteBufferPool.getBuffer();
-        }
+        getTempByteBuffer(fTempBufferSize << 1);
         return new UTF16Reader(stream,
                 fTempByteBuffer, 
                 isBigEndian, 
@@ -2249,12 +2345,18 @@ public class XMLEntityManager
     
     /** Create a new ASCII reader from the InputStream. **/
     private Reader createASCIIReader(InputStream stream) {
+        if (stream instanceof ByteBufferInputStream) {
+            if (DEBUG_ENCODINGS) {
+                System.out.println("$$$ creating ByteBufferASCIIReader");
+            }
+            return new ByteBufferASCIIReader((ByteBufferInputStream) stream,
+                    fErrorReporter.getMessageFormatter(XMLMessageFormatter.XML_DOMAIN), 
+                    fErrorReporter.getLocale());
+        }
         if (DEBUG_ENCODINGS) {
             System.out.println("$$$ creating ASCIIReader");
         }
-        if (fTempByteBuffer == null) {
-            fTempByteBuffer = fSmallByteBufferPool.getBuffer();
-        }
+        getTempByteBuffer(fTempBufferSize);
         return new ASCIIReader(stream, 
                 fTempByteBuffer, 
                 fErrorReporter.getMessageFormatter(XMLMessageFormatter.XML_DOMAIN), 
@@ -2266,11 +2368,110 @@ public class XMLEntityManager
         if (DEBUG_ENCODINGS) {
             System.out.println("$$$ creating Latin1Reader");
         }
-        if (fTempByteBuffer == null) {
-            fTempByteBuffer = fSmallByteBufferPool.getBuffer();
-        }
+        getTempByteBuffer(fTempBufferSize);
         return new Latin1Reader(stream, fTempByteBuffer);
     } // createLatin1Reader(InputStream):Reader
+    
+    /** 
+     * Makes sure the temporary byte buffer holds at least the given
+     * number of bytes, replacing it with a buffer from the pool if
+     * it is too small.
+     */
+    private void getTempByteBuffer(int length) {
+        if (fTempByteBuffer != null) {
+            if (fTempByteBuffer.length >= length) {
+                return;
+            }
+            fBufferPool.returnByteBuffer(fTempByteBuffer);
+        }
+        fTempByteBuffer = (byte[]) takeReleasedBuffer(false, length);
+        if (fTempByteBuffer == null) {
+            fTempByteBuffer = fBufferPool.getByteBuffer(length);
+        }
+    } // getTempByteBuffer(int)
+    
+    /**
+     * Returns the size of the buffers for an external entity of
+     * roughly the given size. The buffer size is doubled while the
+     * entity is at least sixteen times larger than the buffer, up 
+     * to a limit, so that large documents are read in fewer, larger
+     * chunks. Small entities use the configured buffer size.
+     */
+    private int getExternalBufferSize(long sizeHint) {
+        int size = fBufferSize;
+        final int maxSize = fBufferSize << MAX_BUFFER_GROWTH;
+        while (size < maxSize && ((long) size << 4) <= sizeHint) {
+            size <<= 1;
+        }
+        return size;
+    } // getExternalBufferSize(long):int
+    
+    /** Returns the number of bytes available from the stream, or 0 if unknown. */
+    private static int available(InputStream stream) {
+        try {
+            return stream.available();
+        }
+        catch (IOException e) {
+            return 0;
+        }
+    } // available(InputStream):int
+    
+    /** 
+     * Holds a buffer of an ended entity until the document has been
+     * scanned. Buffers beyond the limit are left to the garbage collector.
+     */
+    private void holdReleasedBuffer(Object buffer) {
+        if (fReleasedBuffers.size() < MAX_RELEASED_BUFFERS) {
+            fReleasedBuffers.add(buffer);
+        }
+    } // holdReleasedBuffer(Object)
+    
+    /** 
+     * Takes a held buffer of the given kind and length for reuse by
+     * this document, or returns null if there is none.
+     */
+    private Object takeReleasedBuffer(boolean chars, int length) {
+        for (int i = fReleasedBuffers.size() - 1; i >= 0; i--) {
+            final Object buffer = fReleasedBuffers.get(i);
+            if (chars ? buffer instanceof char[] && ((char[]) buffer).length == length
+                      : buffer instanceof byte[] && ((byte[]) buffer).length == length) {
+                return fReleasedBuffers.remove(i);
+            }
+        }
+        return null;
+    } // takeReleasedBuffer(boolean,int):Object
+    
+    /** Returns the buffers of ended entities to the shared pool. */
+    private void returnReleasedBuffers() {
+        for (int i = fReleasedBuffers.size() - 1; i >= 0; i--) {
+            final Object buffer = fReleasedBuffers.get(i);
+            if (buffer instanceof char[]) {
+                fgSharedBufferPool.returnCharBuffer((char[]) buffer);
+            }
+            else {
+                fgSharedBufferPool.returnByteBuffer((byte[]) buffer);
+            }
+        }
+        fReleasedBuffers.clear();
+    } // returnReleasedBuffers()
+    
+    /** Switches between this entity manager's buffer pool and the shared pool. */
+    private void setUseSharedBufferPool(boolean useSharedBufferPool) {
+        fUseSharedBufferPool = useSharedBufferPool;
+        fBufferPool = useSharedBufferPool ? fgSharedBufferPool : fLocalBufferPool;
+    } // setUseSharedBufferPool(boolean)
+    
+    /** 
+     * Reads a byte from the start of an entity's stream while
+     * detecting its encoding, so that it can be read again after
+     * the stream is reset.
+     */
+    private int readAndBuffer(InputStream stream) throws IOException {
+        if (stream instanceof RewindableInputStream) {
+            return ((RewindableInputStream) stream).readAndBuffer();
+        }
+        return stream.read();
+    } // readAndBuffer(InputStream):int
 
     //
     // Protected static methods
@@ -2707,8 +2908,8 @@ public class XMLEntityManager
         // to allow the reader/inputStream to behave efficiently:
         public boolean mayReadChunks;
         
-        /** Character buffer container. */
-        private CharacterBuffer fCharacterBuffer;
+        /** Character buffer taken from the pool. */
+        private char[] fCharacterBuffer;
         
         /** Byte buffer. */
         private byte [] fByteBuffer;
@@ -2730,8 +2931,11 @@ public class XMLEntityManager
             this.literal = literal;
             this.mayReadChunks = mayReadChunks;
             this.isExternal = isExternal;
-            this.fCharacterBuffer = fCharacterBufferPool.getBuffer(isExternal);
-            this.ch = fCharacterBuffer.ch;
+            this.fCharacterBuffer = (char[]) takeReleasedBuffer(true, fTempBufferSize);
+            if (this.fCharacterBuffer == null) {
+                this.fCharacterBuffer = fBufferPool.getCharBuffer(fTempBufferSize);
+            }
+            this.ch = fCharacterBuffer;
             this.fByteBuffer = byteBuffer;
         } // <init>(StringXMLResourceIdentifier,InputStream,Reader,String,boolean, boolean)
 
@@ -2751,6 +2955,7 @@ public class XMLEntityManager
 
         public void setReader(InputStream stream, String encoding, Boolean isBigEndian) throws IOException {
             fTempByteBuffer = fByteBuffer;
+            fTempBufferSize = fCharacterBuffer.length;
             reader = createReader(stream, encoding, isBigEndian);
             fByteBuffer = fTempByteBuffer;
         }
@@ -2947,156 +3152,6 @@ public class XMLEntityManager
         
     } // class EncodingInfo
     
-    /**
-     * Pool of byte buffers for the java.io.Readers.
-     * 
-     * @xerces.internal
-     * 
-     * @author Michael Glavassevich, IBM
-     */
-    private static final class ByteBufferPool {
-        
-        private static final int DEFAULT_POOL_SIZE = 3;
-        
-        private int fPoolSize;
-        private int fBufferSize;
-        private byte[][] fByteBufferPool;
-        private int fDepth;
-        
-        public ByteBufferPool(int bufferSize) {
-            this(DEFAULT_POOL_SIZE, bufferSize);
-        }
-        
-        public ByteBufferPool(int poolSize, int bufferSize) {
-            fPoolSize = poolSize;
-            fBufferSize = bufferSize;
-            fByteBufferPool = new byte[fPoolSize][];
-            fDepth = 0;
-        }
-        
-        /** Retrieves a byte buffer from the pool. **/
-        public byte[] getBuffer() {
-            return (fDepth > 0) ? fByteBufferPool[--fDepth] : new byte[fBufferSize];
-        }
-        
-        /** Returns byte buffer to pool. **/
-        public void returnBuffer(byte[] buffer) {
-            if (fDepth < fByteBufferPool.length) {
-                fByteBufferPool[fDepth++] = buffer;
-            }
-        }
-
-        /** Sets the size of the buffers and dumps the old pool. **/
-        public void setBufferSize(int bufferSize) {
-            fBufferSize = bufferSize;
-            fByteBufferPool = new byte[fPoolSize][];
-            fDepth = 0;
-        } 
-    }
-    
-    /**
-     * Buffer used in entity manager to reuse character arrays instead
-     * of creating new ones every time.
-     * 
-     * @xerces.internal
-     * 
-     * @author Ankit Pasricha, IBM
-     */
-    private static final class CharacterBuffer {
-
-        /** character buffer */
-        private final char[] ch;
-        
-        /** whether the buffer is for an external or internal scanned entity */
-        private final boolean isExternal;
-        
-        public CharacterBuffer(boolean isExternal, int size) {
-            this.isExternal = isExternal;
-            ch = new char[size];
-        }
-    }
-    
-    /**
-     * Stores a number of character buffers and provides it to the entity
-     * manager to use when an entity is seen.
-     * 
-     * @xerces.internal 
-     * 
-     * @author Ankit Pasricha, IBM
-     */
-    private static final class CharacterBufferPool {
-
-        private static final int DEFAULT_POOL_SIZE = 3;
-        
-        private CharacterBuffer[] fInternalBufferPool;
-        private CharacterBuffer[] fExternalBufferPool;
-
-        private int fExternalBufferSize;
-        private int fInternalBufferSize;
-        private int fPoolSize;
-        
-        private int fInternalTop;
-        private int fExternalTop;
-
-        public CharacterBufferPool(int externalBufferSize, int internalBufferSize) {
-            this(DEFAULT_POOL_SIZE, externalBufferSize, internalBufferSize);
-        }
-        
-        public CharacterBufferPool(int poolSize, int externalBufferSize, int internalBufferSize) {
-            fExternalBufferSize = externalBufferSize;
-            fInternalBufferSize = internalBufferSize;
-            fPoolSize = poolSize;
-            init();
-        }
-        
-        /** Initializes buffer pool. **/
-        private void init() {
-            fInternalBufferPool = new CharacterBuffer[fPoolSize];
-            fExternalBufferPool = new CharacterBuffer[fPoolSize];
-            fInternalTop = -1;
-            fExternalTop = -1;
-        }
-
-        /** Retrieves buffer from pool. **/
-        public CharacterBuffer getBuffer(boolean external) {
-            if (external) {
-                if (fExternalTop > -1) {
-                    return (CharacterBuffer)fExternalBufferPool[fExternalTop--];
-                }
-                else {
-                    return new CharacterBuffer(true, fExternalBufferSize);
-                }
-            }
-            else {
-                if (fInternalTop > -1) {
-                    return (CharacterBuffer)fInternalBufferPool[fInternalTop--];
-                }
-                else {
-                    return new CharacterBuffer(false, fInternalBufferSize);
-                }
-            }
-        }
-        
-        /** Returns buffer to pool. **/
-        public void returnBuffer(CharacterBuffer buffer) {
-            if (buffer.isExternal) {
-                if (fExternalTop < fExternalBufferPool.length - 1) {
-                    fExternalBufferPool[++fExternalTop] = buffer;
-                }
-            }
-            else if (fInternalTop < fInternalBufferPool.length - 1) {
-                fInternalBufferPool[++fInternalTop] = buffer;
-            }
-        }
-
-        /** Sets the size of external buffers and dumps the old pool. **/
-        public void setExternalBufferSize(int bufferSize) {
-            fExternalBufferSize = bufferSize;
-            fExternalBufferPool = new CharacterBuffer[fPoolSize];
-            fExternalTop = -1;
-        }
-    }
-
     /**
      * This class wraps the byte inputstreams we're presented with.
      * We need it because java.io.InputStreams don't provide
@@ -3275,4 +3330,30 @@ public class XMLEntityManager
         }
     } // end of RewindableInputStream class
 
+    /**
+     * A stream over a byte buffer or a memory-mapped file channel.
+     * Like <code>RewindableInputStream</code>, it only returns a
+     * single byte (or character, from the byte buffer readers) per
+     * read until the scanner permits the current entity to read in
+     * chunks, so that the reader can be replaced when the encoding
+     * declaration is scanned. Rewinding is done by moving the position
+     * of the buffer, so the stream does not need to be wrapped.
+     *
+     * @xerces.internal
+     */
+    protected final class EntityByteBufferInputStream extends ByteBufferInputStream {
+
+        public EntityByteBufferInputStream(ByteBuffer buffer) {
+            super(buffer);
+        }
+
+        public EntityByteBufferInputStream(FileChannel channel) throws IOException {
+            super(channel);
+        }
+
+        protected boolean mayReadChunks() {
+            return fCurrentEntity.mayReadChunks;
+        }
+    } // end of EntityByteBufferInputStream class
+
 } // class XMLEntityManager
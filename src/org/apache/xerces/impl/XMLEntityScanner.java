@@ -19,6 +19,7 @@ package org.apache.xerces.impl;
 
 import java.io.EOFException;
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.Locale;
 
 import org.apache.xerces.impl.io.UCSReader;
@@ -44,6 +45,9 @@ public class XMLEntityScanner implements XMLLocator {
     // constants
     private static final boolean DEBUG_ENCODINGS = false;
     private static final boolean DEBUG_BUFFER = false;
+
+    /** Number of entries in the qualified name cache. Must be a power of two. */
+    private static final int NAME_CACHE_SIZE = 256;
     
     /**
      * To signal the end of the document entity, this exception will be thrown.
@@ -71,6 +75,23 @@ public class XMLEntityScanner implements XMLLocator {
      * http://apache.org/xml/properties/internal/error-reporter
      */
     protected XMLErrorReporter fErrorReporter;
+
+    // Recently scanned qualified names. A name's hash code is computed
+    // as it is scanned, so a name found here is returned without hashing
+    // it again and without looking up its prefix and local part.
+
+    /** Hash codes of the cached names. */
+    private final int[] fNameCacheHashes = new int[NAME_CACHE_SIZE];
+
+    /** Raw names; null for empty entries. */
+    private final String[] fNameCacheRawnames = new String[NAME_CACHE_SIZE];
+
+    /** Prefixes of the cached names. */
+    private final String[] fNameCachePrefixes = new String[NAME_CACHE_SIZE];
+
+    /** Local parts of the cached names. */
+    private final String[] fNameCacheLocalparts = new String[NAME_CACHE_SIZE];
+
     //
     // Constructors
     //
@@ -556,6 +577,7 @@ public class XMLEntityScanner implements XMLLocator {
                 }
             }
             int index = -1;
+            int hash = fCurrentEntity.ch[offset];
             while (XMLChar.isName(fCurrentEntity.ch[fCurrentEntity.position])) {
                 char c = fCurrentEntity.ch[fCurrentEntity.position];
 
@@ -565,6 +587,7 @@ public class XMLEntityScanner implements XMLLocator {
                     }
                     index = fCurrentEntity.position;
                 }
+                hash = hash * 31 + c;
                 if (++fCurrentEntity.position == fCurrentEntity.count) {
                     int length = fCurrentEntity.position - offset;
                     if (length == fCurrentEntity.ch.length) {
@@ -587,9 +610,23 @@ public class XMLEntityScanner implements XMLLocator {
             int length = fCurrentEntity.position - offset;
             fCurrentEntity.columnNumber += length;
             if (length > 0) {
+                final int bucket = (hash ^ (hash >>> 8)) & (NAME_CACHE_SIZE - 1);
+                String rawname = fNameCacheRawnames[bucket];
+                if (rawname != null && fNameCacheHashes[bucket] == hash &&
+                    isCachedName(rawname, offset, length)) {
+                    qname.setValues(fNameCachePrefixes[bucket],
+                            fNameCacheLocalparts[bucket], rawname, null);
+                    if (DEBUG_BUFFER) {
+                        System.out.print(")scanQName, "+qname+": ");
+                        XMLEntityManager.print(fCurrentEntity);
+                        System.out.println(" -> true");
+                    }
+                    return true;
+                }
                 String prefix = null;
                 String localpart = null;
-                String rawname = fSymbolTable.addSymbol(fCurrentEntity.ch,
+                boolean cacheName = true;
+                rawname = fSymbolTable.addSymbol(fCurrentEntity.ch,
                                                         offset, length);
                 if (index != -1) {
                     int prefixLength = index - offset;
@@ -602,6 +639,8 @@ public class XMLEntityScanner implements XMLLocator {
                                                  "IllegalQName",
                                                   null,
                                                   XMLErrorReporter.SEVERITY_FATAL_ERROR);
+                        // the error must be reported each time the name is seen
+                        cacheName = false;
                     }
                     localpart = fSymbolTable.addSymbol(fCurrentEntity.ch,
                                                        startLocal, len);
@@ -611,6 +650,12 @@ public class XMLEntityScanner implements XMLLocator {
                     localpart = rawname;
                 }
                 qname.setValues(prefix, localpart, rawname, null);
+                if (cacheName) {
+                    fNameCacheHashes[bucket] = hash;
+                    fNameCacheRawnames[bucket] = rawname;
+                    fNameCachePrefixes[bucket] = prefix;
+                    fNameCacheLocalparts[bucket] = localpart;
+                }
                 if (DEBUG_BUFFER) {
                     System.out.print(")scanQName, "+qname+": ");
                     XMLEntityManager.print(fCurrentEntity);
@@ -1704,6 +1749,11 @@ public class XMLEntityScanner implements XMLLocator {
     public final void reset(SymbolTable symbolTable, XMLEntityManager entityManager,
                         XMLErrorReporter reporter) {
         fCurrentEntity = null;
+        if (fSymbolTable != symbolTable) {
+            Arrays.fill(fNameCacheRawnames, null);
+            Arrays.fill(fNameCachePrefixes, null);
+            Arrays.fill(fNameCacheLocalparts, null);
+        }
         fSymbolTable = symbolTable;
         fEntityManager = entityManager;
         fErrorReporter = reporter;
@@ -1713,6 +1763,23 @@ public class XMLEntityScanner implements XMLLocator {
     // Private methods
     //
 
+    /**
+     * Returns true if the characters of the given name are at the
+     * given offset of the current entity's buffer.
+     */
+    private boolean isCachedName(String name, int offset, int length) {
+        if (name.length() != length) {
+            return false;
+        }
+        final char[] ch = fCurrentEntity.ch;
+        for (int i = 0; i < length; ++i) {
+            if (ch[offset + i] != name.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    } // isCachedName(String,int,int):boolean
+
     /**
      * Loads a chunk of text.
      *
@@ -31,6 +31,9 @@ import org.apache.xerces.xni.XNIException;
  * @version $Id$
  */
 final class BalancedDTDGrammar extends DTDGrammar {
+
+    /** Serialization version. */
+    static final long serialVersionUID = 8425300173141488187L;
     
     //
     // Data
@@ -17,6 +17,7 @@
 
 package org.apache.xerces.impl.dtd;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Hashtable;
 import java.util.Random;
@@ -61,7 +62,10 @@ import org.apache.xerces.xni.parser.XMLDTDSource;
  * @version $Id$
  */
 public class DTDGrammar 
-    implements XMLDTDHandler, XMLDTDContentModelHandler, EntityState, Grammar {
+    implements XMLDTDHandler, XMLDTDContentModelHandler, EntityState, Grammar, Serializable {
+
+    /** Serialization version. */
+    static final long serialVersionUID = 1682793072748862587L;
 
     //
     // Constants
@@ -99,8 +103,8 @@ public class DTDGrammar
     // Data
     //
 
-    protected XMLDTDSource fDTDSource = null;
-    protected XMLDTDContentModelSource fDTDContentModelSource = null;
+    protected transient XMLDTDSource fDTDSource = null;
+    protected transient XMLDTDContentModelSource fDTDContentModelSource = null;
 
     /** Current element index. */
     protected int fCurrentElementIndex;
@@ -111,8 +115,8 @@ public class DTDGrammar
     /** fReadingExternalDTD */
     protected boolean fReadingExternalDTD = false;
 
-    /** Symbol table. */
-    private SymbolTable fSymbolTable;
+    /** Symbol table. Grammars read from a stream have none. */
+    private transient SymbolTable fSymbolTable;
 
     // The XMLDTDDescription with which this Grammar is associated
     protected XMLDTDDescription fGrammarDescription = null;
@@ -1679,6 +1683,20 @@ public class DTDGrammar
         }
     }
 
+    /**
+     * Builds the content model of every element declaration with mixed
+     * or element content. Content models are otherwise built when an
+     * element is first validated.
+     */
+    public void buildContentModels() {
+        for (int i = 0; i < fElementDeclCount; ++i) {
+            final int type = fElementDeclType[i >> CHUNK_SHIFT][i & CHUNK_MASK];
+            if (type == XMLElementDecl.TYPE_MIXED || type == XMLElementDecl.TYPE_CHILDREN) {
+                getElementContentModelValidator(i);
+            }
+        }
+    } // buildContentModels()
+
     /**
      * getElementContentModelValidator
      * 
@@ -2638,7 +2656,10 @@ public class DTDGrammar
      * @author Eric Ye, IBM
      * @author Andy Clark, IBM
      */
-    protected static final class QNameHashtable {
+    protected static final class QNameHashtable implements Serializable {
+
+        /** Serialization version. */
+        static final long serialVersionUID = 5032700790943206820L;
         
         /**
          * Fills an array with a random sequence of prime numbers.
@@ -17,6 +17,8 @@
 
 package org.apache.xerces.impl.dtd;
 
+import java.io.Serializable;
+
 import org.apache.xerces.xni.QName;
 
 /**
@@ -24,7 +26,10 @@ import org.apache.xerces.xni.QName;
  * 
  * @version $Id$
  */
-public class XMLAttributeDecl {
+public class XMLAttributeDecl implements Serializable {
+
+    /** Serialization version. */
+    static final long serialVersionUID = 2159235152436516115L;
 
     //
     // Data
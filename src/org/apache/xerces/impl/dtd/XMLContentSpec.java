@@ -17,6 +17,8 @@
 
 package org.apache.xerces.impl.dtd;
 
+import java.io.Serializable;
+
 /**
  * ContentSpec really exists to aid the parser classes in implementing
  * access to the grammar.
@@ -71,7 +73,10 @@ package org.apache.xerces.impl.dtd;
  *
  * @version $Id$
  */
-public class XMLContentSpec {
+public class XMLContentSpec implements Serializable {
+
+    /** Serialization version. */
+    static final long serialVersionUID = -8211426827179629532L;
 
     //
     // Constants
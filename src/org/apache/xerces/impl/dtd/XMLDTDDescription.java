@@ -36,6 +36,9 @@ import org.apache.xerces.xni.parser.XMLInputSource;
 public class XMLDTDDescription extends XMLResourceIdentifierImpl
         implements org.apache.xerces.xni.grammars.XMLDTDDescription {
 
+    /** Serialization version. */
+    static final long serialVersionUID = -9087003829979999331L;
+
     // Data
 
     // pieces of information needed to make this usable as a Grammar key
@@ -17,6 +17,7 @@
 
 package org.apache.xerces.impl.dtd;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
@@ -25,6 +26,7 @@ import java.util.Map;
 import java.util.StringTokenizer;
 
 import org.apache.xerces.impl.Constants;
+import org.apache.xerces.impl.XMLEntityManager;
 import org.apache.xerces.impl.XMLErrorReporter;
 import org.apache.xerces.impl.msg.XMLMessageFormatter;
 import org.apache.xerces.util.SymbolTable;
@@ -104,6 +106,10 @@ public class XMLDTDProcessor
 	protected static final String PARSER_SETTINGS = 
         Constants.XERCES_FEATURE_PREFIX + Constants.PARSER_SETTINGS;
 
+    /** Feature identifier: load external DTD. */
+    protected static final String LOAD_EXTERNAL_DTD =
+        Constants.XERCES_FEATURE_PREFIX + Constants.LOAD_EXTERNAL_DTD_FEATURE;
+
     // property identifiers
 
     /** Property identifier: symbol table. */
@@ -122,6 +128,10 @@ public class XMLDTDProcessor
     protected static final String DTD_VALIDATOR =
         Constants.XERCES_PROPERTY_PREFIX + Constants.DTD_VALIDATOR_PROPERTY;
 
+    /** Property identifier: entity manager. */
+    protected static final String ENTITY_MANAGER =
+        Constants.XERCES_PROPERTY_PREFIX + Constants.ENTITY_MANAGER_PROPERTY;
+
     // recognized features and properties
 
     /** Recognized features. */
@@ -175,6 +185,9 @@ public class XMLDTDProcessor
     
     /** warn on undeclared element referenced in content model, this feature only works when valiation is true */
     protected boolean fWarnOnUndeclaredElemdef;
+
+    /** Load external DTD. */
+    protected boolean fLoadExternalDTD;
         
     // properties
 
@@ -195,6 +208,10 @@ public class XMLDTDProcessor
     // the grammar pool we'll try to add the grammar to:
     protected XMLGrammarPool fGrammarPool;
 
+    // the entity manager of the parser; the general entities of a
+    // cached grammar are declared to it in place of its external subset
+    protected XMLEntityManager fParserEntityManager;
+
     // what's our Locale?
     protected Locale fLocale;
 
@@ -321,6 +338,12 @@ public class XMLDTDProcessor
         catch (XMLConfigurationException e) {
             fWarnOnUndeclaredElemdef = false;
         }
+        try {
+            fLoadExternalDTD = componentManager.getFeature(LOAD_EXTERNAL_DTD);
+        }
+        catch (XMLConfigurationException e) {
+            fLoadExternalDTD = true;
+        }
 
         // get needed components
         fErrorReporter =
@@ -341,6 +364,11 @@ public class XMLDTDProcessor
         } catch (ClassCastException e) {
             fValidator = null;
         }
+        try {
+            fParserEntityManager = (XMLEntityManager) componentManager.getProperty(ENTITY_MANAGER);
+        } catch (XMLConfigurationException e) {
+            fParserEntityManager = null;
+        }
         // we get our grammarBucket from the validator...
         if (fValidator != null) {
             fGrammarBucket = fValidator.getGrammarBucket();
@@ -1275,6 +1303,11 @@ public class XMLDTDProcessor
             if(fGrammarPool != null)
                 fGrammarPool.cacheGrammars(XMLGrammarDescription.XML_DTD, new Grammar[] {fDTDGrammar});
         }
+        else if ((fValidation || fLoadExternalDTD) && fParserEntityManager != null &&
+                fGrammarBucket != null && fGrammarBucket.getActiveGrammar() != null) {
+            // the external subset was not read since the grammar was cached
+            declareEntities(fGrammarBucket.getActiveGrammar());
+        }
         if (fValidation) {
             DTDGrammar grammar = (fDTDGrammar != null? fDTDGrammar: fGrammarBucket.getActiveGrammar());
 
@@ -1605,6 +1638,46 @@ public class XMLDTDProcessor
     // Private methods
     //
 
+    /**
+     * Declares the general entities which a cached grammar read from
+     * its external subset. Entities declared by the internal subset of
+     * the document take precedence, as they were declared first.
+     *
+     * @param grammar The cached grammar.
+     */
+    private void declareEntities(DTDGrammar grammar) {
+        final XMLEntityDecl entityDecl = new XMLEntityDecl();
+        fParserEntityManager.startExternalSubset();
+        try {
+            for (int i = 0; grammar.getEntityDecl(i, entityDecl); ++i) {
+                if (entityDecl.isPE || !entityDecl.inExternal) {
+                    continue;
+                }
+                if (entityDecl.value != null) {
+                    fParserEntityManager.addInternalEntity(entityDecl.name, entityDecl.value);
+                }
+                else if (entityDecl.notation != null) {
+                    fParserEntityManager.addUnparsedEntity(entityDecl.name, entityDecl.publicId,
+                            entityDecl.systemId, entityDecl.baseSystemId, entityDecl.notation);
+                }
+                else {
+                    try {
+                        fParserEntityManager.addExternalEntity(entityDecl.name, entityDecl.publicId,
+                                entityDecl.systemId, entityDecl.baseSystemId);
+                    }
+                    catch (IOException e) {
+                        // the system identifier was already expanded when the
+                        // grammar was built; the entity is reported as
+                        // undeclared if it is referenced
+                    }
+                }
+            }
+        }
+        finally {
+            fParserEntityManager.endExternalSubset();
+        }
+    } // declareEntities(DTDGrammar)
+
     /**
      * Normalize the attribute value of a non CDATA default attribute
      * collapsing sequences of space characters (x20)
@@ -17,6 +17,8 @@
 
 package org.apache.xerces.impl.dtd;
 
+import java.io.Serializable;
+
 import org.apache.xerces.impl.dtd.models.ContentModelValidator;
 import org.apache.xerces.xni.QName;
 
@@ -25,7 +27,10 @@ import org.apache.xerces.xni.QName;
  * 
  * @version $Id$
  */
-public class XMLElementDecl {
+public class XMLElementDecl implements Serializable {
+
+    /** Serialization version. */
+    static final long serialVersionUID = 1532729954818323807L;
 
     //
     // Constants  
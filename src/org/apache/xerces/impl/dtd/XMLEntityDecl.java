@@ -17,12 +17,17 @@
 
 package org.apache.xerces.impl.dtd;
 
+import java.io.Serializable;
+
 /**
  * @xerces.internal
  * 
  * @version $Id$
  */
-public class XMLEntityDecl {
+public class XMLEntityDecl implements Serializable {
+
+    /** Serialization version. */
+    static final long serialVersionUID = -8162984975239734281L;
 
     //
     // Data
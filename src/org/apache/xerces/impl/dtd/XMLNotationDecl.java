@@ -17,12 +17,17 @@
 
 package org.apache.xerces.impl.dtd;
 
+import java.io.Serializable;
+
 /**
  * @xerces.internal
  * 
  * @version $Id$
  */
-public class XMLNotationDecl {
+public class XMLNotationDecl implements Serializable {
+
+    /** Serialization version. */
+    static final long serialVersionUID = -1732985975651111160L;
 
     //
     // Data
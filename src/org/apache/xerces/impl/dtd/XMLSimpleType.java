@@ -17,6 +17,8 @@
 
 package org.apache.xerces.impl.dtd;
 
+import java.io.Serializable;
+
 import org.apache.xerces.impl.dv.DatatypeValidator;
 
 /**
@@ -24,7 +26,10 @@ import org.apache.xerces.impl.dv.DatatypeValidator;
  * 
  * @version $Id$
  */
-public class XMLSimpleType {
+public class XMLSimpleType implements Serializable {
+
+    /** Serialization version. */
+    static final long serialVersionUID = -1860943645333375379L;
 
     //
     // Constants
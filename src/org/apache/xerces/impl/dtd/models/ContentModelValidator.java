@@ -17,6 +17,8 @@
 
 package org.apache.xerces.impl.dtd.models;
 
+import java.io.Serializable;
+
 import org.apache.xerces.xni.QName;
 
 /**
@@ -24,7 +26,7 @@ import org.apache.xerces.xni.QName;
  * 
  * @version $Id$
  */
-public interface ContentModelValidator {
+public interface ContentModelValidator extends Serializable {
 
     //
     // Methods
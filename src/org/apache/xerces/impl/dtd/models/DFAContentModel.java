@@ -44,6 +44,10 @@ public class DFAContentModel
     //
     // Constants
     //
+
+    /** Serialization version. */
+    static final long serialVersionUID = 1856089949199719727L;
+
     // special strings
 
     /** Epsilon string. */
@@ -40,6 +40,13 @@ import org.apache.xerces.xni.QName;
 public class MixedContentModel
     implements ContentModelValidator {
 
+    //
+    // Constants
+    //
+
+    /** Serialization version. */
+    static final long serialVersionUID = -5916449704439028424L;
+
     //
     // Data
     //
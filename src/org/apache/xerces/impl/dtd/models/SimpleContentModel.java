@@ -51,6 +51,9 @@ public class SimpleContentModel
     // Constants
     //
 
+    /** Serialization version. */
+    static final long serialVersionUID = -6846292851362794183L;
+
     /** CHOICE */
     public static final short CHOICE = -1;
 
@@ -17,6 +17,8 @@
 
 package org.apache.xerces.impl.dv;
 
+import java.io.Serializable;
+
 import org.apache.xerces.impl.xs.util.ShortListImpl;
 import org.apache.xerces.impl.xs.util.XSObjectListImpl;
 import org.apache.xerces.xs.ShortList;
@@ -35,7 +37,10 @@ import org.apache.xerces.xs.XSValue;
  *
  * @version $Id$
  */
-public class ValidatedInfo implements XSValue {
+public class ValidatedInfo implements XSValue, Serializable {
+
+    /** Serialization version. */
+    static final long serialVersionUID = -5320781115550645038L;
 
     /**
      * The normalized value of a string value
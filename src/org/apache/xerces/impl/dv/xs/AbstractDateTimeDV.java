@@ -17,6 +17,7 @@
 
 package org.apache.xerces.impl.dv.xs;
 
+import java.io.Serializable;
 import java.math.BigDecimal;
 
 import javax.xml.datatype.DatatypeFactory;
@@ -482,6 +483,123 @@ public abstract class AbstractDateTimeDV extends TypeValidator {
 		
 	}
 	
+	//
+	// The methods below check lexical values given as characters without
+	// creating a DateTimeData. They only accept the common forms of the
+	// values, so that unusual (but possibly valid) ones, such as years
+	// which do not fit in an int, are left to the parse methods.
+	//
+	
+	/**
+	 * Checks a date CCYY-MM-DD.
+	 *
+	 * @param ch the characters of the value
+	 * @param start start position
+	 * @param end end position
+	 * @return the position after the date, or -1 if it is not a valid date
+	 */
+	protected final int checkDate (char[] ch, int start, int end) {
+		
+		int i = start;
+		if (i < end && ch[i] == '-') {
+			i++;
+		}
+		final int yearStart = i;
+		int year = 0;
+		while (i < end && isDigit(ch[i])) {
+			if (i - yearStart == 9) {
+				return -1;
+			}
+			year = year * 10 + (ch[i++] - '0');
+		}
+		final int yearLength = i - yearStart;
+		if (yearLength < 4 || (yearLength > 4 && ch[yearStart] == '0') || year == 0) {
+			return -1;
+		}
+		if (yearStart > start) {
+			year = -year;
+		}
+		if (end - i < 6 || ch[i] != '-' || ch[i + 3] != '-') {
+			return -1;
+		}
+		final int month = parseTwoDigits(ch, i + 1);
+		final int day = parseTwoDigits(ch, i + 4);
+		if (month < 1 || month > 12 || day < 1 || day > maxDayInMonthFor(year, month)) {
+			return -1;
+		}
+		return i + 6;
+	}
+	
+	/**
+	 * Checks a time hh:mm:ss.sss followed by an optional time zone.
+	 *
+	 * @param ch the characters of the value
+	 * @param start start position
+	 * @param end end position
+	 * @return true if the characters are a valid time
+	 */
+	protected final boolean checkTime (char[] ch, int start, int end) {
+		
+		if (end - start < 8 || ch[start + 2] != ':' || ch[start + 5] != ':') {
+			return false;
+		}
+		final int hour = parseTwoDigits(ch, start);
+		final int minute = parseTwoDigits(ch, start + 3);
+		final int second = parseTwoDigits(ch, start + 6);
+		if (hour < 0 || minute < 0 || minute > 59 || second < 0 || second > 59) {
+			return false;
+		}
+		int i = start + 8;
+		boolean zeroFraction = true;
+		if (i < end && ch[i] == '.') {
+			final int fractionStart = ++i;
+			for (; i < end && isDigit(ch[i]); i++) {
+				if (ch[i] != '0') {
+					zeroFraction = false;
+				}
+			}
+			if (i == fractionStart) {
+				return false;
+			}
+		}
+		if (hour > 23 && (hour != 24 || minute != 0 || second != 0 || !zeroFraction)) {
+			return false;
+		}
+		return checkTimeZone(ch, i, end);
+	}
+	
+	/**
+	 * Checks an optional time zone: 'Z' or {+,-} followed by hh:mm
+	 *
+	 * @param ch the characters of the value
+	 * @param start start position
+	 * @param end end position
+	 * @return true if the characters are empty or a valid time zone
+	 */
+	protected final boolean checkTimeZone (char[] ch, int start, int end) {
+		
+		if (start == end) {
+			return true;
+		}
+		if (ch[start] == 'Z') {
+			return start + 1 == end;
+		}
+		if ((ch[start] == '+' || ch[start] == '-') && end - start == 6 && ch[start + 3] == ':') {
+			final int hour = parseTwoDigits(ch, start + 1);
+			final int minute = parseTwoDigits(ch, start + 4);
+			return hour >= 0 && minute >= 0 && (hour < 14 && minute < 60 || hour == 14 && minute == 0);
+		}
+		return false;
+	}
+	
+	// returns the value of two digits, or -1 if they are not digits
+	private static int parseTwoDigits (char[] ch, int start) {
+		if (isDigit(ch[start]) && isDigit(ch[start + 1])) {
+			return (ch[start] - '0') * 10 + (ch[start + 1] - '0');
+		}
+		return -1;
+	}
+	
 	/**
 	 * Return index of UTC char: 'Z', '+', '-'
 	 *
@@ -920,7 +1038,10 @@ public abstract class AbstractDateTimeDV extends TypeValidator {
 	/**
 	 * Represents date time data
 	 */
-	static final class DateTimeData implements XSDateTime {
+	static final class DateTimeData implements XSDateTime, Serializable {
+
+	    /** Serialization version. */
+	    static final long serialVersionUID = 7513174895474003977L;
 		int year, month, day, hour, minute, utc;
 		double second;
 		int timezoneHr, timezoneMin;
@@ -963,6 +1084,24 @@ public abstract class AbstractDateTimeDV extends TypeValidator {
 				return false;
 			return type.compareDates(this, (DateTimeData)obj, true)==0;
 		}
+		public int hashCode() {
+			// Consistent with compareDates: dates and times only compare
+			// equal if their (normalized) fields and time zone presence
+			// match; durations compare equal if they amount to the same
+			// number of months and seconds, so only whole seconds are
+			// hashed for them.
+			long bits;
+			int hash;
+			if (type instanceof DurationDV) {
+				hash = year * 12 + month;
+				bits = ((day * 24L + hour) * 60L + minute) * 60L + (long) second;
+			}
+			else {
+				hash = ((((year * 31 + month) * 31 + day) * 31 + hour) * 31 + minute) * 31 + utc;
+				bits = Double.doubleToLongBits(second + 0.0);
+			}
+			return hash * 31 + (int)(bits ^ (bits >>> 32));
+		}
 		public synchronized String toString() {
 			if (canonical == null) {
 				canonical = type.dateToString(this);
@@ -46,4 +46,23 @@ public class BooleanDV extends TypeValidator {
         throw new InvalidDatatypeValueException("cvc-datatype-valid.1.2.1", new Object[]{content, "boolean"});
     }
 
+    public boolean isValid(char[] ch, int offset, int length) {
+        if (length == 1) {
+            return ch[offset] == '0' || ch[offset] == '1';
+        }
+        return matches("true", ch, offset, length) || matches("false", ch, offset, length);
+    }
+
+    private static boolean matches(String literal, char[] ch, int offset, int length) {
+        if (literal.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; ++i) {
+            if (literal.charAt(i) != ch[offset + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
 } // class BooleanDV
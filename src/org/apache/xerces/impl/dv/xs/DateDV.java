@@ -43,6 +43,12 @@ public class DateDV extends DateTimeDV {
         }
     }
 
+    public boolean isValid(char[] ch, int offset, int length) {
+        final int end = offset + length;
+        final int dateEnd = checkDate(ch, offset, end);
+        return dateEnd >= 0 && checkTimeZone(ch, dateEnd, end);
+    }
+
     /**
      * Parses, validates and computes normalized version of dateTime object
      *
@@ -45,6 +45,12 @@ public class DateTimeDV extends AbstractDateTimeDV {
         }
     }
 
+    public boolean isValid(char[] ch, int offset, int length) {
+        final int end = offset + length;
+        final int dateEnd = checkDate(ch, offset, end);
+        return dateEnd >= 0 && dateEnd < end && ch[dateEnd] == 'T' && checkTime(ch, dateEnd + 1, end);
+    }
+
     /**
      * Parses, validates and computes normalized version of dateTime object
      *
@@ -17,6 +17,7 @@
 
 package org.apache.xerces.impl.dv.xs;
 
+import java.io.Serializable;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 
@@ -59,9 +60,116 @@ public class DecimalDV extends TypeValidator {
     public final int getFractionDigits(Object value){
         return ((XDecimal)value).fracDigits;
     }
+
+    public boolean isValid(char[] ch, int offset, int length) {
+        final int end = offset + length;
+        int i = offset;
+        if (i < end && (ch[i] == '+' || ch[i] == '-')) {
+            i++;
+        }
+        int digits = 0;
+        for (; i < end && TypeValidator.isDigit(ch[i]); i++) {
+            digits++;
+        }
+        if (i < end) {
+            if (ch[i++] != '.') {
+                return false;
+            }
+            for (; i < end; i++) {
+                if (!TypeValidator.isDigit(ch[i])) {
+                    return false;
+                }
+                digits++;
+            }
+        }
+        return digits > 0;
+    }
+
+    // The methods below find the parts of a decimal in the same way as
+    // XDecimal, so that its digits can be examined without creating it.
+
+    public final int getTotalDigits(char[] ch, int offset, int length) {
+        final int end = offset + length;
+        final int intStart = intStart(ch, offset, end);
+        final int intEnd = intEnd(ch, intStart, end);
+        final int fracStart = intEnd < end ? intEnd + 1 : end;
+        return (intEnd - intStart) + (fracEnd(ch, fracStart, end) - fracStart);
+    }
+
+    public final int getFractionDigits(char[] ch, int offset, int length) {
+        final int end = offset + length;
+        final int intEnd = intEnd(ch, intStart(ch, offset, end), end);
+        final int fracStart = intEnd < end ? intEnd + 1 : end;
+        return fracEnd(ch, fracStart, end) - fracStart;
+    }
+
+    public final int compare(char[] ch, int offset, int length, Object value) {
+        final XDecimal val = (XDecimal)value;
+        final int end = offset + length;
+        final int intStart = intStart(ch, offset, end);
+        final int intEnd = intEnd(ch, intStart, end);
+        final int fracStart = intEnd < end ? intEnd + 1 : end;
+        final int fracEnd = fracEnd(ch, fracStart, end);
+        final int intDigits = intEnd - intStart;
+        final int fracDigits = fracEnd - fracStart;
+        final int sign = (intDigits == 0 && fracDigits == 0) ? 0 : (ch[offset] == '-' ? -1 : 1);
+        if (sign != val.sign)
+            return sign > val.sign ? 1 : -1;
+        if (sign == 0)
+            return 0;
+        if (intDigits != val.intDigits)
+            return sign * (intDigits > val.intDigits ? 1 : -1);
+        int ret = compareDigits(ch, intStart, intDigits, val.ivalue);
+        if (ret == 0)
+            ret = compareDigits(ch, fracStart, fracDigits, val.fvalue);
+        return sign * ret;
+    }
+
+    // skips the sign and leading zeroes
+    private static int intStart(char[] ch, int offset, int end) {
+        int i = offset;
+        if (ch[i] == '+' || ch[i] == '-') {
+            i++;
+        }
+        while (i < end && ch[i] == '0') {
+            i++;
+        }
+        return i;
+    }
+
+    private static int intEnd(char[] ch, int intStart, int end) {
+        int i = intStart;
+        while (i < end && TypeValidator.isDigit(ch[i])) {
+            i++;
+        }
+        return i;
+    }
+
+    // ignores trailing zeroes
+    private static int fracEnd(char[] ch, int fracStart, int end) {
+        int i = end;
+        while (i > fracStart && ch[i-1] == '0') {
+            i--;
+        }
+        return i;
+    }
+
+    // compares the digits like String.compareTo
+    private static int compareDigits(char[] ch, int start, int length, String digits) {
+        final int n = Math.min(length, digits.length());
+        for (int i = 0; i < n; i++) {
+            final char c = digits.charAt(i);
+            if (ch[start + i] != c)
+                return ch[start + i] > c ? 1 : -1;
+        }
+        return length == digits.length() ? 0 : (length > digits.length() ? 1 : -1);
+    }
     
     // Avoid using the heavy-weight java.math.BigDecimal
-    static class XDecimal implements XSDecimal {
+    static class XDecimal implements XSDecimal, Serializable {
+
+        /** Serialization version. */
+        static final long serialVersionUID = -4008713584517522175L;
         // sign: 0 for vlaue 0; 1 for positive values; -1 for negative values
         int sign = 1;
         // total digits. >= 1
@@ -230,6 +338,12 @@ public class DecimalDV extends TypeValidator {
             return intDigits == oval.intDigits && fracDigits == oval.fracDigits &&
                    ivalue.equals(oval.ivalue) && fvalue.equals(oval.fvalue);
         }
+        public int hashCode() {
+            // all zeros are equal regardless of the digits
+            if (sign == 0)
+                return 0;
+            return (sign * 31 + ivalue.hashCode()) * 31 + fvalue.hashCode();
+        }
         public int compareTo(XDecimal val) {
             if (sign != val.sign)
                 return sign > val.sign ? 1 : -1;
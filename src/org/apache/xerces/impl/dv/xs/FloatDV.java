@@ -17,6 +17,8 @@
 
 package org.apache.xerces.impl.dv.xs;
 
+import java.io.Serializable;
+
 import org.apache.xerces.impl.dv.InvalidDatatypeValueException;
 import org.apache.xerces.impl.dv.ValidationContext;
 import org.apache.xerces.xs.datatypes.XSFloat;
@@ -60,7 +62,10 @@ public class FloatDV extends TypeValidator {
         return false;
     }//isIdentical()
 
-    private static final class XFloat implements XSFloat {
+    private static final class XFloat implements XSFloat, Serializable {
+
+        /** Serialization version. */
+        static final long serialVersionUID = -8181570493465260023L;
 
         private final float value;
         public XFloat(String s) throws NumberFormatException {
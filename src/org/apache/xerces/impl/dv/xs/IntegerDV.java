@@ -38,5 +38,22 @@ public class IntegerDV extends DecimalDV {
             throw new InvalidDatatypeValueException("cvc-datatype-valid.1.2.1", new Object[]{content, "integer"});
         }
     }
+
+    public boolean isValid(char[] ch, int offset, int length) {
+        final int end = offset + length;
+        int i = offset;
+        if (i < end && (ch[i] == '+' || ch[i] == '-')) {
+            i++;
+        }
+        if (i == end) {
+            return false;
+        }
+        for (; i < end; i++) {
+            if (!TypeValidator.isDigit(ch[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
     
 } // class EntityDV
@@ -17,6 +17,8 @@
 
 package org.apache.xerces.impl.dv.xs;
 
+import java.io.Serializable;
+
 import org.apache.xerces.impl.dv.InvalidDatatypeValueException;
 import org.apache.xerces.impl.dv.ValidationContext;
 
@@ -31,7 +33,10 @@ import org.apache.xerces.impl.dv.ValidationContext;
  */
 class PrecisionDecimalDV extends TypeValidator {
     
-    static class XPrecisionDecimal {
+    static class XPrecisionDecimal implements Serializable {
+
+        /** Serialization version. */
+        static final long serialVersionUID = -804127038526336477L;
         
         // sign: 0 for absent; 1 for positive values; -1 for negative values (except in case of INF, -INF)
         int sign = 1;
@@ -155,6 +160,31 @@ class PrecisionDecimalDV extends TypeValidator {
             return this.compareTo(oval) == EQUAL;
         }
         
+        public int hashCode() {
+            if (sign == 0 || ivalue.equals("INF") || ivalue.equals("-INF"))
+                return ivalue.hashCode();
+            // Hash the digits without leading and trailing zeroes together
+            // with the position of the decimal point, so that values which
+            // compare equal with different exponents hash alike.
+            final String digits = ivalue + fvalue;
+            int start = 0;
+            while (start < digits.length() && digits.charAt(start) == '0') {
+                start++;
+            }
+            int end = digits.length();
+            while (end > start && digits.charAt(end - 1) == '0') {
+                end--;
+            }
+            // all zeroes
+            if (start == end)
+                return 0;
+            int hash = sign;
+            for (int i = start; i < end; i++) {
+                hash = hash * 31 + digits.charAt(i);
+            }
+            return hash * 31 + (intDigits + pvalue - start);
+        }
+        
         /**
          * @return
          */
@@ -233,7 +263,7 @@ class PrecisionDecimalDV extends TypeValidator {
                         for(int i = 0;i < expDiff; i++) {
                             if(i < fracDigits) {
                                 buffer.append(fvalue.charAt(i));
-                                fbuffer.deleteCharAt(i);
+                                fbuffer.deleteCharAt(0);
                             }
                             else
                                 buffer.append('0');
@@ -247,7 +277,7 @@ class PrecisionDecimalDV extends TypeValidator {
                         for(int i = 0;i < expDiff; i++) {
                             if(i < val.fracDigits) {
                                 buffer.append(val.fvalue.charAt(i));
-                                fbuffer.deleteCharAt(i);
+                                fbuffer.deleteCharAt(0);
                             }
                             else
                                 buffer.append('0');
@@ -276,7 +306,7 @@ class PrecisionDecimalDV extends TypeValidator {
          * @param val
          * @return
          */
-        private int compareDecimal(String iValue, String fValue, String otherIValue, String otherFValue) {
+        private int compareDecimal(String iValue, String otherIValue, String fValue, String otherFValue) {
             int ret = iValue.compareTo(otherIValue);
             if (ret != 0)
                 return ret > 0 ? GREATER_THAN : LESS_THAN;
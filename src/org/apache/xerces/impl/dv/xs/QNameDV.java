@@ -96,6 +96,12 @@ public class QNameDV extends TypeValidator {
             return false;
         } // equals(Object):boolean
 
+        /** Returns a hash code consistent with equals. */
+        public int hashCode() {
+            return ((uri != null) ? uri.hashCode() * 31 : 0) +
+                ((localpart != null) ? localpart.hashCode() : 0);
+        } // hashCode():int
+
         public String toString() {
             return rawname;
         }
@@ -17,6 +17,7 @@
 
 package org.apache.xerces.impl.dv.xs;
 
+import java.io.Serializable;
 import java.security.AccessController;
 import java.security.PrivilegedAction;
 
@@ -37,7 +38,10 @@ import org.apache.xerces.util.XMLChar;
  *
  * @version $Id$
  */
-public abstract class TypeValidator {
+public abstract class TypeValidator implements Serializable {
+
+    /** Serialization version. */
+    static final long serialVersionUID = 4916134302419903114L;
     
     private static final boolean USE_CODE_POINT_COUNT_FOR_STRING_LENGTH = AccessController.doPrivileged(new PrivilegedAction() {
         @Override
@@ -168,6 +172,89 @@ public abstract class TypeValidator {
         return -1;
     }
     
+    // The following methods let XSSimpleTypeDecl check a value given as
+    // characters without creating its actual value. A DV which does not
+    // support this returns false from isValid(char[], int, int), and the
+    // other methods are then never called for it.
+
+    /**
+     * Checks whether the characters are a valid lexical representation of a
+     * value of this type, without creating the actual value.
+     * <p>The characters have already been normalized.</p>
+     *
+     * @param ch the characters of the value
+     * @param offset the offset of the value
+     * @param length the length of the value
+     * @return true if the characters are valid; false if they are not, or if
+     *         this DV cannot check them without creating the actual value
+     */
+    public boolean isValid(char[] ch, int offset, int length) {
+        return false;
+    }
+
+    /**
+     * Get the length of the value given as characters.
+     * <p>The characters have been accepted by {@link #isValid(char[], int, int)}.</p>
+     *
+     * @return the length of the value, or -1 if it cannot be computed
+     *         without creating the actual value
+     */
+    public int getDataLength(char[] ch, int offset, int length) {
+        return -1;
+    }
+
+    /**
+     * Get the number of digits of the value given as characters.
+     * <p>The characters have been accepted by {@link #isValid(char[], int, int)}.</p>
+     *
+     * @return the number of digits of the value, or -1 if it cannot be
+     *         computed without creating the actual value
+     */
+    public int getTotalDigits(char[] ch, int offset, int length) {
+        return -1;
+    }
+
+    /**
+     * Get the number of fraction digits of the value given as characters.
+     * <p>The characters have been accepted by {@link #isValid(char[], int, int)}.</p>
+     *
+     * @return the number of fraction digits of the value, or -1 if it cannot
+     *         be computed without creating the actual value
+     */
+    public int getFractionDigits(char[] ch, int offset, int length) {
+        return -1;
+    }
+
+    /**
+     * Checks the order relation between a value given as characters and an
+     * actual value, like {@link #compare(Object, Object)}.
+     * <p>The characters have been accepted by {@link #isValid(char[], int, int)}.</p>
+     *
+     * @return either -1, 0, or 1 to indicate if the first value should be
+     *         considered before, same, or after the second; or
+     *         <code>INDETERMINATE</code> if they cannot be compared without
+     *         creating the actual value
+     */
+    public int compare(char[] ch, int offset, int length, Object value) {
+        return INDETERMINATE;
+    }
+
+    // Returns the length of a string value given as characters.
+    static int getStringLength(char[] ch, int offset, int length) {
+        if (!USE_CODE_POINT_COUNT_FOR_STRING_LENGTH) {
+            return length;
+        }
+        final int end = offset + length;
+        int surrogatePairCount = 0;
+        for (int i = offset; i < end - 1; ++i) {
+            if (XMLChar.isHighSurrogate(ch[i]) && XMLChar.isLowSurrogate(ch[i + 1])) {
+                ++surrogatePairCount;
+                ++i;
+            }
+        }
+        return length - surrogatePairCount;
+    }
+
     // Returns the length of the string in Unicode code points.
     private int getCodePointLength(String value) {
         // Count the number of surrogate pairs, and subtract them from
@@ -17,6 +17,9 @@
 
 package org.apache.xerces.impl.dv.xs;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
 import java.math.BigInteger;
 import java.util.AbstractList;
 import java.util.Locale;
@@ -39,6 +42,7 @@ import org.apache.xerces.impl.xs.util.StringListImpl;
 import org.apache.xerces.impl.xs.util.XSObjectListImpl;
 import org.apache.xerces.util.XMLChar;
 import org.apache.xerces.xni.NamespaceContext;
+import org.apache.xerces.xni.XMLString;
 import org.apache.xerces.xs.ShortList;
 import org.apache.xerces.xs.StringList;
 import org.apache.xerces.xs.XSAnnotation;
@@ -61,7 +65,10 @@ import org.w3c.dom.TypeInfo;
  *
  * @version $Id$
  */
-public class XSSimpleTypeDecl implements XSSimpleType, TypeInfo {
+public class XSSimpleTypeDecl implements XSSimpleType, TypeInfo, Serializable {
+
+    /** Serialization version. */
+    static final long serialVersionUID = -4170653630705640003L;
 
     protected static final short DV_STRING        = PRIMITIVE_STRING;
     protected static final short DV_BOOLEAN       = PRIMITIVE_BOOLEAN;
@@ -193,6 +200,9 @@ public class XSSimpleTypeDecl implements XSSimpleType, TypeInfo {
     static final int DERIVATION_UNION = 4;
     static final int DERIVATION_LIST = 8;
 
+    // Enumerations with more values than this are checked through a hash index
+    static final int ENUMERATION_INDEX_THRESHOLD = 8;
+
     static final ValidationContext fEmptyContext = new ValidationContext() {
         public boolean needFacetChecking() {
             return true;
@@ -233,10 +243,16 @@ public class XSSimpleTypeDecl implements XSSimpleType, TypeInfo {
     protected static TypeValidator[] getGDVs() {
         return (TypeValidator[])gDVs.clone();
     }
-    private TypeValidator[] fDVs = gDVs;
+    private transient TypeValidator[] fDVs = gDVs;
     protected void setDVs(TypeValidator[] dvs) {
         fDVs = dvs;
     }
+
+    // the validators are shared, so they are not serialized
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        fDVs = gDVs;
+    }
     
     // this will be true if this is a static XSSimpleTypeDecl
     // and hence must remain immutable (i.e., applyFacets
@@ -269,11 +285,13 @@ public class XSSimpleTypeDecl implements XSSimpleType, TypeInfo {
     private Vector fPatternStr;
     private ValidatedInfo[] fEnumeration;
     private int fEnumerationSize;
+    private transient EnumerationIndex fEnumerationIndex;
+    private transient volatile ValueCache fValueCache;
     private ShortList fEnumerationTypeList;
-    private ObjectList fEnumerationItemTypeList;
+    private transient ObjectList fEnumerationItemTypeList;
     private StringList fLexicalPattern;
     private StringList fLexicalEnumeration;
-    private ObjectList fActualEnumeration;
+    private transient ObjectList fActualEnumeration;
     private Object fMaxInclusive;
     private Object fMaxExclusive;
     private Object fMinExclusive;
@@ -294,10 +312,10 @@ public class XSSimpleTypeDecl implements XSSimpleType, TypeInfo {
     public XSAnnotation minExclusiveAnnotation;
 
     // facets as objects
-    private XSObjectListImpl fFacets;
+    private transient XSObjectListImpl fFacets;
 
     // enumeration and pattern facets
-    private XSObjectListImpl fMultiValueFacets;
+    private transient XSObjectListImpl fMultiValueFacets;
 
     // simpleType annotations
     private XSObjectList fAnnotations = null;
@@ -387,6 +405,7 @@ public class XSSimpleTypeDecl implements XSSimpleType, TypeInfo {
         fPatternStr = fBase.fPatternStr;
         fEnumeration = fBase.fEnumeration;
         fEnumerationSize = fBase.fEnumerationSize;
+        fEnumerationIndex = fBase.fEnumerationIndex;
         fWhiteSpace = fBase.fWhiteSpace;
         fMaxExclusive = fBase.fMaxExclusive;
         fMaxInclusive = fBase.fMaxInclusive;
@@ -507,6 +526,7 @@ public class XSSimpleTypeDecl implements XSSimpleType, TypeInfo {
         fPatternStr = fBase.fPatternStr;
         fEnumeration = fBase.fEnumeration;
         fEnumerationSize = fBase.fEnumerationSize;
+        fEnumerationIndex = fBase.fEnumerationIndex;
         fWhiteSpace = fBase.fWhiteSpace;
         fMaxExclusive = fBase.fMaxExclusive;
         fMaxInclusive = fBase.fMaxInclusive;
@@ -883,6 +903,8 @@ public class XSSimpleTypeDecl implements XSSimpleType, TypeInfo {
                         reportError("enumeration-valid-restriction", new Object[]{enumVals.elementAt(i), this.getBaseType().getName()});
                     }
                 }
+                fEnumerationIndex = (fEnumerationSize > ENUMERATION_INDEX_THRESHOLD) ?
+                        new EnumerationIndex(fEnumeration, fEnumerationSize) : null;
                 fFacetsDefined |= FACET_ENUMERATION;
                 if ((fixedFacet & FACET_ENUMERATION) != 0)
                     fFixedFacet |= FACET_ENUMERATION;
@@ -1473,6 +1495,7 @@ public class XSSimpleTypeDecl implements XSSimpleType, TypeInfo {
             fFacetsDefined |= FACET_ENUMERATION;
             fEnumeration = fBase.fEnumeration;
             fEnumerationSize = fBase.fEnumerationSize;
+            fEnumerationIndex = fBase.fEnumerationIndex;
             enumerationAnnotations = fBase.enumerationAnnotations;
         }
         // inherit maxExclusive
@@ -1543,6 +1566,10 @@ public class XSSimpleTypeDecl implements XSSimpleType, TypeInfo {
 
         // first normalize string value, and convert it to actual value
         boolean needNormalize = context==null||context.needToNormalize();
+        final ValueCache cache = fValueCache;
+        if (cache != null && context.needFacetChecking()) {
+            return getCachedValue(cache, content, context, validatedInfo, needNormalize);
+        }
         Object ob = getActualValue(content, context, validatedInfo, needNormalize);
 
         validate(context, validatedInfo);
@@ -1576,6 +1603,11 @@ public class XSSimpleTypeDecl implements XSSimpleType, TypeInfo {
 
         // first normalize string value, and convert it to actual value
         boolean needNormalize = context==null||context.needToNormalize();
+        final ValueCache cache = fValueCache;
+        if (cache != null && context.needFacetChecking()) {
+            getCachedValue(cache, content, context, validatedInfo, needNormalize);
+            return validatedInfo;
+        }
         getActualValue(content, context, validatedInfo, needNormalize);
 
         validate(context, validatedInfo);
@@ -1597,6 +1629,10 @@ public class XSSimpleTypeDecl implements XSSimpleType, TypeInfo {
 
         // first normalize string value, and convert it to actual value
         boolean needNormalize = context==null||context.needToNormalize();
+        final ValueCache cache = fValueCache;
+        if (cache != null && context.needFacetChecking()) {
+            return getCachedValue(cache, content, context, validatedInfo, needNormalize);
+        }
         Object ob = getActualValue(content, context, validatedInfo, needNormalize);
 
         validate(context, validatedInfo);
@@ -1605,6 +1641,235 @@ public class XSSimpleTypeDecl implements XSSimpleType, TypeInfo {
 
     }
 
+    /**
+     * Validates a value through the value cache. Values are only cached
+     * after their facets have been checked, and only for types whose values
+     * do not depend on the validation context.
+     */
+    private Object getCachedValue(ValueCache cache, Object content, ValidationContext context,
+            ValidatedInfo validatedInfo, boolean needNormalize) throws InvalidDatatypeValueException {
+
+        final String nvalue = needNormalize ? normalize(content, fWhiteSpace) : content.toString();
+        Object ob = cache.get(nvalue);
+        if (ob != null) {
+            validatedInfo.normalizedValue = nvalue;
+            validatedInfo.actualValue = ob;
+            validatedInfo.actualValueType = fBuiltInKind;
+            validatedInfo.actualType = this;
+            return ob;
+        }
+        // validate the original content, so that errors report it
+        ob = getActualValue(content, context, validatedInfo, needNormalize);
+        validate(context, validatedInfo);
+        cache.put(nvalue, ob);
+        return ob;
+    }
+
+    /**
+     * Sets the number of validated values of this type which are cached, so
+     * that a lexical value which is seen again is neither parsed nor checked
+     * against the facets. The cache is keyed on the normalized lexical value
+     * and may be shared by validators running on different threads, for
+     * instance when this type is in a grammar pool. Setting a new size
+     * discards the cached values and the statistics.
+     *
+     * <p>Values are only cached for atomic types whose values do not depend
+     * on the validation context; for other types (QName, NOTATION, ID, IDREF,
+     * ENTITY, lists and unions) this method has no effect.</p>
+     *
+     * @param size the number of values to cache, or 0 to disable the cache
+     */
+    public void setValueCacheSize(int size) {
+        if (size < 0) {
+            throw new IllegalArgumentException("Illegal Size: " + size);
+        }
+        if (size == 0 || fVariety != VARIETY_ATOMIC ||
+                fValidationDV == DV_QNAME || fValidationDV == DV_NOTATION ||
+                fValidationDV == DV_ID || fValidationDV == DV_IDREF || fValidationDV == DV_ENTITY) {
+            fValueCache = null;
+        }
+        else {
+            fValueCache = new ValueCache(size);
+        }
+    }
+
+    /**
+     * Returns the size of the value cache of this type, or 0 if values of
+     * this type are not cached.
+     */
+    public int getValueCacheSize() {
+        final ValueCache cache = fValueCache;
+        return cache != null ? cache.getSize() : 0;
+    }
+
+    /**
+     * Returns the number of values of this type which were found in the
+     * value cache since its size was last set.
+     */
+    public long getValueCacheHits() {
+        final ValueCache cache = fValueCache;
+        return cache != null ? cache.getHits() : 0;
+    }
+
+    /**
+     * Returns the number of values of this type which were not found in
+     * the value cache since its size was last set.
+     */
+    public long getValueCacheMisses() {
+        final ValueCache cache = fValueCache;
+        return cache != null ? cache.getMisses() : 0;
+    }
+
+    /**
+     * Checks a value given as characters against this type without creating
+     * its actual value or its normalized value as a String. This is supported
+     * for atomic types derived from string, boolean, decimal (including the
+     * integer types), dateTime and date which have no enumeration facet.
+     *
+     * <p>The characters are normalized in place according to the whiteSpace
+     * facet. When the value is valid, the offset and length of the value
+     * describe the normalized value on return.</p>
+     *
+     * @param value the characters of the value
+     * @param context the validation context, if null is passed in the validation context of this instance will be used
+     * @return true if the value is valid; false if it is not, or if it cannot
+     *         be checked without creating its actual value. The value must
+     *         then be validated with one of the validate methods, which also
+     *         report why a value is invalid.
+     */
+    public boolean isValid(XMLString value, ValidationContext context) {
+
+        if (fVariety != VARIETY_ATOMIC || (fFacetsDefined & FACET_ENUMERATION) != 0)
+            return false;
+
+        if (context == null)
+            context = fEmptyContext;
+
+        // normalize the value in the same way as normalize(Object, short)
+        final char[] ch = value.ch;
+        int start = value.offset;
+        int end = start + value.length;
+        short normType = NORMALIZE_FULL;
+        if ((fFacetsDefined & FACET_PATTERN) == 0) {
+            normType = fDVNormalizeType[fValidationDV];
+        }
+        if (normType == NORMALIZE_TRIM) {
+            while (start < end && XMLChar.isSpace(ch[start])) {
+                start++;
+            }
+            while (end > start && XMLChar.isSpace(ch[end-1])) {
+                end--;
+            }
+        }
+        else if (normType == NORMALIZE_FULL && fWhiteSpace == WS_REPLACE) {
+            for (int i = start; i < end; i++) {
+                if (ch[i] == 0x9 || ch[i] == 0xa || ch[i] == 0xd)
+                    ch[i] = (char)0x20;
+            }
+        }
+        else if (normType == NORMALIZE_FULL && fWhiteSpace == WS_COLLAPSE) {
+            int j = start;
+            boolean space = false;
+            for (int i = start; i < end; i++) {
+                final char c = ch[i];
+                if (c == 0x9 || c == 0xa || c == 0xd || c == 0x20) {
+                    // only a space between two real characters is kept
+                    space = j > start;
+                }
+                else {
+                    if (space) {
+                        ch[j++] = (char)0x20;
+                        space = false;
+                    }
+                    ch[j++] = c;
+                }
+            }
+            end = j;
+        }
+        value.offset = start;
+        value.length = end - start;
+
+        if ((fFacetsDefined & FACET_PATTERN) != 0) {
+            for (int idx = fPattern.size()-1; idx >= 0; idx--) {
+                if (!((RegularExpression)fPattern.elementAt(idx)).matches(ch, start, end))
+                    return false;
+            }
+        }
+
+        if (fPatternType != SPECIAL_PATTERN_NONE && !isValidSpecialPattern(ch, start, end))
+            return false;
+
+        final TypeValidator dv = fDVs[fValidationDV];
+        final int length = end - start;
+        if (!dv.isValid(ch, start, length))
+            return false;
+
+        if (!context.needFacetChecking())
+            return true;
+
+        if ((fFacetsDefined & (FACET_LENGTH | FACET_MINLENGTH | FACET_MAXLENGTH)) != 0) {
+            final int dataLength = dv.getDataLength(ch, start, length);
+            if (dataLength < 0 ||
+                    (fFacetsDefined & FACET_MAXLENGTH) != 0 && dataLength > fMaxLength ||
+                    (fFacetsDefined & FACET_MINLENGTH) != 0 && dataLength < fMinLength ||
+                    (fFacetsDefined & FACET_LENGTH) != 0 && dataLength != fLength)
+                return false;
+        }
+        if ((fFacetsDefined & FACET_FRACTIONDIGITS) != 0) {
+            final int scale = dv.getFractionDigits(ch, start, length);
+            if (scale < 0 || scale > fFractionDigits)
+                return false;
+        }
+        if ((fFacetsDefined & FACET_TOTALDIGITS) != 0) {
+            final int totalDigits = dv.getTotalDigits(ch, start, length);
+            if (totalDigits < 0 || totalDigits > fTotalDigits)
+                return false;
+        }
+        int compare;
+        if ((fFacetsDefined & FACET_MAXINCLUSIVE) != 0) {
+            compare = dv.compare(ch, start, length, fMaxInclusive);
+            if (compare != -1 && compare != 0)
+                return false;
+        }
+        if ((fFacetsDefined & FACET_MAXEXCLUSIVE) != 0) {
+            compare = dv.compare(ch, start, length, fMaxExclusive);
+            if (compare != -1)
+                return false;
+        }
+        if ((fFacetsDefined & FACET_MININCLUSIVE) != 0) {
+            compare = dv.compare(ch, start, length, fMinInclusive);
+            if (compare != 1 && compare != 0)
+                return false;
+        }
+        if ((fFacetsDefined & FACET_MINEXCLUSIVE) != 0) {
+            compare = dv.compare(ch, start, length, fMinExclusive);
+            if (compare != 1)
+                return false;
+        }
+        return true;
+    }
+
+    // checks the characters against the special pattern of this type,
+    // as getActualValue() does with XMLChar
+    private boolean isValidSpecialPattern(char[] ch, int start, int end) {
+        if (start == end)
+            return false;
+        if (fPatternType == SPECIAL_PATTERN_NAME) {
+            if (!XMLChar.isNameStart(ch[start]))
+                return false;
+        }
+        else if (fPatternType == SPECIAL_PATTERN_NCNAME) {
+            if (!XMLChar.isNCNameStart(ch[start]))
+                return false;
+        }
+        final boolean ncname = fPatternType == SPECIAL_PATTERN_NCNAME;
+        for (int i = start; i < end; i++) {
+            if (ncname ? !XMLChar.isNCName(ch[i]) : !XMLChar.isName(ch[i]))
+                return false;
+        }
+        return true;
+    }
+
     /**
      * validate an actual value against this DV
      *
@@ -1671,36 +1936,32 @@ public class XSSimpleTypeDecl implements XSSimpleType, TypeInfo {
             boolean present = false;
             final int enumSize = fEnumerationSize;
             final short primitiveType1 = convertToPrimitiveKind(type);
-            for (int i = 0; i < enumSize; i++) {
-                final short primitiveType2 = convertToPrimitiveKind(fEnumeration[i].actualValueType);
-                if ((primitiveType1 == primitiveType2 ||
-                        primitiveType1 == XSConstants.ANYSIMPLETYPE_DT && primitiveType2 == XSConstants.STRING_DT ||
-                        primitiveType1 == XSConstants.STRING_DT && primitiveType2 == XSConstants.ANYSIMPLETYPE_DT)
-                        && fEnumeration[i].actualValue.equals(ob)) {
-                    if (primitiveType1 == XSConstants.LIST_DT || primitiveType1 == XSConstants.LISTOFUNION_DT) {
-                        ShortList enumItemType = fEnumeration[i].itemValueTypes;
-                        final int typeList1Length = itemType != null ? itemType.getLength() : 0;
-                        final int typeList2Length = enumItemType != null ? enumItemType.getLength() : 0;
-                        if (typeList1Length == typeList2Length) {
-                            int j;
-                            for (j = 0; j < typeList1Length; ++j) {
-                                final short primitiveItem1 = convertToPrimitiveKind(itemType.item(j));
-                                final short primitiveItem2 = convertToPrimitiveKind(enumItemType.item(j));
-                                if (primitiveItem1 != primitiveItem2) {
-                                    if (primitiveItem1 == XSConstants.ANYSIMPLETYPE_DT && primitiveItem2 == XSConstants.STRING_DT ||
-                                            primitiveItem1 == XSConstants.STRING_DT && primitiveItem2 == XSConstants.ANYSIMPLETYPE_DT) {
-                                        continue;
-                                    }
-                                    break;
-                                }
-                            }
-                            if (j == typeList1Length) {
-                                present = true;
-                                break;
-                            }
+            EnumerationIndex index = fEnumerationIndex;
+            if (index == null && enumSize > ENUMERATION_INDEX_THRESHOLD) {
+                // not rebuilt by deserialization; the index is immutable
+                // so racing threads can at worst build it twice
+                index = new EnumerationIndex(fEnumeration, enumSize);
+                fEnumerationIndex = index;
+            }
+            if (index != null) {
+                // only the values equal to this one need their types compared
+                if (ob != null) {
+                    final int hash = ob.hashCode();
+                    final int[] slots = index.fSlots;
+                    final int[] hashes = index.fHashes;
+                    final int mask = slots.length - 1;
+                    for (int s = EnumerationIndex.slot(hash, mask); slots[s] != 0; s = (s + 1) & mask) {
+                        if (hashes[s] == hash &&
+                                isEnumerationMatch(fEnumeration[slots[s] - 1], ob, primitiveType1, itemType)) {
+                            present = true;
+                            break;
                         }
                     }
-                    else {
+                }
+            }
+            else {
+                for (int i = 0; i < enumSize; i++) {
+                    if (isEnumerationMatch(fEnumeration[i], ob, primitiveType1, itemType)) {
                         present = true;
                         break;
                     }
@@ -2984,6 +3245,8 @@ public class XSSimpleTypeDecl implements XSSimpleType, TypeInfo {
         fPattern = null;
         fPatternStr = null;
         fEnumeration = null;
+        fEnumerationIndex = null;
+        fValueCache = null;
         fLexicalPattern = null;
         fLexicalEnumeration = null;
         fActualEnumeration = null;
@@ -3437,6 +3700,48 @@ public class XSSimpleTypeDecl implements XSSimpleType, TypeInfo {
         }
     }
     
+    /**
+     * A hash table over the actual values of an enumeration facet. The
+     * actual values of every built-in datatype define hashCode consistently
+     * with value-space equality (e.g. 1.0 and 1.00 as decimals, or 0 and -0
+     * as floats, hash alike), so only the enumeration values which share the
+     * hash code of a value need to be compared with it. Instances are never
+     * modified after construction and are shared with derived types which
+     * inherit the enumeration.
+     */
+    private static final class EnumerationIndex {
+
+        /** Index + 1 of the enumeration value in each slot; 0 if the slot is empty. */
+        final int[] fSlots;
+
+        /** Hash code of the actual value in each slot. */
+        final int[] fHashes;
+
+        EnumerationIndex(ValidatedInfo[] enumeration, int size) {
+            int capacity = 16;
+            while (capacity < size * 2) {
+                capacity <<= 1;
+            }
+            fSlots = new int[capacity];
+            fHashes = new int[capacity];
+            final int mask = capacity - 1;
+            for (int i = 0; i < size; ++i) {
+                final int hash = enumeration[i].actualValue.hashCode();
+                int s = slot(hash, mask);
+                while (fSlots[s] != 0) {
+                    s = (s + 1) & mask;
+                }
+                fSlots[s] = i + 1;
+                fHashes[s] = hash;
+            }
+        }
+
+        /** Spreads the hash code so that values whose hash codes differ only in the high bits do not collide. */
+        static int slot(int hash, int mask) {
+            return (hash ^ (hash >>> 16)) & mask;
+        }
+    }
+
     private static abstract class AbstractObjectList extends AbstractList implements ObjectList {
         public Object get(int index) {
             if (index >= 0 && index < getLength()) {
@@ -3457,6 +3762,42 @@ public class XSSimpleTypeDecl implements XSSimpleType, TypeInfo {
         return isDOMDerivedFrom(typeNamespaceArg, typeNameArg, derivationMethod);
     }
 
+    /**
+     * Returns true if the enumeration value is equal to the actual value
+     * and both are from the value space of the same primitive type.
+     */
+    private boolean isEnumerationMatch(ValidatedInfo enumValue, Object ob, short primitiveType1, ShortList itemType) {
+        final short primitiveType2 = convertToPrimitiveKind(enumValue.actualValueType);
+        if ((primitiveType1 == primitiveType2 ||
+                primitiveType1 == XSConstants.ANYSIMPLETYPE_DT && primitiveType2 == XSConstants.STRING_DT ||
+                primitiveType1 == XSConstants.STRING_DT && primitiveType2 == XSConstants.ANYSIMPLETYPE_DT)
+                && enumValue.actualValue.equals(ob)) {
+            if (primitiveType1 == XSConstants.LIST_DT || primitiveType1 == XSConstants.LISTOFUNION_DT) {
+                ShortList enumItemType = enumValue.itemValueTypes;
+                final int typeList1Length = itemType != null ? itemType.getLength() : 0;
+                final int typeList2Length = enumItemType != null ? enumItemType.getLength() : 0;
+                if (typeList1Length == typeList2Length) {
+                    int j;
+                    for (j = 0; j < typeList1Length; ++j) {
+                        final short primitiveItem1 = convertToPrimitiveKind(itemType.item(j));
+                        final short primitiveItem2 = convertToPrimitiveKind(enumItemType.item(j));
+                        if (primitiveItem1 != primitiveItem2) {
+                            if (primitiveItem1 == XSConstants.ANYSIMPLETYPE_DT && primitiveItem2 == XSConstants.STRING_DT ||
+                                    primitiveItem1 == XSConstants.STRING_DT && primitiveItem2 == XSConstants.ANYSIMPLETYPE_DT) {
+                                continue;
+                            }
+                            break;
+                        }
+                    }
+                    return j == typeList1Length;
+                }
+                return false;
+            }
+            return true;
+        }
+        return false;
+    }
+
     private short convertToPrimitiveKind(short valueType) {
         /** Primitive datatypes. */
         if (valueType <= XSConstants.NOTATION_DT) {
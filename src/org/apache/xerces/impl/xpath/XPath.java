@@ -17,6 +17,7 @@
 
 package org.apache.xerces.impl.xpath;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Vector;
 
@@ -34,7 +35,10 @@ import org.apache.xerces.xni.QName;
  * @author Andy Clark, IBM
  * @version $Id$
  */
-public class XPath {
+public class XPath implements Serializable {
+
+    /** Serialization version. */
+    static final long serialVersionUID = 672019571059367074L;
 
     //
     // Constants
@@ -53,8 +57,8 @@ public class XPath {
     /** Expression. */
     protected final String fExpression;
 
-    /** Symbol table. */
-    protected final SymbolTable fSymbolTable;
+    /** Symbol table. Only used while the expression is parsed. */
+    protected final transient SymbolTable fSymbolTable;
 
     /** Location paths. */
     protected final LocationPath[] fLocationPaths;
@@ -367,7 +371,10 @@ public class XPath {
      * @author Andy Clark, IBM
      */
     public static class LocationPath
-        implements Cloneable {
+        implements Cloneable, Serializable {
+
+        /** Serialization version. */
+        static final long serialVersionUID = -3409327693667908930L;
 
         //
         // Data
@@ -434,7 +441,10 @@ public class XPath {
      * @author Andy Clark, IBM
      */
     public static class Step
-        implements Cloneable {
+        implements Cloneable, Serializable {
+
+        /** Serialization version. */
+        static final long serialVersionUID = 6242247889417363093L;
 
         //
         // Data
@@ -498,7 +508,10 @@ public class XPath {
      * @author Andy Clark, IBM
      */
     public static class Axis
-        implements Cloneable {
+        implements Cloneable, Serializable {
+
+        /** Serialization version. */
+        static final long serialVersionUID = 1407770671393977263L;
 
         //
         // Constants
@@ -567,7 +580,10 @@ public class XPath {
      * @author Andy Clark, IBM
      */
     public static class NodeTest
-        implements Cloneable {
+        implements Cloneable, Serializable {
+
+        /** Serialization version. */
+        static final long serialVersionUID = -707010884301523371L;
 
         //
         // Constants
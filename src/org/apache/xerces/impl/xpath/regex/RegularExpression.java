@@ -639,17 +639,14 @@ public class RegularExpression implements java.io.Serializable {
      */
     public boolean matches(char[] target, int start, int end, Match match) {
 
-        synchronized (this) {
-            if (this.operations == null)
-                this.prepare();
-            if (this.context == null)
-                this.context = new Context();
-        }
-        Context con = null;
-        synchronized (this.context) {
-            con = this.context.inuse ? new Context() : this.context;
-            con.reset(target, start, end, this.numberOfClosures);
-        }
+        this.ensurePrepared();
+        if (match == null && this.dfa != null) {
+            final int result = this.dfa.matches(target, start, end);
+            if (result != DFAMatcher.UNKNOWN)
+                return result == DFAMatcher.MATCH;
+        }
+        Context con = this.getContext();
+        con.reset(target, start, end, this.numberOfClosures);
         if (match != null) {
             match.setNumberOfGroups(this.nofparen);
             match.setSource(target);
@@ -672,6 +669,7 @@ public class RegularExpression implements java.io.Serializable {
                 con.setInUse(false);
                 return true;
             }
+            con.setInUse(false);
             return false;
         }
 
@@ -824,17 +822,14 @@ public class RegularExpression implements java.io.Serializable {
      */
     public boolean matches(String  target, int start, int end, Match match) {
 
-        synchronized (this) {
-            if (this.operations == null)
-                this.prepare();
-            if (this.context == null)
-                this.context = new Context();
-        }
-        Context con = null;
-        synchronized (this.context) {
-            con = this.context.inuse ? new Context() : this.context;
-            con.reset(target, start, end, this.numberOfClosures);
+        this.ensurePrepared();
+        if (match == null && this.dfa != null) {
+            final int result = this.dfa.matches(target, start, end);
+            if (result != DFAMatcher.UNKNOWN)
+                return result == DFAMatcher.MATCH;
         }
+        Context con = this.getContext();
+        con.reset(target, start, end, this.numberOfClosures);
         if (match != null) {
             match.setNumberOfGroups(this.nofparen);
             match.setSource(target);
@@ -863,6 +858,7 @@ public class RegularExpression implements java.io.Serializable {
                 con.setInUse(false);
                 return true;
             }
+            con.setInUse(false);
             return false;
         }
 
@@ -1503,17 +1499,8 @@ public class RegularExpression implements java.io.Serializable {
 
 
 
-        synchronized (this) {
-            if (this.operations == null)
-                this.prepare();
-            if (this.context == null)
-                this.context = new Context();
-        }
-        Context con = null;
-        synchronized (this.context) {
-            con = this.context.inuse ? new Context() : this.context;
-            con.reset(target, start, end, this.numberOfClosures);
-        }
+        Context con = this.getContext();
+        con.reset(target, start, end, this.numberOfClosures);
         if (match != null) {
             match.setNumberOfGroups(this.nofparen);
             match.setSource(target);
@@ -1536,6 +1523,7 @@ public class RegularExpression implements java.io.Serializable {
                 con.setInUse(false);
                 return true;
             }
+            con.setInUse(false);
             return false;
         }
 
@@ -1674,7 +1662,12 @@ public class RegularExpression implements java.io.Serializable {
     transient int minlength;
     transient Op operations = null;
     transient int numberOfClosures;
-    transient Context context = null;
+    /** Match context of each thread; a Context is only used by one thread at a time. */
+    transient ThreadLocal context = null;
+    /** Set once the compiled program and the context are ready for matching. */
+    transient volatile boolean prepared = false;
+    /** DFA for patterns in XML Schema mode which are regular; otherwise null. */
+    transient DFAMatcher dfa = null;
     transient RangeToken firstChar = null;
 
     transient String fixedString = null;
@@ -2016,11 +2009,48 @@ public class RegularExpression implements java.io.Serializable {
             this.limit = limit;
             this.resetCommon(nofclosures);
         }
-        synchronized void setInUse(boolean inUse) {
+        void setInUse(boolean inUse) {
             this.inuse = inUse;
         }
     }
 
+    /**
+     * Compiles the pattern if it has not been compiled yet. Patterns in
+     * XML Schema mode which denote regular languages are also compiled
+     * into a DFA.
+     */
+    private void ensurePrepared() {
+        if (!this.prepared) {
+            synchronized (this) {
+                if (!this.prepared) {
+                    if (this.operations == null)
+                        this.prepare();
+                    if (this.context == null)
+                        this.context = new ThreadLocal();
+                    if (this.options == XMLSCHEMA_MODE && !this.hasBackReferences)
+                        this.dfa = DFAMatcher.compile(this.tokentree);
+                    this.prepared = true;
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns a match context for the current thread, compiling the
+     * pattern first if needed. Once compiled the program is not modified,
+     * so matching on different threads takes no lock.
+     */
+    private Context getContext() {
+        this.ensurePrepared();
+        Context con = (Context) this.context.get();
+        // a context still in use was abandoned by a failed match
+        if (con == null || con.inuse) {
+            con = new Context();
+            this.context.set(con);
+        }
+        return con;
+    }
+
     /**
      * Prepares for matching.  This method is called just before starting matching.
      */
@@ -2252,6 +2282,8 @@ public class RegularExpression implements java.io.Serializable {
 
         this.operations = null;
         this.context = null;
+        this.dfa = null;
+        this.prepared = false;
     }
 
     /**
@@ -17,6 +17,7 @@
 
 package org.apache.xerces.impl.xs;
 
+import java.io.Serializable;
 import java.lang.ref.SoftReference;
 import java.util.Vector;
 
@@ -76,7 +77,10 @@ import org.xml.sax.SAXException;
  * @version $Id$
  */
 
-public class SchemaGrammar implements XSGrammar, XSNamespaceItem {
+public class SchemaGrammar implements XSGrammar, XSNamespaceItem, Serializable {
+
+    /** Serialization version. */
+    static final long serialVersionUID = 1401143796244719138L;
 
     // the target namespace of grammar
     String fTargetNamespace;
@@ -114,11 +118,12 @@ public class SchemaGrammar implements XSGrammar, XSNamespaceItem {
     // number of annotations declared
     int fNumAnnotations;
 
-    // symbol table for constructing parsers (annotation support)
-    private SymbolTable fSymbolTable = null;
+    // symbol table for constructing parsers (annotation support);
+    // grammars read from a snapshot have none and the parsers use their own
+    private transient SymbolTable fSymbolTable = null;
     // parsers for annotation support
-    private SoftReference<SAXParser> fSAXParser = null;
-    private SoftReference<DOMParser> fDOMParser = null;
+    private transient SoftReference<SAXParser> fSAXParser = null;
+    private transient SoftReference<DOMParser> fDOMParser = null;
     
     // is this grammar immutable?  (fully constructed and not changeable)
     private boolean fIsImmutable = false;
@@ -1372,8 +1377,8 @@ public class SchemaGrammar implements XSGrammar, XSNamespaceItem {
                                                  };
                                                  
     // store a certain kind of components from all namespaces
-    private XSNamedMap[] fComponents = null;
-    private ObjectList[] fComponentsExt = null;
+    private transient XSNamedMap[] fComponents = null;
+    private transient ObjectList[] fComponentsExt = null;
 
     // store the documents and their locations contributing to this namespace
     // REVISIT: use StringList and XSObjectList for there fields.
@@ -49,6 +49,11 @@ public class SubstitutionGroupHandler {
         fXSElementDeclHelper = elementDeclHelper;
     }
 
+    // get the global element decl for an element with the given qname
+    public XSElementDecl getGlobalElementDecl(QName element) {
+        return fXSElementDeclHelper.getGlobalElementDecl(element);
+    }
+
     // 3.9.4 Element Sequence Locally Valid (Particle) 2.3.3
     // check whether one element decl matches an element with the given qname
     public XSElementDecl getMatchingElemDecl(QName element, XSElementDecl exemplar) {
@@ -147,6 +147,10 @@ XSLoader, DOMConfiguration {
     protected static final String TOLERATE_DUPLICATES = 
         Constants.XERCES_FEATURE_PREFIX + Constants.TOLERATE_DUPLICATES_FEATURE;
     
+    /** Feature identifier: parallel schema loading */
+    protected static final String PARALLEL_SCHEMA_LOADING = 
+        Constants.XERCES_FEATURE_PREFIX + Constants.PARALLEL_SCHEMA_LOADING_FEATURE;
+    
     /** Property identifier: Schema DV Factory */
     protected static final String SCHEMA_DV_FACTORY = 
         Constants.XERCES_PROPERTY_PREFIX + Constants.SCHEMA_DV_FACTORY_PROPERTY;
@@ -163,7 +167,8 @@ XSLoader, DOMConfiguration {
         VALIDATE_ANNOTATIONS,
         HONOUR_ALL_SCHEMALOCATIONS,
         NAMESPACE_GROWTH,
-        TOLERATE_DUPLICATES
+        TOLERATE_DUPLICATES,
+        PARALLEL_SCHEMA_LOADING
     };
     
     // property identifiers
@@ -210,6 +215,10 @@ XSLoader, DOMConfiguration {
     protected static final String ENTITY_MANAGER =
         Constants.XERCES_PROPERTY_PREFIX + Constants.ENTITY_MANAGER_PROPERTY;   
     
+    /** Property identifier: value cache size. */
+    protected static final String VALUE_CACHE_SIZE =
+        Constants.XERCES_PROPERTY_PREFIX + Constants.VALUE_CACHE_SIZE_PROPERTY;
+    
     // recognized properties
     private static final String [] RECOGNIZED_PROPERTIES = {
         ENTITY_MANAGER,
@@ -223,7 +232,8 @@ XSLoader, DOMConfiguration {
         JAXP_SCHEMA_SOURCE,
         SECURITY_MANAGER,
         LOCALE,
-        SCHEMA_DV_FACTORY
+        SCHEMA_DV_FACTORY,
+        VALUE_CACHE_SIZE
     };
     
     // Data
@@ -1221,7 +1231,8 @@ XSLoader, DOMConfiguration {
                 name.equals(GENERATE_SYNTHETIC_ANNOTATIONS) ||
                 name.equals(HONOUR_ALL_SCHEMALOCATIONS) ||
                 name.equals(NAMESPACE_GROWTH) ||
-                name.equals(TOLERATE_DUPLICATES)) {
+                name.equals(TOLERATE_DUPLICATES) ||
+                name.equals(PARALLEL_SCHEMA_LOADING)) {
                 return true;
                 
             }
@@ -1237,7 +1248,8 @@ XSLoader, DOMConfiguration {
             name.equals(SCHEMA_LOCATION) ||
             name.equals(SCHEMA_NONS_LOCATION) ||
             name.equals(JAXP_SCHEMA_SOURCE) ||
-            name.equals(SCHEMA_DV_FACTORY)) {
+            name.equals(SCHEMA_DV_FACTORY) ||
+            name.equals(VALUE_CACHE_SIZE)) {
             return true;
         }
         return false;
@@ -1300,6 +1312,7 @@ XSLoader, DOMConfiguration {
             v.add(HONOUR_ALL_SCHEMALOCATIONS);
             v.add(NAMESPACE_GROWTH);
             v.add(TOLERATE_DUPLICATES);
+            v.add(PARALLEL_SCHEMA_LOADING);
             fRecognizedParameters = new DOMStringListImpl(v);      	
         }
         return fRecognizedParameters;
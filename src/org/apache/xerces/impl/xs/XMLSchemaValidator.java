@@ -19,6 +19,7 @@ package org.apache.xerces.impl.xs;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Hashtable;
 import java.util.Iterator;
@@ -189,6 +190,10 @@ public class XMLSchemaValidator
     protected static final String TOLERATE_DUPLICATES = 
         Constants.XERCES_FEATURE_PREFIX + Constants.TOLERATE_DUPLICATES_FEATURE;
 
+    /** Feature identifier: parallel schema loading */
+    protected static final String PARALLEL_SCHEMA_LOADING = 
+        Constants.XERCES_FEATURE_PREFIX + Constants.PARALLEL_SCHEMA_LOADING_FEATURE;
+
     /** Feature identifier: whether to ignore xsi:type attributes until a global element declaration is encountered */
     protected static final String IGNORE_XSI_TYPE =
         Constants.XERCES_FEATURE_PREFIX + Constants.IGNORE_XSI_TYPE_FEATURE;
@@ -257,6 +262,10 @@ public class XMLSchemaValidator
     protected static final String SCHEMA_DV_FACTORY = 
         Constants.XERCES_PROPERTY_PREFIX + Constants.SCHEMA_DV_FACTORY_PROPERTY;
     
+    /** Property identifier: value cache size. */
+    protected static final String VALUE_CACHE_SIZE = 
+        Constants.XERCES_PROPERTY_PREFIX + Constants.VALUE_CACHE_SIZE_PROPERTY;
+    
     // recognized features and properties
 
     /** Recognized features. */
@@ -278,7 +287,8 @@ public class XMLSchemaValidator
             IDENTITY_CONSTRAINT_CHECKING,
             UNPARSED_ENTITY_CHECKING,
             NAMESPACE_GROWTH,
-            TOLERATE_DUPLICATES
+            TOLERATE_DUPLICATES,
+            PARALLEL_SCHEMA_LOADING
         };
 
 
@@ -309,6 +319,7 @@ public class XMLSchemaValidator
         null,
         null,
         null,
+        null,
         null
     };
 
@@ -326,10 +337,11 @@ public class XMLSchemaValidator
             ROOT_TYPE_DEF,
             ROOT_ELEMENT_DECL,
             SCHEMA_DV_FACTORY,
+            VALUE_CACHE_SIZE,
         };
 
     /** Property defaults. */
-    private static final Object[] PROPERTY_DEFAULTS = { null, null, null, null, null, null, null, null, null, null, null};
+    private static final Object[] PROPERTY_DEFAULTS = { null, null, null, null, null, null, null, null, null, null, null, null};
 
     // this is the number of valuestores of each kind
     // we expect an element to have.  It's almost
@@ -1279,6 +1291,9 @@ public class XMLSchemaValidator
     /** temporary validated info */
     private ValidatedInfo fValidatedInfo = new ValidatedInfo();
 
+    /** characters of a value checked without computing its actual value */
+    private final XMLString fValueChars = new XMLString();
+
     // used to validate default/fixed values against xsi:type
     // only need to check facets, so we set extraChecking to false (in reset)
     private ValidationState fState4XsiType = new ValidationState();
@@ -3078,25 +3093,37 @@ public class XMLSchemaValidator
 
         Object actualValue = null;
         try {
-            actualValue = attDV.validate(attrValue, fValidationState, fValidatedInfo);
-            // store the normalized value
-            if (fNormalizeData) {
-                attributes.setValue(index, fValidatedInfo.normalizedValue);
+            // the actual value is only needed for the PSVI, identity
+            // constraints and fixed values
+            if (!fAugPSVI && !fIdConstraint
+                && currDecl.getConstraintType() != XSConstants.VC_FIXED
+                && (currUse == null || currUse.fConstraintType != XSConstants.VC_FIXED)
+                && isValidWithoutValue(attDV, attrValue)) {
+                if (fNormalizeData) {
+                    attributes.setValue(index, getNormalizedValue(attrValue));
+                }
             }
-            // PSVI: element notation
-            if (attDV.getVariety() == XSSimpleType.VARIETY_ATOMIC
-                && attDV.getPrimitiveKind() == XSSimpleType.PRIMITIVE_NOTATION) {
-                QName qName = (QName) actualValue;
-                SchemaGrammar grammar = fGrammarBucket.getGrammar(qName.uri);
-
-                //REVISIT: is it possible for the notation to be in different namespace than the attribute
-                //with which it is associated, CHECK !!  <fof n1:att1 = "n2:notation1" ..>
-                // should we give chance to the application to be able to  retrieve a grammar - nb
-                //REVISIT: what would be the triggering component here.. if it is attribute value that
-                // triggered the loading of grammar ?? -nb
-
-                if (grammar != null) {
-                    fNotation = grammar.getGlobalNotationDecl(qName.localpart);
+            else {
+                actualValue = attDV.validate(attrValue, fValidationState, fValidatedInfo);
+                // store the normalized value
+                if (fNormalizeData) {
+                    attributes.setValue(index, fValidatedInfo.normalizedValue);
+                }
+                // PSVI: element notation
+                if (attDV.getVariety() == XSSimpleType.VARIETY_ATOMIC
+                    && attDV.getPrimitiveKind() == XSSimpleType.PRIMITIVE_NOTATION) {
+                    QName qName = (QName) actualValue;
+                    SchemaGrammar grammar = fGrammarBucket.getGrammar(qName.uri);
+
+                    //REVISIT: is it possible for the notation to be in different namespace than the attribute
+                    //with which it is associated, CHECK !!  <fof n1:att1 = "n2:notation1" ..>
+                    // should we give chance to the application to be able to  retrieve a grammar - nb
+                    //REVISIT: what would be the triggering component here.. if it is attribute value that
+                    // triggered the loading of grammar ?? -nb
+
+                    if (grammar != null) {
+                        fNotation = grammar.getGlobalNotationDecl(qName.localpart);
+                    }
                 }
             }
         } 
@@ -3421,7 +3448,12 @@ public class XMLSchemaValidator
                     if (!fNormalizeData || fUnionType) {
                         fValidationState.setNormalizationRequired(true);
                     }
-                    retValue = dv.validate(textContent, fValidationState, fValidatedInfo);
+                    if (!isElementValueRequired() && isValidWithoutValue(dv, textContent)) {
+                        retValue = null;
+                    }
+                    else {
+                        retValue = dv.validate(textContent, fValidationState, fValidatedInfo);
+                    }
                 } catch (InvalidDatatypeValueException e) {
                     reportSchemaError(e.getKey(), e.getArgs());
                     reportSchemaError(
@@ -3460,7 +3492,12 @@ public class XMLSchemaValidator
                     if (!fNormalizeData || fUnionType) {
                         fValidationState.setNormalizationRequired(true);
                     }
-                    actualValue = dv.validate(textContent, fValidationState, fValidatedInfo);
+                    if (!isElementValueRequired() && isValidWithoutValue(dv, textContent)) {
+                        actualValue = null;
+                    }
+                    else {
+                        actualValue = dv.validate(textContent, fValidationState, fValidatedInfo);
+                    }
                 } catch (InvalidDatatypeValueException e) {
                     reportSchemaError(e.getKey(), e.getArgs());
                     reportSchemaError("cvc-complex-type.2.2", new Object[] { element.rawname });
@@ -3513,6 +3550,72 @@ public class XMLSchemaValidator
         return actualValue;
     } // elementLocallyValidComplexType
     
+    /**
+     * Returns true if the actual value of the current element is needed
+     * for the PSVI, an identity constraint or a fixed value.
+     */
+    private boolean isElementValueRequired() {
+        return fAugPSVI
+            || fMatcherStack.getMatcherCount() > 0
+            || (fCurrentElemDecl != null
+                && fCurrentElemDecl.getConstraintType() == XSConstants.VC_FIXED);
+    } // isElementValueRequired():boolean
+
+    /**
+     * Checks a value against a simple type without computing its actual
+     * value. On return fValueChars holds the normalized value. Returns
+     * false if the value must be validated with XSSimpleType.validate(),
+     * which also reports why it is invalid.
+     */
+    private boolean isValidWithoutValue(XSSimpleType dv, Object value) {
+        if (!(dv instanceof XSSimpleTypeDecl)) {
+            return false;
+        }
+        final int length;
+        if (value instanceof String) {
+            length = ((String) value).length();
+        }
+        else if (value instanceof StringBuffer) {
+            length = ((StringBuffer) value).length();
+        }
+        else {
+            return false;
+        }
+        if (fValueChars.ch == null || fValueChars.ch.length < length) {
+            fValueChars.ch = new char[Math.max(length, BUFFER_SIZE)];
+        }
+        if (value instanceof String) {
+            ((String) value).getChars(0, length, fValueChars.ch, 0);
+        }
+        else {
+            ((StringBuffer) value).getChars(0, length, fValueChars.ch, 0);
+        }
+        fValueChars.offset = 0;
+        fValueChars.length = length;
+        return ((XSSimpleTypeDecl) dv).isValid(fValueChars, fValidationState);
+    } // isValidWithoutValue(XSSimpleType,Object):boolean
+
+    /**
+     * Returns the value normalized by isValidWithoutValue(), or the
+     * original value if normalization did not change it.
+     */
+    private String getNormalizedValue(String value) {
+        final int length = fValueChars.length;
+        if (length == value.length()) {
+            // normalization only removes characters or replaces them
+            final char[] ch = fValueChars.ch;
+            final int offset = fValueChars.offset;
+            int i = 0;
+            while (i < length && ch[offset + i] == value.charAt(i)) {
+                ++i;
+            }
+            if (i == length) {
+                return value;
+            }
+        }
+        return fValueChars.toString();
+    } // getNormalizedValue(String):String
+
     void processRootTypeQName(final javax.xml.namespace.QName rootTypeQName) {
         String rootTypeNamespace = rootTypeQName.getNamespaceURI();
         // Add namespace to symbol table, to make sure it's interned.
@@ -3723,6 +3826,19 @@ public class XMLSchemaValidator
         private int fItemValueTypesLength = 0;
         private ShortList fItemValueType = null;
 
+        /** 
+         * Hash index over the tuples of fValues. Each bucket holds the
+         * first tuple of a chain through fTupleNext, or -1. Tuples are
+         * hashed on the hash codes of their actual values, which are
+         * consistent with the value space equality used to compare them.
+         */
+        private int[] fTupleBuckets = null;
+        private int[] fTupleNext = null;
+        private int[] fTupleHashes = null;
+        
+        /** Number of tuples in fValues which have been indexed. */
+        private int fIndexedTupleCount = 0;
+
         /** buffer for error messages */
         final StringBuffer fTempBuffer = new StringBuffer();
 
@@ -3764,6 +3880,7 @@ public class XMLSchemaValidator
             if (fItemValueTypes != null) {
                 fItemValueTypes.setSize(0);
             }
+            clearIndex();
         } // end clear():void
 
         // appends the contents of one ValueStore to those of us.
@@ -3896,12 +4013,14 @@ public class XMLSchemaValidator
          * Returns true if this value store contains the locally scoped value stores
          */
         public boolean contains() {
-            // REVISIT: we can improve performance by using hash codes, instead of
-            // traversing global vector that could be quite large.
-            int next = 0;
-            final int size = fValues.size();
-            LOOP : for (int i = 0; i < size; i = next) {
-                next = i + fFieldCount;
+            updateIndex();
+            final int hash = tupleHash(fLocalValues);
+            LOOP : for (int tuple = fTupleBuckets[hash & (fTupleBuckets.length - 1)]; 
+                tuple != -1; tuple = fTupleNext[tuple]) {
+                if (fTupleHashes[tuple] != hash) {
+                    continue;
+                }
+                int i = tuple * fFieldCount;
                 for (int j = 0; j < fFieldCount; j++) {
                     Object value1 = fLocalValues[j];
                     Object value2 = fValues.elementAt(i);
@@ -3932,12 +4051,13 @@ public class XMLSchemaValidator
          */
         public int contains(ValueStoreBase vsb) {
             
+            updateIndex();
             final Vector values = vsb.fValues;         
             final int size1 = values.size();
             if (fFieldCount <= 1) {
                 for (int i = 0; i < size1; ++i) {
                     short val = vsb.getValueTypeAt(i);
-                    if (!valueTypeContains(val) || !fValues.contains(values.elementAt(i))) {
+                    if (!valueTypeContains(val) || !containsValue(values.elementAt(i))) {
                         return i;
                     }
                     else if(val == XSConstants.LIST_DT || val == XSConstants.LISTOFUNION_DT) {
@@ -3950,11 +4070,16 @@ public class XMLSchemaValidator
             }
             /** Handle n-tuples. **/
             else {
-                final int size2 = fValues.size();
                 /** Iterate over each set of fields. **/
                 OUTER: for (int i = 0; i < size1; i += fFieldCount) {
                     /** Check whether this set is contained in the value store. **/
-                    INNER: for (int j = 0; j < size2; j += fFieldCount) {
+                    final int hash = tupleHash(values, i);
+                    INNER: for (int tuple = fTupleBuckets[hash & (fTupleBuckets.length - 1)]; 
+                        tuple != -1; tuple = fTupleNext[tuple]) {
+                        if (fTupleHashes[tuple] != hash) {
+                            continue;
+                        }
+                        final int j = tuple * fFieldCount;
                         for (int k = 0; k < fFieldCount; ++k) {
                             final Object value1 = values.elementAt(i+k);
                             final Object value2 = fValues.elementAt(j+k);
@@ -4057,6 +4182,89 @@ public class XMLSchemaValidator
         // Private methods
         //
         
+        /** Enters the tuples added to fValues since the last call into the index. */
+        private void updateIndex() {
+            final int tupleCount = fValues.size() / fFieldCount;
+            if (fTupleBuckets == null) {
+                fTupleBuckets = new int[16];
+                Arrays.fill(fTupleBuckets, -1);
+                fTupleNext = new int[16];
+                fTupleHashes = new int[16];
+            }
+            if (fIndexedTupleCount == tupleCount) {
+                return;
+            }
+            if (tupleCount > fTupleNext.length) {
+                int length = fTupleNext.length;
+                while (length < tupleCount) {
+                    length <<= 1;
+                }
+                int[] next = new int[length];
+                System.arraycopy(fTupleNext, 0, next, 0, fIndexedTupleCount);
+                fTupleNext = next;
+                int[] hashes = new int[length];
+                System.arraycopy(fTupleHashes, 0, hashes, 0, fIndexedTupleCount);
+                fTupleHashes = hashes;
+                // keep the load factor at or below one
+                fTupleBuckets = new int[length];
+                Arrays.fill(fTupleBuckets, -1);
+                for (int tuple = 0; tuple < fIndexedTupleCount; ++tuple) {
+                    final int bucket = fTupleHashes[tuple] & (length - 1);
+                    fTupleNext[tuple] = fTupleBuckets[bucket];
+                    fTupleBuckets[bucket] = tuple;
+                }
+            }
+            final int mask = fTupleBuckets.length - 1;
+            for (int tuple = fIndexedTupleCount; tuple < tupleCount; ++tuple) {
+                final int hash = tupleHash(fValues, tuple * fFieldCount);
+                final int bucket = hash & mask;
+                fTupleHashes[tuple] = hash;
+                fTupleNext[tuple] = fTupleBuckets[bucket];
+                fTupleBuckets[bucket] = tuple;
+            }
+            fIndexedTupleCount = tupleCount;
+        }
+        
+        private void clearIndex() {
+            fIndexedTupleCount = 0;
+            if (fTupleBuckets != null) {
+                Arrays.fill(fTupleBuckets, -1);
+            }
+        }
+        
+        /** Returns true if fValues contains the given single field value. */
+        private boolean containsValue(Object value) {
+            final int hash = (value != null) ? value.hashCode() : 0;
+            for (int tuple = fTupleBuckets[hash & (fTupleBuckets.length - 1)]; 
+                tuple != -1; tuple = fTupleNext[tuple]) {
+                if (fTupleHashes[tuple] == hash) {
+                    final Object value2 = fValues.elementAt(tuple);
+                    if (value != null ? value.equals(value2) : value2 == null) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+        
+        private int tupleHash(Vector values, int start) {
+            int hash = 0;
+            for (int i = 0; i < fFieldCount; ++i) {
+                final Object value = values.elementAt(start + i);
+                hash = hash * 31 + ((value != null) ? value.hashCode() : 0);
+            }
+            return hash;
+        }
+        
+        private int tupleHash(Object[] values) {
+            int hash = 0;
+            for (int i = 0; i < fFieldCount; ++i) {
+                final Object value = values[i];
+                hash = hash * 31 + ((value != null) ? value.hashCode() : 0);
+            }
+            return hash;
+        }
+        
         private void addValueType(short type) {
             if (fUseValueTypeVector) {
                 fValueTypes.add(type);
@@ -17,6 +17,7 @@
 package org.apache.xerces.impl.xs;
 
 import java.io.IOException;
+import java.io.Serializable;
 import java.io.StringReader;
 
 import org.apache.xerces.dom.CoreDocumentImpl;
@@ -39,7 +40,10 @@ import org.xml.sax.SAXException;
  * 
  * @version $Id$
  */
-public class XSAnnotationImpl implements XSAnnotation {
+public class XSAnnotationImpl implements XSAnnotation, Serializable {
+
+    /** Serialization version. */
+    static final long serialVersionUID = 5262555796521756313L;
 
     // Data
 
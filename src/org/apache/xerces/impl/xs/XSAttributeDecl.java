@@ -17,6 +17,8 @@
 
 package org.apache.xerces.impl.xs;
 
+import java.io.Serializable;
+
 import org.apache.xerces.impl.dv.ValidatedInfo;
 import org.apache.xerces.impl.dv.XSSimpleType;
 import org.apache.xerces.impl.xs.util.XSObjectListImpl;
@@ -41,7 +43,10 @@ import org.apache.xerces.xs.XSValue;
  * @author Sandy Gao, IBM
  * @version $Id$
  */
-public class XSAttributeDecl implements XSAttributeDeclaration {
+public class XSAttributeDecl implements XSAttributeDeclaration, Serializable {
+
+    /** Serialization version. */
+    static final long serialVersionUID = -45029869717789796L;
 
     // scopes
     public final static short     SCOPE_ABSENT        = 0;
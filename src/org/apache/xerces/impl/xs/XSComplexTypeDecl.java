@@ -17,6 +17,8 @@
 
 package org.apache.xerces.impl.xs;
 
+import java.io.Serializable;
+
 import org.apache.xerces.impl.dv.XSSimpleType;
 import org.apache.xerces.impl.dv.xs.XSSimpleTypeDecl;
 import org.apache.xerces.impl.xs.models.CMBuilder;
@@ -43,7 +45,10 @@ import org.w3c.dom.TypeInfo;
  * @author Sandy Gao, IBM
  * @version $Id$
  */
-public class XSComplexTypeDecl implements XSComplexTypeDefinition, TypeInfo {
+public class XSComplexTypeDecl implements XSComplexTypeDefinition, TypeInfo, Serializable {
+
+    /** Serialization version. */
+    static final long serialVersionUID = -340831831634785594L;
 
     // name of the complexType
     String fName = null;
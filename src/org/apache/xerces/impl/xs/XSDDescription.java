@@ -35,6 +35,10 @@ import org.apache.xerces.xni.grammars.XMLSchemaDescription;
  */
 public class XSDDescription extends XMLResourceIdentifierImpl 
                 implements XMLSchemaDescription {
+
+    /** Serialization version. */
+    static final long serialVersionUID = 6196493505970378343L;
+
     // used to indicate what triggered the call
     /**
      * Indicate that this description was just initialized. 
@@ -96,7 +100,7 @@ public class XSDDescription extends XMLResourceIdentifierImpl
     protected String [] fLocationHints ;
     protected QName fTriggeringComponent;
     protected QName fEnclosedElementName;
-    protected XMLAttributes  fAttributes;
+    protected transient XMLAttributes  fAttributes;
         
     /**
      * the type of the grammar (e.g., DTD or XSD);
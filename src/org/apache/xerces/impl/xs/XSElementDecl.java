@@ -17,6 +17,8 @@
 
 package org.apache.xerces.impl.xs;
 
+import java.io.Serializable;
+
 import org.apache.xerces.impl.dv.ValidatedInfo;
 import org.apache.xerces.impl.xs.identity.IdentityConstraint;
 import org.apache.xerces.impl.xs.util.XSNamedMapImpl;
@@ -43,7 +45,10 @@ import org.apache.xerces.xs.XSValue;
  * @author Sandy Gao, IBM
  * @version $Id$
  */
-public class XSElementDecl implements XSElementDeclaration {
+public class XSElementDecl implements XSElementDeclaration, Serializable {
+
+    /** Serialization version. */
+    static final long serialVersionUID = -3014733604890140344L;
 
     // scopes
     public final static short     SCOPE_ABSENT        = 0;
@@ -88,8 +88,10 @@ public final class XSModelImpl extends AbstractList implements XSModel, XSNamesp
     private final SchemaGrammar[] fGrammarList;
     // a map from namespace to schema grammar
     private final SymbolHash fGrammarMap;
-    // a map from element declaration to its substitution group
-    private final SymbolHash fSubGroupMap;
+    // maps from element declaration to its substitution group, newest
+    // first; a model extended by addGrammars shares the maps of the model
+    // it extends and only adds a map for the heads whose groups changed
+    private final SymbolHash[] fSubGroupMaps;
     
     // store a certain kind of components from all namespaces
     private final XSNamedMap[] fGlobalComponents;
@@ -192,7 +194,133 @@ public final class XSModelImpl extends AbstractList implements XSModel, XSNamesp
         fNamespacesList = new StringListImpl(fNamespaces, fGrammarCount);
         
         // build substitution groups
-        fSubGroupMap = buildSubGroups();
+        fSubGroupMaps = new SymbolHash[] {buildSubGroups()};
+    }
+    
+    /**
+     * Construct an XSModelImpl which extends another with some grammars.
+     * 
+     * @param base         the model being extended
+     * @param grammarList  the grammars of the base model followed by the
+     *                     grammars added to it
+     * @param len          the number of grammars in the list
+     */
+    private XSModelImpl(XSModelImpl base, SchemaGrammar[] grammarList, int len) {
+        final int baseCount = base.fGrammarCount;
+        final String[] namespaces = new String[len];
+        System.arraycopy(base.fNamespaces, 0, namespaces, 0, baseCount);
+        boolean hasIDC = base.fHasIDC;
+        final SymbolHash grammarMap = base.fGrammarMap.makeClone();
+        for (int i = baseCount; i < len; i++) {
+            namespaces[i] = grammarList[i].getTargetNamespace();
+            grammarMap.put(null2EmptyString(namespaces[i]), grammarList[i]);
+            if (grammarList[i].hasIDConstraints()) {
+                hasIDC = true;
+            }
+        }
+        
+        fNamespaces = namespaces;
+        fGrammarList = grammarList;
+        fGrammarMap = grammarMap;
+        fHasIDC = hasIDC;
+        fGrammarCount = len;
+        fGlobalComponents = new XSNamedMap[MAX_COMP_IDX+1];
+        fNSComponents = new XSNamedMap[len][];
+        // the per-namespace maps of the base model are shared
+        synchronized (base) {
+            for (int i = 0; i < baseCount; i++) {
+                fNSComponents[i] = (XSNamedMap[]) base.fNSComponents[i].clone();
+            }
+        }
+        for (int i = baseCount; i < len; i++) {
+            fNSComponents[i] = new XSNamedMap[MAX_COMP_IDX+1];
+        }
+        fNamespacesList = new StringListImpl(fNamespaces, fGrammarCount);
+        
+        // add substitution groups for the new heads and the old heads
+        // which new elements substitute for
+        fSubGroupMaps = addSubGroups(base, baseCount);
+    }
+    
+    /**
+     * Returns a model which holds the components of this model and of
+     * the given grammars, and the grammars they import. Grammars already
+     * in this model are shared: the per-namespace component maps built
+     * for them are reused, and only the substitution groups which the
+     * new grammars change are computed. This model is not modified.
+     * 
+     * <p>If one of the grammars has the same target namespace as, but
+     * is not, a grammar of this model, then a new model is built from
+     * scratch, in which the new grammar takes the place of the old one.
+     * Other grammars keep their order, and grammars which are new to
+     * the model follow them.</p>
+     * 
+     * @param grammars the grammars to add
+     * @return a model with the grammars added, or this model if it
+     *         already holds all of them
+     */
+    public XSModelImpl addGrammars(SchemaGrammar[] grammars) {
+        SchemaGrammar[] grammarList = new SchemaGrammar[fGrammarCount + grammars.length];
+        System.arraycopy(fGrammarList, 0, grammarList, 0, fGrammarCount);
+        final SymbolHash added = new SymbolHash();
+        int len = fGrammarCount;
+        boolean replaced = false;
+        for (int i = 0; i < grammars.length; i++) {
+            grammarList[len++] = grammars[i];
+        }
+        // keep the new grammars and those they import which aren't in
+        // this model; i walks the list as it grows
+        int count = fGrammarCount;
+        for (int i = fGrammarCount; i < len; i++) {
+            final SchemaGrammar sg = grammarList[i];
+            final String key = null2EmptyString(sg.getTargetNamespace());
+            final Object existing = fGrammarMap.get(key);
+            if (existing == sg || added.get(key) == sg) {
+                continue;
+            }
+            if (existing != null || added.get(key) != null) {
+                replaced = true;
+            }
+            added.put(key, sg);
+            grammarList[count++] = sg;
+            final Vector gs = sg.getImportedGrammars();
+            for (int j = gs == null ? -1 : gs.size() - 1; j >= 0; j--) {
+                if (len == grammarList.length) {
+                    SchemaGrammar[] newGA = new SchemaGrammar[len*2];
+                    System.arraycopy(grammarList, 0, newGA, 0, len);
+                    grammarList = newGA;
+                }
+                grammarList[len++] = (SchemaGrammar) gs.elementAt(j);
+            }
+        }
+        if (count == fGrammarCount) {
+            return this;
+        }
+        if (replaced) {
+            // the latest grammar for each namespace wins, and takes the
+            // place of the grammar it replaces
+            final SchemaGrammar[] all = new SchemaGrammar[count];
+            final SymbolHash placed = new SymbolHash();
+            int n = 0;
+            for (int i = 0; i < count; i++) {
+                final String key = null2EmptyString(grammarList[i].getTargetNamespace());
+                if (placed.get(key) == null) {
+                    final Object latest = added.get(key);
+                    all[n++] = latest != null ? (SchemaGrammar) latest : grammarList[i];
+                    placed.put(key, key);
+                }
+            }
+            final SchemaGrammar[] list = new SchemaGrammar[n];
+            System.arraycopy(all, 0, list, 0, n);
+            // the list holds the schema for schemas of this model
+            return new XSModelImpl(list);
+        }
+        if (count < grammarList.length) {
+            SchemaGrammar[] newGA = new SchemaGrammar[count];
+            System.arraycopy(grammarList, 0, newGA, 0, count);
+            grammarList = newGA;
+        }
+        return new XSModelImpl(this, grammarList, count);
     }
     
     private SymbolHash buildSubGroups_Org() {
@@ -215,6 +343,81 @@ public final class XSModelImpl extends AbstractList implements XSModel, XSNamesp
         return subGroupMap;
     }
     
+    /** The maximum number of substitution group maps a model keeps. */
+    private static final int MAX_SUB_GROUP_MAPS = 8;
+    
+    private SymbolHash[] addSubGroups(XSModelImpl base, int baseCount) {
+        SubstitutionGroupHandler sgHandler = new SubstitutionGroupHandler(null);
+        for (int i = baseCount; i < fGrammarCount; i++) {
+            sgHandler.addSubstitutionGroup(fGrammarList[i].getSubstitutionGroups());
+        }
+        
+        // the heads of older grammars whose groups gain new members,
+        // directly or through other heads
+        final Vector heads = new Vector();
+        final SymbolHash seen = new SymbolHash();
+        for (int i = baseCount; i < fGrammarCount; i++) {
+            final XSElementDecl[] members = fGrammarList[i].getSubstitutionGroups();
+            for (int j = 0; j < members.length; j++) {
+                for (XSElementDecl head = members[j].fSubGroup; 
+                     head != null && seen.get(head) == null; head = head.fSubGroup) {
+                    seen.put(head, head);
+                    if (base.fGrammarMap.get(null2EmptyString(head.getNamespace())) != null) {
+                        heads.addElement(head);
+                    }
+                }
+            }
+        }
+        if (heads.size() > 0) {
+            // their groups may also hold members from older grammars
+            for (int i = 0; i < baseCount; i++) {
+                sgHandler.addSubstitutionGroup(fGrammarList[i].getSubstitutionGroups());
+            }
+        }
+        
+        int length = heads.size();
+        for (int i = baseCount; i < fGrammarCount; i++) {
+            length += fGrammarList[i].fAllGlobalElemDecls.getLength();
+        }
+        final XSObject[] elements = new XSObject[length];
+        heads.copyInto(elements);
+        int start = heads.size();
+        for (int i = baseCount; i < fGrammarCount; i++) {
+            start += fGrammarList[i].fAllGlobalElemDecls.getValues(elements, start);
+        }
+        final SymbolHash subGroupMap = new SymbolHash(length*2);
+        XSElementDecl head;
+        XSElementDeclaration[] subGroup;
+        for (int i = 0; i < length; i++) {
+            head = (XSElementDecl)elements[i];
+            subGroup = sgHandler.getSubstitutionGroup(head);
+            subGroupMap.put(head, subGroup.length > 0 ? 
+                    new XSObjectListImpl(subGroup, subGroup.length) : XSObjectListImpl.EMPTY_LIST);
+        }
+        
+        final SymbolHash[] baseMaps = base.fSubGroupMaps;
+        if (baseMaps.length < MAX_SUB_GROUP_MAPS) {
+            final SymbolHash[] maps = new SymbolHash[baseMaps.length + 1];
+            maps[0] = subGroupMap;
+            System.arraycopy(baseMaps, 0, maps, 1, baseMaps.length);
+            return maps;
+        }
+        // merge the maps, oldest first so that newer groups win
+        final SymbolHash merged = baseMaps[baseMaps.length - 1].makeClone();
+        for (int i = baseMaps.length - 2; i >= 0; i--) {
+            putAll(merged, baseMaps[i]);
+        }
+        putAll(merged, subGroupMap);
+        return new SymbolHash[] {merged};
+    }
+    
+    private static void putAll(SymbolHash dst, SymbolHash src) {
+        final Object[] entries = src.getEntries();
+        for (int i = 0; i < entries.length; i += 2) {
+            dst.put(entries[i], entries[i + 1]);
+        }
+    }
+    
     private SymbolHash buildSubGroups() {
         SubstitutionGroupHandler sgHandler = new SubstitutionGroupHandler(null);
         for (int i = 0 ; i < fGrammarCount; i++) {
@@ -714,7 +917,13 @@ public final class XSModelImpl extends AbstractList implements XSModel, XSNamesp
      *  no members.
      */
     public XSObjectList getSubstitutionGroup(XSElementDeclaration head) {
-        return (XSObjectList)fSubGroupMap.get(head);
+        for (int i = 0; i < fSubGroupMaps.length; i++) {
+            final Object subGroup = fSubGroupMaps[i].get(head);
+            if (subGroup != null) {
+                return (XSObjectList)subGroup;
+            }
+        }
+        return null;
     }
     
     //
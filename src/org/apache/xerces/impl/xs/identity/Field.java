@@ -17,6 +17,8 @@
 
 package org.apache.xerces.impl.xs.identity;
 
+import java.io.Serializable;
+
 import org.apache.xerces.impl.xpath.XPathException;
 import org.apache.xerces.impl.xs.util.ShortListImpl;
 import org.apache.xerces.util.SymbolTable;
@@ -35,7 +37,10 @@ import org.apache.xerces.xs.XSTypeDefinition;
  * @author Andy Clark, IBM
  * @version $Id$
  */
-public class Field {
+public class Field implements Serializable {
+
+    /** Serialization version. */
+    static final long serialVersionUID = 5546427073225957311L;
 
     //
     // Data
@@ -17,6 +17,8 @@
 
 package org.apache.xerces.impl.xs.identity;
 
+import java.io.Serializable;
+
 import org.apache.xerces.impl.xs.XSAnnotationImpl;
 import org.apache.xerces.impl.xs.util.StringListImpl;
 import org.apache.xerces.impl.xs.util.XSObjectListImpl;
@@ -34,7 +36,10 @@ import org.apache.xerces.xs.XSObjectList;
  * @author Andy Clark, IBM
  * @version $Id$
  */
-public abstract class IdentityConstraint implements XSIDCDefinition {
+public abstract class IdentityConstraint implements XSIDCDefinition, Serializable {
+
+    /** Serialization version. */
+    static final long serialVersionUID = -4535449960527421264L;
 
     //
     // Data
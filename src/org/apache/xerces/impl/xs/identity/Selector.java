@@ -17,6 +17,8 @@
 
 package org.apache.xerces.impl.xs.identity;
 
+import java.io.Serializable;
+
 import org.apache.xerces.impl.xpath.XPathException;
 import org.apache.xerces.util.SymbolTable;
 import org.apache.xerces.util.XMLChar;
@@ -34,7 +36,10 @@ import org.apache.xerces.xs.XSTypeDefinition;
  * @author Andy Clark, IBM
  * @version $Id$
  */
-public class Selector {
+public class Selector implements Serializable {
+
+    /** Serialization version. */
+    static final long serialVersionUID = 4808249556691114952L;
 
     //
     // Data
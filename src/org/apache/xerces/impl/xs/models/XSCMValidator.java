@@ -17,6 +17,7 @@
 
 package org.apache.xerces.impl.xs.models;
 
+import java.io.Serializable;
 import java.util.Vector;
 
 import org.apache.xerces.impl.xs.SubstitutionGroupHandler;
@@ -32,7 +33,7 @@ import org.apache.xerces.xni.QName;
  * @author Elena Litani, IBM
  * @version $Id$
  */
-public interface XSCMValidator {
+public interface XSCMValidator extends Serializable {
 
 
     public static final short FIRST_ERROR = -1;
@@ -17,6 +17,7 @@
 
 package org.apache.xerces.impl.xs.models;
 
+import java.io.Serializable;
 import java.util.HashMap;
 import java.util.Vector;
 
@@ -31,6 +32,7 @@ import org.apache.xerces.impl.xs.XSModelGroupImpl;
 import org.apache.xerces.impl.xs.XSParticleDecl;
 import org.apache.xerces.impl.xs.XSWildcardDecl;
 import org.apache.xerces.xni.QName;
+import org.apache.xerces.xs.XSConstants;
 
 /**
  * DFAContentModel is the implementation of XSCMValidator that does
@@ -58,6 +60,12 @@ public class XSDFACM
     /** Set to true to debug content model validation. */
     private static final boolean DEBUG_VALIDATE_CONTENT = false;
 
+    /**
+     * The element map size at which transitions are looked up
+     * through the name index rather than by scanning the element map.
+     */
+    private static final int NAME_INDEX_THRESHOLD = 8;
+
     //
     // Data
     //
@@ -85,6 +93,30 @@ public class XSDFACM
     /** The element map size. */
     private int fElemMapSize = 0;
 
+    /**
+     * Hash buckets of the name index. Each bucket holds the first
+     * element map index of a chain through fNameIndexNext, or -1.
+     * Only element declarations are entered into the index. This is
+     * null if the element map is too small to need an index.
+     */
+    private int fNameIndexBuckets[] = null;
+
+    /**
+     * The next element map index in the same name index bucket, or -1.
+     * Chains are in ascending order of element map index.
+     */
+    private int fNameIndexNext[] = null;
+
+    /** Element map indexes of the wildcards, in ascending order. */
+    private int fWildcardIndexes[] = null;
+
+    /**
+     * The smallest element map index of a global element declaration
+     * which does not block substitution, i.e. of the first element
+     * which may be matched by a member of its substitution group.
+     */
+    private int fFirstSubstitutableIndex = 0;
+
     /**
      * This is an array of booleans, one per state (there are
      * fTransTableSize states in the DFA) that indicates whether that
@@ -141,7 +173,11 @@ public class XSDFACM
      * which use counters to check minOccurs/maxOccurs.
      */
     private Occurence [] fCountingStates = null;
-    static final class Occurence {
+    static final class Occurence implements Serializable {
+
+        /** Serialization version. */
+        static final long serialVersionUID = 6332718436781527657L;
+
         final int minOccurs;
         final int maxOccurs;
         final int elemIndex;
@@ -263,21 +299,30 @@ public class XSDFACM
         int elemIndex = 0;
         Object matchingDecl = null;
 
-        for (; elemIndex < fElemMapSize; elemIndex++) {
-            nextState = fTransTable[curState][elemIndex];
-            if (nextState == -1)
-                continue;
-            int type = fElemMapType[elemIndex] ;
-            if (type == XSParticleDecl.PARTICLE_ELEMENT) {
-                matchingDecl = subGroupHandler.getMatchingElemDecl(curElem, (XSElementDecl)fElemMap[elemIndex]);
-                if (matchingDecl != null) {
-                    break;
-                }
+        if (fNameIndexBuckets != null) {
+            elemIndex = lookupElemIndex(curElem, curState, -1, subGroupHandler);
+            if (elemIndex < fElemMapSize) {
+                nextState = fTransTable[curState][elemIndex];
+                matchingDecl = getMatchingDecl(curElem, elemIndex, subGroupHandler);
             }
-            else if (type == XSParticleDecl.PARTICLE_WILDCARD) {
-                if (((XSWildcardDecl)fElemMap[elemIndex]).allowNamespace(curElem.uri)) {
-                    matchingDecl = fElemMap[elemIndex];
-                    break;
+        }
+        else {
+            for (; elemIndex < fElemMapSize; elemIndex++) {
+                nextState = fTransTable[curState][elemIndex];
+                if (nextState == -1)
+                    continue;
+                int type = fElemMapType[elemIndex] ;
+                if (type == XSParticleDecl.PARTICLE_ELEMENT) {
+                    matchingDecl = subGroupHandler.getMatchingElemDecl(curElem, (XSElementDecl)fElemMap[elemIndex]);
+                    if (matchingDecl != null) {
+                        break;
+                    }
+                }
+                else if (type == XSParticleDecl.PARTICLE_WILDCARD) {
+                    if (((XSWildcardDecl)fElemMap[elemIndex]).allowNamespace(curElem.uri)) {
+                        matchingDecl = fElemMap[elemIndex];
+                        break;
+                    }
                 }
             }
         }
@@ -357,6 +402,11 @@ public class XSDFACM
     Object findMatchingDecl(QName curElem, SubstitutionGroupHandler subGroupHandler) {
         Object matchingDecl = null;
 
+        if (fNameIndexBuckets != null) {
+            final int elemIndex = lookupElemIndex(curElem, -1, -1, subGroupHandler);
+            return (elemIndex < fElemMapSize) ? getMatchingDecl(curElem, elemIndex, subGroupHandler) : null;
+        }
+
         for (int elemIndex = 0; elemIndex < fElemMapSize; elemIndex++) {
             int type = fElemMapType[elemIndex] ;
             if (type == XSParticleDecl.PARTICLE_ELEMENT) {
@@ -380,21 +430,30 @@ public class XSDFACM
         int nextState = 0;
         Object matchingDecl = null;
         
-        while (++elemIndex < fElemMapSize) {
-            nextState = fTransTable[curState][elemIndex];
-            if (nextState == -1)
-                continue;
-            int type = fElemMapType[elemIndex] ;
-            if (type == XSParticleDecl.PARTICLE_ELEMENT) {
-                matchingDecl = subGroupHandler.getMatchingElemDecl(curElem, (XSElementDecl)fElemMap[elemIndex]);
-                if (matchingDecl != null) {
-                    break;
-                }
+        if (fNameIndexBuckets != null) {
+            elemIndex = lookupElemIndex(curElem, curState, elemIndex, subGroupHandler);
+            if (elemIndex < fElemMapSize) {
+                nextState = fTransTable[curState][elemIndex];
+                matchingDecl = getMatchingDecl(curElem, elemIndex, subGroupHandler);
             }
-            else if (type == XSParticleDecl.PARTICLE_WILDCARD) {
-                if (((XSWildcardDecl)fElemMap[elemIndex]).allowNamespace(curElem.uri)) {
-                    matchingDecl = fElemMap[elemIndex];
-                    break;
+        }
+        else {
+            while (++elemIndex < fElemMapSize) {
+                nextState = fTransTable[curState][elemIndex];
+                if (nextState == -1)
+                    continue;
+                int type = fElemMapType[elemIndex] ;
+                if (type == XSParticleDecl.PARTICLE_ELEMENT) {
+                    matchingDecl = subGroupHandler.getMatchingElemDecl(curElem, (XSElementDecl)fElemMap[elemIndex]);
+                    if (matchingDecl != null) {
+                        break;
+                    }
+                }
+                else if (type == XSParticleDecl.PARTICLE_WILDCARD) {
+                    if (((XSWildcardDecl)fElemMap[elemIndex]).allowNamespace(curElem.uri)) {
+                        matchingDecl = fElemMap[elemIndex];
+                        break;
+                    }
                 }
             }
         }
@@ -416,6 +475,81 @@ public class XSDFACM
         return matchingDecl;
     } // findMatchingDecl(QName, int[], SubstitutionGroupHandler, int): Object
 
+    /**
+     * Looks up the first entry of the element map after <code>fromIndex</code>
+     * which matches the given element. If <code>curState</code> is not -1
+     * only entries with a transition out of that state are considered.
+     * The result is the same as the one of a linear scan of the element map,
+     * but only the declarations with the element's name, those with the name
+     * of one of its substitution group heads and the wildcards are examined.
+     *
+     * @return the element map index, or fElemMapSize if there is no match
+     */
+    private int lookupElemIndex(QName curElem, int curState, int fromIndex, SubstitutionGroupHandler subGroupHandler) {
+        // declarations with the same name
+        int best = lookupElemIndex(curElem.localpart, curElem.uri, curElem, curState, fromIndex, fElemMapSize, null);
+        // declarations of the heads of the element's substitution group
+        if (fFirstSubstitutableIndex < best) {
+            final XSElementDecl elemDecl = subGroupHandler.getGlobalElementDecl(curElem);
+            if (elemDecl != null) {
+                for (XSElementDecl head = elemDecl.fSubGroup; head != null; head = head.fSubGroup) {
+                    best = lookupElemIndex(head.fName, head.fTargetNamespace, curElem, curState, fromIndex, best, subGroupHandler);
+                }
+            }
+        }
+        // wildcards
+        for (int i = 0; i < fWildcardIndexes.length; i++) {
+            final int elemIndex = fWildcardIndexes[i];
+            if (elemIndex >= best) {
+                break;
+            }
+            if (elemIndex <= fromIndex || (curState != -1 && fTransTable[curState][elemIndex] == -1)) {
+                continue;
+            }
+            if (((XSWildcardDecl)fElemMap[elemIndex]).allowNamespace(curElem.uri)) {
+                return elemIndex;
+            }
+        }
+        return best;
+    } // lookupElemIndex(QName, int, int, SubstitutionGroupHandler): int
+
+    /**
+     * Searches the name index for the first element declaration named
+     * {localpart, uri} after <code>fromIndex</code> and before <code>best</code>.
+     * If <code>subGroupHandler</code> is not null, the declaration must
+     * also allow the given element to substitute for it.
+     */
+    private int lookupElemIndex(String localpart, String uri, QName curElem, int curState,
+            int fromIndex, int best, SubstitutionGroupHandler subGroupHandler) {
+        for (int elemIndex = fNameIndexBuckets[nameIndexBucket(localpart, uri)];
+            elemIndex != -1 && elemIndex < best; elemIndex = fNameIndexNext[elemIndex]) {
+            if (elemIndex <= fromIndex || (curState != -1 && fTransTable[curState][elemIndex] == -1)) {
+                continue;
+            }
+            final XSElementDecl decl = (XSElementDecl)fElemMap[elemIndex];
+            if (decl.fName == localpart && decl.fTargetNamespace == uri &&
+                (subGroupHandler == null || subGroupHandler.getMatchingElemDecl(curElem, decl) != null)) {
+                return elemIndex;
+            }
+        }
+        return best;
+    } // lookupElemIndex(String, String, QName, int, int, int, SubstitutionGroupHandler): int
+
+    private Object getMatchingDecl(QName curElem, int elemIndex, SubstitutionGroupHandler subGroupHandler) {
+        if (fElemMapType[elemIndex] == XSParticleDecl.PARTICLE_ELEMENT) {
+            return subGroupHandler.getMatchingElemDecl(curElem, (XSElementDecl)fElemMap[elemIndex]);
+        }
+        return fElemMap[elemIndex];
+    } // getMatchingDecl(QName, int, SubstitutionGroupHandler): Object
+
+    private int nameIndexBucket(String localpart, String uri) {
+        int hash = localpart.hashCode();
+        if (uri != null) {
+            hash = hash * 31 + uri.hashCode();
+        }
+        return hash & (fNameIndexBuckets.length - 1);
+    } // nameIndexBucket(String, String): int
+
     // This method returns the start states of the content model.
     public int[] startContentModel() {
         // [0] : the current state
@@ -820,6 +954,51 @@ public class XSDFACM
         fFollowList = null;
         fLeafListType = null;
         fElemMapId = null;
+
+        if (fElemMapSize >= NAME_INDEX_THRESHOLD) {
+            buildNameIndex();
+        }
+    }
+
+    /**
+     * Builds the name index over the element map, which replaces the
+     * linear scan in oneTransition for large content models.
+     */
+    private void buildNameIndex() {
+        int bucketCount = 1;
+        while (bucketCount < (fElemMapSize << 1)) {
+            bucketCount <<= 1;
+        }
+        fNameIndexBuckets = new int[bucketCount];
+        for (int i = 0; i < bucketCount; i++) {
+            fNameIndexBuckets[i] = -1;
+        }
+        fNameIndexNext = new int[fElemMapSize];
+        fFirstSubstitutableIndex = fElemMapSize;
+        int wildcardCount = 0;
+        // insert in reverse order so that each chain is in ascending order
+        for (int elemIndex = fElemMapSize - 1; elemIndex >= 0; elemIndex--) {
+            fNameIndexNext[elemIndex] = -1;
+            if (fElemMapType[elemIndex] == XSParticleDecl.PARTICLE_ELEMENT) {
+                final XSElementDecl decl = (XSElementDecl)fElemMap[elemIndex];
+                final int bucket = nameIndexBucket(decl.fName, decl.fTargetNamespace);
+                fNameIndexNext[elemIndex] = fNameIndexBuckets[bucket];
+                fNameIndexBuckets[bucket] = elemIndex;
+                if (decl.fScope == XSConstants.SCOPE_GLOBAL &&
+                    (decl.fBlock & XSConstants.DERIVATION_SUBSTITUTION) == 0) {
+                    fFirstSubstitutableIndex = elemIndex;
+                }
+            }
+            else if (fElemMapType[elemIndex] == XSParticleDecl.PARTICLE_WILDCARD) {
+                wildcardCount++;
+            }
+        }
+        fWildcardIndexes = new int[wildcardCount];
+        for (int elemIndex = 0, i = 0; elemIndex < fElemMapSize; elemIndex++) {
+            if (fElemMapType[elemIndex] == XSParticleDecl.PARTICLE_WILDCARD) {
+                fWildcardIndexes[i++] = elemIndex;
+            }
+        }
     }
 
     /**
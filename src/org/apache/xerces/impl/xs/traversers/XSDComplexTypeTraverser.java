@@ -590,6 +590,7 @@ class  XSDComplexTypeTraverser extends XSDAbstractParticleTraverser {
             if (fXSSimpleType instanceof XSSimpleTypeDecl) {
                 ((XSSimpleTypeDecl)fXSSimpleType).setAnonymous(true);
             }
+            fSchemaHandler.setValueCacheSize(fXSSimpleType);
             
             // -----------------------------------------------------------------------
             // Traverse any attributes
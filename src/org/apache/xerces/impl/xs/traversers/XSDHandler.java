@@ -34,6 +34,7 @@ import org.apache.xerces.impl.Constants;
 import org.apache.xerces.impl.XMLEntityManager;
 import org.apache.xerces.impl.XMLErrorReporter;
 import org.apache.xerces.impl.dv.SchemaDVFactory;
+import org.apache.xerces.impl.dv.XSSimpleType;
 import org.apache.xerces.impl.dv.xs.XSSimpleTypeDecl;
 import org.apache.xerces.impl.xs.SchemaGrammar;
 import org.apache.xerces.impl.xs.SchemaNamespaceSupport;
@@ -170,6 +171,10 @@ public class XSDHandler {
     /** Feature identifier: tolerate duplicates */
     protected static final String TOLERATE_DUPLICATES = 
       Constants.XERCES_FEATURE_PREFIX + Constants.TOLERATE_DUPLICATES_FEATURE;
+
+    /** Feature identifier: parallel schema loading */
+    protected static final String PARALLEL_SCHEMA_LOADING = 
+      Constants.XERCES_FEATURE_PREFIX + Constants.PARALLEL_SCHEMA_LOADING_FEATURE;
     
     /** Feature identifier: namespace prefixes. */
     private static final String NAMESPACE_PREFIXES =
@@ -210,6 +215,10 @@ public class XSDHandler {
     protected static final String SECURITY_MANAGER =
         Constants.XERCES_PROPERTY_PREFIX + Constants.SECURITY_MANAGER_PROPERTY;
     
+    /** Property identifier: value cache size. */
+    protected static final String VALUE_CACHE_SIZE =
+        Constants.XERCES_PROPERTY_PREFIX + Constants.VALUE_CACHE_SIZE_PROPERTY;
+    
     /** Property identifier: locale. */
     protected static final String LOCALE =
         Constants.XERCES_PROPERTY_PREFIX + Constants.LOCALE_PROPERTY;
@@ -408,6 +417,11 @@ public class XSDHandler {
     
     SchemaDVFactory fDVFactory;
     SchemaDOMParser fSchemaParser;
+    // parses referenced schema documents concurrently; null unless
+    // parallel schema loading is enabled
+    XSDPrefetcher fPrefetcher;
+    // the number of values cached by each simple type of the schema
+    int fValueCacheSize;
     SchemaContentHandler fXSContentHandler;
     StAXSchemaParser fStAXSchemaParser;
     XML11Configuration fAnnotationValidator;
@@ -489,6 +503,9 @@ public class XSDHandler {
             Hashtable locationPairs)
     throws IOException {
         fLocationPairs = locationPairs;
+        if (fPrefetcher != null) {
+            fPrefetcher.setLocationPairs(locationPairs);
+        }
         fSchemaParser.resetNodePool();   
         SchemaGrammar grammar = null;
         String schemaNamespace  = null;
@@ -620,7 +637,17 @@ public class XSDHandler {
         // all traversers and clear all registries
         prepareForTraverse();
         
+        if (fPrefetcher != null) {
+            SchemaGrammar[] grammars = fGrammarBucket.getGrammars();
+            for (int i = 0; i < grammars.length; i++) {
+                fPrefetcher.skipNamespace(grammars[i].getTargetNamespace());
+            }
+        }
         fRoot = constructTrees(schemaRoot, is.getSystemId(), desc, grammar != null);
+        if (fPrefetcher != null) {
+            // all documents have been read
+            fPrefetcher.clear();
+        }
         if (fRoot == null) {
             return null;
         }
@@ -852,6 +879,12 @@ public class XSDHandler {
         // a schema document can always access it's own target namespace
         currSchemaInfo.addAllowedNS(currSchemaInfo.fTargetNamespace);
         
+        // start parsing the documents this one refers to
+        if (fPrefetcher != null) {
+            fPrefetcher.skipNamespace(currSchemaInfo.fTargetNamespace);
+            fPrefetcher.prefetchReferences(schemaRoot, doc2SystemId(schemaRoot));
+        }
+        
         SchemaGrammar sg = null;
 
         // we have a namespace collision
@@ -2165,6 +2198,16 @@ public class XSDHandler {
                     }
                 }
                 
+                // use the tree parsed in advance if the source is the
+                // document which was prefetched
+                if (fPrefetcher != null && schemaId != null &&
+                        schemaSource.getByteStream() == null &&
+                        schemaSource.getCharacterStream() == null &&
+                        schemaSource.getEncoding() == null &&
+                        (schemaElement = fPrefetcher.take(schemaId)) != null) {
+                    return getSchemaDocument0(key, schemaId, schemaElement);
+                }
+                
                 fSchemaParser.parse(schemaSource);
                 Document schemaDocument = fSchemaParser.getDocument();
                 schemaElement = schemaDocument != null ? DOMUtil.getRoot(schemaDocument) : null;
@@ -3602,9 +3645,44 @@ public class XSDHandler {
         } catch (XMLConfigurationException e) {
         }
         
+        try {
+            Object size = componentManager.getProperty(VALUE_CACHE_SIZE);
+            fValueCacheSize = size != null ? ((Integer) size).intValue() : 0;
+        } catch (XMLConfigurationException e) {
+            fValueCacheSize = 0;
+        }
+        
+        // parallel loading; the prefetcher's parsers copy the settings
+        // of fSchemaParser, so it's reset after they're made
+        boolean parallelLoading;
+        try {
+            parallelLoading = componentManager.getFeature(PARALLEL_SCHEMA_LOADING);
+        } catch (XMLConfigurationException e) {
+            parallelLoading = false;
+        }
+        if (!parallelLoading) {
+            fPrefetcher = null;
+        }
+        else {
+            if (fPrefetcher == null) {
+                fPrefetcher = new XSDPrefetcher(fSchemaParser);
+            }
+            fPrefetcher.reset(fHonourAllSchemaLocations || fNamespaceGrowth, fEntityResolver);
+        }
+        
     } // reset(XMLComponentManager)
     
     
+    /**
+     * Gives a simple type defined by the schema a value cache if one was
+     * requested with the value cache size property.
+     */
+    void setValueCacheSize(XSSimpleType type) {
+        if (fValueCacheSize > 0 && type instanceof XSSimpleTypeDecl) {
+            ((XSSimpleTypeDecl) type).setValueCacheSize(fValueCacheSize);
+        }
+    } // setValueCacheSize(XSSimpleType)
+    
     /**
      * Traverse all the deferred local elements. This method should be called
      * by traverseSchemas after we've done with all the global declarations.
@@ -0,0 +1,444 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.xerces.impl.xs.traversers;
+
+import java.io.IOException;
+import java.util.Hashtable;
+import java.util.Iterator;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+import org.apache.xerces.impl.XMLEntityManager;
+import org.apache.xerces.impl.xs.SchemaSymbols;
+import org.apache.xerces.impl.xs.XMLSchemaLoader;
+import org.apache.xerces.impl.xs.XSDDescription;
+import org.apache.xerces.impl.xs.opti.SchemaDOMParser;
+import org.apache.xerces.impl.xs.opti.SchemaParsingConfig;
+import org.apache.xerces.util.DOMUtil;
+import org.apache.xerces.util.WorkerPools;
+import org.apache.xerces.xni.XNIException;
+import org.apache.xerces.xni.parser.XMLConfigurationException;
+import org.apache.xerces.xni.parser.XMLEntityResolver;
+import org.apache.xerces.xni.parser.XMLErrorHandler;
+import org.apache.xerces.xni.parser.XMLInputSource;
+import org.apache.xerces.xni.parser.XMLParseException;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+
+/**
+ * Parses the schema documents referenced by a schema ahead of
+ * <code>XSDHandler</code>, on the threads of a shared fork/join pool.
+ *
+ * <p>Whenever a schema document is available its &lt;import&gt;,
+ * &lt;include&gt; and &lt;redefine&gt; children are read and the
+ * documents they name are parsed concurrently; the documents these
+ * name in turn are scheduled as soon as they are parsed. The handler
+ * still constructs and traverses the documents in order on its own
+ * thread, and only takes a parsed tree in place of parsing the
+ * document itself. A tree is only offered if the document was parsed
+ * without any error or warning, so that errors are reported by the
+ * handler, in order, exactly as without prefetching.</p>
+ *
+ * <p>Only parsing is done in parallel. Traversing the documents into
+ * components and checking the constraints on them, with
+ * <code>XSConstraints</code>, stay on the handler's thread: both work
+ * on grammars shared by all documents and report errors in document
+ * order.</p>
+ *
+ * <p>References are resolved as the handler resolves them, through its
+ * entity resolver and, for imports, its schema location pairs; those
+ * which cannot be resolved, or which resolve to a stream, are left to
+ * the handler. Unless all schema locations are to be honoured, only
+ * the first import seen for each namespace is prefetched, since the
+ * handler ignores later ones; which import is seen first may differ
+ * from the handler's order. Documents which are not used are parsed
+ * needlessly but otherwise harmlessly. The entity resolvers are called
+ * from the pool, so they must be safe for use by several threads.</p>
+ *
+ * <p>The pool is shared through <code>WorkerPools</code> and has one
+ * thread per processor unless the system property
+ * <code>org.apache.xerces.impl.xs.parallelism</code> sets another
+ * number.</p>
+ *
+ * <p>Each call to {@link #clear()} starts a new generation. Tasks of
+ * an earlier generation which are still running neither publish the
+ * documents and namespaces they find nor return their parser.</p>
+ *
+ * @xerces.internal
+ *
+ * @version $Id$
+ */
+final class XSDPrefetcher {
+
+    //
+    // Constants
+    //
+
+    /** Location pairs used for references other than imports. */
+    private static final Hashtable EMPTY_TABLE = new Hashtable();
+
+    /** 
+     * System property setting the number of threads parsing schema
+     * documents; the number of processors by default.
+     */
+    private static final String PARALLELISM_PROPERTY = "org.apache.xerces.impl.xs.parallelism";
+
+    //
+    // Data
+    //
+
+    /** Documents being parsed, by expanded system identifier. */
+    private final ConcurrentHashMap fDocuments = new ConcurrentHashMap();
+
+    /** 
+     * Namespaces for which an import has been prefetched, mapped to
+     * the generation which prefetched them.
+     */
+    private final ConcurrentHashMap fNamespaces = new ConcurrentHashMap();
+
+    /** The current generation, incremented whenever the prefetcher is cleared. */
+    private volatile int fGeneration;
+
+    /** Whether every import is prefetched. */
+    private boolean fAllLocations;
+
+    /** Idle parsers. */
+    private final ConcurrentLinkedQueue fParsers = new ConcurrentLinkedQueue();
+
+    /** The parser of the handler, which new parsers are configured like. */
+    private final SchemaDOMParser fSchemaParser;
+
+    /** Resolves references as the handler does. */
+    private XMLEntityResolver fEntityResolver;
+
+    /** The schema location pairs of the handler. */
+    private Hashtable fLocationPairs = EMPTY_TABLE;
+
+    //
+    // Constructors
+    //
+
+    XSDPrefetcher(SchemaDOMParser schemaParser) {
+        fSchemaParser = schemaParser;
+    } // <init>(SchemaDOMParser)
+
+    //
+    // Methods
+    //
+
+    /**
+     * Schedules the parsing of the schema documents referenced by
+     * the given schema document.
+     *
+     * @param schemaRoot The &lt;schema&gt; element.
+     * @param systemId   The expanded system identifier of the document.
+     */
+    void prefetchReferences(Element schemaRoot, String systemId) {
+        prefetchReferences(schemaRoot, systemId, fGeneration);
+    } // prefetchReferences(Element,String)
+
+    /**
+     * Sets the schema location pairs the handler resolves imports with.
+     *
+     * @param locationPairs The location pairs, or <code>null</code> if there are none.
+     */
+    void setLocationPairs(Hashtable locationPairs) {
+        fLocationPairs = (locationPairs != null) ? locationPairs : EMPTY_TABLE;
+    } // setLocationPairs(Hashtable)
+
+    /**
+     * Returns the &lt;schema&gt; element of the given document if it
+     * was parsed, or is being parsed, without errors.  If the document
+     * was scheduled but not yet started it is parsed on the calling
+     * thread.
+     *
+     * @param systemId The expanded system identifier of the document.
+     * @return The &lt;schema&gt; element, or <code>null</code> if the
+     *         document must be parsed by the caller.
+     */
+    Element take(String systemId) {
+        FutureTask task = (FutureTask) fDocuments.get(systemId);
+        if (task == null) {
+            return null;
+        }
+        // does nothing if a worker has started the task
+        task.run();
+        try {
+            return (Element) task.get();
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        catch (ExecutionException e) {
+        }
+        return null;
+    } // take(String):Element
+
+    /**
+     * Prevents imports of the given namespace from being prefetched,
+     * as the handler already has a grammar for it.
+     *
+     * @param namespace The namespace, or <code>null</code> for no namespace.
+     */
+    void skipNamespace(String namespace) {
+        fNamespaces.put(namespace != null ? namespace : "", Integer.valueOf(fGeneration));
+    } // skipNamespace(String)
+
+    /** 
+     * Forgets all documents, cancelling those not yet parsed, and
+     * starts a new generation.
+     */
+    void clear() {
+        ++fGeneration;
+        Iterator i = fDocuments.values().iterator();
+        while (i.hasNext()) {
+            ((FutureTask) i.next()).cancel(false);
+        }
+        fDocuments.clear();
+        fNamespaces.clear();
+    } // clear()
+
+    /**
+     * Discards the idle parsers, whose settings may be out of date.
+     *
+     * @param allLocations   Whether every import is to be prefetched.
+     * @param entityResolver The entity resolver of the handler.
+     */
+    void reset(boolean allLocations, XMLEntityResolver entityResolver) {
+        clear();
+        fParsers.clear();
+        fAllLocations = allLocations;
+        fEntityResolver = entityResolver;
+        fLocationPairs = EMPTY_TABLE;
+    } // reset(boolean,XMLEntityResolver)
+
+    //
+    // Private methods
+    //
+
+    private void prefetchReferences(Element schemaRoot, String systemId, int generation) {
+        if (schemaRoot == null || systemId == null) {
+            return;
+        }
+        final String targetNamespace = DOMUtil.getAttrValue(schemaRoot, SchemaSymbols.ATT_TARGETNAMESPACE);
+        for (Element child = DOMUtil.getFirstChildElement(schemaRoot);
+            child != null;
+            child = DOMUtil.getNextSiblingElement(child)) {
+            String localName = DOMUtil.getLocalName(child);
+            if (localName.equals(SchemaSymbols.ELT_ANNOTATION)) {
+                continue;
+            }
+            if (!localName.equals(SchemaSymbols.ELT_IMPORT) &&
+                !localName.equals(SchemaSymbols.ELT_INCLUDE) &&
+                !localName.equals(SchemaSymbols.ELT_REDEFINE)) {
+                // references must precede all other children
+                break;
+            }
+            String location = DOMUtil.getAttrValue(child, SchemaSymbols.ATT_SCHEMALOCATION).trim();
+            if (location.length() == 0) {
+                continue;
+            }
+            XSDDescription desc = new XSDDescription();
+            desc.setBaseSystemId(systemId);
+            desc.setLocationHints(new String[] {location});
+            if (localName.equals(SchemaSymbols.ELT_IMPORT)) {
+                String namespace = DOMUtil.getAttrValue(child, SchemaSymbols.ATT_NAMESPACE);
+                if (!fAllLocations) {
+                    Integer owner = Integer.valueOf(generation);
+                    if (fNamespaces.putIfAbsent(namespace, owner) != null) {
+                        continue;
+                    }
+                    if (generation != fGeneration) {
+                        fNamespaces.remove(namespace, owner);
+                        return;
+                    }
+                }
+                desc.setContextType(XSDDescription.CONTEXT_IMPORT);
+                desc.setLiteralSystemId(location);
+                desc.setTargetNamespace(namespace.length() > 0 ? namespace : null);
+            }
+            else {
+                desc.setContextType(localName.equals(SchemaSymbols.ELT_INCLUDE) ?
+                        XSDDescription.CONTEXT_INCLUDE : XSDDescription.CONTEXT_REDEFINE);
+                desc.setTargetNamespace(targetNamespace.length() > 0 ? targetNamespace : null);
+            }
+            XMLInputSource source = resolve(desc);
+            if (source != null) {
+                prefetch(source, generation);
+            }
+        }
+    } // prefetchReferences(Element,String,int)
+
+    /**
+     * Resolves a reference as the handler does, returning
+     * <code>null</code> if the handler would not take a prefetched
+     * tree for it.
+     */
+    private XMLInputSource resolve(XSDDescription desc) {
+        XMLInputSource source;
+        try {
+            Hashtable pairs = (desc.getContextType() == XSDDescription.CONTEXT_IMPORT) ?
+                    fLocationPairs : EMPTY_TABLE;
+            source = XMLSchemaLoader.resolveDocument(desc, pairs, fEntityResolver);
+        }
+        catch (Exception e) {
+            // the handler reports the bad reference
+            return null;
+        }
+        if (source == null || source.getSystemId() == null) {
+            return null;
+        }
+        if (source.getByteStream() != null || source.getCharacterStream() != null) {
+            // the handler parses streams itself
+            try {
+                if (source.getByteStream() != null) {
+                    source.getByteStream().close();
+                }
+                if (source.getCharacterStream() != null) {
+                    source.getCharacterStream().close();
+                }
+            }
+            catch (IOException e) {
+            }
+            return null;
+        }
+        if (source.getEncoding() != null) {
+            return null;
+        }
+        return source;
+    } // resolve(XSDDescription):XMLInputSource
+
+    private void prefetch(final XMLInputSource source, final int generation) {
+        final String systemId;
+        try {
+            systemId = XMLEntityManager.expandSystemId(source.getSystemId(), source.getBaseSystemId(), false);
+        }
+        catch (Exception e) {
+            return;
+        }
+        if (systemId == null || fDocuments.containsKey(systemId)) {
+            return;
+        }
+        FutureTask task = new FutureTask(new Callable() {
+            public Object call() throws Exception {
+                return parse(source, systemId, generation);
+            }
+        });
+        if (fDocuments.putIfAbsent(systemId, task) == null) {
+            if (generation != fGeneration) {
+                // cleared while this document was found
+                fDocuments.remove(systemId, task);
+                return;
+            }
+            WorkerPools.execute(PARALLELISM_PROPERTY, task);
+        }
+    } // prefetch(XMLInputSource,int)
+
+    private Element parse(XMLInputSource source, String systemId, int generation) throws Exception {
+        SchemaDOMParser parser = (SchemaDOMParser) fParsers.poll();
+        if (parser == null) {
+            parser = createParser();
+        }
+        RecordingErrorHandler errorHandler = new RecordingErrorHandler();
+        parser.setProperty(XSDHandler.ERROR_HANDLER, errorHandler);
+        Element schemaRoot = null;
+        try {
+            parser.parse(source);
+            Document document = parser.getDocument();
+            if (!errorHandler.fSawError && document != null) {
+                schemaRoot = DOMUtil.getRoot(document);
+            }
+        }
+        catch (XNIException e) {
+            // reported when the handler parses the document
+        }
+        finally {
+            // the settings of the parser are out of date once cleared
+            if (generation == fGeneration) {
+                fParsers.offer(parser);
+            }
+        }
+        if (schemaRoot != null && generation == fGeneration) {
+            prefetchReferences(schemaRoot, systemId, generation);
+        }
+        return schemaRoot;
+    } // parse(XMLInputSource,String,int):Element
+
+    /** Creates a schema parser with the settings of the handler's parser. */
+    private SchemaDOMParser createParser() {
+        SchemaDOMParser parser = new SchemaDOMParser(new SchemaParsingConfig());
+        final String[] features = {
+            XSDHandler.CONTINUE_AFTER_FATAL_ERROR,
+            XSDHandler.ALLOW_JAVA_ENCODINGS,
+            XSDHandler.STANDARD_URI_CONFORMANT_FEATURE,
+            XSDHandler.DISALLOW_DOCTYPE,
+            XSDHandler.GENERATE_SYNTHETIC_ANNOTATIONS,
+        };
+        for (int i = 0; i < features.length; ++i) {
+            try {
+                parser.setFeature(features[i], fSchemaParser.getFeature(features[i]));
+            }
+            catch (XMLConfigurationException e) {
+            }
+        }
+        final String[] properties = {
+            XSDHandler.ENTITY_RESOLVER,
+            XSDHandler.SECURITY_MANAGER,
+            XSDHandler.LOCALE,
+        };
+        for (int i = 0; i < properties.length; ++i) {
+            try {
+                Object value = fSchemaParser.getProperty(properties[i]);
+                if (value != null) {
+                    parser.setProperty(properties[i], value);
+                }
+            }
+            catch (XMLConfigurationException e) {
+            }
+        }
+        return parser;
+    } // createParser():SchemaDOMParser
+
+    //
+    // Classes
+    //
+
+    /** Records whether any error was reported, and stops on fatal errors. */
+    private static final class RecordingErrorHandler implements XMLErrorHandler {
+
+        boolean fSawError;
+
+        public void warning(String domain, String key, XMLParseException exception) {
+            fSawError = true;
+        }
+
+        public void error(String domain, String key, XMLParseException exception) {
+            fSawError = true;
+        }
+
+        public void fatalError(String domain, String key, XMLParseException exception) {
+            fSawError = true;
+            throw exception;
+        }
+
+    } // class RecordingErrorHandler
+
+} // class XSDPrefetcher
@@ -417,6 +417,7 @@ class XSDSimpleTypeTraverser extends XSDAbstractTraverser {
             }
         }
         fAttrChecker.returnAttrArray(contentAttrs, schemaDoc);
+        fSchemaHandler.setValueCacheSize(newDecl);
         // return the new type
         return newDecl;
     }
@@ -17,6 +17,7 @@
 
 package org.apache.xerces.impl.xs.util;
 
+import java.io.Serializable;
 import java.lang.reflect.Array;
 import java.util.AbstractList;
 
@@ -29,7 +30,10 @@ import org.apache.xerces.xs.datatypes.ObjectList;
  * 
  * @version $Id$
  */
-public final class ObjectListImpl extends AbstractList implements ObjectList {
+public final class ObjectListImpl extends AbstractList implements ObjectList, Serializable {
+
+    /** Serialization version. */
+    static final long serialVersionUID = -6833804070524339708L;
 
     /**
      * An immutable empty list.
@@ -17,6 +17,8 @@
 
 package org.apache.xerces.impl.xs.util;
 
+import java.io.Serializable;
+
 import org.apache.xerces.xni.XMLLocator;
 
 /**
@@ -27,7 +29,10 @@ import org.apache.xerces.xni.XMLLocator;
  * @author Sandy Gao, IBM
  * @version $Id$
  */
-public final class SimpleLocator implements XMLLocator {
+public final class SimpleLocator implements XMLLocator, Serializable {
+
+    /** Serialization version. */
+    static final long serialVersionUID = 1231883905744638299L;
 
     private String lsid;
     private String esid;
@@ -32,15 +32,39 @@ import org.apache.xerces.xs.XSModel;
  * Add a method that return an <code>XSModel</code> that represents components in
  * the schema grammars in this pool implementation.
  * 
+ * <p>The model is kept between calls: as long as the schema grammars of
+ * the pool do not change, <code>toXSModel</code> returns the same
+ * object. When schema grammars have only been added to the pool since
+ * it was built, the next model extends it with the new grammars rather
+ * than being built from all the grammars in the pool again. A model
+ * which has been returned is never modified; grammars added later only
+ * appear in the models returned after them.</p>
+ * 
+ * <p>Grammars appear in the models in the order they were first put
+ * in the pool; a grammar which replaces another takes its place.</p>
+ * 
  * @xerces.internal  
  * 
  * @version $Id$
  */
 public class XSGrammarPool extends XMLGrammarPoolImpl {
 
+    /** The model last returned, or null if grammars were replaced or removed since. */
+    private XSModelImpl fXSModel;
+
+    /** The schema version of fXSModel. */
+    private short fXSModelVersion;
+
+    /** Schema grammars added to the pool since fXSModel was built. */
+    private final List<SchemaGrammar> fAddedGrammars = new ArrayList<>();
+
+    /** The schema grammars of the pool, in the order they were put in it. */
+    private final List<SchemaGrammar> fSchemaGrammars = new ArrayList<>();
+
     /**
      * Return an <code>XSModel</code> that represents components in
-     * the schema grammars in this pool implementation.
+     * the schema grammars in this pool implementation. The same model
+     * is returned until the schema grammars of the pool change.
      *
      * @return  an <code>XSModel</code> representing this schema grammar
      */
@@ -49,19 +73,27 @@ public class XSGrammarPool extends XMLGrammarPoolImpl {
     }
     
     public XSModel toXSModel(short schemaVersion) {
-        final List<Grammar> list = new ArrayList<>();
-        for (int i = 0; i < fGrammars.length; i++) {
-            for (Entry entry = fGrammars[i] ; entry != null ; entry = entry.next) {
-                if (entry.desc.getGrammarType().equals(XMLGrammarDescription.XML_SCHEMA)) {
-                    list.add(entry.grammar);
+        synchronized (fGrammars) {
+            if (fXSModel != null && fXSModelVersion == schemaVersion) {
+                if (!fAddedGrammars.isEmpty()) {
+                    fXSModel = fXSModel.addGrammars(
+                            (SchemaGrammar[]) fAddedGrammars.toArray(new SchemaGrammar[fAddedGrammars.size()]));
+                    fAddedGrammars.clear();
                 }
+                return fXSModel;
             }
+            XSModel model = toXSModel0(schemaVersion);
+            fAddedGrammars.clear();
+            if (model instanceof XSModelImpl) {
+                fXSModel = (XSModelImpl) model;
+                fXSModelVersion = schemaVersion;
+            }
+            return model;
         }
-        int size = list.size();
-        if (size == 0) {
-            return toXSModel(new SchemaGrammar[0], schemaVersion);
-        }
-        SchemaGrammar[] gs = (SchemaGrammar[])list.toArray(new SchemaGrammar[size]);
+    }
+
+    private XSModel toXSModel0(short schemaVersion) {
+        SchemaGrammar[] gs = (SchemaGrammar[])fSchemaGrammars.toArray(new SchemaGrammar[fSchemaGrammars.size()]);
         return toXSModel(gs, schemaVersion);
     }
     
@@ -69,4 +101,63 @@ public class XSGrammarPool extends XMLGrammarPoolImpl {
         return new XSModelImpl(grammars, schemaVersion);
     }
 
+    //
+    // XMLGrammarPoolImpl methods
+    //
+
+    public void putGrammar(Grammar grammar) {
+        synchronized (fGrammars) {
+            if (!fPoolIsLocked && 
+                grammar.getGrammarDescription().getGrammarType().equals(XMLGrammarDescription.XML_SCHEMA)) {
+                final Grammar existing = getGrammar(grammar.getGrammarDescription());
+                if (existing == null) {
+                    fSchemaGrammars.add((SchemaGrammar) grammar);
+                    if (fXSModel != null) {
+                        fAddedGrammars.add((SchemaGrammar) grammar);
+                    }
+                }
+                else if (existing != grammar) {
+                    final int index = indexOf(existing);
+                    if (index >= 0) {
+                        fSchemaGrammars.set(index, (SchemaGrammar) grammar);
+                    }
+                    fXSModel = null;
+                }
+            }
+            super.putGrammar(grammar);
+        }
+    }
+
+    public Grammar removeGrammar(XMLGrammarDescription desc) {
+        synchronized (fGrammars) {
+            final Grammar grammar = super.removeGrammar(desc);
+            if (grammar != null && desc.getGrammarType().equals(XMLGrammarDescription.XML_SCHEMA)) {
+                final int index = indexOf(grammar);
+                if (index >= 0) {
+                    fSchemaGrammars.remove(index);
+                }
+                fXSModel = null;
+            }
+            return grammar;
+        }
+    }
+
+    public void clear() {
+        synchronized (fGrammars) {
+            super.clear();
+            fSchemaGrammars.clear();
+            fXSModel = null;
+        }
+    }
+
+    /** Returns the index of a grammar of the pool in fSchemaGrammars. */
+    private int indexOf(Grammar grammar) {
+        for (int i = 0; i < fSchemaGrammars.size(); ++i) {
+            if (fSchemaGrammars.get(i) == grammar) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
 } // class XSGrammarPool
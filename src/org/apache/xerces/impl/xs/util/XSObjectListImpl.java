@@ -17,6 +17,7 @@
 
 package org.apache.xerces.impl.xs.util;
 
+import java.io.Serializable;
 import java.lang.reflect.Array;
 import java.util.AbstractList;
 import java.util.Iterator;
@@ -35,7 +36,10 @@ import org.apache.xerces.xs.XSObjectList;
  *
  * @version $Id$
  */
-public class XSObjectListImpl extends AbstractList implements XSObjectList {
+public class XSObjectListImpl extends AbstractList implements XSObjectList, Serializable {
+
+    /** Serialization version. */
+    static final long serialVersionUID = -4810341332402847653L;
     
     /**
      * An immutable empty list.
@@ -33,6 +33,7 @@ import javax.xml.validation.SchemaFactory;
 
 import org.apache.xerces.impl.Constants;
 import org.apache.xerces.impl.xs.XMLSchemaLoader;
+import org.apache.xerces.util.ConcurrentXMLGrammarPool;
 import org.apache.xerces.util.DOMEntityResolverWrapper;
 import org.apache.xerces.util.DOMInputSource;
 import org.apache.xerces.util.ErrorHandlerWrapper;
@@ -77,6 +78,10 @@ public final class XMLSchemaFactory extends SchemaFactory {
     private static final String USE_GRAMMAR_POOL_ONLY =
         Constants.XERCES_FEATURE_PREFIX + Constants.USE_GRAMMAR_POOL_ONLY_FEATURE;
     
+    /** Feature identifier: concurrent grammar pool. */
+    private static final String CONCURRENT_GRAMMAR_POOL =
+        Constants.XERCES_FEATURE_PREFIX + Constants.CONCURRENT_GRAMMAR_POOL_FEATURE;
+    
     // property identifiers
     
     /** Property identifier: grammar pool. */
@@ -115,6 +120,9 @@ public final class XMLSchemaFactory extends SchemaFactory {
     /** Whether or not to allow new schemas to be added to the grammar pool */
     private boolean fUseGrammarPoolOnly;
     
+    /** Whether or not schemas store their grammars in a lock-free grammar pool */
+    private boolean fUseConcurrentGrammarPool;
+    
     public XMLSchemaFactory() {
         fErrorHandlerWrapper = new ErrorHandlerWrapper(DraconianErrorHandler.getInstance());
         fDOMEntityResolverWrapper = new DOMEntityResolverWrapper();
@@ -175,7 +183,8 @@ public final class XMLSchemaFactory extends SchemaFactory {
     public Schema newSchema( Source[] schemas ) throws SAXException {
         
         // this will let the loader store parsed Grammars into the pool.
-        XMLGrammarPoolImplExtension pool = new XMLGrammarPoolImplExtension();
+        XMLGrammarPool pool = fUseConcurrentGrammarPool ? 
+                (XMLGrammarPool) new ConcurrentXMLGrammarPool() : new XMLGrammarPoolImplExtension();
         fXMLGrammarPoolWrapper.setGrammarPool(pool);
         
         XMLInputSource[] xmlInputSources = new XMLInputSource[schemas.length];
@@ -250,7 +259,9 @@ public final class XMLSchemaFactory extends SchemaFactory {
         fXMLGrammarPoolWrapper.setGrammarPool(null);
         
         // Select Schema implementation based on grammar count.
-        final int grammarCount = pool.getGrammarCount();
+        final int grammarCount = (pool instanceof ConcurrentXMLGrammarPool) ? 
+                ((ConcurrentXMLGrammarPool) pool).getGrammarCount() : 
+                ((XMLGrammarPoolImplExtension) pool).getGrammarCount();
         AbstractXMLSchema schema = null;
         if (fUseGrammarPoolOnly) {
             if (grammarCount > 1) {
@@ -318,6 +329,9 @@ public final class XMLSchemaFactory extends SchemaFactory {
         else if (name.equals(USE_GRAMMAR_POOL_ONLY)) {
             return fUseGrammarPoolOnly;
         }
+        else if (name.equals(CONCURRENT_GRAMMAR_POOL)) {
+            return fUseConcurrentGrammarPool;
+        }
         try {
             return fXMLSchemaLoader.getFeature(name);
         }
@@ -393,6 +407,10 @@ public final class XMLSchemaFactory extends SchemaFactory {
             fUseGrammarPoolOnly = value;
             return;
         }
+        else if (name.equals(CONCURRENT_GRAMMAR_POOL)) {
+            fUseConcurrentGrammarPool = value;
+            return;
+        }
         try {
             fXMLSchemaLoader.setFeature(name, value);
         }
@@ -17,8 +17,10 @@
 
 package org.apache.xerces.parsers;
 
+import java.util.Enumeration;
 import java.util.Locale;
 import java.util.Stack;
+import java.util.StringTokenizer;
 
 import org.apache.xerces.dom.AttrImpl;
 import org.apache.xerces.dom.CoreDocumentImpl;
@@ -41,6 +43,7 @@ import org.apache.xerces.dom.TextImpl;
 import org.apache.xerces.impl.Constants;
 import org.apache.xerces.impl.dv.XSSimpleType;
 import org.apache.xerces.util.DOMErrorHandlerWrapper;
+import org.apache.xerces.util.XMLSymbols;
 import org.apache.xerces.xni.Augmentations;
 import org.apache.xerces.xni.NamespaceContext;
 import org.apache.xerces.xni.QName;
@@ -115,6 +118,21 @@ public class AbstractDOMParser extends AbstractXMLDocumentParser {
     protected static final String DEFER_NODE_EXPANSION =
     Constants.XERCES_FEATURE_PREFIX + Constants.DEFER_NODE_EXPANSION_FEATURE;
 
+    /** Feature id: compact node storage. */
+    protected static final String COMPACT_NODE_STORAGE =
+    Constants.XERCES_FEATURE_PREFIX + Constants.COMPACT_NODE_STORAGE_FEATURE;
+
+    /** Feature id: off-heap node storage. */
+    protected static final String OFF_HEAP_NODE_STORAGE =
+    Constants.XERCES_FEATURE_PREFIX + Constants.OFF_HEAP_NODE_STORAGE_FEATURE;
+
+    /** Feature id: freeze document. */
+    protected static final String FREEZE_DOCUMENT =
+    Constants.XERCES_FEATURE_PREFIX + Constants.FREEZE_DOCUMENT_FEATURE;
+
+    /** Feature id: index element names. */
+    protected static final String INDEX_ELEMENT_NAMES =
+    Constants.XERCES_FEATURE_PREFIX + Constants.INDEX_ELEMENT_NAMES_FEATURE;
 
     /** Recognized features. */
     private static final String[] RECOGNIZED_FEATURES = {
@@ -123,7 +141,11 @@ public class AbstractDOMParser extends AbstractXMLDocumentParser {
         INCLUDE_COMMENTS_FEATURE,
         CREATE_CDATA_NODES_FEATURE,
         INCLUDE_IGNORABLE_WHITESPACE,
-        DEFER_NODE_EXPANSION
+        DEFER_NODE_EXPANSION,
+        COMPACT_NODE_STORAGE,
+        OFF_HEAP_NODE_STORAGE,
+        FREEZE_DOCUMENT,
+        INDEX_ELEMENT_NAMES
     };
 
     // property ids
@@ -136,6 +158,14 @@ public class AbstractDOMParser extends AbstractXMLDocumentParser {
     protected static final String  CURRENT_ELEMENT_NODE=
     Constants.XERCES_PROPERTY_PREFIX + Constants.CURRENT_ELEMENT_NODE_PROPERTY;
 
+    /** Property id: subtree path. */
+    protected static final String SUBTREE_PATH =
+    Constants.XERCES_PROPERTY_PREFIX + Constants.DOM_SUBTREE_PATH_PROPERTY;
+
+    /** Property id: subtree handler. */
+    protected static final String SUBTREE_HANDLER =
+    Constants.XERCES_PROPERTY_PREFIX + Constants.DOM_SUBTREE_HANDLER_PROPERTY;
+
     // protected static final String GRAMMAR_POOL =
     // Constants.XERCES_PROPERTY_PREFIX + Constants.XMLGRAMMAR_POOL_PROPERTY;
 
@@ -143,6 +173,8 @@ public class AbstractDOMParser extends AbstractXMLDocumentParser {
     private static final String[] RECOGNIZED_PROPERTIES = {
         DOCUMENT_CLASS_NAME,
         CURRENT_ELEMENT_NODE,
+        SUBTREE_PATH,
+        SUBTREE_HANDLER,
     };
 
     // other
@@ -201,6 +233,12 @@ public class AbstractDOMParser extends AbstractXMLDocumentParser {
     /** Create cdata nodes. */
     protected boolean fCreateCDATANodes;
 
+    /** Freeze the document once it is complete. */
+    protected boolean fFreezeDocument;
+
+    /** Index the elements of the document by name. */
+    protected boolean fIndexElementNames;
+
     // dom information
 
     /** The document. */
@@ -241,6 +279,8 @@ public class AbstractDOMParser extends AbstractXMLDocumentParser {
     // deferred expansion data
 
     protected boolean              fDeferNodeExpansion;
+    protected boolean              fCompactNodeStorage;
+    protected boolean              fOffHeapNodeStorage;
     protected boolean              fNamespaceAware;
     protected DeferredDocumentImpl fDeferredDocumentImpl;
     protected int                  fDocumentIndex;
@@ -248,6 +288,32 @@ public class AbstractDOMParser extends AbstractXMLDocumentParser {
     protected int                  fCurrentNodeIndex;
     protected int                  fCurrentCDATASectionIndex;
 
+    // streaming data
+
+    /** Handler of the selected subtrees; null unless streaming. */
+    protected DOMSubtreeHandler fSubtreeHandler;
+
+    /** Names selecting the subtrees; a null name matches any element. */
+    protected String[] fSubtreePath;
+
+    /** True if the subtree path starts at the document element. */
+    protected boolean fSubtreePathAbsolute;
+
+    /** Depth within the subtree being built, or -1 if outside of a subtree. */
+    protected int fSubtreeDepth = -1;
+
+    /** Root of the subtree being built. */
+    protected Node fSubtreeRoot;
+
+    /** Names of the open elements which are not part of a subtree. */
+    private String[] fElementPath = new String[8];
+
+    /** Number of open elements which are not part of a subtree. */
+    private int fElementPathDepth;
+
+    /** Namespace context of the document being streamed. */
+    private NamespaceContext fSubtreeNamespaceContext;
+
     // state
 
     /** True if inside DTD external subset. */
@@ -313,6 +379,10 @@ public class AbstractDOMParser extends AbstractXMLDocumentParser {
         fConfiguration.setFeature (CREATE_ENTITY_REF_NODES, true);
         fConfiguration.setFeature (INCLUDE_IGNORABLE_WHITESPACE, true);
         fConfiguration.setFeature (DEFER_NODE_EXPANSION, true);
+        fConfiguration.setFeature (COMPACT_NODE_STORAGE, false);
+        fConfiguration.setFeature (OFF_HEAP_NODE_STORAGE, false);
+        fConfiguration.setFeature (FREEZE_DOCUMENT, false);
+        fConfiguration.setFeature (INDEX_ELEMENT_NAMES, false);
         fConfiguration.setFeature (INCLUDE_COMMENTS_FEATURE, true);
         fConfiguration.setFeature (CREATE_CDATA_NODES_FEATURE, true);
 
@@ -384,6 +454,39 @@ public class AbstractDOMParser extends AbstractXMLDocumentParser {
 
     } // setDocumentClassName(String)
 
+    /**
+     * Selects the elements which are built and passed to the subtree
+     * handler when the document is streamed. The path is a list of
+     * element names, as they appear in the document, separated by
+     * '/'; the name '*' matches any element. A path starting with a
+     * single '/' is matched from the document element; otherwise it
+     * is matched by the innermost elements wherever they appear.
+     * Elements nested within a selected element are always part of
+     * its subtree.
+     *
+     * @param path the path of the selected elements, or null
+     * @param handler the handler of the selected subtrees, or null
+     *                if the document is not to be streamed
+     */
+    protected void setSubtreePath (String path, DOMSubtreeHandler handler) {
+        fSubtreeHandler = null;
+        fSubtreePath = null;
+        if (path == null || handler == null) {
+            return;
+        }
+        fSubtreePathAbsolute = path.startsWith ("/") && !path.startsWith ("//");
+        StringTokenizer tokenizer = new StringTokenizer (path, "/");
+        String[] steps = new String[tokenizer.countTokens ()];
+        for (int i = 0; i < steps.length; i++) {
+            String step = tokenizer.nextToken ().trim ();
+            steps[i] = step.equals ("*") ? null : step;
+        }
+        if (steps.length > 0) {
+            fSubtreePath = steps;
+            fSubtreeHandler = handler;
+        }
+    } // setSubtreePath(String,DOMSubtreeHandler)
+
     //
     // Public methods
     //
@@ -409,6 +512,7 @@ public class AbstractDOMParser extends AbstractXMLDocumentParser {
         fCurrentCDATASection = null;
         fCurrentEntityDecl = null;
         fRoot = null;
+        fSubtreeRoot = null;
     } // dropDocumentReferences()
 
     //
@@ -430,6 +534,16 @@ public class AbstractDOMParser extends AbstractXMLDocumentParser {
         fDeferNodeExpansion =
         fConfiguration.getFeature (DEFER_NODE_EXPANSION);
 
+        fOffHeapNodeStorage =
+        fConfiguration.getFeature (OFF_HEAP_NODE_STORAGE);
+
+        fCompactNodeStorage = fOffHeapNodeStorage ||
+        fConfiguration.getFeature (COMPACT_NODE_STORAGE);
+
+        fFreezeDocument = fConfiguration.getFeature (FREEZE_DOCUMENT);
+
+        fIndexElementNames = fConfiguration.getFeature (INDEX_ELEMENT_NAMES);
+
         fNamespaceAware = fConfiguration.getFeature (NAMESPACES);
 
         fIncludeComments = fConfiguration.getFeature (INCLUDE_COMMENTS_FEATURE);
@@ -440,6 +554,19 @@ public class AbstractDOMParser extends AbstractXMLDocumentParser {
         setDocumentClassName ((String)
         fConfiguration.getProperty (DOCUMENT_CLASS_NAME));
 
+        // streaming requires that nodes are built immediately
+        setSubtreePath ((String) fConfiguration.getProperty (SUBTREE_PATH),
+        (DOMSubtreeHandler) fConfiguration.getProperty (SUBTREE_HANDLER));
+        if (fSubtreeHandler != null) {
+            fDeferNodeExpansion = false;
+        }
+        // nothing outside of the selected subtrees is built
+        fFilterReject = fSubtreeHandler != null;
+        fSubtreeDepth = -1;
+        fSubtreeRoot = null;
+        fElementPathDepth = 0;
+        fSubtreeNamespaceContext = null;
+
         // reset dom information
         fDocument = null;
         fDocumentImpl = null;
@@ -769,6 +896,9 @@ public class AbstractDOMParser extends AbstractXMLDocumentParser {
     throws XNIException {
 
         fLocator = locator;
+        if (fSubtreeHandler != null) {
+            fSubtreeNamespaceContext = namespaceContext;
+        }
         if (!fDeferNodeExpansion) {
             if (fDocumentClassName.equals (DEFAULT_DOCUMENT_CLASS_NAME)) {
                 fDocument = new DocumentImpl ();
@@ -843,6 +973,9 @@ public class AbstractDOMParser extends AbstractXMLDocumentParser {
         }
         else {
             fDeferredDocumentImpl = new DeferredDocumentImpl (fNamespaceAware);
+            if (fCompactNodeStorage) {
+                fDeferredDocumentImpl.setCompactStorage (fOffHeapNodeStorage);
+            }
             fDocument = fDeferredDocumentImpl;
             fDocumentIndex = fDeferredDocumentImpl.createDeferredDocument ();
             // REVISIT: strict error checking is not implemented in deferred dom.
@@ -941,6 +1074,14 @@ public class AbstractDOMParser extends AbstractXMLDocumentParser {
             System.out.println ("==>startElement ("+element.rawname+")");
         }
         if (!fDeferNodeExpansion) {
+            if (fSubtreeHandler != null) {
+                if (fSubtreeDepth >= 0) {
+                    ++fSubtreeDepth;
+                }
+                else if (!startSubtree (element)) {
+                    return;
+                }
+            }
             if (fFilterReject) {
                 ++fRejectedElementDepth;
                 return;
@@ -1076,6 +1217,12 @@ public class AbstractDOMParser extends AbstractXMLDocumentParser {
             }
             fCurrentNode.appendChild (el);
             fCurrentNode = el;
+            if (fSubtreeDepth == 0) {
+                fSubtreeRoot = el;
+                if (fNamespaceAware) {
+                    declareNamespaces (el);
+                }
+            }
         }
         else {
             int el = fDeferredDocumentImpl.createDeferredElement (fNamespaceAware ?
@@ -1231,7 +1378,7 @@ public class AbstractDOMParser extends AbstractXMLDocumentParser {
                 }
                 else {
                     int txt = fDeferredDocumentImpl.
-                    createDeferredTextNode (text.toString (), false);
+                    createDeferredTextNode (text.ch, text.offset, text.length, false);
                     fDeferredDocumentImpl.appendChild (fCurrentNodeIndex, txt);
                 }
             } else if (!fInDTD) {
@@ -1241,9 +1388,8 @@ public class AbstractDOMParser extends AbstractXMLDocumentParser {
                     return;
                 }
 
-                String value = text.toString ();
                 int txt = fDeferredDocumentImpl.
-                createDeferredTextNode (value, false);
+                createDeferredTextNode (text.ch, text.offset, text.length, false);
                 fDeferredDocumentImpl.appendChild (fCurrentNodeIndex, txt);
 
             }
@@ -1288,7 +1434,7 @@ public class AbstractDOMParser extends AbstractXMLDocumentParser {
             // The Text normalization is taken care of within the DOM in the
             // deferred case.
             int txt = fDeferredDocumentImpl.
-            createDeferredTextNode (text.toString (), true);
+            createDeferredTextNode (text.ch, text.offset, text.length, true);
             fDeferredDocumentImpl.appendChild (fCurrentNodeIndex, txt);
         }
 
@@ -1309,6 +1455,16 @@ public class AbstractDOMParser extends AbstractXMLDocumentParser {
         }
         if (!fDeferNodeExpansion) {
 
+            boolean endOfSubtree = false;
+            if (fSubtreeHandler != null) {
+                if (fSubtreeDepth < 0) {
+                    // element outside of the selected subtrees
+                    --fElementPathDepth;
+                    return;
+                }
+                endOfSubtree = fSubtreeDepth-- == 0;
+            }
+
             // REVISIT: Should this happen after we call the filter?
             if (augs != null && fDocumentImpl != null && (fNamespaceAware || fStorePSVI)) {
                 ElementPSVI elementPSVI = (ElementPSVI) augs.getItem(Constants.ELEMENT_PSVI);
@@ -1387,6 +1543,9 @@ public class AbstractDOMParser extends AbstractXMLDocumentParser {
                 fCurrentNode = fCurrentNode.getParentNode ();
             }
 
+            if (endOfSubtree) {
+                endSubtree ();
+            }
         }
         else {
             if (augs != null) {
@@ -1517,6 +1676,16 @@ public class AbstractDOMParser extends AbstractXMLDocumentParser {
             fCurrentNodeIndex = -1;
         }
 
+        if (fDocument instanceof CoreDocumentImpl) {
+            if (fIndexElementNames) {
+                ((CoreDocumentImpl) fDocument).setElementNameIndexEnabled (true);
+            }
+            // make the document immutable
+            if (fFreezeDocument) {
+                ((CoreDocumentImpl) fDocument).freeze ();
+            }
+        }
+
     } // endDocument()
 
     /**
@@ -2598,6 +2767,88 @@ public class AbstractDOMParser extends AbstractXMLDocumentParser {
         return attr;
     }
 
+    /**
+     * Records the start of an element outside of the selected subtrees
+     * and returns true if the element starts a subtree. The content of
+     * other elements is skipped.
+     */
+    private boolean startSubtree (QName element) {
+        if (fElementPathDepth == fElementPath.length) {
+            String[] newPath = new String[fElementPathDepth << 1];
+            System.arraycopy (fElementPath, 0, newPath, 0, fElementPathDepth);
+            fElementPath = newPath;
+        }
+        fElementPath[fElementPathDepth++] = element.rawname;
+
+        final String[] steps = fSubtreePath;
+        int depth = fElementPathDepth;
+        boolean matches = fSubtreePathAbsolute ?
+                depth == steps.length : depth >= steps.length;
+        for (int i = steps.length - 1; matches && i >= 0; i--) {
+            String step = steps[i];
+            String name = fElementPath[--depth];
+            matches = step == null || step.equals (name);
+        }
+        if (matches) {
+            fSubtreeDepth = 0;
+            fRoot = null;
+        }
+        fFilterReject = !matches;
+        return matches;
+    } // startSubtree(QName):boolean
+
+    /**
+     * Declares on the root of a subtree the namespaces which are in
+     * scope but were declared on elements outside of the subtree, so
+     * that they can still be looked up once it is removed from the
+     * document.
+     */
+    private void declareNamespaces (Element el) {
+        final NamespaceContext context = fSubtreeNamespaceContext;
+        if (context == null) {
+            return;
+        }
+        Enumeration prefixes = context.getAllPrefixes ();
+        while (prefixes.hasMoreElements ()) {
+            String prefix = (String) prefixes.nextElement ();
+            String uri = context.getURI (prefix);
+            if (uri == null || prefix == XMLSymbols.PREFIX_XML ||
+                prefix == XMLSymbols.PREFIX_XMLNS) {
+                continue;
+            }
+            if (prefix == XMLSymbols.EMPTY_STRING) {
+                if (!el.hasAttributeNS (NamespaceContext.XMLNS_URI, XMLSymbols.PREFIX_XMLNS)) {
+                    el.setAttributeNS (NamespaceContext.XMLNS_URI, XMLSymbols.PREFIX_XMLNS, uri);
+                }
+            }
+            else if (!el.hasAttributeNS (NamespaceContext.XMLNS_URI, prefix)) {
+                el.setAttributeNS (NamespaceContext.XMLNS_URI, "xmlns:" + prefix, uri);
+            }
+        }
+    } // declareNamespaces(Element)
+
+    /**
+     * Passes the completed subtree to the subtree handler and then
+     * removes it from the document, so that the document may be reused
+     * for the next subtree.
+     */
+    private void endSubtree () {
+        final Node subtree = fSubtreeRoot;
+        fSubtreeRoot = null;
+        fRoot = null;
+        fFilterReject = true;
+        --fElementPathDepth;
+        try {
+            fSubtreeHandler.handleSubtree ((Element) subtree);
+        }
+        finally {
+            Node parent = subtree.getParentNode ();
+            if (parent == fCurrentNode) {
+                parent.removeChild (subtree);
+            }
+        }
+    } // endSubtree()
+
     /**
      * When the first {@link #characters(XMLString, Augmentations)} call is received, the data is stored in
      * a new Text node. If right after the first characters() we receive another chunk of data,
@@ -17,6 +17,8 @@
 
 package org.apache.xerces.parsers;
 
+import org.apache.xerces.util.ConcurrentSymbolTable;
+import org.apache.xerces.util.ConcurrentXMLGrammarPool;
 import org.apache.xerces.util.ShadowedSymbolTable;
 import org.apache.xerces.util.SymbolTable;
 import org.apache.xerces.util.SynchronizedSymbolTable;
@@ -121,8 +123,14 @@ public class CachingParserPool {
      * @param grammarPool The grammar pool.
      */
     public CachingParserPool(SymbolTable symbolTable, XMLGrammarPool grammarPool) {
-        fSynchronizedSymbolTable = new SynchronizedSymbolTable(symbolTable);
-        fSynchronizedGrammarPool = new SynchronizedGrammarPool(grammarPool);
+        // concurrent implementations are already safe to share between
+        // threads and must not be serialized behind a single lock
+        fSynchronizedSymbolTable = (symbolTable instanceof ConcurrentSymbolTable)
+                                 ? symbolTable
+                                 : new SynchronizedSymbolTable(symbolTable);
+        fSynchronizedGrammarPool = (grammarPool instanceof ConcurrentXMLGrammarPool)
+                                 ? grammarPool
+                                 : new SynchronizedGrammarPool(grammarPool);
     } // <init>(SymbolTable,XMLGrammarPool)
 
     //
@@ -0,0 +1,49 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.xerces.parsers;
+
+import org.w3c.dom.Element;
+
+/**
+ * <p>Receives the subtrees built by a DOM parser which has been asked to
+ * stream a document. When the subtree path property is set, the parser
+ * only builds the elements selected by that path, together with their
+ * descendants, and passes each one to this handler as soon as its end
+ * tag has been parsed.</p>
+ *
+ * <p>The subtree is the document element of the parser's document for
+ * the duration of the call and is removed from the document when the
+ * handler returns. A handler which wants to keep a subtree may simply
+ * hold a reference to it, or import it into another document. Parsing
+ * may be stopped by throwing a runtime exception from the handler.</p>
+ *
+ * @see org.apache.xerces.impl.Constants#DOM_SUBTREE_PATH_PROPERTY
+ *
+ * @version $Id$
+ */
+public interface DOMSubtreeHandler {
+
+    /**
+     * Called when a selected element and all of its descendants have
+     * been built.
+     *
+     * @param subtree The root of the completed subtree.
+     */
+    public void handleSubtree(Element subtree);
+
+} // interface DOMSubtreeHandler
@@ -112,6 +112,10 @@ public class StandardParserConfiguration
     protected static final String TOLERATE_DUPLICATES = 
         Constants.XERCES_FEATURE_PREFIX + Constants.TOLERATE_DUPLICATES_FEATURE;
 
+    /** Feature identifier: parallel schema loading */
+    protected static final String PARALLEL_SCHEMA_LOADING = 
+        Constants.XERCES_FEATURE_PREFIX + Constants.PARALLEL_SCHEMA_LOADING_FEATURE;
+
     /** Feature identifier: whether to ignore xsi:type attributes until a global element declaration is encountered */
     protected static final String IGNORE_XSI_TYPE =
         Constants.XERCES_FEATURE_PREFIX + Constants.IGNORE_XSI_TYPE_FEATURE;
@@ -154,6 +158,10 @@ public class StandardParserConfiguration
     protected static final String SCHEMA_DV_FACTORY = 
         Constants.XERCES_PROPERTY_PREFIX + Constants.SCHEMA_DV_FACTORY_PROPERTY;
     
+    /** Property identifier: value cache size. */
+    protected static final String VALUE_CACHE_SIZE = 
+        Constants.XERCES_PROPERTY_PREFIX + Constants.VALUE_CACHE_SIZE_PROPERTY;
+    
     //
     // Data
     //
@@ -224,6 +232,7 @@ public class StandardParserConfiguration
             HONOUR_ALL_SCHEMALOCATIONS,
             NAMESPACE_GROWTH,
             TOLERATE_DUPLICATES,
+            PARALLEL_SCHEMA_LOADING,
             // NOTE: These shouldn't really be here but since the XML Schema
             //       validator is constructed dynamically, its recognized
             //       features might not have been set and it would cause a
@@ -246,6 +255,7 @@ public class StandardParserConfiguration
         setFeature(HONOUR_ALL_SCHEMALOCATIONS, false);
         setFeature(NAMESPACE_GROWTH, false);
         setFeature(TOLERATE_DUPLICATES, false);
+        setFeature(PARALLEL_SCHEMA_LOADING, false);
 
         setFeature(IGNORE_XSI_TYPE, false);
         setFeature(ID_IDREF_CHECKING, true);
@@ -264,6 +274,7 @@ public class StandardParserConfiguration
             ROOT_TYPE_DEF,
             ROOT_ELEMENT_DECL,
             SCHEMA_DV_FACTORY,
+            VALUE_CACHE_SIZE,
         };
         
         addRecognizedProperties(recognizedProperties);
@@ -153,6 +153,10 @@ public class XML11Configuration extends ParserConfigurationSettings
     /** Feature identifier: tolerate duplicates */
     protected static final String TOLERATE_DUPLICATES = 
         Constants.XERCES_FEATURE_PREFIX + Constants.TOLERATE_DUPLICATES_FEATURE;
+
+    /** Feature identifier: parallel schema loading */
+    protected static final String PARALLEL_SCHEMA_LOADING = 
+        Constants.XERCES_FEATURE_PREFIX + Constants.PARALLEL_SCHEMA_LOADING_FEATURE;
     
     /** Feature identifier: use grammar pool only */
     protected static final String USE_GRAMMAR_POOL_ONLY =
@@ -291,6 +295,10 @@ public class XML11Configuration extends ParserConfigurationSettings
     protected static final String SCHEMA_DV_FACTORY = 
         Constants.XERCES_PROPERTY_PREFIX + Constants.SCHEMA_DV_FACTORY_PROPERTY;
     
+    /** Property identifier: value cache size. */
+    protected static final String VALUE_CACHE_SIZE = 
+        Constants.XERCES_PROPERTY_PREFIX + Constants.VALUE_CACHE_SIZE_PROPERTY;
+    
     // debugging
 
     /** Set to true and recompile to print exception stack trace. */
@@ -500,7 +508,7 @@ public class XML11Configuration extends ParserConfigurationSettings
 		        NORMALIZE_DATA, SCHEMA_ELEMENT_DEFAULT, SCHEMA_AUGMENT_PSVI,
 		        GENERATE_SYNTHETIC_ANNOTATIONS, VALIDATE_ANNOTATIONS,
 		        HONOUR_ALL_SCHEMALOCATIONS, NAMESPACE_GROWTH,
-		        TOLERATE_DUPLICATES, IGNORE_XSI_TYPE,
+		        TOLERATE_DUPLICATES, PARALLEL_SCHEMA_LOADING, IGNORE_XSI_TYPE,
 		        ID_IDREF_CHECKING, IDENTITY_CONSTRAINT_CHECKING,
 		        UNPARSED_ENTITY_CHECKING, USE_GRAMMAR_POOL_ONLY,
 		        // NOTE: These shouldn't really be here but since the XML Schema
@@ -529,6 +537,7 @@ public class XML11Configuration extends ParserConfigurationSettings
         fFeatures.put(HONOUR_ALL_SCHEMALOCATIONS, Boolean.FALSE);
         fFeatures.put(NAMESPACE_GROWTH, Boolean.FALSE);
         fFeatures.put(TOLERATE_DUPLICATES, Boolean.FALSE);
+        fFeatures.put(PARALLEL_SCHEMA_LOADING, Boolean.FALSE);
         fFeatures.put(IGNORE_XSI_TYPE, Boolean.FALSE);
         fFeatures.put(ID_IDREF_CHECKING, Boolean.TRUE);
         fFeatures.put(IDENTITY_CONSTRAINT_CHECKING, Boolean.TRUE);
@@ -565,6 +574,7 @@ public class XML11Configuration extends ParserConfigurationSettings
                 ROOT_TYPE_DEF,
                 ROOT_ELEMENT_DECL,
                 SCHEMA_DV_FACTORY,
+                VALUE_CACHE_SIZE,
         };
         addRecognizedProperties(recognizedProperties);
 		
@@ -0,0 +1,123 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.xerces.stax;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.xml.XMLConstants;
+import javax.xml.namespace.NamespaceContext;
+import javax.xml.namespace.QName;
+import javax.xml.stream.Location;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.events.XMLEvent;
+import javax.xml.stream.util.XMLEventAllocator;
+import javax.xml.stream.util.XMLEventConsumer;
+
+import org.apache.xerces.stax.events.AttributeImpl;
+import org.apache.xerces.stax.events.CharactersImpl;
+import org.apache.xerces.stax.events.CommentImpl;
+import org.apache.xerces.stax.events.DTDImpl;
+import org.apache.xerces.stax.events.EndDocumentImpl;
+import org.apache.xerces.stax.events.EndElementImpl;
+import org.apache.xerces.stax.events.EntityReferenceImpl;
+import org.apache.xerces.stax.events.NamespaceImpl;
+import org.apache.xerces.stax.events.ProcessingInstructionImpl;
+import org.apache.xerces.stax.events.StartDocumentImpl;
+import org.apache.xerces.stax.events.StartElementImpl;
+
+/**
+ * <p>Default <code>XMLEventAllocator</code> which creates immutable
+ * event objects from the state of an <code>XMLStreamReader</code>.</p>
+ *
+ * @xerces.internal
+ *
+ * @version $Id$
+ */
+public final class XMLEventAllocatorImpl implements XMLEventAllocator {
+
+    public XMLEventAllocatorImpl() {}
+
+    public XMLEventAllocator newInstance() {
+        return new XMLEventAllocatorImpl();
+    }
+
+    public XMLEvent allocate(XMLStreamReader reader) throws XMLStreamException {
+        final Location location = reader.getLocation();
+        switch (reader.getEventType()) {
+            case XMLStreamConstants.START_ELEMENT: {
+                final List attributes = new ArrayList();
+                for (int i = 0; i < reader.getAttributeCount(); ++i) {
+                    attributes.add(new AttributeImpl(reader.getAttributeName(i),
+                            reader.getAttributeValue(i), reader.getAttributeType(i),
+                            reader.isAttributeSpecified(i), location));
+                }
+                final NamespaceContext context = (reader instanceof XMLStreamReaderImpl) ?
+                        ((XMLStreamReaderImpl) reader).getNamespaceContextSnapshot() :
+                        reader.getNamespaceContext();
+                return new StartElementImpl(reader.getName(), attributes.iterator(),
+                        getNamespaces(reader, location).iterator(), context, location);
+            }
+            case XMLStreamConstants.END_ELEMENT:
+                return new EndElementImpl(reader.getName(),
+                        getNamespaces(reader, location).iterator(), location);
+            case XMLStreamConstants.CHARACTERS:
+            case XMLStreamConstants.CDATA:
+            case XMLStreamConstants.SPACE:
+                return new CharactersImpl(reader.getText(), reader.getEventType(), location);
+            case XMLStreamConstants.COMMENT:
+                return new CommentImpl(reader.getText(), location);
+            case XMLStreamConstants.PROCESSING_INSTRUCTION:
+                return new ProcessingInstructionImpl(reader.getPITarget(), reader.getPIData(), location);
+            case XMLStreamConstants.DTD:
+                return new DTDImpl(reader.getText(), location);
+            case XMLStreamConstants.ENTITY_REFERENCE:
+                return new EntityReferenceImpl(reader.getLocalName(), null, location);
+            case XMLStreamConstants.START_DOCUMENT: {
+                final String encoding = reader.getCharacterEncodingScheme();
+                return new StartDocumentImpl(encoding != null ? encoding : reader.getEncoding(),
+                        encoding != null, reader.isStandalone(), reader.standaloneSet(),
+                        reader.getVersion(), location);
+            }
+            case XMLStreamConstants.END_DOCUMENT:
+                return new EndDocumentImpl(location);
+            default:
+                throw new XMLStreamException("Unexpected event type " + reader.getEventType() + ".", location);
+        }
+    }
+
+    public void allocate(XMLStreamReader reader, XMLEventConsumer consumer)
+            throws XMLStreamException {
+        consumer.add(allocate(reader));
+    }
+
+    private static List getNamespaces(XMLStreamReader reader, Location location) {
+        final int count = reader.getNamespaceCount();
+        final List namespaces = new ArrayList(count);
+        for (int i = 0; i < count; ++i) {
+            final String prefix = reader.getNamespacePrefix(i);
+            final String uri = reader.getNamespaceURI(i);
+            namespaces.add(new NamespaceImpl(prefix != null ? prefix : XMLConstants.DEFAULT_NS_PREFIX,
+                    uri != null ? uri : XMLConstants.NULL_NS_URI, location));
+        }
+        return namespaces;
+    }
+
+} // XMLEventAllocatorImpl
@@ -0,0 +1,146 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.xerces.stax;
+
+import java.util.NoSuchElementException;
+
+import javax.xml.stream.XMLEventReader;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.events.Characters;
+import javax.xml.stream.events.XMLEvent;
+import javax.xml.stream.util.XMLEventAllocator;
+
+/**
+ * <p>An <code>XMLEventReader</code> which creates events on demand
+ * from an underlying <code>XMLStreamReader</code>.</p>
+ *
+ * @xerces.internal
+ *
+ * @version $Id$
+ */
+public final class XMLEventReaderImpl implements XMLEventReader {
+
+    /** The stream reader events are created from. */
+    private final XMLStreamReader fReader;
+
+    /** Creates events from the state of the stream reader. */
+    private final XMLEventAllocator fAllocator;
+
+    /** The next event if peek() has been called. */
+    private XMLEvent fPeekedEvent;
+
+    /** Whether the event for the initial state of the stream reader has been created. */
+    private boolean fStarted;
+
+    public XMLEventReaderImpl(XMLStreamReader reader, XMLEventAllocator allocator) {
+        fReader = reader;
+        fAllocator = (allocator != null) ? allocator : new XMLEventAllocatorImpl();
+    }
+
+    public XMLEvent nextEvent() throws XMLStreamException {
+        if (fPeekedEvent != null) {
+            final XMLEvent event = fPeekedEvent;
+            fPeekedEvent = null;
+            return event;
+        }
+        if (!fStarted) {
+            fStarted = true;
+        }
+        else if (fReader.hasNext()) {
+            fReader.next();
+        }
+        else {
+            throw new NoSuchElementException();
+        }
+        return fAllocator.allocate(fReader);
+    }
+
+    public boolean hasNext() {
+        if (fPeekedEvent != null || !fStarted) {
+            return true;
+        }
+        try {
+            return fReader.hasNext();
+        }
+        catch (XMLStreamException e) {
+            return false;
+        }
+    }
+
+    public XMLEvent peek() throws XMLStreamException {
+        if (fPeekedEvent == null && hasNext()) {
+            fPeekedEvent = nextEvent();
+        }
+        return fPeekedEvent;
+    }
+
+    public String getElementText() throws XMLStreamException {
+        if (fPeekedEvent != null) {
+            throw new XMLStreamException("The element text cannot be read after peek().");
+        }
+        if (fReader.getEventType() != XMLStreamConstants.START_ELEMENT) {
+            throw new XMLStreamException("The current event is not a START_ELEMENT.");
+        }
+        return fReader.getElementText();
+    }
+
+    public XMLEvent nextTag() throws XMLStreamException {
+        XMLEvent event = nextEvent();
+        while ((event.isCharacters() && ((Characters) event).isWhiteSpace())
+                || event.getEventType() == XMLStreamConstants.PROCESSING_INSTRUCTION
+                || event.getEventType() == XMLStreamConstants.COMMENT
+                || event.getEventType() == XMLStreamConstants.START_DOCUMENT) {
+            event = nextEvent();
+        }
+        if (!event.isStartElement() && !event.isEndElement()) {
+            throw new XMLStreamException("Expected START_ELEMENT or END_ELEMENT.", event.getLocation());
+        }
+        return event;
+    }
+
+    public Object getProperty(String name) throws IllegalArgumentException {
+        return fReader.getProperty(name);
+    }
+
+    public void close() throws XMLStreamException {
+        fPeekedEvent = null;
+        fReader.close();
+    }
+
+    //
+    // Iterator methods
+    //
+
+    public Object next() {
+        try {
+            return nextEvent();
+        }
+        catch (XMLStreamException e) {
+            final NoSuchElementException nse = new NoSuchElementException(e.getMessage());
+            nse.initCause(e);
+            throw nse;
+        }
+    }
+
+    public void remove() {
+        throw new UnsupportedOperationException();
+    }
+
+} // XMLEventReaderImpl
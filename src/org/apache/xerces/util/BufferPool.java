@@ -0,0 +1,161 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.xerces.util;
+
+import java.util.HashMap;
+
+/**
+ * <p>A pool of byte and character arrays which are reused by the
+ * entity manager for its readers and entity buffers.</p>
+ *
+ * <p>Arrays are pooled by length. A few arrays of each length are
+ * kept; arrays returned to a full bucket, and arrays of a length
+ * which would exceed the number of buckets, are left to the garbage
+ * collector. This pool is not thread-safe. A pool which may be shared
+ * by many parsers is provided by <code>SynchronizedBufferPool</code>.</p>
+ *
+ * @xerces.internal
+ *
+ * @version $Id$
+ */
+public class BufferPool {
+
+    //
+    // Constants
+    //
+
+    /** Default number of arrays kept for each length. */
+    public static final int DEFAULT_POOL_SIZE = 3;
+
+    /** Default maximum number of distinct lengths. */
+    public static final int DEFAULT_MAX_BUCKETS = 8;
+
+    //
+    // Data
+    //
+
+    /** Number of arrays kept for each length. */
+    private final int fPoolSize;
+
+    /** Maximum number of distinct lengths. */
+    private final int fMaxBuckets;
+
+    /** Byte array buckets keyed by length. */
+    private final HashMap fByteBuckets = new HashMap();
+
+    /** Character array buckets keyed by length. */
+    private final HashMap fCharBuckets = new HashMap();
+
+    //
+    // Constructors
+    //
+
+    /** Constructs a buffer pool of default size. */
+    public BufferPool() {
+        this(DEFAULT_POOL_SIZE, DEFAULT_MAX_BUCKETS);
+    } // <init>()
+
+    /**
+     * Constructs a buffer pool.
+     *
+     * @param poolSize   The number of arrays kept for each length.
+     * @param maxBuckets The maximum number of distinct lengths kept.
+     */
+    public BufferPool(int poolSize, int maxBuckets) {
+        fPoolSize = poolSize;
+        fMaxBuckets = maxBuckets;
+    } // <init>(int,int)
+
+    //
+    // Public methods
+    //
+
+    /** Retrieves a byte array of the given length from the pool. */
+    public byte[] getByteBuffer(int length) {
+        final Bucket bucket = (Bucket) fByteBuckets.get(Integer.valueOf(length));
+        if (bucket != null && bucket.fDepth > 0) {
+            final byte[] buffer = (byte[]) bucket.fBuffers[--bucket.fDepth];
+            bucket.fBuffers[bucket.fDepth] = null;
+            return buffer;
+        }
+        return new byte[length];
+    } // getByteBuffer(int):byte[]
+
+    /** Returns a byte array to the pool. */
+    public void returnByteBuffer(byte[] buffer) {
+        returnBuffer(fByteBuckets, buffer, buffer.length);
+    } // returnByteBuffer(byte[])
+
+    /** Retrieves a character array of the given length from the pool. */
+    public char[] getCharBuffer(int length) {
+        final Bucket bucket = (Bucket) fCharBuckets.get(Integer.valueOf(length));
+        if (bucket != null && bucket.fDepth > 0) {
+            final char[] buffer = (char[]) bucket.fBuffers[--bucket.fDepth];
+            bucket.fBuffers[bucket.fDepth] = null;
+            return buffer;
+        }
+        return new char[length];
+    } // getCharBuffer(int):char[]
+
+    /** Returns a character array to the pool. */
+    public void returnCharBuffer(char[] buffer) {
+        returnBuffer(fCharBuckets, buffer, buffer.length);
+    } // returnCharBuffer(char[])
+
+    /** Removes all arrays from the pool. */
+    public void clear() {
+        fByteBuckets.clear();
+        fCharBuckets.clear();
+    } // clear()
+
+    //
+    // Private methods
+    //
+
+    private void returnBuffer(HashMap buckets, Object buffer, int length) {
+        final Integer key = Integer.valueOf(length);
+        Bucket bucket = (Bucket) buckets.get(key);
+        if (bucket == null) {
+            if (buckets.size() >= fMaxBuckets) {
+                return;
+            }
+            bucket = new Bucket(fPoolSize);
+            buckets.put(key, bucket);
+        }
+        if (bucket.fDepth < bucket.fBuffers.length) {
+            bucket.fBuffers[bucket.fDepth++] = buffer;
+        }
+    } // returnBuffer(HashMap,Object,int)
+
+    //
+    // Classes
+    //
+
+    /** Arrays of one length. */
+    private static final class Bucket {
+
+        final Object[] fBuffers;
+        int fDepth;
+
+        Bucket(int poolSize) {
+            fBuffers = new Object[poolSize];
+        }
+
+    } // class Bucket
+
+} // class BufferPool
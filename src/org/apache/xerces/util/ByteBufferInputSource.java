@@ -0,0 +1,141 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.xerces.util;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+import org.apache.xerces.xni.parser.XMLInputSource;
+
+/**
+ * This class represents an input source for an XML resource
+ * whose bytes are held in a <code>java.nio.ByteBuffer</code> or
+ * can be read from a <code>java.nio.channels.FileChannel</code>.
+ * A file channel is mapped into memory in windows as the entity
+ * is scanned, so that neither a byte stream nor an intermediate
+ * copy of the bytes is needed. UTF-8 and US-ASCII content is
+ * decoded directly from the buffer.
+ * 
+ * <p>The position of a byte buffer is not modified when the
+ * input source is read. A file channel is read from its position
+ * at the time the entity is opened to its end. As with a byte
+ * stream, the parser closes the file channel when it is finished
+ * with the entity, even if parsing fails; an application which
+ * needs the channel afterwards must open another one.</p>
+ * 
+ * @version $Id$
+ */
+public final class ByteBufferInputSource extends XMLInputSource {
+
+    //
+    // Data
+    //
+    
+    /** Byte buffer. **/
+    protected ByteBuffer fByteBuffer;
+    
+    /** File channel. **/
+    protected FileChannel fFileChannel;
+    
+    //
+    // Constructors
+    //
+    
+    /**
+     * Constructs an input source from a byte buffer.
+     *
+     * @param publicId     the public identifier, if known
+     * @param systemId     the system identifier. This value should
+     *                     always be set, if possible, and can be
+     *                     relative or absolute. If the system identifier
+     *                     is relative, then the base system identifier
+     *                     should also be set.
+     * @param baseSystemId the base system identifier. This value should
+     *                     always be an absolute base URI applicable to the system identifier.
+     * @param byteBuffer   the byte buffer
+     * @param encoding     the encoding of the bytes, if known
+     */
+    public ByteBufferInputSource(String publicId, String systemId,
+            String baseSystemId, ByteBuffer byteBuffer, String encoding) {
+        super(publicId, systemId, baseSystemId);
+        fByteBuffer = byteBuffer;
+        setEncoding(encoding);
+    } // <init>(String,String,String,ByteBuffer,String)
+    
+    /**
+     * Constructs an input source from a file channel.
+     *
+     * @param publicId     the public identifier, if known
+     * @param systemId     the system identifier. This value should
+     *                     always be set, if possible, and can be
+     *                     relative or absolute. If the system identifier
+     *                     is relative, then the base system identifier
+     *                     should also be set.
+     * @param baseSystemId the base system identifier. This value should
+     *                     always be an absolute base URI applicable to the system identifier.
+     * @param fileChannel  the file channel, which is closed by the
+     *                     parser when it is finished with the entity
+     * @param encoding     the encoding of the file, if known
+     */
+    public ByteBufferInputSource(String publicId, String systemId,
+            String baseSystemId, FileChannel fileChannel, String encoding) {
+        super(publicId, systemId, baseSystemId);
+        fFileChannel = fileChannel;
+        setEncoding(encoding);
+    } // <init>(String,String,String,FileChannel,String)
+    
+    //
+    // Public methods
+    //
+    
+    /**
+     * Returns the byte buffer, or <code>null</code> if
+     * this input source reads from a file channel.
+     */
+    public ByteBuffer getByteBuffer() {
+        return fByteBuffer;
+    } // getByteBuffer():ByteBuffer
+    
+    /**
+     * Sets the byte buffer. Setting a byte buffer
+     * clears the file channel.
+     */
+    public void setByteBuffer(ByteBuffer byteBuffer) {
+        fByteBuffer = byteBuffer;
+        fFileChannel = null;
+    } // setByteBuffer(ByteBuffer)
+    
+    /**
+     * Returns the file channel, or <code>null</code> if
+     * this input source reads from a byte buffer.
+     */
+    public FileChannel getFileChannel() {
+        return fFileChannel;
+    } // getFileChannel():FileChannel
+    
+    /**
+     * Sets the file channel. Setting a file channel
+     * clears the byte buffer. The parser closes the file
+     * channel when it is finished with the entity.
+     */
+    public void setFileChannel(FileChannel fileChannel) {
+        fFileChannel = fileChannel;
+        fByteBuffer = null;
+    } // setFileChannel(FileChannel)
+    
+} // class ByteBufferInputSource
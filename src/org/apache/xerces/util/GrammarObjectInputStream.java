@@ -0,0 +1,114 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.xerces.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidClassException;
+import java.io.ObjectInputStream;
+import java.io.ObjectStreamClass;
+import java.util.HashSet;
+
+/**
+ * <p>An object input stream for reading serialized grammars. Strings
+ * are interned, since grammars compare names by reference, and classes
+ * other than those of Xerces and the few platform classes grammars
+ * are built from are rejected before they are loaded.</p>
+ *
+ * @xerces.internal
+ *
+ * @version $Id$
+ */
+public class GrammarObjectInputStream extends ObjectInputStream {
+
+    //
+    // Constants
+    //
+
+    /** Java platform classes which may appear in a serialized grammar. */
+    private static final HashSet PLATFORM_CLASSES = new HashSet();
+
+    static {
+        final String[] names = {
+            "java.lang.Boolean", "java.lang.Byte", "java.lang.Double",
+            "java.lang.Float", "java.lang.Integer", "java.lang.Long",
+            "java.lang.Number", "java.lang.Object", "java.lang.Short",
+            "java.lang.String", "java.math.BigDecimal", "java.math.BigInteger",
+            "java.util.ArrayList", "java.util.Dictionary", "java.util.Hashtable",
+            "java.util.Vector",
+        };
+        for (int i = 0; i < names.length; ++i) {
+            PLATFORM_CLASSES.add(names[i]);
+        }
+    }
+
+    //
+    // Constructors
+    //
+
+    /**
+     * Constructs a grammar input stream.
+     *
+     * @param in The stream to read from.
+     */
+    public GrammarObjectInputStream(InputStream in) throws IOException {
+        super(in);
+        enableResolveObject(true);
+    } // <init>(InputStream)
+
+    //
+    // Public static methods
+    //
+
+    /**
+     * Returns true if objects of the named class, or arrays of it, may
+     * appear in a serialized grammar.
+     *
+     * @param name The name of the class, as returned by <code>Class.getName()</code>.
+     */
+    public static boolean isAllowedClass(String name) {
+        int dims = 0;
+        while (dims < name.length() && name.charAt(dims) == '[') {
+            ++dims;
+        }
+        if (dims > 0) {
+            // arrays of primitives, or of an allowed class
+            if (dims == name.length() || name.charAt(dims) != 'L') {
+                return true;
+            }
+            name = name.substring(dims + 1, name.length() - 1);
+        }
+        return name.startsWith("org.apache.xerces.") || PLATFORM_CLASSES.contains(name);
+    } // isAllowedClass(String):boolean
+
+    //
+    // ObjectInputStream methods
+    //
+
+    protected Class resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+        if (!isAllowedClass(desc.getName())) {
+            throw new InvalidClassException(desc.getName(), "Class not allowed in a serialized grammar.");
+        }
+        return super.resolveClass(desc);
+    } // resolveClass(ObjectStreamClass):Class
+
+    protected Object resolveObject(Object obj) throws IOException {
+        return (obj instanceof String) ? ((String) obj).intern() : obj;
+    } // resolveObject(Object):Object
+
+} // class GrammarObjectInputStream
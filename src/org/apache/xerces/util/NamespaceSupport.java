@@ -118,6 +118,23 @@ public class NamespaceSupport implements NamespaceContext {
 
     } // reset(SymbolTable)
 
+    /**
+     * Replaces the bindings and contexts of this namespace support
+     * with a copy of those of the given namespace support.
+     *
+     * @param nSupport the namespace support to copy
+     */
+    public void copyFrom(NamespaceSupport nSupport) {
+        fNamespaceSize = nSupport.fNamespaceSize;
+        if (fNamespace.length < fNamespaceSize)
+            fNamespace = new String[fNamespaceSize];
+        System.arraycopy(nSupport.fNamespace, 0, fNamespace, 0, fNamespaceSize);
+        fCurrentContext = nSupport.fCurrentContext;
+        if (fContext.length <= fCurrentContext)
+            fContext = new int[fCurrentContext+1];
+        System.arraycopy(nSupport.fContext, 0, fContext, 0, fCurrentContext+1);
+    } // copyFrom(NamespaceSupport)
+
 
 	/**
 	 * @see org.apache.xerces.xni.NamespaceContext#pushContext()
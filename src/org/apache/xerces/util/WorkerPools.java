@@ -0,0 +1,132 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.xerces.util;
+
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.HashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * <p>The fork/join pools shared by the components which work on several
+ * threads. Each pool is named by the system property which sets its
+ * number of threads; when the property is not set, or is not a number,
+ * the pool has one thread per processor.</p>
+ *
+ * <p>The threads of the pools are daemon threads which end after being
+ * idle for a while, so an unused pool holds no threads and no pool keeps
+ * the virtual machine running. An application which unloads the parser
+ * may still end them at once with {@link #shutdown(String)}; the pool is
+ * created again the next time it is used. Work handed to a pool which
+ * has been shut down runs on the calling thread.</p>
+ *
+ * @xerces.internal
+ *
+ * @version $Id$
+ */
+public final class WorkerPools {
+
+    //
+    // Data
+    //
+
+    /** Pools by the name of the property setting their size. */
+    private static final HashMap gPools = new HashMap();
+
+    //
+    // Constructors
+    //
+
+    private WorkerPools() {}
+
+    //
+    // Public static methods
+    //
+
+    /**
+     * Returns the number of threads of a pool.
+     *
+     * @param parallelismProperty The system property naming the pool.
+     */
+    public static int getParallelism(String parallelismProperty) {
+        return getPool(parallelismProperty).getParallelism();
+    } // getParallelism(String):int
+
+    /**
+     * Runs a task on a pool, or on the calling thread if the pool has
+     * just been shut down.
+     *
+     * @param parallelismProperty The system property naming the pool.
+     * @param task                The task.
+     */
+    public static void execute(String parallelismProperty, Runnable task) {
+        try {
+            getPool(parallelismProperty).execute(task);
+        }
+        catch (RejectedExecutionException e) {
+            task.run();
+        }
+    } // execute(String,Runnable)
+
+    /**
+     * Shuts a pool down. Running tasks complete; the pool is created
+     * again, reading its size anew, the next time it is used.
+     *
+     * @param parallelismProperty The system property naming the pool.
+     */
+    public static synchronized void shutdown(String parallelismProperty) {
+        ForkJoinPool pool = (ForkJoinPool) gPools.remove(parallelismProperty);
+        if (pool != null) {
+            pool.shutdown();
+        }
+    } // shutdown(String)
+
+    //
+    // Private static methods
+    //
+
+    private static synchronized ForkJoinPool getPool(String parallelismProperty) {
+        ForkJoinPool pool = (ForkJoinPool) gPools.get(parallelismProperty);
+        if (pool == null) {
+            pool = new ForkJoinPool(readParallelism(parallelismProperty));
+            gPools.put(parallelismProperty, pool);
+        }
+        return pool;
+    } // getPool(String):ForkJoinPool
+
+    private static int readParallelism(final String parallelismProperty) {
+        int parallelism = Runtime.getRuntime().availableProcessors();
+        try {
+            String value = (String) AccessController.doPrivileged(new PrivilegedAction() {
+                public Object run() {
+                    return System.getProperty(parallelismProperty);
+                }
+            });
+            if (value != null) {
+                parallelism = Math.max(Integer.parseInt(value.trim()), 1);
+            }
+        }
+        catch (SecurityException e) {
+        }
+        catch (NumberFormatException e) {
+        }
+        return parallelism;
+    } // readParallelism(String):int
+
+} // class WorkerPools
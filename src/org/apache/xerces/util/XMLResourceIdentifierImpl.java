@@ -17,6 +17,8 @@
 
 package org.apache.xerces.util;
 
+import java.io.Serializable;
+
 import org.apache.xerces.xni.XMLResourceIdentifier;
 
 /**
@@ -29,7 +31,10 @@ import org.apache.xerces.xni.XMLResourceIdentifier;
  * @version $Id$
  */
 public class XMLResourceIdentifierImpl
-    implements XMLResourceIdentifier {
+    implements XMLResourceIdentifier, Serializable {
+
+    /** Serialization version. */
+    static final long serialVersionUID = -590940713546111498L;
 
     //
     // Data
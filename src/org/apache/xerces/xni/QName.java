@@ -17,6 +17,8 @@
 
 package org.apache.xerces.xni;
 
+import java.io.Serializable;
+
 /**
  * A structure that holds the components of an XML Namespaces qualified
  * name.
@@ -33,7 +35,10 @@ package org.apache.xerces.xni;
  * @version $Id$
  */
 public class QName 
-    implements Cloneable {
+    implements Cloneable, Serializable {
+
+    /** Serialization version. */
+    static final long serialVersionUID = -3040540170319809240L;
 
     //
     // Data
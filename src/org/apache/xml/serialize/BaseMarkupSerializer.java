@@ -44,6 +44,8 @@ package org.apache.xml.serialize;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
 import java.util.Hashtable;
 import java.util.Vector;
 
@@ -236,6 +238,12 @@ public abstract class BaseMarkupSerializer
      */
     private OutputStream    _output;
 
+
+    /**
+     * The byte channel.
+     */
+    private WritableByteChannel _channel;
+
     /** Current node that is being processed  */
     protected Node fCurrentNode = null;
 
@@ -296,6 +304,28 @@ public abstract class BaseMarkupSerializer
             throw new NullPointerException(msg);
         }
         _output = output;
+        _channel = null;
+        _writer = null;
+        reset();
+    }
+
+
+    /**
+     * Specifies a byte channel to which the serializer should
+     * write. Text in UTF-8 or US-ASCII is encoded directly into
+     * the channel's buffer if the output is not indented.
+     *
+     * @param channel the channel to write to
+     */
+    public void setOutputByteChannel( WritableByteChannel channel )
+    {
+        if ( channel == null ) {
+            String msg = DOMMessageFormatter.formatMessage(DOMMessageFormatter.SERIALIZER_DOMAIN,
+                                                           "ArgumentIsNull", new Object[]{"channel"});
+            throw new NullPointerException(msg);
+        }
+        _channel = channel;
+        _output = null;
         _writer = null;
         reset();
     }
@@ -310,6 +340,7 @@ public abstract class BaseMarkupSerializer
         }
         _writer = writer;
         _output = null;
+        _channel = null;
         reset();
     }
 
@@ -349,7 +380,7 @@ public abstract class BaseMarkupSerializer
         if ( _prepared )
             return;
 
-        if ( _writer == null && _output == null ) {
+        if ( _writer == null && _output == null && _channel == null ) {
             String msg = DOMMessageFormatter.formatMessage(DOMMessageFormatter.SERIALIZER_DOMAIN,
                                                            "NoWriterSupplied", null);
             throw new IOException(msg);
@@ -360,16 +391,27 @@ public abstract class BaseMarkupSerializer
 
         _encodingInfo = _format.getEncodingInfo();
 
-        if ( _output != null ) {
-            _writer = _encodingInfo.getWriter(_output);
-        }
-
-        if ( _format.getIndenting() ) {
-            _indenting = true;
-            _printer = new IndentPrinter( _writer, _format );
-        } else {
+        if ( ( _output != null || _channel != null ) && ! _format.getIndenting() &&
+             ByteStreamPrinter.isSupported( _encodingInfo ) ) {
+            // Encode straight into the output's bytes, bypassing the writer.
             _indenting = false;
-            _printer = new Printer( _writer, _format );
+            if ( _output != null )
+                _printer = new ByteStreamPrinter( _output, _format, _encodingInfo );
+            else
+                _printer = new ByteStreamPrinter( _channel, _format, _encodingInfo );
+        } else {
+            if ( _output != null ) {
+                _writer = _encodingInfo.getWriter(_output);
+            } else if ( _channel != null ) {
+                _writer = _encodingInfo.getWriter(Channels.newOutputStream(_channel));
+            }
+            if ( _format.getIndenting() ) {
+                _indenting = true;
+                _printer = new IndentPrinter( _writer, _format );
+            } else {
+                _indenting = false;
+                _printer = new Printer( _writer, _format );
+            }
         }
 
         ElementState state;
@@ -1798,6 +1840,11 @@ public abstract class BaseMarkupSerializer
         _elementStateCount = 0;
     }
 
+    /** Returns the number of elements entered. **/
+    final int getElementDepth() {
+        return _elementStateCount;
+    }
+
     /**
      * Returns the namespace prefix for the specified URI.
      * If the URI has been mapped to a prefix, returns the
@@ -0,0 +1,357 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.xml.serialize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * A printer which encodes text directly into a byte buffer and writes
+ * it to an output stream or a byte channel, without going through a
+ * <code>Writer</code>. Only UTF-8 and US-ASCII are supported, see
+ * {@link #isSupported}. Characters which cannot be encoded are
+ * replaced with <code>'?'</code>, as an <code>OutputStreamWriter</code>
+ * would do. The DTD is still accumulated in a string by the methods of
+ * {@link Printer}.
+ *
+ * @deprecated This class was deprecated in Xerces 2.9.0. It is recommended 
+ * that new applications use the DOM Level 3 LSSerializer or JAXP's Transformation 
+ * API for XML (TrAX) for serializing XML. See the Xerces documentation for more 
+ * information.
+ * 
+ * @xerces.internal
+ *
+ * @version $Id$
+ */
+@Deprecated
+final class ByteStreamPrinter extends Printer {
+
+    //
+    // Constants
+    //
+
+    /** The size of the output buffer. */
+    private static final int BUFFER_SIZE = 8192;
+
+    /** The replacement for characters which cannot be encoded. */
+    private static final byte REPLACEMENT = (byte) '?';
+
+    //
+    // Data
+    //
+
+    /** The output stream, or null if writing to a channel. */
+    private final OutputStream _output;
+
+    /** The byte channel, or null if writing to a stream. */
+    private final WritableByteChannel _channel;
+
+    /** True if the encoding is UTF-8, false if it is US-ASCII. */
+    private final boolean _utf8;
+
+    /** Output buffer. */
+    private final byte[] _bytes = new byte[BUFFER_SIZE];
+
+    /** The output buffer as seen by the channel. */
+    private final ByteBuffer _byteBuffer;
+
+    /** Position within the output buffer. */
+    private int _count = 0;
+
+    /** A high surrogate waiting for the next character, or 0. */
+    private char _highSurrogate = 0;
+
+    //
+    // Constructors
+    //
+
+    /**
+     * Creates a printer writing to an output stream.
+     *
+     * @param output the output stream to write to
+     * @param format the output format to use
+     * @param encodingInfo a supported encoding
+     */
+    public ByteStreamPrinter(OutputStream output, OutputFormat format, EncodingInfo encodingInfo) {
+        super(null, format);
+        _output = output;
+        _channel = null;
+        _utf8 = isUTF8(encodingInfo);
+        _byteBuffer = null;
+    }
+
+    /**
+     * Creates a printer writing to a byte channel.
+     *
+     * @param channel the channel to write to
+     * @param format the output format to use
+     * @param encodingInfo a supported encoding
+     */
+    public ByteStreamPrinter(WritableByteChannel channel, OutputFormat format, EncodingInfo encodingInfo) {
+        super(null, format);
+        _output = null;
+        _channel = channel;
+        _utf8 = isUTF8(encodingInfo);
+        _byteBuffer = ByteBuffer.wrap(_bytes);
+    }
+
+    /**
+     * Returns true if text in the given encoding can be printed
+     * by this printer.
+     *
+     * @param encodingInfo the encoding of the output
+     */
+    public static boolean isSupported(EncodingInfo encodingInfo) {
+        return isUTF8(encodingInfo) || "ASCII".equals(encodingInfo.javaName);
+    }
+
+    //
+    // Printer methods
+    //
+
+    public String leaveDTD() throws IOException {
+        // there is no writer to tell apart from the DTD writer
+        // until the DTD has been entered
+        return inDTD() ? super.leaveDTD() : null;
+    }
+
+    public void printText(String text) throws IOException {
+        if (inDTD()) {
+            super.printText(text);
+            return;
+        }
+        printText(text, 0, text.length());
+    }
+
+    public void printText(String text, int start, int length) throws IOException {
+        if (inDTD()) {
+            super.printText(text, start, length);
+            return;
+        }
+        final int end = start + length;
+        for (int i = start; i < end; ++i) {
+            final char ch = text.charAt(i);
+            if (ch < 0x80 && _highSurrogate == 0) {
+                if (_count == BUFFER_SIZE) {
+                    writeBuffer();
+                }
+                _bytes[_count++] = (byte) ch;
+            }
+            else {
+                encode(ch);
+            }
+        }
+    }
+
+    public void printText(StringBuffer text) throws IOException {
+        if (inDTD()) {
+            super.printText(text);
+            return;
+        }
+        final int length = text.length();
+        for (int i = 0; i < length; ++i) {
+            printText(text.charAt(i));
+        }
+    }
+
+    public void printText(char[] chars, int start, int length) throws IOException {
+        if (inDTD()) {
+            super.printText(chars, start, length);
+            return;
+        }
+        final int end = start + length;
+        for (int i = start; i < end; ++i) {
+            final char ch = chars[i];
+            if (ch < 0x80 && _highSurrogate == 0) {
+                if (_count == BUFFER_SIZE) {
+                    writeBuffer();
+                }
+                _bytes[_count++] = (byte) ch;
+            }
+            else {
+                encode(ch);
+            }
+        }
+    }
+
+    public void printText(char ch) throws IOException {
+        if (inDTD()) {
+            super.printText(ch);
+            return;
+        }
+        if (ch < 0x80 && _highSurrogate == 0) {
+            if (_count == BUFFER_SIZE) {
+                writeBuffer();
+            }
+            _bytes[_count++] = (byte) ch;
+        }
+        else {
+            encode(ch);
+        }
+    }
+
+    public void printSpace() throws IOException {
+        printText(' ');
+    }
+
+    public void breakLine() throws IOException {
+        printText('\n');
+    }
+
+    public void flushLine(boolean preserveSpace) throws IOException {
+        if (inDTD()) {
+            super.flushLine(preserveSpace);
+            return;
+        }
+        try {
+            writeBuffer();
+        }
+        catch (IOException except) {
+            // exception is held by writeBuffer()
+        }
+    }
+
+    public void flush() throws IOException {
+        if (inDTD()) {
+            super.flush();
+            return;
+        }
+        writeBuffer();
+        if (_output != null) {
+            try {
+                _output.flush();
+            }
+            catch (IOException except) {
+                if (_exception == null) {
+                    _exception = except;
+                }
+                throw except;
+            }
+        }
+    }
+
+    /**
+     * Prints bytes which were encoded by another printer with
+     * the same encoding.
+     *
+     * @param bytes the encoded text
+     * @throws IOException if an I/O exception occurs while writing
+     */
+    public void printBytes(ByteArrayOutputStream bytes) throws IOException {
+        writeBuffer();
+        try {
+            bytes.writeTo(_output != null ? _output : Channels.newOutputStream(_channel));
+        }
+        catch (IOException except) {
+            if (_exception == null) {
+                _exception = except;
+            }
+            throw except;
+        }
+    }
+
+    //
+    // Private methods
+    //
+
+    private static boolean isUTF8(EncodingInfo encodingInfo) {
+        return "UTF8".equals(encodingInfo.javaName);
+    }
+
+    /** Returns true if output is going to the DTD string. */
+    private boolean inDTD() {
+        return _dtdWriter != null && _writer == _dtdWriter;
+    }
+
+    /** Encodes a character which is not in the ASCII range or follows a high surrogate. */
+    private void encode(char ch) throws IOException {
+        if (BUFFER_SIZE - _count < 4) {
+            writeBuffer();
+        }
+        final byte[] bytes = _bytes;
+        if (_highSurrogate != 0) {
+            final char high = _highSurrogate;
+            _highSurrogate = 0;
+            if (ch >= 0xDC00 && ch <= 0xDFFF) {
+                if (_utf8) {
+                    final int c = 0x10000 + ((high - 0xD800) << 10) + (ch - 0xDC00);
+                    bytes[_count++] = (byte) (0xF0 | (c >> 18));
+                    bytes[_count++] = (byte) (0x80 | ((c >> 12) & 0x3F));
+                    bytes[_count++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                    bytes[_count++] = (byte) (0x80 | (c & 0x3F));
+                }
+                else {
+                    bytes[_count++] = REPLACEMENT;
+                }
+                return;
+            }
+            // unpaired high surrogate
+            bytes[_count++] = REPLACEMENT;
+        }
+        if (ch < 0x80) {
+            bytes[_count++] = (byte) ch;
+        }
+        else if (ch >= 0xD800 && ch <= 0xDBFF) {
+            _highSurrogate = ch;
+        }
+        else if (!_utf8 || ch <= 0xDFFF && ch >= 0xDC00) {
+            bytes[_count++] = REPLACEMENT;
+        }
+        else if (ch < 0x800) {
+            bytes[_count++] = (byte) (0xC0 | (ch >> 6));
+            bytes[_count++] = (byte) (0x80 | (ch & 0x3F));
+        }
+        else {
+            bytes[_count++] = (byte) (0xE0 | (ch >> 12));
+            bytes[_count++] = (byte) (0x80 | ((ch >> 6) & 0x3F));
+            bytes[_count++] = (byte) (0x80 | (ch & 0x3F));
+        }
+    }
+
+    /** Writes the content of the output buffer. */
+    private void writeBuffer() throws IOException {
+        try {
+            if (_output != null) {
+                _output.write(_bytes, 0, _count);
+            }
+            else {
+                _byteBuffer.clear();
+                _byteBuffer.limit(_count);
+                while (_byteBuffer.hasRemaining()) {
+                    _channel.write(_byteBuffer);
+                }
+            }
+        }
+        catch (IOException except) {
+            // We don't throw an exception, but hold it
+            // until the end of the document.
+            if (_exception == null) {
+                _exception = except;
+            }
+            throw except;
+        }
+        finally {
+            _count = 0;
+        }
+    }
+
+} // class ByteStreamPrinter
@@ -105,6 +105,18 @@ public class DOMSerializerImpl implements LSSerializer, DOMConfiguration {
     protected final static short NSDECL              = 0x1<<9;
     protected final static short DOM_ELEMENT_CONTENT_WHITESPACE = 0x1<<10;
     protected final static short PRETTY_PRINT        = 0x1<<11;
+
+    /** Feature identifier: parallel serialization */
+    protected static final String PARALLEL_SERIALIZATION =
+        Constants.XERCES_FEATURE_PREFIX + Constants.PARALLEL_SERIALIZATION_FEATURE;
+
+    /** Property identifier: parallel serialization depth */
+    protected static final String PARALLEL_SERIALIZATION_DEPTH =
+        Constants.XERCES_PROPERTY_PREFIX + Constants.PARALLEL_SERIALIZATION_DEPTH_PROPERTY;
+
+    // parallel serialization of the children of elements at a given depth
+    private boolean fParallelSerialization = false;
+    private int fParallelDepth = 0;
     
     // well-formness checking
     private DOMErrorHandler fErrorHandler = null;    
@@ -206,6 +218,8 @@ public class DOMSerializerImpl implements LSSerializer, DOMConfiguration {
                      (short) (state
                          ? features | PRETTY_PRINT
                          : features & ~PRETTY_PRINT);
+            } else if (name.equalsIgnoreCase(PARALLEL_SERIALIZATION)) {
+                fParallelSerialization = state;
             }
                 else if (name.equalsIgnoreCase(Constants.DOM_CANONICAL_FORM)
                     || name.equalsIgnoreCase(Constants.DOM_VALIDATE_IF_SCHEMA)
@@ -260,6 +274,17 @@ public class DOMSerializerImpl implements LSSerializer, DOMConfiguration {
                         new Object[] { name });
                 throw new DOMException(DOMException.TYPE_MISMATCH_ERR, msg);
             }
+        } else if (name.equalsIgnoreCase(PARALLEL_SERIALIZATION_DEPTH)) {
+            if (value instanceof Integer && ((Integer) value).intValue() >= 0) {
+                fParallelDepth = ((Integer) value).intValue();
+            } else {
+                String msg =
+                    DOMMessageFormatter.formatMessage(
+                        DOMMessageFormatter.DOM_DOMAIN,
+                        "TYPE_MISMATCH_ERR",
+                        new Object[] { name });
+                throw new DOMException(DOMException.TYPE_MISMATCH_ERR, msg);
+            }
         } else if (
             name.equalsIgnoreCase(Constants.DOM_RESOURCE_RESOLVER)
                 || name.equalsIgnoreCase(Constants.DOM_SCHEMA_LOCATION)
@@ -301,7 +326,8 @@ public class DOMSerializerImpl implements LSSerializer, DOMConfiguration {
             || name.equalsIgnoreCase(Constants.DOM_CDATA_SECTIONS)
             || name.equalsIgnoreCase(Constants.DOM_COMMENTS)
             || name.equalsIgnoreCase(Constants.DOM_FORMAT_PRETTY_PRINT)
-            || name.equalsIgnoreCase(Constants.DOM_NAMESPACE_DECLARATIONS)){
+            || name.equalsIgnoreCase(Constants.DOM_NAMESPACE_DECLARATIONS)
+            || name.equalsIgnoreCase(PARALLEL_SERIALIZATION)){
 	            // both values supported
 				return true;
 			}
@@ -320,6 +346,9 @@ public class DOMSerializerImpl implements LSSerializer, DOMConfiguration {
 				return value;
 			        }
 		}
+		else if (name.equalsIgnoreCase(PARALLEL_SERIALIZATION_DEPTH)) {
+			return state instanceof Integer && ((Integer) state).intValue() >= 0;
+		}
 		else if (name.equalsIgnoreCase(Constants.DOM_ERROR_HANDLER) &&
 				state == null || state instanceof DOMErrorHandler){
 			return true;
@@ -367,6 +396,8 @@ public class DOMSerializerImpl implements LSSerializer, DOMConfiguration {
 			//parameters.add(Constants.DOM_SCHEMA_TYPE);
 			
 			//Add recognized xerces features and properties
+			parameters.add(PARALLEL_SERIALIZATION);
+			parameters.add(PARALLEL_SERIALIZATION_DEPTH);
 			
 			fRecognizedParameters = new DOMStringListImpl(parameters);		
     		
@@ -422,6 +453,10 @@ public class DOMSerializerImpl implements LSSerializer, DOMConfiguration {
             return Boolean.FALSE;
         } else if (name.equalsIgnoreCase(Constants.DOM_ERROR_HANDLER)) {
             return fErrorHandler;
+        } else if (name.equalsIgnoreCase(PARALLEL_SERIALIZATION)) {
+            return fParallelSerialization ? Boolean.TRUE : Boolean.FALSE;
+        } else if (name.equalsIgnoreCase(PARALLEL_SERIALIZATION_DEPTH)) {
+            return Integer.valueOf(fParallelDepth);
         } else if (
             name.equalsIgnoreCase(Constants.DOM_RESOURCE_RESOLVER)
                 || name.equalsIgnoreCase(Constants.DOM_SCHEMA_LOCATION)
@@ -888,6 +923,7 @@ public class DOMSerializerImpl implements LSSerializer, DOMConfiguration {
         ser._format.setIndenting((features & PRETTY_PRINT) != 0);
         ser._format.setOmitComments((features & COMMENTS)==0);
         ser._format.setOmitXMLDeclaration((features & XMLDECL) == 0);   
+        ser.fParallelDepth = fParallelSerialization ? fParallelDepth : -1;
  
         if ((features & WELLFORMED) != 0) {
             // REVISIT: this is inefficient implementation of well-formness. Instead, we should check
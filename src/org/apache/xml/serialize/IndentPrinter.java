@@ -158,6 +158,12 @@ public class IndentPrinter
     }
 
 
+    public void printText( String text, int start, int length )
+    {
+        _text.append( text, start, start + length );
+    }
+
+
     public void printText( char[] chars, int start, int length )
     {
         _text.append( chars, start, length );
@@ -240,6 +240,38 @@ public class Printer
     }
 
 
+    /**
+     * Same as {@link #printText(String)} but this method prints the
+     * given range of the string.
+     *
+     * @param text the value to write to the buffer
+     * @param start the offset of the first character to write
+     * @param length the number of characters to write
+     * @throws IOException can be thrown by underlying call to {@link Writer#write(char[])}
+     */
+    public void printText( String text, int start, int length )
+        throws IOException
+    {
+        try {
+            while ( length-- > 0 ) {
+                if ( _pos == BufferSize ) {
+                    _writer.write( _buffer );
+                    _pos = 0;
+                }
+                _buffer[ _pos ] = text.charAt( start );
+                ++start;
+                ++_pos;
+            }
+        } catch ( IOException except ) {
+            // We don't throw an exception, but hold it
+            // until the end of the document.
+            if ( _exception == null )
+                _exception = except;
+            throw except;
+        }
+    }
+
+
     public void printText( char[] chars, int start, int length )
         throws IOException
     {
@@ -542,4 +542,8 @@ extends XMLSerializer {
         return true;
     }
 
+    protected XMLSerializer newSubtreeSerializer() {
+        return new XML11Serializer();
+    }
+
 }
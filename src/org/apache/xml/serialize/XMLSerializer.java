@@ -30,20 +30,32 @@
 
 package org.apache.xml.serialize;
 
+import java.io.ByteArrayOutputStream;
+import java.io.CharArrayWriter;
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.io.OutputStream;
 import java.io.Writer;
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 
+import org.apache.xerces.dom.CoreDocumentImpl;
 import org.apache.xerces.dom.DOMMessageFormatter;
 import org.apache.xerces.util.NamespaceSupport;
 import org.apache.xerces.util.SymbolTable;
+import org.apache.xerces.util.WorkerPools;
 import org.apache.xerces.util.XMLChar;
 import org.apache.xerces.util.XMLSymbols;
 import org.apache.xerces.xni.NamespaceContext;
 import org.w3c.dom.Attr;
 import org.w3c.dom.DOMError;
+import org.w3c.dom.DOMErrorHandler;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 import org.w3c.dom.NamedNodeMap;
@@ -105,6 +117,41 @@ extends BaseMarkupSerializer {
 
     protected static final boolean DEBUG = false;
 
+    /** Flag for characters printed as is in character content. */
+    private static final byte CONTENT_CHAR = 0x01;
+
+    /** Flag for characters printed as is in attribute values. */
+    private static final byte ATTRIBUTE_CHAR = 0x02;
+
+    /** Flag for characters printed as is in unescaped text. */
+    private static final byte VALID_CHAR = 0x04;
+
+    /** How ASCII characters are printed. */
+    private static final byte[] ASCII_CHARS = new byte[0x80];
+
+    /** Number of subtree chunks per thread of the parallel serialization pool. */
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    /**
+     * System property setting the number of threads of the parallel
+     * serialization pool; the number of processors by default.
+     */
+    private static final String PARALLELISM_PROPERTY = "org.apache.xml.serialize.parallelism";
+
+    static {
+        for (int ch = 0; ch < 0x80; ++ch) {
+            if (ch >= ' ' || ch == '\t' || ch == '\n' || ch == '\r') {
+                ASCII_CHARS[ch] |= VALID_CHAR;
+            }
+            if ((ch >= ' ' || ch == '\t' || ch == '\n') && ch != '<' && ch != '&' && ch != '>') {
+                ASCII_CHARS[ch] |= CONTENT_CHAR;
+            }
+            if (ch >= ' ' && ch != '<' && ch != '&' && ch != '"') {
+                ASCII_CHARS[ch] |= ATTRIBUTE_CHAR;
+            }
+        }
+    }
+
     // 
     // data
     //
@@ -137,6 +184,13 @@ extends BaseMarkupSerializer {
      * Controls whether namespace prefixes will be printed out during serialization
      */
     protected boolean fNamespacePrefixes = true;
+
+    /**
+     * The depth of the elements whose children are serialized in parallel,
+     * counting the outermost element serialized as 0, or -1 to serialize
+     * all nodes in order on the calling thread.
+     */
+    protected int fParallelDepth = -1;
 	
 
     private boolean fPreserveSpace;
@@ -1084,6 +1138,10 @@ extends BaseMarkupSerializer {
             state.doCData = _format.isCDataElement( tagName );
             state.unescaped = _format.isNonEscapingElement( tagName );
             child = elem.getFirstChild();
+            if (fParallelDepth >= 0 && getElementDepth() == fParallelDepth + 1 &&
+                serializeChildrenInParallel( elem )) {
+                child = null;
+            }
             while (child != null) {
                 serializeNode( child );
                 child = child.getNextSibling();
@@ -1244,6 +1302,17 @@ extends BaseMarkupSerializer {
     protected void printEscaped(String source) throws IOException {
         int length = source.length();
         for (int i = 0; i < length; ++i) {
+            int end = i;
+            while (end < length && isPrintedAsIs(source.charAt(end), ATTRIBUTE_CHAR)) {
+                ++end;
+            }
+            if (end > i) {
+                _printer.printText(source, i, end - i);
+                if (end == length) {
+                    break;
+                }
+                i = end;
+            }
             int ch = source.charAt(i);
             if (!XMLChar.isValid(ch)) {
                 if (++i < length) {
@@ -1292,53 +1361,36 @@ extends BaseMarkupSerializer {
 
     protected void printText( String text, boolean preserveSpace, boolean unescaped )
     throws IOException {
-        int index;
+        // Spaces are printed as they are whether or not they are preserved,
+        // so runs of characters which need no escaping are printed at once.
+        final byte flag = unescaped ? VALID_CHAR : CONTENT_CHAR;
+        int index = 0;
         char ch;
         int length = text.length();
-        if ( preserveSpace ) {
-            // Preserving spaces: the text must print exactly as it is,
-            // without breaking when spaces appear in the text and without
-            // consolidating spaces. If a line terminator is used, a line
-            // break will occur.
-            for ( index = 0 ; index < length ; ++index ) {
-                ch = text.charAt( index );
-                if (!XMLChar.isValid(ch)) {
-                    // check if it is surrogate
-                    if (++index <length) {
-                        surrogates(ch, text.charAt(index), true);
-                    } else {
-                        fatalError("The character '"+ch+"' is an invalid XML character"); 
-                    }
-                    continue;
-                }
-                if ( unescaped ) {
-                    _printer.printText( ch );
-                } else
-                    printXMLChar( ch );
+        while ( index < length ) {
+            int end = index;
+            while ( end < length && isPrintedAsIs( text.charAt( end ), flag ) ) {
+                ++end;
             }
-        } else {
-            // Not preserving spaces: print one part at a time, and
-            // use spaces between parts to break them into different
-            // lines. Spaces at beginning of line will be stripped
-            // by printing mechanism. Line terminator is treated
-            // no different than other text part.
-            for ( index = 0 ; index < length ; ++index ) {
-                ch = text.charAt( index );
-                if (!XMLChar.isValid(ch)) {
-                    // check if it is surrogate
-                    if (++index <length) {
-                        surrogates(ch, text.charAt(index), true);
-                    } else {
-                        fatalError("The character '"+ch+"' is an invalid XML character"); 
-                    }
-                    continue;
+            if ( end > index ) {
+                _printer.printText( text, index, end - index );
+                index = end;
+                continue;
+            }
+            ch = text.charAt( index++ );
+            if (!XMLChar.isValid(ch)) {
+                // check if it is surrogate
+                if (index < length) {
+                    surrogates(ch, text.charAt(index++), true);
+                } else {
+                    fatalError("The character '"+ch+"' is an invalid XML character"); 
                 }
-
-				if ( unescaped )
-                    _printer.printText( ch );
-                else
-                    printXMLChar( ch);
+                continue;
             }
+            if ( unescaped ) {
+                _printer.printText( ch );
+            } else
+                printXMLChar( ch );
         }
     }
 
@@ -1346,60 +1398,55 @@ extends BaseMarkupSerializer {
 
     protected void printText( char[] chars, int start, int length,
                               boolean preserveSpace, boolean unescaped ) throws IOException {
-
-        if ( preserveSpace ) {
-            // Preserving spaces: the text must print exactly as it is,
-            // without breaking when spaces appear in the text and without
-            // consolidating spaces. If a line terminator is used, a line
-            // break will occur.
-            while ( length-- > 0 ) {
-                char ch = chars[start++];
-                if (!XMLChar.isValid(ch)) {
-                    // check if it is surrogate
-                    if ( length-- > 0 ) {
-                        surrogates(ch, chars[start++], true);
-                    } 
-                    else {
-                        fatalError("The character '"+ch+"' is an invalid XML character"); 
-                    }
-                    continue;
-                }
-                if ( unescaped ) {
-                    _printer.printText( ch );
-                } 
-                else {
-                    printXMLChar( ch );
-                }
+        // Spaces are printed as they are whether or not they are preserved,
+        // so runs of characters which need no escaping are printed at once.
+        final byte flag = unescaped ? VALID_CHAR : CONTENT_CHAR;
+        final int limit = start + length;
+        while ( start < limit ) {
+            int end = start;
+            while ( end < limit && isPrintedAsIs( chars[end], flag ) ) {
+                ++end;
             }
-        } else {
-            // Not preserving spaces: print one part at a time, and
-            // use spaces between parts to break them into different
-            // lines. Spaces at beginning of line will be stripped
-            // by printing mechanism. Line terminator is treated
-            // no different than other text part.
-            while ( length-- > 0 ) {
-                char ch = chars[start++];
-                if (!XMLChar.isValid(ch)) {
-                    // check if it is surrogate
-                    if ( length-- > 0 ) {
-                        surrogates(ch, chars[start++], true);
-                    } 
-                    else {
-                        fatalError("The character '"+ch+"' is an invalid XML character"); 
-                    }
-                    continue;
-                }
-                if ( unescaped ) {
-                    _printer.printText( ch );
+            if ( end > start ) {
+                _printer.printText( chars, start, end - start );
+                start = end;
+                continue;
+            }
+            char ch = chars[start++];
+            if (!XMLChar.isValid(ch)) {
+                // check if it is surrogate
+                if ( start < limit ) {
+                    surrogates(ch, chars[start++], true);
                 } 
                 else {
-                    printXMLChar( ch );
+                    fatalError("The character '"+ch+"' is an invalid XML character"); 
                 }
+                continue;
+            }
+            if ( unescaped ) {
+                _printer.printText( ch );
+            } 
+            else {
+                printXMLChar( ch );
             }
         }
     }
 
 
+    /**
+     * Returns true if the character is printed as it is in the kind of
+     * text given by <code>flag</code>. Characters for which this method
+     * returns false may still be printed as they are after a closer look.
+     */
+    private boolean isPrintedAsIs( char ch, byte flag ) {
+        if ( ch < 0x80 ) {
+            return ( ASCII_CHARS[ch] & flag ) != 0;
+        }
+        return XMLChar.isValid( ch ) &&
+            ( flag == VALID_CHAR || ch <= _encodingInfo.lastPrintable );
+    }
+
+
    /**
     * DOM Level 3:
     * Check a node to determine if it contains unbound namespace prefixes.
@@ -1484,6 +1531,238 @@ extends BaseMarkupSerializer {
         return true;
     }
 
+    /**
+     * Creates a serializer of the same kind as this one, used to
+     * serialize subtrees in parallel.
+     *
+     * @return a new serializer
+     */
+    protected XMLSerializer newSubtreeSerializer() {
+        return new XMLSerializer();
+    }
+
+    //
+    // Parallel serialization
+    //
+
+    /**
+     * Serializes the children of the current element in chunks, which
+     * are printed by serializers of their own on the threads of a shared
+     * pool and then copied to the output in document order. The first
+     * chunk is serialized by this serializer meanwhile.
+     * <p>
+     * A document can only be read by many threads once it has been
+     * frozen, so the children of elements of other documents are not
+     * split. Neither are they when indenting, when a filter is set, or
+     * when the encoding may not print all characters; the filter and the
+     * character checks of an encoding are not safe to call concurrently.
+     * The error handler is called by one thread at a time, but errors are
+     * no longer reported in document order.
+     * </p>
+     *
+     * @param elem the element whose children are serialized
+     * @return false if the children were not serialized
+     * @throws IOException if an I/O exception occurs while serializing
+     */
+    private boolean serializeChildrenInParallel( Element elem ) throws IOException {
+        Document document = elem.getOwnerDocument();
+        if (!(document instanceof CoreDocumentImpl) ||
+            !((CoreDocumentImpl) document).isFrozen() ||
+            _indenting || fDOMFilter != null ||
+            _encodingInfo.lastPrintable < 0xFFFF) {
+            return false;
+        }
+        final int parallelism = WorkerPools.getParallelism(PARALLELISM_PROPERTY);
+        if (parallelism < 2) {
+            return false;
+        }
+        ArrayList<Node> children = new ArrayList<>();
+        for (Node child = elem.getFirstChild(); child != null; child = child.getNextSibling()) {
+            children.add(child);
+        }
+        // Chunks only start at an element following an element. Once the
+        // previous element is closed, the state of the parent is the same
+        // however the preceding nodes were printed.
+        final int chunkSize = Math.max(children.size() / (parallelism * CHUNKS_PER_THREAD), 1);
+        ArrayList<Integer> starts = new ArrayList<>();
+        int next = chunkSize;
+        for (int i = 1; i < children.size(); ++i) {
+            if (i >= next &&
+                children.get(i).getNodeType() == Node.ELEMENT_NODE &&
+                children.get(i - 1).getNodeType() == Node.ELEMENT_NODE) {
+                starts.add(Integer.valueOf(i));
+                next = i + chunkSize;
+            }
+        }
+        if (starts.isEmpty()) {
+            return false;
+        }
+
+        final DOMErrorHandler errorHandler = fDOMErrorHandler;
+        if (errorHandler != null) {
+            fDOMErrorHandler = new SynchronizedErrorHandler(errorHandler);
+        }
+        final ElementState state = getElementState();
+        final boolean printBytes = _printer instanceof ByteStreamPrinter;
+        final int count = starts.size();
+        final SubtreeTask[] tasks = new SubtreeTask[count];
+        final Future[] futures = new Future[count];
+        try {
+            // Set up the serializers before the namespace context changes.
+            for (int k = 0; k < count; ++k) {
+                int end = (k + 1 < count) ? starts.get(k + 1).intValue() : children.size();
+                tasks[k] = new SubtreeTask(this, state,
+                        children.subList(starts.get(k).intValue(), end), printBytes);
+            }
+            for (int k = 0; k < count; ++k) {
+                FutureTask<Object> future = new FutureTask<>(tasks[k]);
+                futures[k] = future;
+                WorkerPools.execute(PARALLELISM_PROPERTY, future);
+            }
+            for (int i = 0; i < starts.get(0).intValue(); ++i) {
+                serializeNode(children.get(i));
+            }
+            for (int k = 0; k < count; ++k) {
+                waitFor(futures[k]);
+                if (printBytes) {
+                    ((ByteStreamPrinter) _printer).printBytes(tasks[k].fBytes);
+                }
+                else {
+                    char[] chars = tasks[k].fChars.toCharArray();
+                    _printer.printText(chars, 0, chars.length);
+                }
+                if (k == count - 1) {
+                    // The last chunk may have left a CDATA section open,
+                    // which is closed by the end tag of the parent.
+                    ElementState last = tasks[k].fSerializer.getElementState();
+                    state.inCData = last.inCData;
+                    state.afterElement = last.afterElement;
+                    state.afterComment = last.afterComment;
+                }
+                tasks[k] = null;
+            }
+        }
+        finally {
+            for (int k = 0; k < count; ++k) {
+                if (futures[k] != null) {
+                    futures[k].cancel(false);
+                }
+            }
+            fDOMErrorHandler = errorHandler;
+        }
+        return true;
+    } // serializeChildrenInParallel(Element):boolean
+
+    /** Waits for a subtree to be serialized and rethrows its exception. */
+    private static void waitFor( Future future ) throws IOException {
+        try {
+            future.get();
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException();
+        }
+        catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new RuntimeException(cause);
+        }
+    } // waitFor(Future)
+
+    /**
+     * Serializes a chunk of the children of an element into a buffer
+     * of its own.
+     */
+    private static final class SubtreeTask implements Callable<Object> {
+
+        /** The serializer printing the nodes. */
+        final XMLSerializer fSerializer;
+
+        /** The nodes to serialize. */
+        final List<Node> fNodes;
+
+        /** The encoded output, if the parent prints bytes. */
+        final ByteArrayOutputStream fBytes;
+
+        /** The output, if the parent prints characters. */
+        final CharArrayWriter fChars;
+
+        /**
+         * Creates a serializer with the settings, the namespace context
+         * and the state of the current element of the given serializer.
+         */
+        SubtreeTask(XMLSerializer parent, ElementState parentState,
+                List<Node> nodes, boolean printBytes) throws IOException {
+            fNodes = nodes;
+            XMLSerializer ser = parent.newSubtreeSerializer();
+            ser.setOutputFormat(parent._format);
+            if (printBytes) {
+                fBytes = new ByteArrayOutputStream();
+                fChars = null;
+                ser.setOutputByteStream(fBytes);
+            }
+            else {
+                fBytes = null;
+                fChars = new CharArrayWriter();
+                ser.setOutputCharStream(fChars);
+            }
+            ser.features = parent.features;
+            ser.fDOMErrorHandler = parent.fDOMErrorHandler;
+            ser.fNamespaces = parent.fNamespaces;
+            ser.fNamespacePrefixes = parent.fNamespacePrefixes;
+            if (parent.fNamespaces) {
+                // the namespace fixup fields are only set up by DOMSerializerImpl
+                ser.fNSBinder = new NamespaceSupport();
+                ser.fNSBinder.copyFrom(parent.fNSBinder);
+                ser.fLocalNSBinder = new NamespaceSupport();
+                ser.fSymbolTable = new SymbolTable();
+            }
+            ser.prepare();
+            ser._started = true;
+            ElementState state = ser.enterElementState(parentState.namespaceURI,
+                    parentState.localName, parentState.rawName, parentState.preserveSpace);
+            state.doCData = parentState.doCData;
+            state.unescaped = parentState.unescaped;
+            state.empty = false;
+            fSerializer = ser;
+        }
+
+        public Object call() throws IOException {
+            for (int i = 0; i < fNodes.size(); ++i) {
+                fSerializer.serializeNode(fNodes.get(i));
+            }
+            fSerializer._printer.flush();
+            if (fSerializer._printer.getException() != null) {
+                throw fSerializer._printer.getException();
+            }
+            return null;
+        }
+
+    } // class SubtreeTask
+
+    /** Passes errors to an error handler one at a time. */
+    private static final class SynchronizedErrorHandler implements DOMErrorHandler {
+
+        private final DOMErrorHandler fErrorHandler;
+
+        SynchronizedErrorHandler(DOMErrorHandler errorHandler) {
+            fErrorHandler = errorHandler;
+        }
+
+        public synchronized boolean handleError(DOMError error) {
+            return fErrorHandler.handleError(error);
+        }
+
+    } // class SynchronizedErrorHandler
+
 }
 
 
@@ -0,0 +1,229 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dom.compact;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+import org.apache.xerces.dom.DeferredDocumentImpl;
+import org.apache.xerces.parsers.DOMParser;
+import org.w3c.dom.Document;
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.Node;
+import org.xml.sax.InputSource;
+
+/**
+ * Parses documents into deferred documents which store their values in
+ * a heap or a direct character arena, and compares every value with
+ * those of the default deferred document.
+ *
+ * @version $Id$
+ */
+public class CompactStorageTest extends TestCase {
+
+    private static final String COMPACT_NODE_STORAGE =
+        "http://apache.org/xml/features/dom/compact-node-storage";
+
+    private static final String OFF_HEAP_NODE_STORAGE =
+        "http://apache.org/xml/features/dom/off-heap-node-storage";
+
+    /** The number of characters of an arena page. */
+    private static final int PAGE_SIZE = 1 << 16;
+
+    /** A surrogate pair, escaped so that this source stays ASCII. */
+    private static final String PAIR = "\uD83D\uDE00";
+
+    public CompactStorageTest(String name) {
+        super(name);
+    }
+
+    public void testSmallDocument() throws Exception {
+        checkDocument("<?xml version='1.0'?>" +
+                "<!DOCTYPE r [<!ENTITY e 'entity " + PAIR + " text'>]>" +
+                "<!-- before -->" +
+                "<r a='1' b='x &amp; y' c='&#x1F600;' d='  spaced\tout  '>" +
+                "text &lt; more<![CDATA[cdata <here>]]>" +
+                "<?pi some data " + PAIR + "?>" +
+                "<e/><e></e><e>&e;</e>" +
+                "<!-- comment " + PAIR + " -->" +
+                "</r>" +
+                "<?after?>");
+    }
+
+    public void testValuesAcrossPages() throws Exception {
+        final StringBuffer doc = new StringBuffer("<r>");
+        int length = 0;
+        int i = 0;
+        // values of many lengths, so that they start and end all over the
+        // pages, and some are longer than a page
+        while (length < 4 * PAGE_SIZE) {
+            final String value = value(i, (i % 17 == 0) ? PAGE_SIZE + i : 1 + (i * 7919) % 1500);
+            switch (i % 5) {
+                case 0:
+                    doc.append("<t>").append(value).append("</t>");
+                    break;
+                case 1:
+                    doc.append("<a v='").append(value).append("' w='").append(i).append("'/>");
+                    break;
+                case 2:
+                    doc.append("<!--").append(value).append("-->");
+                    break;
+                case 3:
+                    doc.append("<?p ").append(value).append("?>");
+                    break;
+                default:
+                    doc.append("<c><![CDATA[").append(value).append("]]></c>");
+            }
+            length += value.length();
+            ++i;
+        }
+        doc.append("</r>");
+        checkDocument(doc.toString());
+    }
+
+    public void testSurrogatePairsOnPageBoundaries() throws Exception {
+        // fill up to just before each page boundary, then split a pair
+        // across it, in text and in attribute values
+        final StringBuffer doc = new StringBuffer("<r>");
+        for (int page = 1; page <= 3; ++page) {
+            for (int shift = 0; shift < 4; ++shift) {
+                doc.append("<t>").append(value(page, PAGE_SIZE - 1 - shift)).append("</t>");
+                doc.append("<t>").append(PAIR).append(PAIR).append("x").append(PAIR).append("</t>");
+                doc.append("<a v='").append(PAIR).append("&#x1F601;").append(PAIR).append("'/>");
+            }
+        }
+        doc.append("</r>");
+        checkDocument(doc.toString());
+    }
+
+    /**
+     * Returns a value of the given length made of letters, spaces and
+     * surrogate pairs, without markup characters.
+     */
+    private static String value(int seed, int length) {
+        final StringBuffer buffer = new StringBuffer(length);
+        int n = seed;
+        while (buffer.length() < length) {
+            n = n * 1103515245 + 12345;
+            final int kind = (n >>> 16) % 11;
+            if (kind == 0 && buffer.length() + 2 <= length) {
+                buffer.append(PAIR);
+            }
+            else if (kind == 1) {
+                buffer.append(' ');
+            }
+            else if (kind == 2) {
+                buffer.append('\u00E9');
+            }
+            else {
+                buffer.append((char) ('a' + (n >>> 20) % 26));
+            }
+        }
+        return buffer.toString();
+    }
+
+    private static void checkDocument(String xml) throws Exception {
+        final Document expected = parse(xml, false, false);
+        final Document heap = parse(xml, true, false);
+        final Document direct = parse(xml, false, true);
+        assertTrue(expected instanceof DeferredDocumentImpl);
+        assertFalse(((DeferredDocumentImpl) expected).isCompactStorage());
+        assertTrue(((DeferredDocumentImpl) heap).isCompactStorage());
+        assertTrue(((DeferredDocumentImpl) direct).isCompactStorage());
+
+        // by node index, before the nodes are created
+        final List indexes = new ArrayList();
+        collect((DeferredDocumentImpl) expected, 0, indexes);
+        checkIndexes((DeferredDocumentImpl) expected, (DeferredDocumentImpl) heap, indexes);
+        checkIndexes((DeferredDocumentImpl) expected, (DeferredDocumentImpl) direct, indexes);
+
+        // through the DOM
+        final List values = new ArrayList();
+        collect(expected, values);
+        assertFalse(values.isEmpty());
+        final List heapValues = new ArrayList();
+        collect(heap, heapValues);
+        assertEquals(values, heapValues);
+        final List directValues = new ArrayList();
+        collect(direct, directValues);
+        assertEquals(values, directValues);
+    }
+
+    private static Document parse(String xml, boolean compact, boolean offHeap) throws Exception {
+        final DOMParser parser = new DOMParser();
+        parser.setFeature(COMPACT_NODE_STORAGE, compact);
+        parser.setFeature(OFF_HEAP_NODE_STORAGE, offHeap);
+        parser.setFeature("http://apache.org/xml/features/dom/create-entity-ref-nodes", true);
+        parser.parse(new InputSource(new StringReader(xml)));
+        return parser.getDocument();
+    }
+
+    /** Collects the indexes of the nodes and attributes below a node. */
+    private static void collect(DeferredDocumentImpl doc, int node, List indexes) {
+        indexes.add(Integer.valueOf(node));
+        if (doc.getNodeType(node, false) == Node.ELEMENT_NODE) {
+            for (int attr = doc.getNodeExtra(node, false); attr != -1;
+                 attr = doc.getPrevSibling(attr, false)) {
+                collect(doc, attr, indexes);
+            }
+        }
+        for (int child = doc.getLastChild(node, false); child != -1;
+             child = doc.getPrevSibling(child, false)) {
+            collect(doc, child, indexes);
+        }
+    }
+
+    private static void checkIndexes(DeferredDocumentImpl expected, DeferredDocumentImpl actual,
+                                     List indexes) {
+        for (int i = 0; i < indexes.size(); ++i) {
+            final int node = ((Integer) indexes.get(i)).intValue();
+            assertEquals(expected.getNodeType(node, false), actual.getNodeType(node, false));
+            assertEquals(expected.getNodeName(node, false), actual.getNodeName(node, false));
+            // the value of the node alone, without adjacent text
+            final String value = expected.getNodeValue(node, false);
+            final int length = actual.getNodeValueLength(node);
+            if (value == null) {
+                assertEquals(-1, length);
+                continue;
+            }
+            assertEquals(value.length(), length);
+            final char[] chars = new char[length + 2];
+            assertEquals(length, actual.getNodeValueChars(node, chars, 1));
+            assertEquals(value, new String(chars, 1, length));
+            assertEquals(value, actual.getNodeValue(node, false));
+        }
+    }
+
+    /** Collects a description of every node and attribute value of the document. */
+    private static void collect(Node node, List values) {
+        values.add(node.getNodeType() + " " + node.getNodeName() + " " + node.getNodeValue());
+        final NamedNodeMap attributes = node.getAttributes();
+        if (attributes != null) {
+            for (int i = 0; i < attributes.getLength(); ++i) {
+                collect(attributes.item(i), values);
+            }
+        }
+        for (Node child = node.getFirstChild(); child != null; child = child.getNextSibling()) {
+            collect(child, values);
+        }
+    }
+
+}
@@ -0,0 +1,306 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dom.ids;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import junit.framework.TestCase;
+
+import org.apache.xerces.dom.DocumentImpl;
+import org.apache.xerces.parsers.DOMParser;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.xml.sax.InputSource;
+
+/**
+ * Checks <code>getElementById</code> and the document's identifier
+ * table as identifiers are added and removed, through the DOM and
+ * through the table's own views, and across serialization.
+ *
+ * @version $Id$
+ */
+public class IdentifierTableTest extends TestCase {
+
+    private static final int COUNT = 500;
+
+    private Random fRandom;
+
+    public IdentifierTableTest(String name) {
+        super(name);
+    }
+
+    protected void setUp() throws Exception {
+        fRandom = new Random(19);
+    }
+
+    public void testAddAndRemove() {
+        Document doc = new DocumentImpl();
+        Element root = doc.createElement("root");
+        doc.appendChild(root);
+        Map expected = new HashMap();
+        List elements = new ArrayList();
+        for (int i = 0; i < COUNT; ++i) {
+            Element e = doc.createElement("e");
+            e.setAttribute("id", "id" + i);
+            e.setIdAttribute("id", true);
+            root.appendChild(e);
+            elements.add(e);
+            expected.put("id" + i, e);
+        }
+        assertIds(doc, expected);
+
+        // remove through the attributes and the id flags
+        for (int i = 0; i < COUNT; i += 3) {
+            Element e = (Element) elements.get(i);
+            if ((i & 1) == 0) {
+                e.removeAttribute("id");
+            }
+            else {
+                e.setIdAttribute("id", false);
+            }
+            expected.remove("id" + i);
+        }
+        assertIds(doc, expected);
+
+        // an identifier may be given to another element
+        for (int i = 0; i < COUNT; i += 3) {
+            Element e = (Element) elements.get(i + 1 < COUNT ? i + 1 : i);
+            e.setAttribute("name", "id" + i);
+            e.setIdAttribute("name", true);
+            expected.put("id" + i, e);
+        }
+        assertIds(doc, expected);
+
+        // elements out of the tree are not found
+        Element detached = (Element) elements.get(COUNT - 1);
+        root.removeChild(detached);
+        assertNull(doc.getElementById("id" + (COUNT - 1)));
+        root.appendChild(detached);
+        assertSame(detached, doc.getElementById("id" + (COUNT - 1)));
+    }
+
+    public void testRandomOperations() {
+        TableDocument doc = new TableDocument();
+        Map expected = new HashMap();
+        Element seed = doc.createElement("e");
+        doc.putIdentifier("seed", seed);
+        expected.put("seed", seed);
+        for (int i = 0; i < 20000; ++i) {
+            String name = "n" + fRandom.nextInt(700);
+            int op = fRandom.nextInt(4);
+            if (op < 2) {
+                Element e = doc.createElement("e");
+                doc.putIdentifier(name, e);
+                expected.put(name, e);
+            }
+            else if (op == 2) {
+                doc.removeIdentifier(name);
+                expected.remove(name);
+            }
+            else {
+                assertSame(name, expected.get(name), doc.getTable().get(name));
+            }
+        }
+        assertEquals(expected, doc.getTable());
+    }
+
+    public void testIteratorRemove() {
+        for (int view = 0; view < 3; ++view) {
+            TableDocument doc = new TableDocument();
+            Map expected = new HashMap();
+            for (int i = 0; i < COUNT; ++i) {
+                Element e = doc.createElement("e");
+                doc.putIdentifier("id" + i, e);
+                expected.put("id" + i, e);
+            }
+            Map table = doc.getTable();
+            Iterator it = view == 0 ? table.keySet().iterator()
+                    : view == 1 ? table.values().iterator()
+                    : table.entrySet().iterator();
+            try {
+                it.remove();
+                fail("remove before next");
+            }
+            catch (IllegalStateException e) {
+                // expected
+            }
+            int seen = 0;
+            while (it.hasNext()) {
+                Object o = it.next();
+                ++seen;
+                String name = view == 0 ? (String) o
+                        : view == 1 ? findName(expected, o)
+                        : (String) ((Map.Entry) o).getKey();
+                if (fRandom.nextBoolean()) {
+                    it.remove();
+                    expected.remove(name);
+                    try {
+                        it.remove();
+                        fail("remove twice");
+                    }
+                    catch (IllegalStateException e) {
+                        // expected
+                    }
+                }
+                // every remaining identifier is still reachable
+                if (seen % 50 == 0) {
+                    assertEquals(expected, table);
+                }
+            }
+            // each entry is visited exactly once even when removals
+            // move later entries back
+            assertEquals(COUNT, seen);
+            assertEquals(expected, table);
+            for (Iterator i = expected.entrySet().iterator(); i.hasNext();) {
+                Map.Entry entry = (Map.Entry) i.next();
+                assertSame(entry.getValue(), table.get(entry.getKey()));
+            }
+        }
+    }
+
+    public void testBulkRemoval() {
+        TableDocument doc = new TableDocument();
+        Map expected = new HashMap();
+        for (int i = 0; i < COUNT; ++i) {
+            Element e = doc.createElement("e");
+            doc.putIdentifier("id" + i, e);
+            expected.put("id" + i, e);
+        }
+        List odd = new ArrayList();
+        for (int i = 1; i < COUNT; i += 2) {
+            odd.add("id" + i);
+        }
+        doc.getTable().keySet().removeAll(odd);
+        expected.keySet().removeAll(odd);
+        assertEquals(expected, doc.getTable());
+        doc.getTable().keySet().retainAll(odd.subList(0, 10));
+        assertTrue(doc.getTable().isEmpty());
+        doc.putIdentifier("again", doc.createElement("e"));
+        assertEquals(1, doc.getTable().size());
+    }
+
+    public void testSerialization() throws Exception {
+        DocumentImpl doc = new DocumentImpl();
+        Element root = doc.createElement("root");
+        doc.appendChild(root);
+        for (int i = 0; i < COUNT; ++i) {
+            Element e = doc.createElement("e");
+            e.setAttribute("id", "id" + i);
+            e.setIdAttribute("id", true);
+            root.appendChild(e);
+        }
+        DocumentImpl copy = (DocumentImpl) roundTrip(doc);
+        for (int i = 0; i < COUNT; ++i) {
+            Element e = copy.getElementById("id" + i);
+            assertNotNull("id" + i, e);
+            assertEquals("id" + i, e.getAttribute("id"));
+        }
+        // the restored table accepts changes
+        Element first = copy.getElementById("id0");
+        first.removeAttribute("id");
+        assertNull(copy.getElementById("id0"));
+        first.setAttribute("id", "fresh");
+        first.setIdAttribute("id", true);
+        assertSame(first, copy.getElementById("fresh"));
+        assertNotNull(copy.getElementById("id1"));
+    }
+
+    public void testParsedDocument() throws Exception {
+        StringBuffer buffer = new StringBuffer();
+        buffer.append("<!DOCTYPE root [<!ELEMENT root (e*)><!ELEMENT e EMPTY>");
+        buffer.append("<!ATTLIST e id ID #REQUIRED>]><root>");
+        for (int i = 0; i < COUNT; ++i) {
+            buffer.append("<e id='id").append(i).append("'/>");
+        }
+        buffer.append("</root>");
+        for (int deferred = 0; deferred < 2; ++deferred) {
+            DOMParser parser = new DOMParser();
+            parser.setFeature("http://apache.org/xml/features/dom/defer-node-expansion",
+                    deferred == 1);
+            parser.parse(new InputSource(new StringReader(buffer.toString())));
+            Document doc = parser.getDocument();
+            for (int i = 0; i < COUNT; ++i) {
+                Element e = doc.getElementById("id" + i);
+                assertNotNull("id" + i, e);
+                assertEquals("id" + i, e.getAttribute("id"));
+            }
+            assertNull(doc.getElementById("id" + COUNT));
+            Element e = doc.getElementById("id7");
+            e.getParentNode().removeChild(e);
+            assertNull(doc.getElementById("id7"));
+            doc = roundTrip(doc);
+            assertNotNull(doc.getElementById("id8"));
+            assertNull(doc.getElementById("id7"));
+        }
+    }
+
+    //
+    // Private methods
+    //
+
+    private static void assertIds(Document doc, Map expected) {
+        for (int i = 0; i < COUNT; ++i) {
+            assertSame("id" + i, expected.get("id" + i), doc.getElementById("id" + i));
+        }
+    }
+
+    private static String findName(Map map, Object value) {
+        for (Iterator i = map.entrySet().iterator(); i.hasNext();) {
+            Map.Entry entry = (Map.Entry) i.next();
+            if (entry.getValue() == value) {
+                return (String) entry.getKey();
+            }
+        }
+        fail("unknown value");
+        return null;
+    }
+
+    private static Document roundTrip(Document doc) throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ObjectOutputStream out = new ObjectOutputStream(bytes);
+        out.writeObject(doc);
+        out.close();
+        ObjectInputStream in = new ObjectInputStream(
+                new ByteArrayInputStream(bytes.toByteArray()));
+        try {
+            return (Document) in.readObject();
+        }
+        finally {
+            in.close();
+        }
+    }
+
+    /** Exposes the identifier table. */
+    private static final class TableDocument extends DocumentImpl {
+        private static final long serialVersionUID = 1L;
+        Map getTable() {
+            return identifiers;
+        }
+    }
+
+}
@@ -0,0 +1,386 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dom.index;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import junit.framework.TestCase;
+
+import org.apache.xerces.dom.CoreDocumentImpl;
+import org.apache.xerces.dom.DocumentImpl;
+import org.apache.xerces.parsers.DOMParser;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+import org.xml.sax.InputSource;
+
+/**
+ * Checks that the lists returned by <code>getElementsByTagName</code>
+ * and <code>getElementsByTagNameNS</code> when elements are indexed by
+ * name match a walk of the tree while the document is modified.
+ *
+ * @version $Id$
+ */
+public class ElementNameIndexTest extends TestCase {
+
+    private static final String NS1 = "urn:one";
+    private static final String NS2 = "urn:two";
+
+    private static final String[] NAMES = { "a", "b", "c", "p:a", "q:b" };
+
+    private static final String DOCUMENT =
+        "<!DOCTYPE root [<!ENTITY ent '<a>e</a><b><c/></b>'>]>" +
+        "<root xmlns:p='" + NS1 + "' xmlns:q='" + NS2 + "'>" +
+        "<a><b/><c><a/></c></a>text<p:a><q:b/></p:a>&ent;<b><a/></b>" +
+        "</root>";
+
+    private Random fRandom;
+
+    public ElementNameIndexTest(String name) {
+        super(name);
+    }
+
+    protected void setUp() {
+        fRandom = new Random(17);
+    }
+
+    public void testParsed() throws Exception {
+        final DOMParser parser = new DOMParser();
+        parser.setFeature("http://apache.org/xml/features/dom/index-element-names", true);
+        parser.parse(new InputSource(new StringReader(DOCUMENT)));
+        final Document doc = parser.getDocument();
+        assertTrue(((CoreDocumentImpl) doc).isElementNameIndexEnabled());
+        checkAll(doc);
+    }
+
+    public void testInsertBefore() throws Exception {
+        final Document doc = createDocument();
+        final List lists = liveLists(doc);
+        for (int i = 0; i < 200; ++i) {
+            final Node parent = randomParent(doc);
+            final Node ref = randomChild(parent);
+            parent.insertBefore(createSubtree(doc, fRandom.nextInt(3)), ref);
+            checkAll(doc);
+            checkLiveLists(lists);
+        }
+    }
+
+    public void testInsertAtOnePlace() throws Exception {
+        final Document doc = createDocument();
+        final Element root = doc.getDocumentElement();
+        final Node ref = root.getFirstChild().getNextSibling();
+        // each insertion halves the room between two labels
+        for (int i = 0; i < 100; ++i) {
+            root.insertBefore(doc.createElement(NAMES[i % 3]), ref);
+            if (i % 10 == 0) {
+                checkAll(doc);
+            }
+        }
+        checkAll(doc);
+    }
+
+    public void testRemoveChild() throws Exception {
+        final Document doc = createDocument();
+        final List lists = liveLists(doc);
+        for (int i = 0; i < 100; ++i) {
+            final Node parent = randomParent(doc);
+            final Node child = randomChild(parent);
+            if (child != null) {
+                parent.removeChild(child);
+            }
+            if (i % 3 == 0) {
+                parent.appendChild(createSubtree(doc, 2));
+            }
+            checkAll(doc);
+            checkLiveLists(lists);
+        }
+    }
+
+    public void testMoveDetachedSubtree() throws Exception {
+        final Document doc = createDocument();
+        final Element root = doc.getDocumentElement();
+        final Node subtree = root.getFirstChild();
+        root.removeChild(subtree);
+        // changes to a detached subtree are not indexed
+        ((Element) subtree).appendChild(doc.createElement("c"));
+        assertEquals(0, ((Element) subtree).getElementsByTagName("x").getLength());
+        checkAll(doc);
+        root.appendChild(subtree);
+        checkAll(doc);
+        checkList(((Element) subtree).getElementsByTagName("c"), walk(subtree, "c"));
+    }
+
+    public void testRenameNode() throws Exception {
+        final Document doc = createDocument();
+        final List lists = liveLists(doc);
+        for (int i = 0; i < 100; ++i) {
+            final Element el = randomElement(doc);
+            if (el == doc.getDocumentElement()) {
+                continue;
+            }
+            switch (i % 3) {
+                case 0:
+                    // renamed in place
+                    doc.renameNode(el, el.getNamespaceURI(),
+                            el.getPrefix() != null ? el.getPrefix() + ":" + NAMES[i % 3] : NAMES[i % 3]);
+                    break;
+                case 1:
+                    doc.renameNode(el, NS2, "q:" + NAMES[i % 3]);
+                    break;
+                default:
+                    doc.renameNode(el, null, NAMES[(i / 3) % 3]);
+            }
+            checkAll(doc);
+            checkLiveLists(lists);
+        }
+    }
+
+    public void testSetPrefix() throws Exception {
+        final Document doc = createDocument();
+        final List lists = liveLists(doc);
+        final Element root = doc.getDocumentElement();
+        for (int i = 0; i < 20; ++i) {
+            final Element el = doc.createElementNS(NS1, "p:a");
+            root.insertBefore(el, randomChild(root));
+        }
+        final NodeList elements = doc.getElementsByTagNameNS(NS1, "a");
+        for (int i = 0; i < elements.getLength(); ++i) {
+            final Element el = (Element) elements.item(i);
+            el.setPrefix(i % 2 == 0 ? "r" : null);
+            checkAll(doc);
+            checkLiveLists(lists);
+        }
+    }
+
+    public void testNameQueriedBeforeInsertion() throws Exception {
+        final Document doc = createDocument();
+        final NodeList byName = doc.getElementsByTagName("new");
+        final NodeList byNS = doc.getElementsByTagNameNS(NS1, "new");
+        final NodeList below = doc.getDocumentElement().getElementsByTagName("new");
+        assertEquals(0, byName.getLength());
+        assertEquals(0, byNS.getLength());
+        assertEquals(0, below.getLength());
+        doc.getDocumentElement().appendChild(doc.createElement("new"));
+        doc.getDocumentElement().getFirstChild().appendChild(doc.createElementNS(NS1, "p:new"));
+        assertEquals(1, byName.getLength());
+        assertEquals(1, byNS.getLength());
+        assertEquals(1, below.getLength());
+        checkList(byName, walk(doc, "new"));
+    }
+
+    public void testEntityReferences() throws Exception {
+        final DOMParser parser = new DOMParser();
+        parser.parse(new InputSource(new StringReader(DOCUMENT)));
+        final CoreDocumentImpl doc = (CoreDocumentImpl) parser.getDocument();
+        doc.setElementNameIndexEnabled(true);
+        final Element root = doc.getDocumentElement();
+        checkAll(doc);
+        // the children of a new reference are created while indexing it
+        root.insertBefore(doc.createEntityReference("ent"), root.getFirstChild());
+        checkAll(doc);
+        root.appendChild(doc.createEntityReference("ent"));
+        checkAll(doc);
+        root.removeChild(root.getFirstChild());
+        checkAll(doc);
+    }
+
+    public void testDisabled() throws Exception {
+        final Document doc = createDocument();
+        final NodeList list = doc.getElementsByTagName("a");
+        ((CoreDocumentImpl) doc).setElementNameIndexEnabled(false);
+        doc.getDocumentElement().appendChild(doc.createElement("a"));
+        checkList(list, walk(doc, "a"));
+        ((CoreDocumentImpl) doc).setElementNameIndexEnabled(true);
+        checkAll(doc);
+    }
+
+    private Document createDocument() {
+        final DocumentImpl doc = new DocumentImpl();
+        doc.setElementNameIndexEnabled(true);
+        final Element root = doc.createElementNS(null, "root");
+        doc.appendChild(root);
+        for (int i = 0; i < 6; ++i) {
+            root.appendChild(createSubtree(doc, 2));
+            root.appendChild(doc.createTextNode("text"));
+        }
+        // the index is built on first use
+        doc.getElementsByTagName("a").getLength();
+        return doc;
+    }
+
+    private Node createSubtree(Document doc, int depth) {
+        final String name = NAMES[fRandom.nextInt(NAMES.length)];
+        final Element el;
+        if (name.startsWith("p:")) {
+            el = doc.createElementNS(NS1, name);
+        }
+        else if (name.startsWith("q:")) {
+            el = doc.createElementNS(NS2, name);
+        }
+        else if (fRandom.nextBoolean()) {
+            el = doc.createElementNS(null, name);
+        }
+        else {
+            el = doc.createElement(name);
+        }
+        if (depth > 0) {
+            final int count = fRandom.nextInt(3);
+            for (int i = 0; i < count; ++i) {
+                el.appendChild(createSubtree(doc, depth - 1));
+            }
+        }
+        return el;
+    }
+
+    private Node randomParent(Document doc) {
+        final List elements = new ArrayList();
+        collect(doc.getDocumentElement(), elements);
+        return (Node) elements.get(fRandom.nextInt(elements.size()));
+    }
+
+    private Element randomElement(Document doc) {
+        return (Element) randomParent(doc);
+    }
+
+    private Node randomChild(Node parent) {
+        final NodeList children = parent.getChildNodes();
+        final int index = fRandom.nextInt(children.getLength() + 1);
+        return children.item(index);
+    }
+
+    /** Collects the element and its descendant elements outside of entity references. */
+    private static void collect(Node node, List elements) {
+        if (node.getNodeType() == Node.ELEMENT_NODE) {
+            elements.add(node);
+        }
+        if (node.getNodeType() != Node.ENTITY_REFERENCE_NODE) {
+            for (Node child = node.getFirstChild(); child != null; child = child.getNextSibling()) {
+                collect(child, elements);
+            }
+        }
+    }
+
+    /** Lists created before the changes, which must follow them. */
+    private static List liveLists(Document doc) {
+        final List lists = new ArrayList();
+        lists.add(doc.getElementsByTagName("a"));
+        lists.add(doc.getElementsByTagName("*"));
+        lists.add(doc.getElementsByTagNameNS(NS1, "a"));
+        lists.add(doc.getElementsByTagNameNS(null, "b"));
+        lists.add(doc.getElementsByTagNameNS("*", "*"));
+        return lists;
+    }
+
+    private static void checkLiveLists(List lists) {
+        final Document doc = ((Node) ((NodeList) lists.get(1)).item(0)).getOwnerDocument();
+        checkList((NodeList) lists.get(0), walk(doc, "a"));
+        checkList((NodeList) lists.get(1), walk(doc, "*"));
+        checkList((NodeList) lists.get(2), walkNS(doc, NS1, "a"));
+        checkList((NodeList) lists.get(3), walkNS(doc, null, "b"));
+        checkList((NodeList) lists.get(4), walkNS(doc, "*", "*"));
+    }
+
+    /** Compares the indexed lists of the document and of all its elements with a walk. */
+    private static void checkAll(Document doc) {
+        final List roots = new ArrayList();
+        roots.add(doc);
+        final List elements = new ArrayList();
+        collect(doc.getDocumentElement(), elements);
+        roots.addAll(elements);
+        for (int i = 0; i < roots.size(); ++i) {
+            final Node root = (Node) roots.get(i);
+            final String[] names = { "a", "b", "c", "p:a", "q:b", "q:a", "*", "none" };
+            for (int j = 0; j < names.length; ++j) {
+                checkList(getElementsByTagName(root, names[j]), walk(root, names[j]));
+            }
+            final String[][] nsNames = {
+                { null, "a" }, { null, "b" }, { NS1, "a" }, { NS2, "b" },
+                { NS2, "a" }, { "*", "*" }, { NS1, "none" },
+            };
+            for (int j = 0; j < nsNames.length; ++j) {
+                checkList(getElementsByTagNameNS(root, nsNames[j][0], nsNames[j][1]),
+                        walkNS(root, nsNames[j][0], nsNames[j][1]));
+            }
+        }
+    }
+
+    private static NodeList getElementsByTagName(Node root, String name) {
+        return root.getNodeType() == Node.DOCUMENT_NODE
+            ? ((Document) root).getElementsByTagName(name)
+            : ((Element) root).getElementsByTagName(name);
+    }
+
+    private static NodeList getElementsByTagNameNS(Node root, String namespaceURI, String localName) {
+        return root.getNodeType() == Node.DOCUMENT_NODE
+            ? ((Document) root).getElementsByTagNameNS(namespaceURI, localName)
+            : ((Element) root).getElementsByTagNameNS(namespaceURI, localName);
+    }
+
+    private static List walk(Node root, String name) {
+        final List result = new ArrayList();
+        for (Node child = root.getFirstChild(); child != null; child = child.getNextSibling()) {
+            walk(child, name, null, false, result);
+        }
+        return result;
+    }
+
+    private static List walkNS(Node root, String namespaceURI, String localName) {
+        final List result = new ArrayList();
+        for (Node child = root.getFirstChild(); child != null; child = child.getNextSibling()) {
+            walk(child, localName, namespaceURI, true, result);
+        }
+        return result;
+    }
+
+    private static void walk(Node node, String name, String namespaceURI, boolean ns, List result) {
+        if (node.getNodeType() == Node.ELEMENT_NODE) {
+            final boolean matches;
+            if (!ns) {
+                matches = name.equals("*") || name.equals(node.getNodeName());
+            }
+            else {
+                // a wildcard local name also matches DOM Level 1 elements
+                matches = (name.equals("*") || name.equals(node.getLocalName())) &&
+                    ("*".equals(namespaceURI) || equals(namespaceURI, node.getNamespaceURI()));
+            }
+            if (matches) {
+                result.add(node);
+            }
+        }
+        for (Node child = node.getFirstChild(); child != null; child = child.getNextSibling()) {
+            walk(child, name, namespaceURI, ns, result);
+        }
+    }
+
+    private static boolean equals(String s1, String s2) {
+        return s1 == null ? s2 == null : s1.equals(s2);
+    }
+
+    private static void checkList(NodeList list, List expected) {
+        assertEquals(expected.size(), list.getLength());
+        for (int i = 0; i < expected.size(); ++i) {
+            assertSame(expected.get(i), list.item(i));
+        }
+        assertNull(list.item(expected.size()));
+    }
+
+}
@@ -0,0 +1,439 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dom.range;
+
+import java.lang.ref.Reference;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import junit.framework.TestCase;
+
+import org.apache.xerces.dom.DocumentImpl;
+import org.w3c.dom.DOMException;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.Text;
+import org.w3c.dom.ranges.Range;
+
+/**
+ * Checks that ranges, which the document notifies of mutations through
+ * an index of their boundary containers, follow text and node changes
+ * and stay indexed under exactly their current containers.
+ *
+ * @version $Id$
+ */
+public class RangeIndexTest extends TestCase {
+
+    private DocumentImpl fDocument;
+    private Element fRoot;
+
+    public RangeIndexTest(String name) {
+        super(name);
+    }
+
+    protected void setUp() throws Exception {
+        fDocument = new DocumentImpl();
+        fRoot = fDocument.createElement("root");
+        fDocument.appendChild(fRoot);
+    }
+
+    public void testTextChanges() throws Exception {
+        Text text = fDocument.createTextNode("0123456789");
+        fRoot.appendChild(text);
+        Range inside = range(text, 2, text, 8);
+        Range collapsed = range(text, 5, text, 5);
+        Range startIn = range(text, 3, fRoot, 1);
+        Range endIn = range(fRoot, 0, text, 7);
+
+        text.insertData(4, "ab");
+        assertBoundaries(inside, text, 2, text, 10);
+        assertBoundaries(collapsed, text, 7, text, 7);
+        assertBoundaries(startIn, text, 3, fRoot, 1);
+        assertBoundaries(endIn, fRoot, 0, text, 9);
+
+        text.deleteData(1, 5);
+        assertBoundaries(inside, text, 1, text, 5);
+        assertBoundaries(collapsed, text, 2, text, 2);
+        assertBoundaries(startIn, text, 1, fRoot, 1);
+        assertBoundaries(endIn, fRoot, 0, text, 4);
+
+        // replacing is a deletion followed by an insertion
+        text.replaceData(0, 2, "xyz");
+        assertEquals("xyz56789", text.getData());
+        assertBoundaries(inside, text, 0, text, 6);
+
+        text.setData("new");
+        assertBoundaries(inside, text, 0, text, 0);
+        assertBoundaries(startIn, text, 0, fRoot, 1);
+        assertBoundaries(endIn, fRoot, 0, text, 0);
+        assertIndex();
+    }
+
+    public void testSplitText() throws Exception {
+        Text text = fDocument.createTextNode("0123456789");
+        fRoot.appendChild(text);
+        Range before = range(text, 1, text, 3);
+        Range across = range(text, 2, text, 8);
+        Range after = range(text, 6, text, 9);
+
+        // a range inserting a node splits the text and moves the other
+        // ranges' boundaries past the split into the new node
+        Range splitter = range(text, 5, text, 5);
+        splitter.insertNode(fDocument.createElement("inserted"));
+        Text tail = (Text) fRoot.getLastChild();
+        assertEquals("56789", tail.getData());
+        assertBoundaries(before, text, 1, text, 3);
+        assertBoundaries(across, text, 2, tail, 3);
+        assertBoundaries(after, tail, 1, tail, 4);
+        assertBoundaries(splitter, text, 5, tail, 0);
+        assertIndex();
+
+        // the ranges which moved to the new node follow its changes
+        tail.insertData(0, "ab");
+        assertBoundaries(across, text, 2, tail, 5);
+        assertBoundaries(after, tail, 3, tail, 6);
+        text.insertData(0, "c");
+        assertBoundaries(before, text, 2, text, 4);
+        assertBoundaries(across, text, 3, tail, 5);
+        assertBoundaries(after, tail, 3, tail, 6);
+
+        // Text.splitText replaces the data of the node it splits
+        Text rest = tail.splitText(4);
+        assertEquals("ab56", tail.getData());
+        assertEquals("789", rest.getData());
+        assertBoundaries(across, text, 3, tail, 0);
+        assertBoundaries(after, tail, 0, tail, 0);
+        assertIndex();
+    }
+
+    public void testNormalize() throws Exception {
+        Text first = fDocument.createTextNode("abc");
+        Text second = fDocument.createTextNode("def");
+        Element child = fDocument.createElement("child");
+        Text third = fDocument.createTextNode("ghi");
+        fRoot.appendChild(first);
+        fRoot.appendChild(second);
+        fRoot.appendChild(child);
+        child.appendChild(third);
+        child.appendChild(fDocument.createTextNode(""));
+        Range inFirst = range(first, 1, first, 3);
+        Range inSecond = range(second, 1, second, 2);
+        Range spanning = range(first, 2, third, 1);
+        Range inParent = range(fRoot, 1, fRoot, 3);
+
+        fRoot.normalize();
+        assertEquals(2, fRoot.getChildNodes().getLength());
+        assertEquals(1, child.getChildNodes().getLength());
+        // the merged text is replaced and the removed node leaves its
+        // boundaries in the parent
+        assertBoundaries(inFirst, first, 0, first, 0);
+        assertBoundaries(inSecond, fRoot, 1, fRoot, 1);
+        assertBoundaries(spanning, first, 0, third, 0);
+        assertBoundaries(inParent, fRoot, 1, fRoot, 2);
+        assertIndex();
+
+        spanning.setEnd(third, 2);
+        third.insertData(1, "x");
+        assertBoundaries(spanning, first, 0, third, 3);
+        fRoot.insertBefore(fDocument.createElement("e"), first);
+        assertBoundaries(inSecond, fRoot, 2, fRoot, 2);
+        assertBoundaries(inParent, fRoot, 2, fRoot, 3);
+        assertIndex();
+    }
+
+    public void testSharedContainer() throws Exception {
+        Text text = fDocument.createTextNode("0123456789");
+        fRoot.appendChild(text);
+        Range range = range(text, 2, text, 6);
+        assertEquals(1, indexedRanges(text));
+
+        text.insertData(0, "ab");
+        assertBoundaries(range, text, 4, text, 8);
+        text.deleteData(5, 2);
+        assertBoundaries(range, text, 4, text, 6);
+
+        // moving one boundary keeps the range listed under the other
+        range.setEnd(fRoot, 1);
+        assertEquals(1, indexedRanges(text));
+        assertEquals(1, indexedRanges(fRoot));
+        text.insertData(0, "c");
+        assertBoundaries(range, text, 5, fRoot, 1);
+        range.collapse(false);
+        assertEquals(0, indexedRanges(text));
+        text.insertData(0, "d");
+        assertBoundaries(range, fRoot, 1, fRoot, 1);
+
+        // both boundaries in the same element
+        for (int i = 0; i < 4; ++i) {
+            fRoot.appendChild(fDocument.createElement("e" + i));
+        }
+        range.setStart(fRoot, 2);
+        range.setEnd(fRoot, 4);
+        assertEquals(1, indexedRanges(fRoot));
+        fRoot.insertBefore(fDocument.createElement("x"), fRoot.getFirstChild());
+        assertBoundaries(range, fRoot, 3, fRoot, 5);
+        fRoot.removeChild(fRoot.getLastChild());
+        assertBoundaries(range, fRoot, 3, fRoot, 5);
+        fRoot.removeChild(fRoot.getFirstChild());
+        assertBoundaries(range, fRoot, 2, fRoot, 4);
+        assertIndex();
+    }
+
+    public void testRemoveContainer() throws Exception {
+        Element outer = fDocument.createElement("outer");
+        Element inner = fDocument.createElement("inner");
+        Text text = fDocument.createTextNode("0123456789");
+        fRoot.appendChild(fDocument.createElement("first"));
+        fRoot.appendChild(outer);
+        outer.appendChild(fDocument.createElement("before"));
+        outer.appendChild(inner);
+        inner.appendChild(text);
+        Range deep = range(text, 2, text, 5);
+        Range mixed = range(outer, 0, text, 4);
+        Range outside = range(fRoot, 0, fRoot, 2);
+
+        // removing the container of both boundaries
+        outer.removeChild(inner);
+        assertBoundaries(deep, outer, 1, outer, 1);
+        assertBoundaries(mixed, outer, 0, outer, 1);
+        assertBoundaries(outside, fRoot, 0, fRoot, 2);
+        assertIndex();
+        text.insertData(0, "ab");
+        assertBoundaries(deep, outer, 1, outer, 1);
+
+        // removing an ancestor of the containers
+        fRoot.removeChild(outer);
+        assertBoundaries(deep, fRoot, 1, fRoot, 1);
+        assertBoundaries(mixed, fRoot, 1, fRoot, 1);
+        assertBoundaries(outside, fRoot, 0, fRoot, 1);
+        assertIndex();
+        fRoot.insertBefore(fDocument.createElement("new"), fRoot.getFirstChild());
+        assertBoundaries(deep, fRoot, 2, fRoot, 2);
+        assertBoundaries(outside, fRoot, 0, fRoot, 2);
+
+        // removing a text container directly
+        Text other = fDocument.createTextNode("abc");
+        fRoot.appendChild(other);
+        Range inText = range(other, 1, other, 2);
+        fRoot.removeChild(other);
+        assertBoundaries(inText, fRoot, 2, fRoot, 2);
+        assertIndex();
+    }
+
+    public void testRemoveLargeSubtree() throws Exception {
+        // a subtree with more nodes than indexed containers, which is
+        // searched through the index rather than walked
+        Element big = fDocument.createElement("big");
+        fRoot.appendChild(big);
+        Element parent = big;
+        for (int i = 0; i < 200; ++i) {
+            Element e = fDocument.createElement("e");
+            parent.appendChild(e);
+            parent.appendChild(fDocument.createTextNode("t" + i));
+            if (i % 10 == 0) {
+                parent = e;
+            }
+        }
+        Text leaf = fDocument.createTextNode("leaf");
+        parent.appendChild(leaf);
+        Range range = range(leaf, 1, leaf, 3);
+        fRoot.removeChild(big);
+        assertBoundaries(range, fRoot, 0, fRoot, 0);
+        assertIndex();
+    }
+
+    public void testDetach() throws Exception {
+        Text text = fDocument.createTextNode("0123456789");
+        fRoot.appendChild(text);
+        Range kept = range(text, 1, text, 2);
+        List detached = new ArrayList();
+        for (int i = 0; i < 20; ++i) {
+            detached.add(range(text, i % 10, fRoot, 1));
+        }
+        assertEquals(21, indexedRanges(text));
+        for (int i = 0; i < detached.size(); ++i) {
+            ((Range) detached.get(i)).detach();
+        }
+        assertEquals(1, indexedRanges(text));
+        assertEquals(0, indexedRanges(fRoot));
+        try {
+            ((Range) detached.get(0)).getStartOffset();
+            fail("detached range");
+        }
+        catch (DOMException e) {
+            assertEquals(DOMException.INVALID_STATE_ERR, e.code);
+        }
+        text.deleteData(0, 5);
+        fRoot.removeChild(text);
+        assertBoundaries(kept, fRoot, 0, fRoot, 0);
+        kept.detach();
+        assertTrue(rangeIndex().isEmpty());
+    }
+
+    public void testRandomMutations() throws Exception {
+        Random random = new Random(20);
+        List nodes = new ArrayList();
+        nodes.add(fRoot);
+        List ranges = new ArrayList();
+        for (int step = 0; step < 2000; ++step) {
+            Node node = (Node) nodes.get(random.nextInt(nodes.size()));
+            int op = random.nextInt(8);
+            if (op == 0 && node.getNodeType() == Node.ELEMENT_NODE) {
+                Node child = random.nextBoolean()
+                        ? (Node) fDocument.createElement("e")
+                        : fDocument.createTextNode("text" + step);
+                Node ref = node.getChildNodes().item(
+                        random.nextInt(node.getChildNodes().getLength() + 1));
+                node.insertBefore(child, ref);
+                nodes.add(child);
+            }
+            else if (op == 1 && node != fRoot && node.getParentNode() != null) {
+                node.getParentNode().removeChild(node);
+                removeSubtree(nodes, node);
+            }
+            else if (op == 2 && node.getNodeType() == Node.TEXT_NODE) {
+                Text text = (Text) node;
+                int length = text.getLength();
+                if (length > 1) {
+                    nodes.add(text.splitText(random.nextInt(length)));
+                }
+            }
+            else if (op == 3 && node.getNodeType() == Node.TEXT_NODE) {
+                Text text = (Text) node;
+                int offset = random.nextInt(text.getLength() + 1);
+                if (random.nextBoolean()) {
+                    text.insertData(offset, "ins");
+                }
+                else {
+                    text.deleteData(offset, random.nextInt(4));
+                }
+            }
+            else if (op == 4 && node.getNodeType() == Node.ELEMENT_NODE) {
+                node.normalize();
+                for (Iterator i = nodes.iterator(); i.hasNext();) {
+                    Node n = (Node) i.next();
+                    if (n != fRoot && n.getParentNode() == null) {
+                        i.remove();
+                    }
+                }
+            }
+            else if (op == 5) {
+                Node other = (Node) nodes.get(random.nextInt(nodes.size()));
+                Range range = fDocument.createRange();
+                range.setStart(node, random.nextInt(length(node) + 1));
+                try {
+                    range.setEnd(other, random.nextInt(length(other) + 1));
+                }
+                catch (DOMException e) {
+                    // the end is before the start; the range collapses
+                }
+                ranges.add(range);
+            }
+            else if (op == 6 && !ranges.isEmpty()) {
+                ((Range) ranges.remove(random.nextInt(ranges.size()))).detach();
+            }
+            for (int i = 0; i < ranges.size(); ++i) {
+                Range range = (Range) ranges.get(i);
+                assertTrue(range.getStartOffset() <= length(range.getStartContainer()));
+                assertTrue(range.getEndOffset() <= length(range.getEndContainer()));
+            }
+            assertIndex();
+        }
+    }
+
+    //
+    // Private methods
+    //
+
+    private Range range(Node start, int startOffset, Node end, int endOffset) {
+        Range range = fDocument.createRange();
+        range.setStart(start, startOffset);
+        range.setEnd(end, endOffset);
+        return range;
+    }
+
+    private static void assertBoundaries(Range range, Node start, int startOffset,
+            Node end, int endOffset) {
+        assertSame(start, range.getStartContainer());
+        assertEquals(startOffset, range.getStartOffset());
+        assertSame(end, range.getEndContainer());
+        assertEquals(endOffset, range.getEndOffset());
+    }
+
+    private static int length(Node node) {
+        if (node.getNodeType() == Node.TEXT_NODE) {
+            return ((Text) node).getLength();
+        }
+        return node.getChildNodes().getLength();
+    }
+
+    private static void removeSubtree(List nodes, Node root) {
+        for (Iterator i = nodes.iterator(); i.hasNext();) {
+            for (Node n = (Node) i.next(); n != null; n = n.getParentNode()) {
+                if (n == root) {
+                    i.remove();
+                    break;
+                }
+            }
+        }
+    }
+
+    /** Returns the document's index of ranges by boundary container. */
+    private Map rangeIndex() throws Exception {
+        Field field = DocumentImpl.class.getDeclaredField("fRangeIndex");
+        field.setAccessible(true);
+        Map index = (Map) field.get(fDocument);
+        return index != null ? index : Collections.EMPTY_MAP;
+    }
+
+    private int indexedRanges(Node container) throws Exception {
+        List bucket = (List) rangeIndex().get(container);
+        return bucket != null ? bucket.size() : 0;
+    }
+
+    /**
+     * Checks that every range in the index is listed exactly under its
+     * start and end containers.
+     */
+    private void assertIndex() throws Exception {
+        Map index = rangeIndex();
+        for (Iterator i = index.entrySet().iterator(); i.hasNext();) {
+            Map.Entry entry = (Map.Entry) i.next();
+            List bucket = (List) entry.getValue();
+            assertFalse(bucket.isEmpty());
+            for (int j = 0; j < bucket.size(); ++j) {
+                Range range = (Range) ((Reference) bucket.get(j)).get();
+                if (range != null) {
+                    assertTrue(entry.getKey() == range.getStartContainer()
+                            || entry.getKey() == range.getEndContainer());
+                    assertEquals(j, bucket.indexOf(bucket.get(j)));
+                    List start = (List) index.get(range.getStartContainer());
+                    List end = (List) index.get(range.getEndContainer());
+                    assertTrue(start.contains(bucket.get(j)));
+                    assertTrue(end.contains(bucket.get(j)));
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,156 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dom.serialize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.channels.Channels;
+
+import junit.framework.TestCase;
+
+import org.apache.xerces.dom.DocumentImpl;
+import org.apache.xml.serialize.OutputFormat;
+import org.apache.xml.serialize.XMLSerializer;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+
+/**
+ * Checks that the serializer writes the same bytes when it encodes text
+ * itself, for an output stream or a byte channel, as when it writes
+ * through a <code>Writer</code>.
+ *
+ * @version $Id$
+ */
+public class ByteStreamPrinterTest extends TestCase {
+
+    /** The name of the printer which encodes text into bytes. */
+    private static final String BYTE_STREAM_PRINTER = "org.apache.xml.serialize.ByteStreamPrinter";
+
+    public ByteStreamPrinterTest(String name) {
+        super(name);
+    }
+
+    public void testUTF8() throws Exception {
+        checkEncoding("UTF-8", "UTF8");
+    }
+
+    public void testASCII() throws Exception {
+        checkEncoding("US-ASCII", "ASCII");
+    }
+
+    public void testIndenting() throws Exception {
+        // indented output still goes through a writer
+        final OutputFormat format = new OutputFormat("xml", "UTF-8", true);
+        final TestSerializer serializer = new TestSerializer(format);
+        serializer.setOutputByteStream(new ByteArrayOutputStream());
+        serializer.serialize(createDocument());
+        assertFalse(BYTE_STREAM_PRINTER.equals(serializer.getPrinterClassName()));
+    }
+
+    private void checkEncoding(String encoding, String javaName) throws Exception {
+        final Document doc = createDocument();
+        final OutputFormat format = new OutputFormat("xml", encoding, false);
+
+        final ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        final Writer writer = new OutputStreamWriter(expected, javaName);
+        TestSerializer serializer = new TestSerializer(format);
+        serializer.setOutputCharStream(writer);
+        serializer.serialize(doc);
+        writer.flush();
+        assertFalse(BYTE_STREAM_PRINTER.equals(serializer.getPrinterClassName()));
+
+        final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        serializer = new TestSerializer(format);
+        serializer.setOutputByteStream(stream);
+        serializer.serialize(doc);
+        assertEquals(BYTE_STREAM_PRINTER, serializer.getPrinterClassName());
+        assertBytes(encoding + " stream", expected.toByteArray(), stream.toByteArray());
+
+        final ByteArrayOutputStream channel = new ByteArrayOutputStream();
+        serializer = new TestSerializer(format);
+        serializer.setOutputByteChannel(Channels.newChannel(channel));
+        serializer.serialize(doc);
+        assertEquals(BYTE_STREAM_PRINTER, serializer.getPrinterClassName());
+        assertBytes(encoding + " channel", expected.toByteArray(), channel.toByteArray());
+
+        // a serializer may be reused with another output
+        final ByteArrayOutputStream again = new ByteArrayOutputStream();
+        serializer.setOutputByteStream(again);
+        serializer.serialize(doc);
+        assertBytes(encoding + " reused", expected.toByteArray(), again.toByteArray());
+    }
+
+    /**
+     * Creates a document with markup, character references and text
+     * longer than the printer's buffer, in which surrogate pairs fall
+     * on every buffer position.
+     */
+    private static Document createDocument() {
+        final Document doc = new DocumentImpl();
+        final Element root = doc.createElement("root");
+        doc.appendChild(root);
+        root.setAttribute("a", "<&>\"' caf\u00E9 \u20AC \uD83D\uDE00");
+        doc.insertBefore(doc.createComment(" caf\u00E9 "), root);
+        doc.appendChild(doc.createProcessingInstruction("pi", "data"));
+
+        final Element markup = doc.createElement("markup");
+        markup.appendChild(doc.createTextNode("a < b && c > d \u00E9\u00E8 \u4E2D\u6587 \uD800\uDC00"));
+        markup.appendChild(doc.createCDATASection("<cdata> \u00E9"));
+        markup.appendChild(doc.createComment("comment"));
+        markup.appendChild(doc.createEntityReference("amp"));
+        root.appendChild(markup);
+
+        for (int shift = 0; shift < 4; ++shift) {
+            final StringBuffer text = new StringBuffer();
+            for (int i = 0; i < shift; ++i) {
+                text.append('x');
+            }
+            while (text.length() < 20000) {
+                text.append("\u00E9\uD83D\uDE00a\u20AC\n");
+            }
+            final Element long_ = doc.createElement("long");
+            long_.appendChild(doc.createTextNode(text.toString()));
+            root.appendChild(long_);
+        }
+        return doc;
+    }
+
+    private static void assertBytes(String message, byte[] expected, byte[] actual) {
+        assertEquals(message + " length", expected.length, actual.length);
+        for (int i = 0; i < expected.length; ++i) {
+            if (expected[i] != actual[i]) {
+                fail(message + " differs at byte " + i);
+            }
+        }
+    }
+
+    /** Exposes the printer chosen by the serializer. */
+    private static class TestSerializer extends XMLSerializer {
+
+        TestSerializer(OutputFormat format) {
+            super(format);
+        }
+
+        String getPrinterClassName() {
+            return _printer.getClass().getName();
+        }
+
+    } // class TestSerializer
+
+}
@@ -0,0 +1,231 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dom.serialize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.StringWriter;
+
+import junit.framework.TestCase;
+
+import org.apache.xerces.dom.CoreDocumentImpl;
+import org.apache.xerces.dom.DOMOutputImpl;
+import org.apache.xerces.dom.DocumentImpl;
+import org.apache.xerces.util.WorkerPools;
+import org.apache.xml.serialize.DOMSerializerImpl;
+import org.apache.xml.serialize.OutputFormat;
+import org.apache.xml.serialize.XMLSerializer;
+import org.w3c.dom.DOMConfiguration;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.ls.LSOutput;
+
+/**
+ * Checks that serializing the children of elements in parallel gives
+ * the same output as serializing them in order. The serialization pool
+ * is given several threads whatever the number of processors.
+ *
+ * @version $Id$
+ */
+public class ParallelSerializationTest extends TestCase {
+
+    private static final String PARALLELISM_PROPERTY = "org.apache.xml.serialize.parallelism";
+
+    private static final String PARALLEL_SERIALIZATION =
+        "http://apache.org/xml/features/dom/parallel-serialization";
+
+    private static final String PARALLEL_SERIALIZATION_DEPTH =
+        "http://apache.org/xml/properties/dom/parallel-serialization-depth";
+
+    private static final String NS = "http://www.example.com/ns";
+
+    public ParallelSerializationTest(String name) {
+        super(name);
+    }
+
+    protected void setUp() throws Exception {
+        // read when the pool is first used
+        if (System.getProperty(PARALLELISM_PROPERTY) == null) {
+            System.setProperty(PARALLELISM_PROPERTY, "4");
+        }
+    }
+
+    public void testBytes() throws Exception {
+        final CoreDocumentImpl doc = createDocument();
+        doc.freeze();
+        final byte[] expected = serializeBytes(doc, -1, 0);
+        assertBytes(expected, serializeBytes(doc, 0, 1));
+        assertBytes(expected, serializeBytes(doc, 1, 1));
+        // elements with a single child are not split
+        assertBytes(expected, serializeBytes(doc, 2, 0));
+    }
+
+    public void testWriter() throws Exception {
+        final CoreDocumentImpl doc = createDocument();
+        doc.freeze();
+        final String expected = serializeChars(doc, -1, 0);
+        assertEquals(expected, serializeChars(doc, 0, 1));
+        assertEquals(expected, serializeChars(doc, 1, 1));
+    }
+
+    public void testShutdown() throws Exception {
+        final CoreDocumentImpl doc = createDocument();
+        doc.freeze();
+        final byte[] expected = serializeBytes(doc, -1, 0);
+        assertBytes(expected, serializeBytes(doc, 1, 1));
+        // the pool is created again
+        WorkerPools.shutdown(PARALLELISM_PROPERTY);
+        assertBytes(expected, serializeBytes(doc, 1, 1));
+    }
+
+    public void testNotFrozen() throws Exception {
+        final CoreDocumentImpl doc = createDocument();
+        // a document which is not frozen is never split
+        assertBytes(serializeBytes(doc, -1, 0), serializeBytes(doc, 0, 0));
+    }
+
+    public void testLSSerializer() throws Exception {
+        final CoreDocumentImpl doc = createDocument();
+        doc.freeze();
+        final DOMSerializerImpl serializer = new DOMSerializerImpl();
+        final String expected = serializer.writeToString(doc);
+        final ByteArrayOutputStream expectedBytes = new ByteArrayOutputStream();
+        serializer.write(doc, createOutput(expectedBytes));
+
+        final DOMConfiguration config = serializer.getDomConfig();
+        assertTrue(config.canSetParameter(PARALLEL_SERIALIZATION, Boolean.TRUE));
+        config.setParameter(PARALLEL_SERIALIZATION, Boolean.TRUE);
+        for (int depth = 0; depth < 3; ++depth) {
+            config.setParameter(PARALLEL_SERIALIZATION_DEPTH, Integer.valueOf(depth));
+            assertEquals(Integer.valueOf(depth), config.getParameter(PARALLEL_SERIALIZATION_DEPTH));
+            assertEquals(expected, serializer.writeToString(doc));
+            final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            serializer.write(doc, createOutput(bytes));
+            assertBytes(expectedBytes.toByteArray(), bytes.toByteArray());
+        }
+    }
+
+    private static byte[] serializeBytes(Document doc, int depth, int minSplits) throws Exception {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final CountingSerializer serializer = new CountingSerializer(depth);
+        serializer.setOutputByteStream(out);
+        serializer.serialize(doc);
+        serializer.assertSplits(minSplits);
+        return out.toByteArray();
+    }
+
+    private static String serializeChars(Document doc, int depth, int minSplits) throws Exception {
+        final StringWriter out = new StringWriter();
+        final CountingSerializer serializer = new CountingSerializer(depth);
+        serializer.setOutputCharStream(out);
+        serializer.serialize(doc);
+        serializer.assertSplits(minSplits);
+        return out.toString();
+    }
+
+    private static LSOutput createOutput(ByteArrayOutputStream bytes) {
+        final LSOutput output = new DOMOutputImpl();
+        output.setByteStream(bytes);
+        output.setEncoding("UTF-8");
+        return output;
+    }
+
+    /**
+     * Creates a document whose elements at several depths have many
+     * children of every kind, with text between some of the elements.
+     */
+    private static CoreDocumentImpl createDocument() {
+        final DocumentImpl doc = new DocumentImpl();
+        final Element root = doc.createElementNS(NS, "p:root");
+        root.setAttributeNS("http://www.w3.org/2000/xmlns/", "xmlns:p", NS);
+        doc.appendChild(root);
+        doc.insertBefore(doc.createComment(" before "), root);
+        for (int i = 0; i < 120; ++i) {
+            final Element item = doc.createElementNS(i % 3 == 0 ? NS : null, i % 3 == 0 ? "p:item" : "item");
+            item.setAttribute("n", String.valueOf(i));
+            if (i % 5 == 0) {
+                root.appendChild(doc.createTextNode("text & <" + i + ">\n"));
+            }
+            if (i % 7 == 0) {
+                root.appendChild(doc.createComment("comment " + i));
+            }
+            if (i % 11 == 0) {
+                root.appendChild(doc.createProcessingInstruction("pi", "data " + i));
+            }
+            for (int j = 0; j < 30; ++j) {
+                final Element child = doc.createElement(j % 2 == 0 ? "a" : "b");
+                child.setAttribute("v", "\"" + i + "." + j + "\u00E9");
+                switch (j % 4) {
+                    case 0:
+                        child.appendChild(doc.createTextNode("caf\u00E9 \uD83D\uDE00 " + j));
+                        break;
+                    case 1:
+                        child.appendChild(doc.createCDATASection("<cdata " + j + ">"));
+                        break;
+                    case 2:
+                        child.appendChild(doc.createElement("empty"));
+                        break;
+                    default:
+                        final Element grandchild = doc.createElementNS(NS, "p:c");
+                        grandchild.appendChild(doc.createTextNode(String.valueOf(j)));
+                        child.appendChild(grandchild);
+                }
+                item.appendChild(child);
+            }
+            // the last child of some items is a CDATA section
+            if (i % 4 == 0) {
+                item.appendChild(doc.createCDATASection("last " + i));
+            }
+            root.appendChild(item);
+        }
+        return doc;
+    }
+
+    private static void assertBytes(byte[] expected, byte[] actual) throws Exception {
+        assertEquals(new String(expected, "UTF-8"), new String(actual, "UTF-8"));
+        assertEquals(expected.length, actual.length);
+    }
+
+    /** Counts the serializers created for chunks of children. */
+    private static class CountingSerializer extends XMLSerializer {
+
+        private int fSplits;
+
+        CountingSerializer(int depth) {
+            super(new OutputFormat("xml", "UTF-8", false));
+            fParallelDepth = depth;
+        }
+
+        protected XMLSerializer newSubtreeSerializer() {
+            synchronized (this) {
+                ++fSplits;
+            }
+            return super.newSubtreeSerializer();
+        }
+
+        synchronized void assertSplits(int min) {
+            if (min == 0) {
+                assertEquals("chunks", 0, fSplits);
+            }
+            else {
+                assertTrue("chunks: " + fSplits, fSplits >= min);
+            }
+        }
+
+    } // class CountingSerializer
+
+}
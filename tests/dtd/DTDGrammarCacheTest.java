@@ -0,0 +1,207 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dtd;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+
+import junit.framework.TestCase;
+
+import org.apache.xerces.impl.XMLErrorReporter;
+import org.apache.xerces.impl.dtd.DTDGrammarCache;
+import org.apache.xerces.parsers.SAXParser;
+import org.apache.xerces.util.SymbolTable;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXParseException;
+import org.xml.sax.helpers.DefaultHandler;
+
+/**
+ * Tests that DTD grammars cached in a directory are used by new pools,
+ * and are not used once a resource of the DTD has changed.
+ *
+ * @version $Id$
+ */
+public class DTDGrammarCacheTest extends TestCase {
+
+    private static final String ERROR_REPORTER =
+        "http://apache.org/xml/properties/internal/error-reporter";
+
+    private static final String MAIN_DTD =
+        "<!ENTITY % mod SYSTEM 'mod.ent'>\n" +
+        "%mod;\n" +
+        "<!ELEMENT list (head?, (item|group)+, foot*)>\n" +
+        "<!ELEMENT head (#PCDATA)>\n" +
+        "<!ELEMENT foot (#PCDATA)>\n" +
+        "<!ELEMENT group (item, item?)>\n" +
+        "<!ATTLIST list id ID #REQUIRED kind (a|b) 'a'>\n";
+
+    private static final String MOD_ENT =
+        "<!ENTITY copy '(c)'>\n" +
+        "<!ELEMENT item (#PCDATA|b)*>\n" +
+        "<!ELEMENT b EMPTY>\n";
+
+    private static final String DOCUMENT_BODY =
+        "<!DOCTYPE list SYSTEM 'main.dtd'>\n" +
+        "<list id='x'><head>&copy;</head><item>t<b/></item><group><item/></group><foot/></list>";
+
+    private File fDirectory;
+
+    private File fCacheDirectory;
+
+    public DTDGrammarCacheTest(String name) {
+        super(name);
+    }
+
+    protected void setUp() throws Exception {
+        fDirectory = File.createTempFile("dtd", "");
+        fDirectory.delete();
+        fDirectory.mkdir();
+        fCacheDirectory = new File(fDirectory, "cache");
+        write("main.dtd", MAIN_DTD);
+        write("mod.ent", MOD_ENT);
+        write("doc.xml", DOCUMENT_BODY);
+        write("doc11.xml", "<?xml version='1.1'?>\n" + DOCUMENT_BODY);
+    }
+
+    protected void tearDown() throws Exception {
+        delete(fDirectory);
+    }
+
+    public void testCacheHitFromNewPool() throws Exception {
+        Result result = parse(new DTDGrammarCache(fCacheDirectory), "doc.xml");
+        assertTrue(result.fResolved.contains("main.dtd"));
+        assertValid(result);
+        assertEquals(1, fCacheDirectory.list().length);
+
+        result = parse(new DTDGrammarCache(fCacheDirectory), "doc.xml");
+        assertTrue(result.fResolved.isEmpty());
+        assertValid(result);
+    }
+
+    public void testCachedGrammarValidates() throws Exception {
+        parse(new DTDGrammarCache(fCacheDirectory), "doc.xml");
+        write("bad.xml", "<!DOCTYPE list SYSTEM 'main.dtd'>\n" +
+                "<list kind='c'><foot/><item><head/></item></list>");
+        final Result result = parse(new DTDGrammarCache(fCacheDirectory), "bad.xml");
+        assertTrue(result.fResolved.isEmpty());
+        assertTrue(result.fErrors.size() > 0);
+    }
+
+    public void testParameterEntityChanged() throws Exception {
+        parse(new DTDGrammarCache(fCacheDirectory), "doc.xml");
+        write("mod.ent", "<!ENTITY copy '(c)'>\n" +
+                "<!ELEMENT item (#PCDATA)>\n" +
+                "<!ELEMENT b EMPTY>\n");
+        final Result result = parse(new DTDGrammarCache(fCacheDirectory), "doc.xml");
+        assertTrue(result.fResolved.contains("main.dtd"));
+        assertTrue(result.fResolved.contains("mod.ent"));
+        assertEquals(1, result.fErrors.size());
+
+        // the grammar of the changed DTD replaces the stale one
+        assertEquals(1, parse(new DTDGrammarCache(fCacheDirectory), "doc.xml").fErrors.size());
+        assertTrue(parse(new DTDGrammarCache(fCacheDirectory), "doc.xml").fResolved.isEmpty());
+    }
+
+    public void testXML11Document() throws Exception {
+        Result result = parse(new DTDGrammarCache(fCacheDirectory), "doc11.xml");
+        assertTrue(result.fResolved.contains("main.dtd"));
+        assertValid(result);
+
+        result = parse(new DTDGrammarCache(fCacheDirectory), "doc11.xml");
+        assertTrue(result.fResolved.isEmpty());
+        assertValid(result);
+    }
+
+    public void testWriteErrorIsWarning() throws Exception {
+        // the cache directory cannot be created where a file exists
+        write("cache", "");
+        final Result result = parse(new DTDGrammarCache(fCacheDirectory), "doc.xml");
+        assertValid(result);
+        assertEquals(1, result.fWarnings.size());
+        assertTrue((String) result.fWarnings.get(0),
+                ((String) result.fWarnings.get(0)).indexOf(fCacheDirectory.getPath()) != -1);
+    }
+
+    private void assertValid(Result result) {
+        assertEquals(result.fErrors.toString(), 0, result.fErrors.size());
+        assertEquals("(c)t", result.fText.toString());
+    }
+
+    /**
+     * Parses a document with validation, recording the names of the
+     * resources the parser had to read.
+     */
+    private Result parse(DTDGrammarCache pool, String name) throws Exception {
+        final SAXParser parser = new SAXParser(new SymbolTable(), pool);
+        parser.setFeature("http://xml.org/sax/features/validation", true);
+        pool.setErrorReporter((XMLErrorReporter) parser.getProperty(ERROR_REPORTER));
+        final Result result = new Result();
+        final DefaultHandler handler = new DefaultHandler() {
+            public InputSource resolveEntity(String publicId, String systemId) {
+                result.fResolved.add(systemId.substring(systemId.lastIndexOf('/') + 1));
+                return null;
+            }
+            public void characters(char[] ch, int start, int length) {
+                result.fText.append(ch, start, length);
+            }
+            public void warning(SAXParseException e) {
+                result.fWarnings.add(e.getMessage());
+            }
+            public void error(SAXParseException e) {
+                result.fErrors.add(e.getMessage());
+            }
+        };
+        parser.setEntityResolver(handler);
+        parser.setContentHandler(handler);
+        parser.setErrorHandler(handler);
+        parser.parse(new File(fDirectory, name).toURI().toString());
+        return result;
+    }
+
+    private void write(String name, String content) throws IOException {
+        final Writer writer = new FileWriter(new File(fDirectory, name));
+        try {
+            writer.write(content);
+        }
+        finally {
+            writer.close();
+        }
+    }
+
+    private static void delete(File file) {
+        final File[] files = file.listFiles();
+        if (files != null) {
+            for (int i = 0; i < files.length; ++i) {
+                delete(files[i]);
+            }
+        }
+        file.delete();
+    }
+
+    /** What a parse read and reported. */
+    private static final class Result {
+        final ArrayList fResolved = new ArrayList();
+        final ArrayList fErrors = new ArrayList();
+        final ArrayList fWarnings = new ArrayList();
+        final StringBuffer fText = new StringBuffer();
+    }
+
+}
@@ -36,6 +36,7 @@ public class AllTests {
     public static Test suite() {
         TestSuite suite = new TestSuite("Tests for XSD IDC constraints.");
         suite.addTestSuite(IDConstraintTests.class);
+        suite.addTestSuite(ValueStoreTest.class);
         return suite;
     }
 
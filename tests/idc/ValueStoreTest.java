@@ -0,0 +1,214 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package idc;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.xml.transform.stream.StreamSource;
+import javax.xml.validation.Schema;
+import javax.xml.validation.Validator;
+
+import junit.framework.TestCase;
+
+import org.apache.xerces.jaxp.validation.XMLSchemaFactory;
+import org.xml.sax.ErrorHandler;
+import org.xml.sax.SAXParseException;
+
+/**
+ * Checks that identity constraint values, which are looked up through
+ * hash codes of their actual values, collide when they are equal in the
+ * value space even if their lexical forms differ, for single and
+ * multi-field keys, uniques and keyrefs.
+ *
+ * @version $Id$
+ */
+public class ValueStoreTest extends TestCase {
+
+    private static final String DUPLICATE_KEY = "cvc-identity-constraint.4.2.2";
+    private static final String DUPLICATE_UNIQUE = "cvc-identity-constraint.4.1";
+    private static final String KEY_NOT_FOUND = "cvc-identity-constraint.4.3";
+
+    private static final String SCHEMA =
+        "<xs:schema xmlns:xs='http://www.w3.org/2001/XMLSchema'>\n" +
+        " <xs:element name='root'><xs:complexType>" +
+        "<xs:choice minOccurs='0' maxOccurs='unbounded'>\n" +
+        row("dec", "xs:decimal") +
+        row("decRef", "xs:decimal") +
+        row("dt", "xs:dateTime") +
+        row("dur", "xs:duration") +
+        row("qn", "xs:QName") +
+        row("flt", "xs:float") +
+        row("num", "xs:decimal") +
+        row("str", "xs:string") +
+        "  <xs:element name='pair'><xs:complexType>" +
+        "<xs:attribute name='a' type='xs:decimal'/><xs:attribute name='b' type='xs:dateTime'/>" +
+        "</xs:complexType></xs:element>\n" +
+        "  <xs:element name='pairRef'><xs:complexType>" +
+        "<xs:attribute name='a' type='xs:decimal'/><xs:attribute name='b' type='xs:dateTime'/>" +
+        "</xs:complexType></xs:element>\n" +
+        " </xs:choice></xs:complexType>\n" +
+        constraint("key", "decKey", "dec", "@v", null) +
+        constraint("keyref", "decRefs", "decRef", "@v", "decKey") +
+        constraint("unique", "dtUnique", "dt", "@v", null) +
+        constraint("unique", "durUnique", "dur", "@v", null) +
+        constraint("unique", "qnUnique", "qn", "@v", null) +
+        constraint("unique", "fltUnique", "flt", "@v", null) +
+        constraint("unique", "mixedUnique", "num|str", "@v", null) +
+        "  <xs:key name='pairKey'><xs:selector xpath='pair'/>" +
+        "<xs:field xpath='@a'/><xs:field xpath='@b'/></xs:key>\n" +
+        "  <xs:keyref name='pairRefs' refer='pairKey'><xs:selector xpath='pairRef'/>" +
+        "<xs:field xpath='@a'/><xs:field xpath='@b'/></xs:keyref>\n" +
+        " </xs:element>\n" +
+        "</xs:schema>";
+
+    private Validator fValidator;
+
+    private List fErrors;
+
+    public ValueStoreTest(String name) {
+        super(name);
+    }
+
+    protected void setUp() throws Exception {
+        Schema schema = new XMLSchemaFactory().newSchema(new StreamSource(new StringReader(SCHEMA)));
+        fValidator = schema.newValidator();
+        fErrors = new ArrayList();
+        fValidator.setErrorHandler(new ErrorHandler() {
+            public void warning(SAXParseException e) {
+            }
+            public void error(SAXParseException e) {
+                fErrors.add(e.getMessage());
+            }
+            public void fatalError(SAXParseException e) throws SAXParseException {
+                throw e;
+            }
+        });
+    }
+
+    public void testDecimal() throws Exception {
+        assertDuplicates("<dec v='1.0'/><dec v='01.000'/>", DUPLICATE_KEY, 1);
+        assertDuplicates("<dec v='0'/><dec v='-0.0'/><dec v='+.000'/>", DUPLICATE_KEY, 2);
+        assertDuplicates("<dec v='-2.50'/><dec v='-2.5'/><dec v='2.5'/>", DUPLICATE_KEY, 1);
+        assertDuplicates("<dec v='1'/><dec v='1.5'/><dec v='10'/><dec v='0.1'/>", DUPLICATE_KEY, 0);
+    }
+
+    public void testDateTime() throws Exception {
+        assertDuplicates("<dt v='2000-01-01T12:00:00Z'/><dt v='2000-01-01T13:00:00+01:00'/>" +
+                "<dt v='2000-01-01T07:00:00.000-05:00'/>", DUPLICATE_UNIQUE, 2);
+        assertDuplicates("<dt v='2000-01-02T00:00:00Z'/><dt v='2000-01-01T24:00:00Z'/>",
+                DUPLICATE_UNIQUE, 1);
+        // values with and without a time zone are not equal
+        assertDuplicates("<dt v='2000-01-01T12:00:00Z'/><dt v='2000-01-01T12:00:00'/>",
+                DUPLICATE_UNIQUE, 0);
+    }
+
+    public void testDuration() throws Exception {
+        assertDuplicates("<dur v='P1D'/><dur v='PT24H'/><dur v='PT1440M'/>", DUPLICATE_UNIQUE, 2);
+        assertDuplicates("<dur v='P1Y'/><dur v='P12M'/>", DUPLICATE_UNIQUE, 1);
+        assertDuplicates("<dur v='P1M'/><dur v='P30D'/><dur v='PT1.5S'/><dur v='PT1S'/>",
+                DUPLICATE_UNIQUE, 0);
+    }
+
+    public void testQName() throws Exception {
+        assertDuplicates("<qn xmlns:x='urn:p' v='x:a'/><qn xmlns:y='urn:p' v='y:a'/>",
+                DUPLICATE_UNIQUE, 1);
+        assertDuplicates("<qn xmlns:x='urn:p' v='x:a'/><qn xmlns:x='urn:q' v='x:a'/><qn v='a'/>",
+                DUPLICATE_UNIQUE, 0);
+    }
+
+    public void testFloat() throws Exception {
+        assertDuplicates("<flt v='0'/><flt v='-0'/>", DUPLICATE_UNIQUE, 1);
+        assertDuplicates("<flt v='1E3'/><flt v='1000.0'/><flt v='INF'/>", DUPLICATE_UNIQUE, 1);
+    }
+
+    public void testDifferentTypes() throws Exception {
+        // a string and a decimal with the same lexical form differ
+        assertDuplicates("<num v='1'/><str v='1'/>", DUPLICATE_UNIQUE, 0);
+        assertDuplicates("<num v='1'/><str v='1'/><num v='1.0'/>", DUPLICATE_UNIQUE, 1);
+        assertDuplicates("<str v='1.0'/><str v='1.00'/>", DUPLICATE_UNIQUE, 0);
+        assertDuplicates("<str v='x'/><str v='x'/>", DUPLICATE_UNIQUE, 1);
+    }
+
+    public void testMultipleFields() throws Exception {
+        assertDuplicates("<pair a='1.0' b='2000-01-01T12:00:00Z'/>" +
+                "<pair a='1' b='2000-01-01T14:00:00+02:00'/>", DUPLICATE_KEY, 1);
+        assertDuplicates("<pair a='1.0' b='2000-01-01T12:00:00Z'/>" +
+                "<pair a='1.0' b='2000-01-01T12:00:01Z'/>" +
+                "<pair a='2' b='2000-01-01T12:00:00Z'/>", DUPLICATE_KEY, 0);
+    }
+
+    public void testKeyref() throws Exception {
+        assertDuplicates("<dec v='1.0'/><dec v='2'/><decRef v='01.00'/><decRef v='2.0'/>",
+                KEY_NOT_FOUND, 0);
+        assertDuplicates("<dec v='1.0'/><decRef v='1.01'/>", KEY_NOT_FOUND, 1);
+        assertDuplicates("<pair a='1.0' b='2000-01-01T12:00:00Z'/>" +
+                "<pairRef a='1' b='2000-01-01T12:00:00.0Z'/>" +
+                "<pairRef a='1.00' b='2000-01-01T11:00:00-01:00'/>", KEY_NOT_FOUND, 0);
+        // only the first value which is not found is reported
+        assertDuplicates("<pair a='1.0' b='2000-01-01T12:00:00Z'/>" +
+                "<pairRef a='1' b='2000-01-01T12:00:00'/>", KEY_NOT_FOUND, 1);
+        assertDuplicates("<pair a='1.0' b='2000-01-01T12:00:00Z'/>" +
+                "<pairRef a='2' b='2000-01-01T12:00:00Z'/>", KEY_NOT_FOUND, 1);
+    }
+
+    public void testManyValues() throws Exception {
+        final StringBuffer buffer = new StringBuffer();
+        for (int i = 0; i < 2000; ++i) {
+            buffer.append("<dec v='").append(i).append(".0'/>");
+        }
+        for (int i = 1999; i >= 0; --i) {
+            buffer.append("<decRef v='0").append(i).append("'/>");
+        }
+        assertDuplicates(buffer.toString() + "<decRef v='2000'/>", KEY_NOT_FOUND, 1);
+        assertDuplicates(buffer.toString() + "<dec v='1234.000'/><dec v='+0'/>", DUPLICATE_KEY, 2);
+    }
+
+    //
+    // Private methods
+    //
+
+    /**
+     * Validates a document with the given content and checks the number
+     * of errors, all of which must have the given code.
+     */
+    private void assertDuplicates(String content, String code, int count) throws Exception {
+        fErrors.clear();
+        fValidator.validate(new StreamSource(new StringReader("<root>" + content + "</root>")));
+        final String message = content.length() > 200 ? fErrors.toString() : content + ": " + fErrors;
+        assertEquals(message, count, fErrors.size());
+        for (int i = 0; i < fErrors.size(); ++i) {
+            assertTrue(fErrors.get(i).toString(), fErrors.get(i).toString().startsWith(code + ":"));
+        }
+    }
+
+    private static String row(String name, String type) {
+        return "  <xs:element name='" + name + "'><xs:complexType>" +
+            "<xs:attribute name='v' type='" + type + "'/></xs:complexType></xs:element>\n";
+    }
+
+    private static String constraint(String kind, String name, String selector,
+            String field, String refer) {
+        return "  <xs:" + kind + " name='" + name + "'" +
+            (refer != null ? " refer='" + refer + "'" : "") + ">" +
+            "<xs:selector xpath='" + selector + "'/><xs:field xpath='" + field + "'/>" +
+            "</xs:" + kind + ">\n";
+    }
+
+}
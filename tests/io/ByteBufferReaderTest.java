@@ -0,0 +1,380 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Locale;
+
+import junit.framework.TestCase;
+
+import org.apache.xerces.impl.io.ASCIIReader;
+import org.apache.xerces.impl.io.ByteBufferASCIIReader;
+import org.apache.xerces.impl.io.ByteBufferInputStream;
+import org.apache.xerces.impl.io.ByteBufferUTF8Reader;
+import org.apache.xerces.impl.io.UTF8Reader;
+import org.apache.xerces.impl.msg.XMLMessageFormatter;
+import org.apache.xerces.parsers.DOMParser;
+import org.apache.xerces.util.ByteBufferInputSource;
+import org.apache.xerces.xni.parser.XMLInputSource;
+import org.apache.xerces.xni.parser.XMLErrorHandler;
+import org.apache.xerces.xni.parser.XMLParseException;
+import org.w3c.dom.Document;
+
+/**
+ * Checks that the byte buffer readers decode the same characters, and
+ * report the same errors, as the stream readers, for buffers and for
+ * memory-mapped files read in windows of any size.
+ *
+ * @version $Id$
+ */
+public class ByteBufferReaderTest extends TestCase {
+
+    private static final XMLMessageFormatter FORMATTER = new XMLMessageFormatter();
+
+    /** Characters encoded with one, two, three and four bytes. */
+    private static final String TEXT =
+        "a\u00E9b\u0800\u20AC\uD800\uDC00c\uFFFD\u07FF\uDBFF\uDFFFd\u0080";
+
+    /** Window sizes, so that every sequence is split at every byte. */
+    private static final int[] WINDOWS = { 1, 2, 3, 5, 7, 64 };
+
+    /** Lengths passed to read(char[],int,int). */
+    private static final int[] LENGTHS = { 0, 1, 2, 3, 8, 1000 };
+
+    /** Malformed UTF-8 sequences, each preceded and followed by text. */
+    private static final int[][] MALFORMED_UTF8 = {
+        { 0x80 },
+        { 0xBF },
+        { 0xC0, 0x80 },
+        { 0xC1, 0xBF },
+        { 0xC3, 0x28 },
+        { 0xC3 },
+        { 0xE0, 0x80, 0x80 },
+        { 0xE2, 0x28, 0xA1 },
+        { 0xE2, 0x82, 0x28 },
+        { 0xE2, 0x82 },
+        { 0xED, 0xA0, 0x80 },
+        { 0xF0, 0x80, 0x80, 0x80 },
+        { 0xF0, 0x28, 0x8C, 0xBC },
+        { 0xF0, 0x90, 0x28, 0xBC },
+        { 0xF0, 0x90, 0x8C, 0x28 },
+        { 0xF4, 0x90, 0x80, 0x80 },
+        { 0xF7, 0xBF, 0xBF, 0xBF },
+        { 0xF0, 0x90, 0x8C },
+        { 0xF8, 0x88, 0x80, 0x80, 0x80 },
+        { 0xFF },
+    };
+
+    private File fFile;
+
+    public ByteBufferReaderTest(String name) {
+        super(name);
+    }
+
+    protected void setUp() throws Exception {
+        fFile = File.createTempFile("xerces", ".xml");
+    }
+
+    protected void tearDown() throws Exception {
+        fFile.delete();
+    }
+
+    public void testUTF8() throws Exception {
+        final StringBuffer text = new StringBuffer();
+        for (int i = 0; i < 40; ++i) {
+            int start = i % TEXT.length();
+            if (Character.isLowSurrogate(TEXT.charAt(start))) {
+                ++start;
+            }
+            text.append(TEXT.substring(start)).append(i).append('\uFFFF');
+        }
+        final byte[] bytes = text.toString().getBytes("UTF-8");
+        for (int l = 0; l < LENGTHS.length; ++l) {
+            final String expected = text.toString();
+            if (LENGTHS[l] != 1) {
+                // the stream reader needs room for both halves of a surrogate pair
+                assertEquals(expected, read(new UTF8Reader(new ByteArrayInputStream(bytes)), LENGTHS[l]));
+            }
+            assertEquals(expected, read(utf8(ByteBuffer.wrap(bytes)), LENGTHS[l]));
+            final ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length);
+            direct.put(bytes).flip();
+            assertEquals(expected, read(utf8(direct), LENGTHS[l]));
+            for (int w = 0; w < WINDOWS.length; ++w) {
+                assertEquals("window " + WINDOWS[w] + ", length " + LENGTHS[l],
+                    expected, read(utf8(map(bytes, WINDOWS[w])), LENGTHS[l]));
+            }
+        }
+    }
+
+    public void testASCII() throws Exception {
+        final StringBuffer text = new StringBuffer();
+        for (int i = 0; i < 500; ++i) {
+            text.append((char) (i % 128));
+        }
+        final byte[] bytes = text.toString().getBytes("US-ASCII");
+        for (int l = 0; l < LENGTHS.length; ++l) {
+            final String expected = read(ascii(new ByteArrayInputStream(bytes)), LENGTHS[l]);
+            assertEquals(text.toString(), expected);
+            assertEquals(expected, read(ascii(ByteBuffer.wrap(bytes)), LENGTHS[l]));
+            for (int w = 0; w < WINDOWS.length; ++w) {
+                assertEquals("window " + WINDOWS[w] + ", length " + LENGTHS[l],
+                    expected, read(ascii(map(bytes, WINDOWS[w])), LENGTHS[l]));
+            }
+        }
+    }
+
+    public void testMalformedUTF8() throws Exception {
+        for (int m = 0; m < MALFORMED_UTF8.length; ++m) {
+            final byte[] bytes = concat("ab\u00E9", MALFORMED_UTF8[m], "cd");
+            final String name = "sequence " + m;
+            // how many valid characters are returned before the error
+            // depends on how the bytes are split into reads
+            for (int l = 1; l < LENGTHS.length; ++l) {
+                final String expected = readError(new UTF8Reader(new ByteArrayInputStream(bytes),
+                    FORMATTER, Locale.ENGLISH), LENGTHS[l], "ab\u00E9");
+                assertNotNull(name, expected);
+                assertEquals(name, expected, readError(utf8(ByteBuffer.wrap(bytes)), LENGTHS[l], "ab\u00E9"));
+                for (int w = 0; w < WINDOWS.length; ++w) {
+                    assertEquals(name + ", window " + WINDOWS[w], expected,
+                        readError(utf8(map(bytes, WINDOWS[w])), LENGTHS[l], "ab\u00E9"));
+                }
+            }
+        }
+    }
+
+    public void testMalformedASCII() throws Exception {
+        final byte[] bytes = concat("abc", new int[] { 0x80 }, "d");
+        for (int l = 1; l < LENGTHS.length; ++l) {
+            final String expected = readError(ascii(new ByteArrayInputStream(bytes)), LENGTHS[l]);
+            assertNotNull(expected);
+            assertEquals(expected, readError(ascii(ByteBuffer.wrap(bytes)), LENGTHS[l]));
+            for (int w = 0; w < WINDOWS.length; ++w) {
+                assertEquals(expected, readError(ascii(map(bytes, WINDOWS[w])), LENGTHS[l]));
+            }
+        }
+    }
+
+    public void testParseFileChannel() throws Exception {
+        // larger than the buffer of the entity scanner
+        final StringBuffer text = new StringBuffer();
+        for (int i = 0; i < 5000; ++i) {
+            text.append(TEXT.substring(i % 6)).append(' ');
+        }
+        final String encodings[] = { "UTF-8", "US-ASCII" };
+        for (int e = 0; e < encodings.length; ++e) {
+            final String content = encodings[e].equals("UTF-8") ? text.toString() : "plain text ";
+            final String xml = "<?xml version='1.0' encoding='" + encodings[e] + "'?><root a='"
+                + content + "'>" + content + "<e/>" + content + "</root>";
+            write(xml.getBytes(encodings[e]));
+            final RandomAccessFile file = new RandomAccessFile(fFile, "r");
+            final FileChannel channel = file.getChannel();
+            try {
+                final Document document = parse(new ByteBufferInputSource(null,
+                    fFile.toURI().toString(), null, channel, null));
+                assertEquals(content, document.getDocumentElement().getAttribute("a"));
+                assertEquals(content + content, document.getDocumentElement().getTextContent());
+                // the parser closes the channel when it is done with it
+                assertFalse(channel.isOpen());
+            }
+            finally {
+                file.close();
+            }
+        }
+    }
+
+    public void testParseByteBuffer() throws Exception {
+        final byte[] bytes = ("<root>" + TEXT + "</root>").getBytes("UTF-8");
+        final ByteBuffer buffer = ByteBuffer.allocate(bytes.length + 10);
+        buffer.position(4);
+        buffer.put(bytes);
+        buffer.limit(buffer.position());
+        buffer.position(4);
+        final Document document = parse(new ByteBufferInputSource(null, null, null, buffer, null));
+        assertEquals(TEXT, document.getDocumentElement().getTextContent());
+        assertEquals(4, buffer.position());
+        assertEquals(bytes.length + 4, buffer.limit());
+    }
+
+    public void testParseMalformed() throws Exception {
+        for (int m = 0; m < MALFORMED_UTF8.length; ++m) {
+            final byte[] bytes = concat("<root>ab\u00E9", MALFORMED_UTF8[m], "</root>");
+            final String expected = parseError(new XMLInputSource(null, null, null,
+                new ByteArrayInputStream(bytes), null));
+            assertNotNull(expected);
+            assertEquals("sequence " + m, expected, parseError(new ByteBufferInputSource(null,
+                null, null, ByteBuffer.wrap(bytes), null)));
+        }
+        // the channel is closed even if parsing fails
+        write(concat("<root>", MALFORMED_UTF8[0], "</root>"));
+        final RandomAccessFile file = new RandomAccessFile(fFile, "r");
+        try {
+            final FileChannel channel = file.getChannel();
+            assertNotNull(parseError(new ByteBufferInputSource(null, null, null, channel, null)));
+            assertFalse(channel.isOpen());
+        }
+        finally {
+            file.close();
+        }
+        final byte[] bytes = concat("<?xml version='1.0' encoding='US-ASCII'?><root>a",
+            new int[] { 0xE9 }, "</root>");
+        assertEquals(parseError(new XMLInputSource(null, null, null, new ByteArrayInputStream(bytes), null)),
+            parseError(new ByteBufferInputSource(null, null, null, ByteBuffer.wrap(bytes), null)));
+    }
+
+    //
+    // Private methods
+    //
+
+    private static Reader utf8(ByteBuffer buffer) {
+        return utf8(new ByteBufferInputStream(buffer));
+    }
+
+    private static Reader utf8(ByteBufferInputStream stream) {
+        return new ByteBufferUTF8Reader(stream, FORMATTER, Locale.ENGLISH);
+    }
+
+    private static Reader ascii(ByteBuffer buffer) {
+        return ascii(new ByteBufferInputStream(buffer));
+    }
+
+    private static Reader ascii(ByteBufferInputStream stream) {
+        return new ByteBufferASCIIReader(stream, FORMATTER, Locale.ENGLISH);
+    }
+
+    private static Reader ascii(ByteArrayInputStream stream) {
+        return new ASCIIReader(stream, FORMATTER, Locale.ENGLISH);
+    }
+
+    /** Reads all characters, length characters at a time (0 for read()). */
+    private static String read(Reader reader, int length) throws IOException {
+        final StringBuffer text = new StringBuffer();
+        try {
+            if (length == 0) {
+                int c;
+                while ((c = reader.read()) != -1) {
+                    text.append((char) c);
+                }
+            }
+            else {
+                final char[] ch = new char[length + 2];
+                int count;
+                while ((count = reader.read(ch, 1, length)) != -1) {
+                    assertTrue(count > 0 && count <= length);
+                    text.append(ch, 1, count);
+                }
+            }
+        }
+        finally {
+            reader.close();
+        }
+        return text.toString();
+    }
+
+    /**
+     * Returns the error reading the characters. The characters read
+     * before the error must start the given text.
+     */
+    private static String readError(Reader reader, int length, String text) throws IOException {
+        final String error = readError(reader, length);
+        if (error == null) {
+            return null;
+        }
+        final int colon = error.indexOf(": ");
+        assertTrue(error, text.startsWith(error.substring(0, colon)));
+        return error.substring(colon + 2);
+    }
+
+    /** Returns the characters read before the error and its message. */
+    private static String readError(Reader reader, int length) throws IOException {
+        final StringBuffer text = new StringBuffer();
+        final char[] ch = new char[length];
+        try {
+            int count;
+            while ((count = reader.read(ch, 0, length)) != -1) {
+                text.append(ch, 0, count);
+            }
+        }
+        catch (IOException e) {
+            return text + ": " + e.getClass().getName() + ": " + e.getMessage();
+        }
+        finally {
+            reader.close();
+        }
+        return null;
+    }
+
+    private static Document parse(XMLInputSource source) throws Exception {
+        final DOMParser parser = new DOMParser();
+        parser.setProperty("http://apache.org/xml/properties/internal/error-handler", new XMLErrorHandler() {
+            public void warning(String domain, String key, XMLParseException e) {
+            }
+            public void error(String domain, String key, XMLParseException e) {
+            }
+            public void fatalError(String domain, String key, XMLParseException e) {
+                throw e;
+            }
+        });
+        parser.parse(source);
+        return parser.getDocument();
+    }
+
+    private static String parseError(XMLInputSource source) throws Exception {
+        try {
+            parse(source);
+        }
+        catch (XMLParseException e) {
+            return e.getLineNumber() + ":" + e.getColumnNumber() + ": " + e.getMessage();
+        }
+        return null;
+    }
+
+    private ByteBufferInputStream map(byte[] bytes, int window) throws IOException {
+        write(bytes);
+        return new ByteBufferInputStream(new RandomAccessFile(fFile, "r").getChannel(), window);
+    }
+
+    private void write(byte[] bytes) throws IOException {
+        final FileOutputStream out = new FileOutputStream(fFile);
+        try {
+            out.write(bytes);
+        }
+        finally {
+            out.close();
+        }
+    }
+
+    private static byte[] concat(String before, int[] sequence, String after) throws IOException {
+        final byte[] b = before.getBytes("UTF-8");
+        final byte[] a = after.getBytes("UTF-8");
+        final byte[] bytes = new byte[b.length + sequence.length + a.length];
+        System.arraycopy(b, 0, bytes, 0, b.length);
+        for (int i = 0; i < sequence.length; ++i) {
+            bytes[b.length + i] = (byte) sequence[i];
+        }
+        System.arraycopy(a, 0, bytes, b.length + sequence.length, a.length);
+        return bytes;
+    }
+
+}
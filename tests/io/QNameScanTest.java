@@ -0,0 +1,250 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import junit.framework.TestCase;
+
+import org.apache.xerces.parsers.SAXParser;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXParseException;
+import org.xml.sax.helpers.DefaultHandler;
+
+/**
+ * Checks the qualified names returned by the entity scanner, which
+ * caches recently scanned names, for names split across buffer loads,
+ * names which share a cache entry and names scanned in entities.
+ *
+ * @version $Id$
+ */
+public class QNameScanTest extends TestCase {
+
+    private static final String BUFFER_SIZE =
+        "http://apache.org/xml/properties/input-buffer-size";
+
+    private static final String CONTINUE_AFTER_FATAL_ERROR =
+        "http://apache.org/xml/features/continue-after-fatal-error";
+
+    /** Buffer sizes; the smallest allowed is 65. */
+    private static final int[] BUFFER_SIZES = { 65, 66, 97, 2048 };
+
+    /** Prefixes and local parts which all have the same hash code. */
+    private static final String[] COLLIDING = { "Aa", "BB", "AaAa", "AaBB", "BBAa", "BBBB" };
+
+    public QNameScanTest(String name) {
+        super(name);
+    }
+
+    public void testBufferBoundaries() throws Exception {
+        final Random random = new Random(42);
+        final String[] names = new String[300];
+        for (int i = 0; i < names.length; ++i) {
+            final String local = name(random, 1 + random.nextInt(i < 10 ? 150 : 20));
+            names[i] = (i % 3 == 0) ? local : "p" + (i % 5) + ':' + local;
+        }
+        final StringBuffer xml = new StringBuffer("<root");
+        for (int p = 0; p < 5; ++p) {
+            xml.append(" xmlns:p").append(p).append("='urn:p").append(p).append('\'');
+        }
+        xml.append('>');
+        final List expected = new ArrayList();
+        for (int i = 0; i < 3000; ++i) {
+            final String element = names[random.nextInt(names.length)];
+            final String attribute = names[random.nextInt(names.length)];
+            for (int j = i % 67; j > 0; --j) {
+                xml.append('.');
+            }
+            xml.append('<').append(element).append(' ').append(attribute).append("='v'>");
+            xml.append("</").append(element).append('>');
+            expected.add(event(element, attribute));
+        }
+        xml.append("</root>");
+        expected.add(0, "{}root root");
+        for (int b = 0; b < BUFFER_SIZES.length; ++b) {
+            assertEquals("buffer " + BUFFER_SIZES[b], expected, parse(xml.toString(), BUFFER_SIZES[b]));
+        }
+        assertEquals(expected, parse("<?xml version='1.1'?>" + xml, 65));
+    }
+
+    public void testCollisions() throws Exception {
+        final StringBuffer xml = new StringBuffer("<root");
+        for (int p = 0; p < COLLIDING.length; ++p) {
+            xml.append(" xmlns:").append(COLLIDING[p]).append("='urn:").append(COLLIDING[p]).append('\'');
+        }
+        xml.append('>');
+        final List expected = new ArrayList();
+        expected.add("{}root root");
+        for (int i = 0; i < 10; ++i) {
+            for (int p = 0; p < COLLIDING.length; ++p) {
+                for (int l = 0; l < COLLIDING.length; ++l) {
+                    // names of the same length with the same hash code
+                    final String element = COLLIDING[p] + ':' + COLLIDING[l];
+                    final String attribute = COLLIDING[(p + l + i) % COLLIDING.length];
+                    xml.append('<').append(element).append(' ').append(attribute).append("='v'/>");
+                    expected.add(event(element, attribute));
+                }
+            }
+        }
+        // names whose colon is in another place
+        final String[] split = { "AaB:B", "Aa:BB", "A:aBB", "AaBB" };
+        for (int i = 0; i < 4 * split.length; ++i) {
+            final String name = split[i % split.length];
+            final int colon = name.indexOf(':');
+            if (colon == -1) {
+                xml.append('<').append(name).append("/>");
+            }
+            else {
+                final String prefix = name.substring(0, colon);
+                xml.append('<').append(name).append(" xmlns:").append(prefix)
+                   .append("='urn:").append(prefix).append("'/>");
+            }
+            expected.add(event(name, null));
+        }
+        xml.append("</root>");
+        for (int b = 0; b < BUFFER_SIZES.length; ++b) {
+            assertEquals("buffer " + BUFFER_SIZES[b], expected, parse(xml.toString(), BUFFER_SIZES[b]));
+        }
+    }
+
+    public void testEntities() throws Exception {
+        final String xml =
+            "<!DOCTYPE root [\n" +
+            "<!ENTITY inner '<p:a p:b=\"1\"><p:ab/></p:a>'>\n" +
+            "<!ENTITY outer '<p:abc/>&inner;<p:a/>'>\n" +
+            "<!ENTITY ns '<p:a xmlns:p=\"urn:ns\" q:b=\"2\"/>'>\n" +
+            "<!ENTITY ext SYSTEM 'ext.ent'>\n" +
+            "]>\n" +
+            "<root xmlns:p='urn:p' xmlns:q='urn:q'>" +
+            "&outer;<p:a p:b='3'/>&inner;<q:a p:b='4'/>&ns;<p:a/>" +
+            "<x:a xmlns:x='urn:p'/><p:a xmlns:p='urn:other'/>&ext;<p:abcd/>&ext;" +
+            "</root>";
+        final List expected = new ArrayList();
+        expected.add("{}root root");
+        expected.add("{urn:p}abc p:abc");
+        expected.add("{urn:p}a p:a {urn:p}b p:b");
+        expected.add("{urn:p}ab p:ab");
+        expected.add("{urn:p}a p:a");
+        expected.add("{urn:p}a p:a {urn:p}b p:b");
+        expected.add("{urn:p}a p:a {urn:p}b p:b");
+        expected.add("{urn:p}ab p:ab");
+        expected.add("{urn:q}a q:a {urn:p}b p:b");
+        expected.add("{urn:ns}a p:a {urn:q}b q:b");
+        expected.add("{urn:p}a p:a");
+        expected.add("{urn:p}a x:a");
+        expected.add("{urn:other}a p:a");
+        expected.add("{urn:q}b q:b {urn:p}a p:a");
+        expected.add("{urn:p}abcd p:abcd");
+        expected.add("{urn:p}abcd p:abcd");
+        expected.add("{urn:q}b q:b {urn:p}a p:a");
+        expected.add("{urn:p}abcd p:abcd");
+        for (int b = 0; b < BUFFER_SIZES.length; ++b) {
+            assertEquals("buffer " + BUFFER_SIZES[b], expected, parse(xml, BUFFER_SIZES[b]));
+        }
+    }
+
+    public void testIllegalQName() throws Exception {
+        final String xml = "<root xmlns:p='urn:p'><p:1a/><p:b/><p:1a/><p:a p:1b='v'/><p:1a/></root>";
+        final SAXParser parser = new SAXParser();
+        parser.setFeature(CONTINUE_AFTER_FATAL_ERROR, true);
+        final int[] errors = new int[1];
+        parser.setErrorHandler(new DefaultHandler() {
+            public void fatalError(SAXParseException e) {
+                if (e.getMessage().indexOf("QName::=") != -1) {
+                    ++errors[0];
+                }
+            }
+        });
+        parser.parse(new InputSource(new StringReader(xml)));
+        // reported for every occurrence, not only the first
+        assertEquals(4, errors[0]);
+    }
+
+    //
+    // Private methods
+    //
+
+    /** Returns the events reported for the start tags in the document. */
+    private static List parse(String xml, int bufferSize) throws Exception {
+        final SAXParser parser = new SAXParser();
+        parser.setProperty(BUFFER_SIZE, Integer.valueOf(bufferSize));
+        final List events = new ArrayList();
+        parser.setContentHandler(new DefaultHandler() {
+            public void startElement(String uri, String localName, String qName, Attributes attributes) {
+                final StringBuffer event = new StringBuffer();
+                append(event, uri, localName, qName);
+                for (int i = 0; i < attributes.getLength(); ++i) {
+                    event.append(' ');
+                    append(event, attributes.getURI(i), attributes.getLocalName(i), attributes.getQName(i));
+                }
+                events.add(event.toString());
+            }
+        });
+        parser.setEntityResolver(new DefaultHandler() {
+            public InputSource resolveEntity(String publicId, String systemId) {
+                // a name ends the entity
+                return new InputSource(new StringReader("<q:b p:a='5'/><p:abcd/>"));
+            }
+        });
+        parser.parse(new InputSource(new StringReader(xml)));
+        return events;
+    }
+
+    private static void append(StringBuffer event, String uri, String localName, String qName) {
+        // symbols are interned
+        assertSame(qName, qName.intern());
+        assertSame(localName, localName.intern());
+        event.append('{').append(uri).append('}').append(localName).append(' ').append(qName);
+    }
+
+    private static String event(String element, String attribute) {
+        final StringBuffer event = new StringBuffer();
+        expected(event, element);
+        if (attribute != null) {
+            event.append(' ');
+            expected(event, attribute);
+        }
+        return event.toString();
+    }
+
+    private static void expected(StringBuffer event, String name) {
+        final int colon = name.indexOf(':');
+        final String prefix = (colon == -1) ? null : name.substring(0, colon);
+        event.append('{');
+        if (prefix != null) {
+            event.append("urn:").append(prefix);
+        }
+        event.append('}').append(name.substring(colon + 1)).append(' ').append(name);
+    }
+
+    private static String name(Random random, int length) {
+        final String start = "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ_";
+        final String chars = start + "0123456789.-";
+        final StringBuffer name = new StringBuffer();
+        name.append(start.charAt(random.nextInt(start.length())));
+        while (name.length() < length) {
+            name.append(chars.charAt(random.nextInt(chars.length())));
+        }
+        return name.toString();
+    }
+
+}
@@ -48,6 +48,7 @@ public class AllTests {
         suite.addTestSuite(UseGrammarPoolOnly_False_Test.class);
         suite.addTestSuite(FixedAttrTest.class);
         suite.addTestSuite(FeaturePropagationTest.class);
+        suite.addTestSuite(SchemaGrammarSnapshotTest.class);
         return suite;
     }
 }
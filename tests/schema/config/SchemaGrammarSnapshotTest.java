@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package schema.config;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import junit.framework.Assert;
+
+import org.apache.xerces.impl.xs.SchemaGrammar;
+import org.apache.xerces.impl.xs.SchemaGrammarSnapshot;
+import org.apache.xerces.impl.xs.XMLSchemaLoader;
+import org.apache.xerces.jaxp.validation.XMLSchemaFactory;
+import org.apache.xerces.util.XMLGrammarPoolImpl;
+import org.apache.xerces.xni.parser.XMLInputSource;
+import org.apache.xerces.xs.ItemPSVI;
+import org.apache.xerces.xs.XSElementDeclaration;
+
+/**
+ * Validates against grammars which were written to and read back from
+ * a schema grammar snapshot.
+ *
+ * @version $Id$
+ */
+public class SchemaGrammarSnapshotTest extends BaseTest {
+
+    private byte[] fSnapshot;
+
+    public static void main(String[] args) {
+        junit.textui.TestRunner.run(SchemaGrammarSnapshotTest.class);
+    }
+
+    protected String getXMLDocument() {
+        return "idc.xml";
+    }
+
+    protected String getSchemaFile() {
+        return "idc.xsd";
+    }
+
+    protected String[] getRelevantErrorIDs() {
+        return new String[] {
+            IdentityConstraintCheckingTest.DUPLICATE_UNIQUE,
+            IdentityConstraintCheckingTest.DUPLICATE_KEY,
+            IdentityConstraintCheckingTest.INVALID_KEYREF };
+    }
+
+    public SchemaGrammarSnapshotTest(String name) {
+        super(name);
+    }
+
+    protected void setUp() throws Exception {
+        super.setUp();
+        XMLGrammarPoolImpl pool = new XMLGrammarPoolImpl();
+        XMLSchemaLoader loader = new XMLSchemaLoader();
+        loader.setProperty("http://apache.org/xml/properties/internal/grammar-pool", pool);
+        loader.loadGrammar(new XMLInputSource(null, fSchemaURL.toExternalForm(), null));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        SchemaGrammarSnapshot.writeGrammars(out, pool);
+        fSnapshot = out.toByteArray();
+
+        XMLGrammarPoolImpl snapshotPool = new XMLGrammarPoolImpl();
+        SchemaGrammarSnapshot.readGrammars(new ByteArrayInputStream(fSnapshot), snapshotPool);
+        fValidator = new XMLSchemaFactory().newSchema(snapshotPool).newValidator();
+        fValidator.setErrorHandler(fErrorHandler);
+        fValidator.setFeature(DYNAMIC_VALIDATION, false);
+    }
+
+    public void testValidation() {
+        try {
+            validateDocument();
+        } catch (Exception e) {
+            Assert.fail("Validation failed: " + e.getMessage());
+        }
+
+        assertError(IdentityConstraintCheckingTest.DUPLICATE_UNIQUE);
+        assertError(IdentityConstraintCheckingTest.DUPLICATE_KEY);
+        assertError(IdentityConstraintCheckingTest.INVALID_KEYREF);
+
+        assertValidity(ItemPSVI.VALIDITY_INVALID, fRootNode.getValidity());
+        assertValidationAttempted(ItemPSVI.VALIDATION_FULL, fRootNode
+                .getValidationAttempted());
+        assertElementName("itemList", fRootNode.getElementDeclaration()
+                .getName());
+        assertTypeName("itemListType", fRootNode.getTypeDefinition().getName());
+    }
+
+    public void testBuiltinComponents() throws IOException {
+        SchemaGrammar[] grammars = SchemaGrammarSnapshot.readGrammars(
+                new ByteArrayInputStream(fSnapshot));
+        assertEquals(1, grammars.length);
+        XSElementDeclaration item = grammars[0].getGlobalElementDecl("item");
+        // names are interned when a snapshot is read
+        assertSame("item", item.getName());
+        assertSame(SchemaGrammar.SG_SchemaNS.getGlobalTypeDecl("string"),
+                grammars[0].getGlobalAttributeDecl("uniqueAttr").getTypeDefinition());
+    }
+
+    public void testOtherVersionRejected() {
+        byte[] snapshot = (byte[]) fSnapshot.clone();
+        // the last character of the version string in the header
+        int index = 6 + 2 + ((snapshot[6] & 0xFF) << 8 | (snapshot[7] & 0xFF)) - 1;
+        snapshot[index] ^= 1;
+        try {
+            SchemaGrammarSnapshot.readGrammars(new ByteArrayInputStream(snapshot));
+            Assert.fail("A snapshot of another version was read.");
+        }
+        catch (IOException e) {
+        }
+    }
+}
@@ -0,0 +1,334 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package schema.datatypes;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.StringReader;
+import java.io.Writer;
+
+import junit.framework.TestCase;
+
+import org.apache.xerces.impl.dv.InvalidDatatypeValueException;
+import org.apache.xerces.impl.dv.ValidatedInfo;
+import org.apache.xerces.impl.dv.xs.XSSimpleTypeDecl;
+import org.apache.xerces.impl.validation.ValidationState;
+import org.apache.xerces.impl.xs.XMLSchemaLoader;
+import org.apache.xerces.parsers.SAXParser;
+import org.apache.xerces.xs.XSModel;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXParseException;
+import org.xml.sax.helpers.DefaultHandler;
+
+/**
+ * Checks that enumerations with more than eight values, which are
+ * searched through a hash index, accept the same values as smaller
+ * enumerations, which are searched in turn, in particular values whose
+ * lexical forms differ from the enumerated ones.
+ *
+ * @version $Id$
+ */
+public class EnumerationIndexTest extends TestCase {
+
+    private static final String XS = "http://www.w3.org/2001/XMLSchema";
+
+    /**
+     * Base type, eight enumeration values shared by the small and large
+     * types, and values only in the large types.
+     */
+    private static final String[][][] KINDS = {
+        { { "decimal" },
+          { "1.0", "2.5", "-3", "0", "100", "0.001", "7", "8" },
+          { "9", "10", "11", "12.5", "-12.5" } },
+        { { "float" },
+          { "0", "NaN", "INF", "-INF", "1.5", "2", "1E3", "-7" },
+          { "9", "10", "11", "12.5", "-12.5" } },
+        { { "double" },
+          { "-0", "NaN", "INF", "-INF", "1.5", "2", "1E3", "-7" },
+          { "9", "10", "11", "12.5", "-12.5" } },
+        { { "duration" },
+          { "P1D", "PT1H", "P1Y", "P1M", "PT0S", "P2DT3H", "PT90M", "P1DT0.5S" },
+          { "P9D", "P10D", "P11D", "P12D", "P13D" } },
+        { { "dateTime" },
+          { "2000-01-01T12:00:00Z", "2000-01-01T00:00:00Z", "2000-06-15T08:30:00+02:00",
+            "2000-01-01T12:00:00", "2001-02-03T04:05:06.5Z", "1999-12-31T23:00:00-01:00",
+            "2002-01-01T00:00:00Z", "2003-01-01T00:00:00Z" },
+          { "2004-01-01T00:00:00Z", "2005-01-01T00:00:00Z", "2006-01-01T00:00:00Z",
+            "2007-01-01T00:00:00Z", "2008-01-01T00:00:00Z" } },
+        { { "QName" },
+          { "p:a", "p:b", "q:a", "c", "p:c", "q:b", "q:c", "d" },
+          { "p:e", "p:f", "p:g", "p:h", "p:i" } },
+        { { "hexBinary" },
+          { "0A", "FF", "00FF", "", "DEADBEEF", "01", "ab", "10" },
+          { "02", "03", "04", "05", "06" } },
+    };
+
+    /**
+     * Kind, value and whether it is in the enumeration. Instances bind
+     * the prefix x to urn:p, y to urn:q and p to urn:q.
+     */
+    private static final Object[][] CASES = {
+        { "decimal", "01.000", Boolean.TRUE },
+        { "decimal", "+1", Boolean.TRUE },
+        { "decimal", "2.50", Boolean.TRUE },
+        { "decimal", "-3.0", Boolean.TRUE },
+        { "decimal", "-0.0", Boolean.TRUE },
+        { "decimal", "100.00", Boolean.TRUE },
+        { "decimal", ".0010", Boolean.TRUE },
+        { "decimal", "1.001", Boolean.FALSE },
+        { "decimal", "3", Boolean.FALSE },
+        { "decimal", "1000", Boolean.FALSE },
+        { "float", "-0", Boolean.TRUE },
+        { "float", "0.0", Boolean.TRUE },
+        { "float", "NaN", Boolean.TRUE },
+        { "float", "1.50", Boolean.TRUE },
+        { "float", "1000", Boolean.TRUE },
+        { "float", "1.0e3", Boolean.TRUE },
+        { "float", "-7.0", Boolean.TRUE },
+        { "float", "-1.5", Boolean.FALSE },
+        { "float", "3", Boolean.FALSE },
+        { "double", "0", Boolean.TRUE },
+        { "double", "-0.0E0", Boolean.TRUE },
+        { "double", "NaN", Boolean.TRUE },
+        { "double", "-INF", Boolean.TRUE },
+        { "double", "2.0", Boolean.TRUE },
+        { "double", "4", Boolean.FALSE },
+        { "duration", "PT24H", Boolean.TRUE },
+        { "duration", "PT1440M", Boolean.TRUE },
+        { "duration", "P12M", Boolean.TRUE },
+        { "duration", "PT60M", Boolean.TRUE },
+        { "duration", "PT3600S", Boolean.TRUE },
+        { "duration", "PT1H30M", Boolean.TRUE },
+        { "duration", "P0D", Boolean.TRUE },
+        { "duration", "P1DT3H", Boolean.FALSE },
+        { "duration", "PT51H", Boolean.TRUE },
+        { "duration", "PT86400.5S", Boolean.TRUE },
+        { "duration", "PT86400.25S", Boolean.FALSE },
+        { "duration", "P30D", Boolean.FALSE },
+        { "duration", "PT1S", Boolean.FALSE },
+        { "dateTime", "2000-01-01T13:00:00+01:00", Boolean.TRUE },
+        { "dateTime", "2000-01-01T07:00:00-05:00", Boolean.TRUE },
+        { "dateTime", "2000-01-01T12:00:00.000Z", Boolean.TRUE },
+        { "dateTime", "1999-12-31T24:00:00Z", Boolean.TRUE },
+        { "dateTime", "2000-01-01T02:00:00+02:00", Boolean.TRUE },
+        { "dateTime", "2000-01-01T03:00:00+02:00", Boolean.FALSE },
+        { "dateTime", "2000-06-15T06:30:00Z", Boolean.TRUE },
+        { "dateTime", "2000-06-15T08:30:00", Boolean.FALSE },
+        { "dateTime", "2000-01-01T12:00:00", Boolean.TRUE },
+        { "dateTime", "2000-01-01T12:00:00.0", Boolean.TRUE },
+        { "dateTime", "2000-01-01T00:00:00Z", Boolean.TRUE },
+        { "dateTime", "2001-02-03T04:05:06.50Z", Boolean.TRUE },
+        { "dateTime", "2001-02-03T04:05:06Z", Boolean.FALSE },
+        { "dateTime", "2000-01-01T00:00:00+00:00", Boolean.TRUE },
+        { "QName", "x:a", Boolean.TRUE },
+        { "QName", "y:a", Boolean.TRUE },
+        { "QName", "p:a", Boolean.TRUE },
+        { "QName", "x:b", Boolean.TRUE },
+        { "QName", "c", Boolean.TRUE },
+        { "QName", "x:z", Boolean.FALSE },
+        { "QName", "a", Boolean.FALSE },
+        { "QName", "y:d", Boolean.FALSE },
+        { "hexBinary", "0a", Boolean.TRUE },
+        { "hexBinary", "ff", Boolean.TRUE },
+        { "hexBinary", "deadBEEF", Boolean.TRUE },
+        { "hexBinary", "00ff", Boolean.TRUE },
+        { "hexBinary", "AB", Boolean.TRUE },
+        { "hexBinary", "", Boolean.TRUE },
+        { "hexBinary", "0B", Boolean.FALSE },
+        { "hexBinary", "0001", Boolean.FALSE },
+    };
+
+    private XSModel fModel;
+
+    private File fSchema;
+
+    public EnumerationIndexTest(String name) {
+        super(name);
+    }
+
+    protected void setUp() throws Exception {
+        fSchema = File.createTempFile("enumerations", ".xsd");
+        final Writer writer = new FileWriter(fSchema);
+        try {
+            writer.write(createSchema());
+        }
+        finally {
+            writer.close();
+        }
+        fModel = new XMLSchemaLoader().loadURI(fSchema.toURI().toString());
+    }
+
+    protected void tearDown() throws Exception {
+        fSchema.delete();
+    }
+
+    public void testValidate() throws Exception {
+        for (int i = 0; i < CASES.length; ++i) {
+            final String kind = (String) CASES[i][0];
+            if (kind.equals("QName")) {
+                // needs the namespace bindings of an instance
+                continue;
+            }
+            final boolean expected = ((Boolean) CASES[i][2]).booleanValue();
+            assertEquals(describe(i, "small"), expected, validate(getType("small-" + kind), i));
+            assertEquals(describe(i, "large"), expected, validate(getType("large-" + kind), i));
+            assertEquals(describe(i, "derived"), expected, validate(getType("derived-" + kind), i));
+        }
+    }
+
+    public void testValidator() throws Exception {
+        for (int i = 0; i < CASES.length; ++i) {
+            final boolean expected = ((Boolean) CASES[i][2]).booleanValue();
+            assertEquals(describe(i, "small"), expected, validateInstance("small-", i));
+            assertEquals(describe(i, "large"), expected, validateInstance("large-", i));
+            assertEquals(describe(i, "derived"), expected, validateInstance("derived-", i));
+        }
+    }
+
+    public void testLargeOnlyValues() throws Exception {
+        for (int k = 0; k < KINDS.length; ++k) {
+            final String kind = KINDS[k][0][0];
+            if (kind.equals("QName")) {
+                continue;
+            }
+            final String[] extra = KINDS[k][2];
+            for (int i = 0; i < extra.length; ++i) {
+                assertTrue(kind + " " + extra[i], validate(getType("large-" + kind), extra[i]));
+                assertFalse(kind + " " + extra[i], validate(getType("small-" + kind), extra[i]));
+            }
+        }
+    }
+
+    public void testSerializedType() throws Exception {
+        for (int k = 0; k < KINDS.length; ++k) {
+            final String kind = KINDS[k][0][0];
+            if (kind.equals("QName")) {
+                continue;
+            }
+            final XSSimpleTypeDecl large = getType("large-" + kind);
+            // build the index of the original before serializing it
+            validate(large, KINDS[k][1][0]);
+            final XSSimpleTypeDecl restored = (XSSimpleTypeDecl) roundTrip(large);
+            final XSSimpleTypeDecl derived = (XSSimpleTypeDecl) roundTrip(getType("derived-" + kind));
+            for (int i = 0; i < CASES.length; ++i) {
+                if (CASES[i][0].equals(kind)) {
+                    final boolean expected = ((Boolean) CASES[i][2]).booleanValue();
+                    assertEquals(describe(i, "restored"), expected, validate(restored, i));
+                    assertEquals(describe(i, "restored"), expected, validate(derived, i));
+                }
+            }
+        }
+    }
+
+    //
+    // Private methods
+    //
+
+    private static String createSchema() {
+        final StringBuffer buffer = new StringBuffer();
+        buffer.append("<xs:schema xmlns:xs='" + XS + "' xmlns:p='urn:p' xmlns:q='urn:q'>\n");
+        buffer.append(" <xs:element name='v'/>\n");
+        for (int k = 0; k < KINDS.length; ++k) {
+            final String kind = KINDS[k][0][0];
+            appendType(buffer, "small-" + kind, "xs:" + kind, KINDS[k][1], new String[0]);
+            appendType(buffer, "large-" + kind, "xs:" + kind, KINDS[k][1], KINDS[k][2]);
+            // inherits the enumeration of its base type
+            buffer.append(" <xs:simpleType name='derived-" + kind + "'>");
+            buffer.append("<xs:restriction base='large-" + kind + "'>");
+            buffer.append("<xs:pattern value='.*'/>");
+            buffer.append("</xs:restriction></xs:simpleType>\n");
+        }
+        buffer.append("</xs:schema>");
+        return buffer.toString();
+    }
+
+    private static void appendType(StringBuffer buffer, String name, String base,
+            String[] values, String[] extra) {
+        buffer.append(" <xs:simpleType name='" + name + "'><xs:restriction base='" + base + "'>");
+        for (int i = 0; i < values.length; ++i) {
+            buffer.append("<xs:enumeration value='" + values[i] + "'/>");
+        }
+        for (int i = 0; i < extra.length; ++i) {
+            buffer.append("<xs:enumeration value='" + extra[i] + "'/>");
+        }
+        buffer.append("</xs:restriction></xs:simpleType>\n");
+    }
+
+    private static boolean validate(XSSimpleTypeDecl type, int index) {
+        return validate(type, (String) CASES[index][1]);
+    }
+
+    private static boolean validate(XSSimpleTypeDecl type, String value) {
+        try {
+            type.validate(value, new ValidationState(), new ValidatedInfo());
+            return true;
+        }
+        catch (InvalidDatatypeValueException e) {
+            return false;
+        }
+    }
+
+    /** Validates an instance holding the value of a case. */
+    private boolean validateInstance(String prefix, int index) throws Exception {
+        final SAXParser parser = new SAXParser();
+        parser.setFeature("http://xml.org/sax/features/namespaces", true);
+        parser.setFeature("http://xml.org/sax/features/validation", true);
+        parser.setFeature("http://apache.org/xml/features/validation/schema", true);
+        parser.setProperty("http://apache.org/xml/properties/schema/external-noNamespaceSchemaLocation",
+                fSchema.toURI().toString());
+        final int[] errors = new int[1];
+        parser.setErrorHandler(new DefaultHandler() {
+            public void error(SAXParseException e) {
+                errors[0]++;
+            }
+        });
+        final String document = "<v xmlns:x='urn:p' xmlns:y='urn:q' xmlns:p='urn:q'" +
+                " xmlns:xsi='http://www.w3.org/2001/XMLSchema-instance'" +
+                " xsi:type='" + prefix + CASES[index][0] + "'>" + CASES[index][1] + "</v>";
+        parser.parse(new InputSource(new StringReader(document)));
+        return errors[0] == 0;
+    }
+
+    private XSSimpleTypeDecl getType(String name) {
+        return (XSSimpleTypeDecl) fModel.getTypeDefinition(name, null);
+    }
+
+    private static String describe(int index, String type) {
+        return type + "-" + CASES[index][0] + " '" + CASES[index][1] + "'";
+    }
+
+    private static Object roundTrip(Object o) throws Exception {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final ObjectOutputStream out = new ObjectOutputStream(bytes);
+        out.writeObject(o);
+        out.close();
+        final ObjectInputStream in = new ObjectInputStream(
+                new ByteArrayInputStream(bytes.toByteArray()));
+        try {
+            return in.readObject();
+        }
+        finally {
+            in.close();
+        }
+    }
+
+}
@@ -0,0 +1,306 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package schema.datatypes;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.StringReader;
+import java.io.Writer;
+
+import junit.framework.TestCase;
+
+import org.apache.xerces.impl.dv.InvalidDatatypeValueException;
+import org.apache.xerces.impl.dv.ValidatedInfo;
+import org.apache.xerces.impl.dv.xs.XSSimpleTypeDecl;
+import org.apache.xerces.impl.validation.ValidationState;
+import org.apache.xerces.impl.xs.XMLSchemaLoader;
+import org.apache.xerces.parsers.SAXParser;
+import org.apache.xerces.xni.XMLString;
+import org.apache.xerces.xs.XSModel;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXParseException;
+import org.xml.sax.helpers.DefaultHandler;
+
+/**
+ * Checks that validating a value without creating its actual value,
+ * with <code>XSSimpleTypeDecl.isValid(XMLString, ValidationContext)</code>
+ * and in the schema validator, agrees with <code>validate()</code>.
+ *
+ * @version $Id$
+ */
+public class IsValidTest extends TestCase {
+
+    private static final String XS = "http://www.w3.org/2001/XMLSchema";
+
+    /** Restricted types, in no namespace. */
+    private static final String SCHEMA =
+        "<xs:schema xmlns:xs='" + XS + "'>\n" +
+        " <xs:element name='v'/>\n" +
+        " <xs:simpleType name='digits'><xs:restriction base='xs:decimal'>" +
+        "<xs:totalDigits value='5'/><xs:fractionDigits value='2'/></xs:restriction></xs:simpleType>\n" +
+        " <xs:simpleType name='range'><xs:restriction base='xs:int'>" +
+        "<xs:minInclusive value='10'/><xs:maxExclusive value='20'/></xs:restriction></xs:simpleType>\n" +
+        " <xs:simpleType name='length3'><xs:restriction base='xs:string'>" +
+        "<xs:length value='3'/></xs:restriction></xs:simpleType>\n" +
+        " <xs:simpleType name='short'><xs:restriction base='xs:NMTOKEN'>" +
+        "<xs:maxLength value='3'/></xs:restriction></xs:simpleType>\n" +
+        " <xs:simpleType name='code'><xs:restriction base='xs:token'>" +
+        "<xs:pattern value='[A-Z]{2}[0-9]'/></xs:restriction></xs:simpleType>\n" +
+        " <xs:simpleType name='color'><xs:restriction base='xs:string'>" +
+        "<xs:enumeration value='red'/></xs:restriction></xs:simpleType>\n" +
+        "</xs:schema>";
+
+    /** Whether string lengths are counted in code points rather than UTF-16 units. */
+    private static final boolean CODE_POINTS =
+        Boolean.getBoolean("org.apache.xerces.impl.dv.xs.useCodePointCountForStringLength");
+
+    /**
+     * Type, value and whether the value is valid. Built-in types are
+     * prefixed with "xs:".
+     */
+    private static final Object[][] CASES = {
+        // integer types
+        { "xs:byte", "127", Boolean.TRUE },
+        { "xs:byte", "128", Boolean.FALSE },
+        { "xs:byte", "-128", Boolean.TRUE },
+        { "xs:byte", "-129", Boolean.FALSE },
+        { "xs:byte", " +0\n", Boolean.TRUE },
+        { "xs:byte", "1.0", Boolean.FALSE },
+        { "xs:short", "32767", Boolean.TRUE },
+        { "xs:short", "32768", Boolean.FALSE },
+        { "xs:int", "2147483647", Boolean.TRUE },
+        { "xs:int", "2147483648", Boolean.FALSE },
+        { "xs:int", "-2147483648", Boolean.TRUE },
+        { "xs:int", "-2147483649", Boolean.FALSE },
+        { "xs:int", "0002147483647", Boolean.TRUE },
+        { "xs:long", "9223372036854775807", Boolean.TRUE },
+        { "xs:long", "9223372036854775808", Boolean.FALSE },
+        { "xs:long", "-9223372036854775808", Boolean.TRUE },
+        { "xs:long", "-9223372036854775809", Boolean.FALSE },
+        { "xs:unsignedByte", "255", Boolean.TRUE },
+        { "xs:unsignedByte", "256", Boolean.FALSE },
+        { "xs:unsignedByte", "-1", Boolean.FALSE },
+        { "xs:unsignedLong", "18446744073709551615", Boolean.TRUE },
+        { "xs:unsignedLong", "18446744073709551616", Boolean.FALSE },
+        { "xs:positiveInteger", "1", Boolean.TRUE },
+        { "xs:positiveInteger", "0", Boolean.FALSE },
+        { "xs:positiveInteger", "000001", Boolean.TRUE },
+        { "xs:negativeInteger", "-1", Boolean.TRUE },
+        { "xs:negativeInteger", "0", Boolean.FALSE },
+        { "xs:negativeInteger", "-0", Boolean.FALSE },
+        { "xs:nonPositiveInteger", "-0", Boolean.TRUE },
+        { "xs:nonPositiveInteger", "1", Boolean.FALSE },
+        { "xs:integer", "1234567890123456789012345678901234567890", Boolean.TRUE },
+        { "xs:integer", "", Boolean.FALSE },
+        { "xs:integer", "+", Boolean.FALSE },
+        { "xs:integer", "1e3", Boolean.FALSE },
+        { "xs:integer", "1 2", Boolean.FALSE },
+        { "range", "10", Boolean.TRUE },
+        { "range", "9", Boolean.FALSE },
+        { "range", " 19 ", Boolean.TRUE },
+        { "range", "20", Boolean.FALSE },
+        // decimal, totalDigits and fractionDigits
+        { "xs:decimal", ".5", Boolean.TRUE },
+        { "xs:decimal", "5.", Boolean.TRUE },
+        { "xs:decimal", "-.5", Boolean.TRUE },
+        { "xs:decimal", ".", Boolean.FALSE },
+        { "xs:decimal", "1,5", Boolean.FALSE },
+        { "digits", "123.45", Boolean.TRUE },
+        { "digits", "1234.5", Boolean.TRUE },
+        { "digits", "12345", Boolean.TRUE },
+        { "digits", "123456", Boolean.FALSE },
+        { "digits", "1234.56", Boolean.FALSE },
+        { "digits", "1.234", Boolean.FALSE },
+        { "digits", "00123.45", Boolean.TRUE },
+        { "digits", "0.00", Boolean.TRUE },
+        { "digits", "-0.01", Boolean.TRUE },
+        // dates and times
+        { "xs:dateTime", "2000-01-01T24:00:00", Boolean.TRUE },
+        { "xs:dateTime", "2000-01-01T24:00:01", Boolean.FALSE },
+        { "xs:dateTime", "2000-01-01T24:30:00", Boolean.FALSE },
+        { "xs:dateTime", "2000-01-01T23:59:60", Boolean.FALSE },
+        { "xs:dateTime", "2000-02-29T00:00:00", Boolean.TRUE },
+        { "xs:dateTime", "1900-02-29T00:00:00", Boolean.FALSE },
+        { "xs:dateTime", "2001-02-29T00:00:00", Boolean.FALSE },
+        { "xs:dateTime", "2000-04-31T00:00:00", Boolean.FALSE },
+        { "xs:dateTime", "2000-13-01T00:00:00", Boolean.FALSE },
+        { "xs:dateTime", "2000-01-01T00:00:00+14:00", Boolean.TRUE },
+        { "xs:dateTime", "2000-01-01T00:00:00-14:00", Boolean.TRUE },
+        { "xs:dateTime", "2000-01-01T00:00:00+14:01", Boolean.FALSE },
+        { "xs:dateTime", "2000-01-01T00:00:00-15:00", Boolean.FALSE },
+        { "xs:dateTime", "2000-01-01T00:00:00Z", Boolean.TRUE },
+        { "xs:dateTime", "2000-01-01T00:00:00.123456", Boolean.TRUE },
+        { "xs:dateTime", "-0001-01-01T00:00:00", Boolean.TRUE },
+        { "xs:dateTime", " 2000-01-01T00:00:00 ", Boolean.TRUE },
+        { "xs:dateTime", "2000-01-01", Boolean.FALSE },
+        { "xs:date", "2000-02-29", Boolean.TRUE },
+        { "xs:date", "2100-02-29", Boolean.FALSE },
+        { "xs:date", "2000-01-01+14:00", Boolean.TRUE },
+        { "xs:date", "2000-01-01-14:01", Boolean.FALSE },
+        { "xs:date", "2000-1-01", Boolean.FALSE },
+        { "xs:time", "24:00:00", Boolean.TRUE },
+        { "xs:time", "24:00:01", Boolean.FALSE },
+        { "xs:time", "12:00:00+14:00", Boolean.TRUE },
+        // whitespace and names
+        { "xs:token", "  a \t b\n ", Boolean.TRUE },
+        { "xs:token", "", Boolean.TRUE },
+        { "xs:NMTOKEN", " a:b-c.d ", Boolean.TRUE },
+        { "xs:NMTOKEN", "a b", Boolean.FALSE },
+        { "xs:NMTOKEN", "", Boolean.FALSE },
+        { "xs:NMTOKEN", "a,b", Boolean.FALSE },
+        { "xs:Name", " :a\t", Boolean.TRUE },
+        { "xs:Name", "1abc", Boolean.FALSE },
+        { "xs:Name", "a b", Boolean.FALSE },
+        { "xs:NCName", "a:b", Boolean.FALSE },
+        { "xs:NCName", "_a.b", Boolean.TRUE },
+        { "short", " abc ", Boolean.TRUE },
+        { "short", "abcd", Boolean.FALSE },
+        { "code", " AB1 ", Boolean.TRUE },
+        { "code", "A B1", Boolean.FALSE },
+        { "code", "ab1", Boolean.FALSE },
+        // string length, in UTF-16 units or in code points
+        { "length3", "ab\uD800\uDC00", Boolean.valueOf(CODE_POINTS) },
+        { "length3", "\uD800\uDC00\uD800\uDC00\uD800\uDC00", Boolean.valueOf(CODE_POINTS) },
+        { "length3", "a\uD800\uDC00", Boolean.valueOf(!CODE_POINTS) },
+        { "length3", "abc\uD800\uDC00", Boolean.FALSE },
+        { "length3", " a ", Boolean.TRUE },
+        // other types
+        { "xs:boolean", " 1 ", Boolean.TRUE },
+        { "xs:boolean", "false", Boolean.TRUE },
+        { "xs:boolean", "TRUE", Boolean.FALSE },
+        { "color", "red", Boolean.TRUE },
+        { "color", "blue", Boolean.FALSE },
+    };
+
+    private XSModel fModel;
+
+    private File fSchema;
+
+    public IsValidTest(String name) {
+        super(name);
+    }
+
+    protected void setUp() throws Exception {
+        fSchema = File.createTempFile("types", ".xsd");
+        final Writer writer = new FileWriter(fSchema);
+        try {
+            writer.write(SCHEMA);
+        }
+        finally {
+            writer.close();
+        }
+        fModel = new XMLSchemaLoader().loadURI(fSchema.toURI().toString());
+    }
+
+    protected void tearDown() throws Exception {
+        fSchema.delete();
+    }
+
+    public void testIsValid() throws Exception {
+        for (int i = 0; i < CASES.length; ++i) {
+            final XSSimpleTypeDecl type = getType((String) CASES[i][0]);
+            final String value = (String) CASES[i][1];
+            final boolean expected = ((Boolean) CASES[i][2]).booleanValue();
+            final String message = describe(i);
+
+            final ValidatedInfo info = new ValidatedInfo();
+            boolean valid = true;
+            try {
+                type.validate(value, new ValidationState(), info);
+            }
+            catch (InvalidDatatypeValueException e) {
+                valid = false;
+            }
+            assertEquals(message, expected, valid);
+
+            final XMLString chars = toXMLString(value);
+            if (type.isValid(chars, new ValidationState())) {
+                assertTrue(message, valid);
+                assertEquals(message, info.normalizedValue, chars.toString());
+            }
+            else if (valid) {
+                // only types with an enumeration or of other primitive
+                // types need their actual value
+                assertTrue(message, type.getName().equals("color") || type.getName().equals("time"));
+            }
+        }
+    }
+
+    public void testValidator() throws Exception {
+        for (int i = 0; i < CASES.length; ++i) {
+            final String message = describe(i);
+            final boolean expected = ((Boolean) CASES[i][2]).booleanValue();
+            // the validator only avoids actual values when there is no PSVI
+            assertEquals(message, expected, validate(i, false));
+            assertEquals(message, expected, validate(i, true));
+        }
+    }
+
+    /** Validates an instance holding the value of a case. */
+    private boolean validate(int index, boolean augmentPSVI) throws Exception {
+        final SAXParser parser = new SAXParser();
+        parser.setFeature("http://xml.org/sax/features/namespaces", true);
+        parser.setFeature("http://xml.org/sax/features/validation", true);
+        parser.setFeature("http://apache.org/xml/features/validation/schema", true);
+        parser.setFeature("http://apache.org/xml/features/validation/schema/augment-psvi", augmentPSVI);
+        parser.setProperty("http://apache.org/xml/properties/schema/external-noNamespaceSchemaLocation",
+                fSchema.toURI().toString());
+        final int[] errors = new int[1];
+        parser.setErrorHandler(new DefaultHandler() {
+            public void error(SAXParseException e) {
+                errors[0]++;
+            }
+        });
+        final String document = "<v xmlns:xs='" + XS + "'" +
+                " xmlns:xsi='http://www.w3.org/2001/XMLSchema-instance'" +
+                " xsi:type='" + CASES[index][0] + "'>" + escape((String) CASES[index][1]) + "</v>";
+        parser.parse(new InputSource(new StringReader(document)));
+        return errors[0] == 0;
+    }
+
+    private XSSimpleTypeDecl getType(String name) {
+        return (XSSimpleTypeDecl) (name.startsWith("xs:")
+                ? fModel.getTypeDefinition(name.substring(3), XS)
+                : fModel.getTypeDefinition(name, null));
+    }
+
+    private static String describe(int index) {
+        return CASES[index][0] + " '" + CASES[index][1] + "'";
+    }
+
+    /** Returns the value in the middle of a larger array, as parsers pass it. */
+    private static XMLString toXMLString(String value) {
+        final char[] ch = ("<<" + value + ">>").toCharArray();
+        return new XMLString(ch, 2, value.length());
+    }
+
+    private static String escape(String value) {
+        final StringBuffer buffer = new StringBuffer();
+        for (int i = 0; i < value.length(); ++i) {
+            final char c = value.charAt(i);
+            if (c < 0x20) {
+                buffer.append("&#").append((int) c).append(';');
+            }
+            else {
+                buffer.append(c);
+            }
+        }
+        return buffer.toString();
+    }
+
+}
@@ -0,0 +1,369 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package schema.parallel;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+import org.apache.xerces.impl.xs.XMLSchemaLoader;
+import org.apache.xerces.xni.parser.XMLErrorHandler;
+import org.apache.xerces.xni.parser.XMLParseException;
+import org.apache.xerces.xs.XSComplexTypeDefinition;
+import org.apache.xerces.xs.XSConstants;
+import org.apache.xerces.xs.XSElementDeclaration;
+import org.apache.xerces.xs.XSModel;
+import org.apache.xerces.xs.XSNamedMap;
+import org.apache.xerces.xs.XSObject;
+import org.apache.xerces.xs.XSParticle;
+import org.apache.xerces.xs.XSModelGroup;
+import org.apache.xerces.xs.XSObjectList;
+import org.apache.xerces.xs.XSTerm;
+import org.apache.xerces.xs.XSTypeDefinition;
+
+/**
+ * Loads a set of schema documents with many imports and includes, with
+ * parallel schema loading on and off, and checks that the components
+ * and the errors reported are the same.
+ *
+ * @version $Id$
+ */
+public class ParallelSchemaLoadingTest extends TestCase {
+
+    private static final String PARALLEL_SCHEMA_LOADING =
+        "http://apache.org/xml/features/parallel-schema-loading";
+
+    private static final String HONOUR_ALL_SCHEMA_LOCATIONS =
+        "http://apache.org/xml/features/honour-all-schemaLocations";
+
+    private static final String XS = "http://www.w3.org/2001/XMLSchema";
+
+    /** Number of imported namespaces. */
+    private static final int NAMESPACES = 12;
+
+    /** Number of documents included by each imported document. */
+    private static final int INCLUDES = 3;
+
+    private File fDir;
+
+    public ParallelSchemaLoadingTest(String name) {
+        super(name);
+    }
+
+    protected void setUp() throws Exception {
+        fDir = File.createTempFile("schemas", "");
+        fDir.delete();
+        fDir.mkdir();
+    }
+
+    protected void tearDown() {
+        File[] files = fDir.listFiles();
+        for (int i = 0; i < files.length; ++i) {
+            files[i].delete();
+        }
+        fDir.delete();
+    }
+
+    public void testValidSchemaSet() throws Exception {
+        writeSchemaSet(false);
+        final List errors = new ArrayList();
+        final String expected = load(false, false, errors);
+        assertTrue(errors.toString(), errors.isEmpty());
+        for (int i = 0; i < 3; ++i) {
+            final List parallelErrors = new ArrayList();
+            assertEquals(expected, load(true, false, parallelErrors));
+            assertEquals(errors, parallelErrors);
+        }
+        // every namespace was loaded
+        assertEquals(NAMESPACES + 2, countLines(expected, "namespace "));
+    }
+
+    public void testSchemaSetWithErrors() throws Exception {
+        writeSchemaSet(true);
+        final List errors = new ArrayList();
+        final String expected = load(false, false, errors);
+        assertTrue(errors.size() >= 3);
+        for (int i = 0; i < 3; ++i) {
+            final List parallelErrors = new ArrayList();
+            assertEquals(expected, load(true, false, parallelErrors));
+            assertEquals(errors, parallelErrors);
+        }
+    }
+
+    public void testHonourAllSchemaLocations() throws Exception {
+        writeSchemaSet(true);
+        final List errors = new ArrayList();
+        final String expected = load(false, true, errors);
+        final List parallelErrors = new ArrayList();
+        assertEquals(expected, load(true, true, parallelErrors));
+        assertEquals(errors, parallelErrors);
+    }
+
+    public void testLoaderReuse() throws Exception {
+        writeSchemaSet(false);
+        final List errors = new ArrayList();
+        final String expected = load(false, false, errors);
+        final XMLSchemaLoader loader = new XMLSchemaLoader();
+        loader.setFeature(PARALLEL_SCHEMA_LOADING, true);
+        for (int i = 0; i < 3; ++i) {
+            final List parallelErrors = new ArrayList();
+            loader.setErrorHandler(new RecordingErrorHandler(parallelErrors));
+            assertEquals(expected, describe(loader.loadURI(uri("root.xsd"))));
+            assertEquals(errors, parallelErrors);
+        }
+    }
+
+    private String load(boolean parallel, boolean allLocations, List errors) {
+        final XMLSchemaLoader loader = new XMLSchemaLoader();
+        loader.setFeature(PARALLEL_SCHEMA_LOADING, parallel);
+        loader.setFeature(HONOUR_ALL_SCHEMA_LOCATIONS, allLocations);
+        loader.setErrorHandler(new RecordingErrorHandler(errors));
+        final XSModel model = loader.loadURI(uri("root.xsd"));
+        assertNotNull(model);
+        return describe(model);
+    }
+
+    private String uri(String name) {
+        return new File(fDir, name).toURI().toString();
+    }
+
+    /**
+     * Writes a root document importing every namespace. The document of
+     * each namespace includes several others and imports the next two
+     * namespaces, so that most documents are referenced several times.
+     * With errors, some documents use undefined or duplicate components
+     * and some references cannot be resolved.
+     */
+    private void writeSchemaSet(boolean withErrors) throws IOException {
+        final StringBuffer root = new StringBuffer();
+        root.append("<xs:schema xmlns:xs='" + XS + "' targetNamespace='urn:root'");
+        for (int i = 0; i < NAMESPACES; ++i) {
+            root.append(" xmlns:n" + i + "='urn:n" + i + "'");
+        }
+        root.append(">");
+        for (int i = 0; i < NAMESPACES; ++i) {
+            root.append("<xs:import namespace='urn:n" + i + "' schemaLocation='n" + i + ".xsd'/>");
+        }
+        if (withErrors) {
+            root.append("<xs:import namespace='urn:missing' schemaLocation='missing.xsd'/>");
+        }
+        root.append("<xs:element name='root'><xs:complexType><xs:sequence>");
+        for (int i = 0; i < NAMESPACES; ++i) {
+            root.append("<xs:element ref='n" + i + ":e0' minOccurs='0'/>");
+        }
+        root.append("</xs:sequence></xs:complexType></xs:element>");
+        root.append("</xs:schema>");
+        write("root.xsd", root.toString());
+
+        for (int i = 0; i < NAMESPACES; ++i) {
+            final String next = "n" + ((i + 1) % NAMESPACES);
+            final String after = "n" + ((i + 2) % NAMESPACES);
+            final String header = "<xs:schema xmlns:xs='" + XS + "' targetNamespace='urn:n" + i + "'" +
+                " xmlns:t='urn:n" + i + "' xmlns:" + next + "='urn:" + next + "'" +
+                " xmlns:" + after + "='urn:" + after + "'>";
+            final StringBuffer doc = new StringBuffer(header);
+            for (int j = 0; j < INCLUDES; ++j) {
+                doc.append("<xs:include schemaLocation='n" + i + "_" + j + ".xsd'/>");
+            }
+            doc.append("<xs:import namespace='urn:" + next + "' schemaLocation='" + next + ".xsd'/>");
+            doc.append("<xs:import namespace='urn:" + after + "' schemaLocation='" + after + ".xsd'/>");
+            if (withErrors && i == 4) {
+                doc.append("<xs:include schemaLocation='none.xsd'/>");
+            }
+            doc.append("<xs:element name='e0' type='t:T0'/>");
+            doc.append("<xs:complexType name='T0'><xs:sequence>");
+            for (int j = 1; j <= INCLUDES; ++j) {
+                doc.append("<xs:element ref='t:e" + j + "'/>");
+            }
+            doc.append("<xs:element name='next' type='" + next + ":T1' minOccurs='0'/>");
+            doc.append("<xs:any namespace='urn:" + after + "' processContents='lax' minOccurs='0'/>");
+            doc.append("</xs:sequence><xs:attribute name='a' type='xs:int'/></xs:complexType>");
+            if (withErrors && i == 2) {
+                doc.append("<xs:element name='e0' type='xs:string'/>");
+            }
+            doc.append("</xs:schema>");
+            write("n" + i + ".xsd", doc.toString());
+
+            for (int j = 0; j < INCLUDES; ++j) {
+                final StringBuffer inc = new StringBuffer(header);
+                if (j > 0) {
+                    // includes of includes
+                    inc.append("<xs:include schemaLocation='n" + i + "_" + (j - 1) + ".xsd'/>");
+                }
+                inc.append("<xs:import namespace='urn:" + next + "' schemaLocation='" + next + ".xsd'/>");
+                inc.append("<xs:element name='e" + (j + 1) + "' type='t:T" + (j + 1) + "'/>");
+                inc.append("<xs:simpleType name='S" + j + "'><xs:restriction base='xs:string'>");
+                inc.append("<xs:maxLength value='" + (j + 5) + "'/></xs:restriction></xs:simpleType>");
+                inc.append("<xs:complexType name='T" + (j + 1) + "'><xs:simpleContent>");
+                inc.append("<xs:extension base='t:S" + j + "'>");
+                if (withErrors && i == 6 && j == 1) {
+                    inc.append("<xs:attribute name='u' type='t:Undefined'/>");
+                }
+                inc.append("</xs:extension></xs:simpleContent></xs:complexType>");
+                inc.append("<xs:group name='G" + j + "'><xs:choice>");
+                inc.append("<xs:element name='g' type='t:S" + j + "'/>");
+                inc.append("<xs:element ref='" + next + ":e0'/>");
+                inc.append("</xs:choice></xs:group>");
+                inc.append("<xs:attributeGroup name='A" + j + "'>");
+                inc.append("<xs:attribute name='a" + j + "' type='xs:date'/></xs:attributeGroup>");
+                if (withErrors && i == 8 && j == 2) {
+                    inc.append("<xs:element name='bad' type='xs:string' default='1' fixed='2'/>");
+                }
+                inc.append("</xs:schema>");
+                write("n" + i + "_" + j + ".xsd", inc.toString());
+            }
+        }
+    }
+
+    private void write(String name, String content) throws IOException {
+        final Writer out = new OutputStreamWriter(new FileOutputStream(new File(fDir, name)), "UTF-8");
+        try {
+            out.write(content);
+        }
+        finally {
+            out.close();
+        }
+    }
+
+    /** Describes the components of a model, by namespace and kind, sorted by name. */
+    private static String describe(XSModel model) {
+        final List namespaces = new ArrayList();
+        final org.apache.xerces.xs.StringList list = model.getNamespaces();
+        for (int i = 0; i < list.getLength(); ++i) {
+            namespaces.add(String.valueOf(list.item(i)));
+        }
+        Collections.sort(namespaces);
+        final short[] kinds = {
+            XSConstants.ELEMENT_DECLARATION, XSConstants.ATTRIBUTE_DECLARATION,
+            XSConstants.TYPE_DEFINITION, XSConstants.MODEL_GROUP_DEFINITION,
+            XSConstants.ATTRIBUTE_GROUP, XSConstants.NOTATION_DECLARATION,
+        };
+        final StringBuffer buffer = new StringBuffer();
+        for (int i = 0; i < namespaces.size(); ++i) {
+            final String ns = (String) namespaces.get(i);
+            buffer.append("namespace ").append(ns).append('\n');
+            for (int k = 0; k < kinds.length; ++k) {
+                final XSNamedMap map = model.getComponentsByNamespace(kinds[k],
+                        ns.equals("null") ? null : ns);
+                final List lines = new ArrayList();
+                for (int j = 0; j < map.getLength(); ++j) {
+                    lines.add(describe(map.item(j)));
+                }
+                Collections.sort(lines);
+                for (int j = 0; j < lines.size(); ++j) {
+                    buffer.append("  ").append(lines.get(j)).append('\n');
+                }
+            }
+        }
+        return buffer.toString();
+    }
+
+    private static String describe(XSObject component) {
+        final StringBuffer buffer = new StringBuffer();
+        buffer.append(component.getType()).append(' ').append(component.getName());
+        if (component instanceof XSElementDeclaration) {
+            final XSElementDeclaration decl = (XSElementDeclaration) component;
+            buffer.append(" type=").append(name(decl.getTypeDefinition()));
+        }
+        else if (component instanceof XSTypeDefinition) {
+            final XSTypeDefinition type = (XSTypeDefinition) component;
+            buffer.append(" base=").append(name(type.getBaseType()));
+            if (type instanceof XSComplexTypeDefinition) {
+                final XSComplexTypeDefinition complex = (XSComplexTypeDefinition) type;
+                buffer.append(" content=").append(complex.getContentType());
+                buffer.append(" attributes=").append(complex.getAttributeUses().getLength());
+                if (complex.getParticle() != null) {
+                    buffer.append(' ');
+                    describe(complex.getParticle(), buffer);
+                }
+            }
+        }
+        return buffer.toString();
+    }
+
+    private static void describe(XSParticle particle, StringBuffer buffer) {
+        buffer.append(particle.getMinOccurs()).append("..").append(particle.getMaxOccurs()).append(':');
+        final XSTerm term = particle.getTerm();
+        if (term instanceof XSModelGroup) {
+            final XSObjectList particles = ((XSModelGroup) term).getParticles();
+            buffer.append('(');
+            for (int i = 0; i < particles.getLength(); ++i) {
+                describe((XSParticle) particles.item(i), buffer);
+                buffer.append(',');
+            }
+            buffer.append(')');
+        }
+        else if (term instanceof XSElementDeclaration) {
+            buffer.append('{').append(term.getNamespace()).append('}').append(term.getName());
+        }
+        else {
+            buffer.append("any");
+        }
+    }
+
+    private static String name(XSTypeDefinition type) {
+        return type == null ? null : "{" + type.getNamespace() + "}" + type.getName();
+    }
+
+    private static int countLines(String s, String prefix) {
+        int count = 0;
+        for (int i = s.indexOf(prefix); i >= 0; i = s.indexOf(prefix, i + 1)) {
+            if (i == 0 || s.charAt(i - 1) == '\n') {
+                ++count;
+            }
+        }
+        return count;
+    }
+
+    /** Records the errors and warnings reported, in order. */
+    private static final class RecordingErrorHandler implements XMLErrorHandler {
+
+        private final List fErrors;
+
+        RecordingErrorHandler(List errors) {
+            fErrors = errors;
+        }
+
+        public void warning(String domain, String key, XMLParseException e) {
+            record("warning", key, e);
+        }
+
+        public void error(String domain, String key, XMLParseException e) {
+            record("error", key, e);
+        }
+
+        public void fatalError(String domain, String key, XMLParseException e) {
+            record("fatal", key, e);
+            throw e;
+        }
+
+        private void record(String severity, String key, XMLParseException e) {
+            fErrors.add(severity + " " + key + " " + e.getExpandedSystemId() + ":" +
+                    e.getLineNumber() + ":" + e.getColumnNumber() + " " + e.getMessage());
+        }
+
+    } // class RecordingErrorHandler
+
+}
@@ -0,0 +1,187 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package util.symbols;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+import org.apache.xerces.util.ConcurrentSymbolTable;
+
+/**
+ * Checks that a <code>ConcurrentSymbolTable</code> shared by many threads
+ * returns the same interned reference for a symbol to every thread, and
+ * that <code>containsSymbol</code> finds every symbol which was added.
+ *
+ * @version $Id$
+ */
+public class ConcurrentSymbolTableTest extends TestCase {
+
+    private static final int THREADS = 8;
+
+    private static final int SYMBOLS = 20000;
+
+    private List fFailures;
+
+    public ConcurrentSymbolTableTest(String name) {
+        super(name);
+    }
+
+    protected void setUp() throws Exception {
+        fFailures = Collections.synchronizedList(new ArrayList());
+    }
+
+    public void testAddSymbol() throws Exception {
+        // a small table, so that it is grown while symbols are added
+        final ConcurrentSymbolTable table = new ConcurrentSymbolTable(4, SYMBOLS * 2);
+        final String[][] results = new String[THREADS][SYMBOLS];
+        final Thread[] threads = new Thread[THREADS];
+        for (int t = 0; t < THREADS; ++t) {
+            final String[] result = results[t];
+            final boolean chars = (t & 1) == 1;
+            final int start = t * (SYMBOLS / THREADS);
+            threads[t] = new Thread(new Runnable() {
+                public void run() {
+                    for (int n = 0; n < SYMBOLS; ++n) {
+                        final int i = (start + n) % SYMBOLS;
+                        // a new string each time, so that only the table interns it
+                        final String name = new String(symbol(i));
+                        final String symbol;
+                        if (chars) {
+                            final char[] buffer = ("<" + name + ">").toCharArray();
+                            symbol = table.addSymbol(buffer, 1, name.length());
+                        }
+                        else {
+                            symbol = table.addSymbol(name);
+                        }
+                        result[i] = symbol;
+                        check(symbol.equals(name), "wrong symbol for " + name);
+                        check(table.containsSymbol(name), "symbol " + name + " not found");
+                    }
+                }
+            });
+        }
+        run(threads);
+        for (int i = 0; i < SYMBOLS; ++i) {
+            final String symbol = results[0][i];
+            assertSame(symbol(i).intern(), symbol);
+            for (int t = 1; t < THREADS; ++t) {
+                assertSame(symbol, results[t][i]);
+            }
+            assertTrue(table.containsSymbol(symbol(i)));
+            final char[] buffer = symbol(i).toCharArray();
+            assertTrue(table.containsSymbol(buffer, 0, buffer.length));
+            assertSame(symbol, table.addSymbol(buffer, 0, buffer.length));
+        }
+        assertFalse(table.containsSymbol(symbol(SYMBOLS)));
+        assertFalse(table.containsSymbol("s"));
+        assertFalse(table.containsSymbol(""));
+    }
+
+    public void testContainsWhileAdding() throws Exception {
+        final ConcurrentSymbolTable table = new ConcurrentSymbolTable(1, SYMBOLS * 2);
+        final Thread[] threads = new Thread[THREADS];
+        for (int t = 0; t < THREADS; ++t) {
+            final int first = t;
+            threads[t] = new Thread(new Runnable() {
+                public void run() {
+                    for (int i = first; i < SYMBOLS; i += THREADS) {
+                        table.addSymbol(symbol(i));
+                        // symbols added by this thread are never lost
+                        for (int j = i; j >= 0 && j > i - 10 * THREADS; j -= THREADS) {
+                            check(table.containsSymbol(symbol(j)), "lost symbol " + j);
+                        }
+                    }
+                }
+            });
+        }
+        run(threads);
+        for (int i = 0; i < SYMBOLS; ++i) {
+            assertTrue(table.containsSymbol(symbol(i)));
+        }
+    }
+
+    public void testNewGeneration() throws Exception {
+        // the table forgets symbols, but the references stay the same
+        final ConcurrentSymbolTable table = new ConcurrentSymbolTable(16, 100);
+        final Thread[] threads = new Thread[THREADS];
+        for (int t = 0; t < THREADS; ++t) {
+            threads[t] = new Thread(new Runnable() {
+                public void run() {
+                    for (int pass = 0; pass < 3; ++pass) {
+                        for (int i = 0; i < 1000; ++i) {
+                            final String name = new String(symbol(i));
+                            check(table.addSymbol(name) == name.intern(), "not interned " + name);
+                        }
+                    }
+                }
+            });
+        }
+        run(threads);
+        int found = 0;
+        for (int i = 0; i < 1000; ++i) {
+            if (table.containsSymbol(symbol(i))) {
+                ++found;
+            }
+        }
+        assertTrue(found <= 100);
+        final String name = new String(symbol(SYMBOLS));
+        assertSame(name.intern(), table.addSymbol(name));
+        assertTrue(table.containsSymbol(name));
+    }
+
+    public void testHash() {
+        final ConcurrentSymbolTable table = new ConcurrentSymbolTable();
+        for (int i = 0; i < 100; ++i) {
+            final String name = symbol(i);
+            final char[] buffer = ("xx" + name).toCharArray();
+            final int hash = table.hash(name);
+            assertTrue(hash >= 0);
+            assertEquals(hash, table.hash(buffer, 2, name.length()));
+        }
+    }
+
+    //
+    // Private methods
+    //
+
+    private static String symbol(int i) {
+        return "s" + Integer.toString(i * 7919, 36);
+    }
+
+    private void check(boolean condition, String message) {
+        if (!condition) {
+            fFailures.add(message);
+        }
+    }
+
+    private void run(Thread[] threads) throws InterruptedException {
+        for (int i = 0; i < threads.length; ++i) {
+            threads[i].start();
+        }
+        for (int i = 0; i < threads.length; ++i) {
+            threads[i].join();
+        }
+        if (!fFailures.isEmpty()) {
+            fail(fFailures.size() + " failures, first: " + fFailures.get(0));
+        }
+    }
+
+}